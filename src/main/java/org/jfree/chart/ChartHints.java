@@ -41,6 +41,8 @@
 package org.jfree.chart;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
+import org.jfree.chart.util.RenderMonitor;
 
 /**
  * Special rendering hints that can be used internally by JFreeChart or by
@@ -69,6 +71,75 @@ public final class ChartHints {
      */
     public static final Key KEY_END_ELEMENT = new ChartHints.Key(1);
     
+    /**
+     * The key for a hint that carries the {@link RenderMonitor} (if any)
+     * that is notified as the stages of chart drawing start and finish.
+     * The value should be a {@code RenderMonitor} or {@code null}.
+     * 
+     * @see JFreeChart#setRenderMonitor(RenderMonitor)
+     * 
+     * @since 1.6.0
+     */
+    public static final Key KEY_RENDER_MONITOR = new ChartHints.Key(2);
+    
+    /**
+     * The key for a hint that allows renderers to draw the independent line
+     * segments in a series with a single path (see 
+     * {@link org.jfree.chart.renderer.LinePathBatcher}).  This is much 
+     * faster for series with many items, but pixels where the segments meet 
+     * are not blended once per segment, so the output can differ slightly.  
+     * The value should be {@code Boolean.TRUE} to enable batching, or 
+     * {@code Boolean.FALSE} or {@code null} (the default).
+     * 
+     * @since 1.6.0
+     */
+    public static final Key KEY_BATCH_LINES = new ChartHints.Key(3);
+    
+    /**
+     * The key for a hint that carries an {@code Executor} that the combined 
+     * plots (for example {@link org.jfree.chart.plot.CombinedDomainXYPlot})
+     * can use to draw their subplots concurrently.  Each subplot (other than
+     * the first) is drawn to its own off-screen image and the images are 
+     * then composited in subplot order, so the output matches serial 
+     * drawing.  The hint is only honoured for raster targets with a 
+     * translate-only transform and should not be set for vector output, and
+     * the subplots must not share renderers.  The value should be a 
+     * {@code java.util.concurrent.Executor}, or {@code null} (the default) 
+     * to draw the subplots one after the other.
+     * 
+     * @since 1.6.0
+     */
+    public static final Key KEY_SUBPLOT_EXECUTOR = new ChartHints.Key(4);
+    
+    /**
+     * The key for a hint that allows {@link org.jfree.chart.plot.XYPlot} to
+     * skip the items that fall outside the current clip (along the domain
+     * axis), in the same way as the items outside the axis range are 
+     * skipped, and {@link org.jfree.chart.plot.CategoryPlot} to skip the
+     * categories that fall outside the clip.  This is used to redraw a narrow strip of a chart (see 
+     * {@link ChartPanel#setScrollingEnabled(boolean)}).  Items are still 
+     * drawn if they lie within a margin around the clip, so that shapes and
+     * lines that extend into the clip are complete.  The value should be a 
+     * {@code Number} giving the margin in Java2D units, or {@code null} (the 
+     * default) to render all the items in the axis range.
+     * 
+     * @since 1.6.0
+     */
+    public static final Key KEY_CULL_TO_CLIP = new ChartHints.Key(5);
+    
+    /**
+     * The key for a hint that carries an {@code Executor} that plots and 
+     * renderers can use to split the work for large datasets into tasks
+     * while drawing (for example, {@link org.jfree.chart.plot.FastScatterPlot}
+     * counts the points that fall on each pixel in several tasks).  The 
+     * output is the same either way.  The value should be a 
+     * {@code java.util.concurrent.Executor}, or {@code null} (the default) 
+     * to do all the work on the drawing thread.
+     * 
+     * @since 1.6.0
+     */
+    public static final Key KEY_RENDER_EXECUTOR = new ChartHints.Key(6);
+    
     /**
      * A key for rendering hints that can be used with JFreeChart (in 
      * addition to the regular Java2D rendering hints).
@@ -100,6 +171,16 @@ public final class ChartHints {
                             || val instanceof Map;
                 case 1:
                     return val == null || val instanceof Object;
+                case 2:
+                    return val == null || val instanceof RenderMonitor;
+                case 3:
+                    return val == null || val instanceof Boolean;
+                case 4:
+                    return val == null || val instanceof Executor;
+                case 5:
+                    return val == null || val instanceof Number;
+                case 6:
+                    return val == null || val instanceof Executor;
                 default:
                     throw new RuntimeException("Not possible!");
             }
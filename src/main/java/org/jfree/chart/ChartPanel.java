@@ -75,6 +75,7 @@ import java.awt.event.MouseMotionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
@@ -100,6 +101,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.ToolTipManager;
 import javax.swing.event.EventListenerList;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -109,6 +111,7 @@ import org.jfree.chart.editor.ChartEditorManager;
 import org.jfree.chart.entity.ChartEntity;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
+import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.event.ChartProgressEvent;
 import org.jfree.chart.event.ChartProgressListener;
@@ -121,6 +124,7 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.Zoomable;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ExportUtils;
 import org.jfree.chart.util.ResourceBundleWrapper;
 import org.jfree.chart.util.SerialUtils;
 
@@ -167,6 +171,14 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** The minimum size required to perform a zoom on a rectangle */
     public static final int DEFAULT_ZOOM_TRIGGER_DISTANCE = 10;
 
+    /**
+     * The default delay (in milliseconds) between the last zoom or pan step
+     * and the redrawing of the chart, when zoom previews are enabled.
+     *
+     * @since 1.6.0
+     */
+    public static final int DEFAULT_ZOOM_PREVIEW_DELAY = 150;
+
     /** Properties action command. */
     public static final String PROPERTIES_COMMAND = "PROPERTIES";
 
@@ -240,6 +252,33 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** The width of the chart buffer. */
     private int chartBufferWidth;
 
+    /**
+     * A flag that controls whether zooming and panning first show the
+     * buffered data area reprojected to the new axis ranges.
+     */
+    private boolean zoomPreviewEnabled;
+
+    /** The delay (in milliseconds) before a previewed chart is redrawn. */
+    private int zoomPreviewDelay;
+
+    /** The zoom preview being shown, or {@code null}. */
+    private transient ZoomPreview zoomPreview;
+
+    /** The timer that ends the zoom preview by redrawing the chart. */
+    private transient Timer zoomPreviewTimer;
+
+    /**
+     * A flag that controls whether a strip chart is updated by scrolling the
+     * buffer rather than by redrawing it.
+     */
+    private boolean scrollingEnabled;
+
+    /**
+     * Scrolls the buffered chart, or {@code null} if the chart must be drawn
+     * in full the next time the buffer is refreshed.
+     */
+    private transient StripScroller stripScroller;
+
     /**
      * The minimum width for drawing a chart (uses scaling for smaller widths).
      */
@@ -570,6 +609,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         this.maximumDrawWidth = maximumDrawWidth;
         this.maximumDrawHeight = maximumDrawHeight;
         this.zoomTriggerDistance = DEFAULT_ZOOM_TRIGGER_DISTANCE;
+        this.zoomPreviewDelay = DEFAULT_ZOOM_PREVIEW_DELAY;
 
         // set up popup menu...
         this.popup = null;
@@ -632,6 +672,8 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
         // add the new chart
         this.chart = chart;
+        this.zoomPreview = null;
+        this.stripScroller = null;
         if (chart != null) {
             this.chart.addChangeListener(this);
             this.chart.addProgressListener(this);
@@ -1290,6 +1332,240 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         this.refreshBuffer = flag;
     }
 
+    /**
+     * Returns the flag that controls whether zooming and panning show a
+     * preview before the chart is redrawn.  The default value is
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setZoomPreviewEnabled(boolean)
+     *
+     * @since 1.6.0
+     */
+    public boolean isZoomPreviewEnabled() {
+        return this.zoomPreviewEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether zooming and panning show a
+     * preview before the chart is redrawn.  When enabled (and the off-screen
+     * buffer is used), each zoom or pan step immediately repaints the panel
+     * with the buffered data area scaled and translated to the new axis
+     * ranges, and the chart itself is only redrawn once no further step has
+     * followed for {@link #getZoomPreviewDelay()} milliseconds.  This keeps
+     * interaction responsive for charts that are slow to draw.  Previews are
+     * available for {@link org.jfree.chart.plot.XYPlot} and
+     * {@link org.jfree.chart.plot.CategoryPlot} (but not combined plots).
+     *
+     * @param flag  the new flag value.
+     *
+     * @see #isZoomPreviewEnabled()
+     *
+     * @since 1.6.0
+     */
+    public void setZoomPreviewEnabled(boolean flag) {
+        this.zoomPreviewEnabled = flag;
+        if (!flag) {
+            endZoomPreview();
+        }
+    }
+
+    /**
+     * Returns the delay (in milliseconds) between the last zoom or pan step
+     * and the redrawing of the chart when zoom previews are enabled.
+     *
+     * @return The delay.
+     *
+     * @see #setZoomPreviewDelay(int)
+     *
+     * @since 1.6.0
+     */
+    public int getZoomPreviewDelay() {
+        return this.zoomPreviewDelay;
+    }
+
+    /**
+     * Sets the delay (in milliseconds) between the last zoom or pan step
+     * and the redrawing of the chart when zoom previews are enabled.
+     *
+     * @param delay  the delay (must be &gt;= 0).
+     *
+     * @see #getZoomPreviewDelay()
+     *
+     * @since 1.6.0
+     */
+    public void setZoomPreviewDelay(int delay) {
+        Args.requireNonNegative(delay, "delay");
+        this.zoomPreviewDelay = delay;
+        if (this.zoomPreviewTimer != null) {
+            this.zoomPreviewTimer.setInitialDelay(delay);
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether strip charts are updated by
+     * scrolling the buffer.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setScrollingEnabled(boolean)
+     *
+     * @since 1.6.0
+     */
+    public boolean isScrollingEnabled() {
+        return this.scrollingEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether strip charts are updated by
+     * scrolling the buffer.  This applies to an {@code XYPlot} (without
+     * subplots) whose domain axis is a {@code NumberAxis} or
+     * {@code DateAxis} with a fixed auto range, for example a chart of a
+     * {@code TimeSeries} with a maximum item age.  When only the data has
+     * changed since the chart was last drawn and the range axes still show
+     * the same ranges, the data area in the buffer is shifted to the left
+     * and only the newly exposed strip and the domain axis are drawn, which
+     * is much cheaper than redrawing the chart for each new item.  The
+     * plot must not draw anything in the data area that stays in place
+     * while the data moves (annotations, range markers, a background image
+     * or dashed horizontal gridlines, for example), otherwise the chart is
+     * redrawn in full as usual.  The shift is a whole number of pixels, so
+     * data that has scrolled can be up to half a pixel from where a full
+     * redraw would put it.  While scrolling, the entity collection only
+     * holds the entities for the items in the last strip.  Scrolling
+     * requires the off-screen buffer and is not used when the chart is
+     * scaled to fit the panel.
+     *
+     * @param flag  the new flag value.
+     *
+     * @see #isScrollingEnabled()
+     *
+     * @since 1.6.0
+     */
+    public void setScrollingEnabled(boolean flag) {
+        this.scrollingEnabled = flag;
+        if (!flag) {
+            this.stripScroller = null;
+        }
+    }
+
+    /**
+     * Called before a zoom or pan step changes the axis ranges.  If zoom
+     * previews are enabled, this records the ranges that the buffered chart
+     * was drawn with (unless a preview is already showing) and postpones the
+     * redrawing of the chart, so that steps that follow each other quickly
+     * only lead to one redraw.
+     */
+    void startZoomPreview() {
+        if (!this.zoomPreviewEnabled || !this.useBuffer
+                || this.chart == null) {
+            return;
+        }
+        if (this.zoomPreview == null) {
+            // the buffer must show the chart as it currently is
+            if (this.refreshBuffer
+                    || !(this.chartBuffer instanceof BufferedImage)) {
+                return;
+            }
+            this.zoomPreview = ZoomPreview.create(this.chart.getPlot(),
+                    this.info.getPlotInfo());
+            if (this.zoomPreview == null) {
+                return;
+            }
+        }
+        if (this.zoomPreviewTimer == null) {
+            this.zoomPreviewTimer = new Timer(this.zoomPreviewDelay,
+                    new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    endZoomPreview();
+                }
+            });
+            this.zoomPreviewTimer.setRepeats(false);
+        }
+        this.zoomPreviewTimer.restart();
+    }
+
+    /**
+     * Ends the zoom preview (if there is one) and repaints the panel, so
+     * that the chart is redrawn for the current axis ranges.
+     */
+    private void endZoomPreview() {
+        if (this.zoomPreviewTimer != null) {
+            this.zoomPreviewTimer.stop();
+        }
+        if (this.zoomPreview != null) {
+            this.zoomPreview = null;
+            repaint();
+        }
+    }
+
+    /**
+     * Paints the zoom preview: the buffered chart with its data area
+     * replaced by the buffered data area, scaled and translated to the
+     * current axis ranges.
+     *
+     * @param g2  the graphics target (in panel coordinates).
+     * @param insets  the panel insets.
+     *
+     * @return A boolean indicating whether the preview was painted (if not,
+     *     the preview has ended and the chart should be drawn).
+     */
+    private boolean paintZoomPreview(Graphics2D g2, Insets insets) {
+        AffineTransform t = this.zoomPreview.getTransform();
+        if (t == null) {
+            this.zoomPreview = null;
+            return false;
+        }
+        BufferedImage buffer = (BufferedImage) this.chartBuffer;
+        Rectangle2D dataArea = this.zoomPreview.getDataArea();
+        Rectangle source = new Rectangle2D.Double(
+                dataArea.getX() * this.scaleX, dataArea.getY() * this.scaleY,
+                dataArea.getWidth() * this.scaleX,
+                dataArea.getHeight() * this.scaleY).getBounds().intersection(
+                new Rectangle(0, 0, buffer.getWidth(), buffer.getHeight()));
+        if (source.isEmpty()) {
+            this.zoomPreview = null;
+            return false;
+        }
+        Graphics2D pg2 = (Graphics2D) g2.create();
+        pg2.translate(insets.left, insets.top);
+        pg2.drawImage(buffer, 0, 0, this);
+        pg2.scale(this.scaleX, this.scaleY);
+        pg2.clip(dataArea);
+        Paint background = this.chart.getPlot().getBackgroundPaint();
+        pg2.setPaint(background != null ? background : getBackground());
+        pg2.fill(dataArea);
+        pg2.transform(t);
+        pg2.scale(1.0 / this.scaleX, 1.0 / this.scaleY);
+        pg2.drawImage(buffer.getSubimage(source.x, source.y, source.width,
+                source.height), source.x, source.y, this);
+        pg2.dispose();
+        return true;
+    }
+
+    /**
+     * Brings the buffer up to date by scrolling the data area, if scrolling
+     * is enabled and only the data has changed since the chart was drawn.
+     *
+     * @param scale  a flag indicating whether the chart is being scaled.
+     *
+     * @return A boolean indicating whether the buffer was updated.
+     */
+    private boolean scrollBuffer(boolean scale) {
+        if (this.stripScroller == null || scale || this.anchor != null
+                || !(this.chartBuffer instanceof BufferedImage)) {
+            return false;
+        }
+        if (this.stripScroller.scroll((BufferedImage) this.chartBuffer,
+                this.chart, this.info)) {
+            return true;
+        }
+        this.stripScroller = null;
+        return false;
+    }
+
     /**
      * Paints the component by drawing the chart to fill the entire component,
      * but allowing for the insets (which will be non-zero if a border has been
@@ -1346,7 +1622,18 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
                 drawHeight);
 
         // are we using the chart buffer?
-        if (this.useBuffer) {
+        boolean previewed = false;
+        if (this.useBuffer && this.refreshBuffer && this.zoomPreview != null
+                && this.chartBufferWidth == (int) available.getWidth()
+                && this.chartBufferHeight == (int) available.getHeight()) {
+            // the chart is redrawn when the preview timer fires
+            previewed = paintZoomPreview(g2, insets);
+        }
+        if (previewed) {
+            // the buffer is left as it is until the chart is redrawn
+        }
+        else if (this.useBuffer) {
+            this.zoomPreview = null;
 
             // do we need to resize the buffer?
             if ((this.chartBuffer == null)
@@ -1359,6 +1646,12 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
                         this.chartBufferWidth, this.chartBufferHeight,
                         Transparency.TRANSLUCENT);
                 this.refreshBuffer = true;
+                this.stripScroller = null;
+            }
+
+            // can the buffer be scrolled instead of redrawn?
+            if (this.refreshBuffer && scrollBuffer(scale)) {
+                this.refreshBuffer = false;
             }
 
             // do we need to redraw the buffer?
@@ -1393,6 +1686,11 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
                             this.info);
                 }
                 bufferG2.dispose();
+                this.stripScroller = null;
+                if (this.scrollingEnabled && !scale) {
+                    this.stripScroller = StripScroller.create(this.chart,
+                            this.info);
+                }
             }
 
             // zap the buffer onto the panel...
@@ -1422,7 +1720,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
         g2.dispose();
 
-        this.anchor = null;
+        if (!previewed) {
+            this.anchor = null;
+        }
     }
 
     /**
@@ -1433,6 +1733,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     @Override
     public void chartChanged(ChartChangeEvent event) {
         this.refreshBuffer = true;
+        if (event.getType() != ChartChangeEventType.DATASET_UPDATED) {
+            this.stripScroller = null;
+        }
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
             Zoomable z = (Zoomable) plot;
@@ -1666,6 +1969,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             }
             double wPercent = -dx / this.panW;
             double hPercent = dy / this.panH;
+            startZoomPreview();
             boolean old = this.chart.getPlot().isNotify();
             this.chart.getPlot().setNotify(false);
             Pannable p = (Pannable) this.chart.getPlot();
@@ -1959,6 +2263,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             // axes...
             boolean savedNotify = plot.isNotify();
             plot.setNotify(false);
+            startZoomPreview();
             Zoomable z = (Zoomable) plot;
             z.zoomDomainAxes(this.zoomInFactor, this.info.getPlotInfo(),
                     translateScreenToJava2D(new Point((int) x, (int) y)),
@@ -1983,6 +2288,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             // axes...
             boolean savedNotify = plot.isNotify();
             plot.setNotify(false);
+            startZoomPreview();
             Zoomable z = (Zoomable) plot;
             z.zoomRangeAxes(this.zoomInFactor, this.info.getPlotInfo(),
                     translateScreenToJava2D(new Point((int) x, (int) y)),
@@ -2028,6 +2334,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             // axes...
             boolean savedNotify = plot.isNotify();
             plot.setNotify(false);
+            startZoomPreview();
             Zoomable z = (Zoomable) plot;
             z.zoomDomainAxes(this.zoomOutFactor, this.info.getPlotInfo(),
                     translateScreenToJava2D(new Point((int) x, (int) y)),
@@ -2052,6 +2359,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             // axes...
             boolean savedNotify = plot.isNotify();
             plot.setNotify(false);
+            startZoomPreview();
             Zoomable z = (Zoomable) plot;
             z.zoomRangeAxes(this.zoomOutFactor, this.info.getPlotInfo(),
                     translateScreenToJava2D(new Point((int) x, (int) y)),
@@ -2088,6 +2396,7 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
             Plot p = this.chart.getPlot();
             if (p instanceof Zoomable) {
+                startZoomPreview();
                 // here we tweak the notify flag on the plot so that only
                 // one notification happens even though we update multiple
                 // axes...
@@ -2420,9 +2729,8 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     
     /**
      * Saves the chart in SVG format (a filechooser will be displayed so that
-     * the user can specify the filename).  Note that this method only works
-     * if the JFreeSVG library is on the classpath...if this library is not 
-     * present, the method will fail.
+     * the user can specify the filename).  The JFreeSVG library is used if it
+     * is on the classpath, otherwise the built-in SVG writer is used.
      */
     private void saveAsSVG(File f) throws IOException {
         File file = f;
@@ -2457,7 +2765,10 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             }
         }
         
-        if (file != null) {
+        if (file != null && !ChartUtils.isJFreeSVGAvailable()) {
+            ExportUtils.writeAsSVG(this.chart, getWidth(), getHeight(), file);
+        }
+        else if (file != null) {
             // use reflection to get the SVG string
             String svg = generateSVG(getWidth(), getHeight());
             BufferedWriter writer = null;
@@ -2540,9 +2851,8 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
     /**
      * Saves the chart in PDF format (a filechooser will be displayed so that
-     * the user can specify the filename).  Note that this method only works
-     * if the OrsonPDF library is on the classpath...if this library is not
-     * present, the method will fail.
+     * the user can specify the filename).  The OrsonPDF library is used if it
+     * is on the classpath, otherwise the built-in PDF writer is used.
      */
     private void saveAsPDF(File f) {
         File file = f;
@@ -2577,7 +2887,10 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             }
         }
         
-        if (file != null) {
+        if (file != null && !ChartUtils.isOrsonPDFAvailable()) {
+            ExportUtils.writeAsPDF(this.chart, getWidth(), getHeight(), file);
+        }
+        else if (file != null) {
             writeAsPDF(file, getWidth(), getHeight());
         }
     }
@@ -2790,21 +3103,19 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             pngItem.addActionListener(this);
             saveSubMenu.add(pngItem);
             
-            if (ChartUtils.isJFreeSVGAvailable()) {
-                JMenuItem svgItem = new JMenuItem(localizationResources.getString(
-                        "SVG..."));
-                svgItem.setActionCommand("SAVE_AS_SVG");
-                svgItem.addActionListener(this);
-                saveSubMenu.add(svgItem);                
-            }
-            
-            if (ChartUtils.isOrsonPDFAvailable()) {
-                JMenuItem pdfItem = new JMenuItem(
-                        localizationResources.getString("PDF..."));
-                pdfItem.setActionCommand("SAVE_AS_PDF");
-                pdfItem.addActionListener(this);
-                saveSubMenu.add(pdfItem);
-            }
+            // SVG and PDF are always available, JFreeSVG and OrsonPDF are
+            // used when present, otherwise the built-in writers
+            JMenuItem svgItem = new JMenuItem(localizationResources.getString(
+                    "SVG..."));
+            svgItem.setActionCommand("SAVE_AS_SVG");
+            svgItem.addActionListener(this);
+            saveSubMenu.add(svgItem);                
+
+            JMenuItem pdfItem = new JMenuItem(
+                    localizationResources.getString("PDF..."));
+            pdfItem.setActionCommand("SAVE_AS_PDF");
+            pdfItem.addActionListener(this);
+            saveSubMenu.add(pdfItem);
             result.add(saveSubMenu);
             separator = true;
         }
@@ -58,6 +58,8 @@ import org.jfree.chart.imagemap.StandardURLTagFragmentGenerator;
 import org.jfree.chart.imagemap.ToolTipTagFragmentGenerator;
 import org.jfree.chart.imagemap.URLTagFragmentGenerator;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.RenderMonitor;
+import org.jfree.chart.util.RenderStage;
 
 /**
  * A collection of utility methods for JFreeChart.  Includes methods for
@@ -180,7 +182,13 @@ public abstract class ChartUtils {
         Args.nullNotPermitted(chart, "chart");
         BufferedImage bufferedImage
                 = chart.createBufferedImage(width, height, info);
-        EncoderUtil.writeBufferedImage(bufferedImage, ImageFormat.PNG, out);
+        encodingStarted(chart);
+        try {
+            EncoderUtil.writeBufferedImage(bufferedImage, ImageFormat.PNG, out);
+        }
+        finally {
+            encodingFinished(chart);
+        }
     }
 
     /**
@@ -208,8 +216,14 @@ public abstract class ChartUtils {
         Args.nullNotPermitted(chart, "chart");
         BufferedImage chartImage = chart.createBufferedImage(width, height,
                 BufferedImage.TYPE_INT_ARGB, info);
-        ChartUtils.writeBufferedImageAsPNG(out, chartImage, encodeAlpha,
-                compression);
+        encodingStarted(chart);
+        try {
+            ChartUtils.writeBufferedImageAsPNG(out, chartImage, encodeAlpha,
+                    compression);
+        }
+        finally {
+            encodingFinished(chart);
+        }
 
     }
 
@@ -262,8 +276,39 @@ public abstract class ChartUtils {
             chart.draw(g2, new Rectangle2D.Double(0, 0, defaultWidth,
                     defaultHeight), null, null);
         }
-        out.write(encodeAsPNG(image));
+        encodingStarted(chart);
+        try {
+            writeBufferedImageAsPNG(out, image);
+        }
+        finally {
+            encodingFinished(chart);
+        }
+
+    }
+
+    /**
+     * Notifies the chart's render monitor (if any) that encoding has started.
+     *
+     * @param chart  the chart.
+     */
+    private static void encodingStarted(JFreeChart chart) {
+        RenderMonitor monitor = chart.getRenderMonitor();
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.ENCODING, chart);
+        }
+    }
 
+    /**
+     * Notifies the chart's render monitor (if any) that encoding has
+     * finished.
+     *
+     * @param chart  the chart.
+     */
+    private static void encodingFinished(JFreeChart chart) {
+        RenderMonitor monitor = chart.getRenderMonitor();
+        if (monitor != null) {
+            monitor.stageFinished(RenderStage.ENCODING, chart);
+        }
     }
 
     /**
@@ -407,7 +452,13 @@ public abstract class ChartUtils {
         Args.nullNotPermitted(chart, "chart");
         BufferedImage image = chart.createBufferedImage(width, height,
                 BufferedImage.TYPE_INT_RGB, info);
-        EncoderUtil.writeBufferedImage(image, ImageFormat.JPEG, out);
+        encodingStarted(chart);
+        try {
+            EncoderUtil.writeBufferedImage(image, ImageFormat.JPEG, out);
+        }
+        finally {
+            encodingFinished(chart);
+        }
 
     }
 
@@ -434,7 +485,14 @@ public abstract class ChartUtils {
         Args.nullNotPermitted(chart, "chart");
         BufferedImage image = chart.createBufferedImage(width, height,
                 BufferedImage.TYPE_INT_RGB, info);
-        EncoderUtil.writeBufferedImage(image, ImageFormat.JPEG, out, quality);
+        encodingStarted(chart);
+        try {
+            EncoderUtil.writeBufferedImage(image, ImageFormat.JPEG, out,
+                    quality);
+        }
+        finally {
+            encodingFinished(chart);
+        }
 
     }
 
@@ -682,8 +740,8 @@ public abstract class ChartUtils {
             URLTagFragmentGenerator urlTagFragmentGenerator)
             throws IOException {
 
-        writer.println(ImageMapUtils.getImageMap(name, info,
-                toolTipTagFragmentGenerator, urlTagFragmentGenerator));
+        ImageMapUtils.writeImageMap(writer, name, info,
+                toolTipTagFragmentGenerator, urlTagFragmentGenerator);
     }
 
     /**
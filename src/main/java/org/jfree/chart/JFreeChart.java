@@ -214,6 +214,8 @@ import org.jfree.chart.ui.VerticalAlignment;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.RenderMonitor;
+import org.jfree.chart.util.RenderStage;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.data.Range;
 
@@ -341,6 +343,9 @@ public class JFreeChart implements Drawable, TitleChangeListener,
      */
     private boolean elementHinting;
     
+    /** The monitor notified of drawing progress ({@code null} permitted). */
+    private transient RenderMonitor renderMonitor;
+
     /**
      * Creates a new chart based on the supplied plot.  The chart will have
      * a legend added automatically, but no title (although you can easily add
@@ -1146,6 +1151,37 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         }
     }
 
+    /**
+     * Returns the monitor that is notified as the stages of drawing the
+     * chart start and finish.
+     *
+     * @return The monitor (possibly {@code null}).
+     *
+     * @see #setRenderMonitor(RenderMonitor)
+     *
+     * @since 1.6.0
+     */
+    public RenderMonitor getRenderMonitor() {
+        return this.renderMonitor;
+    }
+
+    /**
+     * Sets the monitor that is notified as the stages of drawing the chart
+     * start and finish.  While the chart is drawn, the monitor is passed
+     * to the plot and its components through the
+     * {@link ChartHints#KEY_RENDER_MONITOR} rendering hint.  If no monitor is
+     * set, any monitor already set as a hint on the graphics device is used.
+     * No change event is sent, since the monitor does not affect the
+     * appearance of the chart.
+     *
+     * @param monitor  the monitor ({@code null} permitted).
+     *
+     * @since 1.6.0
+     */
+    public void setRenderMonitor(RenderMonitor monitor) {
+        this.renderMonitor = monitor;
+    }
+
     /**
      * Draws the chart on a Java 2D graphics device (such as the screen or a
      * printer).
@@ -1190,6 +1226,52 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         notifyListeners(new ChartProgressEvent(this, this,
                 ChartProgressEvent.DRAWING_STARTED, 0));
         
+        Object savedMonitor = g2.getRenderingHint(
+                ChartHints.KEY_RENDER_MONITOR);
+        RenderMonitor monitor = this.renderMonitor;
+        if (monitor != null) {
+            g2.setRenderingHint(ChartHints.KEY_RENDER_MONITOR, monitor);
+        }
+        else {
+            monitor = (RenderMonitor) savedMonitor;
+        }
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.CHART, this);
+        }
+        try {
+            drawChart(g2, chartArea, anchor, info, monitor);
+        }
+        finally {
+            if (monitor != null) {
+                if (info != null && info.getEntityCollection() != null) {
+                    monitor.entitiesCreated(this,
+                            info.getEntityCollection().getEntityCount());
+                }
+                monitor.stageFinished(RenderStage.CHART, this);
+            }
+            if (monitor != savedMonitor) {
+                g2.setRenderingHint(ChartHints.KEY_RENDER_MONITOR,
+                        savedMonitor);
+            }
+        }
+
+        notifyListeners(new ChartProgressEvent(this, this,
+                ChartProgressEvent.DRAWING_FINISHED, 100));
+    }
+
+    /**
+     * Draws the chart for the {@code draw()} method, between the start and
+     * finish of the {@link RenderStage#CHART} stage.
+     *
+     * @param g2  the graphics device.
+     * @param chartArea  the area within which the chart should be drawn.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param info  records info about the drawing ({@code null} permitted).
+     * @param monitor  the render monitor ({@code null} permitted).
+     */
+    private void drawChart(Graphics2D g2, Rectangle2D chartArea,
+            Point2D anchor, ChartRenderingInfo info, RenderMonitor monitor) {
+
         if (this.elementHinting) {
             Map m = new HashMap<String, String>();
             if (this.id != null) {
@@ -1257,10 +1339,20 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         this.padding.trim(nonTitleArea);
 
         if (this.title != null && this.title.isVisible()) {
-            EntityCollection e = drawTitle(this.title, g2, nonTitleArea,
-                    (entities != null));
-            if (e != null && entities != null) {
-                entities.addAll(e);
+            if (monitor != null) {
+                monitor.stageStarted(RenderStage.TITLE, this.title);
+            }
+            try {
+                EntityCollection e = drawTitle(this.title, g2, nonTitleArea,
+                        (entities != null));
+                if (e != null && entities != null) {
+                    entities.addAll(e);
+                }
+            }
+            finally {
+                if (monitor != null) {
+                    monitor.stageFinished(RenderStage.TITLE, this.title);
+                }
             }
         }
 
@@ -1268,10 +1360,22 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         while (iterator.hasNext()) {
             Title currentTitle = (Title) iterator.next();
             if (currentTitle.isVisible()) {
-                EntityCollection e = drawTitle(currentTitle, g2, nonTitleArea,
-                        (entities != null));
-                if (e != null && entities != null) {
-                    entities.addAll(e);
+                RenderStage stage = currentTitle instanceof LegendTitle
+                        ? RenderStage.LEGEND : RenderStage.TITLE;
+                if (monitor != null) {
+                    monitor.stageStarted(stage, currentTitle);
+                }
+                try {
+                    EntityCollection e = drawTitle(currentTitle, g2,
+                            nonTitleArea, (entities != null));
+                    if (e != null && entities != null) {
+                        entities.addAll(e);
+                    }
+                }
+                finally {
+                    if (monitor != null) {
+                        monitor.stageFinished(stage, currentTitle);
+                    }
                 }
             }
         }
@@ -1283,14 +1387,21 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         if (info != null) {
             plotInfo = info.getPlotInfo();
         }
-        this.plot.draw(g2, plotArea, anchor, null, plotInfo);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.PLOT, this.plot);
+        }
+        try {
+            this.plot.draw(g2, plotArea, anchor, null, plotInfo);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.PLOT, this.plot);
+            }
+        }
         g2.setClip(savedClip);
         if (this.elementHinting) {         
             g2.setRenderingHint(ChartHints.KEY_END_ELEMENT, Boolean.TRUE);            
         }
-
-        notifyListeners(new ChartProgressEvent(this, this,
-                ChartProgressEvent.DRAWING_FINISHED, 100));
     }
 
     /**
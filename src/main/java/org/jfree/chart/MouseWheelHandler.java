@@ -139,6 +139,7 @@ class MouseWheelHandler implements MouseWheelListener, Serializable {
             return;
         }
 
+        this.chartPanel.startZoomPreview();
         Plot plot = (Plot) zoomable;
         // do not notify while zooming each axis
         boolean notifyState = plot.isNotify();
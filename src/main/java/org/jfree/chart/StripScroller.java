@@ -0,0 +1,373 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Stroke;
+import java.awt.geom.Area;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.Timeline;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.ui.Layer;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.data.Range;
+
+/**
+ * Updates the buffered image of a strip chart (an {@link XYPlot} whose
+ * domain axis shows a fixed-width range that follows the data) by shifting
+ * the data area to the left and drawing only the newly exposed strip,
+ * instead of redrawing the whole chart.  The strip is drawn with the
+ * {@link ChartHints#KEY_CULL_TO_CLIP} hint, so the renderer is only given
+ * the items near the strip.
+ * <p>
+ * The shift is a whole number of pixels, so data that has scrolled can be
+ * up to half a pixel from where a full redraw would put it (the rounding
+ * does not accumulate), and the column of pixels just inside the left edge
+ * of the data area may show the data from before the last shift.  The
+ * chart is redrawn in full whenever anything other than the data has
+ * changed, and whenever a range axis or the legend has changed.
+ */
+class StripScroller {
+
+    /**
+     * The width (in Java2D units) of the band to the left of the newly
+     * exposed strip that is redrawn as well, so that the lines and shapes
+     * for the previous last items are completed.  This is also the margin
+     * used to cull the items.
+     */
+    static final int SEAM = 8;
+
+    /** The timeline used by a date axis that doesn't skip any time. */
+    private static final Timeline DEFAULT_TIMELINE
+            = new DateAxis().getTimeline();
+
+    /** The plot. */
+    private final XYPlot plot;
+
+    /** The domain axis. */
+    private final ValueAxis domainAxis;
+
+    /** The chart area. */
+    private final Rectangle2D chartArea;
+
+    /** The plot area. */
+    private final Rectangle2D plotArea;
+
+    /** The data area. */
+    private final Rectangle2D dataArea;
+
+    /** The length of the domain axis range. */
+    private final double length;
+
+    /** The lower bound of the domain axis when the chart was fully drawn. */
+    private final double lower;
+
+    /** The ranges of the range axes. */
+    private final Range[] ranges;
+
+    /** The legend items. */
+    private final LegendItemCollection legendItems;
+
+    /**
+     * The width of the band inside the left edge of the data area that the
+     * outline (and any adjacent axis line) can reach into.
+     */
+    private final double edge;
+
+    /** The number of pixels the data area has been shifted since. */
+    private long shift;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param plot  the plot.
+     * @param info  the rendering info from the full drawing of the chart.
+     * @param edge  the width of the band at the left edge.
+     */
+    private StripScroller(XYPlot plot, ChartRenderingInfo info,
+            double edge) {
+        this.plot = plot;
+        this.domainAxis = plot.getDomainAxis();
+        this.chartArea = (Rectangle2D) info.getChartArea().clone();
+        this.plotArea = (Rectangle2D) info.getPlotInfo().getPlotArea()
+                .clone();
+        this.dataArea = (Rectangle2D) info.getPlotInfo().getDataArea()
+                .clone();
+        this.length = this.domainAxis.getRange().getLength();
+        this.lower = this.domainAxis.getLowerBound();
+        this.ranges = new Range[plot.getRangeAxisCount()];
+        for (int i = 0; i < this.ranges.length; i++) {
+            ValueAxis axis = plot.getRangeAxis(i);
+            this.ranges[i] = axis != null ? axis.getRange() : null;
+        }
+        this.legendItems = plot.getLegendItems();
+        this.edge = edge;
+    }
+
+    /**
+     * Creates an instance for a chart that has just been drawn in full, or
+     * returns {@code null} if the chart can't be scrolled.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param info  the rendering info from drawing the chart ({@code null}
+     *     not permitted).
+     *
+     * @return The scroller, or {@code null}.
+     */
+    static StripScroller create(JFreeChart chart, ChartRenderingInfo info) {
+        if (!(chart.getPlot() instanceof XYPlot)) {
+            return null;
+        }
+        PlotRenderingInfo plotInfo = info.getPlotInfo();
+        Rectangle2D dataArea = plotInfo.getDataArea();
+        if (plotInfo.getSubplotCount() > 0 || dataArea == null
+                || plotInfo.getPlotArea() == null
+                || dataArea.getWidth() <= 4 * SEAM) {
+            return null;
+        }
+        XYPlot plot = (XYPlot) chart.getPlot();
+        double edge = getEdgeWidth(plot, dataArea);
+        if (Double.isNaN(edge)) {
+            return null;
+        }
+        return new StripScroller(plot, info, edge);
+    }
+
+    /**
+     * Returns the width of the band inside the left edge of the data area
+     * that the plot outline, or a range axis line that is close to the data
+     * area, can reach into.  If the plot doesn't draw anything else that
+     * stays in place while the data scrolls, the result is
+     * {@code Double.NaN}.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     *
+     * @return The width, or {@code Double.NaN} if the plot can't be
+     *     scrolled.
+     */
+    private static double getEdgeWidth(XYPlot plot, Rectangle2D dataArea) {
+        if (plot.getOrientation() != PlotOrientation.VERTICAL
+                || plot.getDomainAxisCount() != 1
+                || plot.getShadowGenerator() != null
+                || plot.getDomainTickBandPaint() != null
+                || plot.getBackgroundImage() != null
+                || !plot.getAnnotations().isEmpty()) {
+            return Double.NaN;
+        }
+        Paint background = plot.getBackgroundPaint();
+        if (!(background instanceof Color)
+                || ((Color) background).getAlpha() < 255
+                || plot.getBackgroundAlpha() < 1.0f) {
+            return Double.NaN;
+        }
+        ValueAxis axis = plot.getDomainAxis();
+        if (axis == null || !axis.isAutoRange()
+                || axis.getFixedAutoRange() <= 0.0 || axis.isInverted()) {
+            return Double.NaN;
+        }
+        if (axis.getClass() == DateAxis.class) {
+            if (((DateAxis) axis).getTimeline() != DEFAULT_TIMELINE) {
+                return Double.NaN;
+            }
+        }
+        else if (axis.getClass() != NumberAxis.class) {
+            return Double.NaN;
+        }
+        // a dashed horizontal line would lose its dash phase when shifted
+        if ((plot.isRangeGridlinesVisible()
+                && isDashed(plot.getRangeGridlineStroke()))
+                || (plot.isRangeMinorGridlinesVisible()
+                && isDashed(plot.getRangeMinorGridlineStroke()))
+                || (plot.isRangeZeroBaselineVisible()
+                && isDashed(plot.getRangeZeroBaselineStroke()))
+                || (plot.isRangeCrosshairVisible()
+                && isDashed(plot.getRangeCrosshairStroke()))) {
+            return Double.NaN;
+        }
+        int count = Math.max(plot.getRangeAxisCount(),
+                plot.getDatasetCount());
+        for (int i = 0; i < count; i++) {
+            if (hasItems(plot.getRangeMarkers(i, Layer.FOREGROUND))
+                    || hasItems(plot.getRangeMarkers(i, Layer.BACKGROUND))) {
+                return Double.NaN;
+            }
+        }
+        double result = 0.0;
+        if (plot.isOutlineVisible() && plot.getOutlinePaint() != null) {
+            result = halfWidth(plot.getOutlineStroke());
+        }
+        double offset = plot.getAxisOffset().calculateLeftOutset(
+                dataArea.getWidth());
+        for (int i = 0; i < plot.getRangeAxisCount(); i++) {
+            ValueAxis rangeAxis = plot.getRangeAxis(i);
+            if (rangeAxis != null && rangeAxis.isVisible()
+                    && rangeAxis.isAxisLineVisible()
+                    && plot.getRangeAxisEdge(i) == RectangleEdge.LEFT) {
+                result = Math.max(result,
+                        halfWidth(rangeAxis.getAxisLineStroke()) - offset);
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasItems(Collection c) {
+        return c != null && !c.isEmpty();
+    }
+
+    private static boolean isDashed(Stroke stroke) {
+        if (stroke == null) {
+            return false;
+        }
+        return !(stroke instanceof BasicStroke)
+                || ((BasicStroke) stroke).getDashArray() != null;
+    }
+
+    /**
+     * Returns half the width of a stroke, {@code 0.0} for {@code null}, or
+     * {@code Double.NaN} if the width is not known.
+     */
+    private static double halfWidth(Stroke stroke) {
+        if (stroke == null) {
+            return 0.0;
+        }
+        if (!(stroke instanceof BasicStroke)) {
+            return Double.NaN;
+        }
+        return ((BasicStroke) stroke).getLineWidth() / 2.0;
+    }
+
+    /**
+     * Brings the buffered image up to date by shifting the data area and
+     * drawing the newly exposed strip.  If this returns {@code false} the
+     * chart must be drawn in full (the buffer may have been changed).
+     *
+     * @param buffer  the buffered image of the chart ({@code null} not
+     *     permitted).
+     * @param chart  the chart ({@code null} not permitted).
+     * @param info  collects the rendering info ({@code null} not permitted).
+     *     Only the entities for the items drawn in the strip are included.
+     *
+     * @return A boolean indicating whether the buffer was updated.
+     */
+    boolean scroll(BufferedImage buffer, JFreeChart chart,
+            ChartRenderingInfo info) {
+        if (chart.getPlot() != this.plot
+                || this.plot.getDomainAxis() != this.domainAxis
+                || getEdgeWidth(this.plot, this.dataArea) != this.edge) {
+            return false;
+        }
+        Range range = this.domainAxis.getRange();
+        if (Math.abs(range.getLength() - this.length)
+                > this.length * 1.0E-9) {
+            return false;
+        }
+        if (this.plot.getRangeAxisCount() != this.ranges.length) {
+            return false;
+        }
+        for (int i = 0; i < this.ranges.length; i++) {
+            ValueAxis axis = this.plot.getRangeAxis(i);
+            Range r = axis != null ? axis.getRange() : null;
+            if (!ObjectUtils.equal(r, this.ranges[i])) {
+                return false;
+            }
+        }
+        if (!this.legendItems.equals(this.plot.getLegendItems())) {
+            return false;
+        }
+
+        // the shift is worked out from the last full drawing so that the
+        // rounding errors don't add up
+        long total = Math.round((range.getLowerBound() - this.lower)
+                * this.dataArea.getWidth() / this.length);
+        int x0 = (int) Math.ceil(this.dataArea.getMinX() + this.edge + 0.5);
+        int x1 = (int) Math.ceil(this.dataArea.getMaxX());
+        long dx = total - this.shift;
+        if (dx < 0 || dx > (x1 - x0) / 2) {
+            return false;
+        }
+        int y0 = (int) Math.floor(this.dataArea.getMinY() - this.edge - 0.5);
+        int y1 = (int) Math.ceil(this.dataArea.getMaxY() + this.edge + 0.5);
+
+        double stripX = x1 - dx - SEAM;
+        Area region = new Area(new Rectangle2D.Double(stripX,
+                this.plotArea.getMinY(), this.plotArea.getMaxX() - stripX,
+                this.plotArea.getHeight()));
+        if (this.plot.getDomainAxisEdge() == RectangleEdge.TOP) {
+            region.add(new Area(new Rectangle2D.Double(
+                    this.chartArea.getMinX(), this.plotArea.getMinY(),
+                    this.chartArea.getWidth(),
+                    this.dataArea.getMinY() - this.plotArea.getMinY())));
+        }
+        else {
+            region.add(new Area(new Rectangle2D.Double(
+                    this.chartArea.getMinX(), this.dataArea.getMaxY(),
+                    this.chartArea.getWidth(),
+                    this.plotArea.getMaxY() - this.dataArea.getMaxY())));
+        }
+
+        Graphics2D g2 = buffer.createGraphics();
+        try {
+            if (dx > 0) {
+                g2.copyArea(x0 + (int) dx, y0, x1 - x0 - (int) dx, y1 - y0,
+                        (int) -dx, 0);
+            }
+            Composite savedComposite = g2.getComposite();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fill(region);
+            g2.setComposite(savedComposite);
+            g2.setClip(region);
+            g2.setRenderingHint(ChartHints.KEY_CULL_TO_CLIP,
+                    new Double(SEAM));
+            chart.draw(g2, this.chartArea, null, info);
+        }
+        finally {
+            g2.dispose();
+        }
+        if (!this.dataArea.equals(info.getPlotInfo().getDataArea())) {
+            return false;
+        }
+        this.shift = total;
+        return true;
+    }
+
+}
@@ -0,0 +1,188 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.ui.RectangleEdge;
+
+/**
+ * Records the axis ranges that a chart's data area was last drawn with, so
+ * that a {@link ChartPanel} can show the drawn data area scaled and
+ * translated to new axis ranges while the chart is being zoomed or panned,
+ * before the chart itself is redrawn.
+ */
+class ZoomPreview {
+
+    /** The data area (in Java2D space, before any panel scaling). */
+    private final Rectangle2D dataArea;
+
+    /** The axis along the horizontal direction ({@code null} permitted). */
+    private ValueAxis xAxis;
+
+    /** The edge for the horizontal axis. */
+    private RectangleEdge xEdge;
+
+    /** The horizontal axis values at the left and right of the data area. */
+    private double x0, x1;
+
+    /** The axis along the vertical direction ({@code null} permitted). */
+    private ValueAxis yAxis;
+
+    /** The edge for the vertical axis. */
+    private RectangleEdge yEdge;
+
+    /** The vertical axis values at the top and bottom of the data area. */
+    private double y0, y1;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param dataArea  the data area.
+     */
+    private ZoomPreview(Rectangle2D dataArea) {
+        this.dataArea = dataArea;
+    }
+
+    /**
+     * Creates a preview for the current axis ranges of a plot, or returns
+     * {@code null} if the plot cannot be previewed (only {@link XYPlot} and
+     * {@link CategoryPlot} without subplots are supported).
+     *
+     * @param plot  the plot ({@code null} permitted).
+     * @param info  the rendering info from the last drawing of the plot.
+     *
+     * @return The preview, or {@code null}.
+     */
+    static ZoomPreview create(Plot plot, PlotRenderingInfo info) {
+        if (info == null || info.getSubplotCount() > 0) {
+            return null;
+        }
+        Rectangle2D area = info.getDataArea();
+        if (area.getWidth() <= 0.0 || area.getHeight() <= 0.0) {
+            return null;
+        }
+        ZoomPreview result = new ZoomPreview((Rectangle2D) area.clone());
+        if (plot instanceof XYPlot) {
+            XYPlot p = (XYPlot) plot;
+            result.setAxis(p.getDomainAxis(), p.getDomainAxisEdge());
+            result.setAxis(p.getRangeAxis(), p.getRangeAxisEdge());
+        }
+        else if (plot instanceof CategoryPlot) {
+            CategoryPlot p = (CategoryPlot) plot;
+            result.setAxis(p.getRangeAxis(), p.getRangeAxisEdge());
+        }
+        else {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Records an axis and the values it currently has at the sides of the
+     * data area.
+     *
+     * @param axis  the axis ({@code null} permitted).
+     * @param edge  the axis edge.
+     */
+    private void setAxis(ValueAxis axis, RectangleEdge edge) {
+        if (axis == null) {
+            return;
+        }
+        if (RectangleEdge.isTopOrBottom(edge)) {
+            this.xAxis = axis;
+            this.xEdge = edge;
+            this.x0 = axis.java2DToValue(this.dataArea.getMinX(),
+                    this.dataArea, edge);
+            this.x1 = axis.java2DToValue(this.dataArea.getMaxX(),
+                    this.dataArea, edge);
+        }
+        else {
+            this.yAxis = axis;
+            this.yEdge = edge;
+            this.y0 = axis.java2DToValue(this.dataArea.getMinY(),
+                    this.dataArea, edge);
+            this.y1 = axis.java2DToValue(this.dataArea.getMaxY(),
+                    this.dataArea, edge);
+        }
+    }
+
+    /**
+     * Returns the data area that the preview applies to.
+     *
+     * @return The data area (in Java2D space, before any panel scaling).
+     */
+    Rectangle2D getDataArea() {
+        return this.dataArea;
+    }
+
+    /**
+     * Returns the transform that maps the data area as it was drawn to the
+     * current axis ranges, or {@code null} if the mapping is not available
+     * (for example, if an axis range has collapsed).  Axes map values to
+     * Java2D linearly (or linearly after a fixed transformation such as a
+     * logarithm), so the mapping is a scale and translation.
+     *
+     * @return The transform, or {@code null}.
+     */
+    AffineTransform getTransform() {
+        double sx = 1.0;
+        double tx = 0.0;
+        if (this.xAxis != null) {
+            double p0 = this.xAxis.valueToJava2D(this.x0, this.dataArea,
+                    this.xEdge);
+            double p1 = this.xAxis.valueToJava2D(this.x1, this.dataArea,
+                    this.xEdge);
+            sx = (p1 - p0) / this.dataArea.getWidth();
+            tx = p0 - sx * this.dataArea.getMinX();
+        }
+        double sy = 1.0;
+        double ty = 0.0;
+        if (this.yAxis != null) {
+            double p0 = this.yAxis.valueToJava2D(this.y0, this.dataArea,
+                    this.yEdge);
+            double p1 = this.yAxis.valueToJava2D(this.y1, this.dataArea,
+                    this.yEdge);
+            sy = (p1 - p0) / this.dataArea.getHeight();
+            ty = p0 - sy * this.dataArea.getMinY();
+        }
+        if (!(sx > 0.0) || !(sy > 0.0) || Double.isInfinite(sx)
+                || Double.isInfinite(sy) || Double.isNaN(tx + ty)
+                || Double.isInfinite(tx + ty)) {
+            return null;
+        }
+        return new AffineTransform(sx, 0.0, 0.0, sy, tx, ty);
+    }
+
+}
@@ -43,8 +43,10 @@
 
 package org.jfree.chart.annotations;
 
+import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.Stroke;
 import java.awt.geom.Rectangle2D;
 
 import org.jfree.chart.axis.ValueAxis;
@@ -166,6 +168,32 @@ public abstract class AbstractXYAnnotation extends AbstractAnnotation
         entities.add(entity);
     }
 
+    /**
+     * Returns the maximum distance (in Java2D units) by which a shape drawn
+     * with the specified stroke can extend beyond the outline of the shape,
+     * for use in {@link XYAnnotationCullingInfo#getDrawingMargin()}.  An
+     * extra unit is allowed for antialiasing.
+     *
+     * @param stroke  the stroke ({@code null} permitted, meaning that the
+     *     outline is not drawn).
+     *
+     * @return The margin ({@code Double.POSITIVE_INFINITY} for strokes
+     *     other than {@code BasicStroke}).
+     */
+    static double getStrokeMargin(Stroke stroke) {
+        if (stroke == null) {
+            return 1.0;
+        }
+        if (!(stroke instanceof BasicStroke)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        BasicStroke bs = (BasicStroke) stroke;
+        // a mitred corner can extend miterLimit * (width / 2), and a square
+        // cap up to sqrt(2) * (width / 2)
+        double factor = Math.max(bs.getMiterLimit(), Math.sqrt(2.0));
+        return bs.getLineWidth() / 2.0 * factor + 1.0;
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
@@ -0,0 +1,55 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.annotations;
+
+/**
+ * An interface for annotations that can tell an {@link XYAnnotationIndex}
+ * where they are drawn, so that a plot or renderer with a large number of
+ * annotations can skip those that lie entirely outside the data area.  The
+ * annotation must be drawn within the rectangle that its x- and y-ranges
+ * map to, plus the margin returned by {@link #getDrawingMargin()}, and it
+ * must send an {@link org.jfree.chart.event.AnnotationChangeEvent} whenever
+ * its ranges or its margin change.
+ *
+ * @since 1.6.0
+ */
+public interface XYAnnotationCullingInfo extends XYAnnotationBoundsInfo {
+
+    /**
+     * Returns the maximum distance (in Java2D units) by which the annotation
+     * can be drawn outside the rectangle that its x- and y-ranges map to.
+     * Text, arrows and wide strokes all add to this distance.  An annotation
+     * that cannot estimate the distance should return
+     * {@code Double.POSITIVE_INFINITY}, in which case it is always drawn.
+     *
+     * @return The drawing margin.
+     */
+    public double getDrawingMargin();
+
+}
@@ -0,0 +1,428 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.annotations;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.Range;
+
+/**
+ * A spatial index for a list of {@link XYAnnotation} objects, used by
+ * {@link XYPlot} and the XY renderers to find the annotations that can be
+ * visible in the data area without asking every annotation to draw itself.
+ * Annotations that implement {@link XYAnnotationCullingInfo} are stored in
+ * a packed R-tree, keyed by their bounds in data space.  Each node of the
+ * tree also records the largest drawing margin below it, and is tested
+ * against the data area in Java2D space, so that the margin of one
+ * annotation (for example, a long text label) does not widen the search
+ * for the others.  All other annotations are always drawn.
+ * <p>
+ * The index is built on demand and must be invalidated by its owner
+ * whenever the list of annotations changes or an annotation sends an
+ * {@link org.jfree.chart.event.AnnotationChangeEvent}.
+ *
+ * @since 1.6.0
+ */
+public class XYAnnotationIndex {
+
+    /** The maximum number of children for each node of the tree. */
+    private static final int NODE_CAPACITY = 16;
+
+    /** A flag that indicates whether or not the index is up to date. */
+    private boolean valid;
+
+    /** The number of annotations in the list when the index was built. */
+    private int annotationCount;
+
+    /** The positions of the annotations that are always drawn. */
+    private int[] unindexed;
+
+    /** The positions of the indexed annotations, in tree order. */
+    private int[] entries;
+
+    /**
+     * The bounding boxes for each level of the tree, starting with the
+     * entries.  Each box is stored as (minX, maxX, minY, maxY).
+     */
+    private double[][] levels;
+
+    /**
+     * The largest drawing margin below each node, for each level of the
+     * tree, starting with the margins of the entries.
+     */
+    private double[][] levelMargins;
+
+    /**
+     * Creates a new index, which will be built the first time it is used.
+     */
+    public XYAnnotationIndex() {
+        this.valid = false;
+    }
+
+    /**
+     * Marks the index as out of date, so that it is rebuilt the next time it
+     * is used.
+     */
+    public void invalidate() {
+        this.valid = false;
+    }
+
+    /**
+     * Returns the annotations from a list that can be visible in the data
+     * area, in the same order as the list.
+     *
+     * @param annotations  the annotations ({@code null} not permitted).
+     * @param plot  the plot ({@code null} not permitted).
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     *
+     * @return The annotations to draw.
+     */
+    public List<XYAnnotation> getAnnotationsToDraw(
+            List<XYAnnotation> annotations, XYPlot plot,
+            Rectangle2D dataArea, ValueAxis domainAxis,
+            ValueAxis rangeAxis) {
+        if (!this.valid || this.annotationCount != annotations.size()) {
+            build(annotations);
+        }
+        if (this.entries.length == 0) {
+            return new ArrayList<XYAnnotation>(annotations);
+        }
+        RectangleEdge domainEdge = Plot.resolveDomainAxisLocation(
+                plot.getDomainAxisLocation(), plot.getOrientation());
+        RectangleEdge rangeEdge = Plot.resolveRangeAxisLocation(
+                plot.getRangeAxisLocation(), plot.getOrientation());
+
+        int[] found = new int[this.unindexed.length + this.entries.length];
+        System.arraycopy(this.unindexed, 0, found, 0, this.unindexed.length);
+        int foundCount = search(this.levels.length - 1, 0, dataArea,
+                domainAxis, domainEdge, rangeAxis, rangeEdge, found,
+                this.unindexed.length);
+        Arrays.sort(found, 0, foundCount);
+        List<XYAnnotation> result = new ArrayList<XYAnnotation>(foundCount);
+        for (int i = 0; i < foundCount; i++) {
+            result.add(annotations.get(found[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the index for a list of annotations.
+     *
+     * @param annotations  the annotations.
+     */
+    private void build(List<XYAnnotation> annotations) {
+        int count = annotations.size();
+        int[] indexed = new int[count];
+        double[] boxes = new double[count * 4];
+        double[] marginByPosition = new double[count];
+        int[] others = new int[count];
+        int indexedCount = 0;
+        int otherCount = 0;
+        for (int i = 0; i < count; i++) {
+            XYAnnotation annotation = annotations.get(i);
+            double margin = Double.NaN;
+            if (annotation instanceof XYAnnotationCullingInfo) {
+                margin = ((XYAnnotationCullingInfo) annotation)
+                        .getDrawingMargin();
+            }
+            double[] box = getBox(annotation, margin);
+            if (box == null) {
+                others[otherCount++] = i;
+                continue;
+            }
+            System.arraycopy(box, 0, boxes, indexedCount * 4, 4);
+            indexed[indexedCount++] = i;
+            marginByPosition[i] = margin;
+        }
+        this.unindexed = Arrays.copyOf(others, otherCount);
+
+        // sort-tile-recursive packing: order the entries in vertical slices
+        // by x, then by y within each slice, so that each run of
+        // NODE_CAPACITY entries covers a compact region
+        Integer[] order = new Integer[indexedCount];
+        for (int i = 0; i < indexedCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new CenterComparator(boxes, 0));
+        int leafCount = (indexedCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(leafCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+        for (int start = 0; start < indexedCount; start += sliceSize) {
+            Arrays.sort(order, start, Math.min(start + sliceSize,
+                    indexedCount), new CenterComparator(boxes, 2));
+        }
+        this.entries = new int[indexedCount];
+        double[] leafMargins = new double[indexedCount];
+        double[] leaves = new double[indexedCount * 4];
+        for (int i = 0; i < indexedCount; i++) {
+            int k = order[i];
+            this.entries[i] = indexed[k];
+            leafMargins[i] = marginByPosition[indexed[k]];
+            System.arraycopy(boxes, k * 4, leaves, i * 4, 4);
+        }
+
+        List<double[]> levelList = new ArrayList<double[]>();
+        List<double[]> marginList = new ArrayList<double[]>();
+        levelList.add(leaves);
+        marginList.add(leafMargins);
+        double[] level = leaves;
+        double[] levelMargin = leafMargins;
+        while (level.length > 4) {
+            level = createParentLevel(level);
+            levelMargin = createParentMargins(levelMargin);
+            levelList.add(level);
+            marginList.add(levelMargin);
+        }
+        this.levels = levelList.toArray(new double[levelList.size()][]);
+        this.levelMargins = marginList.toArray(
+                new double[marginList.size()][]);
+        this.annotationCount = count;
+        this.valid = true;
+    }
+
+    /**
+     * Returns the bounds of an annotation in data space as (minX, maxX,
+     * minY, maxY), or {@code null} if the annotation cannot be indexed.
+     *
+     * @param annotation  the annotation.
+     * @param margin  the drawing margin for the annotation.
+     *
+     * @return The bounds (possibly {@code null}).
+     */
+    private static double[] getBox(XYAnnotation annotation, double margin) {
+        if (!(annotation instanceof XYAnnotationCullingInfo)) {
+            return null;
+        }
+        XYAnnotationCullingInfo info = (XYAnnotationCullingInfo) annotation;
+        Range xRange = info.getXRange();
+        Range yRange = info.getYRange();
+        if (xRange == null || yRange == null || Double.isNaN(margin)
+                || Double.isInfinite(margin)) {
+            return null;
+        }
+        double[] box = new double[] {xRange.getLowerBound(),
+                xRange.getUpperBound(), yRange.getLowerBound(),
+                yRange.getUpperBound()};
+        for (int i = 0; i < box.length; i++) {
+            if (Double.isNaN(box[i])) {
+                return null;
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Creates the bounding boxes for the parents of a level of the tree.
+     *
+     * @param level  the child boxes.
+     *
+     * @return The parent boxes.
+     */
+    private static double[] createParentLevel(double[] level) {
+        int childCount = level.length / 4;
+        int parentCount = (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        double[] result = new double[parentCount * 4];
+        for (int p = 0; p < parentCount; p++) {
+            int first = p * NODE_CAPACITY;
+            int last = Math.min(first + NODE_CAPACITY, childCount);
+            double minX = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int c = first; c < last; c++) {
+                minX = Math.min(minX, level[c * 4]);
+                maxX = Math.max(maxX, level[c * 4 + 1]);
+                minY = Math.min(minY, level[c * 4 + 2]);
+                maxY = Math.max(maxY, level[c * 4 + 3]);
+            }
+            result[p * 4] = minX;
+            result[p * 4 + 1] = maxX;
+            result[p * 4 + 2] = minY;
+            result[p * 4 + 3] = maxY;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the largest drawing margins for the parents of a level of the
+     * tree.
+     *
+     * @param margins  the child margins.
+     *
+     * @return The parent margins.
+     */
+    private static double[] createParentMargins(double[] margins) {
+        int childCount = margins.length;
+        int parentCount = (childCount + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        double[] result = new double[parentCount];
+        for (int p = 0; p < parentCount; p++) {
+            int first = p * NODE_CAPACITY;
+            int last = Math.min(first + NODE_CAPACITY, childCount);
+            double max = 0.0;
+            for (int c = first; c < last; c++) {
+                max = Math.max(max, margins[c]);
+            }
+            result[p] = max;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the entries below a node that can be visible in the data area,
+     * and adds the positions of their annotations to an array.  A node is
+     * only searched if its box, widened by the largest drawing margin below
+     * it, can be visible.
+     *
+     * @param depth  the level of the node.
+     * @param node  the node index within its level.
+     * @param dataArea  the data area.
+     * @param domainAxis  the domain axis.
+     * @param domainEdge  the domain axis edge.
+     * @param rangeAxis  the range axis.
+     * @param rangeEdge  the range axis edge.
+     * @param result  an array to receive the annotation positions.
+     * @param resultCount  the number of positions already in the result.
+     *
+     * @return The number of positions in the result.
+     */
+    private int search(int depth, int node, Rectangle2D dataArea,
+            ValueAxis domainAxis, RectangleEdge domainEdge,
+            ValueAxis rangeAxis, RectangleEdge rangeEdge, int[] result,
+            int resultCount) {
+        if (!isVisible(this.levels[depth], node,
+                this.levelMargins[depth][node], dataArea, domainAxis,
+                domainEdge, rangeAxis, rangeEdge)) {
+            return resultCount;
+        }
+        if (depth == 0) {
+            result[resultCount] = this.entries[node];
+            return resultCount + 1;
+        }
+        int childCount = this.levelMargins[depth - 1].length;
+        int first = node * NODE_CAPACITY;
+        int last = Math.min(first + NODE_CAPACITY, childCount);
+        for (int child = first; child < last; child++) {
+            resultCount = search(depth - 1, child, dataArea, domainAxis,
+                    domainEdge, rangeAxis, rangeEdge, result, resultCount);
+        }
+        return resultCount;
+    }
+
+    /**
+     * Returns {@code true} if a box in the tree can be visible in the data
+     * area, taking into account a drawing margin.  The axes map values
+     * monotonically, so the corners of the box in data space are the
+     * corners of its box in Java2D space.
+     *
+     * @param boxes  the boxes.
+     * @param e  the box index.
+     * @param margin  the drawing margin for the box.
+     * @param dataArea  the data area.
+     * @param domainAxis  the domain axis.
+     * @param domainEdge  the domain axis edge.
+     * @param rangeAxis  the range axis.
+     * @param rangeEdge  the range axis edge.
+     *
+     * @return A boolean.
+     */
+    private static boolean isVisible(double[] boxes, int e, double margin,
+            Rectangle2D dataArea, ValueAxis domainAxis,
+            RectangleEdge domainEdge, ValueAxis rangeAxis,
+            RectangleEdge rangeEdge) {
+        int b = e * 4;
+        double x0 = domainAxis.valueToJava2D(boxes[b], dataArea, domainEdge);
+        double x1 = domainAxis.valueToJava2D(boxes[b + 1], dataArea,
+                domainEdge);
+        double y0 = rangeAxis.valueToJava2D(boxes[b + 2], dataArea,
+                rangeEdge);
+        double y1 = rangeAxis.valueToJava2D(boxes[b + 3], dataArea,
+                rangeEdge);
+        if (Double.isNaN(x0) || Double.isNaN(x1) || Double.isNaN(y0)
+                || Double.isNaN(y1)) {
+            return true;
+        }
+        if (!RectangleEdge.isTopOrBottom(domainEdge)) {
+            // horizontal orientation, the domain axis runs vertically
+            double t0 = x0;
+            double t1 = x1;
+            x0 = y0;
+            x1 = y1;
+            y0 = t0;
+            y1 = t1;
+        }
+        return Math.min(x0, x1) - margin <= dataArea.getMaxX()
+                && Math.max(x0, x1) + margin >= dataArea.getMinX()
+                && Math.min(y0, y1) - margin <= dataArea.getMaxY()
+                && Math.max(y0, y1) + margin >= dataArea.getMinY();
+    }
+
+    /**
+     * Orders entries by the center of their boxes along one dimension.
+     */
+    private static final class CenterComparator
+            implements Comparator<Integer> {
+
+        /** The boxes. */
+        private final double[] boxes;
+
+        /** The offset of the lower bound within each box (0 or 2). */
+        private final int offset;
+
+        /**
+         * Creates a new comparator.
+         *
+         * @param boxes  the boxes.
+         * @param offset  the offset of the lower bound within each box.
+         */
+        CenterComparator(double[] boxes, int offset) {
+            this.boxes = boxes;
+            this.offset = offset;
+        }
+
+        @Override
+        public int compare(Integer i1, Integer i2) {
+            int b1 = i1 * 4 + this.offset;
+            int b2 = i2 * 4 + this.offset;
+            return Double.compare(this.boxes[b1] + this.boxes[b1 + 1],
+                    this.boxes[b2] + this.boxes[b2 + 1]);
+        }
+
+    }
+
+}
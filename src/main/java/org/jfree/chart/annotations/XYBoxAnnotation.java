@@ -62,13 +62,15 @@ import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A box annotation that can be placed on an {@link XYPlot}.  The
  * box coordinates are specified in data space.
  */
 public class XYBoxAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements XYAnnotationCullingInfo, Cloneable, PublicCloneable,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 6764703772526757457L;
@@ -201,6 +203,57 @@ public class XYBoxAnnotation extends AbstractXYAnnotation
 
     }
 
+    /**
+     * Returns {@code false}, since the box does not contribute to the
+     * automatic range calculations for the axes.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the range of x-values covered by the box.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(Math.min(this.x0, this.x1),
+                Math.max(this.x0, this.x1));
+    }
+
+    /**
+     * Returns the range of y-values covered by the box.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(Math.min(this.y0, this.y1),
+                Math.max(this.y0, this.y1));
+    }
+
+    /**
+     * Returns the distance by which the outline can extend beyond the box.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return getStrokeMargin(this.stroke);
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
@@ -69,7 +69,7 @@ import org.jfree.data.Range;
  * @since 1.0.11
  */
 public class XYDataImageAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, XYAnnotationBoundsInfo {
+        implements Cloneable, PublicCloneable, XYAnnotationCullingInfo {
 
     /** The image. */
     private transient Image image;
@@ -286,6 +286,19 @@ public class XYDataImageAnnotation extends AbstractXYAnnotation
         }
     }
 
+    /**
+     * Returns the distance by which the image can extend beyond its bounds
+     * in data space (one unit, allowing for rounding).
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return 1.0;
+    }
+
     /**
      * Tests this object for equality with an arbitrary object.
      *
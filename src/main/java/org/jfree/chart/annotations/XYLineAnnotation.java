@@ -76,12 +76,14 @@ import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.chart.util.ShapeUtils;
+import org.jfree.data.Range;
 
 /**
  * A simple line annotation that can be placed on an {@link XYPlot}.
  */
 public class XYLineAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements XYAnnotationCullingInfo, Cloneable, PublicCloneable,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -80535465244091334L;
@@ -211,6 +213,58 @@ public class XYLineAnnotation extends AbstractXYAnnotation
         }
     }
 
+    /**
+     * Returns {@code false}, since the line does not contribute to the
+     * automatic range calculations for the axes.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the range of x-values covered by the line.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(Math.min(this.x1, this.x2),
+                Math.max(this.x1, this.x2));
+    }
+
+    /**
+     * Returns the range of y-values covered by the line.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(Math.min(this.y1, this.y2),
+                Math.max(this.y1, this.y2));
+    }
+
+    /**
+     * Returns the distance by which the stroke can extend beyond the end
+     * points of the line.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return getStrokeMargin(this.stroke);
+    }
+
     /**
      * Tests this object for equality with an arbitrary object.
      *
@@ -453,6 +453,22 @@ public class XYPointerAnnotation extends XYTextAnnotation
 
     }
 
+    /**
+     * Returns an upper bound for the distance from the point of the arrow
+     * to any part of the drawn arrow and label.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return super.getDrawingMargin() + Math.abs(this.baseRadius)
+                + Math.abs(this.labelOffset) + Math.abs(this.tipRadius)
+                + Math.abs(this.arrowLength) + Math.abs(this.arrowWidth)
+                + getStrokeMargin(this.arrowStroke);
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
@@ -66,13 +66,15 @@ import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A polygon annotation that can be placed on an {@link XYPlot}.  The
  * polygon coordinates are specified in data space.
  */
 public class XYPolygonAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements XYAnnotationCullingInfo, Cloneable, PublicCloneable,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -6984203651995900036L;
@@ -262,6 +264,77 @@ public class XYPolygonAnnotation extends AbstractXYAnnotation
 
     }
 
+    /**
+     * Returns {@code false}, since the polygon does not contribute to the
+     * automatic range calculations for the axes.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the range of x-values covered by the polygon.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getXRange() {
+        return getRange(0);
+    }
+
+    /**
+     * Returns the range of y-values covered by the polygon.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getYRange() {
+        return getRange(1);
+    }
+
+    /**
+     * Returns the distance by which the outline can extend beyond the bounds
+     * of the polygon.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return getStrokeMargin(this.stroke);
+    }
+
+    /**
+     * Returns the range of the x-values (offset 0) or y-values (offset 1)
+     * of the polygon.
+     *
+     * @param offset  the offset of the first value in the polygon array.
+     *
+     * @return The range ({@code null} if the polygon has no points).
+     */
+    private Range getRange(int offset) {
+        if (this.polygon.length < 2) {
+            return null;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = offset; i < this.polygon.length; i += 2) {
+            min = Math.min(min, this.polygon[i]);
+            max = Math.max(max, this.polygon[i]);
+        }
+        return new Range(min, max);
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
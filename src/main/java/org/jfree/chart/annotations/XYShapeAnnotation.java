@@ -80,13 +80,15 @@ import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A simple {@code Shape} annotation that can be placed on an
  * {@link XYPlot}.  The shape coordinates are specified in data space.
  */
 public class XYShapeAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements XYAnnotationCullingInfo, Cloneable, PublicCloneable,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -8553218317600684041L;
@@ -215,6 +217,58 @@ public class XYShapeAnnotation extends AbstractXYAnnotation
 
     }
 
+    /**
+     * Returns {@code false}, since the shape does not contribute to the
+     * automatic range calculations for the axes.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the range of x-values covered by the shape.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getXRange() {
+        Rectangle2D bounds = this.shape.getBounds2D();
+        return new Range(bounds.getMinX(), bounds.getMaxX());
+    }
+
+    /**
+     * Returns the range of y-values covered by the shape.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getYRange() {
+        Rectangle2D bounds = this.shape.getBounds2D();
+        return new Range(bounds.getMinY(), bounds.getMaxY());
+    }
+
+    /**
+     * Returns the distance by which the outline can extend beyond the bounds
+     * of the shape.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        return getStrokeMargin(this.stroke);
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
@@ -62,6 +62,8 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -82,17 +84,25 @@ import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
+import org.jfree.data.Range;
 
 /**
  * A text annotation that can be placed at a particular (x, y) location on an
  * {@link XYPlot}.
  */
 public class XYTextAnnotation extends AbstractXYAnnotation
-        implements Cloneable, PublicCloneable, Serializable {
+        implements XYAnnotationCullingInfo, Cloneable, PublicCloneable,
+        Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -2946063342782506328L;
 
+    /** The render contexts used to measure the text for culling. */
+    private static final FontRenderContext[] MARGIN_CONTEXTS
+            = new FontRenderContext[] {
+                new FontRenderContext(null, false, false),
+                new FontRenderContext(null, true, true)};
+
     /** The default font. */
     public static final Font DEFAULT_FONT = new Font("SansSerif", Font.PLAIN,
             10);
@@ -559,6 +569,82 @@ public class XYTextAnnotation extends AbstractXYAnnotation
 
     }
 
+    /**
+     * Returns {@code false}, since the annotation does not contribute to the
+     * automatic range calculations for the axes.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return false;
+    }
+
+    /**
+     * Returns the range of x-values covered by the annotation.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(this.x, this.x);
+    }
+
+    /**
+     * Returns the range of y-values covered by the annotation.
+     *
+     * @return The range.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(this.y, this.y);
+    }
+
+    /**
+     * Returns an upper bound for the distance from the anchor point to any
+     * part of the drawn text, its background and its outline.  The text is
+     * measured with the font, and the bound holds for any anchors and
+     * rotation angle.
+     *
+     * @return The drawing margin.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public double getDrawingMargin() {
+        if (this.font.isTransformed()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // the render context of the device is not known here, so the text
+        // is measured with and without fractional metrics, plus a pixel on
+        // each side for hinting
+        double width = 0.0;
+        double height = 0.0;
+        for (FontRenderContext frc : MARGIN_CONTEXTS) {
+            Rectangle2D bounds = this.font.getStringBounds(this.text, frc);
+            LineMetrics metrics = this.font.getLineMetrics(this.text, frc);
+            width = Math.max(width, bounds.getWidth());
+            height = Math.max(height, Math.max(bounds.getHeight(),
+                    metrics.getHeight()));
+        }
+        // the text box lies within one diagonal of the text anchor, and the
+        // rotation anchor is on the text box, so rotation can move any
+        // point by at most two diagonals
+        double diagonal = Math.hypot(width + 2.0, height + 2.0);
+        double margin = this.rotationAngle == 0.0 ? diagonal
+                : 2.0 * diagonal;
+        if (this.outlineVisible) {
+            margin += getStrokeMargin(this.outlineStroke);
+        }
+        return margin;
+    }
+
     /**
      * Tests this annotation for equality with an arbitrary object.
      *
@@ -121,6 +121,7 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueAxisPlot;
+import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.ui.TextAnchor;
@@ -800,8 +801,8 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
                 lowerStr = unit.valueToString(lower);
                 upperStr = unit.valueToString(upper);
             }
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            double w1 = TextUtils.getStringWidth(lowerStr, g2, fm);
+            double w2 = TextUtils.getStringWidth(upperStr, g2, fm);
             result += Math.max(w1, w2);
         }
 
@@ -921,6 +922,18 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
     public List refreshTicks(Graphics2D g2, AxisState state, 
             Rectangle2D dataArea, RectangleEdge edge) {
 
+        TickCache cache = getTickCache();
+        TickCache.Key key = null;
+        if (cache != null) {
+            key = createTickCacheKey(g2, dataArea, edge, getTickUnit(),
+                    this.numberFormatOverride);
+            TickCache.Entry entry = cache.get(key);
+            if (entry != null) {
+                setTickUnit((NumberTickUnit) entry.getTickUnit(), false, 
+                        false);
+                return entry.getTicks();
+            }
+        }
         List result = new java.util.ArrayList();
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -928,10 +941,28 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(g2, dataArea, edge);
         }
+        if (cache != null) {
+            result = cache.put(key, result, getTickUnit());
+        }
         return result;
 
     }
 
+    /**
+     * Returns {@code true} for a {@code NumberAxis}, so that the ticks
+     * calculated for one drawing of the axis are reused for the next drawing
+     * if the axis layout is unchanged, and {@code false} for a subclass
+     * (which can override this method to enable the cache).
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    protected boolean isTickCacheEnabled() {
+        return getClass() == NumberAxis.class;
+    }
+
     /**
      * Calculates the positions of the tick labels for the axis, storing the
      * results in the tick label list (ready for drawing).
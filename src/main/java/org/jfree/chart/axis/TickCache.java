@@ -0,0 +1,286 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.ui.RectangleInsets;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.data.Range;
+
+/**
+ * A small cache of the tick lists calculated by a {@link ValueAxis}, so that
+ * redrawing a chart whose axis layout has not changed does not have to
+ * select a tick unit and format every tick label again.  An axis calculates
+ * ticks at least twice per chart drawing (once against the plot area when
+ * reserving space and once against the data area when drawing), so the
+ * cache holds a few entries, discarding the least recently used.
+ * <p>
+ * The keys are supplied by the axis and must cover all of the state that
+ * the ticks depend on and that can change without an
+ * {@link org.jfree.chart.event.AxisChangeEvent} being sent.  The axis
+ * clears the cache whenever it sends a change event.  A lookup key refers
+ * to the axis's own tick label formatter; the formatter is only copied
+ * when a new entry is stored, so that changes made to it later (which do
+ * not send an event) still cause a cache miss.
+ */
+class TickCache {
+
+    /** The maximum number of entries. */
+    private static final int CAPACITY = 4;
+
+    /** The entries, most recently used first. */
+    private final LinkedList<Entry> entries;
+
+    /**
+     * Creates a new, empty cache.
+     */
+    TickCache() {
+        this.entries = new LinkedList<Entry>();
+    }
+
+    /**
+     * Returns the entry with the specified key, or {@code null} if there is
+     * no such entry.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @return The entry (possibly {@code null}).
+     */
+    synchronized Entry get(Key key) {
+        Iterator<Entry> iterator = this.entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.key.equals(key)) {
+                if (entry != this.entries.getFirst()) {
+                    iterator.remove();
+                    this.entries.addFirst(entry);
+                }
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds an entry to the cache.
+     *
+     * @param key  the key ({@code null} not permitted).
+     * @param ticks  the ticks ({@code null} not permitted).
+     * @param tickUnit  the tick unit selected while calculating the ticks
+     *     ({@code null} permitted).
+     *
+     * @return The unmodifiable list of ticks held by the cache.
+     */
+    synchronized List put(Key key, List ticks, TickUnit tickUnit) {
+        Entry entry = new Entry(key.copy(), ticks, tickUnit);
+        this.entries.addFirst(entry);
+        if (this.entries.size() > CAPACITY) {
+            this.entries.removeLast();
+        }
+        return entry.getTicks();
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * The state that a tick list was calculated from.
+     */
+    static final class Key {
+
+        /** The axis range. */
+        private final Range range;
+
+        /** The length of the axis in Java2D units. */
+        private final double length;
+
+        /** The axis location. */
+        private final RectangleEdge edge;
+
+        /** The tick unit before the ticks are calculated. */
+        private final TickUnit unit;
+
+        /** The tick label formatter override. */
+        private final Format formatter;
+
+        /** The tick label font. */
+        private final Font font;
+
+        /** The tick label insets. */
+        private final RectangleInsets insets;
+
+        /** The font render context. */
+        private final FontRenderContext frc;
+
+        /** The auto tick unit selection flag. */
+        private final boolean autoTickUnitSelection;
+
+        /** The vertical tick labels flag. */
+        private final boolean verticalTickLabels;
+
+        /**
+         * Creates a new key.  The formatter is not copied.
+         *
+         * @param range  the axis range.
+         * @param length  the length of the axis in Java2D units.
+         * @param edge  the axis location.
+         * @param unit  the tick unit ({@code null} permitted).
+         * @param formatter  the formatter override ({@code null}
+         *     permitted).
+         * @param font  the tick label font.
+         * @param insets  the tick label insets.
+         * @param frc  the font render context.
+         * @param autoTickUnitSelection  the auto tick unit selection flag.
+         * @param verticalTickLabels  the vertical tick labels flag.
+         */
+        Key(Range range, double length, RectangleEdge edge, TickUnit unit,
+                Format formatter, Font font, RectangleInsets insets,
+                FontRenderContext frc, boolean autoTickUnitSelection,
+                boolean verticalTickLabels) {
+            this.range = range;
+            this.length = length;
+            this.edge = edge;
+            this.unit = unit;
+            this.formatter = formatter;
+            this.font = font;
+            this.insets = insets;
+            this.frc = frc;
+            this.autoTickUnitSelection = autoTickUnitSelection;
+            this.verticalTickLabels = verticalTickLabels;
+        }
+
+        /**
+         * Returns a copy of this key with its own copy of the formatter, for
+         * storing in the cache.
+         *
+         * @return A key.
+         */
+        Key copy() {
+            return new Key(this.range, this.length, this.edge, this.unit,
+                    this.formatter == null ? null
+                    : (Format) this.formatter.clone(), this.font,
+                    this.insets, this.frc, this.autoTickUnitSelection,
+                    this.verticalTickLabels);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.length == that.length
+                    && this.autoTickUnitSelection == that.autoTickUnitSelection
+                    && this.verticalTickLabels == that.verticalTickLabels
+                    && this.edge == that.edge
+                    && ObjectUtils.equal(this.range, that.range)
+                    && ObjectUtils.equal(this.unit, that.unit)
+                    && ObjectUtils.equal(this.font, that.font)
+                    && ObjectUtils.equal(this.insets, that.insets)
+                    && ObjectUtils.equal(this.frc, that.frc)
+                    && ObjectUtils.equal(this.formatter, that.formatter);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 193;
+            long temp = Double.doubleToLongBits(this.length);
+            result = 37 * result + (int) (temp ^ (temp >>> 32));
+            result = 37 * result + ObjectUtils.hashCode(this.range);
+            result = 37 * result + ObjectUtils.hashCode(this.unit);
+            return result;
+        }
+
+    }
+
+    /**
+     * A cached tick list.
+     */
+    static final class Entry {
+
+        /** The key. */
+        private final Key key;
+
+        /** The ticks. */
+        private final List ticks;
+
+        /** The tick unit selected while calculating the ticks. */
+        private final TickUnit tickUnit;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param key  the key.
+         * @param ticks  the ticks.
+         * @param tickUnit  the tick unit.
+         */
+        Entry(Key key, List ticks, TickUnit tickUnit) {
+            this.key = key;
+            this.ticks = Collections.unmodifiableList(new ArrayList(ticks));
+            this.tickUnit = tickUnit;
+        }
+
+        /**
+         * Returns the cached ticks.  The list is unmodifiable, and ticks are
+         * immutable, so the list is shared by every caller.
+         *
+         * @return The ticks.
+         */
+        List getTicks() {
+            return this.ticks;
+        }
+
+        /**
+         * Returns the tick unit that was selected while calculating the
+         * ticks.
+         *
+         * @return The tick unit (possibly {@code null}).
+         */
+        TickUnit getTickUnit() {
+            return this.tickUnit;
+        }
+
+    }
+
+}
@@ -128,6 +128,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.text.Format;
 import java.util.Iterator;
 import java.util.List;
 
@@ -268,6 +269,12 @@ public abstract class ValueAxis extends Axis
     /** A flag indicating whether or not tick labels are rotated to vertical. */
     private boolean verticalTickLabels;
 
+    /**
+     * Tick lists that can be reused while the axis layout is unchanged
+     * (created on demand, and never cloned or serialized).
+     */
+    private transient TickCache tickCache;
+
     /**
      * Constructs a value axis.
      *
@@ -1457,6 +1464,84 @@ public abstract class ValueAxis extends Axis
         fireChangeEvent();
     }
 
+    /**
+     * Returns {@code true} if {@code refreshTicks()} is permitted to reuse
+     * the ticks calculated for an earlier drawing of the axis, and
+     * {@code false} otherwise.  The ticks are reused only while the range,
+     * the length of the data area, the axis edge, the tick unit, the tick
+     * label formatting and the graphics font render context are unchanged,
+     * and are discarded whenever the axis sends an {@link AxisChangeEvent}.
+     * While the cache is enabled, the list returned by
+     * {@code refreshTicks()} is unmodifiable and can be shared between
+     * calls.
+     * <p>
+     * The default implementation returns {@code false}.  Subclasses should
+     * only return {@code true} if they calculate their ticks from no other
+     * state that can change without an event being sent.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    protected boolean isTickCacheEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the tick cache for the axis, or {@code null} if ticks should
+     * not be cached.
+     *
+     * @return The tick cache (possibly {@code null}).
+     */
+    TickCache getTickCache() {
+        if (!isTickCacheEnabled()) {
+            return null;
+        }
+        if (this.tickCache == null) {
+            this.tickCache = new TickCache();
+        }
+        return this.tickCache;
+    }
+
+    /**
+     * Creates a key for the tick cache that covers the state that the ticks
+     * depend on and that can change without an {@link AxisChangeEvent}
+     * being sent.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param dataArea  the area against which the ticks are calculated
+     *     ({@code null} not permitted).
+     * @param edge  the axis location ({@code null} not permitted).
+     * @param unit  the current tick unit ({@code null} permitted).
+     * @param formatter  the tick label formatter override ({@code null}
+     *     permitted).
+     *
+     * @return The key.
+     */
+    TickCache.Key createTickCacheKey(Graphics2D g2, Rectangle2D dataArea,
+            RectangleEdge edge, TickUnit unit, Format formatter) {
+        double length = RectangleEdge.isTopOrBottom(edge)
+                ? dataArea.getWidth() : dataArea.getHeight();
+        return new TickCache.Key(getRange(), length, edge, unit, formatter,
+                getTickLabelFont(), getTickLabelInsets(),
+                g2.getFontRenderContext(), this.autoTickUnitSelection,
+                this.verticalTickLabels);
+    }
+
+    /**
+     * Discards any cached ticks before notifying the listeners that the axis
+     * has changed.
+     *
+     * @param event  information about the change to the axis.
+     */
+    @Override
+    protected void notifyListeners(AxisChangeEvent event) {
+        if (this.tickCache != null) {
+            this.tickCache.clear();
+        }
+        super.notifyListeners(event);
+    }
+
     /**
      * Converts a data value to a coordinate in Java2D space, assuming that the
      * axis runs along one edge of the specified dataArea.
@@ -1731,6 +1816,7 @@ public abstract class ValueAxis extends Axis
     @Override
     public Object clone() throws CloneNotSupportedException {
         ValueAxis clone = (ValueAxis) super.clone();
+        clone.tickCache = null;
         return clone;
     }
 
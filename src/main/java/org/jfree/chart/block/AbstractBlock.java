@@ -55,6 +55,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.ui.Size2D;
 import org.jfree.chart.util.ObjectUtils;
@@ -103,6 +104,15 @@ public class AbstractBlock implements Cloneable, Serializable {
      */
     private transient Rectangle2D bounds;
 
+    /** The source of layout versions (shared by all blocks). */
+    private static final AtomicLong LAYOUT_VERSIONS = new AtomicLong();
+
+    /**
+     * The layout version, taken from {@link #LAYOUT_VERSIONS} whenever a
+     * change is made that can affect the layout of the block.
+     */
+    private transient long layoutVersion;
+
     /**
      * Creates a new block.
      */
@@ -160,6 +170,7 @@ public class AbstractBlock implements Cloneable, Serializable {
      */
     public void setWidth(double width) {
         this.width = width;
+        layoutChanged();
     }
 
     /**
@@ -184,6 +195,7 @@ public class AbstractBlock implements Cloneable, Serializable {
      */
     public void setHeight(double height) {
         this.height = height;
+        layoutChanged();
     }
 
     /**
@@ -208,6 +220,7 @@ public class AbstractBlock implements Cloneable, Serializable {
     public void setMargin(RectangleInsets margin) {
         Args.nullNotPermitted(margin, "margin");
         this.margin = margin;
+        layoutChanged();
     }
 
     /**
@@ -261,6 +274,7 @@ public class AbstractBlock implements Cloneable, Serializable {
     public void setFrame(BlockFrame frame) {
         Args.nullNotPermitted(frame, "frame");
         this.frame = frame;
+        layoutChanged();
     }
 
     /**
@@ -285,6 +299,7 @@ public class AbstractBlock implements Cloneable, Serializable {
     public void setPadding(RectangleInsets padding) {
         Args.nullNotPermitted(padding, "padding");
         this.padding = padding;
+        layoutChanged();
     }
 
     /**
@@ -324,6 +339,51 @@ public class AbstractBlock implements Cloneable, Serializable {
             + this.padding.getTop();
     }
 
+    /**
+     * Returns the layout version of the block.  The version is increased
+     * whenever a change is made to the block that can affect the size
+     * returned by {@link #arrange(Graphics2D, RectangleConstraint)}, so that
+     * a container can tell whether a layout it calculated earlier is still
+     * valid.  Versions are taken from a counter shared by all blocks, so a
+     * container can use the highest version of the blocks it contains as its
+     * own version.
+     * <P>
+     * This method returns -1, so that a container always arranges the block
+     * again.  A subclass that calls {@link #layoutChanged()} for every change
+     * that can affect its size can override this method to return
+     * {@link #getTrackedLayoutVersion()}.
+     *
+     * @return The layout version, or a negative value if the layout of the
+     *     block can change without the version being increased.
+     *
+     * @since 1.6.0
+     */
+    protected long getLayoutVersion() {
+        return -1L;
+    }
+
+    /**
+     * Returns the version recorded by the most recent call to
+     * {@link #layoutChanged()}.
+     *
+     * @return The version.
+     *
+     * @since 1.6.0
+     */
+    protected final long getTrackedLayoutVersion() {
+        return this.layoutVersion;
+    }
+
+    /**
+     * Increases the layout version of the block.  Subclasses call this
+     * method when a property that affects the size of the block is changed.
+     *
+     * @since 1.6.0
+     */
+    protected void layoutChanged() {
+        this.layoutVersion = LAYOUT_VERSIONS.incrementAndGet();
+    }
+
     /**
      * Arranges the contents of the block, with no constraints, and returns
      * the block size.
@@ -49,6 +49,7 @@
 package org.jfree.chart.block;
 
 import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Rectangle2D;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -60,6 +61,7 @@ import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.StandardEntityCollection;
 import org.jfree.chart.ui.Size2D;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
 
 /**
@@ -78,6 +80,18 @@ public class BlockContainer extends AbstractBlock
     /** The object responsible for laying out the blocks. */
     private Arrangement arrangement;
 
+    /** The constraint for the last arrangement (or {@code null}). */
+    private transient RectangleConstraint arrangedConstraint;
+
+    /** The font render context for the last arrangement. */
+    private transient FontRenderContext arrangedContext;
+
+    /** The layout version at the time of the last arrangement. */
+    private transient long arrangedVersion;
+
+    /** The size calculated by the last arrangement. */
+    private transient Size2D arrangedSize;
+
     /**
      * Creates a new instance with default settings.
      */
@@ -114,6 +128,7 @@ public class BlockContainer extends AbstractBlock
     public void setArrangement(Arrangement arrangement) {
         Args.nullNotPermitted(arrangement, "arrangement");
         this.arrangement = arrangement;
+        layoutChanged();
     }
 
     /**
@@ -154,6 +169,7 @@ public class BlockContainer extends AbstractBlock
     public void add(Block block, Object key) {
         this.blocks.add(block);
         this.arrangement.add(block, key);
+        layoutChanged();
     }
 
     /**
@@ -162,11 +178,43 @@ public class BlockContainer extends AbstractBlock
     public void clear() {
         this.blocks.clear();
         this.arrangement.clear();
+        layoutChanged();
+    }
+
+    /**
+     * Returns the layout version of the container, which is the highest
+     * layout version of the container and the blocks it contains (or -1 if
+     * the container holds a block that is not an {@link AbstractBlock}, or
+     * a block that does not track its layout version).
+     *
+     * @return The layout version.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    protected long getLayoutVersion() {
+        long result = getTrackedLayoutVersion();
+        for (int i = 0; i < this.blocks.size(); i++) {
+            Object block = this.blocks.get(i);
+            if (!(block instanceof AbstractBlock)) {
+                return -1L;
+            }
+            long version = ((AbstractBlock) block).getLayoutVersion();
+            if (version < 0L) {
+                return -1L;
+            }
+            result = Math.max(result, version);
+        }
+        return result;
     }
 
     /**
      * Arranges the contents of the block, within the given constraints, and
-     * returns the block size.
+     * returns the block size.  When the container is arranged again with an
+     * equal constraint and font render context, and neither the container
+     * nor any of the blocks it contains has changed, the blocks are left
+     * where they are and the earlier size is returned without measuring the
+     * blocks again.
      *
      * @param g2  the graphics device.
      * @param constraint  the constraint ({@code null} not permitted).
@@ -175,7 +223,22 @@ public class BlockContainer extends AbstractBlock
      */
     @Override
     public Size2D arrange(Graphics2D g2, RectangleConstraint constraint) {
-        return this.arrangement.arrange(this, g2, constraint);
+        // some arrangements (of blocks without text) work without a graphics
+        FontRenderContext frc = g2 == null ? null : g2.getFontRenderContext();
+        long version = getLayoutVersion();
+        if (this.arrangedSize != null && version >= 0L
+                && version == this.arrangedVersion
+                && constraint.equals(this.arrangedConstraint)
+                && ObjectUtils.equal(frc, this.arrangedContext)) {
+            return new Size2D(this.arrangedSize.width,
+                    this.arrangedSize.height);
+        }
+        Size2D result = this.arrangement.arrange(this, g2, constraint);
+        this.arrangedConstraint = constraint;
+        this.arrangedContext = frc;
+        this.arrangedVersion = version;
+        this.arrangedSize = new Size2D(result.width, result.height);
+        return result;
     }
 
     /**
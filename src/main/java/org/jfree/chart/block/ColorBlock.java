@@ -93,6 +93,19 @@ public class ColorBlock extends AbstractBlock implements Block {
         return this.paint;
     }
 
+    /**
+     * Returns the layout version of the block, which is increased whenever the
+     * width, height, margin, frame or padding of the block is changed.
+     *
+     * @return The layout version.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    protected long getLayoutVersion() {
+        return getTrackedLayoutVersion();
+    }
+
     /**
      * Arranges the contents of the block, within the given constraints, and
      * returns the block size.
@@ -181,6 +181,7 @@ public class LabelBlock extends AbstractBlock
         Args.nullNotPermitted(font, "font");
         this.font = font;
         this.label = TextUtils.createTextBlock(this.text, font, this.paint);
+        layoutChanged();
     }
 
     /**
@@ -206,6 +207,7 @@ public class LabelBlock extends AbstractBlock
         this.paint = paint;
         this.label = TextUtils.createTextBlock(this.text, this.font,
                 this.paint);
+        layoutChanged();
     }
 
     /**
@@ -298,6 +300,19 @@ public class LabelBlock extends AbstractBlock
         this.textAnchor = anchor;
     }
 
+    /**
+     * Returns the layout version of the block, which is increased whenever a
+     * change is made to the text, font, margin, frame or padding of the label.
+     *
+     * @return The layout version.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    protected long getLayoutVersion() {
+        return getTrackedLayoutVersion();
+    }
+
     /**
      * Arranges the contents of the block, within the given constraints, and
      * returns the block size.
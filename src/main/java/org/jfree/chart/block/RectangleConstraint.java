@@ -46,6 +46,7 @@ package org.jfree.chart.block;
 
 import org.jfree.chart.ui.Size2D;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
 import org.jfree.data.Range;
 
 /**
@@ -294,6 +295,68 @@ public class RectangleConstraint {
                 LengthConstraintType.RANGE);
     }
 
+    /**
+     * Tests this constraint for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RectangleConstraint)) {
+            return false;
+        }
+        RectangleConstraint that = (RectangleConstraint) obj;
+        if (Double.doubleToLongBits(this.width)
+                != Double.doubleToLongBits(that.width)) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.widthRange, that.widthRange)) {
+            return false;
+        }
+        if (!this.widthConstraintType.equals(that.widthConstraintType)) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.height)
+                != Double.doubleToLongBits(that.height)) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.heightRange, that.heightRange)) {
+            return false;
+        }
+        if (!this.heightConstraintType.equals(that.heightConstraintType)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this constraint.
+     *
+     * @return A hash code.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public int hashCode() {
+        int result = 193;
+        long bits = Double.doubleToLongBits(this.width);
+        result = 37 * result + (int) (bits ^ (bits >>> 32));
+        result = 37 * result + ObjectUtils.hashCode(this.widthRange);
+        result = 37 * result + this.widthConstraintType.hashCode();
+        bits = Double.doubleToLongBits(this.height);
+        result = 37 * result + (int) (bits ^ (bits >>> 32));
+        result = 37 * result + ObjectUtils.hashCode(this.heightRange);
+        result = 37 * result + this.heightConstraintType.hashCode();
+        return result;
+    }
+
     /**
      * Returns a string representation of this instance, mostly used for
      * debugging purposes.
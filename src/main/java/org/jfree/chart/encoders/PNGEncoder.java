@@ -0,0 +1,1184 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.encoders;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ParallelUtils;
+
+/**
+ * An {@link ImageEncoder} that writes images in PNG format without going
+ * through ImageIO, registered as the default PNG encoder in the
+ * {@link ImageEncoderFactory}.  The encoder:
+ * <ul>
+ * <li>uses the quality setting as the deflate compression level, from 0
+ * (no compression) to 9 (maximum compression), so the compression level
+ * passed to methods such as
+ * {@link org.jfree.chart.ChartUtils#writeChartAsPNG(OutputStream,
+ * org.jfree.chart.JFreeChart, int, int, boolean, int)} is respected;</li>
+ * <li>applies a configurable {@link PNGFilterStrategy} to the rows of the
+ * image;</li>
+ * <li>writes a palette image when the image contains 256 colors or fewer,
+ * which is usually the case for charts drawn without antialiasing;</li>
+ * <li>writes an alpha channel only when alpha encoding is enabled and the
+ * image contains pixels that are not opaque;</li>
+ * <li>compresses bands of rows for large images as separate tasks for an
+ * executor supplied by the caller, in the same way as <i>pigz</i> (this 
+ * requires Java 7 or later, on earlier versions, or without an executor, 
+ * the image is compressed on the calling thread);</li>
+ * <li>writes the compressed data directly to the output stream or channel,
+ * without collecting the encoded image in a byte array first.</li>
+ * </ul>
+ *
+ * @since 1.6.0
+ */
+public class PNGEncoder implements ImageEncoder {
+
+    /**
+     * The minimum number of bytes of image data in each band of rows that
+     * is compressed as a separate task.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    /** The default compression level. */
+    private static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
+    /** The PNG file signature. */
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10,
+            26, 10};
+
+    /** The IHDR chunk type. */
+    private static final int IHDR = 0x49484452;
+
+    /** The PLTE chunk type. */
+    private static final int PLTE = 0x504C5445;
+
+    /** The tRNS chunk type. */
+    private static final int TRNS = 0x74524E53;
+
+    /** The IDAT chunk type. */
+    private static final int IDAT = 0x49444154;
+
+    /** The IEND chunk type. */
+    private static final int IEND = 0x49454E44;
+
+    /** The size of the deflate window. */
+    private static final int WINDOW_SIZE = 32768;
+
+    /** The size of the buffers used for compressed data. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The {@code Deflater.deflate(byte[], int, int, int)} method, or
+     * {@code null} if it is not available (before Java 7).
+     */
+    private static final Method FLUSHING_DEFLATE;
+
+    /** The value of {@code Deflater.SYNC_FLUSH}. */
+    private static final Object SYNC_FLUSH;
+
+    static {
+        Method method;
+        Object syncFlush;
+        try {
+            method = Deflater.class.getMethod("deflate", byte[].class,
+                    int.class, int.class, int.class);
+            syncFlush = Deflater.class.getField("SYNC_FLUSH").get(null);
+        }
+        catch (Exception e) {
+            method = null;
+            syncFlush = null;
+        }
+        FLUSHING_DEFLATE = method;
+        SYNC_FLUSH = syncFlush;
+    }
+
+    /** The deflate compression level (0 to 9). */
+    private int compressionLevel;
+
+    /** A flag that controls whether alpha transparency is encoded. */
+    private boolean encodingAlpha;
+
+    /** The filter strategy. */
+    private PNGFilterStrategy filterStrategy;
+
+    /** A flag that controls whether palette images can be written. */
+    private boolean paletteEnabled;
+
+    /** The executor for compressing large images ({@code null} permitted). */
+    private Executor executor;
+
+    /**
+     * Creates a new encoder with compression level 6, alpha encoding and
+     * palette images enabled, adaptive filtering and no executor.
+     */
+    public PNGEncoder() {
+        this.compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+        this.encodingAlpha = true;
+        this.filterStrategy = PNGFilterStrategy.ADAPTIVE;
+        this.paletteEnabled = true;
+    }
+
+    /**
+     * Returns the deflate compression level.
+     *
+     * @return The compression level (0 to 9).
+     *
+     * @see #setQuality(float)
+     */
+    @Override
+    public float getQuality() {
+        return this.compressionLevel;
+    }
+
+    /**
+     * Sets the deflate compression level, from 0 (no compression) to 9
+     * (maximum compression).  The value is rounded to the nearest integer.
+     *
+     * @param quality  the compression level (in the range 0.0f to 9.0f).
+     */
+    @Override
+    public void setQuality(float quality) {
+        if (!(quality >= 0.0f && quality <= 9.0f)) {
+            throw new IllegalArgumentException(
+                    "The 'quality' must be in the range 0.0f to 9.0f");
+        }
+        this.compressionLevel = Math.round(quality);
+    }
+
+    /**
+     * Returns the flag that controls whether alpha transparency is encoded.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean isEncodingAlpha() {
+        return this.encodingAlpha;
+    }
+
+    /**
+     * Sets the flag that controls whether alpha transparency is encoded.
+     * When the flag is {@code false}, or the image is opaque, no alpha
+     * channel is written and the alpha values of the pixels are ignored.
+     *
+     * @param encodingAlpha  the new flag value.
+     */
+    @Override
+    public void setEncodingAlpha(boolean encodingAlpha) {
+        this.encodingAlpha = encodingAlpha;
+    }
+
+    /**
+     * Returns the filter strategy.
+     *
+     * @return The filter strategy (never {@code null}).
+     */
+    public PNGFilterStrategy getFilterStrategy() {
+        return this.filterStrategy;
+    }
+
+    /**
+     * Sets the filter strategy.
+     *
+     * @param strategy  the strategy ({@code null} not permitted).
+     */
+    public void setFilterStrategy(PNGFilterStrategy strategy) {
+        Args.nullNotPermitted(strategy, "strategy");
+        this.filterStrategy = strategy;
+    }
+
+    /**
+     * Returns the flag that controls whether images containing 256 colors
+     * or fewer are written as palette images.
+     *
+     * @return A boolean.
+     */
+    public boolean isPaletteEnabled() {
+        return this.paletteEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether images containing 256 colors or
+     * fewer are written as palette images.
+     *
+     * @param enabled  the new flag value.
+     */
+    public void setPaletteEnabled(boolean enabled) {
+        this.paletteEnabled = enabled;
+    }
+
+    /**
+     * Returns the executor used to compress large images.
+     *
+     * @return The executor (possibly {@code null}).
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the executor used to compress large images.  With an executor,
+     * a large image is split into bands of rows that are compressed as
+     * separate tasks; without one (the default) the image is compressed on
+     * the calling thread.  The output is a valid PNG image either way, but
+     * it is not byte-for-byte the same.
+     *
+     * @param executor  the executor ({@code null} permitted).
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Encodes an image in PNG format.
+     *
+     * @param bufferedImage  the image to be encoded ({@code null} not
+     *     permitted).
+     *
+     * @return The byte[] that is the encoded image.
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    @Override
+    public byte[] encode(BufferedImage bufferedImage) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encode(bufferedImage, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Encodes an image in PNG format and writes it to a channel.  The
+     * channel is not closed.
+     *
+     * @param bufferedImage  the image to be encoded ({@code null} not
+     *     permitted).
+     * @param channel  the channel ({@code null} not permitted).
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    public void encode(BufferedImage bufferedImage,
+            WritableByteChannel channel) throws IOException {
+        Args.nullNotPermitted(channel, "channel");
+        encode(bufferedImage, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Encodes an image in PNG format and writes it to an output stream.  The
+     * stream is not closed.
+     *
+     * @param bufferedImage  the image to be encoded ({@code null} not
+     *     permitted).
+     * @param outputStream  the output stream ({@code null} not permitted).
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    @Override
+    public void encode(BufferedImage bufferedImage, OutputStream outputStream)
+            throws IOException {
+        encode(bufferedImage, outputStream, 0);
+    }
+
+    /**
+     * Encodes an image in PNG format and writes it to an output stream.
+     *
+     * @param bufferedImage  the image to be encoded ({@code null} not
+     *     permitted).
+     * @param outputStream  the output stream ({@code null} not permitted).
+     * @param bands  the number of bands to compress separately, or 0 to
+     *     choose the number from the executor, the image size and the 
+     *     number of processors.
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    void encode(BufferedImage bufferedImage, OutputStream outputStream,
+            int bands) throws IOException {
+        Args.nullNotPermitted(bufferedImage, "bufferedImage");
+        Args.nullNotPermitted(outputStream, "outputStream");
+        ImageData data = new ImageData(bufferedImage, this.encodingAlpha,
+                this.paletteEnabled);
+        PNGFilterStrategy strategy = this.filterStrategy;
+        if (strategy == PNGFilterStrategy.ADAPTIVE && data.palette != null) {
+            strategy = PNGFilterStrategy.NONE;
+        }
+
+        outputStream.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, data.width);
+        putInt(header, 4, data.height);
+        header[8] = (byte) data.bitDepth;
+        header[9] = (byte) data.colorType;
+        writeChunk(outputStream, IHDR, header, 0, header.length);
+        if (data.palette != null) {
+            int size = data.palette.size;
+            byte[] plte = new byte[size * 3];
+            byte[] trns = new byte[size];
+            for (int i = 0; i < size; i++) {
+                int argb = data.palette.colors[i];
+                plte[3 * i] = (byte) (argb >> 16);
+                plte[3 * i + 1] = (byte) (argb >> 8);
+                plte[3 * i + 2] = (byte) argb;
+                trns[i] = (byte) (argb >>> 24);
+            }
+            writeChunk(outputStream, PLTE, plte, 0, plte.length);
+            if (data.alpha) {
+                writeChunk(outputStream, TRNS, trns, 0, trns.length);
+            }
+        }
+
+        ChunkOutputStream idat = new ChunkOutputStream(outputStream);
+        long size = (long) (data.rowBytes + 1) * data.height;
+        int bandCount = 1;
+        if (FLUSHING_DEFLATE != null) {
+            if (bands > 0) {
+                bandCount = Math.min(data.height, bands);
+            }
+            else {
+                bandCount = Math.min(data.height, ParallelUtils.getTaskCount(
+                        this.executor, size, PARALLEL_THRESHOLD));
+            }
+        }
+        if (bandCount < 2) {
+            Deflater deflater = new Deflater(this.compressionLevel);
+            try {
+                deflateRows(data, strategy, 0, data.height, deflater, null,
+                        idat, true);
+            }
+            finally {
+                deflater.end();
+            }
+        }
+        else {
+            deflateBands(data, strategy, bandCount, idat);
+        }
+        idat.finish();
+        writeChunk(outputStream, IEND, header, 0, 0);
+    }
+
+    /**
+     * Compresses the image rows in bands (as separate tasks for the 
+     * executor, if there is one) and writes the zlib stream to the output 
+     * stream.  Each band except the last ends with a sync flush, so that 
+     * the compressed bands can be joined into a single stream, and each 
+     * band is primed with the data at the end of the previous band so that
+     * little compression is lost.
+     *
+     * @param data  the image data.
+     * @param strategy  the filter strategy.
+     * @param bandCount  the number of bands.
+     * @param out  the output stream.
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    private void deflateBands(final ImageData data,
+            final PNGFilterStrategy strategy, int bandCount,
+            OutputStream out) throws IOException {
+        final int bandSize = (data.height + bandCount - 1) / bandCount;
+        bandCount = (data.height + bandSize - 1) / bandSize;
+        final Band[] bands = new Band[bandCount];
+        for (int b = 0; b < bandCount; b++) {
+            int start = b * bandSize;
+            bands[b] = new Band(start, Math.min(start + bandSize, data.height),
+                    b == bandCount - 1);
+        }
+        Runnable[] tasks = new Runnable[bandCount];
+        for (int t = 0; t < bandCount; t++) {
+            final Band band = bands[t];
+            tasks[t] = new Runnable() {
+                @Override
+                public void run() {
+                    band.deflate(data, strategy, compressionLevel);
+                }
+            };
+        }
+        ParallelUtils.runAll(this.executor, tasks);
+
+        // the zlib header
+        int cmf = 0x78;
+        int level = this.compressionLevel;
+        int flg = (level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3) << 6;
+        flg += 31 - (cmf * 256 + flg) % 31;
+        out.write(cmf);
+        out.write(flg);
+        long adler = 1L;
+        for (Band band : bands) {
+            if (band.failure instanceof RuntimeException) {
+                throw (RuntimeException) band.failure;
+            }
+            if (band.failure instanceof Error) {
+                throw (Error) band.failure;
+            }
+            band.compressed.writeTo(out);
+            adler = combineAdler32(adler, band.adler, band.length);
+        }
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) adler);
+        out.write(trailer);
+    }
+
+    /**
+     * Filters and compresses a range of image rows.
+     *
+     * @param data  the image data.
+     * @param strategy  the filter strategy.
+     * @param startRow  the first row.
+     * @param endRow  the row after the last row.
+     * @param deflater  the deflater.
+     * @param checksum  a checksum to update with the filtered rows
+     *     ({@code null} permitted).
+     * @param out  the output stream for the compressed data.
+     * @param last  if {@code true} the deflater is finished, otherwise it
+     *     is flushed with a sync flush.
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    private static void deflateRows(ImageData data,
+            PNGFilterStrategy strategy, int startRow, int endRow,
+            Deflater deflater, Adler32 checksum, OutputStream out,
+            boolean last) throws IOException {
+        Filter filter = new Filter(data, strategy);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        filter.reset(startRow);
+        for (int y = startRow; y < endRow; y++) {
+            byte[] row = filter.filterRow(y);
+            if (checksum != null) {
+                checksum.update(row, 0, row.length);
+            }
+            deflater.setInput(row, 0, row.length);
+            while (!deflater.needsInput()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+        }
+        if (last) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+        }
+        else {
+            int count;
+            do {
+                count = syncFlush(deflater, buffer);
+                out.write(buffer, 0, count);
+            } while (count == buffer.length);
+        }
+    }
+
+    /**
+     * Compresses any pending input and flushes the deflater so that the
+     * output ends on a byte boundary.
+     *
+     * @param deflater  the deflater.
+     * @param buffer  the buffer for the compressed data.
+     *
+     * @return The number of bytes written to the buffer.
+     */
+    private static int syncFlush(Deflater deflater, byte[] buffer) {
+        try {
+            return (Integer) FLUSHING_DEFLATE.invoke(deflater, buffer, 0,
+                    buffer.length, SYNC_FLUSH);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the Adler-32 checksum of two blocks of data joined together,
+     * given the checksum of each block.
+     *
+     * @param adler1  the checksum of the first block.
+     * @param adler2  the checksum of the second block.
+     * @param length2  the length of the second block.
+     *
+     * @return The checksum.
+     */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521L;
+        long rem = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >> 16) & 0xFFFF) + ((adler2 >> 16) & 0xFFFF)
+                + base - rem;
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum2 >= (base << 1)) {
+            sum2 -= (base << 1);
+        }
+        if (sum2 >= base) {
+            sum2 -= base;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    /**
+     * Writes a chunk to an output stream.
+     *
+     * @param out  the output stream.
+     * @param type  the chunk type.
+     * @param data  the chunk data.
+     * @param offset  the offset of the chunk data.
+     * @param length  the length of the chunk data.
+     *
+     * @throws IOException if there is an IO problem.
+     */
+    private static void writeChunk(OutputStream out, int type, byte[] data,
+            int offset, int length) throws IOException {
+        byte[] header = new byte[8];
+        putInt(header, 0, length);
+        putInt(header, 4, type);
+        CRC32 crc = new CRC32();
+        crc.update(header, 4, 4);
+        crc.update(data, offset, length);
+        out.write(header);
+        out.write(data, offset, length);
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) crc.getValue());
+        out.write(trailer);
+    }
+
+    /**
+     * Stores an integer in an array in big-endian order.
+     *
+     * @param b  the array.
+     * @param offset  the offset.
+     * @param value  the value.
+     */
+    private static void putInt(byte[] b, int offset, int value) {
+        b[offset] = (byte) (value >>> 24);
+        b[offset + 1] = (byte) (value >>> 16);
+        b[offset + 2] = (byte) (value >>> 8);
+        b[offset + 3] = (byte) value;
+    }
+
+    /**
+     * The pixels of an image and the format chosen to encode them.
+     */
+    private static final class ImageData {
+
+        /** The image width. */
+        final int width;
+
+        /** The image height. */
+        final int height;
+
+        /** The pixels (ARGB). */
+        private final int[] pixels;
+
+        /** The index of the first pixel. */
+        private final int offset;
+
+        /** The distance between rows in the pixel array. */
+        private final int stride;
+
+        /** A mask that is applied to each pixel (to discard the alpha). */
+        private final int opaqueMask;
+
+        /** The palette ({@code null} for a true color image). */
+        final Palette palette;
+
+        /** Does the encoded image have alpha values? */
+        final boolean alpha;
+
+        /** The PNG color type. */
+        final int colorType;
+
+        /** The PNG bit depth. */
+        final int bitDepth;
+
+        /** The number of bytes per complete pixel (at least 1). */
+        final int bytesPerPixel;
+
+        /** The number of bytes in each row (excluding the filter type). */
+        final int rowBytes;
+
+        /**
+         * Reads the pixels of an image and chooses the format.
+         *
+         * @param image  the image.
+         * @param encodingAlpha  can an alpha channel be written?
+         * @param paletteEnabled  can a palette image be written?
+         */
+        ImageData(BufferedImage image, boolean encodingAlpha,
+                boolean paletteEnabled) {
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            int type = image.getType();
+            Raster raster = image.getRaster();
+            if ((type == BufferedImage.TYPE_INT_ARGB
+                    || type == BufferedImage.TYPE_INT_RGB)
+                    && raster.getDataBuffer() instanceof DataBufferInt
+                    && raster.getSampleModel()
+                    instanceof SinglePixelPackedSampleModel) {
+                SinglePixelPackedSampleModel sm
+                        = (SinglePixelPackedSampleModel) raster
+                        .getSampleModel();
+                DataBufferInt db = (DataBufferInt) raster.getDataBuffer();
+                this.pixels = db.getData();
+                this.offset = db.getOffset() + sm.getOffset(
+                        -raster.getSampleModelTranslateX(),
+                        -raster.getSampleModelTranslateY());
+                this.stride = sm.getScanlineStride();
+            }
+            else {
+                this.pixels = image.getRGB(0, 0, this.width, this.height,
+                        null, 0, this.width);
+                this.offset = 0;
+                this.stride = this.width;
+            }
+            boolean hasAlpha = encodingAlpha
+                    && image.getColorModel().hasAlpha();
+            this.opaqueMask = hasAlpha ? 0 : 0xFF000000;
+
+            // look for translucent pixels and count the colors, stopping as
+            // soon as the answers are known
+            boolean translucent = false;
+            Palette p = paletteEnabled ? new Palette() : null;
+            int previous = 0;
+            boolean first = true;
+            scan:
+            for (int y = 0; y < this.height; y++) {
+                int i = this.offset + y * this.stride;
+                for (int x = 0; x < this.width; x++) {
+                    int argb = this.pixels[i + x] | this.opaqueMask;
+                    if (argb == previous && !first) {
+                        continue;
+                    }
+                    first = false;
+                    previous = argb;
+                    if (argb >>> 24 != 0xFF) {
+                        translucent = true;
+                    }
+                    if (p != null && !p.add(argb)) {
+                        p = null;
+                    }
+                    if (p == null && (translucent || !hasAlpha)) {
+                        break scan;
+                    }
+                }
+            }
+            this.palette = p;
+            this.alpha = translucent;
+            if (p != null) {
+                this.colorType = 3;
+                this.bitDepth = p.size <= 2 ? 1 : p.size <= 4 ? 2
+                        : p.size <= 16 ? 4 : 8;
+                this.bytesPerPixel = 1;
+                this.rowBytes = (this.width * this.bitDepth + 7) / 8;
+            }
+            else {
+                this.colorType = translucent ? 6 : 2;
+                this.bitDepth = 8;
+                this.bytesPerPixel = translucent ? 4 : 3;
+                this.rowBytes = this.width * this.bytesPerPixel;
+            }
+        }
+
+        /**
+         * Writes the unfiltered bytes of one row of the image into an array.
+         *
+         * @param y  the row.
+         * @param row  the array ({@code rowBytes} long).
+         */
+        void getRow(int y, byte[] row) {
+            int i = this.offset + y * this.stride;
+            if (this.palette != null) {
+                int bits = this.bitDepth;
+                if (bits < 8) {
+                    Arrays.fill(row, (byte) 0);
+                }
+                int previous = 0;
+                int index = -1;
+                for (int x = 0; x < this.width; x++) {
+                    int argb = this.pixels[i + x] | this.opaqueMask;
+                    if (argb != previous || index < 0) {
+                        index = this.palette.indexOf(argb);
+                        previous = argb;
+                    }
+                    if (bits == 8) {
+                        row[x] = (byte) index;
+                    }
+                    else {
+                        int bit = x * bits;
+                        row[bit >> 3] |= index << (8 - bits - (bit & 7));
+                    }
+                }
+            }
+            else if (this.alpha) {
+                for (int x = 0, j = 0; x < this.width; x++, j += 4) {
+                    int argb = this.pixels[i + x];
+                    row[j] = (byte) (argb >> 16);
+                    row[j + 1] = (byte) (argb >> 8);
+                    row[j + 2] = (byte) argb;
+                    row[j + 3] = (byte) (argb >>> 24);
+                }
+            }
+            else {
+                for (int x = 0, j = 0; x < this.width; x++, j += 3) {
+                    int argb = this.pixels[i + x];
+                    row[j] = (byte) (argb >> 16);
+                    row[j + 1] = (byte) (argb >> 8);
+                    row[j + 2] = (byte) argb;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The colors in a palette image, with a small hash table to look up the
+     * index of each color.
+     */
+    private static final class Palette {
+
+        /** The maximum number of colors. */
+        private static final int CAPACITY = 256;
+
+        /** The number of slots in the hash table. */
+        private static final int SLOTS = 1024;
+
+        /** The colors in the hash table. */
+        private final int[] keys;
+
+        /** The palette index + 1 for each slot (0 for an empty slot). */
+        private final int[] indices;
+
+        /** The colors in palette order. */
+        final int[] colors;
+
+        /** The number of colors. */
+        int size;
+
+        /**
+         * Creates an empty palette.
+         */
+        Palette() {
+            this.keys = new int[SLOTS];
+            this.indices = new int[SLOTS];
+            this.colors = new int[CAPACITY];
+        }
+
+        /**
+         * Returns the first slot to check for a color.
+         *
+         * @param argb  the color.
+         *
+         * @return The slot.
+         */
+        private static int slot(int argb) {
+            return (argb * 0x9E3779B9) >>> 22;
+        }
+
+        /**
+         * Adds a color to the palette, if it is not already there.
+         *
+         * @param argb  the color.
+         *
+         * @return {@code false} if the palette is full and does not contain
+         *     the color.
+         */
+        boolean add(int argb) {
+            int s = slot(argb);
+            while (this.indices[s] != 0) {
+                if (this.keys[s] == argb) {
+                    return true;
+                }
+                s = (s + 1) & (SLOTS - 1);
+            }
+            if (this.size == CAPACITY) {
+                return false;
+            }
+            this.keys[s] = argb;
+            this.colors[this.size] = argb;
+            this.size++;
+            this.indices[s] = this.size;
+            return true;
+        }
+
+        /**
+         * Returns the palette index for a color that is in the palette.
+         *
+         * @param argb  the color.
+         *
+         * @return The index.
+         */
+        int indexOf(int argb) {
+            int s = slot(argb);
+            while (this.indices[s] == 0 || this.keys[s] != argb) {
+                s = (s + 1) & (SLOTS - 1);
+            }
+            return this.indices[s] - 1;
+        }
+
+    }
+
+    /**
+     * Produces the filtered rows of an image.
+     */
+    private static final class Filter {
+
+        /** The image data. */
+        private final ImageData data;
+
+        /** The filter strategy. */
+        private final PNGFilterStrategy strategy;
+
+        /** The unfiltered bytes of the previous row. */
+        private byte[] prior;
+
+        /** The unfiltered bytes of the current row. */
+        private byte[] current;
+
+        /** The filtered rows for each filter type. */
+        private final byte[][] filtered;
+
+        /**
+         * Creates a new filter.
+         *
+         * @param data  the image data.
+         * @param strategy  the strategy.
+         */
+        Filter(ImageData data, PNGFilterStrategy strategy) {
+            this.data = data;
+            this.strategy = strategy;
+            this.prior = new byte[data.rowBytes];
+            this.current = new byte[data.rowBytes];
+            this.filtered = new byte[5][data.rowBytes + 1];
+            for (int f = 0; f < 5; f++) {
+                this.filtered[f][0] = (byte) f;
+            }
+        }
+
+        /**
+         * Prepares to filter rows starting from the specified row.
+         *
+         * @param y  the row.
+         */
+        void reset(int y) {
+            if (y > 0) {
+                this.data.getRow(y - 1, this.prior);
+            }
+            else {
+                Arrays.fill(this.prior, (byte) 0);
+            }
+        }
+
+        /**
+         * Returns the filtered bytes for a row, including the filter type.
+         * The rows must be requested in order.  The array returned is reused
+         * for later rows.
+         *
+         * @param y  the row.
+         *
+         * @return The filtered row.
+         */
+        byte[] filterRow(int y) {
+            this.data.getRow(y, this.current);
+            byte[] result;
+            switch (this.strategy) {
+                case NONE:
+                    result = filter(0);
+                    break;
+                case SUB:
+                    result = filter(1);
+                    break;
+                case UP:
+                    result = filter(2);
+                    break;
+                case AVERAGE:
+                    result = filter(3);
+                    break;
+                case PAETH:
+                    result = filter(4);
+                    break;
+                default:
+                    result = null;
+                    long best = Long.MAX_VALUE;
+                    for (int f = 0; f < 5; f++) {
+                        byte[] candidate = filter(f);
+                        long sum = 0L;
+                        for (int i = 1; i < candidate.length; i++) {
+                            sum += Math.abs(candidate[i]);
+                        }
+                        if (sum < best) {
+                            best = sum;
+                            result = candidate;
+                        }
+                    }
+            }
+            byte[] swap = this.prior;
+            this.prior = this.current;
+            this.current = swap;
+            return result;
+        }
+
+        /**
+         * Applies one filter type to the current row.
+         *
+         * @param type  the filter type (0 to 4).
+         *
+         * @return The filtered row.
+         */
+        private byte[] filter(int type) {
+            byte[] out = this.filtered[type];
+            byte[] raw = this.current;
+            byte[] up = this.prior;
+            int bpp = this.data.bytesPerPixel;
+            int n = raw.length;
+            switch (type) {
+                case 0:
+                    System.arraycopy(raw, 0, out, 1, n);
+                    break;
+                case 1:
+                    for (int i = 0; i < n; i++) {
+                        int a = i >= bpp ? raw[i - bpp] : 0;
+                        out[i + 1] = (byte) (raw[i] - a);
+                    }
+                    break;
+                case 2:
+                    for (int i = 0; i < n; i++) {
+                        out[i + 1] = (byte) (raw[i] - up[i]);
+                    }
+                    break;
+                case 3:
+                    for (int i = 0; i < n; i++) {
+                        int a = i >= bpp ? raw[i - bpp] & 0xFF : 0;
+                        int b = up[i] & 0xFF;
+                        out[i + 1] = (byte) (raw[i] - ((a + b) >> 1));
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < n; i++) {
+                        int a = i >= bpp ? raw[i - bpp] & 0xFF : 0;
+                        int b = up[i] & 0xFF;
+                        int c = i >= bpp ? up[i - bpp] & 0xFF : 0;
+                        int p = a + b - c;
+                        int pa = Math.abs(p - a);
+                        int pb = Math.abs(p - b);
+                        int pc = Math.abs(p - c);
+                        int predictor = (pa <= pb && pa <= pc) ? a
+                                : (pb <= pc ? b : c);
+                        out[i + 1] = (byte) (raw[i] - predictor);
+                    }
+            }
+            return out;
+        }
+
+    }
+
+    /**
+     * A band of rows that is compressed separately.
+     */
+    private static final class Band {
+
+        /** The first row. */
+        private final int startRow;
+
+        /** The row after the last row. */
+        private final int endRow;
+
+        /** Is this the last band? */
+        private final boolean last;
+
+        /** The compressed data. */
+        private ByteArrayOutputStream compressed;
+
+        /** The Adler-32 checksum of the filtered rows. */
+        private long adler;
+
+        /** The number of bytes in the filtered rows. */
+        private long length;
+
+        /** The exception thrown while compressing, if any. */
+        private Throwable failure;
+
+        /**
+         * Creates a new band.
+         *
+         * @param startRow  the first row.
+         * @param endRow  the row after the last row.
+         * @param last  is this the last band?
+         */
+        Band(int startRow, int endRow, boolean last) {
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.last = last;
+        }
+
+        /**
+         * Compresses the band, recording any exception that is thrown.
+         *
+         * @param data  the image data.
+         * @param strategy  the filter strategy.
+         * @param level  the compression level.
+         */
+        void deflate(ImageData data, PNGFilterStrategy strategy, int level) {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                if (this.startRow > 0) {
+                    // prime the deflater with the end of the previous band
+                    int rowLength = data.rowBytes + 1;
+                    int rows = Math.min(this.startRow,
+                            (WINDOW_SIZE + rowLength - 1) / rowLength);
+                    byte[] dictionary = new byte[rows * rowLength];
+                    Filter filter = new Filter(data, strategy);
+                    filter.reset(this.startRow - rows);
+                    for (int r = 0; r < rows; r++) {
+                        System.arraycopy(filter.filterRow(
+                                this.startRow - rows + r), 0, dictionary,
+                                r * rowLength, rowLength);
+                    }
+                    int n = Math.min(WINDOW_SIZE, dictionary.length);
+                    deflater.setDictionary(dictionary, dictionary.length - n,
+                            n);
+                }
+                Adler32 checksum = new Adler32();
+                this.compressed = new ByteArrayOutputStream(
+                        (int) Math.min(Integer.MAX_VALUE / 2,
+                        (long) (this.endRow - this.startRow)
+                        * (data.rowBytes + 1) / 4));
+                deflateRows(data, strategy, this.startRow, this.endRow,
+                        deflater, checksum, this.compressed, this.last);
+                this.adler = checksum.getValue();
+                this.length = (long) (this.endRow - this.startRow)
+                        * (data.rowBytes + 1);
+            }
+            catch (IOException e) {
+                // a ByteArrayOutputStream does not throw IOExceptions
+                this.failure = new RuntimeException(e);
+            }
+            catch (RuntimeException e) {
+                this.failure = e;
+            }
+            catch (Error e) {
+                this.failure = e;
+            }
+            finally {
+                deflater.end();
+            }
+        }
+
+    }
+
+    /**
+     * An output stream that writes the data it receives as IDAT chunks.
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        /** The underlying stream. */
+        private final OutputStream out;
+
+        /** The data for the next chunk. */
+        private final byte[] buffer;
+
+        /** The number of bytes in the buffer. */
+        private int count;
+
+        /**
+         * Creates a new stream.
+         *
+         * @param out  the underlying stream.
+         */
+        ChunkOutputStream(OutputStream out) {
+            this.out = out;
+            this.buffer = new byte[BUFFER_SIZE];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (this.count == this.buffer.length) {
+                flushChunk();
+            }
+            this.buffer[this.count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (this.count == this.buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len, this.buffer.length - this.count);
+                System.arraycopy(b, off, this.buffer, this.count, n);
+                this.count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Writes the buffered data as a chunk.
+         *
+         * @throws IOException if there is an IO problem.
+         */
+        private void flushChunk() throws IOException {
+            writeChunk(this.out, IDAT, this.buffer, 0, this.count);
+            this.count = 0;
+        }
+
+        /**
+         * Writes any remaining data as a chunk (the underlying stream is
+         * not closed).
+         *
+         * @throws IOException if there is an IO problem.
+         */
+        void finish() throws IOException {
+            if (this.count > 0) {
+                flushChunk();
+            }
+        }
+
+    }
+
+}
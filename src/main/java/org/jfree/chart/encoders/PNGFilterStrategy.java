@@ -0,0 +1,64 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.encoders;
+
+/**
+ * The strategy used by a {@link PNGEncoder} to choose the filter that is
+ * applied to each row of the image before it is compressed.
+ *
+ * @since 1.6.0
+ */
+public enum PNGFilterStrategy {
+
+    /** No filtering (usually best for palette images). */
+    NONE,
+
+    /** Each byte is stored as the difference from the pixel to its left. */
+    SUB,
+
+    /** Each byte is stored as the difference from the pixel above. */
+    UP,
+
+    /**
+     * Each byte is stored as the difference from the average of the pixels
+     * to the left and above.
+     */
+    AVERAGE,
+
+    /** Each byte is stored using the Paeth predictor. */
+    PAETH,
+
+    /**
+     * The filter is chosen separately for each row, using the one that
+     * gives the smallest sum of absolute differences (no filtering is used
+     * for palette images).
+     */
+    ADAPTIVE
+
+}
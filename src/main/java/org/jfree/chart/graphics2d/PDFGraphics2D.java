@@ -0,0 +1,1028 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import org.jfree.chart.util.Args;
+
+/**
+ * A {@code Graphics2D} that writes a single page PDF document to an output
+ * stream.  The page content is compressed and written to the stream while
+ * drawing takes place, only the (small) resources such as images, gradients
+ * and transparency states are held in memory until {@link #finish()} is
+ * called.  For example:
+ * <pre>
+ * PDFGraphics2D g2 = new PDFGraphics2D(out, 600, 400);
+ * chart.draw(g2, new Rectangle(600, 400));
+ * g2.finish();
+ * </pre>
+ * This is a minimal writer intended for charts: text is written as the
+ * outlines of the glyphs (so no fonts are embedded and the text cannot be
+ * selected), cyclic gradients are drawn as if they were not cyclic, the
+ * alpha values of gradient colors are ignored, and paints other than
+ * {@code Color}, {@code GradientPaint}, {@code LinearGradientPaint} and
+ * {@code RadialGradientPaint} are replaced by the current color.
+ *
+ * @since 1.6.0
+ */
+public class PDFGraphics2D extends VectorGraphics2D {
+
+    /** The document (shared with the graphics created from this instance). */
+    private final Document document;
+
+    /**
+     * Creates a new instance that writes to the specified output stream.  The
+     * start of the document is written immediately.
+     *
+     * @param out  the output stream ({@code null} not permitted).
+     * @param width  the width of the page.
+     * @param height  the height of the page.
+     */
+    public PDFGraphics2D(OutputStream out, int width, int height) {
+        super(width, height);
+        Args.nullNotPermitted(out, "out");
+        this.document = new Document(out, width, height);
+        this.document.start();
+    }
+
+    /**
+     * Creates a new instance that writes to the same document as another
+     * instance.
+     *
+     * @param parent  the parent.
+     */
+    private PDFGraphics2D(PDFGraphics2D parent) {
+        super(parent);
+        this.document = parent.document;
+    }
+
+    @Override
+    public Graphics create() {
+        return new PDFGraphics2D(this);
+    }
+
+    /**
+     * Writes the resources and the cross reference table to complete the
+     * document, and flushes the output stream (the stream is not closed).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Override
+    public void finish() throws IOException {
+        this.document.finish();
+    }
+
+    @Override
+    void fillShape(Shape shape) {
+        this.document.fill(this, shape);
+    }
+
+    @Override
+    void strokeShape(Shape shape) {
+        this.document.stroke(this, shape);
+    }
+
+    @Override
+    void drawBufferedImage(BufferedImage image, AffineTransform xform) {
+        this.document.drawImage(this, image, xform);
+    }
+
+    /**
+     * An output stream that counts the bytes written to it.
+     */
+    private static final class CountingOutputStream
+            extends FilterOutputStream {
+
+        /** The number of bytes written. */
+        private long count;
+
+        /**
+         * Creates a new stream.
+         *
+         * @param out  the underlying stream.
+         */
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.out.write(b);
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+            this.count += len;
+        }
+
+    }
+
+    /**
+     * The PDF document, shared by all the graphics that draw to it.
+     */
+    private static final class Document {
+
+        /** The object number of the content stream. */
+        private static final int CONTENT = 4;
+
+        /** The object number of the length of the content stream. */
+        private static final int CONTENT_LENGTH = 5;
+
+        /** The object number of the resources dictionary. */
+        private static final int RESOURCES = 6;
+
+        /** The number of decimal places for coordinates. */
+        private static final int DECIMALS = 3;
+
+        /** The content length that triggers compression of the content. */
+        private static final int CONTENT_FLUSH_LENGTH = 16384;
+
+        /** The output stream. */
+        private final CountingOutputStream out;
+
+        /** The width of the page. */
+        private final int width;
+
+        /** The height of the page. */
+        private final int height;
+
+        /** The first exception thrown by the output stream. */
+        private IOException failure;
+
+        /** Has the document been completed? */
+        private boolean finished;
+
+        /** The offsets of the objects, by object number. */
+        private final List<Long> offsets;
+
+        /** The objects that are written when the document is finished. */
+        private final List<PendingObject> pending;
+
+        /** The compressed content stream. */
+        private DeflaterOutputStream contentStream;
+
+        /** The position of the start of the content stream. */
+        private long contentStart;
+
+        /** The content that has not been compressed yet. */
+        private final StringBuilder content;
+
+        /** The transparency states, by alpha value (in thousandths). */
+        private final Map<Integer, String> alphaStates;
+
+        /** The image resources. */
+        private final List<String> images;
+
+        /** The shadings, by description. */
+        private final Map<String, String> shadings;
+
+        /** The clip (device space) of the current graphics state. */
+        private Shape clip;
+
+        /** The transform of the current graphics state. */
+        private AffineTransform transform;
+
+        /** The alpha value (in thousandths) of the current state. */
+        private int alpha;
+
+        /** The fill color of the current state (or null if unknown). */
+        private String fillColor;
+
+        /** The stroke color of the current state (or null if unknown). */
+        private String strokeColor;
+
+        /** The stroke of the current state (or null if unknown). */
+        private BasicStroke stroke;
+
+        /** The coordinates for path segments. */
+        private final double[] coords;
+
+        /**
+         * Creates a new document.
+         *
+         * @param out  the output stream.
+         * @param width  the page width.
+         * @param height  the page height.
+         */
+        Document(OutputStream out, int width, int height) {
+            this.out = new CountingOutputStream(new BufferedOutputStream(out));
+            this.width = width;
+            this.height = height;
+            this.offsets = new ArrayList<Long>();
+            for (int i = 0; i <= RESOURCES; i++) {
+                this.offsets.add(Long.valueOf(0L));
+            }
+            this.pending = new ArrayList<PendingObject>();
+            this.content = new StringBuilder(CONTENT_FLUSH_LENGTH + 1024);
+            this.alphaStates = new HashMap<Integer, String>();
+            this.images = new ArrayList<String>();
+            this.shadings = new HashMap<String, String>();
+            this.transform = new AffineTransform();
+            this.alpha = 1000;
+            this.coords = new double[6];
+        }
+
+        /**
+         * Returns the bytes for a string of (ASCII) characters.
+         *
+         * @param s  the string.
+         *
+         * @return The bytes.
+         */
+        private static byte[] bytes(CharSequence s) {
+            byte[] result = new byte[s.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (byte) s.charAt(i);
+            }
+            return result;
+        }
+
+        /**
+         * Writes a string to the output stream, recording the first
+         * exception.
+         *
+         * @param s  the string.
+         */
+        private void write(CharSequence s) {
+            write(bytes(s));
+        }
+
+        /**
+         * Writes bytes to the output stream, recording the first exception.
+         *
+         * @param b  the bytes.
+         */
+        private void write(byte[] b) {
+            if (this.failure != null) {
+                return;
+            }
+            try {
+                this.out.write(b, 0, b.length);
+            }
+            catch (IOException e) {
+                this.failure = e;
+            }
+        }
+
+        /**
+         * Writes the start of an object, recording its offset.
+         *
+         * @param number  the object number.
+         */
+        private void startObject(int number) {
+            while (this.offsets.size() <= number) {
+                this.offsets.add(Long.valueOf(0L));
+            }
+            this.offsets.set(number, Long.valueOf(this.out.count));
+            write(number + " 0 obj\n");
+        }
+
+        /**
+         * Writes a complete object.
+         *
+         * @param number  the object number.
+         * @param dictionary  the object.
+         */
+        private void writeObject(int number, String dictionary) {
+            startObject(number);
+            write(dictionary);
+            write("\nendobj\n");
+        }
+
+        /**
+         * Allocates a number for an object that will be written when the
+         * document is finished.
+         *
+         * @param dictionary  the object dictionary.
+         * @param stream  the (compressed) stream data ({@code null}
+         *     permitted).
+         *
+         * @return The object number.
+         */
+        private int addObject(String dictionary, byte[] stream) {
+            int number = RESOURCES + 1 + this.pending.size();
+            this.pending.add(new PendingObject(number, dictionary, stream));
+            return number;
+        }
+
+        /**
+         * Writes the start of the document, up to the start of the content
+         * stream.
+         */
+        void start() {
+            write(new byte[] {'%', 'P', 'D', 'F', '-', '1', '.', '4', '\n',
+                    '%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3,
+                    '\n'});
+            writeObject(1, "<< /Type /Catalog /Pages 2 0 R >>");
+            writeObject(2, "<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+            writeObject(3, "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 "
+                    + this.width + " " + this.height + "] /Resources "
+                    + RESOURCES + " 0 R /Contents " + CONTENT + " 0 R >>");
+            startObject(CONTENT);
+            write("<< /Length " + CONTENT_LENGTH
+                    + " 0 R /Filter /FlateDecode >>\nstream\n");
+            this.contentStart = this.out.count;
+            this.contentStream = new DeflaterOutputStream(this.out);
+            // flip the y-axis so that user space matches Java2D
+            this.content.append("1 0 0 -1 0 ").append(this.height)
+                    .append(" cm\nq\n");
+        }
+
+        /**
+         * Compresses the pending content.
+         */
+        private void flushContent() {
+            if (this.failure == null) {
+                try {
+                    this.contentStream.write(bytes(this.content));
+                }
+                catch (IOException e) {
+                    this.failure = e;
+                }
+            }
+            this.content.setLength(0);
+        }
+
+        /**
+         * Completes the document.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void finish() throws IOException {
+            if (this.finished) {
+                if (this.failure != null) {
+                    throw this.failure;
+                }
+                return;
+            }
+            this.finished = true;
+            this.content.append("Q\n");
+            flushContent();
+            if (this.failure == null) {
+                try {
+                    this.contentStream.finish();
+                }
+                catch (IOException e) {
+                    this.failure = e;
+                }
+            }
+            long length = this.out.count - this.contentStart;
+            write("\nendstream\nendobj\n");
+            writeObject(CONTENT_LENGTH, Long.toString(length));
+            writeObject(RESOURCES, createResources());
+            for (PendingObject obj : this.pending) {
+                startObject(obj.number);
+                write(obj.dictionary);
+                if (obj.stream != null) {
+                    write("\nstream\n");
+                    write(obj.stream);
+                    write("\nendstream");
+                }
+                write("\nendobj\n");
+            }
+            long xref = this.out.count;
+            StringBuilder b = new StringBuilder(this.offsets.size() * 20
+                    + 64);
+            b.append("xref\n0 ").append(this.offsets.size()).append('\n');
+            b.append("0000000000 65535 f \n");
+            for (int i = 1; i < this.offsets.size(); i++) {
+                String offset = this.offsets.get(i).toString();
+                for (int j = offset.length(); j < 10; j++) {
+                    b.append('0');
+                }
+                b.append(offset).append(" 00000 n \n");
+            }
+            b.append("trailer\n<< /Size ").append(this.offsets.size());
+            b.append(" /Root 1 0 R >>\nstartxref\n").append(xref);
+            b.append("\n%%EOF\n");
+            write(b);
+            if (this.failure == null) {
+                try {
+                    this.out.flush();
+                }
+                catch (IOException e) {
+                    this.failure = e;
+                }
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+
+        /**
+         * Creates the resources dictionary.
+         *
+         * @return The resources dictionary.
+         */
+        private String createResources() {
+            StringBuilder b = new StringBuilder(256);
+            b.append("<< /ProcSet [/PDF /ImageC]");
+            if (!this.alphaStates.isEmpty()) {
+                b.append(" /ExtGState <<");
+                for (String name : this.alphaStates.values()) {
+                    b.append(' ').append(name);
+                }
+                b.append(" >>");
+            }
+            if (!this.images.isEmpty()) {
+                b.append(" /XObject <<");
+                for (String name : this.images) {
+                    b.append(' ').append(name);
+                }
+                b.append(" >>");
+            }
+            if (!this.shadings.isEmpty()) {
+                b.append(" /Shading <<");
+                for (String name : this.shadings.values()) {
+                    b.append(' ').append(name);
+                }
+                b.append(" >>");
+            }
+            b.append(" >>");
+            return b.toString();
+        }
+
+        /**
+         * Returns the name of a resource from an entry in a resource
+         * dictionary ("/Name n 0 R").
+         *
+         * @param entry  the entry.
+         *
+         * @return The name.
+         */
+        private static String name(String entry) {
+            return entry.substring(0, entry.indexOf(' '));
+        }
+
+        /**
+         * Prepares to draw with the state of a graphics, updating the clip,
+         * transform and alpha of the current graphics state.
+         *
+         * @param g2  the graphics.
+         * @param alpha  the alpha value.
+         *
+         * @return {@code false} if nothing can be drawn.
+         */
+        private boolean begin(VectorGraphics2D g2, float alpha) {
+            if (this.finished || this.failure != null) {
+                return false;
+            }
+            Shape deviceClip = g2.getDeviceClip();
+            AffineTransform t = g2.getCurrentTransform();
+            if (deviceClip != this.clip || !t.equals(this.transform)) {
+                this.content.append("Q q\n");
+                if (deviceClip != null) {
+                    boolean evenOdd = appendPath(deviceClip);
+                    this.content.append(evenOdd ? "W* n\n" : "W n\n");
+                }
+                if (!t.isIdentity()) {
+                    appendMatrix(t);
+                    this.content.append(" cm\n");
+                }
+                this.clip = deviceClip;
+                this.transform = new AffineTransform(t);
+                this.alpha = 1000;
+                this.fillColor = null;
+                this.strokeColor = null;
+                this.stroke = null;
+            }
+            int a = Math.round(alpha * 1000);
+            if (a != this.alpha) {
+                Integer key = Integer.valueOf(a);
+                String state = this.alphaStates.get(key);
+                if (state == null) {
+                    StringBuilder b = new StringBuilder(
+                            "<< /Type /ExtGState /ca ");
+                    appendNumber(b, a / 1000.0, 3, false);
+                    b.append(" /CA ");
+                    appendNumber(b, a / 1000.0, 3, false);
+                    b.append(" >>");
+                    int n = addObject(b.toString(), null);
+                    state = "/Ga" + n + " " + n + " 0 R";
+                    this.alphaStates.put(key, state);
+                }
+                this.content.append(name(state)).append(" gs\n");
+                this.alpha = a;
+            }
+            return true;
+        }
+
+        /**
+         * Completes a drawing operation.
+         */
+        private void end() {
+            if (this.content.length() > CONTENT_FLUSH_LENGTH) {
+                flushContent();
+            }
+        }
+
+        /**
+         * Returns the color to use for a paint that is not a gradient.
+         *
+         * @param g2  the graphics.
+         *
+         * @return The color.
+         */
+        private static Color getColor(VectorGraphics2D g2) {
+            Paint paint = g2.getPaint();
+            return paint instanceof Color ? (Color) paint : g2.getColor();
+        }
+
+        /**
+         * Appends the operands for a color ("r g b").
+         *
+         * @param b  the string builder.
+         * @param c  the color.
+         */
+        private static void appendColor(StringBuilder b, Color c) {
+            appendNumber(b, c.getRed() / 255.0, 3, true);
+            b.append(' ');
+            appendNumber(b, c.getGreen() / 255.0, 3, true);
+            b.append(' ');
+            appendNumber(b, c.getBlue() / 255.0, 3, true);
+        }
+
+        /**
+         * Fills a shape.
+         *
+         * @param g2  the graphics.
+         * @param shape  the shape.
+         */
+        void fill(VectorGraphics2D g2, Shape shape) {
+            Paint paint = g2.getPaint();
+            if (isGradient(paint)) {
+                if (begin(g2, g2.getCompositeAlpha())) {
+                    fillGradient(shape, paint);
+                    end();
+                }
+                return;
+            }
+            Color c = getColor(g2);
+            if (!begin(g2, g2.getCompositeAlpha() * c.getAlpha() / 255f)) {
+                return;
+            }
+            StringBuilder b = new StringBuilder(32);
+            appendColor(b, c);
+            String color = b.toString();
+            if (!color.equals(this.fillColor)) {
+                this.content.append(color).append(" rg\n");
+                this.fillColor = color;
+            }
+            int length = this.content.length();
+            boolean evenOdd = appendPath(shape);
+            if (this.content.length() > length) {
+                this.content.append(evenOdd ? "f*\n" : "f\n");
+            }
+            end();
+        }
+
+        /**
+         * Draws the outline of a shape.
+         *
+         * @param g2  the graphics.
+         * @param shape  the shape.
+         */
+        void stroke(VectorGraphics2D g2, Shape shape) {
+            Paint paint = g2.getPaint();
+            BasicStroke bs = (BasicStroke) g2.getStroke();
+            if (isGradient(paint)) {
+                fill(g2, bs.createStrokedShape(shape));
+                return;
+            }
+            Color c = getColor(g2);
+            if (!begin(g2, g2.getCompositeAlpha() * c.getAlpha() / 255f)) {
+                return;
+            }
+            StringBuilder b = new StringBuilder(32);
+            appendColor(b, c);
+            String color = b.toString();
+            if (!color.equals(this.strokeColor)) {
+                this.content.append(color).append(" RG\n");
+                this.strokeColor = color;
+            }
+            if (!bs.equals(this.stroke)) {
+                appendStroke(bs);
+                this.stroke = bs;
+            }
+            int length = this.content.length();
+            appendPath(shape);
+            if (this.content.length() > length) {
+                this.content.append("S\n");
+            }
+            end();
+        }
+
+        /**
+         * Appends the operators that set the line width, cap, join, miter
+         * limit and dash pattern.
+         *
+         * @param bs  the stroke.
+         */
+        private void appendStroke(BasicStroke bs) {
+            StringBuilder b = this.content;
+            appendNumber(b, bs.getLineWidth(), DECIMALS, true);
+            b.append(" w ").append(bs.getEndCap()).append(" J ");
+            // the Java2D join constants are miter 0, round 1, bevel 2 as in
+            // PDF, and so are the cap constants butt 0, round 1, square 2
+            b.append(bs.getLineJoin()).append(" j ");
+            appendNumber(b, Math.max(1.0f, bs.getMiterLimit()), DECIMALS,
+                    true);
+            b.append(" M [");
+            float[] dashes = bs.getDashArray();
+            if (dashes != null) {
+                for (int i = 0; i < dashes.length; i++) {
+                    if (i > 0) {
+                        b.append(' ');
+                    }
+                    appendNumber(b, dashes[i], DECIMALS, true);
+                }
+            }
+            b.append("] ");
+            appendNumber(b, dashes == null ? 0.0 : bs.getDashPhase(),
+                    DECIMALS, true);
+            b.append(" d\n");
+        }
+
+        /**
+         * Returns {@code true} if a paint is a supported gradient.
+         *
+         * @param paint  the paint.
+         *
+         * @return A boolean.
+         */
+        private static boolean isGradient(Paint paint) {
+            return paint instanceof GradientPaint
+                    || paint instanceof LinearGradientPaint
+                    || paint instanceof RadialGradientPaint;
+        }
+
+        /**
+         * Fills a shape with a gradient.
+         *
+         * @param shape  the shape.
+         * @param paint  the gradient paint.
+         */
+        private void fillGradient(Shape shape, Paint paint) {
+            StringBuilder b = new StringBuilder(256);
+            AffineTransform t = null;
+            if (paint instanceof GradientPaint) {
+                GradientPaint gp = (GradientPaint) paint;
+                b.append("<< /ShadingType 2 /ColorSpace /DeviceRGB ");
+                b.append("/Coords [");
+                appendNumbers(b, gp.getPoint1().getX(), gp.getPoint1().getY(),
+                        gp.getPoint2().getX(), gp.getPoint2().getY());
+                b.append("] /Function ");
+                appendFunction(b, gp.getColor1(), gp.getColor2());
+            }
+            else if (paint instanceof LinearGradientPaint) {
+                LinearGradientPaint lgp = (LinearGradientPaint) paint;
+                b.append("<< /ShadingType 2 /ColorSpace /DeviceRGB ");
+                b.append("/Coords [");
+                appendNumbers(b, lgp.getStartPoint().getX(),
+                        lgp.getStartPoint().getY(), lgp.getEndPoint().getX(),
+                        lgp.getEndPoint().getY());
+                b.append("] /Function ");
+                appendFunction(b, lgp);
+                t = lgp.getTransform();
+            }
+            else {
+                RadialGradientPaint rgp = (RadialGradientPaint) paint;
+                b.append("<< /ShadingType 3 /ColorSpace /DeviceRGB ");
+                b.append("/Coords [");
+                appendNumbers(b, rgp.getFocusPoint().getX(),
+                        rgp.getFocusPoint().getY(), 0.0,
+                        rgp.getCenterPoint().getX());
+                b.append(' ');
+                appendNumbers(b, rgp.getCenterPoint().getY(),
+                        rgp.getRadius());
+                b.append("] /Function ");
+                appendFunction(b, rgp);
+                t = rgp.getTransform();
+            }
+            b.append(" /Extend [true true] >>");
+            String key = b.toString();
+            String shading = this.shadings.get(key);
+            if (shading == null) {
+                int n = addObject(key, null);
+                shading = "/Sh" + n + " " + n + " 0 R";
+                this.shadings.put(key, shading);
+            }
+            this.content.append("q\n");
+            int length = this.content.length();
+            boolean evenOdd = appendPath(shape);
+            if (this.content.length() == length) {
+                this.content.setLength(length - 2);
+                return;
+            }
+            this.content.append(evenOdd ? "W* n\n" : "W n\n");
+            if (t != null && !t.isIdentity()) {
+                appendMatrix(t);
+                this.content.append(" cm\n");
+            }
+            this.content.append(name(shading)).append(" sh\nQ\n");
+        }
+
+        /**
+         * Appends numbers separated by spaces.
+         *
+         * @param b  the string builder.
+         * @param values  the values.
+         */
+        private static void appendNumbers(StringBuilder b, double... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    b.append(' ');
+                }
+                appendNumber(b, values[i], DECIMALS, true);
+            }
+        }
+
+        /**
+         * Appends an exponential interpolation function between two colors.
+         *
+         * @param b  the string builder.
+         * @param c0  the first color.
+         * @param c1  the second color.
+         */
+        private static void appendFunction(StringBuilder b, Color c0,
+                Color c1) {
+            b.append("<< /FunctionType 2 /Domain [0 1] /C0 [");
+            appendColor(b, c0);
+            b.append("] /C1 [");
+            appendColor(b, c1);
+            b.append("] /N 1 >>");
+        }
+
+        /**
+         * Appends a function for the colors of a multiple gradient paint
+         * (a stitching function if there are more than two colors).
+         *
+         * @param b  the string builder.
+         * @param paint  the paint.
+         */
+        private static void appendFunction(StringBuilder b,
+                MultipleGradientPaint paint) {
+            float[] fractions = paint.getFractions();
+            Color[] colors = paint.getColors();
+            if (fractions.length == 2 && fractions[0] == 0.0f
+                    && fractions[1] == 1.0f) {
+                appendFunction(b, colors[0], colors[1]);
+                return;
+            }
+            // the stitching function must cover the whole domain
+            List<Float> f = new ArrayList<Float>();
+            List<Color> c = new ArrayList<Color>();
+            if (fractions[0] > 0.0f) {
+                f.add(Float.valueOf(0.0f));
+                c.add(colors[0]);
+            }
+            for (int i = 0; i < fractions.length; i++) {
+                f.add(Float.valueOf(fractions[i]));
+                c.add(colors[i]);
+            }
+            if (fractions[fractions.length - 1] < 1.0f) {
+                f.add(Float.valueOf(1.0f));
+                c.add(colors[colors.length - 1]);
+            }
+            b.append("<< /FunctionType 3 /Domain [0 1] /Functions [");
+            for (int i = 0; i < f.size() - 1; i++) {
+                appendFunction(b, c.get(i), c.get(i + 1));
+            }
+            b.append("] /Bounds [");
+            for (int i = 1; i < f.size() - 1; i++) {
+                if (i > 1) {
+                    b.append(' ');
+                }
+                appendNumber(b, f.get(i).doubleValue(), 4, true);
+            }
+            b.append("] /Encode [");
+            for (int i = 0; i < f.size() - 1; i++) {
+                b.append(i > 0 ? " 0 1" : "0 1");
+            }
+            b.append("] >>");
+        }
+
+        /**
+         * Appends the operands for a transform ("a b c d e f").
+         *
+         * @param t  the transform.
+         */
+        private void appendMatrix(AffineTransform t) {
+            StringBuilder b = this.content;
+            appendNumber(b, t.getScaleX(), 6, true);
+            b.append(' ');
+            appendNumber(b, t.getShearY(), 6, true);
+            b.append(' ');
+            appendNumber(b, t.getShearX(), 6, true);
+            b.append(' ');
+            appendNumber(b, t.getScaleY(), 6, true);
+            b.append(' ');
+            appendNumber(b, t.getTranslateX(), DECIMALS, true);
+            b.append(' ');
+            appendNumber(b, t.getTranslateY(), DECIMALS, true);
+        }
+
+        /**
+         * Appends the path construction operators for a shape to the
+         * content.
+         *
+         * @param shape  the shape.
+         *
+         * @return {@code true} if the shape uses the even-odd winding rule.
+         */
+        private boolean appendPath(Shape shape) {
+            StringBuilder b = this.content;
+            PathIterator pi = shape.getPathIterator(null);
+            double[] c = this.coords;
+            double cx = 0.0;
+            double cy = 0.0;
+            while (!pi.isDone()) {
+                switch (pi.currentSegment(c)) {
+                    case PathIterator.SEG_MOVETO:
+                        appendNumbers(b, c[0], c[1]);
+                        b.append(" m\n");
+                        cx = c[0];
+                        cy = c[1];
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        appendNumbers(b, c[0], c[1]);
+                        b.append(" l\n");
+                        cx = c[0];
+                        cy = c[1];
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        // PDF has cubic curves only
+                        appendNumbers(b, cx + 2.0 * (c[0] - cx) / 3.0,
+                                cy + 2.0 * (c[1] - cy) / 3.0,
+                                c[2] + 2.0 * (c[0] - c[2]) / 3.0,
+                                c[3] + 2.0 * (c[1] - c[3]) / 3.0, c[2], c[3]);
+                        b.append(" c\n");
+                        cx = c[2];
+                        cy = c[3];
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        appendNumbers(b, c[0], c[1], c[2], c[3], c[4], c[5]);
+                        b.append(" c\n");
+                        cx = c[4];
+                        cy = c[5];
+                        break;
+                    default:
+                        b.append("h\n");
+                }
+                pi.next();
+            }
+            return pi.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        }
+
+        /**
+         * Draws an image.
+         *
+         * @param g2  the graphics.
+         * @param image  the image.
+         * @param xform  the transform from image space to user space.
+         */
+        void drawImage(VectorGraphics2D g2, BufferedImage image,
+                AffineTransform xform) {
+            if (!begin(g2, g2.getCompositeAlpha())) {
+                return;
+            }
+            int w = image.getWidth();
+            int h = image.getHeight();
+            boolean hasAlpha = image.getColorModel().hasAlpha();
+            ByteArrayOutputStream rgb = new ByteArrayOutputStream();
+            ByteArrayOutputStream alpha = new ByteArrayOutputStream();
+            try {
+                DeflaterOutputStream rgbOut = new DeflaterOutputStream(rgb);
+                DeflaterOutputStream alphaOut = new DeflaterOutputStream(
+                        alpha);
+                int[] row = new int[w];
+                byte[] rgbRow = new byte[w * 3];
+                byte[] alphaRow = new byte[w];
+                for (int y = 0; y < h; y++) {
+                    image.getRGB(0, y, w, 1, row, 0, w);
+                    for (int x = 0; x < w; x++) {
+                        int argb = row[x];
+                        rgbRow[x * 3] = (byte) (argb >> 16);
+                        rgbRow[x * 3 + 1] = (byte) (argb >> 8);
+                        rgbRow[x * 3 + 2] = (byte) argb;
+                        alphaRow[x] = (byte) (argb >>> 24);
+                    }
+                    rgbOut.write(rgbRow);
+                    if (hasAlpha) {
+                        alphaOut.write(alphaRow);
+                    }
+                }
+                rgbOut.finish();
+                alphaOut.finish();
+            }
+            catch (IOException e) {
+                // not possible for a byte array output stream
+                throw new IllegalStateException(e);
+            }
+            String common = "<< /Type /XObject /Subtype /Image /Width " + w
+                    + " /Height " + h + " /BitsPerComponent 8 "
+                    + "/Filter /FlateDecode";
+            String mask = "";
+            if (hasAlpha) {
+                byte[] data = alpha.toByteArray();
+                int n = addObject(common + " /ColorSpace /DeviceGray "
+                        + "/Length " + data.length + " >>", data);
+                mask = " /SMask " + n + " 0 R";
+            }
+            byte[] data = rgb.toByteArray();
+            int n = addObject(common + " /ColorSpace /DeviceRGB /Length "
+                    + data.length + mask + " >>", data);
+            this.images.add("/Im" + n + " " + n + " 0 R");
+            this.content.append("q\n");
+            if (!xform.isIdentity()) {
+                appendMatrix(xform);
+                this.content.append(" cm\n");
+            }
+            // image space is the unit square with the first row at the top
+            this.content.append(w).append(" 0 0 -").append(h).append(" 0 ")
+                    .append(h).append(" cm\n/Im").append(n).append(" Do\nQ\n");
+            end();
+        }
+
+    }
+
+    /**
+     * An object that is written when the document is finished.
+     */
+    private static final class PendingObject {
+
+        /** The object number. */
+        private final int number;
+
+        /** The object dictionary. */
+        private final String dictionary;
+
+        /** The stream data (possibly {@code null}). */
+        private final byte[] stream;
+
+        /**
+         * Creates a new pending object.
+         *
+         * @param number  the object number.
+         * @param dictionary  the dictionary.
+         * @param stream  the stream data ({@code null} permitted).
+         */
+        PendingObject(int number, String dictionary, byte[] stream) {
+            this.number = number;
+            this.dictionary = dictionary;
+            this.stream = stream;
+        }
+
+    }
+
+}
@@ -0,0 +1,1358 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jfree.chart.encoders.PNGEncoder;
+import org.jfree.chart.util.Args;
+
+/**
+ * A {@code Graphics2D} that writes SVG output to a {@code Writer} while
+ * drawing takes place, so that the memory used does not depend on the
+ * number of items drawn.  For example:
+ * <pre>
+ * Writer writer = new OutputStreamWriter(out, "UTF-8");
+ * SVGGraphics2D g2 = new SVGGraphics2D(writer, 600, 400);
+ * chart.draw(g2, new Rectangle(600, 400));
+ * g2.finish();
+ * </pre>
+ * The output is kept small by:
+ * <ul>
+ * <li>writing consecutive shapes that have the same paint, stroke,
+ * transform and clip inside one group that carries those attributes, so
+ * that each shape is written as a bare {@code path} element;</li>
+ * <li>writing path data with relative coordinates rounded to a fixed number
+ * of decimal places (see {@link #setDecimalPlaces(int)});</li>
+ * <li>writing a shape that is repeated at different positions (such as a
+ * series marker) once as a definition, and each repetition as a
+ * {@code use} element that refers to it;</li>
+ * <li>writing each distinct clip region and gradient once as a definition.
+ * </li>
+ * </ul>
+ * Text is written as {@code text} elements (see
+ * {@link #setTextAsShapes(boolean)}), images are written as embedded PNG
+ * images.  {@code GradientPaint}, {@code LinearGradientPaint} and
+ * {@code RadialGradientPaint} are supported, other paints are replaced by
+ * the current color.  The XML declaration is not written, so that the
+ * writer can use any encoding.
+ *
+ * @since 1.6.0
+ */
+public class SVGGraphics2D extends VectorGraphics2D {
+
+    /** The output (shared with the graphics created from this instance). */
+    private final Output output;
+
+    /**
+     * Creates a new instance that writes to the specified writer.  The
+     * {@code svg} element start tag is written immediately.
+     *
+     * @param writer  the writer ({@code null} not permitted).
+     * @param width  the width of the drawing area.
+     * @param height  the height of the drawing area.
+     */
+    public SVGGraphics2D(Writer writer, int width, int height) {
+        super(width, height);
+        Args.nullNotPermitted(writer, "writer");
+        this.output = new Output(writer);
+        this.output.start(width, height);
+    }
+
+    /**
+     * Creates a new instance that writes to the same output as another
+     * instance.
+     *
+     * @param parent  the parent.
+     */
+    private SVGGraphics2D(SVGGraphics2D parent) {
+        super(parent);
+        this.output = parent.output;
+    }
+
+    /**
+     * Returns the number of decimal places used for coordinates.  The
+     * default is 2.
+     *
+     * @return The number of decimal places.
+     */
+    public int getDecimalPlaces() {
+        return this.output.decimals;
+    }
+
+    /**
+     * Sets the number of decimal places used for coordinates.
+     *
+     * @param decimals  the number of decimal places (0 to 6).
+     */
+    public void setDecimalPlaces(int decimals) {
+        if (decimals < 0 || decimals > 6) {
+            throw new IllegalArgumentException(
+                    "Requires 'decimals' in the range 0 to 6.");
+        }
+        this.output.decimals = decimals;
+    }
+
+    /**
+     * Returns the flag that controls whether text is written as the outlines
+     * of the glyphs rather than as {@code text} elements.  The default is
+     * {@code false}.
+     *
+     * @return A boolean.
+     */
+    public boolean isTextAsShapes() {
+        return this.output.textAsShapes;
+    }
+
+    /**
+     * Sets the flag that controls whether text is written as the outlines of
+     * the glyphs rather than as {@code text} elements.  Outlines look the
+     * same in every viewer, but the output is larger and the text can no
+     * longer be selected.  Text in a transformed font is always written as
+     * outlines.
+     *
+     * @param textAsShapes  the new flag value.
+     */
+    public void setTextAsShapes(boolean textAsShapes) {
+        this.output.textAsShapes = textAsShapes;
+    }
+
+    @Override
+    public Graphics create() {
+        return new SVGGraphics2D(this);
+    }
+
+    /**
+     * Closes any open groups, writes the {@code svg} element end tag and
+     * flushes the writer (the writer is not closed).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Override
+    public void finish() throws IOException {
+        this.output.finish();
+    }
+
+    @Override
+    void fillShape(Shape shape) {
+        if (this.output.begin(this, false)) {
+            this.output.writeShape(shape, getPaint() instanceof Color, true);
+        }
+    }
+
+    @Override
+    void strokeShape(Shape shape) {
+        if (this.output.begin(this, true)) {
+            this.output.writeShape(shape, getPaint() instanceof Color, false);
+        }
+    }
+
+    @Override
+    void drawText(String s, float x, float y) {
+        Font font = getFont();
+        if (this.output.textAsShapes || font.isTransformed()
+                || font.hasLayoutAttributes()) {
+            super.drawText(s, x, y);
+            return;
+        }
+        if (this.output.begin(this, false)) {
+            this.output.writeText(s, x, y, font);
+        }
+    }
+
+    @Override
+    void drawBufferedImage(BufferedImage image, AffineTransform xform) {
+        if (this.output.begin(this, false)) {
+            boolean nearest = getRenderingHint(RenderingHints.KEY_INTERPOLATION)
+                    == RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+            this.output.writeImage(image, xform, getCompositeAlpha(),
+                    nearest);
+        }
+    }
+
+    /**
+     * A map that discards the least recently used entry when it is full.
+     *
+     * @param <K>  the key type.
+     * @param <V>  the value type.
+     */
+    private static final class LRUMap<K, V> extends LinkedHashMap<K, V> {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 538366013002332082L;
+
+        /** The maximum number of entries. */
+        private final int capacity;
+
+        /**
+         * Creates a new map.
+         *
+         * @param capacity  the maximum number of entries.
+         */
+        LRUMap(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > this.capacity;
+        }
+
+    }
+
+    /**
+     * The output for an SVG document, shared by all the graphics that draw
+     * to it.
+     */
+    private static final class Output {
+
+        /** The maximum number of segments in a shape that can be shared. */
+        private static final int MAX_SHARED_SEGMENTS = 64;
+
+        /**
+         * The minimum length of the path data for a shape that is shared
+         * (shorter paths are smaller written in full).
+         */
+        private static final int MIN_SHARED_LENGTH = 32;
+
+        /** The number of decimal places for transform coefficients. */
+        private static final int MATRIX_DECIMALS = 6;
+
+        /** The writer. */
+        private final Writer writer;
+
+        /** The first exception thrown by the writer. */
+        private IOException failure;
+
+        /** Has the document been completed? */
+        private boolean finished;
+
+        /** The number of decimal places for coordinates. */
+        private int decimals;
+
+        /** Write text as shapes? */
+        private boolean textAsShapes;
+
+        /** The next number to use for an id. */
+        private int nextId;
+
+        /** The clip (device space) used by the last drawing operation. */
+        private Shape clip;
+
+        /** The id of the clip path for the open clip group (or null). */
+        private String clipId;
+
+        /** The attributes of the current style (or null). */
+        private String style;
+
+        /** Has a group been written for the current style? */
+        private boolean styleOpen;
+
+        /**
+         * The start of the first element with the current style, which is
+         * held back until it is known whether a group is worthwhile (or
+         * null).
+         */
+        private String pendingStart;
+
+        /** The end of the element that is held back. */
+        private String pendingEnd;
+
+        /** The paint used to calculate {@code style}. */
+        private Paint stylePaint;
+
+        /** The stroke used to calculate {@code style} (or null). */
+        private BasicStroke styleStroke;
+
+        /** The transform used to calculate {@code style}. */
+        private AffineTransform styleTransform;
+
+        /** The composite alpha used to calculate {@code style}. */
+        private float styleAlpha;
+
+        /** The ids of clip paths, by path data. */
+        private final Map<String, String> clipIds;
+
+        /** The ids of gradients, by description. */
+        private final Map<String, String> gradientIds;
+
+        /**
+         * The ids of shared shapes (or "" for a shape seen once), by path
+         * data.
+         */
+        private final Map<String, String> shapeIds;
+
+        /** A buffer for building elements. */
+        private final StringBuilder sb;
+
+        /** A buffer for path data after the first point. */
+        private final StringBuilder rest;
+
+        /** The coordinates for path segments. */
+        private final double[] coords;
+
+        /** The first point of the last path (in units). */
+        private long firstX;
+
+        /** The first point of the last path (in units). */
+        private long firstY;
+
+        /** The number of segments in the last path. */
+        private int segmentCount;
+
+        /** The last command written to the path data. */
+        private char lastCommand;
+
+        /** Did the last number written to the path data have a '.'? */
+        private boolean lastHadPoint;
+
+        /**
+         * Creates a new output.
+         *
+         * @param writer  the writer.
+         */
+        Output(Writer writer) {
+            this.writer = new BufferedWriter(writer);
+            this.decimals = 2;
+            this.nextId = 1;
+            this.clipIds = new LRUMap<String, String>(256);
+            this.gradientIds = new LRUMap<String, String>(256);
+            this.shapeIds = new LRUMap<String, String>(1024);
+            this.sb = new StringBuilder(256);
+            this.rest = new StringBuilder(256);
+            this.coords = new double[6];
+        }
+
+        /**
+         * Writes text to the writer, recording the first exception.
+         *
+         * @param text  the text.
+         */
+        void write(CharSequence text) {
+            if (this.failure != null) {
+                return;
+            }
+            try {
+                this.writer.append(text);
+            }
+            catch (IOException e) {
+                this.failure = e;
+            }
+        }
+
+        /**
+         * Writes the start tag of the document.
+         *
+         * @param width  the width.
+         * @param height  the height.
+         */
+        void start(int width, int height) {
+            write("<svg xmlns=\"http://www.w3.org/2000/svg\" "
+                    + "xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\""
+                    + width + "\" height=\"" + height + "\" viewBox=\"0 0 "
+                    + width + " " + height + "\">\n");
+        }
+
+        /**
+         * Completes the document.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void finish() throws IOException {
+            if (!this.finished) {
+                closeStyle();
+                closeClip();
+                write("</svg>\n");
+                this.finished = true;
+                if (this.failure == null) {
+                    try {
+                        this.writer.flush();
+                    }
+                    catch (IOException e) {
+                        this.failure = e;
+                    }
+                }
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+        }
+
+        /**
+         * Prepares to write an element for a graphics, opening the clip and
+         * style groups it needs.
+         *
+         * @param g2  the graphics.
+         * @param stroke  is the element stroked (rather than filled)?
+         *
+         * @return {@code false} if nothing can be written.
+         */
+        boolean begin(VectorGraphics2D g2, boolean stroke) {
+            if (this.finished || this.failure != null) {
+                return false;
+            }
+            setClip(g2.getDeviceClip());
+            setStyle(g2, stroke);
+            return true;
+        }
+
+        /**
+         * Ends the current style, closing its group or writing the element
+         * that was held back with the style attributes inline.
+         */
+        private void closeStyle() {
+            if (this.pendingStart != null) {
+                write(this.pendingStart + this.style + this.pendingEnd);
+                this.pendingStart = null;
+                this.pendingEnd = null;
+            }
+            else if (this.styleOpen) {
+                write("</g>\n");
+            }
+            this.styleOpen = false;
+            this.style = null;
+        }
+
+        /**
+         * Writes the group for the current style, if it has not been written
+         * already.
+         */
+        private void openStyle() {
+            if (this.styleOpen) {
+                return;
+            }
+            write("<g" + this.style + ">\n");
+            this.styleOpen = true;
+            if (this.pendingStart != null) {
+                write(this.pendingStart + this.pendingEnd);
+                this.pendingStart = null;
+                this.pendingEnd = null;
+            }
+        }
+
+        /**
+         * Writes an element with the current style.  A group is written for
+         * the style when the second element with the style is written, a
+         * style that is used for one element only is written as attributes
+         * of that element.
+         *
+         * @param start  the start of the element ("&lt;path" for example).
+         * @param end  the rest of the element (with a leading space).
+         */
+        private void writeElement(String start, CharSequence end) {
+            if (!this.styleOpen && this.pendingStart == null) {
+                this.pendingStart = start;
+                this.pendingEnd = end.toString();
+                return;
+            }
+            openStyle();
+            write(start);
+            write(end);
+        }
+
+        /**
+         * Closes the open clip group, if there is one.
+         */
+        private void closeClip() {
+            if (this.clipId != null) {
+                write("</g>\n");
+                this.clipId = null;
+            }
+        }
+
+        /**
+         * Makes sure that the open clip group is for the specified clip.
+         *
+         * @param shape  the clip in device space ({@code null} permitted).
+         */
+        private void setClip(Shape shape) {
+            if (shape == this.clip) {
+                return;
+            }
+            this.clip = shape;
+            String id = null;
+            if (shape != null) {
+                boolean evenOdd = buildPath(shape);
+                this.sb.setLength(0);
+                appendHead();
+                this.sb.append(this.rest);
+                String d = this.sb.toString();
+                String key = evenOdd ? "e" + d : d;
+                id = this.clipIds.get(key);
+                if (id == null) {
+                    id = "c" + this.nextId++;
+                    this.clipIds.put(key, id);
+                    write("<defs><clipPath id=\"" + id + "\"><path d=\"" + d
+                            + (evenOdd ? "\" clip-rule=\"evenodd" : "")
+                            + "\"/></clipPath></defs>\n");
+                }
+            }
+            if (id == null ? this.clipId == null : id.equals(this.clipId)) {
+                return;
+            }
+            closeStyle();
+            closeClip();
+            if (id != null) {
+                write("<g clip-path=\"url(#" + id + ")\">\n");
+                this.clipId = id;
+            }
+        }
+
+        /**
+         * Makes sure that the open style group has the attributes for the
+         * current state of a graphics.
+         *
+         * @param g2  the graphics.
+         * @param stroking  is the element stroked (rather than filled)?
+         */
+        private void setStyle(VectorGraphics2D g2, boolean stroking) {
+            Paint paint = g2.getPaint();
+            BasicStroke stroke = stroking ? (BasicStroke) g2.getStroke()
+                    : null;
+            AffineTransform t = g2.getCurrentTransform();
+            float alpha = g2.getCompositeAlpha();
+            if (this.style != null && paint == this.stylePaint
+                    && stroke == this.styleStroke && alpha == this.styleAlpha
+                    && t.equals(this.styleTransform)) {
+                return;
+            }
+            String attributes = createStyle(g2, paint, stroke, t, alpha);
+            this.stylePaint = paint;
+            this.styleStroke = stroke;
+            this.styleTransform = new AffineTransform(t);
+            this.styleAlpha = alpha;
+            if (attributes.equals(this.style)) {
+                return;
+            }
+            closeStyle();
+            this.style = attributes;
+        }
+
+        /**
+         * Creates the attributes for a style group.
+         *
+         * @param g2  the graphics.
+         * @param paint  the paint.
+         * @param stroke  the stroke ({@code null} for a fill).
+         * @param t  the transform.
+         * @param alpha  the composite alpha.
+         *
+         * @return The attributes (each preceded by a space).
+         */
+        private String createStyle(VectorGraphics2D g2, Paint paint,
+                BasicStroke stroke, AffineTransform t, float alpha) {
+            StringBuilder b = new StringBuilder(128);
+            String target = stroke == null ? "fill" : "stroke";
+            if (stroke != null) {
+                b.append(" fill=\"none\"");
+            }
+            Color c = paint instanceof Color ? (Color) paint : null;
+            String gradient = getGradientId(paint);
+            if (gradient == null && c == null) {
+                c = g2.getColor();
+            }
+            b.append(' ').append(target).append("=\"");
+            if (gradient != null) {
+                b.append("url(#").append(gradient).append(')');
+            }
+            else {
+                appendColor(b, c);
+                alpha = alpha * c.getAlpha() / 255f;
+            }
+            b.append('"');
+            if (alpha < 1.0f) {
+                b.append(' ').append(target).append("-opacity=\"");
+                appendNumber(b, alpha, 3, false);
+                b.append('"');
+            }
+            if (stroke != null) {
+                appendStroke(b, stroke);
+            }
+            if (!t.isIdentity()) {
+                b.append(" transform=\"");
+                if (t.getType() == AffineTransform.TYPE_TRANSLATION) {
+                    b.append("translate(");
+                    appendNumber(b, t.getTranslateX(), this.decimals, false);
+                    b.append(' ');
+                    appendNumber(b, t.getTranslateY(), this.decimals, false);
+                }
+                else {
+                    appendMatrix(b, t);
+                }
+                b.append(")\"");
+            }
+            return b.toString();
+        }
+
+        /**
+         * Appends the stroke attributes for a stroke.
+         *
+         * @param b  the string builder.
+         * @param stroke  the stroke.
+         */
+        private void appendStroke(StringBuilder b, BasicStroke stroke) {
+            float width = stroke.getLineWidth();
+            if (width == 0.0f) {
+                // the thinnest line that can be drawn
+                b.append(" stroke-width=\"1\" "
+                        + "vector-effect=\"non-scaling-stroke\"");
+            }
+            else if (width != 1.0f) {
+                b.append(" stroke-width=\"");
+                appendNumber(b, width, 3, false);
+                b.append('"');
+            }
+            if (stroke.getEndCap() == BasicStroke.CAP_ROUND) {
+                b.append(" stroke-linecap=\"round\"");
+            }
+            else if (stroke.getEndCap() == BasicStroke.CAP_SQUARE) {
+                b.append(" stroke-linecap=\"square\"");
+            }
+            if (stroke.getLineJoin() == BasicStroke.JOIN_ROUND) {
+                b.append(" stroke-linejoin=\"round\"");
+            }
+            else if (stroke.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+                b.append(" stroke-linejoin=\"bevel\"");
+            }
+            else if (stroke.getMiterLimit() != 4.0f) {
+                b.append(" stroke-miterlimit=\"");
+                appendNumber(b, Math.max(1.0f, stroke.getMiterLimit()), 3,
+                        false);
+                b.append('"');
+            }
+            float[] dashes = stroke.getDashArray();
+            if (dashes != null && dashes.length > 0) {
+                b.append(" stroke-dasharray=\"");
+                for (int i = 0; i < dashes.length; i++) {
+                    if (i > 0) {
+                        b.append(',');
+                    }
+                    appendNumber(b, dashes[i], 3, false);
+                }
+                b.append('"');
+                if (stroke.getDashPhase() != 0.0f) {
+                    b.append(" stroke-dashoffset=\"");
+                    appendNumber(b, stroke.getDashPhase(), 3, false);
+                    b.append('"');
+                }
+            }
+        }
+
+        /**
+         * Appends "matrix(a b c d e f" for a transform.
+         *
+         * @param b  the string builder.
+         * @param t  the transform.
+         */
+        private void appendMatrix(StringBuilder b, AffineTransform t) {
+            b.append("matrix(");
+            appendNumber(b, t.getScaleX(), MATRIX_DECIMALS, false);
+            b.append(' ');
+            appendNumber(b, t.getShearY(), MATRIX_DECIMALS, false);
+            b.append(' ');
+            appendNumber(b, t.getShearX(), MATRIX_DECIMALS, false);
+            b.append(' ');
+            appendNumber(b, t.getScaleY(), MATRIX_DECIMALS, false);
+            b.append(' ');
+            appendNumber(b, t.getTranslateX(), this.decimals, false);
+            b.append(' ');
+            appendNumber(b, t.getTranslateY(), this.decimals, false);
+        }
+
+        /**
+         * Appends a color in the form #rrggbb (or #rgb when possible).
+         *
+         * @param b  the string builder.
+         * @param c  the color.
+         */
+        private static void appendColor(StringBuilder b, Color c) {
+            int rgb = c.getRGB() & 0xFFFFFF;
+            b.append('#');
+            if (((rgb >> 4) & 0x0F0F0F) == (rgb & 0x0F0F0F)) {
+                b.append(Integer.toHexString((rgb >> 16) & 0xF));
+                b.append(Integer.toHexString((rgb >> 8) & 0xF));
+                b.append(Integer.toHexString(rgb & 0xF));
+            }
+            else {
+                String hex = Integer.toHexString(rgb | 0x1000000);
+                b.append(hex, 1, 7);
+            }
+        }
+
+        /**
+         * Returns the id of the gradient definition for a paint, writing the
+         * definition if it has not been written yet.
+         *
+         * @param paint  the paint.
+         *
+         * @return The id, or {@code null} if the paint is not a supported
+         *     gradient.
+         */
+        private String getGradientId(Paint paint) {
+            StringBuilder b = new StringBuilder(256);
+            if (paint instanceof GradientPaint) {
+                GradientPaint gp = (GradientPaint) paint;
+                b.append("<linearGradient id=\"%\" ");
+                b.append("gradientUnits=\"userSpaceOnUse\"");
+                appendPoint(b, "x1", "y1", gp.getPoint1());
+                appendPoint(b, "x2", "y2", gp.getPoint2());
+                if (gp.isCyclic()) {
+                    b.append(" spreadMethod=\"reflect\"");
+                }
+                b.append('>');
+                appendStop(b, 0.0f, gp.getColor1());
+                appendStop(b, 1.0f, gp.getColor2());
+                b.append("</linearGradient>");
+            }
+            else if (paint instanceof LinearGradientPaint) {
+                LinearGradientPaint lgp = (LinearGradientPaint) paint;
+                b.append("<linearGradient id=\"%\" ");
+                b.append("gradientUnits=\"userSpaceOnUse\"");
+                appendPoint(b, "x1", "y1", lgp.getStartPoint());
+                appendPoint(b, "x2", "y2", lgp.getEndPoint());
+                appendGradient(b, lgp);
+                b.append("</linearGradient>");
+            }
+            else if (paint instanceof RadialGradientPaint) {
+                RadialGradientPaint rgp = (RadialGradientPaint) paint;
+                b.append("<radialGradient id=\"%\" ");
+                b.append("gradientUnits=\"userSpaceOnUse\"");
+                appendPoint(b, "cx", "cy", rgp.getCenterPoint());
+                b.append(" r=\"");
+                appendNumber(b, rgp.getRadius(), this.decimals, false);
+                b.append('"');
+                appendPoint(b, "fx", "fy", rgp.getFocusPoint());
+                appendGradient(b, rgp);
+                b.append("</radialGradient>");
+            }
+            else {
+                return null;
+            }
+            String key = b.toString();
+            String id = this.gradientIds.get(key);
+            if (id == null) {
+                id = "g" + this.nextId++;
+                this.gradientIds.put(key, id);
+                write("<defs>" + key.replace("id=\"%\"", "id=\"" + id + "\"")
+                        + "</defs>\n");
+            }
+            return id;
+        }
+
+        /**
+         * Appends the spread method, transform and stops for a multiple
+         * gradient paint, and closes the start tag.
+         *
+         * @param b  the string builder.
+         * @param paint  the paint.
+         */
+        private void appendGradient(StringBuilder b,
+                MultipleGradientPaint paint) {
+            if (paint.getCycleMethod()
+                    == MultipleGradientPaint.CycleMethod.REFLECT) {
+                b.append(" spreadMethod=\"reflect\"");
+            }
+            else if (paint.getCycleMethod()
+                    == MultipleGradientPaint.CycleMethod.REPEAT) {
+                b.append(" spreadMethod=\"repeat\"");
+            }
+            if (paint.getColorSpace()
+                    == MultipleGradientPaint.ColorSpaceType.LINEAR_RGB) {
+                b.append(" color-interpolation=\"linearRGB\"");
+            }
+            AffineTransform t = paint.getTransform();
+            if (!t.isIdentity()) {
+                b.append(" gradientTransform=\"");
+                appendMatrix(b, t);
+                b.append(")\"");
+            }
+            b.append('>');
+            float[] fractions = paint.getFractions();
+            Color[] colors = paint.getColors();
+            for (int i = 0; i < fractions.length; i++) {
+                appendStop(b, fractions[i], colors[i]);
+            }
+        }
+
+        /**
+         * Appends two attributes for a point.
+         *
+         * @param b  the string builder.
+         * @param xName  the name of the x attribute.
+         * @param yName  the name of the y attribute.
+         * @param p  the point.
+         */
+        private void appendPoint(StringBuilder b, String xName, String yName,
+                Point2D p) {
+            b.append(' ').append(xName).append("=\"");
+            appendNumber(b, p.getX(), this.decimals, false);
+            b.append("\" ").append(yName).append("=\"");
+            appendNumber(b, p.getY(), this.decimals, false);
+            b.append('"');
+        }
+
+        /**
+         * Appends a gradient stop.
+         *
+         * @param b  the string builder.
+         * @param offset  the offset.
+         * @param c  the color.
+         */
+        private static void appendStop(StringBuilder b, float offset,
+                Color c) {
+            b.append("<stop offset=\"");
+            appendNumber(b, offset, 4, false);
+            b.append("\" stop-color=\"");
+            appendColor(b, c);
+            b.append('"');
+            if (c.getAlpha() < 255) {
+                b.append(" stop-opacity=\"");
+                appendNumber(b, c.getAlpha() / 255.0, 3, false);
+                b.append('"');
+            }
+            b.append("/>");
+        }
+
+        /**
+         * Builds the path data for a shape: the first point is stored in
+         * {@code firstX} and {@code firstY}, the rest of the path (with
+         * relative coordinates) in {@code rest}.
+         *
+         * @param shape  the shape.
+         *
+         * @return {@code true} if the shape uses the even-odd winding rule.
+         */
+        private boolean buildPath(Shape shape) {
+            this.rest.setLength(0);
+            this.segmentCount = 0;
+            this.firstX = 0L;
+            this.firstY = 0L;
+            double scale = Math.pow(10.0, this.decimals);
+            PathIterator pi = shape.getPathIterator(null);
+            boolean evenOdd = pi.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+            double[] c = this.coords;
+            long cx = 0L;
+            long cy = 0L;
+            long sx = 0L;
+            long sy = 0L;
+            // coordinates are rounded relative to the first point, so that
+            // a shape has the same path data wherever it is drawn
+            double ox = 0.0;
+            double oy = 0.0;
+            boolean first = true;
+            boolean closing = false;
+            this.lastCommand = 'M';
+            while (!pi.isDone()) {
+                int type = pi.currentSegment(c);
+                if (closing && type != PathIterator.SEG_CLOSE) {
+                    // the line back to the start is not followed by a close
+                    appendLine(sx - cx, sy - cy);
+                    cx = sx;
+                    cy = sy;
+                }
+                closing = false;
+                if (first) {
+                    ox = c[0];
+                    oy = c[1];
+                }
+                switch (type) {
+                    case PathIterator.SEG_MOVETO:
+                        long mx = units(c[0] - ox, scale);
+                        long my = units(c[1] - oy, scale);
+                        if (first) {
+                            this.firstX = units(ox, scale);
+                            this.firstY = units(oy, scale);
+                            first = false;
+                        }
+                        else {
+                            command('m');
+                            number(mx - cx);
+                            number(my - cy);
+                        }
+                        cx = mx;
+                        cy = my;
+                        sx = mx;
+                        sy = my;
+                        break;
+                    case PathIterator.SEG_LINETO:
+                        long lx = units(c[0] - ox, scale);
+                        long ly = units(c[1] - oy, scale);
+                        if (lx == sx && ly == sy && (lx != cx || ly != cy)) {
+                            // a close draws this line, so it is written only
+                            // if the next segment is not a close
+                            closing = true;
+                        }
+                        else {
+                            appendLine(lx - cx, ly - cy);
+                            cx = lx;
+                            cy = ly;
+                        }
+                        break;
+                    case PathIterator.SEG_QUADTO:
+                        command('q');
+                        number(units(c[0] - ox, scale) - cx);
+                        number(units(c[1] - oy, scale) - cy);
+                        long qx = units(c[2] - ox, scale);
+                        long qy = units(c[3] - oy, scale);
+                        number(qx - cx);
+                        number(qy - cy);
+                        cx = qx;
+                        cy = qy;
+                        break;
+                    case PathIterator.SEG_CUBICTO:
+                        command('c');
+                        number(units(c[0] - ox, scale) - cx);
+                        number(units(c[1] - oy, scale) - cy);
+                        number(units(c[2] - ox, scale) - cx);
+                        number(units(c[3] - oy, scale) - cy);
+                        long bx = units(c[4] - ox, scale);
+                        long by = units(c[5] - oy, scale);
+                        number(bx - cx);
+                        number(by - cy);
+                        cx = bx;
+                        cy = by;
+                        break;
+                    default:
+                        command('z');
+                        cx = sx;
+                        cy = sy;
+                }
+                if (first) {
+                    // a path that does not start with a move
+                    first = false;
+                }
+                this.segmentCount++;
+                pi.next();
+            }
+            if (closing) {
+                appendLine(sx - cx, sy - cy);
+            }
+            return evenOdd;
+        }
+
+        /**
+         * Appends a line to the path data.
+         *
+         * @param dx  the x-offset (in units).
+         * @param dy  the y-offset (in units).
+         */
+        private void appendLine(long dx, long dy) {
+            if (dy == 0L) {
+                command('h');
+                number(dx);
+            }
+            else if (dx == 0L) {
+                command('v');
+                number(dy);
+            }
+            else {
+                command('l');
+                number(dx);
+                number(dy);
+            }
+        }
+
+        /**
+         * Converts a coordinate to a whole number of units.
+         *
+         * @param v  the coordinate.
+         * @param scale  the number of units per user space unit.
+         *
+         * @return The number of units.
+         */
+        private static long units(double v, double scale) {
+            if (Double.isNaN(v)) {
+                return 0L;
+            }
+            return Math.round(v * scale);
+        }
+
+        /**
+         * Appends a path command, unless it is implied by the previous
+         * command.
+         *
+         * @param command  the command.
+         */
+        private void command(char command) {
+            char implied = this.lastCommand == 'm' ? 'l' : this.lastCommand;
+            if (command != implied || command == 'z') {
+                this.rest.append(command);
+            }
+            this.lastCommand = command;
+        }
+
+        /**
+         * Appends a number (in units) to the path data, with a separator
+         * only where one is needed.
+         *
+         * @param units  the number.
+         */
+        private void number(long units) {
+            int length = this.rest.length();
+            char previous = length > 0 ? this.rest.charAt(length - 1) : 'M';
+            boolean afterCommand = Character.isLetter(previous);
+            int start = this.rest.length();
+            if (!afterCommand) {
+                this.rest.append(' ');
+            }
+            appendScaled(this.rest, units, this.decimals, true);
+            char first = this.rest.charAt(start + (afterCommand ? 0 : 1));
+            if (!afterCommand && (first == '-'
+                    || (first == '.' && this.lastHadPoint))) {
+                this.rest.deleteCharAt(start);
+            }
+            this.lastHadPoint = this.rest.indexOf(".", start) >= 0;
+        }
+
+        /**
+         * Appends "M" and the first point of the last path to {@code sb}.
+         */
+        private void appendHead() {
+            this.sb.append('M');
+            appendScaled(this.sb, this.firstX, this.decimals, false);
+            this.sb.append(' ');
+            appendScaled(this.sb, this.firstY, this.decimals, false);
+        }
+
+        /**
+         * Writes a shape, as a path element or a reference to a shared
+         * definition.
+         *
+         * @param shape  the shape.
+         * @param shareable  can the shape be shared (the paint must not
+         *     depend on the position of the shape)?
+         * @param fill  is the shape filled (rather than stroked)?
+         */
+        void writeShape(Shape shape, boolean shareable, boolean fill) {
+            boolean evenOdd = buildPath(shape) && fill;
+            if (this.segmentCount == 0) {
+                return;
+            }
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            if (shareable && this.segmentCount <= MAX_SHARED_SEGMENTS
+                    && this.rest.length() >= MIN_SHARED_LENGTH) {
+                String key = evenOdd ? "e" + this.rest : this.rest.toString();
+                String id = this.shapeIds.get(key);
+                if (id == null) {
+                    this.shapeIds.put(key, "");
+                }
+                else {
+                    if (id.length() == 0) {
+                        id = "s" + this.nextId++;
+                        this.shapeIds.put(key, id);
+                        b.append("<defs><path id=\"").append(id);
+                        b.append("\" d=\"M0 0").append(this.rest);
+                        if (evenOdd) {
+                            b.append("\" fill-rule=\"evenodd");
+                        }
+                        b.append("\"/></defs>\n");
+                        write(b);
+                        b.setLength(0);
+                    }
+                    b.append(" xlink:href=\"#").append(id);
+                    b.append("\" x=\"");
+                    appendScaled(b, this.firstX, this.decimals, false);
+                    b.append("\" y=\"");
+                    appendScaled(b, this.firstY, this.decimals, false);
+                    b.append("\"/>\n");
+                    writeElement("<use", b);
+                    return;
+                }
+            }
+            b.append(" d=\"");
+            appendHead();
+            b.append(this.rest);
+            if (evenOdd) {
+                b.append("\" fill-rule=\"evenodd");
+            }
+            b.append("\"/>\n");
+            writeElement("<path", b);
+        }
+
+        /**
+         * Writes a text element.
+         *
+         * @param s  the text.
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         * @param font  the font.
+         */
+        void writeText(String s, float x, float y, Font font) {
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append(" x=\"");
+            appendNumber(b, x, this.decimals, false);
+            b.append("\" y=\"");
+            appendNumber(b, y, this.decimals, false);
+            b.append("\" font-family=\"");
+            appendFontFamily(b, font.getFamily());
+            b.append("\" font-size=\"");
+            appendNumber(b, font.getSize2D(), 3, false);
+            b.append('"');
+            if (font.isBold()) {
+                b.append(" font-weight=\"bold\"");
+            }
+            if (font.isItalic()) {
+                b.append(" font-style=\"italic\"");
+            }
+            if (s.startsWith(" ") || s.endsWith(" ") || s.contains("  ")) {
+                b.append(" xml:space=\"preserve\"");
+            }
+            b.append('>');
+            appendEscaped(b, s);
+            b.append("</text>\n");
+            writeElement("<text", b);
+        }
+
+        /**
+         * Appends the SVG font family for a Java font family.
+         *
+         * @param b  the string builder.
+         * @param family  the Java font family.
+         */
+        private static void appendFontFamily(StringBuilder b, String family) {
+            if (Font.SANS_SERIF.equals(family) || Font.DIALOG.equals(family)) {
+                b.append("sans-serif");
+            }
+            else if (Font.SERIF.equals(family)) {
+                b.append("serif");
+            }
+            else if (Font.MONOSPACED.equals(family)
+                    || Font.DIALOG_INPUT.equals(family)) {
+                b.append("monospace");
+            }
+            else {
+                b.append('\'');
+                appendEscaped(b, family.replace("'", ""));
+                b.append("', sans-serif");
+            }
+        }
+
+        /**
+         * Appends text with the XML special characters escaped (and the
+         * characters that are not allowed in XML removed).
+         *
+         * @param b  the string builder.
+         * @param s  the text.
+         */
+        private static void appendEscaped(StringBuilder b, String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '&':
+                        b.append("&amp;");
+                        break;
+                    case '<':
+                        b.append("&lt;");
+                        break;
+                    case '>':
+                        b.append("&gt;");
+                        break;
+                    case '"':
+                        b.append("&quot;");
+                        break;
+                    case '\'':
+                        b.append("&apos;");
+                        break;
+                    default:
+                        if (c >= 0x20 || c == '\t' || c == '\n'
+                                || c == '\r') {
+                            b.append(c);
+                        }
+                }
+            }
+        }
+
+        /**
+         * Writes an image element with the image embedded as PNG data.
+         *
+         * @param image  the image.
+         * @param xform  the transform from image space to user space.
+         * @param alpha  the composite alpha.
+         * @param nearest  use nearest neighbour interpolation?
+         */
+        void writeImage(BufferedImage image, AffineTransform xform,
+                float alpha, boolean nearest) {
+            // the image has a transform of its own, so the style attributes
+            // (with the transform) must be on a group
+            openStyle();
+            StringBuilder b = this.sb;
+            b.setLength(0);
+            b.append("<image");
+            if (!xform.isIdentity()) {
+                b.append(" transform=\"");
+                appendMatrix(b, xform);
+                b.append(")\"");
+            }
+            b.append(" width=\"").append(image.getWidth());
+            b.append("\" height=\"").append(image.getHeight());
+            b.append("\" preserveAspectRatio=\"none\"");
+            if (alpha < 1.0f) {
+                b.append(" opacity=\"");
+                appendNumber(b, alpha, 3, false);
+                b.append('"');
+            }
+            if (nearest) {
+                b.append(" image-rendering=\"optimizeSpeed\"");
+            }
+            b.append(" xlink:href=\"data:image/png;base64,");
+            write(b);
+            if (this.failure != null) {
+                return;
+            }
+            try {
+                Base64OutputStream base64 = new Base64OutputStream(
+                        this.writer);
+                new PNGEncoder().encode(image, base64);
+                base64.finish();
+            }
+            catch (IOException e) {
+                this.failure = e;
+            }
+            write("\"/>\n");
+        }
+
+    }
+
+    /**
+     * An output stream that writes the Base64 encoding of the bytes it
+     * receives to a writer.
+     */
+    private static final class Base64OutputStream extends OutputStream {
+
+        /** The Base64 alphabet. */
+        private static final char[] ALPHABET = ("ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+                + "abcdefghijklmnopqrstuvwxyz0123456789+/").toCharArray();
+
+        /** The writer. */
+        private final Writer writer;
+
+        /** The characters waiting to be written. */
+        private final char[] chars;
+
+        /** The number of characters waiting to be written. */
+        private int charCount;
+
+        /** The bytes of an incomplete group. */
+        private int group;
+
+        /** The number of bytes in the incomplete group. */
+        private int groupCount;
+
+        /**
+         * Creates a new stream.
+         *
+         * @param writer  the writer.
+         */
+        Base64OutputStream(Writer writer) {
+            this.writer = writer;
+            this.chars = new char[4096];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.group = (this.group << 8) | (b & 0xFF);
+            this.groupCount++;
+            if (this.groupCount == 3) {
+                if (this.charCount + 4 > this.chars.length) {
+                    flushChars();
+                }
+                int g = this.group;
+                this.chars[this.charCount++] = ALPHABET[(g >> 18) & 0x3F];
+                this.chars[this.charCount++] = ALPHABET[(g >> 12) & 0x3F];
+                this.chars[this.charCount++] = ALPHABET[(g >> 6) & 0x3F];
+                this.chars[this.charCount++] = ALPHABET[g & 0x3F];
+                this.group = 0;
+                this.groupCount = 0;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        /**
+         * Writes the waiting characters.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        private void flushChars() throws IOException {
+            this.writer.write(this.chars, 0, this.charCount);
+            this.charCount = 0;
+        }
+
+        /**
+         * Writes the last group (with padding) and the waiting characters.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void finish() throws IOException {
+            if (this.groupCount > 0) {
+                int g = this.group << (8 * (3 - this.groupCount));
+                if (this.charCount + 4 > this.chars.length) {
+                    flushChars();
+                }
+                this.chars[this.charCount++] = ALPHABET[(g >> 18) & 0x3F];
+                this.chars[this.charCount++] = ALPHABET[(g >> 12) & 0x3F];
+                this.chars[this.charCount++] = this.groupCount == 2
+                        ? ALPHABET[(g >> 6) & 0x3F] : '=';
+                this.chars[this.charCount++] = '=';
+                this.groupCount = 0;
+            }
+            flushChars();
+        }
+
+    }
+
+}
@@ -0,0 +1,968 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+import org.jfree.chart.util.Args;
+
+/**
+ * The base class for the {@code Graphics2D} implementations that write
+ * vector output ({@link SVGGraphics2D} and {@link PDFGraphics2D}).  This
+ * class keeps track of the graphics state and reduces the many drawing
+ * methods of {@code Graphics2D} to a few operations (filling a shape,
+ * drawing a shape with a {@code BasicStroke}, drawing text and drawing an
+ * image) that the subclasses write in their own format.
+ * <p>
+ * The output is written while drawing takes place, so the subclasses need
+ * to be told when drawing is complete (see {@link #finish()}).  Graphics
+ * created with {@link #create()} write to the same output.
+ *
+ * @since 1.6.0
+ */
+public abstract class VectorGraphics2D extends Graphics2D {
+
+    /** The graphics configuration (shared with graphics created from this). */
+    private final VectorGraphicsConfiguration deviceConfiguration;
+
+    /**
+     * A graphics used for font metrics (shared with graphics created from
+     * this).
+     */
+    private final Graphics2D metricsGraphics;
+
+    /** The paint. */
+    private Paint paint;
+
+    /** The color (the last color set, also when the paint is not a color). */
+    private Color color;
+
+    /** The background color. */
+    private Color background;
+
+    /** The stroke. */
+    private Stroke stroke;
+
+    /** The font. */
+    private Font font;
+
+    /** The transform. */
+    private AffineTransform transform;
+
+    /**
+     * The clip in device space ({@code null} for no clip).  The clip object
+     * is replaced, never modified, when the clip changes.
+     */
+    private Shape clip;
+
+    /** The composite. */
+    private Composite composite;
+
+    /** The rendering hints. */
+    private RenderingHints hints;
+
+    /**
+     * Creates a new instance with the default graphics state.
+     *
+     * @param width  the width of the drawing area.
+     * @param height  the height of the drawing area.
+     */
+    VectorGraphics2D(int width, int height) {
+        this.deviceConfiguration = new VectorGraphicsConfiguration(width,
+                height);
+        BufferedImage image = new BufferedImage(1, 1,
+                BufferedImage.TYPE_INT_ARGB);
+        this.metricsGraphics = image.createGraphics();
+        this.metricsGraphics.setRenderingHint(
+                RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        this.paint = Color.BLACK;
+        this.color = Color.BLACK;
+        this.background = Color.BLACK;
+        this.stroke = new BasicStroke(1.0f);
+        this.font = new Font("SansSerif", Font.PLAIN, 12);
+        this.transform = new AffineTransform();
+        this.clip = null;
+        this.composite = AlphaComposite.SrcOver;
+        this.hints = new RenderingHints(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        this.hints.put(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        this.hints.put(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    /**
+     * Creates a new instance with a copy of the graphics state of another
+     * instance.
+     *
+     * @param parent  the instance to copy ({@code null} not permitted).
+     */
+    VectorGraphics2D(VectorGraphics2D parent) {
+        this.deviceConfiguration = parent.deviceConfiguration;
+        this.metricsGraphics = parent.metricsGraphics;
+        this.paint = parent.paint;
+        this.color = parent.color;
+        this.background = parent.background;
+        this.stroke = parent.stroke;
+        this.font = parent.font;
+        this.transform = new AffineTransform(parent.transform);
+        this.clip = parent.clip;
+        this.composite = parent.composite;
+        this.hints = (RenderingHints) parent.hints.clone();
+    }
+
+    /**
+     * Writes anything that is still pending and completes the document.
+     * Nothing more can be drawn after this method has been called.  The
+     * underlying writer or stream is flushed but not closed.
+     *
+     * @throws IOException if there is an I/O problem (including an
+     *     earlier problem while drawing, since the drawing methods cannot
+     *     throw an {@code IOException}).
+     */
+    public abstract void finish() throws IOException;
+
+    /**
+     * Fills a shape (in user space) with the current paint.
+     *
+     * @param shape  the shape.
+     */
+    abstract void fillShape(Shape shape);
+
+    /**
+     * Draws the outline of a shape (in user space) with the current paint
+     * and stroke (which is always a {@code BasicStroke} when this method is
+     * called).
+     *
+     * @param shape  the shape.
+     */
+    abstract void strokeShape(Shape shape);
+
+    /**
+     * Draws an image.
+     *
+     * @param image  the image.
+     * @param xform  the transform from image space to user space.
+     */
+    abstract void drawBufferedImage(BufferedImage image,
+            AffineTransform xform);
+
+    /**
+     * Draws a string with the current font and paint.  This implementation
+     * fills the outline of the glyphs, subclasses can write text instead.
+     *
+     * @param s  the string.
+     * @param x  the x-coordinate of the baseline.
+     * @param y  the y-coordinate of the baseline.
+     */
+    void drawText(String s, float x, float y) {
+        GlyphVector gv = this.font.createGlyphVector(getFontRenderContext(),
+                s);
+        fillShape(gv.getOutline(x, y));
+    }
+
+    /**
+     * Returns the current transform (not a copy, it must not be modified).
+     *
+     * @return The transform.
+     */
+    AffineTransform getCurrentTransform() {
+        return this.transform;
+    }
+
+    /**
+     * Returns the clip in device space (the same object is returned until
+     * the clip changes).
+     *
+     * @return The clip (possibly {@code null}).
+     */
+    Shape getDeviceClip() {
+        return this.clip;
+    }
+
+    /**
+     * Returns the alpha value of the current composite (1.0 unless the
+     * composite is an {@code AlphaComposite}).
+     *
+     * @return The alpha value.
+     */
+    float getCompositeAlpha() {
+        if (this.composite instanceof AlphaComposite) {
+            return ((AlphaComposite) this.composite).getAlpha();
+        }
+        return 1.0f;
+    }
+
+    /**
+     * Appends a number to a string builder, rounded to the specified number
+     * of decimal places, without trailing zeros, without a leading zero
+     * before the decimal point if {@code compact} is {@code true}, and never
+     * in exponent notation.
+     *
+     * @param sb  the string builder.
+     * @param value  the value.
+     * @param decimals  the number of decimal places.
+     * @param compact  omit a leading zero?
+     */
+    static void appendNumber(StringBuilder sb, double value, int decimals,
+            boolean compact) {
+        long scale = 1L;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10L;
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append('0');
+            return;
+        }
+        if (Math.abs(value) * scale >= 9.0E15) {
+            sb.append(new BigDecimal(value).setScale(0,
+                    RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        appendScaled(sb, Math.round(value * scale), decimals, compact);
+    }
+
+    /**
+     * Appends a number, given as an integer number of units of
+     * 10<sup>-decimals</sup>, to a string builder.
+     *
+     * @param sb  the string builder.
+     * @param units  the number of units.
+     * @param decimals  the number of decimal places.
+     * @param compact  omit a leading zero?
+     */
+    static void appendScaled(StringBuilder sb, long units, int decimals,
+            boolean compact) {
+        if (units < 0) {
+            sb.append('-');
+            units = -units;
+        }
+        long scale = 1L;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10L;
+        }
+        long whole = units / scale;
+        long fraction = units % scale;
+        if (whole != 0 || fraction == 0 || !compact) {
+            sb.append(whole);
+        }
+        if (fraction != 0) {
+            sb.append('.');
+            int digits = decimals;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            String f = Long.toString(fraction);
+            for (int i = f.length(); i < digits; i++) {
+                sb.append('0');
+            }
+            sb.append(f);
+        }
+    }
+
+    /**
+     * Converts an image to a {@code BufferedImage}.
+     *
+     * @param image  the image.
+     * @param observer  the image observer.
+     *
+     * @return The buffered image, or {@code null} if the image is not
+     *     loaded yet.
+     */
+    private static BufferedImage toBufferedImage(Image image,
+            ImageObserver observer) {
+        if (image instanceof BufferedImage) {
+            return (BufferedImage) image;
+        }
+        int w = image.getWidth(observer);
+        int h = image.getHeight(observer);
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        BufferedImage result = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = result.createGraphics();
+        boolean complete = g2.drawImage(image, 0, 0, observer);
+        g2.dispose();
+        return complete ? result : null;
+    }
+
+    /**
+     * Converts a rendered image to a {@code BufferedImage}.
+     *
+     * @param image  the image.
+     *
+     * @return The buffered image.
+     */
+    private static BufferedImage toBufferedImage(RenderedImage image) {
+        if (image instanceof BufferedImage) {
+            return (BufferedImage) image;
+        }
+        ColorModel cm = image.getColorModel();
+        WritableRaster raster = cm.createCompatibleWritableRaster(
+                image.getWidth(), image.getHeight());
+        image.copyData(raster.createWritableTranslatedChild(
+                image.getMinX(), image.getMinY()));
+        return new BufferedImage(cm, raster, cm.isAlphaPremultiplied(),
+                null);
+    }
+
+    @Override
+    public void draw(Shape s) {
+        if (this.stroke instanceof BasicStroke) {
+            strokeShape(s);
+        }
+        else {
+            fillShape(this.stroke.createStrokedShape(s));
+        }
+    }
+
+    @Override
+    public void fill(Shape s) {
+        fillShape(s);
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform,
+            ImageObserver obs) {
+        BufferedImage image = toBufferedImage(img, obs);
+        if (image == null) {
+            return false;
+        }
+        drawBufferedImage(image, xform == null ? new AffineTransform()
+                : new AffineTransform(xform));
+        return true;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x,
+            int y) {
+        BufferedImage image = op == null ? img : op.filter(img, null);
+        drawBufferedImage(image, AffineTransform.getTranslateInstance(x, y));
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        drawBufferedImage(toBufferedImage(img), xform == null
+                ? new AffineTransform() : new AffineTransform(xform));
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img,
+            AffineTransform xform) {
+        drawRenderedImage(img.createDefaultRendering(), xform);
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        drawString(str, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        Args.nullNotPermitted(str, "str");
+        if (str.length() > 0) {
+            drawText(str, x, y);
+        }
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x,
+            int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x,
+            float y) {
+        if (iterator.getBeginIndex() == iterator.getEndIndex()) {
+            return;
+        }
+        TextLayout layout = new TextLayout(iterator, getFontRenderContext());
+        layout.draw(this, x, y);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        fillShape(g.getOutline(x, y));
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        Shape shape = onStroke ? this.stroke.createStrokedShape(s) : s;
+        shape = this.transform.createTransformedShape(shape);
+        return shape.intersects(rect);
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return this.deviceConfiguration;
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        Args.nullNotPermitted(comp, "comp");
+        this.composite = comp;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return this.composite;
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint == null) {
+            return;
+        }
+        this.paint = paint;
+        if (paint instanceof Color) {
+            this.color = (Color) paint;
+        }
+    }
+
+    @Override
+    public Paint getPaint() {
+        return this.paint;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        if (c == null) {
+            return;
+        }
+        this.color = c;
+        this.paint = c;
+    }
+
+    @Override
+    public Color getColor() {
+        return this.color;
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        this.background = color;
+    }
+
+    @Override
+    public Color getBackground() {
+        return this.background;
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        Args.nullNotPermitted(s, "s");
+        this.stroke = s;
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return this.stroke;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font != null) {
+            this.font = font;
+        }
+    }
+
+    @Override
+    public Font getFont() {
+        return this.font;
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return this.metricsGraphics.getFontMetrics(f);
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return this.metricsGraphics.getFontRenderContext();
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey,
+            Object hintValue) {
+        this.hints.put(hintKey, hintValue);
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return this.hints.get(hintKey);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        this.hints.clear();
+        this.hints.putAll(hints);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        this.hints.putAll(hints);
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) this.hints.clone();
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        this.transform.translate(x, y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        this.transform.translate(tx, ty);
+    }
+
+    @Override
+    public void rotate(double theta) {
+        this.transform.rotate(theta);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        this.transform.rotate(theta, x, y);
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        this.transform.scale(sx, sy);
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        this.transform.shear(shx, shy);
+    }
+
+    @Override
+    public void transform(AffineTransform tx) {
+        this.transform.concatenate(tx);
+    }
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        this.transform = tx == null ? new AffineTransform()
+                : new AffineTransform(tx);
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(this.transform);
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (s == null) {
+            setClip(null);
+            return;
+        }
+        Shape deviceShape = toDevice(s);
+        if (this.clip == null) {
+            this.clip = deviceShape;
+        }
+        else if (this.clip instanceof Rectangle2D
+                && deviceShape instanceof Rectangle2D) {
+            Rectangle2D r = new Rectangle2D.Double();
+            Rectangle2D.intersect((Rectangle2D) this.clip,
+                    (Rectangle2D) deviceShape, r);
+            if (r.getWidth() < 0.0 || r.getHeight() < 0.0) {
+                r.setRect(r.getX(), r.getY(), 0.0, 0.0);
+            }
+            this.clip = r;
+        }
+        else {
+            Area area = new Area(this.clip);
+            area.intersect(new Area(deviceShape));
+            this.clip = new Path2D.Double(area);
+        }
+    }
+
+    /**
+     * Returns {@code true} if a transform maps rectangles to rectangles
+     * (that is, it has no rotation or shear).
+     *
+     * @param t  the transform.
+     *
+     * @return A boolean.
+     */
+    private static boolean isRectilinear(AffineTransform t) {
+        return (t.getType() & ~(AffineTransform.TYPE_TRANSLATION
+                | AffineTransform.TYPE_MASK_SCALE
+                | AffineTransform.TYPE_FLIP)) == 0;
+    }
+
+    /**
+     * Transforms a shape from user space to device space.  Rectangles stay
+     * rectangles when the transform is a translation and/or a scale.
+     *
+     * @param s  the shape.
+     *
+     * @return The transformed shape (a new object).
+     */
+    private Shape toDevice(Shape s) {
+        if (s instanceof Rectangle2D && isRectilinear(this.transform)) {
+            Rectangle2D r = (Rectangle2D) s;
+            double[] pts = {r.getMinX(), r.getMinY(), r.getMaxX(),
+                    r.getMaxY()};
+            this.transform.transform(pts, 0, pts, 0, 2);
+            double x = Math.min(pts[0], pts[2]);
+            double y = Math.min(pts[1], pts[3]);
+            return new Rectangle2D.Double(x, y, Math.max(pts[0], pts[2]) - x,
+                    Math.max(pts[1], pts[3]) - y);
+        }
+        return new Path2D.Double(s, this.transform);
+    }
+
+    @Override
+    public Shape getClip() {
+        if (this.clip == null) {
+            return null;
+        }
+        try {
+            AffineTransform inverse = this.transform.createInverse();
+            if (this.clip instanceof Rectangle2D && isRectilinear(inverse)) {
+                Rectangle2D r = (Rectangle2D) this.clip;
+                double[] pts = {r.getMinX(), r.getMinY(), r.getMaxX(),
+                        r.getMaxY()};
+                inverse.transform(pts, 0, pts, 0, 2);
+                double x = Math.min(pts[0], pts[2]);
+                double y = Math.min(pts[1], pts[3]);
+                return new Rectangle2D.Double(x, y,
+                        Math.max(pts[0], pts[2]) - x,
+                        Math.max(pts[1], pts[3]) - y);
+            }
+            return inverse.createTransformedShape(this.clip);
+        }
+        catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        this.clip = clip == null ? null : toDevice(clip);
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape s = getClip();
+        return s == null ? null : s.getBounds();
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    /**
+     * Does nothing, XOR mode is not supported.
+     */
+    @Override
+    public void setPaintMode() {
+        // XOR mode is not supported
+    }
+
+    /**
+     * Does nothing, XOR mode is not supported.
+     *
+     * @param c1  ignored.
+     */
+    @Override
+    public void setXORMode(Color c1) {
+        // XOR mode is not supported
+    }
+
+    /**
+     * Does nothing, this operation is not supported for vector output.
+     *
+     * @param x  ignored.
+     * @param y  ignored.
+     * @param width  ignored.
+     * @param height  ignored.
+     * @param dx  ignored.
+     * @param dy  ignored.
+     */
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx,
+            int dy) {
+        // not supported
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        draw(new Line2D.Double(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        draw(new Rectangle2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        fillShape(new Rectangle2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        if (this.background == null) {
+            return;
+        }
+        Paint savedPaint = this.paint;
+        Composite savedComposite = this.composite;
+        this.paint = this.background;
+        this.composite = AlphaComposite.SrcOver;
+        fillShape(new Rectangle2D.Double(x, y, width, height));
+        this.paint = savedPaint;
+        this.composite = savedComposite;
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height,
+            int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Double(x, y, width, height, arcWidth,
+                arcHeight));
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height,
+            int arcWidth, int arcHeight) {
+        fillShape(new RoundRectangle2D.Double(x, y, width, height, arcWidth,
+                arcHeight));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draw(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fillShape(new Ellipse2D.Double(x, y, width, height));
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle,
+            int arcAngle) {
+        draw(new Arc2D.Double(x, y, width, height, startAngle, arcAngle,
+                Arc2D.OPEN));
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle,
+            int arcAngle) {
+        fillShape(new Arc2D.Double(x, y, width, height, startAngle, arcAngle,
+                Arc2D.PIE));
+    }
+
+    /**
+     * Creates a path from arrays of coordinates.
+     *
+     * @param xPoints  the x-coordinates.
+     * @param yPoints  the y-coordinates.
+     * @param nPoints  the number of points.
+     * @param close  close the path?
+     *
+     * @return The path.
+     */
+    private static Path2D createPolygon(int[] xPoints, int[] yPoints,
+            int nPoints, boolean close) {
+        Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+        if (nPoints > 0) {
+            path.moveTo(xPoints[0], yPoints[0]);
+            for (int i = 1; i < nPoints; i++) {
+                path.lineTo(xPoints[i], yPoints[i]);
+            }
+            if (close) {
+                path.closePath();
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        draw(createPolygon(xPoints, yPoints, nPoints, false));
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        draw(createPolygon(xPoints, yPoints, nPoints, true));
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        fillShape(createPolygon(xPoints, yPoints, nPoints, true));
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y,
+            ImageObserver observer) {
+        return drawImage(img, AffineTransform.getTranslateInstance(x, y),
+                observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height,
+            ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        AffineTransform xform = AffineTransform.getTranslateInstance(x, y);
+        xform.scale((double) width / image.getWidth(),
+                (double) height / image.getHeight());
+        drawBufferedImage(image, xform);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor,
+            ImageObserver observer) {
+        int w = img.getWidth(observer);
+        int h = img.getHeight(observer);
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+        return drawImage(img, x, y, w, h, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height,
+            Color bgcolor, ImageObserver observer) {
+        if (bgcolor != null) {
+            Paint saved = this.paint;
+            this.paint = bgcolor;
+            fillShape(new Rectangle2D.Double(x, y, width, height));
+            this.paint = saved;
+        }
+        return drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+            int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img, observer);
+        if (image == null) {
+            return false;
+        }
+        int sx = Math.min(sx1, sx2);
+        int sy = Math.min(sy1, sy2);
+        int sw = Math.abs(sx2 - sx1);
+        int sh = Math.abs(sy2 - sy1);
+        if (sw == 0 || sh == 0) {
+            return true;
+        }
+        BufferedImage sub = image.getSubimage(sx, sy, sw, sh);
+        // map the source rectangle (which may be flipped) onto the
+        // destination rectangle
+        AffineTransform xform = AffineTransform.getTranslateInstance(dx1,
+                dy1);
+        xform.scale((double) (dx2 - dx1) / (sx2 - sx1),
+                (double) (dy2 - dy1) / (sy2 - sy1));
+        xform.translate(sx - sx1, sy - sy1);
+        drawBufferedImage(sub, xform);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+            int sx1, int sy1, int sx2, int sy2, Color bgcolor,
+            ImageObserver observer) {
+        if (bgcolor != null) {
+            Paint saved = this.paint;
+            this.paint = bgcolor;
+            fillShape(new Rectangle2D.Double(Math.min(dx1, dx2),
+                    Math.min(dy1, dy2), Math.abs(dx2 - dx1),
+                    Math.abs(dy2 - dy1)));
+            this.paint = saved;
+        }
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+                observer);
+    }
+
+    /**
+     * Does nothing, the output is completed by {@link #finish()}.
+     */
+    @Override
+    public void dispose() {
+        // the output is completed by finish()
+    }
+
+}
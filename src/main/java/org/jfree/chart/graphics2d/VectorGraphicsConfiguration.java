@@ -0,0 +1,141 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.ColorModel;
+import java.awt.image.DirectColorModel;
+
+/**
+ * The graphics configuration for a {@link VectorGraphics2D}.  The device
+ * is reported as a printer, so that code that takes shortcuts when drawing
+ * to a raster device (such as drawing a large number of points into an
+ * image) draws the individual shapes instead.
+ */
+class VectorGraphicsConfiguration extends GraphicsConfiguration {
+
+    /** The device. */
+    private final Device device;
+
+    /** The width. */
+    private final int width;
+
+    /** The height. */
+    private final int height;
+
+    /**
+     * Creates a new configuration.
+     *
+     * @param width  the width of the drawing area.
+     * @param height  the height of the drawing area.
+     */
+    VectorGraphicsConfiguration(int width, int height) {
+        this.device = new Device(this);
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public GraphicsDevice getDevice() {
+        return this.device;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return ColorModel.getRGBdefault();
+    }
+
+    @Override
+    public ColorModel getColorModel(int transparency) {
+        if (transparency == Transparency.OPAQUE) {
+            return new DirectColorModel(24, 0x00FF0000, 0x0000FF00,
+                    0x000000FF);
+        }
+        return ColorModel.getRGBdefault();
+    }
+
+    @Override
+    public AffineTransform getDefaultTransform() {
+        return new AffineTransform();
+    }
+
+    @Override
+    public AffineTransform getNormalizingTransform() {
+        return new AffineTransform();
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(this.width, this.height);
+    }
+
+    /**
+     * The graphics device.
+     */
+    private static final class Device extends GraphicsDevice {
+
+        /** The configuration. */
+        private final GraphicsConfiguration configuration;
+
+        /**
+         * Creates a new device.
+         *
+         * @param configuration  the configuration.
+         */
+        Device(GraphicsConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public int getType() {
+            return GraphicsDevice.TYPE_PRINTER;
+        }
+
+        @Override
+        public String getIDstring() {
+            return "JFreeChart vector output";
+        }
+
+        @Override
+        public GraphicsConfiguration[] getConfigurations() {
+            return new GraphicsConfiguration[] {this.configuration};
+        }
+
+        @Override
+        public GraphicsConfiguration getDefaultConfiguration() {
+            return this.configuration;
+        }
+
+    }
+
+}
@@ -53,6 +53,8 @@ package org.jfree.chart.imagemap;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.entity.ChartEntity;
@@ -116,7 +118,10 @@ public class ImageMapUtils {
     }
 
     /**
-     * Writes an image map to an output stream.
+     * Writes an image map to an output stream.  The area tags are written
+     * one at a time, so the map is never held in memory as a single string.
+     * See {@link ImageMapWriter} for more options to reduce the size of the
+     * map.
      *
      * @param writer  the writer ({@code null} not permitted).
      * @param name  the map name ({@code null} not permitted).
@@ -136,8 +141,55 @@ public class ImageMapUtils {
             URLTagFragmentGenerator urlTagFragmentGenerator)
         throws IOException {
 
-        writer.println(ImageMapUtils.getImageMap(name, info,
-                toolTipTagFragmentGenerator, urlTagFragmentGenerator));
+        writeImageMap((Writer) writer, name, info,
+                toolTipTagFragmentGenerator, urlTagFragmentGenerator);
+        writer.println();
+    }
+
+    /**
+     * Writes an image map element, one area tag at a time.
+     *
+     * @param writer  the writer ({@code null} not permitted).
+     * @param name  the map name ({@code null} not permitted).
+     * @param info  the chart rendering info ({@code null} not permitted).
+     * @param toolTipTagFragmentGenerator  a generator for the HTML fragment
+     *     that will contain the tooltip text.
+     * @param urlTagFragmentGenerator  a generator for the HTML fragment that
+     *     will contain the URL reference.
+     *
+     * @throws IOException if there are any I/O errors.
+     */
+    private static void writeImageMap(Writer writer, String name,
+            ChartRenderingInfo info,
+            ToolTipTagFragmentGenerator toolTipTagFragmentGenerator,
+            URLTagFragmentGenerator urlTagFragmentGenerator)
+            throws IOException {
+
+        String lineSeparator = StringUtils.getLineSeparator();
+        writer.write("<map id=\"");
+        writer.write(htmlEscape(name));
+        writer.write("\" name=\"");
+        writer.write(htmlEscape(name));
+        writer.write("\">");
+        writer.write(lineSeparator);
+        EntityCollection entities = info.getEntityCollection();
+        if (entities != null) {
+            int count = entities.getEntityCount();
+            for (int i = count - 1; i >= 0; i--) {
+                ChartEntity entity = entities.getEntity(i);
+                if (entity.getToolTipText() != null
+                        || entity.getURLText() != null) {
+                    String area = entity.getImageMapAreaTag(
+                            toolTipTagFragmentGenerator,
+                            urlTagFragmentGenerator);
+                    if (area.length() > 0) {
+                        writer.write(area);
+                        writer.write(lineSeparator);
+                    }
+                }
+            }
+        }
+        writer.write("</map>");
     }
 
     /**
@@ -174,29 +226,16 @@ public class ImageMapUtils {
             ToolTipTagFragmentGenerator toolTipTagFragmentGenerator,
             URLTagFragmentGenerator urlTagFragmentGenerator) {
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("<map id=\"").append(htmlEscape(name));
-        sb.append("\" name=\"").append(htmlEscape(name)).append("\">");
-        sb.append(StringUtils.getLineSeparator());
-        EntityCollection entities = info.getEntityCollection();
-        if (entities != null) {
-            int count = entities.getEntityCount();
-            for (int i = count - 1; i >= 0; i--) {
-                ChartEntity entity = entities.getEntity(i);
-                if (entity.getToolTipText() != null
-                        || entity.getURLText() != null) {
-                    String area = entity.getImageMapAreaTag(
-                            toolTipTagFragmentGenerator,
-                            urlTagFragmentGenerator);
-                    if (area.length() > 0) {
-                        sb.append(area);
-                        sb.append(StringUtils.getLineSeparator());
-                    }
-                }
-            }
+        StringWriter writer = new StringWriter();
+        try {
+            writeImageMap(writer, name, info, toolTipTagFragmentGenerator,
+                    urlTagFragmentGenerator);
+        }
+        catch (IOException e) {
+            // a StringWriter does not throw IOExceptions
+            throw new RuntimeException(e);
         }
-        sb.append("</map>");
-        return sb.toString();
+        return writer.toString();
 
     }
 
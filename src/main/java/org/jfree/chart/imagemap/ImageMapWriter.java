@@ -0,0 +1,606 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.imagemap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.StringUtils;
+
+/**
+ * Writes an HTML image map for a chart directly to a {@code Writer} or an
+ * {@code OutputStream}, one area tag at a time, so that the memory used does
+ * not grow with the number of entities.  With the default settings the
+ * output is the same as the map created by
+ * {@link ImageMapUtils#getImageMap(String, ChartRenderingInfo,
+ * ToolTipTagFragmentGenerator, URLTagFragmentGenerator)}, but the writer
+ * can also make the map smaller:
+ * <ul>
+ * <li>polygon outlines can be simplified, dropping points that are within a
+ * tolerance of the simplified outline (see
+ * {@link #setTolerance(double)});</li>
+ * <li>consecutive rectangular entities with the same tooltip and URL that
+ * share an edge can be merged into a single area (see
+ * {@link #setMergeRectangles(boolean)}).</li>
+ * </ul>
+ * Each area tag is created by
+ * {@link ChartEntity#getImageMapAreaTag(ToolTipTagFragmentGenerator,
+ * URLTagFragmentGenerator)} and written before the next entity is
+ * processed.  Simplified polygons and merged rectangles are written from the
+ * coordinates returned by {@link ChartEntity#getShapeCoords()} instead.
+ *
+ * @since 1.6.0
+ */
+public class ImageMapWriter {
+
+    /** The tooltip fragment generator. */
+    private final ToolTipTagFragmentGenerator toolTipTagFragmentGenerator;
+
+    /** The URL fragment generator. */
+    private final URLTagFragmentGenerator urlTagFragmentGenerator;
+
+    /** The tolerance (in Java2D units) for simplifying polygons. */
+    private double tolerance;
+
+    /** A flag that controls whether adjacent rectangles are merged. */
+    private boolean mergeRectangles;
+
+    /**
+     * Creates a new writer that uses the standard tooltip and URL fragment
+     * generators.
+     */
+    public ImageMapWriter() {
+        this(new StandardToolTipTagFragmentGenerator(),
+                new StandardURLTagFragmentGenerator());
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param toolTipTagFragmentGenerator  a generator for the HTML fragment
+     *     that will contain the tooltip text ({@code null} not permitted).
+     * @param urlTagFragmentGenerator  a generator for the HTML fragment that
+     *     will contain the URL reference ({@code null} not permitted).
+     */
+    public ImageMapWriter(
+            ToolTipTagFragmentGenerator toolTipTagFragmentGenerator,
+            URLTagFragmentGenerator urlTagFragmentGenerator) {
+        Args.nullNotPermitted(toolTipTagFragmentGenerator,
+                "toolTipTagFragmentGenerator");
+        Args.nullNotPermitted(urlTagFragmentGenerator,
+                "urlTagFragmentGenerator");
+        this.toolTipTagFragmentGenerator = toolTipTagFragmentGenerator;
+        this.urlTagFragmentGenerator = urlTagFragmentGenerator;
+        this.tolerance = 0.0;
+        this.mergeRectangles = false;
+    }
+
+    /**
+     * Returns the tolerance (in Java2D units) used to simplify polygon
+     * outlines.  The default value is {@code 0.0}, which writes every point.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Sets the tolerance (in Java2D units) used to simplify polygon
+     * outlines.  When the tolerance is greater than zero, repeated points
+     * are removed and the outline is simplified so that no point of the
+     * original outline is further than the tolerance from the simplified
+     * outline.
+     *
+     * @param tolerance  the tolerance (must be &gt;= 0.0).
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance >= 0.0)) {
+            throw new IllegalArgumentException("Requires 'tolerance' >= 0.");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the flag that controls whether consecutive rectangular
+     * entities with the same tooltip and URL that share an edge are merged
+     * into a single area.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     */
+    public boolean getMergeRectangles() {
+        return this.mergeRectangles;
+    }
+
+    /**
+     * Sets the flag that controls whether consecutive rectangular entities
+     * with the same tooltip and URL that share an edge are merged into a
+     * single area.
+     *
+     * @param merge  the new flag value.
+     */
+    public void setMergeRectangles(boolean merge) {
+        this.mergeRectangles = merge;
+    }
+
+    /**
+     * Writes an image map to an output stream, using the UTF-8 encoding.
+     * The stream is flushed but not closed.
+     *
+     * @param out  the output stream ({@code null} not permitted).
+     * @param name  the map name ({@code null} not permitted).
+     * @param info  the chart rendering info ({@code null} not permitted).
+     *
+     * @throws IOException if there are any I/O errors.
+     */
+    public void write(OutputStream out, String name, ChartRenderingInfo info)
+            throws IOException {
+        Args.nullNotPermitted(out, "out");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out,
+                Charset.forName("UTF-8")));
+        write(writer, name, info);
+        writer.flush();
+    }
+
+    /**
+     * Writes an image map to a writer, followed by a line separator.  The
+     * writer is not flushed or closed.
+     *
+     * @param writer  the writer ({@code null} not permitted).
+     * @param name  the map name ({@code null} not permitted).
+     * @param info  the chart rendering info ({@code null} not permitted).
+     *
+     * @throws IOException if there are any I/O errors.
+     */
+    public void write(Writer writer, String name, ChartRenderingInfo info)
+            throws IOException {
+        Args.nullNotPermitted(writer, "writer");
+        Args.nullNotPermitted(name, "name");
+        Args.nullNotPermitted(info, "info");
+        String lineSeparator = StringUtils.getLineSeparator();
+        writer.write("<map id=\"");
+        writer.write(ImageMapUtils.htmlEscape(name));
+        writer.write("\" name=\"");
+        writer.write(ImageMapUtils.htmlEscape(name));
+        writer.write("\">");
+        writer.write(lineSeparator);
+        EntityCollection entities = info.getEntityCollection();
+        if (entities != null) {
+            PendingRectangle pending = null;
+            int[] coords = new int[16];
+            // the entities are written in reverse order so that the areas
+            // drawn last take precedence
+            for (int i = entities.getEntityCount() - 1; i >= 0; i--) {
+                ChartEntity entity = entities.getEntity(i);
+                String toolTip = entity.getToolTipText();
+                String url = entity.getURLText();
+                if (toolTip == null && url == null) {
+                    continue;
+                }
+                boolean hasText = (toolTip != null && !toolTip.isEmpty())
+                        || (url != null && !url.isEmpty());
+                String shapeType = hasText ? entity.getShapeType() : null;
+                if (this.mergeRectangles && "rect".equals(shapeType)) {
+                    int[] rect = parseCoords(entity.getShapeCoords(),
+                            coords);
+                    if (rect != null && rect[0] == 2) {
+                        coords = rect;
+                        if (pending != null && pending.merge(coords[1],
+                                coords[2], coords[3], coords[4], toolTip,
+                                url)) {
+                            continue;
+                        }
+                        if (pending != null) {
+                            pending.write(writer, lineSeparator);
+                        }
+                        pending = new PendingRectangle(entity, coords[1],
+                                coords[2], coords[3], coords[4]);
+                        continue;
+                    }
+                }
+                if (pending != null) {
+                    pending.write(writer, lineSeparator);
+                    pending = null;
+                }
+                if (this.tolerance > 0.0 && "poly".equals(shapeType)) {
+                    int[] poly = parseCoords(entity.getShapeCoords(),
+                            coords);
+                    if (poly != null) {
+                        coords = poly;
+                        int count = simplify(coords, coords[0],
+                                this.tolerance);
+                        writer.write("<area shape=\"poly\" coords=\"");
+                        for (int c = 0; c < count; c++) {
+                            if (c > 0) {
+                                writer.write(',');
+                            }
+                            writer.write(Integer.toString(coords[2 * c + 1]));
+                            writer.write(',');
+                            writer.write(Integer.toString(coords[2 * c + 2]));
+                        }
+                        writer.write('"');
+                        writeAttributes(writer, toolTip, url);
+                        writer.write(lineSeparator);
+                        continue;
+                    }
+                }
+                writeAreaTag(writer, entity, lineSeparator);
+            }
+            if (pending != null) {
+                pending.write(writer, lineSeparator);
+            }
+        }
+        writer.write("</map>");
+        writer.write(lineSeparator);
+    }
+
+    /**
+     * Writes the area tag created by an entity, if it is not empty.
+     *
+     * @param writer  the writer.
+     * @param entity  the entity.
+     * @param lineSeparator  the line separator.
+     *
+     * @throws IOException if there are any I/O errors.
+     */
+    private void writeAreaTag(Writer writer, ChartEntity entity,
+            String lineSeparator) throws IOException {
+        String tag = entity.getImageMapAreaTag(
+                this.toolTipTagFragmentGenerator,
+                this.urlTagFragmentGenerator);
+        if (tag.length() > 0) {
+            writer.write(tag);
+            writer.write(lineSeparator);
+        }
+    }
+
+    /**
+     * Writes the tooltip, URL and alt attributes for an area, and closes
+     * the tag.
+     *
+     * @param writer  the writer.
+     * @param toolTip  the tooltip text ({@code null} permitted).
+     * @param url  the URL ({@code null} permitted).
+     *
+     * @throws IOException if there are any I/O errors.
+     */
+    private void writeAttributes(Writer writer, String toolTip, String url)
+            throws IOException {
+        boolean hasToolTip = toolTip != null && !toolTip.isEmpty();
+        boolean hasURL = url != null && !url.isEmpty();
+        if (hasToolTip) {
+            writer.write(this.toolTipTagFragmentGenerator
+                    .generateToolTipFragment(toolTip));
+        }
+        if (hasURL) {
+            writer.write(this.urlTagFragmentGenerator.generateURLFragment(
+                    url));
+        }
+        else {
+            writer.write(" nohref=\"nohref\"");
+        }
+        // the tooltip fragment is expected to include the alt attribute
+        if (!hasToolTip) {
+            writer.write(" alt=\"\"");
+        }
+        writer.write("/>");
+    }
+
+    /**
+     * Parses the coordinates returned by {@link ChartEntity#getShapeCoords()}
+     * (a comma separated list of integers, in x, y pairs).
+     *
+     * @param text  the coordinates.
+     * @param coords  an array that can be reused for the result.
+     *
+     * @return An array holding the number of points, followed by the x and
+     *     y coordinates of each point, or {@code null} if the text is not a
+     *     list of integer pairs.
+     */
+    static int[] parseCoords(String text, int[] coords) {
+        int[] result = coords;
+        int n = 0;
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            int end = text.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(text.substring(start, end).trim());
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+            if (n + 2 > result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[++n] = value;
+            start = end + 1;
+        }
+        if (n == 0 || n % 2 != 0) {
+            return null;
+        }
+        result[0] = n / 2;
+        return result;
+    }
+
+    /**
+     * Simplifies a closed outline in place, removing repeated points and
+     * then applying the Douglas-Peucker algorithm.
+     *
+     * @param coords  the point count followed by the coordinates.
+     * @param count  the number of points.
+     * @param tolerance  the tolerance.
+     *
+     * @return The number of points remaining.
+     */
+    static int simplify(int[] coords, int count, double tolerance) {
+        // remove repeated points (including the point repeated by a
+        // SEG_CLOSE segment)
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int x = coords[2 * i + 1];
+            int y = coords[2 * i + 2];
+            if (n > 0 && x == coords[2 * n - 1] && y == coords[2 * n]) {
+                continue;
+            }
+            coords[2 * n + 1] = x;
+            coords[2 * n + 2] = y;
+            n++;
+        }
+        while (n > 1 && coords[1] == coords[2 * n - 1]
+                && coords[2] == coords[2 * n]) {
+            n--;
+        }
+        if (n <= 3) {
+            return n;
+        }
+
+        // split the ring at the point furthest from the first point, and
+        // simplify both halves
+        int far = 1;
+        long farDistance = -1L;
+        for (int i = 1; i < n; i++) {
+            long dx = coords[2 * i + 1] - coords[1];
+            long dy = coords[2 * i + 2] - coords[2];
+            long d = dx * dx + dy * dy;
+            if (d > farDistance) {
+                far = i;
+                farDistance = d;
+            }
+        }
+        boolean[] keep = new boolean[n + 1];
+        keep[0] = true;
+        keep[far] = true;
+        keep[n] = true;
+        markPoints(coords, n, 0, far, tolerance, keep);
+        markPoints(coords, n, far, n, tolerance, keep);
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                coords[2 * kept + 1] = coords[2 * i + 1];
+                coords[2 * kept + 2] = coords[2 * i + 2];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Marks the points between two kept points that must be kept so that
+     * the simplified outline stays within the tolerance of the original
+     * (the Douglas-Peucker algorithm, with an explicit stack).
+     *
+     * @param coords  the point count followed by the coordinates.
+     * @param n  the number of points in the ring (index {@code n} refers to
+     *     the first point again).
+     * @param first  the index of the first kept point.
+     * @param last  the index of the last kept point.
+     * @param tolerance  the tolerance.
+     * @param keep  the flags for the points to keep.
+     */
+    private static void markPoints(int[] coords, int n, int first, int last,
+            double tolerance, boolean[] keep) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            if (b - a < 2) {
+                continue;
+            }
+            double ax = coords[2 * (a % n) + 1];
+            double ay = coords[2 * (a % n) + 2];
+            double bx = coords[2 * (b % n) + 1];
+            double by = coords[2 * (b % n) + 2];
+            double dx = bx - ax;
+            double dy = by - ay;
+            double length = Math.sqrt(dx * dx + dy * dy);
+            int furthest = -1;
+            double furthestDistance = tolerance;
+            for (int i = a + 1; i < b; i++) {
+                double px = coords[2 * i + 1] - ax;
+                double py = coords[2 * i + 2] - ay;
+                double d = length > 0.0
+                        ? Math.abs(px * dy - py * dx) / length
+                        : Math.sqrt(px * px + py * py);
+                if (d > furthestDistance) {
+                    furthest = i;
+                    furthestDistance = d;
+                }
+            }
+            if (furthest >= 0) {
+                keep[furthest] = true;
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = a;
+                stack[top++] = furthest;
+                stack[top++] = furthest;
+                stack[top++] = b;
+            }
+        }
+    }
+
+    /**
+     * A rectangular area that has not been written yet, because it might be
+     * merged with the next entity.
+     */
+    private final class PendingRectangle {
+
+        /** The entity that the area was started from. */
+        private final ChartEntity entity;
+
+        /** A flag that indicates whether another area has been merged. */
+        private boolean merged;
+
+        /** The left edge. */
+        private int x1;
+
+        /** The top edge. */
+        private int y1;
+
+        /** The right edge. */
+        private int x2;
+
+        /** The bottom edge. */
+        private int y2;
+
+        /** The tooltip text. */
+        private final String toolTip;
+
+        /** The URL. */
+        private final String url;
+
+        /**
+         * Creates a new rectangle.
+         *
+         * @param entity  the entity.
+         * @param x1  the left edge.
+         * @param y1  the top edge.
+         * @param x2  the right edge.
+         * @param y2  the bottom edge.
+         */
+        PendingRectangle(ChartEntity entity, int x1, int y1, int x2,
+                int y2) {
+            this.entity = entity;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.toolTip = entity.getToolTipText();
+            this.url = entity.getURLText();
+        }
+
+        /**
+         * Merges another rectangle into this one, if it has the same
+         * tooltip and URL and shares a complete edge with this rectangle.
+         *
+         * @param rx1  the left edge.
+         * @param ry1  the top edge.
+         * @param rx2  the right edge.
+         * @param ry2  the bottom edge.
+         * @param rToolTip  the tooltip text.
+         * @param rURL  the URL.
+         *
+         * @return A boolean indicating whether the rectangle was merged.
+         */
+        boolean merge(int rx1, int ry1, int rx2, int ry2, String rToolTip,
+                String rURL) {
+            if (!ObjectUtils.equal(this.toolTip, rToolTip)
+                    || !ObjectUtils.equal(this.url, rURL)) {
+                return false;
+            }
+            if (ry1 == this.y1 && ry2 == this.y2) {
+                if (rx1 == this.x2) {
+                    this.x2 = rx2;
+                    this.merged = true;
+                    return true;
+                }
+                if (rx2 == this.x1) {
+                    this.x1 = rx1;
+                    this.merged = true;
+                    return true;
+                }
+            }
+            if (rx1 == this.x1 && rx2 == this.x2) {
+                if (ry1 == this.y2) {
+                    this.y2 = ry2;
+                    this.merged = true;
+                    return true;
+                }
+                if (ry2 == this.y1) {
+                    this.y1 = ry1;
+                    this.merged = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Writes the area tag for the rectangle.  If no other area has been
+         * merged, the tag created by the entity is written.
+         *
+         * @param writer  the writer.
+         * @param lineSeparator  the line separator.
+         *
+         * @throws IOException if there are any I/O errors.
+         */
+        void write(Writer writer, String lineSeparator) throws IOException {
+            if (!this.merged) {
+                writeAreaTag(writer, this.entity, lineSeparator);
+                return;
+            }
+            writer.write("<area shape=\"rect\" coords=\"");
+            writer.write(this.x1 + "," + this.y1 + "," + this.x2 + ","
+                    + this.y2);
+            writer.write('"');
+            writeAttributes(writer, this.toolTip, this.url);
+            writer.write(lineSeparator);
+        }
+
+    }
+
+}
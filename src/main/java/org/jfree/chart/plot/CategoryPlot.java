@@ -197,6 +197,7 @@ import java.awt.Paint;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.geom.Area;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -217,6 +218,7 @@ import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeMap;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItemCollection;
 import org.jfree.chart.annotations.Annotation;
@@ -237,6 +239,7 @@ import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.event.RendererChangeListener;
+import org.jfree.chart.renderer.AbstractRenderer;
 import org.jfree.chart.renderer.category.AbstractCategoryItemRenderer;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
 import org.jfree.chart.renderer.category.CategoryItemRendererState;
@@ -248,6 +251,8 @@ import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
+import org.jfree.chart.util.RenderMonitor;
+import org.jfree.chart.util.RenderStage;
 import org.jfree.chart.util.ResourceBundleWrapper;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.chart.util.ShadowGenerator;
@@ -257,6 +262,7 @@ import org.jfree.data.Range;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.VersionedDataset;
 
 /**
  * A general plotting class that uses data from a {@link CategoryDataset} and
@@ -3487,6 +3493,31 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
     @Override
     public void draw(Graphics2D g2, Rectangle2D area, Point2D anchor,
             PlotState parentState, PlotRenderingInfo state) {
+        // read every versioned dataset from the snapshot that is current
+        // when drawing starts, even if a new one is published meanwhile
+        List<VersionedDataset> pinned = DatasetUtils.pinSnapshots(
+                this.datasets.values());
+        try {
+            drawPinned(g2, area, anchor, parentState, state);
+        }
+        finally {
+            DatasetUtils.releaseSnapshots(pinned);
+        }
+    }
+
+    /**
+     * Draws the plot, once the snapshots of the datasets have been pinned
+     * by {@link #draw(Graphics2D, Rectangle2D, Point2D, PlotState,
+     * PlotRenderingInfo)}.
+     *
+     * @param g2  the graphics device.
+     * @param area  the plot area.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param parentState  the parent state ({@code null} permitted).
+     * @param state  the rendering info ({@code null} permitted).
+     */
+    private void drawPinned(Graphics2D g2, Rectangle2D area, Point2D anchor,
+            PlotState parentState, PlotRenderingInfo state) {
 
         // if the plot area is too small, just return...
         boolean b1 = (area.getWidth() <= MINIMUM_WIDTH_TO_DRAW);
@@ -3509,7 +3540,20 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         insets.trim(area);
 
         // calculate the data area...
-        AxisSpace space = calculateAxisSpace(g2, area);
+        RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                ChartHints.KEY_RENDER_MONITOR);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.AXIS_SPACE, this);
+        }
+        AxisSpace space;
+        try {
+            space = calculateAxisSpace(g2, area);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.AXIS_SPACE, this);
+            }
+        }
         Rectangle2D dataArea = space.shrink(area, null);
         this.axisOffset.trim(dataArea);
         dataArea = integerise(dataArea);
@@ -3527,7 +3571,18 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
             drawBackground(g2, dataArea);
         }
 
-        Map axisStateMap = drawAxes(g2, area, dataArea, state);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.AXES, this);
+        }
+        Map axisStateMap;
+        try {
+            axisStateMap = drawAxes(g2, area, dataArea, state);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.AXES, this);
+            }
+        }
 
         // the anchor point is typically the point where the mouse last
         // clicked - the crosshairs will be driven off this point...
@@ -3628,7 +3683,17 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         }
 
         // draw the annotations (if any)...
-        drawAnnotations(g2, dataArea);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.ANNOTATIONS, this);
+        }
+        try {
+            drawAnnotations(g2, dataArea);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.ANNOTATIONS, this);
+            }
+        }
 
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage = this.shadowGenerator.createDropShadow(
@@ -3719,6 +3784,28 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         return result;
     }
     
+    /**
+     * Resolves the series styles that the renderers fill in from the drawing
+     * supplier, visiting the datasets and rows in the order that they are
+     * rendered.  The combined plots call this before drawing their subplots
+     * so that the supplier is never used by more than one thread.
+     */
+    void resolveSeriesStyles() {
+        for (int datasetIndex : getDatasetIndices(getDatasetRenderingOrder())) {
+            CategoryItemRenderer renderer = getRenderer(datasetIndex);
+            if (!(renderer instanceof AbstractRenderer)) {
+                continue;
+            }
+            int rowCount = getDataset(datasetIndex).getRowCount();
+            for (int i = 0; i < rowCount; i++) {
+                int row = this.rowRenderingOrder == SortOrder.ASCENDING
+                        ? i : rowCount - 1 - i;
+                SubplotDrawer.resolveSeriesStyles((AbstractRenderer) renderer,
+                        row);
+            }
+        }
+    }
+
     /**
      * Returns the indices of the non-null renderers for the plot, in the 
      * specified order.
@@ -3772,6 +3859,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
     protected Map drawAxes(Graphics2D g2, Rectangle2D plotArea, 
             Rectangle2D dataArea, PlotRenderingInfo plotState) {
 
+        RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                ChartHints.KEY_RENDER_MONITOR);
         AxisCollection axisCollection = new AxisCollection();
 
         // add domain axes to lists...
@@ -3799,8 +3888,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         while (iterator.hasNext()) {
             Axis axis = (Axis) iterator.next();
             if (axis != null) {
-                AxisState axisState = axis.draw(g2, cursor, plotArea, dataArea,
-                        RectangleEdge.TOP, plotState);
+                AxisState axisState = drawAxis(axis, g2, cursor, plotArea,
+                        dataArea, RectangleEdge.TOP, plotState, monitor);
                 cursor = axisState.getCursor();
                 axisStateMap.put(axis, axisState);
             }
@@ -3813,8 +3902,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         while (iterator.hasNext()) {
             Axis axis = (Axis) iterator.next();
             if (axis != null) {
-                AxisState axisState = axis.draw(g2, cursor, plotArea, dataArea,
-                        RectangleEdge.BOTTOM, plotState);
+                AxisState axisState = drawAxis(axis, g2, cursor, plotArea,
+                        dataArea, RectangleEdge.BOTTOM, plotState, monitor);
                 cursor = axisState.getCursor();
                 axisStateMap.put(axis, axisState);
             }
@@ -3827,8 +3916,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         while (iterator.hasNext()) {
             Axis axis = (Axis) iterator.next();
             if (axis != null) {
-                AxisState axisState = axis.draw(g2, cursor, plotArea, dataArea,
-                        RectangleEdge.LEFT, plotState);
+                AxisState axisState = drawAxis(axis, g2, cursor, plotArea,
+                        dataArea, RectangleEdge.LEFT, plotState, monitor);
                 cursor = axisState.getCursor();
                 axisStateMap.put(axis, axisState);
             }
@@ -3841,8 +3930,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         while (iterator.hasNext()) {
             Axis axis = (Axis) iterator.next();
             if (axis != null) {
-                AxisState axisState = axis.draw(g2, cursor, plotArea, dataArea,
-                        RectangleEdge.RIGHT, plotState);
+                AxisState axisState = drawAxis(axis, g2, cursor, plotArea,
+                        dataArea, RectangleEdge.RIGHT, plotState, monitor);
                 cursor = axisState.getCursor();
                 axisStateMap.put(axis, axisState);
             }
@@ -3879,53 +3968,164 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         if (hasData && renderer != null) {
 
             foundData = true;
-            CategoryItemRendererState state = renderer.initialise(g2, dataArea,
-                    this, index, info);
-            state.setCrosshairState(crosshairState);
-            int columnCount = currentDataset.getColumnCount();
-            int rowCount = currentDataset.getRowCount();
-            int passCount = renderer.getPassCount();
-            for (int pass = 0; pass < passCount; pass++) {
-                if (this.columnRenderingOrder == SortOrder.ASCENDING) {
-                    for (int column = 0; column < columnCount; column++) {
-                        if (this.rowRenderingOrder == SortOrder.ASCENDING) {
-                            for (int row = 0; row < rowCount; row++) {
-                                renderer.drawItem(g2, state, dataArea, this,
-                                        domainAxis, rangeAxis, currentDataset,
-                                        row, column, pass);
-                            }
+            RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                    ChartHints.KEY_RENDER_MONITOR);
+            if (monitor != null) {
+                monitor.stageStarted(RenderStage.DATASET, renderer);
+            }
+            try {
+                renderItems(g2, dataArea, index, info, crosshairState,
+                        renderer, currentDataset, domainAxis, rangeAxis,
+                        monitor);
+            }
+            finally {
+                if (monitor != null) {
+                    monitor.stageFinished(RenderStage.DATASET, renderer);
+                }
+            }
+        }
+        return foundData;
+
+    }
+
+    /**
+     * Draws the items in a dataset, for the {@code render()} method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the region in which the data is to be drawn.
+     * @param index  the dataset and renderer index.
+     * @param info  an optional object for collection dimension information.
+     * @param crosshairState  a state object for tracking crosshair info
+     *        ({@code null} permitted).
+     * @param renderer  the renderer.
+     * @param currentDataset  the dataset.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param monitor  the render monitor ({@code null} permitted).
+     */
+    private void renderItems(Graphics2D g2, Rectangle2D dataArea, int index,
+            PlotRenderingInfo info, CategoryCrosshairState crosshairState,
+            CategoryItemRenderer renderer, CategoryDataset currentDataset,
+            CategoryAxis domainAxis, ValueAxis rangeAxis,
+            RenderMonitor monitor) {
+        CategoryItemRendererState state = renderer.initialise(g2, dataArea,
+                this, index, info);
+        state.setCrosshairState(crosshairState);
+        int columnCount = currentDataset.getColumnCount();
+        int rowCount = currentDataset.getRowCount();
+        int passCount = renderer.getPassCount();
+        int[] columns = getVisibleColumns(g2, dataArea, domainAxis,
+                columnCount);
+        int firstColumn = columns[0];
+        int lastColumn = columns[1];
+        for (int pass = 0; pass < passCount; pass++) {
+            if (this.columnRenderingOrder == SortOrder.ASCENDING) {
+                for (int column = firstColumn; column <= lastColumn;
+                        column++) {
+                    if (this.rowRenderingOrder == SortOrder.ASCENDING) {
+                        for (int row = 0; row < rowCount; row++) {
+                            renderer.drawItem(g2, state, dataArea, this,
+                                    domainAxis, rangeAxis, currentDataset,
+                                    row, column, pass);
                         }
-                        else {
-                            for (int row = rowCount - 1; row >= 0; row--) {
-                                renderer.drawItem(g2, state, dataArea, this,
-                                        domainAxis, rangeAxis, currentDataset,
-                                        row, column, pass);
-                            }
+                    }
+                    else {
+                        for (int row = rowCount - 1; row >= 0; row--) {
+                            renderer.drawItem(g2, state, dataArea, this,
+                                    domainAxis, rangeAxis, currentDataset,
+                                    row, column, pass);
                         }
                     }
                 }
-                else {
-                    for (int column = columnCount - 1; column >= 0; column--) {
-                        if (this.rowRenderingOrder == SortOrder.ASCENDING) {
-                            for (int row = 0; row < rowCount; row++) {
-                                renderer.drawItem(g2, state, dataArea, this,
-                                        domainAxis, rangeAxis, currentDataset,
-                                        row, column, pass);
-                            }
+            }
+            else {
+                for (int column = lastColumn; column >= firstColumn;
+                        column--) {
+                    if (this.rowRenderingOrder == SortOrder.ASCENDING) {
+                        for (int row = 0; row < rowCount; row++) {
+                            renderer.drawItem(g2, state, dataArea, this,
+                                    domainAxis, rangeAxis, currentDataset,
+                                    row, column, pass);
                         }
-                        else {
-                            for (int row = rowCount - 1; row >= 0; row--) {
-                                renderer.drawItem(g2, state, dataArea, this,
-                                        domainAxis, rangeAxis, currentDataset,
-                                        row, column, pass);
-                            }
+                    }
+                    else {
+                        for (int row = rowCount - 1; row >= 0; row--) {
+                            renderer.drawItem(g2, state, dataArea, this,
+                                    domainAxis, rangeAxis, currentDataset,
+                                    row, column, pass);
                         }
                     }
                 }
             }
         }
-        return foundData;
+        if (monitor != null) {
+            int drawn = rowCount * Math.max(lastColumn - firstColumn + 1, 0);
+            monitor.itemsProcessed(renderer, drawn,
+                    rowCount * columnCount - drawn);
+        }
+    }
 
+    /**
+     * Returns the indices of the first and last columns that need to be
+     * passed to a renderer: all the columns or, if the
+     * {@link ChartHints#KEY_CULL_TO_CLIP} hint is set, the columns that lie
+     * within the margin around the current clip plus one column either side
+     * (so that lines joining neighbouring columns are complete).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param domainAxis  the domain axis.
+     * @param columnCount  the number of columns in the dataset.
+     *
+     * @return The first and last column indices.
+     */
+    private int[] getVisibleColumns(Graphics2D g2, Rectangle2D dataArea,
+            CategoryAxis domainAxis, int columnCount) {
+        int[] result = new int[] {0, columnCount - 1};
+        Number margin = (Number) g2.getRenderingHint(
+                ChartHints.KEY_CULL_TO_CLIP);
+        Shape clip = g2.getClip();
+        if (margin == null || clip == null || columnCount == 0) {
+            return result;
+        }
+        Area visibleArea = new Area(clip);
+        visibleArea.intersect(new Area(dataArea));
+        Rectangle2D bounds = visibleArea.getBounds2D();
+        if (bounds.isEmpty()) {
+            return result;
+        }
+        double m = margin.doubleValue();
+        double lower, upper;
+        if (this.orientation == PlotOrientation.VERTICAL) {
+            lower = bounds.getMinX() - m;
+            upper = bounds.getMaxX() + m;
+        }
+        else {
+            lower = bounds.getMinY() - m;
+            upper = bounds.getMaxY() + m;
+        }
+
+        // the categories are laid out in order along the axis
+        RectangleEdge edge = getDomainAxisEdge();
+        int first = columnCount;
+        for (int column = 0; column < columnCount; column++) {
+            if (domainAxis.getCategoryEnd(column, columnCount, dataArea,
+                    edge) >= lower) {
+                first = column;
+                break;
+            }
+        }
+        int last = -1;
+        for (int column = columnCount - 1; column >= 0; column--) {
+            if (domainAxis.getCategoryStart(column, columnCount, dataArea,
+                    edge) <= upper) {
+                last = column;
+                break;
+            }
+        }
+        result[0] = Math.max(first - 1, 0);
+        result[1] = Math.min(last + 1, columnCount - 1);
+        return result;
     }
 
     /**
@@ -4254,12 +4454,19 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
 
         // iterate through the datasets that map to the axis and get the union
         // of the ranges.
-        for (CategoryDataset d : mappedDatasets) {
-            CategoryItemRenderer r = getRendererForDataset(d);
-            if (r != null) {
-                result = Range.combine(result, r.findRangeBounds(d));
+        List<VersionedDataset> pinned = DatasetUtils.pinSnapshots(
+                mappedDatasets);
+        try {
+            for (CategoryDataset d : mappedDatasets) {
+                CategoryItemRenderer r = getRendererForDataset(d);
+                if (r != null) {
+                    result = Range.combine(result, r.findRangeBounds(d));
+                }
             }
         }
+        finally {
+            DatasetUtils.releaseSnapshots(pinned);
+        }
         return result;
     }
 
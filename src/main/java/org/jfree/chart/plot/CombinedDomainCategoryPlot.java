@@ -106,6 +106,9 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
     private transient Rectangle2D[] subplotAreas;
     // TODO:  move the above to the plot state
 
+    /** The last layout (discarded whenever the plot changes). */
+    private transient SubplotLayout layout;
+
     /**
      * Default constructor.
      */
@@ -444,8 +447,17 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
 
 
         // calculate the data area...
-        setFixedRangeAxisSpaceForSubplots(null);
-        AxisSpace space = calculateAxisSpace(g2, area);
+        AxisSpace space;
+        if (this.layout != null && this.layout.isValidFor(area, g2)) {
+            space = this.layout.getAxisSpace();
+            this.subplotAreas = this.layout.getSubplotAreas();
+        }
+        else {
+            setFixedRangeAxisSpaceForSubplots(null);
+            space = calculateAxisSpace(g2, area);
+            this.layout = new SubplotLayout(area, g2, space,
+                    this.subplotAreas);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
 
         // set the width and height of non-shared axis of all sub-plots
@@ -463,20 +475,14 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the subplots
-        for (int i = 0; i < this.subplots.size(); i++) {
-            CategoryPlot plot = (CategoryPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            Point2D subAnchor = null;
+        Point2D[] anchors = new Point2D[this.subplots.size()];
+        for (int i = 0; i < anchors.length; i++) {
             if (anchor != null && this.subplotAreas[i].contains(anchor)) {
-                subAnchor = anchor;
+                anchors[i] = anchor;
             }
-            plot.draw(g2, this.subplotAreas[i], subAnchor, parentState,
-                    subplotInfo);
         }
+        SubplotDrawer.draw(g2, this.subplots, this.subplotAreas, anchors,
+                parentState, info);
 
         if (info != null) {
             info.setDataArea(dataArea);
@@ -649,6 +655,18 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
         notifyListeners(event);
     }
 
+    /**
+     * Discards the cached layout and notifies all registered listeners that
+     * the plot has been modified.
+     *
+     * @param event  information about the change event.
+     */
+    @Override
+    public void notifyListeners(PlotChangeEvent event) {
+        this.layout = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Tests the plot for equality with an arbitrary object.
      *
@@ -692,6 +710,7 @@ public class CombinedDomainCategoryPlot extends CategoryPlot
             Plot child = (Plot) it.next();
             child.setParent(result);
         }
+        result.layout = null;
         return result;
 
     }
@@ -146,6 +146,9 @@ public class CombinedDomainXYPlot extends XYPlot
     // TODO:  the subplot areas needs to be moved out of the plot into the plot
     //        state
 
+    /** The last layout (discarded whenever the plot changes). */
+    private transient SubplotLayout layout;
+
     /**
      * Default constructor.
      */
@@ -478,8 +481,17 @@ public class CombinedDomainXYPlot extends XYPlot
         RectangleInsets insets = getInsets();
         insets.trim(area);
 
-        setFixedRangeAxisSpaceForSubplots(null);
-        AxisSpace space = calculateAxisSpace(g2, area);
+        AxisSpace space;
+        if (this.layout != null && this.layout.isValidFor(area, g2)) {
+            space = this.layout.getAxisSpace();
+            this.subplotAreas = this.layout.getSubplotAreas();
+        }
+        else {
+            setFixedRangeAxisSpaceForSubplots(null);
+            space = calculateAxisSpace(g2, area);
+            this.layout = new SubplotLayout(area, g2, space,
+                    this.subplotAreas);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
 
         // set the width and height of non-shared axis of all sub-plots
@@ -496,16 +508,12 @@ public class CombinedDomainXYPlot extends XYPlot
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the subplots
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
+        Point2D[] anchors = new Point2D[this.subplots.size()];
+        for (int i = 0; i < anchors.length; i++) {
+            anchors[i] = anchor;
         }
+        SubplotDrawer.draw(g2, this.subplots, this.subplotAreas, anchors,
+                parentState, info);
 
         if (info != null) {
             info.setDataArea(dataArea);
@@ -746,6 +754,18 @@ public class CombinedDomainXYPlot extends XYPlot
         notifyListeners(event);
     }
 
+    /**
+     * Discards the cached layout and notifies all registered listeners that
+     * the plot has been modified.
+     *
+     * @param event  information about the change event.
+     */
+    @Override
+    public void notifyListeners(PlotChangeEvent event) {
+        this.layout = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Tests this plot for equality with another object.
      *
@@ -796,6 +816,7 @@ public class CombinedDomainXYPlot extends XYPlot
             domainAxis.configure();
         }
 
+        result.layout = null;
         return result;
 
     }
@@ -103,6 +103,9 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotArea;  // TODO: move to plot state
 
+    /** The last layout (discarded whenever the plot changes). */
+    private transient SubplotLayout layout;
+
     /**
      * Default constructor.
      */
@@ -347,7 +350,16 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         insets.trim(area);
 
         // calculate the data area...
-        AxisSpace space = calculateAxisSpace(g2, area);
+        AxisSpace space;
+        if (this.layout != null && this.layout.isValidFor(area, g2)) {
+            space = this.layout.getAxisSpace();
+            this.subplotArea = this.layout.getSubplotAreas();
+        }
+        else {
+            space = calculateAxisSpace(g2, area);
+            this.layout = new SubplotLayout(area, g2, space,
+                    this.subplotArea);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
 
         // set the width and height of non-shared axis of all sub-plots
@@ -365,20 +377,14 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         parentState.getSharedAxisStates().put(axis, state);
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            CategoryPlot plot = (CategoryPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            Point2D subAnchor = null;
+        Point2D[] anchors = new Point2D[this.subplots.size()];
+        for (int i = 0; i < anchors.length; i++) {
             if (anchor != null && this.subplotArea[i].contains(anchor)) {
-                subAnchor = anchor;
+                anchors[i] = anchor;
             }
-            plot.draw(g2, this.subplotArea[i], subAnchor, parentState,
-                    subplotInfo);
         }
+        SubplotDrawer.draw(g2, this.subplots, this.subplotArea, anchors,
+                parentState, info);
 
         if (info != null) {
             info.setDataArea(dataArea);
@@ -512,6 +518,18 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
         notifyListeners(event);
     }
 
+    /**
+     * Discards the cached layout and notifies all registered listeners that
+     * the plot has been modified.
+     *
+     * @param event  information about the change event.
+     */
+    @Override
+    public void notifyListeners(PlotChangeEvent event) {
+        this.layout = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Tests the plot for equality with an arbitrary object.
      *
@@ -562,6 +580,7 @@ public class CombinedRangeCategoryPlot extends CategoryPlot
             rangeAxis.configure();
         }
 
+        result.layout = null;
         return result;
     }
 
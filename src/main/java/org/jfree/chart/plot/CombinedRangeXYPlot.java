@@ -142,6 +142,9 @@ public class CombinedRangeXYPlot extends XYPlot
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotAreas;
 
+    /** The last layout (discarded whenever the plot changes). */
+    private transient SubplotLayout layout;
+
     /**
      * Default constructor.
      */
@@ -416,7 +419,16 @@ public class CombinedRangeXYPlot extends XYPlot
         RectangleInsets insets = getInsets();
         insets.trim(area);
 
-        AxisSpace space = calculateAxisSpace(g2, area);
+        AxisSpace space;
+        if (this.layout != null && this.layout.isValidFor(area, g2)) {
+            space = this.layout.getAxisSpace();
+            this.subplotAreas = this.layout.getSubplotAreas();
+        }
+        else {
+            space = calculateAxisSpace(g2, area);
+            this.layout = new SubplotLayout(area, g2, space,
+                    this.subplotAreas);
+        }
         Rectangle2D dataArea = space.shrink(area, null);
         //this.axisOffset.trim(dataArea);
 
@@ -435,16 +447,12 @@ public class CombinedRangeXYPlot extends XYPlot
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
-            }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
+        Point2D[] anchors = new Point2D[this.subplots.size()];
+        for (int i = 0; i < anchors.length; i++) {
+            anchors[i] = anchor;
         }
+        SubplotDrawer.draw(g2, this.subplots, this.subplotAreas, anchors,
+                parentState, info);
 
         if (info != null) {
             info.setDataArea(dataArea);
@@ -721,6 +729,18 @@ public class CombinedRangeXYPlot extends XYPlot
         notifyListeners(event);
     }
 
+    /**
+     * Discards the cached layout and notifies all registered listeners that
+     * the plot has been modified.
+     *
+     * @param event  information about the change event.
+     */
+    @Override
+    public void notifyListeners(PlotChangeEvent event) {
+        this.layout = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Tests this plot for equality with another object.
      *
@@ -771,6 +791,7 @@ public class CombinedRangeXYPlot extends XYPlot
             rangeAxis.configure();
         }
 
+        result.layout = null;
         return result;
     }
 
@@ -119,6 +119,18 @@ public class CrosshairState {
         this.calculateDistanceInDataSpace = calculateDistanceInDataSpace;
     }
 
+    /**
+     * Returns the flag that controls whether the distance to the anchor point
+     * is calculated in data space (rather than Java2D space).
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    public boolean isCalculateDistanceInDataSpace() {
+        return this.calculateDistanceInDataSpace;
+    }
+
     /**
      * Returns the distance between the anchor point and the current crosshair
      * point.
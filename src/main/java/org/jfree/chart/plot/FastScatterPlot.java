@@ -73,6 +73,8 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Paint;
 import java.awt.RenderingHints;
 import java.awt.Shape;
@@ -80,32 +82,46 @@ import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.Executor;
 
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.axis.AxisSpace;
 import org.jfree.chart.axis.AxisState;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.axis.ValueTick;
 import org.jfree.chart.event.PlotChangeEvent;
+import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.util.ArrayUtils;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
+import org.jfree.chart.util.ParallelUtils;
+import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.ResourceBundleWrapper;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.data.Range;
 
 /**
- * A fast scatter plot.
+ * A fast scatter plot.  Each data point is drawn as a single pixel.  When the
+ * plot is drawn to an image or the screen, the points are counted into a
+ * pixel grid (split between several threads for large data sets) and the
+ * grid is written straight into the pixels of an image that is drawn in a
+ * single operation, rather than filling one rectangle per point.  A
+ * {@link PaintScale} can be set to colour each pixel by the number of points
+ * that fall on it, so that overplotting shows up as density.
  */
 public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         Zoomable, Cloneable, Serializable {
@@ -121,6 +137,12 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     /** The default grid line paint. */
     public static final Paint DEFAULT_GRIDLINE_PAINT = Color.lightGray;
 
+    /**
+     * The smallest number of data points that are counted in a separate task
+     * (if the {@link ChartHints#KEY_RENDER_EXECUTOR} hint is set).
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
     /** The data. */
     private float[][] data;
 
@@ -139,6 +161,15 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     /** The paint used to plot data points. */
     private transient Paint paint;
 
+    /**
+     * The paint scale used to colour each pixel according to the number of
+     * points falling on it ({@code null} to draw every point with the plot's
+     * paint).
+     *
+     * @since 1.6.0
+     */
+    private PaintScale densityPaintScale;
+
     /** A flag that controls whether the domain grid-lines are visible. */
     private boolean domainGridlinesVisible;
 
@@ -347,6 +378,37 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         fireChangeEvent();
     }
 
+    /**
+     * Returns the paint scale used to colour each pixel according to the
+     * number of data points that fall on it.  The default is {@code null}.
+     *
+     * @return The paint scale (possibly {@code null}).
+     *
+     * @see #setDensityPaintScale(PaintScale)
+     *
+     * @since 1.6.0
+     */
+    public PaintScale getDensityPaintScale() {
+        return this.densityPaintScale;
+    }
+
+    /**
+     * Sets the paint scale used to colour each pixel according to the number
+     * of data points that fall on it, and sends a {@link PlotChangeEvent} to
+     * all registered listeners.  If the scale is {@code null}, every point
+     * is drawn with the plot's paint (see {@link #getPaint()}).
+     *
+     * @param scale  the paint scale ({@code null} permitted).
+     *
+     * @see #getDensityPaintScale()
+     *
+     * @since 1.6.0
+     */
+    public void setDensityPaintScale(PaintScale scale) {
+        this.densityPaintScale = scale;
+        fireChangeEvent();
+    }
+
     /**
      * Returns {@code true} if the domain gridlines are visible, and
      * {@code false} otherwise.
@@ -583,34 +645,384 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     public void render(Graphics2D g2, Rectangle2D dataArea,
                        PlotRenderingInfo info, CrosshairState crosshairState) {
         g2.setPaint(this.paint);
-
-        // if the axes use a linear scale, you can uncomment the code below and
-        // switch to the alternative transX/transY calculation inside the loop
-        // that follows - it is a little bit faster then.
-        //
-        // int xx = (int) dataArea.getMinX();
-        // int ww = (int) dataArea.getWidth();
-        // int yy = (int) dataArea.getMaxY();
-        // int hh = (int) dataArea.getHeight();
-        // double domainMin = this.domainAxis.getLowerBound();
-        // double domainLength = this.domainAxis.getUpperBound() - domainMin;
-        // double rangeMin = this.rangeAxis.getLowerBound();
-        // double rangeLength = this.rangeAxis.getUpperBound() - rangeMin;
-
-        if (this.data != null) {
+        if (this.data == null) {
+            return;
+        }
+        AxisMapping xMapping = new AxisMapping(this.domainAxis, dataArea,
+                RectangleEdge.BOTTOM);
+        AxisMapping yMapping = new AxisMapping(this.rangeAxis, dataArea,
+                RectangleEdge.LEFT);
+        boolean raster = isRasterDevice(g2);
+        if (this.densityPaintScale == null && (!raster
+                || !(this.paint instanceof Color)
+                || getSourceOverAlpha(g2.getComposite()) < 0.0f)) {
             for (int i = 0; i < this.data[0].length; i++) {
                 float x = this.data[0][i];
                 float y = this.data[1][i];
-
-                //int transX = (int) (xx + ww * (x - domainMin) / domainLength);
-                //int transY = (int) (yy - hh * (y - rangeMin) / rangeLength);
-                int transX = (int) this.domainAxis.valueToJava2D(x, dataArea,
-                        RectangleEdge.BOTTOM);
-                int transY = (int) this.rangeAxis.valueToJava2D(y, dataArea,
-                        RectangleEdge.LEFT);
+                int transX = (int) xMapping.valueToJava2D(x);
+                int transY = (int) yMapping.valueToJava2D(y);
                 g2.fillRect(transX, transY, 1, 1);
             }
+            return;
+        }
+
+        // count the points falling on each pixel that can be visible (the
+        // pixels that overlap the data area)
+        int gx = (int) Math.ceil(dataArea.getMinX()) - 1;
+        int gy = (int) Math.ceil(dataArea.getMinY()) - 1;
+        int w = (int) Math.ceil(dataArea.getMaxX()) - gx;
+        int h = (int) Math.ceil(dataArea.getMaxY()) - gy;
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        Executor executor = (Executor) g2.getRenderingHint(
+                ChartHints.KEY_RENDER_EXECUTOR);
+        int[] counts = countPoints(xMapping, yMapping, gx, gy, w, h, 
+                executor);
+
+        BufferedImage image = null;
+        if (raster) {
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            int[] pixels = ((DataBufferInt) image.getRaster()
+                    .getDataBuffer()).getData();
+            if (!fillPixels(counts, g2.getComposite(), pixels)) {
+                image = null;
+            }
+        }
+        if (image == null) {
+            // draw one rectangle per occupied pixel
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    g2.setPaint(this.densityPaintScale.getPaint(counts[i]));
+                    g2.fillRect(gx + i % w, gy + i / w, 1, 1);
+                }
+            }
+            g2.setPaint(this.paint);
+            return;
+        }
+        Composite savedComposite = g2.getComposite();
+        Object savedInterpolation = g2.getRenderingHint(
+                RenderingHints.KEY_INTERPOLATION);
+        if (this.densityPaintScale == null) {
+            // the alpha for repeated points is already in the pixels
+            g2.setComposite(AlphaComposite.SrcOver);
+        }
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, gx, gy, null);
+        g2.setComposite(savedComposite);
+        if (savedInterpolation != null) {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    savedInterpolation);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the graphics target is an image or a screen,
+     * in which case the points can be drawn as an image without any loss of
+     * quality.  Printers (and other vector targets) receive one rectangle
+     * per point, as before.
+     *
+     * @param g2  the graphics target.
+     *
+     * @return A boolean.
+     */
+    private static boolean isRasterDevice(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null || gc.getDevice() == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_IMAGE_BUFFER
+                || type == GraphicsDevice.TYPE_RASTER_SCREEN;
+    }
+
+    /**
+     * Returns the alpha value for a source-over composite, or -1 for any
+     * other composite.
+     *
+     * @param composite  the composite.
+     *
+     * @return The alpha value.
+     */
+    private static float getSourceOverAlpha(Composite composite) {
+        if (composite instanceof AlphaComposite) {
+            AlphaComposite ac = (AlphaComposite) composite;
+            if (ac.getRule() == AlphaComposite.SRC_OVER) {
+                return ac.getAlpha();
+            }
+        }
+        return -1.0f;
+    }
+
+    /**
+     * Counts the data points falling on each pixel of a grid.  For large 
+     * datasets the points are split into sections that are counted as 
+     * separate tasks for the executor (if there is one), and the counts are
+     * added together afterwards.
+     *
+     * @param xMapping  the mapping for the x-values.
+     * @param yMapping  the mapping for the y-values.
+     * @param gx  the x-coordinate of the first pixel in the grid.
+     * @param gy  the y-coordinate of the first pixel in the grid.
+     * @param w  the width of the grid.
+     * @param h  the height of the grid.
+     * @param executor  the executor ({@code null} permitted).
+     *
+     * @return The counts, in rows.
+     */
+    private int[] countPoints(final AxisMapping xMapping,
+            final AxisMapping yMapping, final int gx, final int gy,
+            final int w, final int h, Executor executor) {
+        final float[] xData = this.data[0];
+        final float[] yData = this.data[1];
+        int taskCount = ParallelUtils.getTaskCount(executor, xData.length,
+                PARALLEL_THRESHOLD);
+        // other axes might not expect to be called from several threads
+        if (taskCount < 2 || !xMapping.linear || !yMapping.linear) {
+            return countPoints(xData, yData, 0, xData.length, xMapping,
+                    yMapping, gx, gy, w, h);
+        }
+        final int[][] partialCounts = new int[taskCount][];
+        final int chunkSize = (xData.length + taskCount - 1) / taskCount;
+        Runnable[] tasks = new Runnable[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            final int index = t;
+            tasks[t] = new Runnable() {
+                @Override
+                public void run() {
+                    int start = index * chunkSize;
+                    int end = Math.min(start + chunkSize, xData.length);
+                    partialCounts[index] = countPoints(xData, yData, start,
+                            end, xMapping, yMapping, gx, gy, w, h);
+                }
+            };
+        }
+        ParallelUtils.runAll(executor, tasks);
+        int[] result = partialCounts[0];
+        for (int t = 1; t < taskCount; t++) {
+            int[] counts = partialCounts[t];
+            for (int i = 0; i < result.length; i++) {
+                result[i] += counts[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the data points in a section of the data arrays falling on each
+     * pixel of a grid.
+     *
+     * @param xData  the x-values.
+     * @param yData  the y-values.
+     * @param start  the index of the first point.
+     * @param end  the index after the last point.
+     * @param xMapping  the mapping for the x-values.
+     * @param yMapping  the mapping for the y-values.
+     * @param gx  the x-coordinate of the first pixel in the grid.
+     * @param gy  the y-coordinate of the first pixel in the grid.
+     * @param w  the width of the grid.
+     * @param h  the height of the grid.
+     *
+     * @return The counts, in rows.
+     */
+    private static int[] countPoints(float[] xData, float[] yData, int start,
+            int end, AxisMapping xMapping, AxisMapping yMapping, int gx,
+            int gy, int w, int h) {
+        int[] counts = new int[w * h];
+        for (int i = start; i < end; i++) {
+            int px = (int) xMapping.valueToJava2D(xData[i]) - gx;
+            int py = (int) yMapping.valueToJava2D(yData[i]) - gy;
+            if (px >= 0 && px < w && py >= 0 && py < h) {
+                counts[py * w + px]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Writes the ARGB value for each pixel of the grid.  Without a density
+     * paint scale, the alpha for a pixel is the result of compositing the 
+     * plot's paint over itself once for each point, as if each point had 
+     * been filled separately.
+     *
+     * @param counts  the point counts.
+     * @param composite  the current composite.
+     * @param pixels  the pixels (one for each count).
+     *
+     * @return A boolean indicating whether or not the pixels were written
+     *     (if not, the pixels cannot be drawn as an image).
+     */
+    private boolean fillPixels(int[] counts, Composite composite,
+            int[] pixels) {
+        if (this.densityPaintScale != null) {
+            return fillDensityPixels(counts, pixels);
+        }
+        Color c = (Color) this.paint;
+        double alpha = c.getAlpha() / 255.0 * getSourceOverAlpha(composite);
+        int rgb = c.getRGB() & 0x00FFFFFF;
+        // the last entry applies to all higher counts
+        int[] table = new int[256];
+        for (int n = 1; n < table.length; n++) {
+            double a = 1.0 - Math.pow(1.0 - alpha, n);
+            table[n] = ((int) Math.round(a * 255.0) << 24) | rgb;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count > 0) {
+                pixels[i] = table[Math.min(count, table.length - 1)];
+            }
         }
+        return true;
+    }
+
+    /**
+     * Writes the ARGB value from the density paint scale for each pixel of
+     * the grid.  The scale is only asked for the paint for the counts that
+     * occur, and the tables used here are never larger than the grid, 
+     * however many points fall on one pixel.
+     *
+     * @param counts  the point counts.
+     * @param pixels  the pixels (one for each count).
+     *
+     * @return A boolean indicating whether or not the pixels were written
+     *     (if not, the scale returns paints that are not colors).
+     */
+    private boolean fillDensityPixels(int[] counts, int[] pixels) {
+        int max = 0;
+        for (int i = 0; i < counts.length; i++) {
+            max = Math.max(max, counts[i]);
+        }
+        if (max <= counts.length) {
+            // a table indexed by count, filled in as the counts occur
+            int[] table = new int[max + 1];
+            boolean[] known = new boolean[max + 1];
+            for (int i = 0; i < counts.length; i++) {
+                int count = counts[i];
+                if (count > 0) {
+                    if (!known[count]) {
+                        Paint p = this.densityPaintScale.getPaint(count);
+                        if (!(p instanceof Color)) {
+                            return false;
+                        }
+                        table[count] = ((Color) p).getRGB();
+                        known[count] = true;
+                    }
+                    pixels[i] = table[count];
+                }
+            }
+            return true;
+        }
+
+        // a few very high counts: search the distinct counts instead
+        int[] distinct = counts.clone();
+        Arrays.sort(distinct);
+        int n = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            int count = distinct[i];
+            if (count > 0 && (n == 0 || distinct[n - 1] != count)) {
+                distinct[n++] = count;
+            }
+        }
+        int[] colors = new int[n];
+        for (int k = 0; k < n; k++) {
+            Paint p = this.densityPaintScale.getPaint(distinct[k]);
+            if (!(p instanceof Color)) {
+                return false;
+            }
+            colors[k] = ((Color) p).getRGB();
+        }
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count > 0) {
+                pixels[i] = colors[Arrays.binarySearch(distinct, 0, n, 
+                        count)];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts data values to Java2D coordinates for one axis.  For a
+     * {@link NumberAxis} the calculation is done here, with the axis range
+     * and the data area looked up once rather than for every point (the
+     * arithmetic is the same, so the results are identical); other axes
+     * are asked to convert each value.
+     */
+    private static final class AxisMapping {
+
+        /** The axis. */
+        private final ValueAxis axis;
+
+        /** The data area. */
+        private final Rectangle2D area;
+
+        /** The axis edge. */
+        private final RectangleEdge edge;
+
+        /** Is the calculation done here? */
+        private final boolean linear;
+
+        /** Is the axis inverted? */
+        private final boolean inverted;
+
+        /** The lower bound of the axis range. */
+        private final double axisMin;
+
+        /** The length of the axis range. */
+        private final double axisLength;
+
+        /** The Java2D coordinate for the lower bound. */
+        private final double min;
+
+        /** The Java2D coordinate for the upper bound. */
+        private final double max;
+
+        /**
+         * Creates a new mapping.
+         *
+         * @param axis  the axis.
+         * @param area  the data area.
+         * @param edge  the axis edge.
+         */
+        AxisMapping(ValueAxis axis, Rectangle2D area, RectangleEdge edge) {
+            this.axis = axis;
+            this.area = area;
+            this.edge = edge;
+            this.linear = axis.getClass() == NumberAxis.class;
+            this.inverted = axis.isInverted();
+            Range range = axis.getRange();
+            this.axisMin = range.getLowerBound();
+            this.axisLength = range.getUpperBound() - range.getLowerBound();
+            if (RectangleEdge.isTopOrBottom(edge)) {
+                this.min = area.getX();
+                this.max = area.getMaxX();
+            }
+            else {
+                this.min = area.getMaxY();
+                this.max = area.getMinY();
+            }
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate.
+         */
+        double valueToJava2D(double value) {
+            if (!this.linear) {
+                return this.axis.valueToJava2D(value, this.area, this.edge);
+            }
+            if (this.inverted) {
+                return this.max - ((value - this.axisMin) / this.axisLength)
+                        * (this.max - this.min);
+            }
+            return this.min + ((value - this.axisMin) / this.axisLength)
+                    * (this.max - this.min);
+        }
+
     }
 
     /**
@@ -1054,6 +1466,10 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
                 that.rangeGridlineStroke)) {
             return false;
         }
+        if (!ObjectUtils.equal(this.densityPaintScale,
+                that.densityPaintScale)) {
+            return false;
+        }
         return true;
     }
 
@@ -1082,6 +1498,10 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
             clone.rangeAxis.setPlot(clone);
             clone.rangeAxis.addChangeListener(clone);
         }
+        if (this.densityPaintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.densityPaintScale;
+            clone.densityPaintScale = (PaintScale) pc.clone();
+        }
         return clone;
 
     }
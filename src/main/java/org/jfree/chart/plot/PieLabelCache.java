@@ -0,0 +1,114 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of pie label layouts.  Laying out the
+ * labels on one side of a {@link PiePlot} means wrapping every label into a
+ * text block and running the label distributor, and that work is repeated
+ * on every redraw even when nothing that affects the labels has changed (for
+ * example, when a chart is repainted for a mouse-over or an overlay).
+ * <p>
+ * The keys are supplied by the plot and must cover everything that the
+ * layout depends on (the label text, angles, fonts, paints, the label area
+ * and the font render context), so entries never need to be invalidated.
+ * This also means that a plot drawing several pies (as
+ * {@link MultiplePiePlot} does with a single {@link PiePlot}) finds the
+ * layout for each pie again on the next redraw.
+ */
+class PieLabelCache {
+
+    /** The maximum number of entries. */
+    private static final int CAPACITY = 256;
+
+    /** The entries, in least-recently-used order. */
+    private final Map<Object, List<PieLabelRecord>> entries;
+
+    /**
+     * Creates a new, empty cache.
+     */
+    PieLabelCache() {
+        this.entries = new LinkedHashMap<Object, List<PieLabelRecord>>(16,
+                0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Object, List<PieLabelRecord>> e) {
+                return size() > CAPACITY;
+            }
+        };
+    }
+
+    /**
+     * Returns the label records laid out for the specified key, or
+     * {@code null} if there is no such entry.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @return The records in drawing order (possibly {@code null}).
+     */
+    synchronized List<PieLabelRecord> get(Object key) {
+        return this.entries.get(key);
+    }
+
+    /**
+     * Adds an entry to the cache.  The records must already have been
+     * distributed, and must not be modified afterwards.
+     *
+     * @param key  the key ({@code null} not permitted).
+     * @param records  the records in drawing order ({@code null} not
+     *     permitted).
+     */
+    synchronized void put(Object key, List<PieLabelRecord> records) {
+        this.entries.put(key, Collections.unmodifiableList(
+                new ArrayList<PieLabelRecord>(records)));
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return The entry count.
+     */
+    synchronized int getEntryCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+}
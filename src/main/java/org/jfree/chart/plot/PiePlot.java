@@ -198,6 +198,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -469,6 +470,9 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
      */
     private AbstractPieLabelDistributor labelDistributor;
 
+    /** The label layouts from earlier drawings (created on demand). */
+    private transient PieLabelCache labelCache;
+
     /** The tooltip generator. */
     private PieToolTipGenerator toolTipGenerator;
 
@@ -2805,47 +2809,13 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                                   Rectangle2D plotArea, Rectangle2D linkArea,
                                   float maxLabelWidth, PiePlotState state) {
 
-        this.labelDistributor.clear();
-        double lGap = plotArea.getWidth() * this.labelGap;
-        double verticalLinkRadius = state.getLinkArea().getHeight() / 2.0;
-        for (int i = 0; i < leftKeys.getItemCount(); i++) {
-            String label = this.labelGenerator.generateSectionLabel(
-                    this.dataset, leftKeys.getKey(i));
-            if (label != null) {
-                TextBlock block = TextUtils.createTextBlock(label,
-                        this.labelFont, this.labelPaint, maxLabelWidth,
-                        new G2TextMeasurer(g2));
-                TextBox labelBox = new TextBox(block);
-                labelBox.setBackgroundPaint(this.labelBackgroundPaint);
-                labelBox.setOutlinePaint(this.labelOutlinePaint);
-                labelBox.setOutlineStroke(this.labelOutlineStroke);
-                if (this.shadowGenerator == null) {
-                    labelBox.setShadowPaint(this.labelShadowPaint);
-                }
-                else {
-                    labelBox.setShadowPaint(null);
-                }
-                labelBox.setInteriorGap(this.labelPadding);
-                double theta = Math.toRadians(
-                        leftKeys.getValue(i).doubleValue());
-                double baseY = state.getPieCenterY() - Math.sin(theta)
-                               * verticalLinkRadius;
-                double hh = labelBox.getHeight(g2);
-
-                this.labelDistributor.addPieLabelRecord(new PieLabelRecord(
-                        leftKeys.getKey(i), theta, baseY, labelBox, hh,
-                        lGap / 2.0 + lGap / 2.0 * -Math.cos(theta), 1.0
-                        - getLabelLinkDepth()
-                        + getExplodePercent(leftKeys.getKey(i))));
-            }
-        }
         double hh = plotArea.getHeight();
         double gap = hh * getInteriorGap();
-        this.labelDistributor.distributeLabels(plotArea.getMinY() + gap,
+        List<PieLabelRecord> records = layoutLabels(leftKeys, g2, plotArea,
+                maxLabelWidth, state, true, plotArea.getMinY() + gap,
                 hh - 2 * gap);
-        for (int i = 0; i < this.labelDistributor.getItemCount(); i++) {
-            drawLeftLabel(g2, state,
-                    this.labelDistributor.getPieLabelRecord(i));
+        for (PieLabelRecord record : records) {
+            drawLeftLabel(g2, state, record);
         }
     }
 
@@ -2864,49 +2834,119 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                                    float maxLabelWidth, PiePlotState state) {
 
         // draw the right labels...
-        this.labelDistributor.clear();
+        double hh = plotArea.getHeight();
+        double gap = 0.00; //hh * getInteriorGap();
+        List<PieLabelRecord> records = layoutLabels(keys, g2, plotArea,
+                maxLabelWidth, state, false, plotArea.getMinY() + gap,
+                hh - 2 * gap);
+        for (PieLabelRecord record : records) {
+            drawRightLabel(g2, state, record);
+        }
+
+    }
+
+    /**
+     * Returns the label records for the sections on one side of the pie,
+     * distributed within the label area.  Wrapping the labels and running
+     * the label distributor is relatively expensive, so the records are
+     * cached against everything that the layout depends on and reused for
+     * as long as none of it changes.
+     *
+     * @param keys  the keys and angles (to the middle of the section, in
+     *     degrees) for the sections on this side of the pie.
+     * @param g2  the graphics device.
+     * @param plotArea  the plot area.
+     * @param maxLabelWidth  the maximum label width.
+     * @param state  the state.
+     * @param left  {@code true} for the labels on the left side of the pie.
+     * @param minY  the y-coordinate for the top of the label area.
+     * @param height  the height of the label area.
+     *
+     * @return The records, in the order they should be drawn.
+     */
+    private List<PieLabelRecord> layoutLabels(KeyedValues keys,
+            Graphics2D g2, Rectangle2D plotArea, float maxLabelWidth,
+            PiePlotState state, boolean left, double minY, double height) {
+
         double lGap = plotArea.getWidth() * this.labelGap;
         double verticalLinkRadius = state.getLinkArea().getHeight() / 2.0;
-
-        for (int i = 0; i < keys.getItemCount(); i++) {
-            String label = this.labelGenerator.generateSectionLabel(
+        double linkDepth = getLabelLinkDepth();
+        Paint shadowPaint = null;
+        if (this.shadowGenerator == null) {
+            shadowPaint = this.labelShadowPaint;
+        }
+
+        // the key covers every input to the layout, including the labels
+        // themselves, so a cached layout can never be stale
+        int count = keys.getItemCount();
+        String[] labels = new String[count];
+        List<Object> cacheKey = new ArrayList<Object>(4 * count + 16);
+        for (int i = 0; i < count; i++) {
+            labels[i] = this.labelGenerator.generateSectionLabel(
                     this.dataset, keys.getKey(i));
+            if (labels[i] != null) {
+                cacheKey.add(keys.getKey(i));
+                cacheKey.add(labels[i]);
+                cacheKey.add(keys.getValue(i));
+                cacheKey.add(new Double(getExplodePercent(keys.getKey(i))));
+            }
+        }
+        cacheKey.add(Boolean.valueOf(left));
+        cacheKey.add(new Double(lGap));
+        cacheKey.add(new Double(state.getPieCenterY()));
+        cacheKey.add(new Double(verticalLinkRadius));
+        cacheKey.add(new Double(linkDepth));
+        cacheKey.add(new Double(minY));
+        cacheKey.add(new Double(height));
+        cacheKey.add(new Float(maxLabelWidth));
+        cacheKey.add(this.labelFont);
+        cacheKey.add(this.labelPaint);
+        cacheKey.add(this.labelBackgroundPaint);
+        cacheKey.add(this.labelOutlinePaint);
+        cacheKey.add(this.labelOutlineStroke);
+        cacheKey.add(shadowPaint);
+        cacheKey.add(this.labelPadding);
+        cacheKey.add(this.labelDistributor);
+        cacheKey.add(g2.getFontRenderContext());
+
+        if (this.labelCache == null) {
+            this.labelCache = new PieLabelCache();
+        }
+        List<PieLabelRecord> result = this.labelCache.get(cacheKey);
+        if (result != null) {
+            return result;
+        }
 
-            if (label != null) {
-                TextBlock block = TextUtils.createTextBlock(label,
+        double sign = left ? -1.0 : 1.0;
+        this.labelDistributor.clear();
+        for (int i = 0; i < count; i++) {
+            if (labels[i] != null) {
+                TextBlock block = TextUtils.createTextBlock(labels[i],
                         this.labelFont, this.labelPaint, maxLabelWidth,
                         new G2TextMeasurer(g2));
                 TextBox labelBox = new TextBox(block);
                 labelBox.setBackgroundPaint(this.labelBackgroundPaint);
                 labelBox.setOutlinePaint(this.labelOutlinePaint);
                 labelBox.setOutlineStroke(this.labelOutlineStroke);
-                if (this.shadowGenerator == null) {
-                    labelBox.setShadowPaint(this.labelShadowPaint);
-                }
-                else {
-                    labelBox.setShadowPaint(null);
-                }
+                labelBox.setShadowPaint(shadowPaint);
                 labelBox.setInteriorGap(this.labelPadding);
                 double theta = Math.toRadians(keys.getValue(i).doubleValue());
-                double baseY = state.getPieCenterY()
-                              - Math.sin(theta) * verticalLinkRadius;
+                double baseY = state.getPieCenterY() - Math.sin(theta)
+                        * verticalLinkRadius;
                 double hh = labelBox.getHeight(g2);
                 this.labelDistributor.addPieLabelRecord(new PieLabelRecord(
                         keys.getKey(i), theta, baseY, labelBox, hh,
-                        lGap / 2.0 + lGap / 2.0 * Math.cos(theta),
-                        1.0 - getLabelLinkDepth()
-                        + getExplodePercent(keys.getKey(i))));
+                        lGap / 2.0 + lGap / 2.0 * sign * Math.cos(theta),
+                        1.0 - linkDepth + getExplodePercent(keys.getKey(i))));
             }
         }
-        double hh = plotArea.getHeight();
-        double gap = 0.00; //hh * getInteriorGap();
-        this.labelDistributor.distributeLabels(plotArea.getMinY() + gap,
-                hh - 2 * gap);
+        this.labelDistributor.distributeLabels(minY, height);
+        result = new ArrayList<PieLabelRecord>();
         for (int i = 0; i < this.labelDistributor.getItemCount(); i++) {
-            drawRightLabel(g2, state,
-                    this.labelDistributor.getPieLabelRecord(i));
+            result.add(this.labelDistributor.getPieLabelRecord(i));
         }
-
+        this.labelCache.put(cacheKey, result);
+        return result;
     }
 
     /**
@@ -3410,6 +3450,7 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                 = (StrokeMap) this.sectionOutlineStrokeMap.clone();
         clone.explodePercentages 
                 = new TreeMap<Comparable, Double>(this.explodePercentages);
+        clone.labelCache = null;
         if (this.labelGenerator != null) {
             clone.labelGenerator = (PieSectionLabelGenerator) 
                     ObjectUtils.clone(this.labelGenerator);
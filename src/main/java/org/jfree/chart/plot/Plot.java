@@ -161,7 +161,9 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItemCollection;
 import org.jfree.chart.LegendItemSource;
 import org.jfree.chart.annotations.Annotation;
+import org.jfree.chart.axis.Axis;
 import org.jfree.chart.axis.AxisLocation;
+import org.jfree.chart.axis.AxisState;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.PlotEntity;
 import org.jfree.chart.event.AnnotationChangeEvent;
@@ -184,6 +186,8 @@ import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
+import org.jfree.chart.util.RenderMonitor;
+import org.jfree.chart.util.RenderStage;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.DatasetChangeListener;
@@ -1068,6 +1072,39 @@ public abstract class Plot implements AxisChangeListener,
         drawBackgroundImage(g2, area);
     }
 
+    /**
+     * Draws an axis for the {@code drawAxes()} method of a subclass,
+     * reporting it to the render monitor (if any) as a
+     * {@link RenderStage#AXIS} stage.
+     *
+     * @param axis  the axis.
+     * @param g2  the graphics device.
+     * @param cursor  the cursor location.
+     * @param plotArea  the plot area.
+     * @param dataArea  the data area.
+     * @param edge  the location of the axis.
+     * @param plotState  collects information about the plot ({@code null}
+     *                   permitted).
+     * @param monitor  the render monitor ({@code null} permitted).
+     *
+     * @return The axis state.
+     */
+    static AxisState drawAxis(Axis axis, Graphics2D g2, double cursor,
+            Rectangle2D plotArea, Rectangle2D dataArea, RectangleEdge edge,
+            PlotRenderingInfo plotState, RenderMonitor monitor) {
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.AXIS, axis);
+        }
+        try {
+            return axis.draw(g2, cursor, plotArea, dataArea, edge, plotState);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.AXIS, axis);
+            }
+        }
+    }
+
     /**
      * Fills the specified area with the background paint.
      *
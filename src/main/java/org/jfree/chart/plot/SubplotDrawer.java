@@ -0,0 +1,445 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.entity.StandardEntityCollection;
+import org.jfree.chart.renderer.AbstractRenderer;
+
+/**
+ * Draws the subplots of a combined plot.  By default the subplots are drawn
+ * one after the other, but when the graphics device carries an executor in
+ * the {@link ChartHints#KEY_SUBPLOT_EXECUTOR} hint (and is a raster target
+ * with a translate-only transform) the subplots after the first are drawn 
+ * concurrently, each to its own off-screen image with its own entity 
+ * collection, while the calling thread draws the first subplot directly.
+ * Each image covers only its subplot's area, widened by the plot outline
+ * and a small margin for tick labels that overhang the ends of an axis.
+ * The images are then composited, and the entities and subplot infos are 
+ * merged, in subplot order, so the output and the rendering info are the
+ * same as for serial drawing.
+ */
+final class SubplotDrawer {
+
+    /** 
+     * The margin (in Java2D units) added around each subplot area for an
+     * off-screen image.
+     */
+    private static final double LAYER_MARGIN = 16.0;
+
+    private SubplotDrawer() {
+        // no need to instantiate this
+    }
+
+    /**
+     * Draws the subplots.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param plots  the subplots ({@code null} not permitted).
+     * @param areas  the subplot areas ({@code null} not permitted).
+     * @param anchors  the anchor point for each subplot ({@code null} not
+     *     permitted, but may contain {@code null} entries).
+     * @param parentState  the state from the combined plot, holding the
+     *     state of the shared axis ({@code null} not permitted).
+     * @param info  collects drawing information ({@code null} permitted).
+     */
+    static void draw(Graphics2D g2, List<?> plots, Rectangle2D[] areas,
+            Point2D[] anchors, PlotState parentState, 
+            PlotRenderingInfo info) {
+        resolveSeriesStyles(plots);
+        Executor executor = (Executor) g2.getRenderingHint(
+                ChartHints.KEY_SUBPLOT_EXECUTOR);
+        Rectangle bounds = null;
+        if (executor != null && plots.size() > 1) {
+            bounds = getLayerBounds(g2);
+        }
+        if (bounds == null || bounds.isEmpty()) {
+            for (int i = 0; i < plots.size(); i++) {
+                drawSubplot(g2, (Plot) plots.get(i), areas[i], anchors[i],
+                        parentState, info);
+            }
+            return;
+        }
+
+        // the subplots don't draw nested plots concurrently, they would only
+        // compete with their siblings for the same threads
+        RenderingHints hints = g2.getRenderingHints();
+        hints.remove(ChartHints.KEY_SUBPLOT_EXECUTOR);
+        List<FutureTask<Layer>> tasks = new ArrayList<FutureTask<Layer>>();
+        for (int i = 1; i < plots.size(); i++) {
+            Plot plot = (Plot) plots.get(i);
+            Layer layer = new Layer(g2, hints, getSubplotBounds(bounds, plot,
+                    areas[i]), plot, areas[i], anchors[i], parentState, info);
+            FutureTask<Layer> task = new FutureTask<Layer>(layer);
+            try {
+                executor.execute(task);
+            }
+            catch (RejectedExecutionException e) {
+                task.run();
+            }
+            tasks.add(task);
+        }
+        g2.setRenderingHint(ChartHints.KEY_SUBPLOT_EXECUTOR, null);
+        try {
+            drawSubplot(g2, (Plot) plots.get(0), areas[0], anchors[0], 
+                    parentState, info);
+        }
+        finally {
+            g2.setRenderingHint(ChartHints.KEY_SUBPLOT_EXECUTOR, executor);
+        }
+        for (FutureTask<Layer> task : tasks) {
+            Layer layer = await(task);
+            if (!layer.bounds.isEmpty()) {
+                g2.drawImage(layer.image, layer.bounds.x, layer.bounds.y,
+                        null);
+            }
+            if (info != null) {
+                ChartRenderingInfo owner = info.getOwner();
+                info.addSubplotInfo(copy(layer.info, owner));
+                if (owner != null && owner.getEntityCollection() != null
+                        && layer.entities != null) {
+                    owner.getEntityCollection().addAll(layer.entities);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the series styles that the subplot renderers (including those
+     * of nested combined plots) fill in from the shared drawing supplier.
+     * The supplier isn't thread-safe, and the order in which it hands out
+     * its paints, strokes and shapes decides which series gets which, so 
+     * this is done on the calling thread, in subplot order, whether or not
+     * the subplots are then drawn concurrently.
+     *
+     * @param plots  the subplots ({@code null} not permitted).
+     */
+    private static void resolveSeriesStyles(List<?> plots) {
+        for (Object plot : plots) {
+            if (plot instanceof CombinedDomainXYPlot) {
+                resolveSeriesStyles(
+                        ((CombinedDomainXYPlot) plot).getSubplots());
+            }
+            else if (plot instanceof CombinedRangeXYPlot) {
+                resolveSeriesStyles(
+                        ((CombinedRangeXYPlot) plot).getSubplots());
+            }
+            else if (plot instanceof CombinedDomainCategoryPlot) {
+                resolveSeriesStyles(
+                        ((CombinedDomainCategoryPlot) plot).getSubplots());
+            }
+            else if (plot instanceof CombinedRangeCategoryPlot) {
+                resolveSeriesStyles(
+                        ((CombinedRangeCategoryPlot) plot).getSubplots());
+            }
+            else if (plot instanceof XYPlot) {
+                ((XYPlot) plot).resolveSeriesStyles();
+            }
+            else if (plot instanceof CategoryPlot) {
+                ((CategoryPlot) plot).resolveSeriesStyles();
+            }
+        }
+    }
+
+    /**
+     * Resolves the auto-populated styles for one series.
+     *
+     * @param renderer  the renderer ({@code null} not permitted).
+     * @param series  the series index.
+     */
+    static void resolveSeriesStyles(AbstractRenderer renderer, int series) {
+        renderer.lookupSeriesPaint(series);
+        renderer.lookupSeriesFillPaint(series);
+        renderer.lookupSeriesOutlinePaint(series);
+        renderer.lookupSeriesStroke(series);
+        renderer.lookupSeriesOutlineStroke(series);
+        renderer.lookupSeriesShape(series);
+    }
+
+    /**
+     * Draws one subplot directly on the graphics device.
+     *
+     * @param g2  the graphics device.
+     * @param plot  the subplot.
+     * @param area  the subplot area.
+     * @param anchor  the anchor ({@code null} permitted).
+     * @param parentState  the parent state.
+     * @param info  the combined plot info ({@code null} permitted).
+     */
+    private static void drawSubplot(Graphics2D g2, Plot plot, 
+            Rectangle2D area, Point2D anchor, PlotState parentState, 
+            PlotRenderingInfo info) {
+        PlotRenderingInfo subplotInfo = null;
+        if (info != null) {
+            subplotInfo = new PlotRenderingInfo(info.getOwner());
+            info.addSubplotInfo(subplotInfo);
+        }
+        plot.draw(g2, area, anchor, parentState, subplotInfo);
+    }
+
+    /**
+     * Returns the region (in user space, aligned to device pixels) covered 
+     * by the off-screen images, or {@code null} if the subplots can't be 
+     * drawn off-screen without changing the output.
+     *
+     * @param g2  the graphics device.
+     *
+     * @return The region (possibly {@code null}).
+     */
+    private static Rectangle getLayerBounds(Graphics2D g2) {
+        GraphicsDevice device = g2.getDeviceConfiguration().getDevice();
+        if (device.getType() == GraphicsDevice.TYPE_PRINTER) {
+            return null;
+        }
+        AffineTransform t = g2.getTransform();
+        if ((t.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+            return null;
+        }
+        double tx = t.getTranslateX();
+        double ty = t.getTranslateY();
+        if (tx != Math.rint(tx) || ty != Math.rint(ty)) {
+            return null;
+        }
+        Composite composite = g2.getComposite();
+        if (!AlphaComposite.SrcOver.equals(composite)) {
+            return null;
+        }
+        Rectangle bounds = g2.getDeviceConfiguration().getBounds();
+        bounds.translate(-(int) tx, -(int) ty);
+        Rectangle clip = g2.getClipBounds();
+        if (clip != null) {
+            bounds = bounds.intersection(clip);
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the region (in user space, aligned to device pixels) covered
+     * by the off-screen image for one subplot: the subplot area, widened by
+     * the plot outline and {@link #LAYER_MARGIN}, within the region that
+     * can be drawn.
+     *
+     * @param bounds  the region that can be drawn.
+     * @param plot  the subplot.
+     * @param area  the subplot area.
+     *
+     * @return The region (possibly empty).
+     */
+    private static Rectangle getSubplotBounds(Rectangle bounds, Plot plot,
+            Rectangle2D area) {
+        Rectangle2D r = new Rectangle2D.Double(area.getX() - LAYER_MARGIN,
+                area.getY() - LAYER_MARGIN,
+                area.getWidth() + 2 * LAYER_MARGIN,
+                area.getHeight() + 2 * LAYER_MARGIN);
+        Stroke outline = plot.getOutlineStroke();
+        if (plot.isOutlineVisible() && outline != null) {
+            // the outline is drawn around the data area, inside the area
+            r.add(outline.createStrokedShape(area).getBounds2D());
+        }
+        return r.getBounds().intersection(bounds);
+    }
+
+    /**
+     * Waits for a subplot to be drawn, rethrowing any exception thrown while
+     * drawing it.
+     *
+     * @param task  the task.
+     *
+     * @return The layer.
+     */
+    private static Layer await(FutureTask<Layer> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the rendering info for a subplot (and its own
+     * subplots) belonging to the specified owner.
+     *
+     * @param info  the info.
+     * @param owner  the owner ({@code null} permitted).
+     *
+     * @return The copy.
+     */
+    private static PlotRenderingInfo copy(PlotRenderingInfo info,
+            ChartRenderingInfo owner) {
+        PlotRenderingInfo result = new PlotRenderingInfo(owner);
+        result.setPlotArea(info.getPlotArea());
+        result.setDataArea(info.getDataArea());
+        for (int i = 0; i < info.getSubplotCount(); i++) {
+            result.addSubplotInfo(copy(info.getSubplotInfo(i), owner));
+        }
+        return result;
+    }
+
+    /**
+     * A subplot drawn to an off-screen image.
+     */
+    private static final class Layer implements Callable<Layer> {
+
+        private final RenderingHints hints;
+        private final Shape clip;
+        private final Font font;
+        private final Paint paint;
+        private final Stroke stroke;
+        private final Color background;
+        private final Rectangle bounds;
+        private final Plot plot;
+        private final Rectangle2D area;
+        private final Point2D anchor;
+        private final PlotState parentState;
+
+        /** The rendering info for the subplot (or {@code null}). */
+        private final PlotRenderingInfo info;
+
+        /** The entities created by the subplot (or {@code null}). */
+        private final EntityCollection entities;
+
+        /** The image, once the subplot has been drawn. */
+        private BufferedImage image;
+
+        /**
+         * Captures the graphics state to draw a subplot with.  This runs on
+         * the calling thread, before the first subplot changes the state.
+         */
+        Layer(Graphics2D g2, RenderingHints hints, Rectangle bounds, 
+                Plot plot, Rectangle2D area, Point2D anchor, 
+                PlotState parentState, PlotRenderingInfo parentInfo) {
+            this.hints = hints;
+            this.clip = g2.getClip();
+            this.font = g2.getFont();
+            this.paint = g2.getPaint();
+            this.stroke = g2.getStroke();
+            this.background = g2.getBackground();
+            this.bounds = bounds;
+            this.plot = plot;
+            this.area = area;
+            this.anchor = anchor;
+            this.parentState = parentState;
+            if (parentInfo != null) {
+                ChartRenderingInfo owner = null;
+                if (parentInfo.getOwner() != null) {
+                    EntityCollection ec = null;
+                    if (parentInfo.getOwner().getEntityCollection() != null) {
+                        ec = new StandardEntityCollection();
+                    }
+                    owner = new ChartRenderingInfo(ec);
+                }
+                this.info = new PlotRenderingInfo(owner);
+                this.entities = owner != null 
+                        ? owner.getEntityCollection() : null;
+            }
+            else {
+                this.info = null;
+                this.entities = null;
+            }
+        }
+
+        @Override
+        public Layer call() {
+            // a subplot outside the region that can be drawn is still drawn
+            // (with an empty clip) for its rendering info and entities
+            boolean empty = this.bounds.isEmpty();
+            BufferedImage img = new BufferedImage(
+                    Math.max(this.bounds.width, 1),
+                    Math.max(this.bounds.height, 1),
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = img.createGraphics();
+            try {
+                g2.translate(-this.bounds.x, -this.bounds.y);
+                g2.setRenderingHints(this.hints);
+                g2.setClip(this.clip);
+                if (empty) {
+                    g2.setClip(this.bounds.x, this.bounds.y, 0, 0);
+                }
+                g2.setFont(this.font);
+                g2.setPaint(this.paint);
+                g2.setStroke(this.stroke);
+                g2.setBackground(this.background);
+                this.plot.draw(g2, this.area, this.anchor, this.parentState,
+                        this.info);
+            }
+            finally {
+                g2.dispose();
+            }
+            this.image = img;
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import org.jfree.chart.axis.AxisSpace;
+
+/**
+ * The layout of a combined plot: the space reserved for the axes and the
+ * area allocated to each subplot.  Working this out means asking the shared
+ * axis and every subplot axis to measure its tick labels, and the result
+ * only depends on the plot area, the font render context and the state of
+ * the plot itself.  The combined plots keep the last layout and discard it
+ * whenever they send a {@link org.jfree.chart.event.PlotChangeEvent}, so a
+ * redraw at the same size (for example, for a mouse-over or an overlay)
+ * skips the measuring.
+ * <p>
+ * Instances are immutable; the subplot areas are copied on the way in and
+ * on the way out because the subplots trim them in place while drawing.
+ */
+final class SubplotLayout {
+
+    /** The plot area (after the insets have been removed). */
+    private final Rectangle2D area;
+
+    /** The font render context that the layout was measured with. */
+    private final FontRenderContext frc;
+
+    /** The space reserved for the axes. */
+    private final AxisSpace space;
+
+    /** The subplot areas. */
+    private final Rectangle2D[] subplotAreas;
+
+    /**
+     * Creates a new layout.
+     *
+     * @param area  the plot area ({@code null} not permitted).
+     * @param g2  the graphics device the layout was measured on 
+     *     ({@code null} not permitted).
+     * @param space  the axis space ({@code null} not permitted).
+     * @param subplotAreas  the subplot areas ({@code null} not permitted).
+     */
+    SubplotLayout(Rectangle2D area, Graphics2D g2, AxisSpace space,
+            Rectangle2D[] subplotAreas) {
+        this.area = (Rectangle2D) area.clone();
+        this.frc = g2.getFontRenderContext();
+        this.space = copy(space);
+        this.subplotAreas = copy(subplotAreas);
+    }
+
+    /**
+     * Returns {@code true} if this layout can be reused for drawing in the
+     * specified area on the specified graphics device.
+     *
+     * @param area  the plot area ({@code null} not permitted).
+     * @param g2  the graphics device ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    boolean isValidFor(Rectangle2D area, Graphics2D g2) {
+        return this.area.equals(area) 
+                && this.frc.equals(g2.getFontRenderContext());
+    }
+
+    /**
+     * Returns a copy of the space reserved for the axes.
+     *
+     * @return The axis space.
+     */
+    AxisSpace getAxisSpace() {
+        return copy(this.space);
+    }
+
+    /**
+     * Returns a copy of the subplot areas.
+     *
+     * @return The subplot areas.
+     */
+    Rectangle2D[] getSubplotAreas() {
+        return copy(this.subplotAreas);
+    }
+
+    private static AxisSpace copy(AxisSpace space) {
+        AxisSpace result = new AxisSpace();
+        result.setTop(space.getTop());
+        result.setBottom(space.getBottom());
+        result.setLeft(space.getLeft());
+        result.setRight(space.getRight());
+        return result;
+    }
+
+    private static Rectangle2D[] copy(Rectangle2D[] areas) {
+        Rectangle2D[] result = new Rectangle2D[areas.length];
+        for (int i = 0; i < areas.length; i++) {
+            result[i] = (Rectangle2D) areas[i].clone();
+        }
+        return result;
+    }
+
+}
@@ -245,6 +245,7 @@ import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.geom.Area;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -265,6 +266,7 @@ import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeMap;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 
 import org.jfree.chart.LegendItem;
@@ -272,6 +274,7 @@ import org.jfree.chart.LegendItemCollection;
 import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
 import org.jfree.chart.annotations.XYAnnotationBoundsInfo;
+import org.jfree.chart.annotations.XYAnnotationIndex;
 import org.jfree.chart.axis.Axis;
 import org.jfree.chart.axis.AxisCollection;
 import org.jfree.chart.axis.AxisLocation;
@@ -285,6 +288,7 @@ import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.event.RendererChangeListener;
+import org.jfree.chart.renderer.AbstractRenderer;
 import org.jfree.chart.renderer.RendererUtils;
 import org.jfree.chart.renderer.xy.AbstractXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
@@ -297,12 +301,16 @@ import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
+import org.jfree.chart.util.RenderMonitor;
+import org.jfree.chart.util.RenderStage;
 import org.jfree.chart.util.ResourceBundleWrapper;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.chart.util.ShadowGenerator;
+import org.jfree.data.DomainOrder;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.DatasetUtils;
+import org.jfree.data.general.VersionedDataset;
 import org.jfree.data.xy.XYDataset;
 
 /**
@@ -545,6 +553,12 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
      */
     private List<XYAnnotation> annotations;
 
+    /**
+     * An index of the annotations, used to skip annotations that are
+     * outside the data area (created when first needed).
+     */
+    private transient XYAnnotationIndex annotationIndex;
+
     /** The paint used for the domain tick bands (if any). */
     private transient Paint domainTickBandPaint;
 
@@ -2884,6 +2898,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         Args.nullNotPermitted(annotation, "annotation");
         this.annotations.add(annotation);
         annotation.addChangeListener(this);
+        invalidateAnnotationIndex();
         if (notify) {
             fireChangeEvent();
         }
@@ -2919,6 +2934,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         Args.nullNotPermitted(annotation, "annotation");
         boolean removed = this.annotations.remove(annotation);
         annotation.removeChangeListener(this);
+        invalidateAnnotationIndex();
         if (removed && notify) {
             fireChangeEvent();
         }
@@ -2949,9 +2965,19 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             annotation.removeChangeListener(this);
         }
         this.annotations.clear();
+        invalidateAnnotationIndex();
         fireChangeEvent();
     }
 
+    /**
+     * Marks the annotation index as out of date.
+     */
+    private void invalidateAnnotationIndex() {
+        if (this.annotationIndex != null) {
+            this.annotationIndex.invalidate();
+        }
+    }
+
     /**
      * Returns the shadow generator for the plot, if any.
      *
@@ -3114,6 +3140,31 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     @Override
     public void draw(Graphics2D g2, Rectangle2D area, Point2D anchor,
             PlotState parentState, PlotRenderingInfo info) {
+        // read every versioned dataset from the snapshot that is current
+        // when drawing starts, even if a new one is published meanwhile
+        List<VersionedDataset> pinned = DatasetUtils.pinSnapshots(
+                this.datasets.values());
+        try {
+            drawPinned(g2, area, anchor, parentState, info);
+        }
+        finally {
+            DatasetUtils.releaseSnapshots(pinned);
+        }
+    }
+
+    /**
+     * Draws the plot, once the snapshots of the datasets have been pinned
+     * by {@link #draw(Graphics2D, Rectangle2D, Point2D, PlotState,
+     * PlotRenderingInfo)}.
+     *
+     * @param g2  the graphics device.
+     * @param area  the plot area.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param parentState  the parent state ({@code null} permitted).
+     * @param info  the rendering info ({@code null} permitted).
+     */
+    private void drawPinned(Graphics2D g2, Rectangle2D area, Point2D anchor,
+            PlotState parentState, PlotRenderingInfo info) {
 
         // if the plot area is too small, just return...
         boolean b1 = (area.getWidth() <= MINIMUM_WIDTH_TO_DRAW);
@@ -3131,7 +3182,20 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         RectangleInsets insets = getInsets();
         insets.trim(area);
 
-        AxisSpace space = calculateAxisSpace(g2, area);
+        RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                ChartHints.KEY_RENDER_MONITOR);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.AXIS_SPACE, this);
+        }
+        AxisSpace space;
+        try {
+            space = calculateAxisSpace(g2, area);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.AXIS_SPACE, this);
+            }
+        }
         Rectangle2D dataArea = space.shrink(area, null);
         this.axisOffset.trim(dataArea);
 
@@ -3146,7 +3210,18 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
         // draw the plot background and axes...
         drawBackground(g2, dataArea);
-        Map axisStateMap = drawAxes(g2, area, dataArea, info);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.AXES, this);
+        }
+        Map axisStateMap;
+        try {
+            axisStateMap = drawAxes(g2, area, dataArea, info);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.AXES, this);
+            }
+        }
 
         PlotOrientation orient = getOrientation();
 
@@ -3258,13 +3333,23 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         List<Integer> datasetIndices = getDatasetIndices(order);
 
         // draw background annotations
-        for (int i : rendererIndices) {
-            XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
-                ValueAxis domainAxis = getDomainAxisForDataset(i);
-                ValueAxis rangeAxis = getRangeAxisForDataset(i);
-                renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
-                        Layer.BACKGROUND, info);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.ANNOTATIONS, this);
+        }
+        try {
+            for (int i : rendererIndices) {
+                XYItemRenderer renderer = getRenderer(i);
+                if (renderer != null) {
+                    ValueAxis domainAxis = getDomainAxisForDataset(i);
+                    ValueAxis rangeAxis = getRangeAxisForDataset(i);
+                    renderer.drawAnnotations(g2, dataArea, domainAxis,
+                            rangeAxis, Layer.BACKGROUND, info);
+                }
+            }
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.ANNOTATIONS, this);
             }
         }
 
@@ -3276,13 +3361,23 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
 
         // draw foreground annotations
-        for (int i : rendererIndices) {
-            XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.ANNOTATIONS, this);
+        }
+        try {
+            for (int i : rendererIndices) {
+                XYItemRenderer renderer = getRenderer(i);
+                if (renderer != null) {
                     ValueAxis domainAxis = getDomainAxisForDataset(i);
                     ValueAxis rangeAxis = getRangeAxisForDataset(i);
-                renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
-                            Layer.FOREGROUND, info);
+                    renderer.drawAnnotations(g2, dataArea, domainAxis,
+                            rangeAxis, Layer.FOREGROUND, info);
+                }
+            }
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.ANNOTATIONS, this);
             }
         }
 
@@ -3339,7 +3434,17 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
         }
 
-        drawAnnotations(g2, dataArea, info);
+        if (monitor != null) {
+            monitor.stageStarted(RenderStage.ANNOTATIONS, this);
+        }
+        try {
+            drawAnnotations(g2, dataArea, info);
+        }
+        finally {
+            if (monitor != null) {
+                monitor.stageFinished(RenderStage.ANNOTATIONS, this);
+            }
+        }
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage
                     = this.shadowGenerator.createDropShadow(dataImage);
@@ -3379,6 +3484,30 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         return result;
     }
     
+    /**
+     * Resolves the series styles that the renderers fill in from the drawing
+     * supplier, visiting the datasets and series in the order that they are
+     * rendered.  The combined plots call this before drawing their subplots
+     * so that the supplier is never used by more than one thread.
+     */
+    void resolveSeriesStyles() {
+        for (int datasetIndex : getDatasetIndices(getDatasetRenderingOrder())) {
+            XYDataset dataset = getDataset(datasetIndex);
+            XYItemRenderer renderer = getRendererForDataset(dataset);
+            if (!(renderer instanceof AbstractRenderer)) {
+                continue;
+            }
+            int seriesCount = dataset.getSeriesCount();
+            for (int i = 0; i < seriesCount; i++) {
+                int series = this.seriesRenderingOrder 
+                        == SeriesRenderingOrder.REVERSE 
+                        ? seriesCount - 1 - i : i;
+                SubplotDrawer.resolveSeriesStyles((AbstractRenderer) renderer,
+                        series);
+            }
+        }
+    }
+
     private List<Integer> getRendererIndices(DatasetRenderingOrder order) {
         List<Integer> result = new ArrayList<Integer>();
         for (Entry<Integer, XYItemRenderer> entry : this.renderers.entrySet()) {
@@ -3606,6 +3735,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     protected Map<Axis, AxisState> drawAxes(Graphics2D g2, Rectangle2D plotArea,
             Rectangle2D dataArea, PlotRenderingInfo plotState) {
 
+        RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                ChartHints.KEY_RENDER_MONITOR);
         AxisCollection axisCollection = new AxisCollection();
 
         // add domain axes to lists...
@@ -3632,8 +3763,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         Iterator iterator = axisCollection.getAxesAtTop().iterator();
         while (iterator.hasNext()) {
             ValueAxis axis = (ValueAxis) iterator.next();
-            AxisState info = axis.draw(g2, cursor, plotArea, dataArea,
-                    RectangleEdge.TOP, plotState);
+            AxisState info = drawAxis(axis, g2, cursor, plotArea,
+                    dataArea, RectangleEdge.TOP, plotState, monitor);
             cursor = info.getCursor();
             axisStateMap.put(axis, info);
         }
@@ -3644,8 +3775,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         iterator = axisCollection.getAxesAtBottom().iterator();
         while (iterator.hasNext()) {
             ValueAxis axis = (ValueAxis) iterator.next();
-            AxisState info = axis.draw(g2, cursor, plotArea, dataArea,
-                    RectangleEdge.BOTTOM, plotState);
+            AxisState info = drawAxis(axis, g2, cursor, plotArea,
+                    dataArea, RectangleEdge.BOTTOM, plotState, monitor);
             cursor = info.getCursor();
             axisStateMap.put(axis, info);
         }
@@ -3656,8 +3787,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         iterator = axisCollection.getAxesAtLeft().iterator();
         while (iterator.hasNext()) {
             ValueAxis axis = (ValueAxis) iterator.next();
-            AxisState info = axis.draw(g2, cursor, plotArea, dataArea,
-                    RectangleEdge.LEFT, plotState);
+            AxisState info = drawAxis(axis, g2, cursor, plotArea,
+                    dataArea, RectangleEdge.LEFT, plotState, monitor);
             cursor = info.getCursor();
             axisStateMap.put(axis, info);
         }
@@ -3668,8 +3799,8 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         iterator = axisCollection.getAxesAtRight().iterator();
         while (iterator.hasNext()) {
             ValueAxis axis = (ValueAxis) iterator.next();
-            AxisState info = axis.draw(g2, cursor, plotArea, dataArea,
-                    RectangleEdge.RIGHT, plotState);
+            AxisState info = drawAxis(axis, g2, cursor, plotArea,
+                    dataArea, RectangleEdge.RIGHT, plotState, monitor);
             cursor = info.getCursor();
             axisStateMap.put(axis, info);
         }
@@ -3713,68 +3844,438 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                 }
             }
 
-            XYItemRendererState state = renderer.initialise(g2, dataArea, this,
-                    dataset, info);
-            int passCount = renderer.getPassCount();
-
-            SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
-            if (seriesOrder == SeriesRenderingOrder.REVERSE) {
-                //render series in reverse order
-                for (int pass = 0; pass < passCount; pass++) {
-                    int seriesCount = dataset.getSeriesCount();
-                    for (int series = seriesCount - 1; series >= 0; series--) {
-                        int firstItem = 0;
-                        int lastItem = dataset.getItemCount(series) - 1;
-                        if (lastItem == -1) {
-                            continue;
-                        }
-                        if (state.getProcessVisibleItemsOnly()) {
-                            int[] itemBounds = RendererUtils.findLiveItems(
-                                    dataset, series, xAxis.getLowerBound(),
-                                    xAxis.getUpperBound());
-                            firstItem = Math.max(itemBounds[0] - 1, 0);
-                            lastItem = Math.min(itemBounds[1] + 1, lastItem);
-                        }
+            RenderMonitor monitor = (RenderMonitor) g2.getRenderingHint(
+                    ChartHints.KEY_RENDER_MONITOR);
+            if (monitor != null) {
+                monitor.stageStarted(RenderStage.DATASET, renderer);
+            }
+            try {
+                renderItems(g2, dataArea, index, info, crosshairState,
+                        renderer, dataset, xAxis, yAxis, monitor);
+            }
+            finally {
+                if (monitor != null) {
+                    monitor.stageFinished(RenderStage.DATASET, renderer);
+                }
+            }
+        }
+        return foundData;
+    }
+
+    /**
+     * Draws the items in a dataset, for the {@code render()} method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the region in which the data is to be drawn.
+     * @param index  the dataset index.
+     * @param info  an optional object for collection dimension information.
+     * @param crosshairState  collects crosshair information
+     *                        ({@code null} permitted).
+     * @param renderer  the renderer.
+     * @param dataset  the dataset.
+     * @param xAxis  the domain axis.
+     * @param yAxis  the range axis.
+     * @param monitor  the render monitor ({@code null} permitted).
+     */
+    private void renderItems(Graphics2D g2, Rectangle2D dataArea, int index,
+            PlotRenderingInfo info, CrosshairState crosshairState,
+            XYItemRenderer renderer, XYDataset dataset, ValueAxis xAxis,
+            ValueAxis yAxis, RenderMonitor monitor) {
+        int drawn = 0;
+        int culled = 0;
+        XYItemRendererState state = renderer.initialise(g2, dataArea, this,
+                dataset, info);
+        int passCount = renderer.getPassCount();
+
+        // the crosshair point is only tracked while a crosshair is visible.
+        // Where possible it is found by a search of the dataset after
+        // drawing, and otherwise the renderer updates it item by item (a
+        // renderer given a state with no anchor ignores the updates)
+        boolean trackCrosshair = isDomainCrosshairVisible()
+                || isRangeCrosshairVisible();
+        boolean locateCrosshair = trackCrosshair && isCrosshairLocatable(
+                renderer, dataset, crosshairState);
+        CrosshairState itemCrosshairState = trackCrosshair && !locateCrosshair
+                ? crosshairState : new CrosshairState();
+        Range visible = getVisibleDomainRange(g2, dataArea, xAxis);
+
+        SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
+        if (seriesOrder == SeriesRenderingOrder.REVERSE) {
+            //render series in reverse order
+            for (int pass = 0; pass < passCount; pass++) {
+                int seriesCount = dataset.getSeriesCount();
+                for (int series = seriesCount - 1; series >= 0; series--) {
+                    int firstItem = 0;
+                    int lastItem = dataset.getItemCount(series) - 1;
+                    if (lastItem == -1) {
+                        continue;
+                    }
+                    if (state.getProcessVisibleItemsOnly()) {
+                        int[] itemBounds = RendererUtils.findLiveItems(
+                                dataset, series, visible.getLowerBound(),
+                                visible.getUpperBound());
+                        firstItem = Math.max(itemBounds[0] - 1, 0);
+                        lastItem = Math.min(itemBounds[1] + 1, lastItem);
+                    }
+                    if (monitor != null && pass == 0) {
+                        int n = Math.max(lastItem - firstItem + 1, 0);
+                        drawn += n;
+                        culled += dataset.getItemCount(series) - n;
+                    }
+                    if (monitor != null) {
+                        monitor.stageStarted(RenderStage.SERIES, renderer);
+                    }
+                    try {
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem;
+                                item++) {
                             renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
+                                    this, xAxis, yAxis, dataset, series,
+                                    item, itemCrosshairState, pass);
                         }
                         state.endSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                     }
+                    finally {
+                        if (monitor != null) {
+                            monitor.stageFinished(RenderStage.SERIES,
+                                    renderer);
+                        }
+                    }
                 }
             }
-            else {
-                //render series in forward order
-                for (int pass = 0; pass < passCount; pass++) {
-                    int seriesCount = dataset.getSeriesCount();
-                    for (int series = 0; series < seriesCount; series++) {
-                        int firstItem = 0;
-                        int lastItem = dataset.getItemCount(series) - 1;
-                        if (state.getProcessVisibleItemsOnly()) {
-                            int[] itemBounds = RendererUtils.findLiveItems(
-                                    dataset, series, xAxis.getLowerBound(),
-                                    xAxis.getUpperBound());
-                            firstItem = Math.max(itemBounds[0] - 1, 0);
-                            lastItem = Math.min(itemBounds[1] + 1, lastItem);
-                        }
+        }
+        else {
+            //render series in forward order
+            for (int pass = 0; pass < passCount; pass++) {
+                int seriesCount = dataset.getSeriesCount();
+                for (int series = 0; series < seriesCount; series++) {
+                    int firstItem = 0;
+                    int lastItem = dataset.getItemCount(series) - 1;
+                    if (state.getProcessVisibleItemsOnly()) {
+                        int[] itemBounds = RendererUtils.findLiveItems(
+                                dataset, series, visible.getLowerBound(),
+                                visible.getUpperBound());
+                        firstItem = Math.max(itemBounds[0] - 1, 0);
+                        lastItem = Math.min(itemBounds[1] + 1, lastItem);
+                    }
+                    if (monitor != null && pass == 0) {
+                        int n = Math.max(lastItem - firstItem + 1, 0);
+                        drawn += n;
+                        culled += dataset.getItemCount(series) - n;
+                    }
+                    if (monitor != null) {
+                        monitor.stageStarted(RenderStage.SERIES, renderer);
+                    }
+                    try {
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem;
+                                item++) {
                             renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
+                                    this, xAxis, yAxis, dataset, series,
+                                    item, itemCrosshairState, pass);
                         }
                         state.endSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
                     }
+                    finally {
+                        if (monitor != null) {
+                            monitor.stageFinished(RenderStage.SERIES,
+                                    renderer);
+                        }
+                    }
                 }
             }
         }
-        return foundData;
+        if (locateCrosshair) {
+            locateCrosshairPoint(crosshairState, state, renderer, dataset,
+                    index, xAxis, yAxis, dataArea, visible);
+        }
+        if (monitor != null) {
+            monitor.itemsProcessed(renderer, drawn, culled);
+        }
+    }
+
+    /**
+     * Returns the range of domain values for the items that need to be
+     * passed to a renderer: the axis range or, if the
+     * {@link ChartHints#KEY_CULL_TO_CLIP} hint is set, the part of the axis
+     * range that lies within the clip (plus the margin given by the hint).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param xAxis  the domain axis.
+     *
+     * @return The range (never {@code null}).
+     */
+    private Range getVisibleDomainRange(Graphics2D g2, Rectangle2D dataArea,
+            ValueAxis xAxis) {
+        Number margin = (Number) g2.getRenderingHint(
+                ChartHints.KEY_CULL_TO_CLIP);
+        Shape clip = g2.getClip();
+        if (margin == null || clip == null) {
+            return xAxis.getRange();
+        }
+        Area visibleArea = new Area(clip);
+        visibleArea.intersect(new Area(dataArea));
+        Rectangle2D bounds = visibleArea.getBounds2D();
+        if (bounds.isEmpty()) {
+            return xAxis.getRange();
+        }
+        double m = margin.doubleValue();
+        RectangleEdge edge = getDomainAxisEdge();
+        double v0, v1;
+        if (this.orientation == PlotOrientation.VERTICAL) {
+            v0 = xAxis.java2DToValue(bounds.getMinX() - m, dataArea, edge);
+            v1 = xAxis.java2DToValue(bounds.getMaxX() + m, dataArea, edge);
+        }
+        else {
+            v0 = xAxis.java2DToValue(bounds.getMinY() - m, dataArea, edge);
+            v1 = xAxis.java2DToValue(bounds.getMaxY() + m, dataArea, edge);
+        }
+        double lower = Math.max(Math.min(v0, v1), xAxis.getLowerBound());
+        double upper = Math.min(Math.max(v0, v1), xAxis.getUpperBound());
+        if (!(lower <= upper)) {
+            return xAxis.getRange();
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns {@code true} if the crosshair point for a dataset can be found
+     * by {@link #locateCrosshairPoint(CrosshairState, XYItemRendererState,
+     * XYItemRenderer, XYDataset, int, ValueAxis, ValueAxis, Rectangle2D,
+     * Range)}
+     * rather than item by item while drawing.  This requires an anchor, at
+     * least one crosshair locked on the data, a dataset with ascending
+     * x-values and a renderer whose crosshair point for each item is the
+     * item's value.
+     *
+     * @param renderer  the renderer.
+     * @param dataset  the dataset.
+     * @param crosshairState  the crosshair state ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private boolean isCrosshairLocatable(XYItemRenderer renderer,
+            XYDataset dataset, CrosshairState crosshairState) {
+        if (crosshairState == null || crosshairState.getAnchor() == null) {
+            return false;
+        }
+        if (!this.domainCrosshairLockedOnData
+                && !this.rangeCrosshairLockedOnData) {
+            return false;
+        }
+        if (!(renderer instanceof AbstractXYItemRenderer)
+                || !((AbstractXYItemRenderer) renderer)
+                        .isCrosshairPointItemValue()) {
+            return false;
+        }
+        return dataset.getDomainOrder() == DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Updates the crosshair state with the data item nearest to the anchor,
+     * giving the same result as the renderer's per-item updates but only
+     * considering the items around the anchor's x-value.  For each series a
+     * binary search finds the anchor's x-value, then the window of
+     * candidate items is widened in both directions until the distance
+     * along the domain axis alone exceeds the best distance found.  The
+     * candidates are then submitted to the crosshair state in item order, so
+     * that ties are resolved as they are when drawing.  Only the items that
+     * were passed to the renderer are considered.
+     *
+     * @param crosshairState  the crosshair state.
+     * @param state  the renderer state.
+     * @param renderer  the renderer.
+     * @param dataset  the dataset (with ascending x-values).
+     * @param datasetIndex  the dataset index.
+     * @param xAxis  the domain axis for the dataset.
+     * @param yAxis  the range axis for the dataset.
+     * @param dataArea  the data area.
+     * @param visible  the range of domain values that was rendered (see
+     *     {@link #getVisibleDomainRange(Graphics2D, Rectangle2D,
+     *     ValueAxis)}).
+     */
+    private void locateCrosshairPoint(CrosshairState crosshairState,
+            XYItemRendererState state, XYItemRenderer renderer,
+            XYDataset dataset, int datasetIndex, ValueAxis xAxis,
+            ValueAxis yAxis, Rectangle2D dataArea, Range visible) {
+        PlotOrientation orientation = getOrientation();
+        RectangleEdge xEdge = getDomainAxisEdge();
+        RectangleEdge yEdge = getRangeAxisEdge();
+        boolean domainLocked = this.domainCrosshairLockedOnData;
+        boolean rangeLocked = this.rangeCrosshairLockedOnData;
+        boolean dataSpace = crosshairState.isCalculateDistanceInDataSpace();
+        Point2D anchor = crosshairState.getAnchor();
+        double anchorX = anchor.getX();
+        double anchorY = anchor.getY();
+        if (rangeLocked && orientation == PlotOrientation.HORIZONTAL) {
+            anchorX = anchor.getY();
+            anchorY = anchor.getX();
+        }
+        double targetX = dataSpace && rangeLocked
+                ? crosshairState.getAnchorX()
+                : xAxis.java2DToValue(anchorX, dataArea, xEdge);
+
+        int seriesCount = dataset.getSeriesCount();
+        boolean reverse
+                = getSeriesRenderingOrder() == SeriesRenderingOrder.REVERSE;
+        for (int i = 0; i < seriesCount; i++) {
+            int series = reverse ? seriesCount - 1 - i : i;
+            int first = 0;
+            int last = dataset.getItemCount(series) - 1;
+            if (last < 0) {
+                continue;
+            }
+            if (state.getProcessVisibleItemsOnly()) {
+                int[] itemBounds = RendererUtils.findLiveItems(dataset,
+                        series, visible.getLowerBound(),
+                        visible.getUpperBound());
+                first = Math.max(itemBounds[0] - 1, 0);
+                last = Math.min(itemBounds[1] + 1, last);
+            }
+            int lo = first;
+            int hi = last;
+            if (domainLocked) {
+                // find the first item with x >= targetX...
+                int low = first;
+                int high = last + 1;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (dataset.getXValue(series, mid) < targetX) {
+                        low = mid + 1;
+                    }
+                    else {
+                        high = mid;
+                    }
+                }
+                // ...then widen the window while the domain distance alone
+                // could still match the best distance (a tie only matters
+                // for earlier items, which win when drawn in order)
+                double best = crosshairState.getCrosshairDistance();
+                lo = low;
+                hi = low - 1;
+                boolean leftDone = lo <= first;
+                boolean rightDone = hi >= last;
+                while (!leftDone || !rightDone) {
+                    if (!leftDone) {
+                        double[] d = crosshairDistance(renderer, dataset,
+                                series, lo - 1, xAxis, yAxis, dataArea, xEdge,
+                                yEdge, rangeLocked, dataSpace, anchorX,
+                                anchorY, crosshairState);
+                        if (d[0] > best) {
+                            leftDone = true;
+                        }
+                        else {
+                            lo--;
+                            best = Math.min(best, d[1]);
+                            leftDone = lo <= first;
+                        }
+                    }
+                    if (!rightDone) {
+                        double[] d = crosshairDistance(renderer, dataset,
+                                series, hi + 1, xAxis, yAxis, dataArea, xEdge,
+                                yEdge, rangeLocked, dataSpace, anchorX,
+                                anchorY, crosshairState);
+                        if (d[0] >= best) {
+                            rightDone = true;
+                        }
+                        else {
+                            hi++;
+                            best = Math.min(best, d[1]);
+                            rightDone = hi >= last;
+                        }
+                    }
+                }
+            }
+            for (int item = lo; item <= hi; item++) {
+                if (!renderer.getItemVisible(series, item)) {
+                    continue;
+                }
+                double x = dataset.getXValue(series, item);
+                double y = dataset.getYValue(series, item);
+                if (Double.isNaN(x) || Double.isNaN(y)) {
+                    continue;
+                }
+                double transX = xAxis.valueToJava2D(x, dataArea, xEdge);
+                double transY = yAxis.valueToJava2D(y, dataArea, yEdge);
+                if (domainLocked) {
+                    if (rangeLocked) {
+                        crosshairState.updateCrosshairPoint(x, y,
+                                datasetIndex, transX, transY, orientation);
+                    }
+                    else {
+                        crosshairState.updateCrosshairX(x, transX,
+                                datasetIndex);
+                    }
+                }
+                else {
+                    crosshairState.updateCrosshairY(y, transY, datasetIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distance from the anchor to a data item, as calculated by
+     * the crosshair state, along with a lower bound for it that depends only
+     * on the item's x-value.  For items that are not visible, or have a
+     * {@code NaN} value, the distance is {@code Double.POSITIVE_INFINITY}.
+     *
+     * @param renderer  the renderer.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param xAxis  the domain axis for the dataset.
+     * @param yAxis  the range axis for the dataset.
+     * @param dataArea  the data area.
+     * @param xEdge  the domain axis edge used by the renderer.
+     * @param yEdge  the range axis edge used by the renderer.
+     * @param rangeLocked  whether the range crosshair is locked on the data
+     *     (otherwise only the domain distance counts).
+     * @param dataSpace  whether the distance is calculated in data space.
+     * @param anchorX  the anchor coordinate along the domain axis (Java2D).
+     * @param anchorY  the anchor coordinate along the range axis (Java2D).
+     * @param crosshairState  the crosshair state.
+     *
+     * @return An array containing the lower bound and the distance.
+     */
+    private double[] crosshairDistance(XYItemRenderer renderer,
+            XYDataset dataset, int series, int item, ValueAxis xAxis,
+            ValueAxis yAxis, Rectangle2D dataArea, RectangleEdge xEdge,
+            RectangleEdge yEdge, boolean rangeLocked, boolean dataSpace,
+            double anchorX, double anchorY, CrosshairState crosshairState) {
+        double x = dataset.getXValue(series, item);
+        double bound;
+        if (rangeLocked && dataSpace) {
+            double dx = x - crosshairState.getAnchorX();
+            bound = dx * dx;
+        }
+        else {
+            double transX = xAxis.valueToJava2D(x, dataArea, xEdge);
+            bound = rangeLocked ? (transX - anchorX) * (transX - anchorX)
+                    : Math.abs(transX - anchorX);
+        }
+        double y = dataset.getYValue(series, item);
+        double d = Double.POSITIVE_INFINITY;
+        if (!Double.isNaN(x) && !Double.isNaN(y)
+                && renderer.getItemVisible(series, item)) {
+            if (!rangeLocked) {
+                d = bound;
+            }
+            else if (dataSpace) {
+                double dy = y - crosshairState.getAnchorY();
+                d = bound + dy * dy;
+            }
+            else {
+                double transY = yAxis.valueToJava2D(y, dataArea, yEdge);
+                d = bound + (transY - anchorY) * (transY - anchorY);
+            }
+        }
+        return new double[] {bound, d};
     }
 
     /**
@@ -3954,7 +4455,9 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     }
 
     /**
-     * Draws the annotations for the plot.
+     * Draws the annotations for the plot.  Annotations that implement
+     * {@link org.jfree.chart.annotations.XYAnnotationCullingInfo} are only
+     * drawn if they can be visible in the data area.
      *
      * @param g2  the graphics device.
      * @param dataArea  the data area.
@@ -3963,11 +4466,17 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void drawAnnotations(Graphics2D g2, Rectangle2D dataArea,
                                 PlotRenderingInfo info) {
 
-        Iterator iterator = this.annotations.iterator();
-        while (iterator.hasNext()) {
-            XYAnnotation annotation = (XYAnnotation) iterator.next();
-            ValueAxis xAxis = getDomainAxis();
-            ValueAxis yAxis = getRangeAxis();
+        if (this.annotations.isEmpty()) {
+            return;
+        }
+        ValueAxis xAxis = getDomainAxis();
+        ValueAxis yAxis = getRangeAxis();
+        if (this.annotationIndex == null) {
+            this.annotationIndex = new XYAnnotationIndex();
+        }
+        List<XYAnnotation> toDraw = this.annotationIndex.getAnnotationsToDraw(
+                this.annotations, this, dataArea, xAxis, yAxis);
+        for (XYAnnotation annotation : toDraw) {
             annotation.draw(g2, this, dataArea, xAxis, yAxis, 0, info);
         }
 
@@ -4450,42 +4959,52 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
         // iterate through the datasets that map to the axis and get the union
         // of the ranges.
-        for (XYDataset d : mappedDatasets) {
-            if (d != null) {
-                XYItemRenderer r = getRendererForDataset(d);
-                if (isDomainAxis) {
-                    if (r != null) {
-                        result = Range.combine(result, r.findDomainBounds(d));
-                    }
-                    else {
-                        result = Range.combine(result,
-                                DatasetUtils.findDomainBounds(d));
-                    }
-                }
-                else {
-                    if (r != null) {
-                        result = Range.combine(result, r.findRangeBounds(d));
+        List<VersionedDataset> pinned = DatasetUtils.pinSnapshots(
+                mappedDatasets);
+        try {
+            for (XYDataset d : mappedDatasets) {
+                if (d != null) {
+                    XYItemRenderer r = getRendererForDataset(d);
+                    if (isDomainAxis) {
+                        if (r != null) {
+                            result = Range.combine(result,
+                                    r.findDomainBounds(d));
+                        }
+                        else {
+                            result = Range.combine(result,
+                                    DatasetUtils.findDomainBounds(d));
+                        }
                     }
                     else {
-                        result = Range.combine(result,
-                                DatasetUtils.findRangeBounds(d));
+                        if (r != null) {
+                            result = Range.combine(result,
+                                    r.findRangeBounds(d));
+                        }
+                        else {
+                            result = Range.combine(result,
+                                    DatasetUtils.findRangeBounds(d));
+                        }
                     }
-                }
-                // FIXME: the XYItemRenderer interface doesn't specify the
-                // getAnnotations() method but it should
-                if (r instanceof AbstractXYItemRenderer) {
-                    AbstractXYItemRenderer rr = (AbstractXYItemRenderer) r;
-                    Collection c = rr.getAnnotations();
-                    Iterator i = c.iterator();
-                    while (i.hasNext()) {
-                        XYAnnotation a = (XYAnnotation) i.next();
-                        if (a instanceof XYAnnotationBoundsInfo) {
-                            includedAnnotations.add(a);
+                    // FIXME: the XYItemRenderer interface doesn't specify the
+                    // getAnnotations() method but it should
+                    if (r instanceof AbstractXYItemRenderer) {
+                        AbstractXYItemRenderer rr
+                                = (AbstractXYItemRenderer) r;
+                        Collection c = rr.getAnnotations();
+                        Iterator i = c.iterator();
+                        while (i.hasNext()) {
+                            XYAnnotation a = (XYAnnotation) i.next();
+                            if (a instanceof XYAnnotationBoundsInfo) {
+                                includedAnnotations.add(a);
+                            }
                         }
                     }
                 }
             }
         }
+        finally {
+            DatasetUtils.releaseSnapshots(pinned);
+        }
 
         Iterator it = includedAnnotations.iterator();
         while (it.hasNext()) {
@@ -4514,6 +5033,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
      */
     @Override
     public void annotationChanged(AnnotationChangeEvent event) {
+        invalidateAnnotationIndex();
         if (getParent() != null) {
             getParent().annotationChanged(event);
         }
@@ -5575,6 +6095,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         clone.backgroundRangeMarkers = (Map) ObjectUtils.clone(
                 this.backgroundRangeMarkers);
         clone.annotations = (List) ObjectUtils.deepClone(this.annotations);
+        clone.annotationIndex = null;
         if (this.fixedDomainAxisSpace != null) {
             clone.fixedDomainAxisSpace = (AxisSpace) ObjectUtils.clone(
                     this.fixedDomainAxisSpace);
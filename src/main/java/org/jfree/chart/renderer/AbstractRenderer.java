@@ -112,6 +112,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashMap;
@@ -277,6 +278,33 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     /** The base shape. */
     private transient Shape defaultShape;
 
+    /**
+     * The resolved paint, outline paint, stroke and shape for each series
+     * (see {@link #getItemPaint(int, int)}), indexed by the style constants
+     * below and then by series, {@code null} when nothing is cached.  Any
+     * change to the series styles clears it.
+     */
+    private transient Object[][] seriesStyleCache;
+
+    /**
+     * A flag that indicates whether the series styles can be cached, which
+     * is the case unless a subclass overrides the methods that resolve them,
+     * {@code null} until first required.
+     */
+    private transient Boolean seriesStyleCacheSafe;
+
+    /** The index of the paints in the series style cache. */
+    private static final int STYLE_PAINT = 0;
+
+    /** The index of the outline paints in the series style cache. */
+    private static final int STYLE_OUTLINE_PAINT = 1;
+
+    /** The index of the strokes in the series style cache. */
+    private static final int STYLE_STROKE = 2;
+
+    /** The index of the shapes in the series style cache. */
+    private static final int STYLE_SHAPE = 3;
+
     /** Visibility of the item labels PER series. */
     private BooleanList itemLabelsVisibleList;
 
@@ -501,6 +529,115 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         g2.setRenderingHint(ChartHints.KEY_END_ELEMENT, Boolean.TRUE);
     }
 
+    /**
+     * Returns {@code true} if the class of this renderer, or any superclass
+     * below {@code base}, declares a method with one of the specified names.
+     * Renderers use this to keep the behaviour of subclasses that replace a
+     * method involved in an optimisation, such as the batching of lines
+     * with a {@link LinePathBatcher} (which changes the point at which
+     * lines reach the graphics device), the caching of series styles or the
+     * reuse of stacked values.
+     *
+     * @param base  the class that declares the methods ({@code null} not
+     *     permitted).
+     * @param names  the method names.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    protected boolean isOverridden(Class<?> base, String... names) {
+        Args.nullNotPermitted(base, "base");
+        try {
+            for (Class<?> c = getClass(); c != null && c != base;
+                    c = c.getSuperclass()) {
+                for (Method m : c.getDeclaredMethods()) {
+                    for (String name : names) {
+                        if (m.getName().equals(name)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        catch (SecurityException e) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cached style of the specified kind for a series, or
+     * {@code null} if it is not cached.
+     *
+     * @param kind  the style kind ({@code STYLE_PAINT} etc).
+     * @param series  the series index.
+     *
+     * @return The style, or {@code null}.
+     */
+    private Object getCachedSeriesStyle(int kind, int series) {
+        Object[][] cache = this.seriesStyleCache;
+        if (cache == null) {
+            return null;
+        }
+        Object[] styles = cache[kind];
+        if (styles == null || series < 0 || series >= styles.length) {
+            return null;
+        }
+        return styles[series];
+    }
+
+    /**
+     * Caches the resolved style of the specified kind for a series.  This is
+     * only done when the style is final: set for the series, or falling
+     * back to the default because auto-population is off (an auto-populated
+     * style is cached once it has been stored for the series).
+     *
+     * @param kind  the style kind ({@code STYLE_PAINT} etc).
+     * @param series  the series index.
+     * @param style  the resolved style.
+     * @param stored  whether a style is stored for the series.
+     * @param autoPopulate  whether the style is auto-populated.
+     */
+    private void cacheSeriesStyle(int kind, int series, Object style,
+            boolean stored, boolean autoPopulate) {
+        if (style == null || series < 0 || (!stored && autoPopulate)) {
+            return;
+        }
+        if (this.seriesStyleCacheSafe == null) {
+            this.seriesStyleCacheSafe = Boolean.valueOf(!isOverridden(
+                    AbstractRenderer.class, "lookupSeriesPaint",
+                    "getSeriesPaint", "lookupSeriesOutlinePaint",
+                    "getSeriesOutlinePaint", "lookupSeriesStroke",
+                    "getSeriesStroke", "lookupSeriesShape",
+                    "getSeriesShape"));
+        }
+        if (!this.seriesStyleCacheSafe.booleanValue()) {
+            return;
+        }
+        if (this.seriesStyleCache == null) {
+            this.seriesStyleCache = new Object[4][];
+        }
+        Object[] styles = this.seriesStyleCache[kind];
+        if (styles == null) {
+            styles = new Object[Math.max(series + 1, 8)];
+            this.seriesStyleCache[kind] = styles;
+        }
+        else if (series >= styles.length) {
+            styles = Arrays.copyOf(styles, Math.max(series + 1,
+                    styles.length * 2));
+            this.seriesStyleCache[kind] = styles;
+        }
+        styles[series] = style;
+    }
+
+    /**
+     * Clears the series style cache, after a change to the series styles.
+     */
+    private void clearSeriesStyleCache() {
+        this.seriesStyleCache = null;
+    }
+
     // SERIES VISIBLE (not yet respected by all renderers)
 
     /**
@@ -753,7 +890,13 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The paint (never {@code null}).
      */
     public Paint getItemPaint(int row, int column) {
-        return lookupSeriesPaint(row);
+        Paint result = (Paint) getCachedSeriesStyle(STYLE_PAINT, row);
+        if (result == null) {
+            result = lookupSeriesPaint(row);
+            cacheSeriesStyle(STYLE_PAINT, row, result,
+                    getSeriesPaint(row) != null, this.autoPopulateSeriesPaint);
+        }
+        return result;
     }
 
     /**
@@ -820,6 +963,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesPaint(int series, Paint paint, boolean notify) {
         this.paintList.setPaint(series, paint);
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -835,6 +979,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void clearSeriesPaints(boolean notify) {
         this.paintList.clear();
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -875,6 +1020,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setDefaultPaint(Paint paint, boolean notify) {
         this.defaultPaint = paint;
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -906,6 +1052,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesPaint(boolean auto) {
         this.autoPopulateSeriesPaint = auto;
+        clearSeriesStyleCache();
     }
 
     //// FILL PAINT //////////////////////////////////////////////////////////
@@ -1081,7 +1228,14 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The paint (never {@code null}).
      */
     public Paint getItemOutlinePaint(int row, int column) {
-        return lookupSeriesOutlinePaint(row);
+        Paint result = (Paint) getCachedSeriesStyle(STYLE_OUTLINE_PAINT, row);
+        if (result == null) {
+            result = lookupSeriesOutlinePaint(row);
+            cacheSeriesStyle(STYLE_OUTLINE_PAINT, row, result,
+                    getSeriesOutlinePaint(row) != null,
+                    this.autoPopulateSeriesOutlinePaint);
+        }
+        return result;
     }
 
     /**
@@ -1148,6 +1302,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesOutlinePaint(int series, Paint paint, boolean notify) {
         this.outlinePaintList.setPaint(series, paint);
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1189,6 +1344,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultOutlinePaint(Paint paint, boolean notify) {
         Args.nullNotPermitted(paint, "paint");
         this.defaultOutlinePaint = paint;
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1222,6 +1378,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesOutlinePaint(boolean auto) {
         this.autoPopulateSeriesOutlinePaint = auto;
+        clearSeriesStyleCache();
     }
 
     // STROKE
@@ -1238,7 +1395,14 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The stroke (never {@code null}).
      */
     public Stroke getItemStroke(int row, int column) {
-        return lookupSeriesStroke(row);
+        Stroke result = (Stroke) getCachedSeriesStyle(STYLE_STROKE, row);
+        if (result == null) {
+            result = lookupSeriesStroke(row);
+            cacheSeriesStyle(STYLE_STROKE, row, result,
+                    getSeriesStroke(row) != null,
+                    this.autoPopulateSeriesStroke);
+        }
+        return result;
     }
 
     /**
@@ -1305,6 +1469,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesStroke(int series, Stroke stroke, boolean notify) {
         this.strokeList.setStroke(series, stroke);
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1320,6 +1485,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void clearSeriesStrokes(boolean notify) {
         this.strokeList.clear();
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1361,6 +1527,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultStroke(Stroke stroke, boolean notify) {
         Args.nullNotPermitted(stroke, "stroke");
         this.defaultStroke = stroke;
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1392,6 +1559,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesStroke(boolean auto) {
         this.autoPopulateSeriesStroke = auto;
+        clearSeriesStyleCache();
     }
 
     // OUTLINE STROKE
@@ -1567,7 +1735,14 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The shape (never {@code null}).
      */
     public Shape getItemShape(int row, int column) {
-        return lookupSeriesShape(row);
+        Shape result = (Shape) getCachedSeriesStyle(STYLE_SHAPE, row);
+        if (result == null) {
+            result = lookupSeriesShape(row);
+            cacheSeriesStyle(STYLE_SHAPE, row, result,
+                    getSeriesShape(row) != null,
+                    this.autoPopulateSeriesShape);
+        }
+        return result;
     }
 
     /**
@@ -1634,6 +1809,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesShape(int series, Shape shape, boolean notify) {
         this.shapeList.setShape(series, shape);
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1675,6 +1851,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultShape(Shape shape, boolean notify) {
         Args.nullNotPermitted(shape, "shape");
         this.defaultShape = shape;
+        clearSeriesStyleCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1706,6 +1883,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesShape(boolean auto) {
         this.autoPopulateSeriesShape = auto;
+        clearSeriesStyleCache();
     }
 
     // ITEM LABEL VISIBILITY...
@@ -3083,6 +3261,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     @Override
     protected Object clone() throws CloneNotSupportedException {
         AbstractRenderer clone = (AbstractRenderer) super.clone();
+        clone.seriesStyleCache = null;
 
         if (this.seriesVisibleList != null) {
             clone.seriesVisibleList
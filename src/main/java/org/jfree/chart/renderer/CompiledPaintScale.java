@@ -0,0 +1,202 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Paint;
+import java.util.List;
+
+import org.jfree.chart.util.Args;
+
+/**
+ * A {@link PaintScale} compiled to a table of ARGB values, for code that
+ * writes colors directly into the pixels of an image rather than filling
+ * one shape per value.  A compiled scale returns exactly the color that the
+ * source scale returns from {@link PaintScale#getPaint(double)}, but does
+ * not create a {@code Paint} object for each value.
+ * <p>
+ * Only {@link GrayPaintScale} and {@link LookupPaintScale} (with
+ * {@code Color} paints) can be compiled, since an arbitrary
+ * {@code PaintScale} may return any color for any value.  Instances of this
+ * class are immutable, so they can be used from several threads at once.
+ *
+ * @since 1.6.0
+ */
+public final class CompiledPaintScale {
+
+    /** The lower bound of the source scale. */
+    private final double lowerBound;
+
+    /** The upper bound of the source scale. */
+    private final double upperBound;
+
+    /**
+     * The smallest value for each entry in {@code argb}, or {@code null}
+     * if the table is indexed by gray level.
+     */
+    private final double[] values;
+
+    /** The ARGB values. */
+    private final int[] argb;
+
+    /** The ARGB value for values that are not covered by the table. */
+    private final int defaultARGB;
+
+    /** The ARGB value for {@code Double.NaN}. */
+    private final int nanARGB;
+
+    /**
+     * Creates a new compiled scale.
+     *
+     * @param lowerBound  the lower bound.
+     * @param upperBound  the upper bound.
+     * @param values  the smallest value for each table entry
+     *     ({@code null} for a gray scale).
+     * @param argb  the table of ARGB values.
+     * @param defaultARGB  the ARGB value for values outside the table.
+     * @param nanARGB  the ARGB value for {@code Double.NaN}.
+     */
+    private CompiledPaintScale(double lowerBound, double upperBound,
+            double[] values, int[] argb, int defaultARGB, int nanARGB) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.values = values;
+        this.argb = argb;
+        this.defaultARGB = defaultARGB;
+        this.nanARGB = nanARGB;
+    }
+
+    /**
+     * Compiles a paint scale.
+     *
+     * @param scale  the scale ({@code null} not permitted).
+     *
+     * @return The compiled scale, or {@code null} if the scale cannot be
+     *     compiled.
+     */
+    public static CompiledPaintScale compile(PaintScale scale) {
+        Args.nullNotPermitted(scale, "scale");
+        // a subclass might override getPaint(), so match the class exactly
+        if (scale.getClass() == GrayPaintScale.class) {
+            return compileGray((GrayPaintScale) scale);
+        }
+        if (scale.getClass() == LookupPaintScale.class) {
+            return compileLookup((LookupPaintScale) scale);
+        }
+        return null;
+    }
+
+    /**
+     * Compiles a gray scale into a table with one entry per gray level.
+     *
+     * @param scale  the scale.
+     *
+     * @return The compiled scale.
+     */
+    private static CompiledPaintScale compileGray(GrayPaintScale scale) {
+        int[] argb = new int[256];
+        for (int g = 0; g < argb.length; g++) {
+            argb[g] = new Color(g, g, g, scale.getAlpha()).getRGB();
+        }
+        int nanARGB = ((Color) scale.getPaint(Double.NaN)).getRGB();
+        return new CompiledPaintScale(scale.getLowerBound(),
+                scale.getUpperBound(), null, argb, 0, nanARGB);
+    }
+
+    /**
+     * Compiles a lookup scale into a table with one entry per paint item.
+     *
+     * @param scale  the scale.
+     *
+     * @return The compiled scale, or {@code null} if any of the paints is
+     *     not a {@code Color}.
+     */
+    private static CompiledPaintScale compileLookup(LookupPaintScale scale) {
+        List items = scale.getLookupTable();
+        double[] values = new double[items.size()];
+        int[] argb = new int[items.size()];
+        for (int i = 0; i < values.length; i++) {
+            LookupPaintScale.PaintItem item
+                    = (LookupPaintScale.PaintItem) items.get(i);
+            if (!(item.paint instanceof Color)) {
+                return null;
+            }
+            values[i] = item.value;
+            argb[i] = ((Color) item.paint).getRGB();
+        }
+        Paint defaultPaint = scale.getDefaultPaint();
+        Paint nanPaint = scale.getPaint(Double.NaN);
+        if (!(defaultPaint instanceof Color) || !(nanPaint instanceof Color)) {
+            return null;
+        }
+        return new CompiledPaintScale(scale.getLowerBound(),
+                scale.getUpperBound(), values, argb,
+                ((Color) defaultPaint).getRGB(), ((Color) nanPaint).getRGB());
+    }
+
+    /**
+     * Returns the ARGB value of the color for a data value.
+     *
+     * @param value  the data value.
+     *
+     * @return The ARGB value.
+     */
+    public int getARGB(double value) {
+        if (Double.isNaN(value)) {
+            return this.nanARGB;
+        }
+        if (this.values == null) {
+            // the same calculation as GrayPaintScale.getPaint()
+            double v = Math.max(value, this.lowerBound);
+            v = Math.min(v, this.upperBound);
+            int g = (int) ((v - this.lowerBound) / (this.upperBound
+                    - this.lowerBound) * 255.0);
+            return this.argb[g];
+        }
+        // the same rules as LookupPaintScale.getPaint()
+        if (value < this.lowerBound || value > this.upperBound
+                || this.values.length == 0 || value < this.values[0]) {
+            return this.defaultARGB;
+        }
+        // find the last entry with a value less than or equal to 'value'
+        int low = 0;
+        int high = this.values.length;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (value >= this.values[mid]) {
+                low = mid;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return this.argb[low];
+    }
+
+}
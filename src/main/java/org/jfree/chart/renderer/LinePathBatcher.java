@@ -0,0 +1,448 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.PaintUtils;
+
+/**
+ * Collects the line segments that a renderer draws into a single path, so
+ * that a series with many items is stroked with a few calls to
+ * {@code Graphics2D.draw()} instead of one call per item.  The path (and
+ * its coordinate buffer) is reused from one batch to the next.
+ * <p>
+ * Two kinds of input are supported:
+ * <ul>
+ * <li>{@link #addSegment(double, double, double, double)} adds an
+ * independent segment (with its own end caps).  Java2D does not rasterize
+ * a path with several segments in exactly the same way as the segments one
+ * at a time (with antialiasing or a translucent paint the pixels where
+ * segments meet are blended once rather than once per segment, and even
+ * without them the odd pixel can differ), so segments are only merged when
+ * the graphics device has the hint {@link ChartHints#KEY_BATCH_LINES} set
+ * to {@code Boolean.TRUE}.  Otherwise each segment is drawn as soon as it
+ * is added.</li>
+ * <li>{@link #moveTo(double, double)} and {@link #lineTo(double, double)}
+ * build a connected polyline, with joins between the segments.  Points
+ * that lie on a straight line between their neighbours are omitted, as are
+ * points within the tolerance (see {@link #setTolerance(double)}) of the
+ * previous point.</li>
+ * </ul>
+ * The batch is drawn (leaving the paint and stroke of the graphics device
+ * unchanged) when the style changes and when {@link #flush()} is called.
+ * With the {@link ChartHints#KEY_BATCH_LINES} hint, the batch is also drawn
+ * when the number of points reaches the limit (see
+ * {@link #setMaximumPointCount(int)}), and a polyline continues from its
+ * last point in the next batch.  Without the hint there is no limit, so
+ * that a polyline is drawn as one path (splitting it would restart the
+ * dash pattern and blend translucent strokes twice where the parts meet).  The caller must flush before drawing
+ * anything else or changing any other attribute of the graphics device,
+ * so that the output is layered in the same order as before.
+ * <p>
+ * Instances of this class are not thread-safe, each renderer state has its
+ * own instance (see {@link RendererState#getLineBatcher(Graphics2D)}).
+ *
+ * @since 1.6.0
+ */
+public class LinePathBatcher {
+
+    /** The default limit for the number of points in one batch. */
+    public static final int DEFAULT_MAXIMUM_POINT_COUNT = 4096;
+
+    /** The path that collects the segments (reused for each batch). */
+    private final Path2D.Float path;
+
+    /** A line for segments that are drawn immediately. */
+    private final Line2D line;
+
+    /** The graphics device. */
+    private Graphics2D g2;
+
+    /** The paint for the current batch ({@code null} if not set yet). */
+    private Paint paint;
+
+    /** The stroke for the current batch. */
+    private Stroke stroke;
+
+    /**
+     * A flag that indicates whether independent segments are merged (see
+     * {@link ChartHints#KEY_BATCH_LINES}).
+     */
+    private boolean mergeable;
+
+    /** The maximum number of points in one batch. */
+    private int maximumPointCount;
+
+    /** The tolerance for omitting polyline points. */
+    private double tolerance;
+
+    /** The number of points in the path. */
+    private int pointCount;
+
+    /** A flag that indicates whether the path contains any lines. */
+    private boolean hasLines;
+
+    /** A flag that indicates whether a polyline is open. */
+    private boolean polyline;
+
+    /** The x-coordinate of the last point added to the path. */
+    private float lastX;
+
+    /** The y-coordinate of the last point added to the path. */
+    private float lastY;
+
+    /**
+     * A flag that indicates whether a polyline point is being held back
+     * (until the next point shows whether it can be omitted).
+     */
+    private boolean held;
+
+    /** The x-coordinate of the held point. */
+    private float heldX;
+
+    /** The y-coordinate of the held point. */
+    private float heldY;
+
+    /** The number of calls to {@code Graphics2D.draw()} since begin(). */
+    private int drawCount;
+
+    /**
+     * Creates a new batcher.
+     */
+    public LinePathBatcher() {
+        this.path = new Path2D.Float(Path2D.WIND_NON_ZERO, 256);
+        this.line = new Line2D.Double();
+        this.maximumPointCount = DEFAULT_MAXIMUM_POINT_COUNT;
+        this.tolerance = 0.0;
+    }
+
+    /**
+     * Returns the maximum number of points in one batch, which only applies
+     * when the graphics device has the {@link ChartHints#KEY_BATCH_LINES}
+     * hint.  The default value is {@link #DEFAULT_MAXIMUM_POINT_COUNT}.
+     *
+     * @return The maximum number of points.
+     */
+    public int getMaximumPointCount() {
+        return this.maximumPointCount;
+    }
+
+    /**
+     * Sets the maximum number of points in one batch.
+     *
+     * @param count  the maximum number of points (at least 2).
+     */
+    public void setMaximumPointCount(int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Requires 'count' >= 2.");
+        }
+        this.maximumPointCount = count;
+    }
+
+    /**
+     * Returns the distance (in Java2D units) within which a polyline point
+     * is omitted if it follows another point.  The default value is
+     * {@code 0.0}, so that only points on a straight line between their
+     * neighbours are omitted and the output is unchanged.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    /**
+     * Sets the distance within which a polyline point is omitted if it
+     * follows another point.
+     *
+     * @param tolerance  the tolerance (zero or positive).
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance >= 0.0)) {
+            throw new IllegalArgumentException("Requires 'tolerance' >= 0.");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the graphics device that batches are drawn to.
+     *
+     * @return The graphics device (possibly {@code null}).
+     */
+    public Graphics2D getGraphics() {
+        return this.g2;
+    }
+
+    /**
+     * Returns the number of calls to {@code Graphics2D.draw()} since the
+     * last call to {@link #begin(Graphics2D)}.
+     *
+     * @return The draw count.
+     */
+    public int getDrawCount() {
+        return this.drawCount;
+    }
+
+    /**
+     * Starts batching for a graphics device.  Any pending segments are
+     * drawn to the previous device first.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     */
+    public void begin(Graphics2D g2) {
+        Args.nullNotPermitted(g2, "g2");
+        flush();
+        this.g2 = g2;
+        this.paint = null;
+        this.stroke = null;
+        this.mergeable = Boolean.TRUE.equals(g2.getRenderingHint(
+                ChartHints.KEY_BATCH_LINES));
+        this.drawCount = 0;
+    }
+
+    /**
+     * Sets the paint and stroke for the segments that follow.  If the style
+     * differs from the current style, the current batch is drawn first (an
+     * open polyline continues from its last point).
+     *
+     * @param paint  the paint ({@code null} not permitted).
+     * @param stroke  the stroke ({@code null} not permitted).
+     */
+    public void setStyle(Paint paint, Stroke stroke) {
+        Args.nullNotPermitted(paint, "paint");
+        Args.nullNotPermitted(stroke, "stroke");
+        if (this.g2 == null) {
+            throw new IllegalStateException("begin() has not been called.");
+        }
+        if (this.paint != null && PaintUtils.equal(paint, this.paint)
+                && ObjectUtils.equal(stroke, this.stroke)) {
+            return;
+        }
+        boolean continuing = this.polyline;
+        float x = this.held ? this.heldX : this.lastX;
+        float y = this.held ? this.heldY : this.lastY;
+        flush();
+        this.paint = paint;
+        this.stroke = stroke;
+        if (continuing) {
+            moveTo(x, y);
+        }
+    }
+
+    /**
+     * Starts a new polyline at the specified point.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    public void moveTo(double x, double y) {
+        checkStyle();
+        endPolyline();
+        if (isFull(1)) {
+            drawPath();
+        }
+        this.lastX = (float) x;
+        this.lastY = (float) y;
+        this.path.moveTo(this.lastX, this.lastY);
+        this.pointCount++;
+        this.polyline = true;
+    }
+
+    /**
+     * Extends the open polyline to the specified point.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    public void lineTo(double x, double y) {
+        if (!this.polyline) {
+            throw new IllegalStateException("No polyline, call moveTo().");
+        }
+        float fx = (float) x;
+        float fy = (float) y;
+        if (this.held && !isRedundant(this.heldX, this.heldY, fx, fy)) {
+            appendLine(this.heldX, this.heldY);
+        }
+        this.heldX = fx;
+        this.heldY = fy;
+        this.held = true;
+    }
+
+    /**
+     * Adds an independent line segment (with its own end caps).
+     *
+     * @param x0  the x-coordinate of the start point.
+     * @param y0  the y-coordinate of the start point.
+     * @param x1  the x-coordinate of the end point.
+     * @param y1  the y-coordinate of the end point.
+     */
+    public void addSegment(double x0, double y0, double x1, double y1) {
+        checkStyle();
+        endPolyline();
+        if (!this.mergeable) {
+            flush();
+            this.line.setLine(x0, y0, x1, y1);
+            draw(this.line);
+            return;
+        }
+        if (isFull(2)) {
+            drawPath();
+        }
+        this.path.moveTo((float) x0, (float) y0);
+        this.path.lineTo((float) x1, (float) y1);
+        this.pointCount += 2;
+        this.hasLines = true;
+    }
+
+    /**
+     * Draws any pending segments and closes the open polyline (if any).
+     */
+    public void flush() {
+        endPolyline();
+        drawPath();
+    }
+
+    /**
+     * Throws an exception if no style has been set.
+     */
+    private void checkStyle() {
+        if (this.paint == null) {
+            throw new IllegalStateException("setStyle() has not been called.");
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current batch should be drawn before the
+     * specified number of points is added.  Batches are only limited when
+     * segments can be merged.
+     *
+     * @param count  the number of points to add.
+     *
+     * @return A boolean.
+     */
+    private boolean isFull(int count) {
+        return this.mergeable
+                && this.pointCount + count > this.maximumPointCount;
+    }
+
+    /**
+     * Adds the held point (if any) to the path and closes the polyline.
+     */
+    private void endPolyline() {
+        if (this.held) {
+            appendLine(this.heldX, this.heldY);
+            this.held = false;
+        }
+        this.polyline = false;
+    }
+
+    /**
+     * Adds a line from the last point to (x, y), starting a new batch if
+     * the current one is full.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    private void appendLine(float x, float y) {
+        if (isFull(1)) {
+            drawPath();
+            this.path.moveTo(this.lastX, this.lastY);
+            this.pointCount++;
+        }
+        this.path.lineTo(x, y);
+        this.pointCount++;
+        this.hasLines = true;
+        this.lastX = x;
+        this.lastY = y;
+    }
+
+    /**
+     * Returns {@code true} if the held point (px, py) can be omitted from
+     * the polyline, given the last point in the path and the point
+     * (qx, qy) that follows.
+     *
+     * @param px  the x-coordinate of the held point.
+     * @param py  the y-coordinate of the held point.
+     * @param qx  the x-coordinate of the next point.
+     * @param qy  the y-coordinate of the next point.
+     *
+     * @return A boolean.
+     */
+    private boolean isRedundant(float px, float py, float qx, float qy) {
+        double dx1 = (double) px - this.lastX;
+        double dy1 = (double) py - this.lastY;
+        if (this.tolerance > 0.0 && dx1 * dx1 + dy1 * dy1
+                <= this.tolerance * this.tolerance) {
+            return true;
+        }
+        double dx2 = (double) qx - px;
+        double dy2 = (double) qy - py;
+        // on the line from the last point to (qx, qy), between the two
+        return dx1 * dy2 - dy1 * dx2 == 0.0 && dx1 * dx2 + dy1 * dy2 >= 0.0;
+    }
+
+    /**
+     * Draws the path (if it contains any lines) and resets it.
+     */
+    private void drawPath() {
+        if (this.hasLines) {
+            draw(this.path);
+        }
+        this.path.reset();
+        this.pointCount = 0;
+        this.hasLines = false;
+    }
+
+    /**
+     * Draws a shape with the current style, then restores the paint and
+     * stroke of the graphics device.
+     *
+     * @param shape  the shape.
+     */
+    private void draw(Shape shape) {
+        Paint savedPaint = this.g2.getPaint();
+        Stroke savedStroke = this.g2.getStroke();
+        this.g2.setPaint(this.paint);
+        this.g2.setStroke(this.stroke);
+        this.g2.draw(shape);
+        this.g2.setPaint(savedPaint);
+        this.g2.setStroke(savedStroke);
+        this.drawCount++;
+    }
+
+}
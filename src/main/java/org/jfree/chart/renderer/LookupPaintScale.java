@@ -242,6 +242,16 @@ public class LookupPaintScale
         return this.upperBound;
     }
 
+    /**
+     * Returns the lookup table, sorted by value.  This is used by
+     * {@link CompiledPaintScale} and must not be modified by the caller.
+     *
+     * @return The lookup table (a list of {@code PaintItem} objects).
+     */
+    List getLookupTable() {
+        return this.lookupTable;
+    }
+
     /**
      * Adds an entry to the lookup table.  Any values from {@code n} up
      * to but not including the next value in the table take on the specified
@@ -42,6 +42,8 @@
 
 package org.jfree.chart.renderer;
 
+import java.awt.Graphics2D;
+
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.plot.PlotRenderingInfo;
@@ -61,6 +63,12 @@ public class RendererState {
      */
     private boolean elementHinting;
 
+    /** The line batcher (created when first required). */
+    private LinePathBatcher lineBatcher;
+
+    /** The stack buffer ({@code null} if not used by the renderer). */
+    private StackBuffer stackBuffer;
+
     /**
      * Creates a new state object.
      *
@@ -121,4 +129,62 @@ public class RendererState {
         return result;
     }
 
+    /**
+     * Returns the line batcher for this state, ready to draw to the
+     * specified graphics device.  The batcher is created when first
+     * required, and {@link LinePathBatcher#begin(Graphics2D)} is called
+     * whenever the graphics device changes.
+     *
+     * @param g2  the graphics device ({@code null} not permitted).
+     *
+     * @return The line batcher (never {@code null}).
+     *
+     * @since 1.6.0
+     */
+    public LinePathBatcher getLineBatcher(Graphics2D g2) {
+        if (this.lineBatcher == null) {
+            this.lineBatcher = new LinePathBatcher();
+        }
+        if (this.lineBatcher.getGraphics() != g2) {
+            this.lineBatcher.begin(g2);
+        }
+        return this.lineBatcher;
+    }
+
+    /**
+     * Returns the stack buffer that a renderer has stored in this state.
+     *
+     * @return The stack buffer (possibly {@code null}).
+     *
+     * @see #setStackBuffer(StackBuffer)
+     * @since 1.6.0
+     */
+    public StackBuffer getStackBuffer() {
+        return this.stackBuffer;
+    }
+
+    /**
+     * Stores a stack buffer in this state, so that the stacked values for
+     * the dataset are computed once for each drawing.
+     *
+     * @param buffer  the buffer ({@code null} permitted).
+     *
+     * @see #getStackBuffer()
+     * @since 1.6.0
+     */
+    public void setStackBuffer(StackBuffer buffer) {
+        this.stackBuffer = buffer;
+    }
+
+    /**
+     * Draws any line segments that are still pending in the line batcher.
+     *
+     * @since 1.6.0
+     */
+    public void flushLines() {
+        if (this.lineBatcher != null) {
+            this.lineBatcher.flush();
+        }
+    }
+
 }
@@ -0,0 +1,255 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.util.Arrays;
+
+/**
+ * The cumulative ("stacked") values of the series in a dataset, for
+ * renderers that stack each series on top of the ones before it.  Instead
+ * of adding up the values of all the lower series again for every item, the
+ * buffer computes the running totals once (in a single pass over the data
+ * the first time they are required) and reads them back from an array.
+ * <p>
+ * The totals are added up in series order, exactly as a loop over the
+ * lower series would do, so the results are identical.  To bound the
+ * memory used for large datasets, the buffer only stores the totals for
+ * every n-th series (where n is chosen so that no more than
+ * {@link #DEFAULT_CELL_LIMIT} values are stored for each sign) and adds the
+ * remaining series when a value is requested.
+ * <p>
+ * A buffer reflects the dataset at the time it was filled, renderers keep
+ * one in their state (see {@link RendererState#getStackBuffer()}) so that
+ * it is discarded after each drawing.
+ *
+ * @since 1.6.0
+ */
+public abstract class StackBuffer {
+
+    /** The default limit for the number of values stored for each sign. */
+    public static final int DEFAULT_CELL_LIMIT = 1 << 20;
+
+    /** The number of series. */
+    private final int seriesCount;
+
+    /** The number of items in each series. */
+    private final int itemCount;
+
+    /** The value that the stacks start from. */
+    private final double base;
+
+    /**
+     * A flag that controls whether positive and negative values are stacked
+     * separately.
+     */
+    private final boolean splitBySign;
+
+    /** The totals for each item ({@code null} if not required). */
+    private final double[] totals;
+
+    /** The limit for the number of values stored for each sign. */
+    int cellLimit = DEFAULT_CELL_LIMIT;
+
+    /** The number of series between two stored rows. */
+    private int stride;
+
+    /**
+     * The running totals of the positive values (or all values) for the
+     * series below each stored row ({@code null} until first required).
+     */
+    private double[][] positive;
+
+    /** The running totals of the negative values. */
+    private double[][] negative;
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param seriesCount  the number of series.
+     * @param itemCount  the number of items in each series.
+     * @param base  the value that the stacks start from (usually
+     *     {@code 0.0}).
+     * @param splitBySign  stack positive and negative values separately?
+     * @param totals  the total for each item, used by renderers that
+     *     display percentages ({@code null} permitted).
+     */
+    protected StackBuffer(int seriesCount, int itemCount, double base,
+            boolean splitBySign, double[] totals) {
+        this.seriesCount = seriesCount;
+        this.itemCount = itemCount;
+        this.base = base;
+        this.splitBySign = splitBySign;
+        this.totals = totals;
+    }
+
+    /**
+     * Returns the value for an item, as it is added to the stack.  Return
+     * {@code Double.NaN} for items (or whole series) that should be left
+     * out.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The value.
+     */
+    protected abstract double getValue(int series, int item);
+
+    /**
+     * Returns the number of series.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.seriesCount;
+    }
+
+    /**
+     * Returns the number of items in each series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the total for an item, as supplied to the constructor.
+     *
+     * @param item  the item index.
+     *
+     * @return The total.
+     */
+    public double getTotal(int item) {
+        if (this.totals == null) {
+            throw new IllegalStateException("No totals for this buffer.");
+        }
+        return this.totals[item];
+    }
+
+    /**
+     * Returns the stacked values for all the series below {@code series}
+     * (that is, not including {@code series} itself) at the specified item.
+     * The result has the negative total at index 0 and the positive total at
+     * index 1.  If positive and negative values are not stacked separately,
+     * index 1 holds the total of all the values and index 0 the base.
+     *
+     * @param series  the series index (from 0 to the series count,
+     *     inclusive).
+     * @param item  the item index.
+     *
+     * @return The stacked values.
+     */
+    public double[] getStackValues(int series, int item) {
+        if (this.positive == null) {
+            fill();
+        }
+        int row = Math.min(series / this.stride, this.positive.length - 1);
+        double neg = this.negative[row][item];
+        double pos = this.positive[row][item];
+        for (int s = row * this.stride; s < series; s++) {
+            double v = getValue(s, item);
+            if (!Double.isNaN(v)) {
+                if (v >= 0.0 || !this.splitBySign) {
+                    pos += v;
+                }
+                else {
+                    neg += v;
+                }
+            }
+        }
+        return new double[] {neg, pos};
+    }
+
+    /**
+     * Returns the total of the positive values (or all the values, if
+     * positive and negative values are not stacked separately) for the
+     * series below {@code series} at the specified item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The positive base.
+     */
+    public double getPositiveBase(int series, int item) {
+        return getStackValues(series, item)[1];
+    }
+
+    /**
+     * Returns the total of the negative values for the series below
+     * {@code series} at the specified item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The negative base.
+     */
+    public double getNegativeBase(int series, int item) {
+        return getStackValues(series, item)[0];
+    }
+
+    /**
+     * Fills the stored rows with a single pass over the data.
+     */
+    private void fill() {
+        int n = Math.max(this.itemCount, 1);
+        int maxRows = Math.max(this.cellLimit / n, 1);
+        this.stride = Math.max((this.seriesCount + maxRows - 1) / maxRows,
+                1);
+        int rows = Math.max(this.seriesCount - 1, 0) / this.stride + 1;
+        double[][] pos = new double[rows][this.itemCount];
+        double[][] neg = new double[rows][this.itemCount];
+        double[] p = new double[this.itemCount];
+        double[] q = new double[this.itemCount];
+        Arrays.fill(p, this.base);
+        Arrays.fill(q, this.base);
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                for (int s = (row - 1) * this.stride; s < row * this.stride;
+                        s++) {
+                    for (int i = 0; i < this.itemCount; i++) {
+                        double v = getValue(s, i);
+                        if (!Double.isNaN(v)) {
+                            if (v >= 0.0 || !this.splitBySign) {
+                                p[i] += v;
+                            }
+                            else {
+                                q[i] += v;
+                            }
+                        }
+                    }
+                }
+            }
+            System.arraycopy(p, 0, pos[row], 0, this.itemCount);
+            System.arraycopy(q, 0, neg[row], 0, this.itemCount);
+        }
+        this.positive = pos;
+        this.negative = neg;
+    }
+
+}
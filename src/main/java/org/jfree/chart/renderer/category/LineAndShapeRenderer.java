@@ -109,6 +109,7 @@ import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.LinePathBatcher;
 import org.jfree.chart.util.BooleanList;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
@@ -191,6 +192,12 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
      */
     private double itemMargin;
 
+    /**
+     * A flag that indicates whether lines can be batched, {@code null} until
+     * first required.
+     */
+    private transient Boolean lineBatchingSafe;
+
     /**
      * Creates a renderer with both lines and shapes visible by default.
      */
@@ -712,6 +719,11 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
             ValueAxis rangeAxis, CategoryDataset dataset, int row, int column,
             int pass) {
 
+        // lines from the first pass may still be waiting in the batcher
+        if (pass == 1) {
+            state.flushLines();
+        }
+
         // do nothing if item is not visible
         if (!getItemVisible(row, column)) {
             return;
@@ -781,9 +793,18 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
                     else if (orientation == PlotOrientation.VERTICAL) {
                         line = new Line2D.Double(x0, y0, x1, y1);
                     }
-                    g2.setPaint(getItemPaint(row, column));
-                    g2.setStroke(getItemStroke(row, column));
-                    g2.draw(line);
+                    if (isLineBatchingSafe()) {
+                        LinePathBatcher batcher = state.getLineBatcher(g2);
+                        batcher.setStyle(getItemPaint(row, column),
+                                getItemStroke(row, column));
+                        batcher.addSegment(line.getX1(), line.getY1(),
+                                line.getX2(), line.getY2());
+                    }
+                    else {
+                        g2.setPaint(getItemPaint(row, column));
+                        g2.setStroke(getItemStroke(row, column));
+                        g2.draw(line);
+                    }
                 }
             }
         }
@@ -846,6 +867,22 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
 
     }
 
+    /**
+     * Returns {@code true} if the lines drawn in the first pass can be
+     * collected by the state's {@link LinePathBatcher} and drawn together
+     * (they are flushed at the start of the second pass), which is the case
+     * unless a subclass overrides {@code drawItem()}.
+     *
+     * @return A boolean.
+     */
+    private boolean isLineBatchingSafe() {
+        if (this.lineBatchingSafe == null) {
+            this.lineBatchingSafe = Boolean.valueOf(!isOverridden(
+                    LineAndShapeRenderer.class, "drawItem"));
+        }
+        return this.lineBatchingSafe.booleanValue();
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
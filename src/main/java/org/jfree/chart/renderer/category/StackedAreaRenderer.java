@@ -80,6 +80,7 @@ import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.renderer.StackBuffer;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.DataUtils;
@@ -105,6 +106,13 @@ public class StackedAreaRenderer extends AreaRenderer
     /** A flag that controls whether the areas display values or percentages. */
     private boolean renderAsPercentages;
 
+    /**
+     * A flag that indicates whether a subclass overrides
+     * {@link #getStackValues(CategoryDataset, int, int, int[])},
+     * {@code null} until first required.
+     */
+    private transient Boolean stackValuesOverridden;
+
     /**
      * Creates a new renderer.
      */
@@ -211,18 +219,16 @@ public class StackedAreaRenderer extends AreaRenderer
         Shape entityArea;
         EntityCollection entities = state.getEntityCollection();
 
+        StackBuffer buffer = getStackBuffer(state, dataset);
         double y1 = 0.0;
         Number n = dataset.getValue(row, column);
         if (n != null) {
             y1 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        column, state.getVisibleSeriesArray());
-                y1 = y1 / total;
+                y1 = y1 / buffer.getTotal(column);
             }
         }
-        double[] stack1 = getStackValues(dataset, row, column,
-                state.getVisibleSeriesArray());
+        double[] stack1 = stackValues(state, buffer, dataset, row, column);
 
 
         // leave the y values (y1, y0) untranslated as it is going to be be
@@ -239,13 +245,11 @@ public class StackedAreaRenderer extends AreaRenderer
         if (n != null) {
             y0 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        Math.max(column - 1, 0), state.getVisibleSeriesArray());
-                y0 = y0 / total;
+                y0 = y0 / buffer.getTotal(Math.max(column - 1, 0));
             }
         }
-        double[] stack0 = getStackValues(dataset, row, Math.max(column - 1, 0),
-                state.getVisibleSeriesArray());
+        double[] stack0 = stackValues(state, buffer, dataset, row,
+                Math.max(column - 1, 0));
 
         // FIXME: calculate xx0
         double xx0 = domainAxis.getCategoryStart(column, getColumnCount(),
@@ -257,14 +261,11 @@ public class StackedAreaRenderer extends AreaRenderer
         if (n != null) {
             y2 = n.doubleValue();
             if (this.renderAsPercentages) {
-                double total = DataUtils.calculateColumnTotal(dataset,
-                        Math.min(column + 1, itemCount - 1),
-                        state.getVisibleSeriesArray());
-                y2 = y2 / total;
+                y2 = y2 / buffer.getTotal(Math.min(column + 1, itemCount - 1));
             }
         }
-        double[] stack2 = getStackValues(dataset, row, Math.min(column + 1,
-                itemCount - 1), state.getVisibleSeriesArray());
+        double[] stack2 = stackValues(state, buffer, dataset, row,
+                Math.min(column + 1, itemCount - 1));
 
         double xx2 = domainAxis.getCategoryEnd(column, getColumnCount(),
                 dataArea, plot.getDomainAxisEdge());
@@ -443,6 +444,79 @@ public class StackedAreaRenderer extends AreaRenderer
         return result;
     }
 
+    /**
+     * Returns the stack buffer for the dataset from the renderer state,
+     * creating it the first time it is required.  The buffer gives the
+     * same results as
+     * {@link #getStackValues(CategoryDataset, int, int, int[])} without
+     * looping over the lower series for each item, and holds the column
+     * totals when the renderer displays percentages.
+     *
+     * @param state  the renderer state.
+     * @param dataset  the dataset.
+     *
+     * @return The stack buffer.
+     */
+    private StackBuffer getStackBuffer(CategoryItemRendererState state,
+            final CategoryDataset dataset) {
+        StackBuffer buffer = state.getStackBuffer();
+        if (buffer == null) {
+            int columnCount = dataset.getColumnCount();
+            final double[] totals;
+            if (this.renderAsPercentages) {
+                totals = new double[columnCount];
+                int[] validRows = state.getVisibleSeriesArray();
+                for (int c = 0; c < columnCount; c++) {
+                    totals[c] = DataUtils.calculateColumnTotal(dataset, c,
+                            validRows);
+                }
+            }
+            else {
+                totals = null;
+            }
+            buffer = new StackBuffer(dataset.getRowCount(), columnCount, 0.0,
+                    true, totals) {
+                @Override
+                protected double getValue(int series, int item) {
+                    if (!isSeriesVisible(series)) {
+                        return Double.NaN;
+                    }
+                    Number n = dataset.getValue(series, item);
+                    double v = n == null ? 0.0 : n.doubleValue();
+                    return totals == null ? v : v / totals[item];
+                }
+            };
+            state.setStackBuffer(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the stack values from the buffer or, if a subclass overrides
+     * it, from {@link #getStackValues(CategoryDataset, int, int, int[])}.
+     *
+     * @param state  the renderer state.
+     * @param buffer  the stack buffer.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param index  the item index.
+     *
+     * @return The stack values.
+     */
+    private double[] stackValues(CategoryItemRendererState state,
+            StackBuffer buffer, CategoryDataset dataset, int series,
+            int index) {
+        if (this.stackValuesOverridden == null) {
+            this.stackValuesOverridden = Boolean.valueOf(isOverridden(
+                    StackedAreaRenderer.class, "getStackValues"));
+        }
+        if (this.stackValuesOverridden.booleanValue()) {
+            return getStackValues(dataset, series, index,
+                    state.getVisibleSeriesArray());
+        }
+        return buffer.getStackValues(series, index);
+    }
+
     /**
      * Returns a pair of "stack" values calculated as the mean of the two
      * specified stack value pairs.
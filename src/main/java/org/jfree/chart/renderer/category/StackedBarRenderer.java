@@ -107,6 +107,7 @@ import org.jfree.chart.labels.ItemLabelAnchor;
 import org.jfree.chart.labels.ItemLabelPosition;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.StackBuffer;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.TextAnchor;
 import org.jfree.chart.util.PublicCloneable;
@@ -300,11 +301,9 @@ public class StackedBarRenderer extends BarRenderer
         }
 
         double value = dataValue.doubleValue();
-        double total = 0.0;  // only needed if calculating percentages
+        StackBuffer buffer = getStackBuffer(state, dataset);
         if (this.renderAsPercentages) {
-            total = DataUtils.calculateColumnTotal(dataset, column,
-                    state.getVisibleSeriesArray());
-            value = value / total;
+            value = value / buffer.getTotal(column);
         }
 
         PlotOrientation orientation = plot.getOrientation();
@@ -312,24 +311,9 @@ public class StackedBarRenderer extends BarRenderer
                 dataArea, plot.getDomainAxisEdge())
                 - state.getBarWidth() / 2.0;
 
-        double positiveBase = getBase();
-        double negativeBase = positiveBase;
-
-        for (int i = 0; i < row; i++) {
-            Number v = dataset.getValue(i, column);
-            if (v != null && isSeriesVisible(i)) {
-                double d = v.doubleValue();
-                if (this.renderAsPercentages) {
-                    d = d / total;
-                }
-                if (d > 0) {
-                    positiveBase = positiveBase + d;
-                }
-                else {
-                    negativeBase = negativeBase + d;
-                }
-            }
-        }
+        double[] stack = buffer.getStackValues(row, column);
+        double positiveBase = stack[1];
+        double negativeBase = stack[0];
 
         double translatedBase;
         double translatedValue;
@@ -406,6 +390,51 @@ public class StackedBarRenderer extends BarRenderer
         }
     }
 
+    /**
+     * Returns the stack buffer for the dataset from the renderer state,
+     * creating it the first time it is required.  The buffer holds the
+     * running totals of the visible series (starting from the base value)
+     * and, when the renderer displays percentages, the column totals.
+     *
+     * @param state  the renderer state.
+     * @param dataset  the dataset.
+     *
+     * @return The stack buffer.
+     */
+    private StackBuffer getStackBuffer(CategoryItemRendererState state,
+            final CategoryDataset dataset) {
+        StackBuffer buffer = state.getStackBuffer();
+        if (buffer == null) {
+            int columnCount = dataset.getColumnCount();
+            final double[] totals;
+            if (this.renderAsPercentages) {
+                totals = new double[columnCount];
+                int[] validRows = state.getVisibleSeriesArray();
+                for (int c = 0; c < columnCount; c++) {
+                    totals[c] = DataUtils.calculateColumnTotal(dataset, c,
+                            validRows);
+                }
+            }
+            else {
+                totals = null;
+            }
+            buffer = new StackBuffer(dataset.getRowCount(), columnCount,
+                    getBase(), true, totals) {
+                @Override
+                protected double getValue(int series, int item) {
+                    Number n = dataset.getValue(series, item);
+                    if (n == null || !isSeriesVisible(series)) {
+                        return Double.NaN;
+                    }
+                    double v = n.doubleValue();
+                    return totals == null ? v : v / totals[item];
+                }
+            };
+            state.setStackBuffer(buffer);
+        }
+        return buffer;
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
@@ -154,6 +154,7 @@ import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
 import org.jfree.chart.annotations.Annotation;
 import org.jfree.chart.annotations.XYAnnotation;
+import org.jfree.chart.annotations.XYAnnotationIndex;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.entity.XYItemEntity;
@@ -231,6 +232,17 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     private List<XYAnnotation> foregroundAnnotations;
 
+    /**
+     * An index of the background annotations, used to skip annotations that
+     * are outside the data area (created when first needed).
+     */
+    private transient XYAnnotationIndex backgroundAnnotationIndex;
+
+    /**
+     * An index of the foreground annotations (created when first needed).
+     */
+    private transient XYAnnotationIndex foregroundAnnotationIndex;
+
     /** The legend item label generator. */
     private XYSeriesLabelGenerator legendItemLabelGenerator;
 
@@ -527,11 +539,13 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         if (layer.equals(Layer.FOREGROUND)) {
             this.foregroundAnnotations.add(annotation);
             annotation.addChangeListener(this);
+            invalidateAnnotationIndices();
             fireChangeEvent();
         }
         else if (layer.equals(Layer.BACKGROUND)) {
             this.backgroundAnnotations.add(annotation);
             annotation.addChangeListener(this);
+            invalidateAnnotationIndices();
             fireChangeEvent();
         }
         else {
@@ -554,6 +568,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         boolean removed = this.foregroundAnnotations.remove(annotation);
         removed = removed & this.backgroundAnnotations.remove(annotation);
         annotation.removeChangeListener(this);
+        invalidateAnnotationIndices();
         fireChangeEvent();
         return removed;
     }
@@ -572,9 +587,22 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         }
         this.foregroundAnnotations.clear();
         this.backgroundAnnotations.clear();
+        invalidateAnnotationIndices();
         fireChangeEvent();
     }
 
+    /**
+     * Marks the annotation indices as out of date.
+     */
+    private void invalidateAnnotationIndices() {
+        if (this.backgroundAnnotationIndex != null) {
+            this.backgroundAnnotationIndex.invalidate();
+        }
+        if (this.foregroundAnnotationIndex != null) {
+            this.foregroundAnnotationIndex.invalidate();
+        }
+    }
+
 
     /**
      * Receives notification of a change to an {@link Annotation} added to
@@ -586,6 +614,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
      */
     @Override
     public void annotationChanged(AnnotationChangeEvent event) {
+        invalidateAnnotationIndices();
         fireChangeEvent();
     }
 
@@ -1487,6 +1516,8 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
                 this.foregroundAnnotations);
         clone.backgroundAnnotations = (List) ObjectUtils.deepClone(
                 this.backgroundAnnotations);
+        clone.backgroundAnnotationIndex = null;
+        clone.foregroundAnnotationIndex = null;
 
         return clone;
     }
@@ -1560,6 +1591,25 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         return result;
     }
 
+    /**
+     * Returns {@code true} if the crosshair point that this renderer reports
+     * for an item is always the item's own (x, y) value, passed to
+     * {@link #updateCrosshairValues(CrosshairState, double, double, int,
+     * double, double, PlotOrientation)} for every visible item with
+     * non-{@code NaN} values and translated against the plot's primary axis
+     * edges.  In that case the plot can find the crosshair point with a
+     * search of a sorted dataset after drawing, instead of having every item
+     * considered while it is drawn.  The default implementation returns
+     * {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    public boolean isCrosshairPointItemValue() {
+        return false;
+    }
+
     /**
      * Considers the current (x, y) coordinate and updates the crosshair point
      * if it meets the criteria (usually means the (x, y) coordinate is the
@@ -1651,7 +1701,9 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
     }
 
     /**
-     * Draws all the annotations for the specified layer.
+     * Draws all the annotations for the specified layer.  Annotations that
+     * implement {@link org.jfree.chart.annotations.XYAnnotationCullingInfo}
+     * are only drawn if they can be visible in the data area.
      *
      * @param g2  the graphics device.
      * @param dataArea  the data area.
@@ -1665,17 +1717,31 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, Layer layer,
             PlotRenderingInfo info) {
 
-        List<XYAnnotation> toDraw = new ArrayList<XYAnnotation>();
+        List<XYAnnotation> annotations;
+        XYAnnotationIndex annotationIndex;
         if (layer.equals(Layer.FOREGROUND)) {
-            toDraw.addAll(this.foregroundAnnotations);
+            if (this.foregroundAnnotationIndex == null) {
+                this.foregroundAnnotationIndex = new XYAnnotationIndex();
+            }
+            annotations = this.foregroundAnnotations;
+            annotationIndex = this.foregroundAnnotationIndex;
         }
         else if (layer.equals(Layer.BACKGROUND)) {
-            toDraw.addAll(this.backgroundAnnotations);
+            if (this.backgroundAnnotationIndex == null) {
+                this.backgroundAnnotationIndex = new XYAnnotationIndex();
+            }
+            annotations = this.backgroundAnnotations;
+            annotationIndex = this.backgroundAnnotationIndex;
         }
         else {
             // should not get here
             throw new RuntimeException("Unknown layer.");
         }
+        if (annotations.isEmpty()) {
+            return;
+        }
+        List<XYAnnotation> toDraw = annotationIndex.getAnnotationsToDraw(
+                annotations, this.plot, dataArea, domainAxis, rangeAxis);
         int index = this.plot.getIndexOf(this);
         for (XYAnnotation annotation : toDraw) {
             annotation.draw(g2, this.plot, dataArea, domainAxis, rangeAxis,
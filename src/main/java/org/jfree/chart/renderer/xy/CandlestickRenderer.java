@@ -204,6 +204,14 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
      */
     private boolean useOutlinePaint;
 
+    /**
+     * A flag that controls whether consecutive items that fall into the
+     * same pixel column are merged into a single candle.
+     *
+     * @since 1.6.0
+     */
+    private boolean mergeSubPixelItems;
+
     /**
      * Creates a new renderer for candlestick charts.
      */
@@ -246,6 +254,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         this.downPaint = Color.RED;
         this.useOutlinePaint = false;  // false preserves the old behaviour
                                        // prior to introducing this flag
+        this.mergeSubPixelItems = true;
     }
 
     /**
@@ -559,6 +568,42 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns the flag that controls whether consecutive items that fall
+     * into the same pixel column are merged into a single candle (with the
+     * open-value of the first item, the highest high-value, the lowest
+     * low-value, the close-value of the last item and the total volume).
+     * The default value is {@code true}, so that the number of candles
+     * drawn is limited by the width of the data area.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     *
+     * @see #setMergeSubPixelItems(boolean)
+     */
+    public boolean getMergeSubPixelItems() {
+        return this.mergeSubPixelItems;
+    }
+
+    /**
+     * Sets the flag that controls whether consecutive items that fall into
+     * the same pixel column are merged into a single candle, and sends a
+     * {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param merge  the new flag value.
+     *
+     * @since 1.6.0
+     *
+     * @see #getMergeSubPixelItems()
+     */
+    public void setMergeSubPixelItems(boolean merge) {
+        if (this.mergeSubPixelItems != merge) {
+            this.mergeSubPixelItems = merge;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the range of values the renderer requires to display all the
      * items from the specified dataset.
@@ -604,15 +649,28 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             // Absolute value, since the relative x
             // positions are reversed for horizontal orientation
 
-        // calculate the highest volume in the dataset...
+        // calculate the highest volume in the dataset (when items are
+        // merged, the highest total volume of the items in a pixel column)...
         if (this.drawVolume) {
             OHLCDataset highLowDataset = (OHLCDataset) dataset;
             this.maxVolume = 0.0;
             for (int series = 0; series < highLowDataset.getSeriesCount();
                  series++) {
+                double column = Double.NaN;
+                double columnVolume = 0.0;
                 for (int item = 0; item < highLowDataset.getItemCount(series);
                      item++) {
                     double volume = highLowDataset.getVolumeValue(series, item);
+                    if (this.mergeSubPixelItems) {
+                        double c = OHLCRendererState.column(
+                                axis.valueToJava2D(highLowDataset.getXValue(
+                                series, item), dataArea, edge));
+                        if (c == column) {
+                            volume = columnVolume + volume;
+                        }
+                        column = c;
+                        columnVolume = volume;
+                    }
                     if (volume > this.maxVolume) {
                         this.maxVolume = volume;
                     }
@@ -621,7 +679,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             }
         }
 
-        return new XYItemRendererState(info);
+        return new OHLCRendererState(info);
     }
 
     /**
@@ -648,6 +706,90 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
+        OHLCDataset highLowData = (OHLCDataset) dataset;
+
+        double x = highLowData.getXValue(series, item);
+        double yHigh = highLowData.getHighValue(series, item);
+        double yLow = highLowData.getLowValue(series, item);
+        double yOpen = highLowData.getOpenValue(series, item);
+        double yClose = highLowData.getCloseValue(series, item);
+        double volume = this.drawVolume
+                ? highLowData.getVolumeValue(series, item) : Double.NaN;
+
+        if (this.mergeSubPixelItems && state instanceof OHLCRendererState) {
+            OHLCRendererState s = (OHLCRendererState) state;
+            double xx = domainAxis.valueToJava2D(x, dataArea,
+                    plot.getDomainAxisEdge());
+            if (!s.mergeIntoBin(series, xx, yOpen, yHigh, yLow, yClose,
+                    volume)) {
+                drawBin(g2, s, dataArea, info, plot, domainAxis, rangeAxis,
+                        highLowData);
+                s.startBin(series, item, x, xx, yOpen, yHigh, yLow, yClose,
+                        volume);
+            }
+            if (item == s.getLastItemIndex()) {
+                drawBin(g2, s, dataArea, info, plot, domainAxis, rangeAxis,
+                        highLowData);
+                s.clearBin();
+            }
+            return;
+        }
+        drawCandle(g2, state, dataArea, info, plot, domainAxis, rangeAxis,
+                highLowData, series, item, x, yHigh, yLow, yOpen, yClose,
+                volume);
+    }
+
+    /**
+     * Draws the merged item held by the state, if there is one.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the plot is being drawn.
+     * @param info  collects info about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     */
+    private void drawBin(Graphics2D g2, OHLCRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, OHLCDataset dataset) {
+        if (state.isBinPending()) {
+            drawCandle(g2, state, dataArea, info, plot, domainAxis, rangeAxis,
+                    dataset, state.getBinSeries(), state.getBinItem(),
+                    state.getBinX(), state.getBinHigh(), state.getBinLow(),
+                    state.getBinOpen(), state.getBinClose(),
+                    state.getBinVolume());
+        }
+    }
+
+    /**
+     * Draws a candle for an item (or for several merged items).
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the plot is being drawn.
+     * @param info  collects info about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param highLowData  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based), used for the paint and the
+     *     entity.
+     * @param x  the x-value.
+     * @param yHigh  the high-value.
+     * @param yLow  the low-value.
+     * @param yOpen  the open-value.
+     * @param yClose  the close-value.
+     * @param volume  the volume.
+     */
+    private void drawCandle(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, OHLCDataset highLowData,
+            int series, int item, double x, double yHigh, double yLow,
+            double yOpen, double yClose, double volume) {
+
         boolean horiz;
         PlotOrientation orientation = plot.getOrientation();
         if (orientation == PlotOrientation.HORIZONTAL) {
@@ -666,14 +808,6 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             entities = info.getOwner().getEntityCollection();
         }
 
-        OHLCDataset highLowData = (OHLCDataset) dataset;
-
-        double x = highLowData.getXValue(series, item);
-        double yHigh = highLowData.getHighValue(series, item);
-        double yLow = highLowData.getLowValue(series, item);
-        double yOpen = highLowData.getOpenValue(series, item);
-        double yClose = highLowData.getCloseValue(series, item);
-
         RectangleEdge domainEdge = plot.getDomainAxisEdge();
         double xx = domainAxis.valueToJava2D(x, dataArea, domainEdge);
 
@@ -707,25 +841,37 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
                     break;
 
                 case WIDTHMETHOD_SMALLEST:
-                    // Note: It would be nice to pre-calculate this per series
-                    itemCount = highLowData.getItemCount(series);
-                    double lastPos = -1;
-                    xxWidth = dataArea.getWidth();
-                    for (int i = 0; i < itemCount; i++) {
-                        double pos = domainAxis.valueToJava2D(
-                                highLowData.getXValue(series, i), dataArea,
-                                domainEdge);
-                        if (lastPos != -1) {
-                            xxWidth = Math.min(xxWidth,
-                                    Math.abs(pos - lastPos));
+                    // the smallest interval is the same for every item in
+                    // the series, so the state caches it
+                    xxWidth = Double.NaN;
+                    if (state instanceof OHLCRendererState) {
+                        xxWidth = ((OHLCRendererState) state).getCachedWidth(
+                                series);
+                    }
+                    if (Double.isNaN(xxWidth)) {
+                        itemCount = highLowData.getItemCount(series);
+                        double lastPos = -1;
+                        xxWidth = dataArea.getWidth();
+                        for (int i = 0; i < itemCount; i++) {
+                            double pos = domainAxis.valueToJava2D(
+                                    highLowData.getXValue(series, i),
+                                    dataArea, domainEdge);
+                            if (lastPos != -1) {
+                                xxWidth = Math.min(xxWidth,
+                                        Math.abs(pos - lastPos));
+                            }
+                            lastPos = pos;
+                        }
+                        if (state instanceof OHLCRendererState) {
+                            ((OHLCRendererState) state).cacheWidth(series,
+                                    xxWidth);
                         }
-                        lastPos = pos;
                     }
                     break;
 
                 case WIDTHMETHOD_INTERVALDATA:
                     IntervalXYDataset intervalXYData
-                            = (IntervalXYDataset) dataset;
+                            = (IntervalXYDataset) highLowData;
                     double startPos = domainAxis.valueToJava2D(
                             intervalXYData.getStartXValue(series, item),
                             dataArea, plot.getDomainAxisEdge());
@@ -753,8 +899,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         g2.setStroke(s);
 
         if (this.drawVolume) {
-            int volume = (int) highLowData.getVolumeValue(series, item);
-            double volumeHeight = volume / this.maxVolume;
+            double volumeHeight = ((int) volume) / this.maxVolume;
 
             double min, max;
             if (horiz) {
@@ -862,7 +1007,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
 
         // add an entity for the item...
         if (entities != null) {
-            addEntity(entities, hotspot, dataset, series, item, 0.0, 0.0);
+            addEntity(entities, hotspot, highLowData, series, item, 0.0, 0.0);
         }
 
     }
@@ -911,6 +1056,9 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         if (this.useOutlinePaint != that.useOutlinePaint) {
             return false;
         }
+        if (this.mergeSubPixelItems != that.mergeSubPixelItems) {
+            return false;
+        }
         if (!PaintUtils.equal(this.volumePaint, that.volumePaint)) {
             return false;
         }
@@ -137,6 +137,14 @@ public class HighLowRenderer extends AbstractXYItemRenderer
      */
     private double tickLength;
 
+    /**
+     * A flag that controls whether consecutive items that fall into the
+     * same pixel column are merged into a single item.
+     *
+     * @since 1.6.0
+     */
+    private boolean mergeSubPixelItems;
+
     /**
      * The default constructor.
      */
@@ -145,6 +153,7 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         this.drawOpenTicks = true;
         this.drawCloseTicks = true;
         this.tickLength = 2.0;
+        this.mergeSubPixelItems = true;
     }
 
     /**
@@ -279,6 +288,42 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether consecutive items that fall
+     * into the same pixel column are merged into a single item (with the
+     * open-value of the first item, the highest high-value, the lowest
+     * low-value and the close-value of the last item).  The default value
+     * is {@code true}, so that the number of items drawn is limited by the
+     * width of the data area.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     *
+     * @see #setMergeSubPixelItems(boolean)
+     */
+    public boolean getMergeSubPixelItems() {
+        return this.mergeSubPixelItems;
+    }
+
+    /**
+     * Sets the flag that controls whether consecutive items that fall into
+     * the same pixel column are merged into a single item, and sends a
+     * {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param merge  the new flag value.
+     *
+     * @since 1.6.0
+     *
+     * @see #getMergeSubPixelItems()
+     */
+    public void setMergeSubPixelItems(boolean merge) {
+        if (this.mergeSubPixelItems != merge) {
+            this.mergeSubPixelItems = merge;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the range of values the renderer requires to display all the
      * items from the specified dataset.
@@ -298,6 +343,25 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Initialises the renderer and returns a state object that collects the
+     * items that are merged into a pixel column.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        return new OHLCRendererState(info);
+    }
+
     /**
      * Draws the visual representation of a single data item.
      *
@@ -323,12 +387,49 @@ public class HighLowRenderer extends AbstractXYItemRenderer
             int series, int item, CrosshairState crosshairState, int pass) {
 
         double x = dataset.getXValue(series, item);
+        if (this.mergeSubPixelItems && dataset instanceof OHLCDataset
+                && state instanceof OHLCRendererState) {
+            OHLCRendererState s = (OHLCRendererState) state;
+            OHLCDataset hld = (OHLCDataset) dataset;
+            if (domainAxis.getRange().contains(x)) {
+                double xx = domainAxis.valueToJava2D(x, dataArea,
+                        plot.getDomainAxisEdge());
+                double yOpen = hld.getOpenValue(series, item);
+                double yHigh = hld.getHighValue(series, item);
+                double yLow = hld.getLowValue(series, item);
+                double yClose = hld.getCloseValue(series, item);
+                if (!s.mergeIntoBin(series, xx, yOpen, yHigh, yLow, yClose,
+                        Double.NaN)) {
+                    drawBin(g2, s, dataArea, info, plot, domainAxis,
+                            rangeAxis, hld);
+                    s.startBin(series, item, x, xx, yOpen, yHigh, yLow,
+                            yClose, Double.NaN);
+                }
+            }
+            if (item == s.getLastItemIndex()) {
+                drawBin(g2, s, dataArea, info, plot, domainAxis, rangeAxis,
+                        hld);
+                s.clearBin();
+            }
+            return;
+        }
+
         if (!domainAxis.getRange().contains(x)) {
             return;    // the x value is not within the axis range
         }
         double xx = domainAxis.valueToJava2D(x, dataArea,
                 plot.getDomainAxisEdge());
 
+        if (dataset instanceof OHLCDataset) {
+            OHLCDataset hld = (OHLCDataset) dataset;
+            drawOHLC(g2, dataArea, info, plot, domainAxis, rangeAxis, hld,
+                    series, item, xx, hld.getOpenValue(series, item),
+                    hld.getHighValue(series, item),
+                    hld.getLowValue(series, item),
+                    hld.getCloseValue(series, item));
+            return;
+        }
+
         // setup for collecting optional entity info...
         Shape entityArea = null;
         EntityCollection entities = null;
@@ -344,97 +445,159 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         g2.setPaint(itemPaint);
         g2.setStroke(itemStroke);
 
-        if (dataset instanceof OHLCDataset) {
-            OHLCDataset hld = (OHLCDataset) dataset;
+        // not a HighLowDataset, so just draw a line connecting this point
+        // with the previous point...
+        if (item > 0) {
+            double x0 = dataset.getXValue(series, item - 1);
+            double y0 = dataset.getYValue(series, item - 1);
+            double y = dataset.getYValue(series, item);
+            if (Double.isNaN(x0) || Double.isNaN(y0) || Double.isNaN(y)) {
+                return;
+            }
+            double xx0 = domainAxis.valueToJava2D(x0, dataArea,
+                    plot.getDomainAxisEdge());
+            double yy0 = rangeAxis.valueToJava2D(y0, dataArea, location);
+            double yy = rangeAxis.valueToJava2D(y, dataArea, location);
+            if (orientation == PlotOrientation.HORIZONTAL) {
+                g2.draw(new Line2D.Double(yy0, xx0, yy, xx));
+            }
+            else if (orientation == PlotOrientation.VERTICAL) {
+                g2.draw(new Line2D.Double(xx0, yy0, xx, yy));
+            }
+        }
 
-            double yHigh = hld.getHighValue(series, item);
-            double yLow = hld.getLowValue(series, item);
-            if (!Double.isNaN(yHigh) && !Double.isNaN(yLow)) {
-                double yyHigh = rangeAxis.valueToJava2D(yHigh, dataArea,
-                        location);
-                double yyLow = rangeAxis.valueToJava2D(yLow, dataArea,
+        if (entities != null) {
+            addEntity(entities, entityArea, dataset, series, item, 0.0, 0.0);
+        }
+
+    }
+
+    /**
+     * Draws the merged item held by the state, if there is one.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the plot is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     */
+    private void drawBin(Graphics2D g2, OHLCRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, OHLCDataset dataset) {
+        if (state.isBinPending()) {
+            double xx = domainAxis.valueToJava2D(state.getBinX(), dataArea,
+                    plot.getDomainAxisEdge());
+            drawOHLC(g2, dataArea, info, plot, domainAxis, rangeAxis, dataset,
+                    state.getBinSeries(), state.getBinItem(), xx,
+                    state.getBinOpen(), state.getBinHigh(), state.getBinLow(),
+                    state.getBinClose());
+        }
+    }
+
+    /**
+     * Draws the high-low line and the open and close ticks for an item (or
+     * for several merged items).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area within which the plot is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based), used for the paint and the
+     *     entity.
+     * @param xx  the Java2D coordinate for the x-value.
+     * @param yOpen  the open-value.
+     * @param yHigh  the high-value.
+     * @param yLow  the low-value.
+     * @param yClose  the close-value.
+     */
+    private void drawOHLC(Graphics2D g2, Rectangle2D dataArea,
+            PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, OHLCDataset dataset, int series, int item,
+            double xx, double yOpen, double yHigh, double yLow,
+            double yClose) {
+
+        // setup for collecting optional entity info...
+        Shape entityArea = null;
+        EntityCollection entities = null;
+        if (info != null) {
+            entities = info.getOwner().getEntityCollection();
+        }
+
+        PlotOrientation orientation = plot.getOrientation();
+        RectangleEdge location = plot.getRangeAxisEdge();
+
+        Paint itemPaint = getItemPaint(series, item);
+        Stroke itemStroke = getItemStroke(series, item);
+        g2.setPaint(itemPaint);
+        g2.setStroke(itemStroke);
+
+        if (!Double.isNaN(yHigh) && !Double.isNaN(yLow)) {
+            double yyHigh = rangeAxis.valueToJava2D(yHigh, dataArea,
+                    location);
+            double yyLow = rangeAxis.valueToJava2D(yLow, dataArea,
+                    location);
+            if (orientation == PlotOrientation.HORIZONTAL) {
+                g2.draw(new Line2D.Double(yyLow, xx, yyHigh, xx));
+                entityArea = new Rectangle2D.Double(Math.min(yyLow, yyHigh),
+                        xx - 1.0, Math.abs(yyHigh - yyLow), 2.0);
+            }
+            else if (orientation == PlotOrientation.VERTICAL) {
+                g2.draw(new Line2D.Double(xx, yyLow, xx, yyHigh));
+                entityArea = new Rectangle2D.Double(xx - 1.0,
+                        Math.min(yyLow, yyHigh), 2.0,
+                        Math.abs(yyHigh - yyLow));
+            }
+        }
+
+        double delta = getTickLength();
+        if (domainAxis.isInverted()) {
+            delta = -delta;
+        }
+        if (getDrawOpenTicks()) {
+            if (!Double.isNaN(yOpen)) {
+                double yyOpen = rangeAxis.valueToJava2D(yOpen, dataArea,
                         location);
+                if (this.openTickPaint != null) {
+                    g2.setPaint(this.openTickPaint);
+                }
+                else {
+                    g2.setPaint(itemPaint);
+                }
                 if (orientation == PlotOrientation.HORIZONTAL) {
-                    g2.draw(new Line2D.Double(yyLow, xx, yyHigh, xx));
-                    entityArea = new Rectangle2D.Double(Math.min(yyLow, yyHigh),
-                            xx - 1.0, Math.abs(yyHigh - yyLow), 2.0);
+                    g2.draw(new Line2D.Double(yyOpen, xx + delta, yyOpen,
+                            xx));
                 }
                 else if (orientation == PlotOrientation.VERTICAL) {
-                    g2.draw(new Line2D.Double(xx, yyLow, xx, yyHigh));
-                    entityArea = new Rectangle2D.Double(xx - 1.0,
-                            Math.min(yyLow, yyHigh), 2.0,
-                            Math.abs(yyHigh - yyLow));
-                }
-            }
-
-            double delta = getTickLength();
-            if (domainAxis.isInverted()) {
-                delta = -delta;
-            }
-            if (getDrawOpenTicks()) {
-                double yOpen = hld.getOpenValue(series, item);
-                if (!Double.isNaN(yOpen)) {
-                    double yyOpen = rangeAxis.valueToJava2D(yOpen, dataArea,
-                            location);
-                    if (this.openTickPaint != null) {
-                        g2.setPaint(this.openTickPaint);
-                    }
-                    else {
-                        g2.setPaint(itemPaint);
-                    }
-                    if (orientation == PlotOrientation.HORIZONTAL) {
-                        g2.draw(new Line2D.Double(yyOpen, xx + delta, yyOpen,
-                                xx));
-                    }
-                    else if (orientation == PlotOrientation.VERTICAL) {
-                        g2.draw(new Line2D.Double(xx - delta, yyOpen, xx,
-                                yyOpen));
-                    }
+                    g2.draw(new Line2D.Double(xx - delta, yyOpen, xx,
+                            yyOpen));
                 }
             }
+        }
 
-            if (getDrawCloseTicks()) {
-                double yClose = hld.getCloseValue(series, item);
-                if (!Double.isNaN(yClose)) {
-                    double yyClose = rangeAxis.valueToJava2D(
-                        yClose, dataArea, location);
-                    if (this.closeTickPaint != null) {
-                        g2.setPaint(this.closeTickPaint);
-                    }
-                    else {
-                        g2.setPaint(itemPaint);
-                    }
-                    if (orientation == PlotOrientation.HORIZONTAL) {
-                        g2.draw(new Line2D.Double(yyClose, xx, yyClose,
-                                xx - delta));
-                    }
-                    else if (orientation == PlotOrientation.VERTICAL) {
-                        g2.draw(new Line2D.Double(xx, yyClose, xx + delta,
-                                yyClose));
-                    }
+        if (getDrawCloseTicks()) {
+            if (!Double.isNaN(yClose)) {
+                double yyClose = rangeAxis.valueToJava2D(
+                    yClose, dataArea, location);
+                if (this.closeTickPaint != null) {
+                    g2.setPaint(this.closeTickPaint);
                 }
-            }
-
-        }
-        else {
-            // not a HighLowDataset, so just draw a line connecting this point
-            // with the previous point...
-            if (item > 0) {
-                double x0 = dataset.getXValue(series, item - 1);
-                double y0 = dataset.getYValue(series, item - 1);
-                double y = dataset.getYValue(series, item);
-                if (Double.isNaN(x0) || Double.isNaN(y0) || Double.isNaN(y)) {
-                    return;
+                else {
+                    g2.setPaint(itemPaint);
                 }
-                double xx0 = domainAxis.valueToJava2D(x0, dataArea,
-                        plot.getDomainAxisEdge());
-                double yy0 = rangeAxis.valueToJava2D(y0, dataArea, location);
-                double yy = rangeAxis.valueToJava2D(y, dataArea, location);
                 if (orientation == PlotOrientation.HORIZONTAL) {
-                    g2.draw(new Line2D.Double(yy0, xx0, yy, xx));
+                    g2.draw(new Line2D.Double(yyClose, xx, yyClose,
+                            xx - delta));
                 }
                 else if (orientation == PlotOrientation.VERTICAL) {
-                    g2.draw(new Line2D.Double(xx0, yy0, xx, yy));
+                    g2.draw(new Line2D.Double(xx, yyClose, xx + delta,
+                            yyClose));
                 }
             }
         }
@@ -488,6 +651,9 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         if (this.tickLength != that.tickLength) {
             return false;
         }
+        if (this.mergeSubPixelItems != that.mergeSubPixelItems) {
+            return false;
+        }
         if (!super.equals(obj)) {
             return false;
         }
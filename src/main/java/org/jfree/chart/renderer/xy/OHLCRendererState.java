@@ -0,0 +1,343 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.util.Arrays;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * The state for the renderers that draw (open, high, low, close) items,
+ * {@link CandlestickRenderer} and {@link HighLowRenderer}.  When the items
+ * are narrower than a pixel, these renderers merge the consecutive items
+ * that fall into the same pixel column (along the domain axis) into a
+ * single item, which the state collects here: the open-value of the first
+ * item, the highest high-value, the lowest low-value, the close-value of the
+ * last item and the sum of the volumes.  The number of items drawn is then
+ * limited by the size of the data area rather than by the size of the
+ * dataset.
+ * <P>
+ * The state also caches the candle widths that
+ * {@link CandlestickRenderer} calculates for each series.
+ *
+ * @since 1.6.0
+ */
+public class OHLCRendererState extends XYItemRendererState {
+
+    /** Whether the state holds a merged item that has not been drawn. */
+    private boolean binPending;
+
+    /** The series of the merged item. */
+    private int binSeries;
+
+    /** The index of the first item in the merged item. */
+    private int binItem;
+
+    /** The pixel column of the merged item. */
+    private double binColumn;
+
+    /** The x-value of the first item in the merged item. */
+    private double binX;
+
+    /** The open-value of the merged item. */
+    private double binOpenValue;
+
+    /** The high-value of the merged item. */
+    private double binHigh;
+
+    /** The low-value of the merged item. */
+    private double binLow;
+
+    /** The close-value of the merged item. */
+    private double binClose;
+
+    /** The volume of the merged item. */
+    private double binVolume;
+
+    /** The number of items in the merged item. */
+    private int binCount;
+
+    /** The cached widths, by series ({@code NaN} if not calculated). */
+    private double[] widths;
+
+    /**
+     * Creates a new state.
+     *
+     * @param info  the plot rendering info ({@code null} permitted).
+     */
+    public OHLCRendererState(PlotRenderingInfo info) {
+        super(info);
+    }
+
+    /**
+     * Returns the pixel column for a Java2D coordinate along the domain
+     * axis.
+     *
+     * @param xx  the coordinate.
+     *
+     * @return The column.
+     */
+    public static double column(double xx) {
+        return Math.floor(xx);
+    }
+
+    /**
+     * Merges an item into the current merged item, if the item belongs to
+     * the same series and falls into the same pixel column.  When this
+     * method returns {@code false} the caller should draw the current
+     * merged item (if there is one) and then call
+     * {@link #startBin(int, int, double, double, double, double, double,
+     * double, double)}.
+     *
+     * @param series  the series index.
+     * @param xx  the Java2D coordinate of the item along the domain axis.
+     * @param open  the open-value.
+     * @param high  the high-value.
+     * @param low  the low-value.
+     * @param close  the close-value.
+     * @param volume  the volume.
+     *
+     * @return A boolean indicating whether the item was merged.
+     */
+    public boolean mergeIntoBin(int series, double xx, double open,
+            double high, double low, double close, double volume) {
+        if (!this.binPending || series != this.binSeries
+                || column(xx) != this.binColumn) {
+            return false;
+        }
+        if (Double.isNaN(this.binOpenValue)) {
+            this.binOpenValue = open;
+        }
+        this.binHigh = max(this.binHigh, high);
+        this.binLow = min(this.binLow, low);
+        if (!Double.isNaN(close)) {
+            this.binClose = close;
+        }
+        if (!Double.isNaN(volume)) {
+            this.binVolume = Double.isNaN(this.binVolume) ? volume
+                    : this.binVolume + volume;
+        }
+        this.binCount++;
+        return true;
+    }
+
+    /**
+     * Starts a new merged item, discarding the current one.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param x  the x-value.
+     * @param xx  the Java2D coordinate of the item along the domain axis.
+     * @param open  the open-value.
+     * @param high  the high-value.
+     * @param low  the low-value.
+     * @param close  the close-value.
+     * @param volume  the volume.
+     */
+    public void startBin(int series, int item, double x, double xx,
+            double open, double high, double low, double close,
+            double volume) {
+        this.binPending = true;
+        this.binSeries = series;
+        this.binItem = item;
+        this.binColumn = column(xx);
+        this.binX = x;
+        this.binOpenValue = open;
+        this.binHigh = high;
+        this.binLow = low;
+        this.binClose = close;
+        this.binVolume = volume;
+        this.binCount = 1;
+    }
+
+    /**
+     * Discards the current merged item.
+     */
+    public void clearBin() {
+        this.binPending = false;
+    }
+
+    /**
+     * Returns {@code true} if the state holds a merged item that has not
+     * been drawn yet.
+     *
+     * @return A boolean.
+     */
+    public boolean isBinPending() {
+        return this.binPending;
+    }
+
+    /**
+     * Returns the series of the merged item.
+     *
+     * @return The series index.
+     */
+    public int getBinSeries() {
+        return this.binSeries;
+    }
+
+    /**
+     * Returns the index of the first item in the merged item, which is used
+     * for its paint and its entity.
+     *
+     * @return The item index.
+     */
+    public int getBinItem() {
+        return this.binItem;
+    }
+
+    /**
+     * Returns the number of items in the merged item.
+     *
+     * @return The item count.
+     */
+    public int getBinCount() {
+        return this.binCount;
+    }
+
+    /**
+     * Returns the x-value of the first item in the merged item.
+     *
+     * @return The x-value.
+     */
+    public double getBinX() {
+        return this.binX;
+    }
+
+    /**
+     * Returns the open-value of the merged item.
+     *
+     * @return The open-value.
+     */
+    public double getBinOpen() {
+        return this.binOpenValue;
+    }
+
+    /**
+     * Returns the high-value of the merged item.
+     *
+     * @return The high-value.
+     */
+    public double getBinHigh() {
+        return this.binHigh;
+    }
+
+    /**
+     * Returns the low-value of the merged item.
+     *
+     * @return The low-value.
+     */
+    public double getBinLow() {
+        return this.binLow;
+    }
+
+    /**
+     * Returns the close-value of the merged item.
+     *
+     * @return The close-value.
+     */
+    public double getBinClose() {
+        return this.binClose;
+    }
+
+    /**
+     * Returns the volume of the merged item.
+     *
+     * @return The volume.
+     */
+    public double getBinVolume() {
+        return this.binVolume;
+    }
+
+    /**
+     * Returns the width cached for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The width ({@code Double.NaN} if no width has been cached).
+     */
+    public double getCachedWidth(int series) {
+        if (this.widths == null || series >= this.widths.length) {
+            return Double.NaN;
+        }
+        return this.widths[series];
+    }
+
+    /**
+     * Caches the width for a series.
+     *
+     * @param series  the series index.
+     * @param width  the width.
+     */
+    public void cacheWidth(int series, double width) {
+        if (this.widths == null || series >= this.widths.length) {
+            int oldLength = (this.widths == null) ? 0 : this.widths.length;
+            double[] w = new double[Math.max(series + 1, 2 * oldLength)];
+            Arrays.fill(w, Double.NaN);
+            if (this.widths != null) {
+                System.arraycopy(this.widths, 0, w, 0, oldLength);
+            }
+            this.widths = w;
+        }
+        this.widths[series] = width;
+    }
+
+    /**
+     * Discards any merged item at the start of each series pass.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the first item index for this pass.
+     * @param lastItem  the last item index for this pass.
+     * @param pass  the current pass index.
+     * @param passCount  the number of passes.
+     */
+    @Override
+    public void startSeriesPass(XYDataset dataset, int series,
+            int firstItem, int lastItem, int pass, int passCount) {
+        this.binPending = false;
+        super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                passCount);
+    }
+
+    /**
+     * Returns the larger of two values, ignoring {@code NaN}.
+     */
+    private static double max(double a, double b) {
+        return Double.isNaN(a) ? b : (Double.isNaN(b) ? a : Math.max(a, b));
+    }
+
+    /**
+     * Returns the smaller of two values, ignoring {@code NaN}.
+     */
+    private static double min(double a, double b) {
+        return Double.isNaN(a) ? b : (Double.isNaN(b) ? a : Math.min(a, b));
+    }
+
+}
@@ -95,6 +95,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.StackBuffer;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PaintUtils;
@@ -232,6 +233,13 @@ public class StackedXYAreaRenderer extends XYAreaRenderer
      */
     private transient Stroke shapeStroke = null;
 
+    /**
+     * A flag that indicates whether a subclass overrides
+     * {@link #getPreviousHeight(TableXYDataset, int, int)}, {@code null}
+     * until first required.
+     */
+    private transient Boolean previousHeightOverridden;
+
     /**
      * Creates a new renderer.
      */
@@ -416,7 +424,7 @@ public class StackedXYAreaRenderer extends XYAreaRenderer
         }
 
         //  Get height adjustment based on stack and translate to Java2D values
-        double ph1 = getPreviousHeight(tdataset, series, item);
+        double ph1 = previousHeight(state, tdataset, series, item);
         double transX1 = domainAxis.valueToJava2D(x1, dataArea,
                 plot.getDomainAxisEdge());
         double transY1 = rangeAxis.valueToJava2D(y1 + ph1, dataArea,
@@ -472,7 +480,8 @@ public class StackedXYAreaRenderer extends XYAreaRenderer
                     // get the previous data point...
                     double x0 = dataset.getXValue(series, item - 1);
                     double y0 = dataset.getYValue(series, item - 1);
-                    double ph0 = getPreviousHeight(tdataset, series, item - 1);
+                    double ph0 = previousHeight(state, tdataset, series,
+                            item - 1);
                     double transX0 = domainAxis.valueToJava2D(x0, dataArea,
                             plot.getDomainAxisEdge());
                     double transY0 = rangeAxis.valueToJava2D(y0 + ph0,
@@ -635,6 +644,43 @@ public class StackedXYAreaRenderer extends XYAreaRenderer
         return result;
     }
 
+    /**
+     * Returns the same value as
+     * {@link #getPreviousHeight(TableXYDataset, int, int)}, but reads it from
+     * a stack buffer in the renderer state (unless a subclass overrides
+     * that method) instead of looping over the lower series for each item.
+     *
+     * @param state  the renderer state.
+     * @param dataset  the dataset.
+     * @param series  the series.
+     * @param index  the index.
+     *
+     * @return The cumulative value for all series' values up to but excluding
+     *         {@code series} for {@code index}.
+     */
+    private double previousHeight(XYItemRendererState state,
+            final TableXYDataset dataset, int series, int index) {
+        if (this.previousHeightOverridden == null) {
+            this.previousHeightOverridden = Boolean.valueOf(isOverridden(
+                    StackedXYAreaRenderer.class, "getPreviousHeight"));
+        }
+        if (this.previousHeightOverridden.booleanValue()) {
+            return getPreviousHeight(dataset, series, index);
+        }
+        StackBuffer buffer = state.getStackBuffer();
+        if (buffer == null) {
+            buffer = new StackBuffer(dataset.getSeriesCount(),
+                    dataset.getItemCount(), 0.0, false, null) {
+                @Override
+                protected double getValue(int series, int item) {
+                    return dataset.getYValue(series, item);
+                }
+            };
+            state.setStackBuffer(buffer);
+        }
+        return buffer.getPositiveBase(series, index);
+    }
+
     /**
      * Tests the renderer for equality with an arbitrary object.
      *
@@ -72,6 +72,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.StackBuffer;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.util.PublicCloneable;
@@ -233,7 +234,8 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y1)) {
             y1 = 0.0;
         }
-        double[] stack1 = getStackValues(tdataset, series, item);
+        StackBuffer buffer = getStackBuffer(state, tdataset);
+        double[] stack1 = buffer.getStackValues(series, item);
 
         // get the previous point and the next point so we can calculate a
         // "hot spot" for the area (used by the chart entity)...
@@ -242,7 +244,7 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y0)) {
             y0 = 0.0;
         }
-        double[] stack0 = getStackValues(tdataset, series, Math.max(item - 1,
+        double[] stack0 = buffer.getStackValues(series, Math.max(item - 1,
                 0));
 
         int itemCount = dataset.getItemCount(series);
@@ -253,7 +255,7 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         if (Double.isNaN(y2)) {
             y2 = 0.0;
         }
-        double[] stack2 = getStackValues(tdataset, series, Math.min(item + 1,
+        double[] stack2 = buffer.getStackValues(series, Math.min(item + 1,
                 itemCount - 1));
 
         double xleft = (x0 + x1) / 2.0;
@@ -476,6 +478,33 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
         return result;
     }
 
+    /**
+     * Returns the stack buffer for the dataset from the renderer state,
+     * creating it the first time it is required.  The buffer gives the
+     * same results as {@link #getStackValues(TableXYDataset, int, int)}
+     * without looping over the lower series for each item.
+     *
+     * @param state  the renderer state.
+     * @param dataset  the dataset.
+     *
+     * @return The stack buffer.
+     */
+    private StackBuffer getStackBuffer(XYItemRendererState state,
+            final TableXYDataset dataset) {
+        StackBuffer buffer = state.getStackBuffer();
+        if (buffer == null) {
+            buffer = new StackBuffer(dataset.getSeriesCount(),
+                    dataset.getItemCount(), 0.0, true, null) {
+                @Override
+                protected double getValue(int series, int item) {
+                    return dataset.getYValue(series, item);
+                }
+            };
+            state.setStackBuffer(buffer);
+        }
+        return buffer;
+    }
+
     /**
      * Returns a pair of "stack" values calculated as the mean of the two
      * specified stack value pairs.
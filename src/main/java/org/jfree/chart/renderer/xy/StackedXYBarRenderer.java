@@ -68,6 +68,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.StackBuffer;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.TextAnchor;
 import org.jfree.data.Range;
@@ -268,37 +269,18 @@ public class StackedXYBarRenderer extends XYBarRenderer {
             return;
         }
 
-        // if we are rendering the values as percentages, we need to calculate
-        // the total for the current item.  Unfortunately here we end up
-        // repeating the calculation more times than is strictly necessary -
-        // hopefully I'll come back to this and find a way to add the
-        // total(s) to the renderer state.  The other problem is we implicitly
-        // assume the dataset has no negative values...perhaps that can be
-        // fixed too.
-        double total = 0.0;
+        // the stack totals (and the item totals, if we are rendering the
+        // values as percentages) are calculated once for each drawing and
+        // kept in the renderer state.  We implicitly assume the dataset has
+        // no negative values when rendering percentages...perhaps that can
+        // be fixed.
+        StackBuffer buffer = getStackBuffer(state, (TableXYDataset) dataset);
         if (this.renderAsPercentages) {
-            total = DatasetUtils.calculateStackTotal(
-                    (TableXYDataset) dataset, item);
-            value = value / total;
-        }
-
-        double positiveBase = 0.0;
-        double negativeBase = 0.0;
-
-        for (int i = 0; i < series; i++) {
-            double v = dataset.getYValue(i, item);
-            if (!Double.isNaN(v) && isSeriesVisible(i)) {
-                if (this.renderAsPercentages) {
-                    v = v / total;
-                }
-                if (v > 0) {
-                    positiveBase = positiveBase + v;
-                }
-                else {
-                    negativeBase = negativeBase + v;
-                }
-            }
+            value = value / buffer.getTotal(item);
         }
+        double[] stack = buffer.getStackValues(series, item);
+        double positiveBase = stack[1];
+        double negativeBase = stack[0];
 
         double translatedBase;
         double translatedValue;
@@ -405,6 +387,46 @@ public class StackedXYBarRenderer extends XYBarRenderer {
 
     }
 
+    /**
+     * Returns the stack buffer for the dataset from the renderer state,
+     * creating it the first time it is required.
+     *
+     * @param state  the renderer state.
+     * @param dataset  the dataset.
+     *
+     * @return The stack buffer.
+     */
+    private StackBuffer getStackBuffer(XYItemRendererState state,
+            final TableXYDataset dataset) {
+        StackBuffer buffer = state.getStackBuffer();
+        if (buffer == null) {
+            int itemCount = dataset.getItemCount();
+            final double[] totals;
+            if (this.renderAsPercentages) {
+                totals = new double[itemCount];
+                for (int i = 0; i < itemCount; i++) {
+                    totals[i] = DatasetUtils.calculateStackTotal(dataset, i);
+                }
+            }
+            else {
+                totals = null;
+            }
+            buffer = new StackBuffer(dataset.getSeriesCount(), itemCount, 0.0,
+                    true, totals) {
+                @Override
+                protected double getValue(int series, int item) {
+                    if (!isSeriesVisible(series)) {
+                        return Double.NaN;
+                    }
+                    double v = dataset.getYValue(series, item);
+                    return totals == null ? v : v / totals[item];
+                }
+            };
+            state.setStackBuffer(buffer);
+        }
+        return buffer;
+    }
+
     /**
      * Tests this renderer for equality with an arbitrary object.
      *
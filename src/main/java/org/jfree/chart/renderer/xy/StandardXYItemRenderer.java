@@ -135,6 +135,7 @@ import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LinePathBatcher;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.util.BooleanList;
@@ -210,6 +211,12 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
      */
     private boolean drawSeriesLineAsPath;
 
+    /**
+     * A flag that indicates whether lines can be batched, {@code null} until
+     * first required.
+     */
+    private transient Boolean lineBatchingSafe;
+
     /**
      * The shape that is used to represent a line in the legend.
      * This should never be set to {@code null}.
@@ -847,13 +854,28 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
                         }
 
                         if (state.workingLine.intersects(dataArea)) {
-                            g2.draw(state.workingLine);
+                            if (isLineBatchingSafe()) {
+                                Line2D line = state.workingLine;
+                                LinePathBatcher batcher
+                                        = state.getLineBatcher(g2);
+                                batcher.setStyle(paint, seriesStroke);
+                                batcher.addSegment(line.getX1(),
+                                        line.getY1(), line.getX2(),
+                                        line.getY2());
+                            }
+                            else {
+                                g2.draw(state.workingLine);
+                            }
                         }
                     }
                 }
             }
         }
 
+        if (item == state.getLastItemIndex()) {
+            state.flushLines();
+        }
+
         // we needed to get this far even for invisible items, to ensure that
         // seriesPath updates happened, but now there is nothing more we need
         // to do for non-visible items...
@@ -861,6 +883,12 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
             return;
         }
 
+        // pending lines must be drawn before anything else for this item
+        if (getBaseShapesVisible() || getPlotImages()
+                || isItemLabelVisible(series, item)) {
+            state.flushLines();
+        }
+
         if (getBaseShapesVisible()) {
 
             Shape shape = getItemShape(series, item);
@@ -922,6 +950,21 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
 
     }
 
+    /**
+     * Returns {@code true} if the lines for a series can be collected by the
+     * state's {@link LinePathBatcher} and drawn together, which is the case
+     * unless a subclass overrides {@code drawItem()}.
+     *
+     * @return A boolean.
+     */
+    private boolean isLineBatchingSafe() {
+        if (this.lineBatchingSafe == null) {
+            this.lineBatchingSafe = Boolean.valueOf(!isOverridden(
+                    StandardXYItemRenderer.class, "drawItem"));
+        }
+        return this.lineBatchingSafe.booleanValue();
+    }
+
     /**
      * Tests this renderer for equality with another object.
      *
@@ -48,11 +48,19 @@
 package org.jfree.chart.renderer.xy;
 
 import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.Serializable;
 
+import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.RendererChangeEvent;
@@ -60,6 +68,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.CompiledPaintScale;
 import org.jfree.chart.renderer.LookupPaintScale;
 import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.ui.RectangleAnchor;
@@ -79,12 +88,26 @@ import org.jfree.data.xy.XYZDataset;
  * <br><br>
  * <img src="../../../../../images/XYBlockRendererSample.png"
  * alt="XYBlockRendererSample.png">
+ * <p>
+ * When drawing to an image or the screen, a series whose items cover a
+ * regular grid (one item per block, with a spacing equal to the block width
+ * and height) is drawn as a single scaled image followed by one pass over
+ * the block outlines, rather than one rectangle per item, provided that the
+ * axes are linear and the paint scale can be compiled (see
+ * {@link CompiledPaintScale}).  Item labels, entities and crosshair values
+ * are still handled for each item.
  *
  * @since 1.0.4
  */
 public class XYBlockRenderer extends AbstractXYItemRenderer
         implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
 
+    /**
+     * The largest difference from a whole number of blocks that is accepted
+     * for an item position when checking for a regular grid.
+     */
+    private static final double GRID_TOLERANCE = 1.0E-6;
+
     /**
      * The block width (defaults to 1.0).
      */
@@ -329,6 +352,25 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Initialises the renderer and returns a state object that should be
+     * passed to all subsequent calls to the drawItem() method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the data.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        return new State(info);
+    }
+
     /**
      * Draws the block representing the specified item.
      *
@@ -358,7 +400,38 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
             z = ((XYZDataset) dataset).getZValue(series, item);
         }
 
-        Paint p = this.paintScale.getPaint(z);
+        boolean drawn = false;
+        if (state instanceof State) {
+            State s = (State) state;
+            if (item == state.getFirstItemIndex()) {
+                s.seriesImageDrawn = drawSeriesImage(g2, dataArea, plot,
+                        domainAxis, rangeAxis, dataset, series,
+                        state.getFirstItemIndex(), state.getLastItemIndex());
+            }
+            drawn = s.seriesImageDrawn;
+        }
+
+        PlotOrientation orientation = plot.getOrientation();
+        int datasetIndex = plot.indexOf(dataset);
+        boolean labelVisible = isItemLabelVisible(series, item);
+        EntityCollection entities = state.getEntityCollection();
+        if (drawn) {
+            // the block and its outline are part of the series image, so
+            // only the crosshair values, item label and entity remain
+            if (plot.isDomainCrosshairLockedOnData()
+                    || plot.isRangeCrosshairLockedOnData()) {
+                double transX = domainAxis.valueToJava2D(x, dataArea,
+                        plot.getDomainAxisEdge());
+                double transY = rangeAxis.valueToJava2D(y, dataArea,
+                        plot.getRangeAxisEdge());
+                updateCrosshairValues(crosshairState, x, y, datasetIndex,
+                        transX, transY, orientation);
+            }
+            if (!labelVisible && entities == null) {
+                return;
+            }
+        }
+
         double xx0 = domainAxis.valueToJava2D(x + this.xOffset, dataArea,
                 plot.getDomainAxisEdge());
         double yy0 = rangeAxis.valueToJava2D(y + this.yOffset, dataArea,
@@ -368,7 +441,6 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         double yy1 = rangeAxis.valueToJava2D(y + this.blockHeight
                 + this.yOffset, dataArea, plot.getRangeAxisEdge());
         Rectangle2D block;
-        PlotOrientation orientation = plot.getOrientation();
         if (orientation.equals(PlotOrientation.HORIZONTAL)) {
             block = new Rectangle2D.Double(Math.min(yy0, yy1),
                     Math.min(xx0, xx1), Math.abs(yy1 - yy0),
@@ -379,25 +451,28 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
                     Math.min(yy0, yy1), Math.abs(xx1 - xx0),
                     Math.abs(yy1 - yy0));
         }
-        g2.setPaint(p);
-        g2.fill(block);
-        g2.setStroke(new BasicStroke(1.0f));
-        g2.draw(block);
+        if (!drawn) {
+            Paint p = this.paintScale.getPaint(z);
+            g2.setPaint(p);
+            g2.fill(block);
+            g2.setStroke(new BasicStroke(1.0f));
+            g2.draw(block);
+        }
 
-        if (isItemLabelVisible(series, item)) {
+        if (labelVisible) {
             drawItemLabel(g2, orientation, dataset, series, item, 
                     block.getCenterX(), block.getCenterY(), y < 0.0);
         }
 
-        int datasetIndex = plot.indexOf(dataset);
-        double transX = domainAxis.valueToJava2D(x, dataArea,
-                plot.getDomainAxisEdge());
-        double transY = rangeAxis.valueToJava2D(y, dataArea,
-                plot.getRangeAxisEdge());        
-        updateCrosshairValues(crosshairState, x, y, datasetIndex,
-                transX, transY, orientation);
+        if (!drawn) {
+            double transX = domainAxis.valueToJava2D(x, dataArea,
+                    plot.getDomainAxisEdge());
+            double transY = rangeAxis.valueToJava2D(y, dataArea,
+                    plot.getRangeAxisEdge());        
+            updateCrosshairValues(crosshairState, x, y, datasetIndex,
+                    transX, transY, orientation);
+        }
 
-        EntityCollection entities = state.getEntityCollection();
         if (entities != null) {
             addEntity(entities, block, dataset, series, item, 
                     block.getCenterX(), block.getCenterY());
@@ -405,6 +480,193 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
 
     }
 
+    /**
+     * Draws the items in a series as a single image, if the items form a
+     * regular grid of blocks and the image can be drawn without changing
+     * the appearance of the chart.  The outline of each block is then drawn
+     * in item order, as it would be if the blocks were drawn one by one.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the x-axis.
+     * @param rangeAxis  the y-axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to draw.
+     * @param lastItem  the index of the last item to draw.
+     *
+     * @return A boolean indicating whether or not the image was drawn (if
+     *     not, the caller should draw the items one by one).
+     */
+    private boolean drawSeriesImage(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+            XYDataset dataset, int series, int firstItem, int lastItem) {
+        if (!isRasterDevice(g2) || !isLinear(domainAxis)
+                || !isLinear(rangeAxis)) {
+            return false;
+        }
+        CompiledPaintScale scale = CompiledPaintScale.compile(
+                this.paintScale);
+        if (scale == null) {
+            return false;
+        }
+        int count = lastItem - firstItem + 1;
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int item = firstItem; item <= lastItem; item++) {
+            double x = dataset.getXValue(series, item);
+            double y = dataset.getYValue(series, item);
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                return false;
+            }
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        long columns = Math.round((maxX - minX) / this.blockWidth) + 1;
+        long rows = Math.round((maxY - minY) / this.blockHeight) + 1;
+        if (columns * rows != count) {
+            return false;
+        }
+
+        // one pixel per block, the first row holds the lowest y-values
+        int w = (int) columns;
+        int h = (int) rows;
+        BufferedImage image = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        boolean[] filled = new boolean[count];
+        int[] cells = new int[count];
+        XYZDataset xyz = dataset instanceof XYZDataset
+                ? (XYZDataset) dataset : null;
+        for (int item = firstItem; item <= lastItem; item++) {
+            double c = (dataset.getXValue(series, item) - minX)
+                    / this.blockWidth;
+            double r = (dataset.getYValue(series, item) - minY)
+                    / this.blockHeight;
+            double column = Math.rint(c);
+            double row = Math.rint(r);
+            if (Math.abs(c - column) > GRID_TOLERANCE
+                    || Math.abs(r - row) > GRID_TOLERANCE) {
+                return false;
+            }
+            int index = (int) row * w + (int) column;
+            if (filled[index]) {
+                return false;
+            }
+            filled[index] = true;
+            cells[item - firstItem] = index;
+            double z = xyz != null ? xyz.getZValue(series, item) : 0.0;
+            pixels[index] = scale.getARGB(z);
+        }
+
+        // the Java2D coordinates of the block edges
+        double[] xEdges = new double[w + 1];
+        for (int c = 0; c <= w; c++) {
+            xEdges[c] = domainAxis.valueToJava2D(minX + this.xOffset
+                    + c * this.blockWidth, dataArea, plot.getDomainAxisEdge());
+        }
+        double[] yEdges = new double[h + 1];
+        for (int r = 0; r <= h; r++) {
+            yEdges[r] = rangeAxis.valueToJava2D(minY + this.yOffset
+                    + r * this.blockHeight, dataArea, plot.getRangeAxisEdge());
+        }
+
+        // map the image onto the blocks, allowing for inverted axes
+        double xx0 = xEdges[0];
+        double xx1 = xEdges[w];
+        double yy0 = yEdges[0];
+        double yy1 = yEdges[h];
+        boolean horizontal = plot.getOrientation().equals(
+                PlotOrientation.HORIZONTAL);
+        AffineTransform transform;
+        if (horizontal) {
+            transform = new AffineTransform(0.0, (xx1 - xx0) / w,
+                    (yy1 - yy0) / h, 0.0, yy0, xx0);
+        }
+        else {
+            transform = new AffineTransform((xx1 - xx0) / w, 0.0, 0.0,
+                    (yy1 - yy0) / h, xx0, yy0);
+        }
+        RenderingHints savedHints = g2.getRenderingHints();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(image, transform, null);
+        }
+        finally {
+            g2.setRenderingHints(savedHints);
+        }
+
+        // each outline covers the edges of the blocks drawn before it, so
+        // the outlines are drawn in item order with the paint of the block
+        Rectangle2D block = new Rectangle2D.Double();
+        g2.setStroke(new BasicStroke(1.0f));
+        int argb = 0;
+        for (int i = 0; i < count; i++) {
+            int index = cells[i];
+            int column = index % w;
+            int row = index / w;
+            double bx0 = xEdges[column];
+            double bx1 = xEdges[column + 1];
+            double by0 = yEdges[row];
+            double by1 = yEdges[row + 1];
+            if (horizontal) {
+                block.setRect(Math.min(by0, by1), Math.min(bx0, bx1),
+                        Math.abs(by1 - by0), Math.abs(bx1 - bx0));
+            }
+            else {
+                block.setRect(Math.min(bx0, bx1), Math.min(by0, by1),
+                        Math.abs(bx1 - bx0), Math.abs(by1 - by0));
+            }
+            if (i == 0 || pixels[index] != argb) {
+                argb = pixels[index];
+                g2.setPaint(new Color(argb, true));
+            }
+            g2.draw(block);
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the axis maps values to Java2D coordinates
+     * linearly, so that a regular grid of blocks can be drawn as a scaled
+     * image.
+     *
+     * @param axis  the axis.
+     *
+     * @return A boolean.
+     */
+    private static boolean isLinear(ValueAxis axis) {
+        // a subclass might override valueToJava2D()
+        return axis.getClass() == NumberAxis.class;
+    }
+
+    /**
+     * Returns {@code true} if the graphics target is an image or a screen,
+     * in which case a grid of blocks can be drawn as an image without any
+     * loss of quality.  Printers (and other vector targets) receive one
+     * rectangle per block.
+     *
+     * @param g2  the graphics target.
+     *
+     * @return A boolean.
+     */
+    private static boolean isRasterDevice(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null || gc.getDevice() == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_IMAGE_BUFFER
+                || type == GraphicsDevice.TYPE_RASTER_SCREEN;
+    }
+
     /**
      * Tests this {@code XYBlockRenderer} for equality with an arbitrary
      * object.  This method returns {@code true} if and only if:
@@ -461,4 +723,34 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         return clone;
     }
 
+    /**
+     * The state used by this renderer while drawing a chart.
+     */
+    static class State extends XYItemRendererState {
+
+        /**
+         * A flag that indicates whether the items in the current series
+         * pass have been drawn as a single image.
+         */
+        boolean seriesImageDrawn;
+
+        /**
+         * Creates a new state.
+         *
+         * @param info  the plot rendering info ({@code null} permitted).
+         */
+        State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+        @Override
+        public void startSeriesPass(XYDataset dataset, int series,
+                int firstItem, int lastItem, int pass, int passCount) {
+            super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                    passCount);
+            this.seriesImageDrawn = false;
+        }
+
+    }
+
 }
@@ -176,8 +176,9 @@ public class XYItemRendererState extends RendererState {
     /**
      * This method is called by the {@link XYPlot} when it ends a pass
      * through the (visible) items in a series.  The default implementation
-     * does nothing, but you can override this method to implement specialised
-     * behaviour.
+     * draws any line segments that are still pending in the line batcher
+     * (see {@link #getLineBatcher(java.awt.Graphics2D)}), you can override
+     * this method to implement additional specialised behaviour.
      *
      * @param dataset  the dataset.
      * @param series  the series index.
@@ -192,7 +193,7 @@ public class XYItemRendererState extends RendererState {
      */
     public void endSeriesPass(XYDataset dataset, int series, int firstItem,
             int lastItem, int pass, int passCount) {
-        // do nothing...this is just a hook for subclasses
+        flushLines();
     }
 
 }
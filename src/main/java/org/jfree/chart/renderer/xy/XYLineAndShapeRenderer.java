@@ -93,6 +93,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LinePathBatcher;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.util.BooleanList;
 import org.jfree.chart.util.LineUtils;
@@ -171,6 +172,19 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
      */
     private boolean drawSeriesLineAsPath;
 
+    /**
+     * A flag that indicates whether lines can be batched (see
+     * {@link #isLineBatchingSafe()}), {@code null} until first required.
+     */
+    private transient Boolean lineBatchingSafe;
+
+    /**
+     * A flag that indicates whether the crosshair point for each item is the
+     * item's value (see {@link #isCrosshairPointItemValue()}), {@code null}
+     * until first required.
+     */
+    private transient Boolean crosshairPointItemValue;
+
     /**
      * Creates a new renderer with both lines and shapes visible.
      */
@@ -751,6 +765,9 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                             item, domainAxis, rangeAxis, dataArea);
                 }
             }
+            if (item == state.getLastItemIndex()) {
+                state.flushLines();
+            }
         }
         // second pass adds shapes where the items are ..
         else if (isItemPass(pass)) {
@@ -790,6 +807,45 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         return pass == 1;
     }
 
+    /**
+     * Returns {@code true} if the lines for a series can be collected by the
+     * state's {@link LinePathBatcher} and drawn together, rather than being
+     * drawn one at a time with
+     * {@link #drawFirstPassShape(Graphics2D, int, int, int, Shape)}.  This
+     * is the case unless a subclass overrides one of the methods that draw
+     * the lines.
+     *
+     * @return A boolean.
+     */
+    private boolean isLineBatchingSafe() {
+        if (this.lineBatchingSafe == null) {
+            this.lineBatchingSafe = Boolean.valueOf(!isOverridden(
+                    XYLineAndShapeRenderer.class, "drawItem",
+                    "drawPrimaryLine", "drawPrimaryLineAsPath",
+                    "drawFirstPassShape"));
+        }
+        return this.lineBatchingSafe.booleanValue();
+    }
+
+    /**
+     * Returns {@code true}, since this renderer reports each visible item's
+     * value as a crosshair candidate, unless a subclass overrides one of the
+     * methods involved.
+     *
+     * @return A boolean.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    public boolean isCrosshairPointItemValue() {
+        if (this.crosshairPointItemValue == null) {
+            this.crosshairPointItemValue = Boolean.valueOf(!isOverridden(
+                    XYLineAndShapeRenderer.class, "drawItem",
+                    "drawSecondaryPass", "updateCrosshairValues"));
+        }
+        return this.crosshairPointItemValue.booleanValue();
+    }
+
     /**
      * Draws the item (first pass). This method draws the lines
      * connecting the items.
@@ -858,7 +914,17 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         }
         visible = LineUtils.clipLine(state.workingLine, dataArea);
         if (visible) {
-            drawFirstPassShape(g2, pass, series, item, state.workingLine);
+            if (isLineBatchingSafe()) {
+                Line2D line = state.workingLine;
+                LinePathBatcher batcher = state.getLineBatcher(g2);
+                batcher.setStyle(getItemPaint(series, item),
+                        getItemStroke(series, item));
+                batcher.addSegment(line.getX1(), line.getY1(), line.getX2(),
+                        line.getY2());
+            }
+            else {
+                drawFirstPassShape(g2, pass, series, item, state.workingLine);
+            }
         }
     }
 
@@ -912,6 +978,14 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
 
         State s = (State) state;
+        LinePathBatcher batcher = null;
+        if (isLineBatchingSafe()) {
+            // the whole path is drawn with the style of the last item
+            int last = s.getLastItemIndex();
+            batcher = s.getLineBatcher(g2);
+            batcher.setStyle(getItemPaint(series, last),
+                    getItemStroke(series, last));
+        }
         // update path to reflect latest point
         if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
             float x = (float) transX1;
@@ -921,7 +995,15 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                 x = (float) transY1;
                 y = (float) transX1;
             }
-            if (s.isLastPointGood()) {
+            if (batcher != null) {
+                if (s.isLastPointGood()) {
+                    batcher.lineTo(x, y);
+                }
+                else {
+                    batcher.moveTo(x, y);
+                }
+            }
+            else if (s.isLastPointGood()) {
                 s.seriesPath.lineTo(x, y);
             }
             else {
@@ -934,7 +1016,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         // if this is the last item, draw the path ...
         if (item == s.getLastItemIndex()) {
             // draw path
-            drawFirstPassShape(g2, pass, series, item, s.seriesPath);
+            if (batcher != null) {
+                batcher.flush();
+            }
+            else {
+                drawFirstPassShape(g2, pass, series, item, s.seriesPath);
+            }
         }
     }
 
@@ -89,6 +89,7 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LinePathBatcher;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.urls.XYURLGenerator;
 import org.jfree.chart.util.LineUtils;
@@ -119,6 +120,12 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
      */
     private double stepPoint = 1.0d;
 
+    /**
+     * A flag that indicates whether lines can be batched, {@code null} until
+     * first required.
+     */
+    private transient Boolean lineBatchingSafe;
+
     /**
      * Constructs a new renderer with no tooltip or URL generation.
      */
@@ -225,6 +232,13 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
                 : rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation));
 
         if (pass == 0 && item > 0) {
+            LinePathBatcher batcher = null;
+            if (isLineBatchingSafe()) {
+                batcher = state.getLineBatcher(g2);
+                batcher.setStyle(seriesPaint, seriesStroke);
+            }
+            Line2D line = state.workingLine;
+
             // get the previous data point...
             double x0 = dataset.getXValue(series, item - 1);
             double y0 = dataset.getYValue(series, item - 1);
@@ -237,7 +251,7 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
                 if (transY0 == transY1) {
                     // this represents the situation
                     // for drawing a horizontal bar.
-                    drawLine(g2, state.workingLine, transY0, transX0, transY1,
+                    drawLine(g2, batcher, line, transY0, transX0, transY1,
                             transX1, dataArea);
                 }
                 else {  //this handles the need to perform a 'step'.
@@ -245,29 +259,29 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
                     // calculate the step point
                     double transXs = transX0 + (getStepPoint()
                             * (transX1 - transX0));
-                    drawLine(g2, state.workingLine, transY0, transX0, transY0,
+                    drawLine(g2, batcher, line, transY0, transX0, transY0,
                             transXs, dataArea);
-                    drawLine(g2, state.workingLine, transY0, transXs, transY1,
+                    drawLine(g2, batcher, line, transY0, transXs, transY1,
                             transXs, dataArea);
-                    drawLine(g2, state.workingLine, transY1, transXs, transY1,
+                    drawLine(g2, batcher, line, transY1, transXs, transY1,
                             transX1, dataArea);
                 }
             }
             else if (orientation == PlotOrientation.VERTICAL) {
                 if (transY0 == transY1) { // this represents the situation
                                           // for drawing a horizontal bar.
-                    drawLine(g2, state.workingLine, transX0, transY0, transX1,
+                    drawLine(g2, batcher, line, transX0, transY0, transX1,
                             transY1, dataArea);
                 }
                 else {  //this handles the need to perform a 'step'.
                     // calculate the step point
                     double transXs = transX0 + (getStepPoint()
                             * (transX1 - transX0));
-                    drawLine(g2, state.workingLine, transX0, transY0, transXs,
+                    drawLine(g2, batcher, line, transX0, transY0, transXs,
                             transY0, dataArea);
-                    drawLine(g2, state.workingLine, transXs, transY0, transXs,
+                    drawLine(g2, batcher, line, transXs, transY0, transXs,
                             transY1, dataArea);
-                    drawLine(g2, state.workingLine, transXs, transY1, transX1,
+                    drawLine(g2, batcher, line, transXs, transY1, transX1,
                             transY1, dataArea);
                 }
             }
@@ -291,6 +305,10 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
 
         }
 
+        if (pass == 0 && item == state.getLastItemIndex()) {
+            state.flushLines();
+        }
+
         if (pass == 1) {
             // draw the item label if there is one...
             if (isItemLabelVisible(series, item)) {
@@ -306,19 +324,36 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
         }
     }
 
+    /**
+     * Returns {@code true} if the lines for a series can be collected by the
+     * state's {@link LinePathBatcher} and drawn together, which is the case
+     * unless a subclass overrides {@code drawItem()}.
+     *
+     * @return A boolean.
+     */
+    private boolean isLineBatchingSafe() {
+        if (this.lineBatchingSafe == null) {
+            this.lineBatchingSafe = Boolean.valueOf(!isOverridden(
+                    XYStepRenderer.class, "drawItem"));
+        }
+        return this.lineBatchingSafe.booleanValue();
+    }
+
     /**
      * A utility method that draws a line but only if none of the coordinates
      * are NaN values.
      *
      * @param g2  the graphics target.
+     * @param batcher  the line batcher ({@code null} to draw the line
+     *     immediately).
      * @param line  the line object.
      * @param x0  the x-coordinate for the starting point of the line.
      * @param y0  the y-coordinate for the starting point of the line.
      * @param x1  the x-coordinate for the ending point of the line.
      * @param y1  the y-coordinate for the ending point of the line.
      */
-    private void drawLine(Graphics2D g2, Line2D line, double x0, double y0,
-            double x1, double y1, Rectangle2D dataArea) {
+    private void drawLine(Graphics2D g2, LinePathBatcher batcher, Line2D line,
+            double x0, double y0, double x1, double y1, Rectangle2D dataArea) {
         if (Double.isNaN(x0) || Double.isNaN(x1) || Double.isNaN(y0)
                 || Double.isNaN(y1)) {
             return;
@@ -326,7 +361,13 @@ public class XYStepRenderer extends XYLineAndShapeRenderer
         line.setLine(x0, y0, x1, y1);
         boolean visible = LineUtils.clipLine(line, dataArea);
         if (visible) {
-            g2.draw(line);
+            if (batcher != null) {
+                batcher.addSegment(line.getX1(), line.getY1(), line.getX2(),
+                        line.getY2());
+            }
+            else {
+                g2.draw(line);
+            }
         }
     }
 
@@ -0,0 +1,410 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.text;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.font.TextLayout;
+import java.text.Bidi;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of string measurements, text layouts and glyph vectors,
+ * keyed by (text, font, font render context).  Charts measure the same
+ * strings (tick labels, item labels, legend items and titles) again on every
+ * redraw, so {@link TextUtils} consults this cache (if one has been set)
+ * before asking the font for metrics.  The font render context includes the
+ * current transform of the graphics target, so a string measured or laid
+ * out under a rotation is cached separately from the same string without
+ * rotation.
+ * <p>
+ * When the cache is full, entries are discarded with a "second chance"
+ * (clock) approximation of least-recently-used order: an entry that has
+ * been used since the eviction scan last passed it is kept, and its flag is
+ * cleared, so strings that are drawn on every redraw stay in the cache.
+ * <p>
+ * Instances of this class are thread-safe and lookups do not lock, so a
+ * single cache can be shared by charts that are drawn on different threads
+ * without serializing the rendering.
+ *
+ * @see TextUtils#setMeasurementCache(TextMeasurementCache)
+ *
+ * @since 1.6.0
+ */
+public class TextMeasurementCache {
+
+    /** The default maximum number of entries. */
+    public static final int DEFAULT_MAXIMUM_ENTRY_COUNT = 2048;
+
+    /** The maximum number of entries retained by the cache. */
+    private final int maximumEntryCount;
+
+    /** The entries. */
+    private final ConcurrentMap<Key, Metrics> entries;
+
+    /** The number of lookups that found an existing entry. */
+    private final AtomicLong hitCount;
+
+    /** The number of lookups that created a new entry. */
+    private final AtomicLong missCount;
+
+    /** The lock held while entries are evicted. */
+    private final Object evictionLock;
+
+    /**
+     * The position of the eviction scan (the "clock hand"), which continues
+     * from one eviction to the next ({@code null} before the first eviction
+     * and after a complete pass).  Only accessed while holding
+     * {@code evictionLock}.
+     */
+    private Iterator<Map.Entry<Key, Metrics>> hand;
+
+    /**
+     * Creates a new cache with the default maximum entry count.
+     */
+    public TextMeasurementCache() {
+        this(DEFAULT_MAXIMUM_ENTRY_COUNT);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumEntryCount  the maximum number of entries (must be
+     *     greater than zero).
+     */
+    public TextMeasurementCache(final int maximumEntryCount) {
+        if (maximumEntryCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumEntryCount' > 0.");
+        }
+        this.maximumEntryCount = maximumEntryCount;
+        this.entries = new ConcurrentHashMap<Key, Metrics>();
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+        this.evictionLock = new Object();
+    }
+
+    /**
+     * Returns the maximum number of entries retained by the cache.
+     *
+     * @return The maximum entry count.
+     */
+    public int getMaximumEntryCount() {
+        return this.maximumEntryCount;
+    }
+
+    /**
+     * Returns the number of entries currently in the cache.
+     *
+     * @return The entry count.
+     */
+    public int getEntryCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that were satisfied by an existing
+     * entry.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that required the text to be measured.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Removes all entries from the cache and resets the hit and miss counts.
+     */
+    public void clear() {
+        synchronized (this.evictionLock) {
+            this.hand = null;
+        }
+        this.entries.clear();
+        this.hitCount.set(0L);
+        this.missCount.set(0L);
+    }
+
+    /**
+     * Returns the measurements for a string, creating them if they are not
+     * already in the cache.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param fm  the font metrics ({@code null} not permitted).
+     * @param frc  the font render context ({@code null} not permitted).
+     *
+     * @return The measurements (never {@code null}).
+     */
+    Metrics getMetrics(String text, FontMetrics fm, FontRenderContext frc) {
+        Key key = new Key(text, fm.getFont(), frc);
+        Metrics result = this.entries.get(key);
+        if (result != null) {
+            this.hitCount.incrementAndGet();
+            if (!result.referenced) {
+                result.referenced = true;
+            }
+            return result;
+        }
+        this.missCount.incrementAndGet();
+        result = new Metrics(text, fm, frc);
+        Metrics existing = this.entries.putIfAbsent(key, result);
+        if (existing != null) {
+            // another thread measured the same string first
+            return existing;
+        }
+        if (this.entries.size() > this.maximumEntryCount) {
+            evict(key);
+        }
+        return result;
+    }
+
+    /**
+     * Removes entries until the cache is within its maximum entry count.
+     * The scan continues from where the previous eviction stopped.  Entries
+     * that have been used since the scan last passed them are given a second
+     * chance (their flag is cleared) and the others are removed.
+     *
+     * @param retain  the key of an entry that should not be removed.
+     */
+    private void evict(Key retain) {
+        synchronized (this.evictionLock) {
+            // two passes are always enough unless other threads keep using
+            // every entry, in which case the next eviction will continue
+            int remaining = 2 * this.entries.size();
+            while (this.entries.size() > this.maximumEntryCount
+                    && remaining-- > 0) {
+                if (this.hand == null || !this.hand.hasNext()) {
+                    this.hand = this.entries.entrySet().iterator();
+                    if (!this.hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Key, Metrics> entry = this.hand.next();
+                if (entry.getKey().equals(retain)) {
+                    continue;
+                }
+                Metrics metrics = entry.getValue();
+                if (metrics.referenced) {
+                    metrics.referenced = false;
+                }
+                else {
+                    this.hand.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a text layout for a string, creating it if it is not already
+     * in the cache.  Text layouts are immutable, so the same instance can be
+     * drawn any number of times (two threads that miss at the same time may
+     * each create a layout, but only one is retained).
+     *
+     * @param text  the text ({@code null} not permitted, must not be empty).
+     * @param fm  the font metrics ({@code null} not permitted).
+     * @param frc  the font render context ({@code null} not permitted).
+     *
+     * @return The text layout (never {@code null}).
+     */
+    TextLayout getTextLayout(String text, FontMetrics fm,
+            FontRenderContext frc) {
+        Metrics metrics = getMetrics(text, fm, frc);
+        TextLayout result = metrics.layout;
+        if (result == null) {
+            result = new TextLayout(text, fm.getFont(), frc);
+            metrics.layout = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a glyph vector for a string, creating it if it is not already
+     * in the cache, or {@code null} if the string needs bidirectional layout
+     * or the font has layout attributes (in which case the caller should
+     * draw the string with {@code Graphics2D.drawString()}).  The glyph
+     * vector is laid out as by {@code drawString()} and must not be
+     * modified.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param fm  the font metrics ({@code null} not permitted).
+     * @param frc  the font render context ({@code null} not permitted).
+     *
+     * @return The glyph vector (possibly {@code null}).
+     */
+    GlyphVector getGlyphVector(String text, FontMetrics fm,
+            FontRenderContext frc) {
+        Metrics metrics = getMetrics(text, fm, frc);
+        GlyphVector result = metrics.glyphVector;
+        if (result == null && !metrics.requiresLayout) {
+            Font font = fm.getFont();
+            char[] chars = text.toCharArray();
+            if (font.hasLayoutAttributes()
+                    || Bidi.requiresBidi(chars, 0, chars.length)) {
+                metrics.requiresLayout = true;
+            }
+            else {
+                result = font.layoutGlyphVector(frc, chars, 0, chars.length,
+                        Font.LAYOUT_LEFT_TO_RIGHT);
+                metrics.glyphVector = result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The measurements for one string in one font and render context.
+     */
+    static final class Metrics {
+
+        /** The string width reported by the font metrics. */
+        final int stringWidth;
+
+        /** The height reported by the font metrics. */
+        final int height;
+
+        /** The ascent reported by the font metrics. */
+        final int ascent;
+
+        /** The ascent from the line metrics for the string. */
+        final float lineAscent;
+
+        /** The descent from the line metrics for the string. */
+        final float lineDescent;
+
+        /** The leading from the line metrics for the string. */
+        final float lineLeading;
+
+        /** A text layout for the string, created on demand. */
+        volatile TextLayout layout;
+
+        /** A glyph vector for the string, created on demand. */
+        volatile GlyphVector glyphVector;
+
+        /**
+         * A flag that indicates that the string can't be drawn as a simple
+         * glyph vector.
+         */
+        volatile boolean requiresLayout;
+
+        /**
+         * A flag that indicates that the entry has been used since the
+         * eviction scan last passed it.
+         */
+        volatile boolean referenced;
+
+        /**
+         * Measures a string.
+         *
+         * @param text  the text ({@code null} not permitted).
+         * @param fm  the font metrics ({@code null} not permitted).
+         * @param frc  the font render context ({@code null} not permitted).
+         */
+        Metrics(String text, FontMetrics fm, FontRenderContext frc) {
+            this.stringWidth = fm.stringWidth(text);
+            this.height = fm.getHeight();
+            this.ascent = fm.getAscent();
+            LineMetrics lm = fm.getFont().getLineMetrics(text, frc);
+            this.lineAscent = lm.getAscent();
+            this.lineDescent = lm.getDescent();
+            this.lineLeading = lm.getLeading();
+        }
+
+    }
+
+    /**
+     * The key for a cache entry.
+     */
+    private static final class Key {
+
+        /** The text. */
+        private final String text;
+
+        /** The font. */
+        private final Font font;
+
+        /** The font render context. */
+        private final FontRenderContext frc;
+
+        /** The precalculated hash code. */
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         *
+         * @param text  the text.
+         * @param font  the font.
+         * @param frc  the font render context.
+         */
+        Key(String text, Font font, FontRenderContext frc) {
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            int h = text.hashCode();
+            h = 31 * h + font.hashCode();
+            h = 31 * h + frc.hashCode();
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.hash == that.hash && this.text.equals(that.text)
+                    && this.font.equals(that.font)
+                    && this.frc.equals(that.frc);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+}
@@ -31,9 +31,12 @@ package org.jfree.chart.text;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Paint;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
 import java.awt.font.LineMetrics;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
@@ -69,6 +72,12 @@ public class TextUtils {
      */
     private static boolean useFontMetricsGetStringBounds = false;
 
+    /**
+     * The cache used to avoid measuring the same strings repeatedly
+     * ({@code null} permitted, in which case strings are always measured).
+     */
+    private static TextMeasurementCache measurementCache = null;
+
     /**
      * Private constructor prevents object creation.
      */
@@ -277,14 +286,66 @@ public class TextUtils {
                     lm.getHeight());
         }
         else {
-            double width = fm.stringWidth(text);
-            double height = fm.getHeight();
-            bounds = new Rectangle2D.Double(0.0, -fm.getAscent(), width,
-                    height);
+            TextMeasurementCache cache = measurementCache;
+            if (cache != null) {
+                TextMeasurementCache.Metrics m = cache.getMetrics(text, fm,
+                        g2.getFontRenderContext());
+                bounds = new Rectangle2D.Double(0.0, -m.ascent,
+                        m.stringWidth, m.height);
+            }
+            else {
+                double width = fm.stringWidth(text);
+                double height = fm.getHeight();
+                bounds = new Rectangle2D.Double(0.0, -fm.getAscent(), width,
+                        height);
+            }
         }
         return bounds;
     }
 
+    /**
+     * Returns the width of the specified text, as reported by
+     * {@code fm.stringWidth(text)}.  The result is taken from the
+     * measurement cache when possible.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param g2  the graphics context ({@code null} not permitted).
+     * @param fm  the font metrics ({@code null} not permitted).
+     *
+     * @return The text width.
+     *
+     * @since 1.6.0
+     */
+    public static int getStringWidth(String text, Graphics2D g2,
+            FontMetrics fm) {
+        TextMeasurementCache cache = measurementCache;
+        if (cache != null) {
+            return cache.getMetrics(text, fm, g2.getFontRenderContext())
+                    .stringWidth;
+        }
+        return fm.stringWidth(text);
+    }
+
+    /**
+     * Returns the measurements for the specified text, from the measurement
+     * cache if there is one.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param g2  the graphics context ({@code null} not permitted).
+     * @param fm  the font metrics ({@code null} not permitted).
+     *
+     * @return The measurements.
+     */
+    private static TextMeasurementCache.Metrics getMetrics(String text,
+            Graphics2D g2, FontMetrics fm) {
+        FontRenderContext frc = g2.getFontRenderContext();
+        TextMeasurementCache cache = measurementCache;
+        if (cache != null) {
+            return cache.getMetrics(text, fm, frc);
+        }
+        return new TextMeasurementCache.Metrics(text, fm, frc);
+    }
+
 
     /**
      * Returns the bounds of an aligned string.
@@ -334,7 +395,7 @@ public class TextUtils {
         textBounds.setRect(x + adjust[0], y + adjust[1] + adjust[2],
             textBounds.getWidth(), textBounds.getHeight());
         if (!drawStringsWithFontAttributes) {
-            g2.drawString(text, x + adjust[0], y + adjust[1]);
+            drawString(text, g2, x + adjust[0], y + adjust[1]);
         } else {
             AttributedString as = new AttributedString(text, 
                     g2.getFont().getAttributes());
@@ -343,6 +404,49 @@ public class TextUtils {
         return textBounds;
     }
 
+    /**
+     * Draws a string with its baseline starting at (x, y).  If there is a
+     * measurement cache and the target is an image or a screen, a cached
+     * glyph vector is drawn, otherwise the string is passed to
+     * {@code g2.drawString()} (so that vector targets such as printers still
+     * receive text).
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     */
+    private static void drawString(String text, Graphics2D g2, float x,
+            float y) {
+        TextMeasurementCache cache = measurementCache;
+        if (cache != null && text.length() > 0 && isRasterDevice(g2)) {
+            GlyphVector gv = cache.getGlyphVector(text, g2.getFontMetrics(),
+                    g2.getFontRenderContext());
+            if (gv != null) {
+                g2.drawGlyphVector(gv, x, y);
+                return;
+            }
+        }
+        g2.drawString(text, x, y);
+    }
+
+    /**
+     * Returns {@code true} if the graphics target is an image or a screen.
+     *
+     * @param g2  the graphics target.
+     *
+     * @return A boolean.
+     */
+    private static boolean isRasterDevice(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null || gc.getDevice() == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        return type == GraphicsDevice.TYPE_IMAGE_BUFFER
+                || type == GraphicsDevice.TYPE_RASTER_SCREEN;
+    }
+
     /**
      * A utility method that calculates the anchor offsets for a string.
      * Normally, the (x, y) coordinate for drawing text is a point on the
@@ -363,16 +467,14 @@ public class TextUtils {
             String text, TextAnchor anchor, Rectangle2D textBounds) {
 
         float[] result = new float[3];
-        FontRenderContext frc = g2.getFontRenderContext();
-        Font f = g2.getFont();
-        FontMetrics fm = g2.getFontMetrics(f);
+        FontMetrics fm = g2.getFontMetrics(g2.getFont());
         Rectangle2D bounds = TextUtils.getTextBounds(text, g2, fm);
-        LineMetrics metrics = f.getLineMetrics(text, frc);
-        float ascent = metrics.getAscent();
+        TextMeasurementCache.Metrics metrics = getMetrics(text, g2, fm);
+        float ascent = metrics.lineAscent;
         result[2] = -ascent;
         float halfAscent = ascent / 2.0f;
-        float descent = metrics.getDescent();
-        float leading = metrics.getLeading();
+        float descent = metrics.lineDescent;
+        float leading = metrics.lineLeading;
         float xAdj = 0.0f;
         float yAdj = 0.0f;
 
@@ -396,7 +498,7 @@ public class TextUtils {
             yAdj = 0.0f;
         }
         else if (anchor.isBottom()) {
-            yAdj = -metrics.getDescent() - metrics.getLeading();
+            yAdj = -descent - leading;
         }
         if (textBounds != null) {
             textBounds.setRect(bounds);
@@ -457,13 +559,21 @@ public class TextUtils {
 
         if (useDrawRotatedStringWorkaround) {
             // workaround for JDC bug ID 4312117 and others...
-            TextLayout tl = new TextLayout(text, g2.getFont(),
-                    g2.getFontRenderContext());
+            TextLayout tl;
+            TextMeasurementCache cache = measurementCache;
+            if (cache != null) {
+                tl = cache.getTextLayout(text, g2.getFontMetrics(),
+                        g2.getFontRenderContext());
+            }
+            else {
+                tl = new TextLayout(text, g2.getFont(),
+                        g2.getFontRenderContext());
+            }
             tl.draw(g2, textX, textY);
         }
         else {
             if (!drawStringsWithFontAttributes) {
-                g2.drawString(text, textX, textY);
+                drawString(text, g2, textX, textY);
             } else {
                 AttributedString as = new AttributedString(text, 
                         g2.getFont().getAttributes());
@@ -584,15 +694,13 @@ public class TextUtils {
             String text, TextAnchor anchor) {
 
         float[] result = new float[2];
-        FontRenderContext frc = g2.getFontRenderContext();
-        Font f = g2.getFont();
-        FontMetrics fm = g2.getFontMetrics(f);
+        FontMetrics fm = g2.getFontMetrics(g2.getFont());
         Rectangle2D bounds = getTextBounds(text, g2, fm);
-        LineMetrics metrics = f.getLineMetrics(text, frc);
-        float ascent = metrics.getAscent();
+        TextMeasurementCache.Metrics metrics = getMetrics(text, g2, fm);
+        float ascent = metrics.lineAscent;
         float halfAscent = ascent / 2.0f;
-        float descent = metrics.getDescent();
-        float leading = metrics.getLeading();
+        float descent = metrics.lineDescent;
+        float leading = metrics.lineLeading;
         float xAdj = 0.0f;
         float yAdj = 0.0f;
 
@@ -616,7 +724,7 @@ public class TextUtils {
             yAdj = 0.0f;
         }
         else if (anchor.isBottom()) {
-            yAdj = -metrics.getDescent() - metrics.getLeading();
+            yAdj = -descent - leading;
         }
         result[0] = xAdj;
         result[1] = yAdj;
@@ -639,14 +747,13 @@ public class TextUtils {
             String text, TextAnchor anchor) {
 
         float[] result = new float[2];
-        FontRenderContext frc = g2.getFontRenderContext();
-        LineMetrics metrics = g2.getFont().getLineMetrics(text, frc);
         FontMetrics fm = g2.getFontMetrics();
         Rectangle2D bounds = TextUtils.getTextBounds(text, g2, fm);
-        float ascent = metrics.getAscent();
+        TextMeasurementCache.Metrics metrics = getMetrics(text, g2, fm);
+        float ascent = metrics.lineAscent;
         float halfAscent = ascent / 2.0f;
-        float descent = metrics.getDescent();
-        float leading = metrics.getLeading();
+        float descent = metrics.lineDescent;
+        float leading = metrics.lineLeading;
         float xAdj = 0.0f;
         float yAdj = 0.0f;
 
@@ -673,7 +780,7 @@ public class TextUtils {
             yAdj = 0.0f;
         }
         else if (anchor.isBottom()) {
-            yAdj = metrics.getDescent() + metrics.getLeading();
+            yAdj = descent + leading;
         }
         result[0] = xAdj;
         result[1] = yAdj;
@@ -715,6 +822,40 @@ public class TextUtils {
 
     }
 
+    /**
+     * Returns the cache that is used to avoid measuring (and laying out) the
+     * same strings repeatedly.  The default is {@code null} (no cache).
+     *
+     * @return The cache (possibly {@code null}).
+     *
+     * @see #setMeasurementCache(TextMeasurementCache)
+     *
+     * @since 1.6.0
+     */
+    public static TextMeasurementCache getMeasurementCache() {
+        return measurementCache;
+    }
+
+    /**
+     * Sets the cache that is used to avoid measuring (and laying out) the
+     * same strings repeatedly.  The cache is shared by every chart in the
+     * application and holds at most
+     * {@link TextMeasurementCache#getMaximumEntryCount()} strings, each with
+     * its measurements and (once the string has been drawn) a text layout
+     * or glyph vector, so choose the size to suit the number of distinct
+     * labels that are drawn.  If you set this to {@code null} (the default),
+     * every string will be measured each time it is used.
+     *
+     * @param cache  the cache ({@code null} permitted).
+     *
+     * @see #getMeasurementCache()
+     *
+     * @since 1.6.0
+     */
+    public static void setMeasurementCache(TextMeasurementCache cache) {
+        measurementCache = cache;
+    }
+
     /**
      * Returns the flag that controls whether the FontMetrics.getStringBounds()
      * method is used or not.  If you are having trouble with label alignment
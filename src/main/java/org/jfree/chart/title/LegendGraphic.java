@@ -188,6 +188,7 @@ public class LegendGraphic extends AbstractBlock
      */
     public void setShapeVisible(boolean visible) {
         this.shapeVisible = visible;
+        layoutChanged();
     }
 
     /**
@@ -210,6 +211,7 @@ public class LegendGraphic extends AbstractBlock
      */
     public void setShape(Shape shape) {
         this.shape = shape;
+        layoutChanged();
     }
 
     /**
@@ -422,6 +424,7 @@ public class LegendGraphic extends AbstractBlock
      */
     public void setLineVisible(boolean visible) {
         this.lineVisible = visible;
+        layoutChanged();
     }
 
     /**
@@ -445,6 +448,7 @@ public class LegendGraphic extends AbstractBlock
      */
     public void setLine(Shape line) {
         this.line = line;
+        layoutChanged();
     }
 
     /**
@@ -491,6 +495,20 @@ public class LegendGraphic extends AbstractBlock
         this.lineStroke = stroke;
     }
 
+    /**
+     * Returns the layout version of the block, which is increased whenever the
+     * shape or line of the graphic (or their visibility), or its margin, frame
+     * or padding, is changed.
+     *
+     * @return The layout version.
+     *
+     * @since 1.6.0
+     */
+    @Override
+    protected long getLayoutVersion() {
+        return getTrackedLayoutVersion();
+    }
+
     /**
      * Arranges the contents of the block, within the given constraints, and
      * returns the block size.
@@ -71,6 +71,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
@@ -93,6 +95,7 @@ import org.jfree.chart.entity.TitleEntity;
 import org.jfree.chart.event.TitleChangeEvent;
 import org.jfree.chart.ui.RectangleAnchor;
 import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.chart.util.SerialUtils;
 import org.jfree.chart.ui.RectangleInsets;
@@ -178,6 +181,12 @@ public class LegendTitle extends Title
      */
     private SortOrder sortOrder;
 
+    /**
+     * The legend items that the blocks in {@link #items} were created for
+     * ({@code null} when the blocks must be created again).
+     */
+    private transient List<LegendItem> legendItems;
+
     /**
      * Constructs a new (empty) legend for the specified source.
      *
@@ -291,6 +300,7 @@ public class LegendTitle extends Title
     public void setLegendItemGraphicAnchor(RectangleAnchor anchor) {
         Args.nullNotPermitted(anchor, "anchor");
         this.legendItemGraphicAnchor = anchor;
+        this.legendItems = null;
     }
 
     /**
@@ -309,6 +319,7 @@ public class LegendTitle extends Title
      */
     public void setLegendItemGraphicLocation(RectangleAnchor anchor) {
         this.legendItemGraphicLocation = anchor;
+        this.legendItems = null;
     }
 
     /**
@@ -417,25 +428,20 @@ public class LegendTitle extends Title
     }
 
     /**
-     * Fetches the latest legend items.
+     * Fetches the latest legend items.  The item blocks are created again
+     * only if the items (or the settings of this legend) have changed since
+     * the blocks were last created, otherwise the existing blocks (and the
+     * layout of the item container) are reused.
      */
     protected void fetchLegendItems() {
-        this.items.clear();
-        RectangleEdge p = getPosition();
-        if (RectangleEdge.isTopOrBottom(p)) {
-            this.items.setArrangement(this.hLayout);
-        }
-        else {
-            this.items.setArrangement(this.vLayout);
-        }
-
+        List<LegendItem> latest = new ArrayList<LegendItem>();
         if (this.sortOrder.equals(SortOrder.ASCENDING)) {
             for (int s = 0; s < this.sources.length; s++) {
                 LegendItemCollection legendItems =
                     this.sources[s].getLegendItems();
                 if (legendItems != null) {
                     for (int i = 0; i < legendItems.getItemCount(); i++) {
-                        addItemBlock(legendItems.get(i));
+                        latest.add(legendItems.get(i));
                     }
                 }
             }
@@ -446,11 +452,81 @@ public class LegendTitle extends Title
                     this.sources[s].getLegendItems();
                 if (legendItems != null) {
                     for (int i = legendItems.getItemCount()-1; i >= 0; i--) {
-                        addItemBlock(legendItems.get(i));
+                        latest.add(legendItems.get(i));
                     }
                 }
             }
         }
+        Arrangement arrangement = RectangleEdge.isTopOrBottom(getPosition())
+                ? this.hLayout : this.vLayout;
+        if (this.legendItems != null
+                && this.items.getArrangement() == arrangement
+                && sameItems(latest, this.legendItems)) {
+            return;
+        }
+
+        this.items.clear();
+        this.items.setArrangement(arrangement);
+        List<LegendItem> copies = new ArrayList<LegendItem>(latest.size());
+        for (LegendItem item : latest) {
+            addItemBlock(item);
+            try {
+                // a copy, in case the source modifies its item later
+                copies.add((LegendItem) item.clone());
+            }
+            catch (CloneNotSupportedException e) {
+                // not possible for a LegendItem, but without a copy the
+                // blocks cannot be reused
+                copies = null;
+                break;
+            }
+        }
+        this.legendItems = copies;
+    }
+
+    /**
+     * Returns {@code true} if two lists contain legend items that create the
+     * same item blocks.
+     *
+     * @param items1  the first list.
+     * @param items2  the second list.
+     *
+     * @return A boolean.
+     */
+    private static boolean sameItems(List<LegendItem> items1,
+            List<LegendItem> items2) {
+        if (items1.size() != items2.size()) {
+            return false;
+        }
+        for (int i = 0; i < items1.size(); i++) {
+            LegendItem item1 = items1.get(i);
+            LegendItem item2 = items2.get(i);
+            // LegendItem.equals() doesn't check the fields used for entities
+            if (!item1.equals(item2)
+                    || item1.getDataset() != item2.getDataset()
+                    || !ObjectUtils.equal(item1.getSeriesKey(),
+                            item2.getSeriesKey())
+                    || !ObjectUtils.equal(item1.getToolTipText(),
+                            item2.getToolTipText())
+                    || !ObjectUtils.equal(item1.getURLText(),
+                            item2.getURLText())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends a {@link TitleChangeEvent} to all registered listeners.  The item
+     * blocks are created again the next time the legend is arranged, since
+     * most of the legend settings are used to create them.
+     *
+     * @param event  information about the change to the title.
+     */
+    @Override
+    protected void notifyListeners(TitleChangeEvent event) {
+        this.legendItems = null;
+        super.notifyListeners(event);
     }
 
     private void addItemBlock(LegendItem item) {
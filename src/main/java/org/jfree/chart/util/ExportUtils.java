@@ -50,10 +50,15 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import javax.imageio.ImageIO;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.graphics2d.PDFGraphics2D;
+import org.jfree.chart.graphics2d.SVGGraphics2D;
 import org.jfree.chart.ui.Drawable;
 
 /**
@@ -98,10 +103,10 @@ public class ExportUtils {
     }
 
     /**
-     * Writes the current content to the specified file in SVG format.  This 
-     * will only work when the JFreeSVG library is found on the classpath.
-     * Reflection is used to ensure there is no compile-time dependency on
-     * JFreeSVG.
+     * Writes the current content to the specified file in SVG format.  When
+     * the JFreeSVG library is found on the classpath it is used to write the
+     * file (reflection is used to ensure there is no compile-time dependency
+     * on JFreeSVG), otherwise the built-in {@link SVGGraphics2D} is used.
      * 
      * @param drawable  the drawable ({@code null} not permitted).
      * @param w  the chart width.
@@ -110,12 +115,16 @@ public class ExportUtils {
      */
     public static void writeAsSVG(Drawable drawable, int w, int h, 
             File file) {
-        if (!ExportUtils.isJFreeSVGAvailable()) {
-            throw new IllegalStateException(
-                    "JFreeSVG is not present on the classpath.");
-        }
         Args.nullNotPermitted(drawable, "drawable");
         Args.nullNotPermitted(file, "file");
+        if (!ExportUtils.isJFreeSVGAvailable()) {
+            try {
+                writeWithSVGGraphics2D(drawable, w, h, file);
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+            return;
+        }
         try {
             Class<?> svg2Class = Class.forName(
                     "org.jfree.graphics2d.svg.SVGGraphics2D");
@@ -148,10 +157,10 @@ public class ExportUtils {
     }
 
     /**
-     * Writes a {@link Drawable} to the specified file in PDF format.  This 
-     * will only work when the OrsonPDF library is found on the classpath.
-     * Reflection is used to ensure there is no compile-time dependency on
-     * OrsonPDF.
+     * Writes a {@link Drawable} to the specified file in PDF format.  When
+     * the OrsonPDF library is found on the classpath it is used to write the
+     * file (reflection is used to ensure there is no compile-time dependency
+     * on OrsonPDF), otherwise the built-in {@link PDFGraphics2D} is used.
      * 
      * @param drawable  the drawable ({@code null} not permitted).
      * @param w  the chart width.
@@ -160,12 +169,16 @@ public class ExportUtils {
      */
     public static final void writeAsPDF(Drawable drawable, 
             int w, int h, File file) {
-        if (!ExportUtils.isOrsonPDFAvailable()) {
-            throw new IllegalStateException(
-                    "OrsonPDF is not present on the classpath.");
-        }
         Args.nullNotPermitted(drawable, "drawable");
         Args.nullNotPermitted(file, "file");
+        if (!ExportUtils.isOrsonPDFAvailable()) {
+            try {
+                writeWithPDFGraphics2D(drawable, w, h, file);
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+            return;
+        }
         try {
             Class<?> pdfDocClass = Class.forName("com.orsonpdf.PDFDocument");
             Object pdfDoc = pdfDocClass.newInstance();
@@ -194,7 +207,63 @@ public class ExportUtils {
             throw new RuntimeException(ex);
         }
     }
-    
+
+    /**
+     * Writes a {@link Drawable} to the specified file with the built-in
+     * {@link SVGGraphics2D}, which streams the SVG to the file as the
+     * drawable is drawn.
+     * 
+     * @param drawable  the drawable.
+     * @param w  the chart width.
+     * @param h  the chart height.
+     * @param file  the output file.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeWithSVGGraphics2D(Drawable drawable, int w, 
+            int h, File file) throws IOException {
+        Writer writer = new OutputStreamWriter(new BufferedOutputStream(
+                new FileOutputStream(file)), "UTF-8");
+        try {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            SVGGraphics2D g2 = new SVGGraphics2D(writer, w, h);
+            // shadows are bitmap effects, they don't belong in vector output
+            g2.setRenderingHint(JFreeChart.KEY_SUPPRESS_SHADOW_GENERATION, 
+                    true);
+            drawable.draw(g2, new Rectangle2D.Double(0, 0, w, h));
+            g2.finish();
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes a {@link Drawable} to the specified file with the built-in
+     * {@link PDFGraphics2D}.
+     * 
+     * @param drawable  the drawable.
+     * @param w  the chart width.
+     * @param h  the chart height.
+     * @param file  the output file.
+     * 
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void writeWithPDFGraphics2D(Drawable drawable, int w, 
+            int h, File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            PDFGraphics2D g2 = new PDFGraphics2D(out, w, h);
+            g2.setRenderingHint(JFreeChart.KEY_SUPPRESS_SHADOW_GENERATION, 
+                    true);
+            drawable.draw(g2, new Rectangle2D.Double(0, 0, w, h));
+            g2.finish();
+        }
+        finally {
+            out.close();
+        }
+    }
+
     /**
      * Writes the current content to the specified file in PNG format.
      * 
@@ -0,0 +1,160 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Utility methods for splitting work between the threads of an executor
+ * supplied by the caller.  JFreeChart never creates threads of its own: 
+ * when no executor is supplied the work is done on the calling thread.
+ *
+ * @since 1.6.0
+ */
+public class ParallelUtils {
+
+    /**
+     * Private constructor prevents object creation.
+     */
+    private ParallelUtils() {
+    }
+
+    /**
+     * Returns the number of tasks to split some work into.  This is one if 
+     * there is no executor, otherwise it is the number of processors or the
+     * number of tasks of at least {@code threshold} units, whichever is 
+     * smaller.
+     *
+     * @param executor  the executor ({@code null} permitted).
+     * @param size  the amount of work (for example, the number of values).
+     * @param threshold  the smallest amount of work for one task (must be 
+     *     positive).
+     *
+     * @return The number of tasks (at least one).
+     */
+    public static int getTaskCount(Executor executor, long size,
+            long threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException(
+                    "The 'threshold' must be positive.");
+        }
+        if (executor == null) {
+            return 1;
+        }
+        long count = Math.min(Runtime.getRuntime().availableProcessors(),
+                size / threshold);
+        return (int) Math.max(count, 1L);
+    }
+
+    /**
+     * Runs some tasks and waits for them all to finish.  The first task is
+     * run on the calling thread and the others are passed to the executor
+     * (any task that the executor rejects is run on the calling thread).  If
+     * the executor is {@code null} the tasks are run one after the other on
+     * the calling thread.  A task that the executor hasn't started by the
+     * time the calling thread is ready to wait for it is run on the calling
+     * thread, so this method doesn't deadlock if the executor's threads are
+     * all busy (for example, with tasks that call this method themselves).
+     * If a task throws an exception, the exception 
+     * thrown by the first such task (in array order) is rethrown once all 
+     * the tasks have finished.  If the calling thread is interrupted while 
+     * waiting, it keeps waiting and its interrupt status is set again 
+     * before this method returns.
+     *
+     * @param executor  the executor ({@code null} permitted).
+     * @param tasks  the tasks ({@code null} not permitted).
+     */
+    public static void runAll(Executor executor, Runnable[] tasks) {
+        Args.nullNotPermitted(tasks, "tasks");
+        if (executor == null || tasks.length < 2) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        List<FutureTask<Object>> futures 
+                = new ArrayList<FutureTask<Object>>(tasks.length - 1);
+        for (int i = 1; i < tasks.length; i++) {
+            FutureTask<Object> future = new FutureTask<Object>(tasks[i], 
+                    null);
+            try {
+                executor.execute(future);
+            }
+            catch (RejectedExecutionException e) {
+                future.run();
+            }
+            futures.add(future);
+        }
+        Throwable failure = null;
+        try {
+            tasks[0].run();
+        }
+        catch (RuntimeException e) {
+            failure = e;
+        }
+        catch (Error e) {
+            failure = e;
+        }
+        boolean interrupted = false;
+        for (FutureTask<Object> future : futures) {
+            // does nothing if the task has been started already
+            future.run();
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+                catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+
+}
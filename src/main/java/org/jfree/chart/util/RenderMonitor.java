@@ -0,0 +1,94 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+/**
+ * A receiver for notifications about the progress of chart drawing, that
+ * can be used to find out where the time goes when a chart is drawn.  The
+ * monitor for a chart is set with
+ * {@link org.jfree.chart.JFreeChart#setRenderMonitor(RenderMonitor)}, and
+ * is passed down to the plots, axes and renderers through the
+ * {@link org.jfree.chart.ChartHints#KEY_RENDER_MONITOR} rendering hint.
+ * When no monitor is set, the only cost is the lookup of the hint at the
+ * start of each stage.
+ * <p>
+ * The start and end of each stage are reported separately, so an
+ * implementation can time the stages itself or forward them to a tracing
+ * system.  Every {@code stageStarted()} call is matched by a
+ * {@code stageFinished()} call, unless the drawing fails with an exception.
+ * Charts may be drawn on several threads at once, so implementations must
+ * be thread-safe.
+ *
+ * @see StatisticalRenderMonitor
+ *
+ * @since 1.6.0
+ */
+public interface RenderMonitor {
+
+    /**
+     * Called when a stage starts.
+     *
+     * @param stage  the stage ({@code null} not permitted).
+     * @param source  the object performing the stage ({@code null} not
+     *     permitted).
+     */
+    void stageStarted(RenderStage stage, Object source);
+
+    /**
+     * Called when a stage has finished.
+     *
+     * @param stage  the stage ({@code null} not permitted).
+     * @param source  the object performing the stage ({@code null} not
+     *     permitted).
+     */
+    void stageFinished(RenderStage stage, Object source);
+
+    /**
+     * Called after a renderer has processed the items of a dataset.
+     *
+     * @param source  the renderer ({@code null} not permitted).
+     * @param drawn  the number of items passed to the renderer (counted
+     *     once, however many passes the renderer makes).
+     * @param culled  the number of items skipped because they lie outside
+     *     the visible range or, with the
+     *     {@link org.jfree.chart.ChartHints#KEY_CULL_TO_CLIP} hint, outside
+     *     the clip.
+     */
+    void itemsProcessed(Object source, int drawn, int culled);
+
+    /**
+     * Called when chart entities have been created.
+     *
+     * @param source  the object that created the entities ({@code null} not
+     *     permitted).
+     * @param count  the number of entities.
+     */
+    void entitiesCreated(Object source, int count);
+
+}
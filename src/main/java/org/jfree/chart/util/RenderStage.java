@@ -0,0 +1,80 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+/**
+ * The stages of chart drawing that are reported to a {@link RenderMonitor}.
+ * Stages can be nested (for example, the {@link #DATASET} stages for a plot
+ * run inside its {@link #PLOT} stage, which runs inside the {@link #CHART}
+ * stage).
+ *
+ * @since 1.6.0
+ */
+public enum RenderStage {
+
+    /** Drawing the whole chart. */
+    CHART,
+
+    /** Drawing a title or subtitle (other than a legend). */
+    TITLE,
+
+    /** Drawing a legend. */
+    LEGEND,
+
+    /** Drawing a plot, including its axes and data. */
+    PLOT,
+
+    /** Calculating the space that the axes of a plot need. */
+    AXIS_SPACE,
+
+    /** Drawing the axes of a plot. */
+    AXES,
+
+    /** Drawing one axis (inside the {@link #AXES} stage). */
+    AXIS,
+
+    /** Rendering the items of one dataset. */
+    DATASET,
+
+    /**
+     * Rendering the items of one series in one renderer pass (inside the
+     * {@link #DATASET} stage).  This stage is only reported by
+     * {@link org.jfree.chart.plot.XYPlot}, since a
+     * {@link org.jfree.chart.plot.CategoryPlot} renders its items category
+     * by category rather than series by series.
+     */
+    SERIES,
+
+    /** Drawing annotations. */
+    ANNOTATIONS,
+
+    /** Encoding a chart image. */
+    ENCODING
+
+}
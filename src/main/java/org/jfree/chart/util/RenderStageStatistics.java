@@ -0,0 +1,214 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+/**
+ * A summary of the timings recorded for one {@link RenderStage} by a
+ * {@link StatisticalRenderMonitor}.  Instances of this class are immutable.
+ * <p>
+ * The durations are also recorded in a histogram with power-of-two
+ * buckets: bucket {@code i} counts the durations from {@code 2^i}
+ * nanoseconds (inclusive) to {@code 2^(i+1)} nanoseconds (exclusive), except
+ * that bucket 0 also counts durations of zero.
+ *
+ * @since 1.6.0
+ */
+public final class RenderStageStatistics {
+
+    /** The stage. */
+    private final RenderStage stage;
+
+    /** The number of times the stage was recorded. */
+    private final long count;
+
+    /** The total duration in nanoseconds. */
+    private final long totalNanos;
+
+    /** The shortest duration in nanoseconds. */
+    private final long minNanos;
+
+    /** The longest duration in nanoseconds. */
+    private final long maxNanos;
+
+    /** The bytes allocated during the stage (-1 if not known). */
+    private final long allocatedBytes;
+
+    /** The duration histogram. */
+    private final long[] histogram;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param stage  the stage ({@code null} not permitted).
+     * @param count  the number of times the stage was recorded.
+     * @param totalNanos  the total duration in nanoseconds.
+     * @param minNanos  the shortest duration in nanoseconds.
+     * @param maxNanos  the longest duration in nanoseconds.
+     * @param allocatedBytes  the number of bytes allocated during the stage,
+     *     or -1 if this is not known.
+     * @param histogram  the duration histogram ({@code null} not
+     *     permitted).
+     */
+    public RenderStageStatistics(RenderStage stage, long count,
+            long totalNanos, long minNanos, long maxNanos,
+            long allocatedBytes, long[] histogram) {
+        Args.nullNotPermitted(stage, "stage");
+        Args.nullNotPermitted(histogram, "histogram");
+        this.stage = stage;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.histogram = histogram.clone();
+    }
+
+    /**
+     * Returns the stage.
+     *
+     * @return The stage (never {@code null}).
+     */
+    public RenderStage getStage() {
+        return this.stage;
+    }
+
+    /**
+     * Returns the number of times the stage was recorded.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the total time spent in the stage.
+     *
+     * @return The total duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Returns the shortest recorded duration.
+     *
+     * @return The duration in nanoseconds (0 if the count is zero).
+     */
+    public long getMinNanos() {
+        return this.minNanos;
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return The duration in nanoseconds (0 if the count is zero).
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * Returns the mean duration.
+     *
+     * @return The mean duration in nanoseconds ({@code Double.NaN} if the
+     *     count is zero).
+     */
+    public double getMeanNanos() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        return (double) this.totalNanos / this.count;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the drawing thread during the
+     * stage.  This is an estimate: it includes the allocations of any nested
+     * stages and of any other code running on the same thread.
+     *
+     * @return The number of bytes, or -1 if allocations were not tracked.
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    /**
+     * Returns a copy of the duration histogram.
+     *
+     * @return The histogram (never {@code null}).
+     */
+    public long[] getHistogram() {
+        return this.histogram.clone();
+    }
+
+    /**
+     * Returns an estimate of a percentile of the durations, taken from the
+     * histogram.  The estimate is the upper limit of the bucket containing
+     * the percentile (but never more than the longest duration), so it is
+     * at most twice the true value.
+     *
+     * @param percent  the percentile (in the range 0 to 100).
+     *
+     * @return The estimate in nanoseconds (0 if the count is zero).
+     */
+    public long getPercentileNanos(double percent) {
+        if (percent < 0.0 || percent > 100.0) {
+            throw new IllegalArgumentException(
+                    "Requires 'percent' in the range 0 to 100.");
+        }
+        if (this.count == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(percent / 100.0 * this.count);
+        long seen = 0;
+        for (int i = 0; i < this.histogram.length; i++) {
+            seen += this.histogram[i];
+            if (seen >= rank && seen > 0) {
+                long limit = i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                return Math.min(limit, this.maxNanos);
+            }
+        }
+        return this.maxNanos;
+    }
+
+    /**
+     * Returns a string summarising the statistics.
+     *
+     * @return A string.
+     */
+    @Override
+    public String toString() {
+        return "RenderStageStatistics[stage=" + this.stage + ", count="
+                + this.count + ", totalNanos=" + this.totalNanos
+                + ", minNanos=" + this.minNanos + ", maxNanos="
+                + this.maxNanos + ", allocatedBytes=" + this.allocatedBytes
+                + "]";
+    }
+
+}
@@ -0,0 +1,357 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link RenderMonitor} that keeps timing statistics and a duration
+ * histogram for each {@link RenderStage} in memory, along with totals for
+ * the items processed and the entities created.  The statistics can be read
+ * (for example, by a metrics exporter) while charts are being drawn.
+ * <p>
+ * Optionally, the monitor also estimates the memory allocated during each
+ * stage, using the per-thread allocation counter of the HotSpot JVM.  When
+ * that counter is not available, the allocated bytes are reported as -1.
+ *
+ * @since 1.6.0
+ */
+public class StatisticalRenderMonitor implements RenderMonitor {
+
+    /** The number of histogram buckets. */
+    private static final int BUCKET_COUNT = 64;
+
+    /** A flag that controls whether allocations are tracked. */
+    private final boolean trackAllocations;
+
+    /** The accumulated statistics for each stage. */
+    private final Map<RenderStage, Accumulator> accumulators;
+
+    /** The total number of items passed to renderers. */
+    private long itemsDrawn;
+
+    /** The total number of items skipped as not visible. */
+    private long itemsCulled;
+
+    /** The total number of entities created. */
+    private long entityCount;
+
+    /** The stages currently in progress on each thread. */
+    private final ThreadLocal<List<Frame>> frames;
+
+    /**
+     * Creates a new monitor that does not track allocations.
+     */
+    public StatisticalRenderMonitor() {
+        this(false);
+    }
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param trackAllocations  track the memory allocated during each stage
+     *     (this adds a small cost to every stage)?
+     */
+    public StatisticalRenderMonitor(boolean trackAllocations) {
+        this.trackAllocations = trackAllocations
+                && AllocationCounter.isAvailable();
+        this.accumulators = new EnumMap<RenderStage, Accumulator>(
+                RenderStage.class);
+        this.frames = new ThreadLocal<List<Frame>>() {
+            @Override
+            protected List<Frame> initialValue() {
+                return new ArrayList<Frame>();
+            }
+        };
+    }
+
+    /**
+     * Returns {@code true} if this monitor estimates the memory allocated
+     * during each stage, and {@code false} otherwise.
+     *
+     * @return A boolean.
+     */
+    public boolean isTrackingAllocations() {
+        return this.trackAllocations;
+    }
+
+    @Override
+    public void stageStarted(RenderStage stage, Object source) {
+        long bytes = this.trackAllocations ? AllocationCounter.get() : -1L;
+        this.frames.get().add(new Frame(stage, source, System.nanoTime(),
+                bytes));
+    }
+
+    @Override
+    public void stageFinished(RenderStage stage, Object source) {
+        long now = System.nanoTime();
+        List<Frame> stack = this.frames.get();
+        // unwind any stages left unfinished by an exception
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            Frame frame = stack.get(i);
+            if (frame.stage == stage && frame.source == source) {
+                stack.subList(i, stack.size()).clear();
+                long bytes = -1L;
+                if (this.trackAllocations && frame.startBytes >= 0L) {
+                    long end = AllocationCounter.get();
+                    if (end >= 0L) {
+                        bytes = end - frame.startBytes;
+                    }
+                }
+                record(stage, now - frame.startNanos, bytes);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds one duration to the statistics for a stage.
+     *
+     * @param stage  the stage.
+     * @param nanos  the duration in nanoseconds.
+     * @param bytes  the bytes allocated, or -1 if not known.
+     */
+    private synchronized void record(RenderStage stage, long nanos,
+            long bytes) {
+        Accumulator acc = this.accumulators.get(stage);
+        if (acc == null) {
+            acc = new Accumulator();
+            this.accumulators.put(stage, acc);
+        }
+        acc.add(Math.max(nanos, 0L), bytes);
+    }
+
+    @Override
+    public synchronized void itemsProcessed(Object source, int drawn,
+            int culled) {
+        this.itemsDrawn += drawn;
+        this.itemsCulled += culled;
+    }
+
+    @Override
+    public synchronized void entitiesCreated(Object source, int count) {
+        this.entityCount += count;
+    }
+
+    /**
+     * Returns the statistics for a stage.
+     *
+     * @param stage  the stage ({@code null} not permitted).
+     *
+     * @return The statistics (never {@code null}).
+     */
+    public synchronized RenderStageStatistics getStatistics(
+            RenderStage stage) {
+        Args.nullNotPermitted(stage, "stage");
+        Accumulator acc = this.accumulators.get(stage);
+        if (acc == null) {
+            return new RenderStageStatistics(stage, 0L, 0L, 0L, 0L,
+                    this.trackAllocations ? 0L : -1L, new long[BUCKET_COUNT]);
+        }
+        return new RenderStageStatistics(stage, acc.count, acc.totalNanos,
+                acc.minNanos, acc.maxNanos,
+                this.trackAllocations ? acc.allocatedBytes : -1L,
+                acc.histogram);
+    }
+
+    /**
+     * Returns the total number of items passed to renderers.
+     *
+     * @return The item count.
+     */
+    public synchronized long getItemsDrawn() {
+        return this.itemsDrawn;
+    }
+
+    /**
+     * Returns the total number of items that were skipped because they
+     * were outside the visible range.
+     *
+     * @return The item count.
+     */
+    public synchronized long getItemsCulled() {
+        return this.itemsCulled;
+    }
+
+    /**
+     * Returns the total number of entities created.
+     *
+     * @return The entity count.
+     */
+    public synchronized long getEntityCount() {
+        return this.entityCount;
+    }
+
+    /**
+     * Discards all statistics recorded so far.  Stages in progress when this
+     * method is called are still recorded when they finish.
+     */
+    public synchronized void reset() {
+        this.accumulators.clear();
+        this.itemsDrawn = 0L;
+        this.itemsCulled = 0L;
+        this.entityCount = 0L;
+    }
+
+    /**
+     * Returns the histogram bucket for a duration.
+     *
+     * @param nanos  the duration (not negative).
+     *
+     * @return The bucket index.
+     */
+    static int bucketFor(long nanos) {
+        if (nanos <= 1L) {
+            return 0;
+        }
+        return 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * A stage in progress.
+     */
+    private static final class Frame {
+
+        /** The stage. */
+        final RenderStage stage;
+
+        /** The source. */
+        final Object source;
+
+        /** The value of {@code System.nanoTime()} at the start. */
+        final long startNanos;
+
+        /** The thread's allocated bytes at the start (or -1). */
+        final long startBytes;
+
+        Frame(RenderStage stage, Object source, long startNanos,
+                long startBytes) {
+            this.stage = stage;
+            this.source = source;
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+
+    }
+
+    /**
+     * The running statistics for one stage.
+     */
+    private static final class Accumulator {
+
+        /** The number of durations recorded. */
+        long count;
+
+        /** The total duration. */
+        long totalNanos;
+
+        /** The shortest duration. */
+        long minNanos = Long.MAX_VALUE;
+
+        /** The longest duration. */
+        long maxNanos;
+
+        /** The total bytes allocated. */
+        long allocatedBytes;
+
+        /** The duration histogram. */
+        final long[] histogram = new long[BUCKET_COUNT];
+
+        void add(long nanos, long bytes) {
+            this.count++;
+            this.totalNanos += nanos;
+            this.minNanos = Math.min(this.minNanos, nanos);
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+            if (bytes > 0L) {
+                this.allocatedBytes += bytes;
+            }
+            this.histogram[bucketFor(nanos)]++;
+        }
+
+    }
+
+    /**
+     * Reads the allocation counter for the current thread, where the JVM
+     * provides one (the method is not part of the standard management API,
+     * so it is called reflectively).
+     */
+    private static final class AllocationCounter {
+
+        /** The thread management bean. */
+        private static final Object BEAN;
+
+        /** The method that returns the bytes allocated by a thread. */
+        private static final Method METHOD;
+
+        static {
+            Object bean = null;
+            Method method = null;
+            try {
+                bean = ManagementFactory.getThreadMXBean();
+                Class<?> c = Class.forName(
+                        "com.sun.management.ThreadMXBean");
+                if (c.isInstance(bean)) {
+                    Method enabled = c.getMethod(
+                            "isThreadAllocatedMemoryEnabled");
+                    if (Boolean.TRUE.equals(enabled.invoke(bean))) {
+                        method = c.getMethod("getThreadAllocatedBytes",
+                                long.class);
+                    }
+                }
+            } catch (Exception e) {
+                method = null;
+            } catch (LinkageError e) {
+                method = null;
+            }
+            BEAN = bean;
+            METHOD = method;
+        }
+
+        static boolean isAvailable() {
+            return METHOD != null;
+        }
+
+        static long get() {
+            try {
+                Object result = METHOD.invoke(BEAN,
+                        Thread.currentThread().getId());
+                return ((Long) result).longValue();
+            } catch (Exception e) {
+                return -1L;
+            }
+        }
+
+    }
+
+}
@@ -44,7 +44,9 @@ package org.jfree.data;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.Args;
 
@@ -259,6 +261,121 @@ public class ComparableObjectSeries extends Series
         }
     }
 
+    /**
+     * Adds a block of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  For a
+     * sorted series the items are checked in one pass and, when they are
+     * already in ascending order, merged with the existing items in a single
+     * pass without any searching.
+     * <P>
+     * If the series does not allow duplicate x-values and the block contains
+     * a duplicate (of another item in the block or of an item already in the
+     * series), an exception is thrown and the series is left unchanged.
+     *
+     * @param items  the items ({@code null} not permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @since 1.6.0
+     */
+    protected void add(ComparableObjectItem[] items, boolean notify) {
+        Args.nullNotPermitted(items, "items");
+        if (items.length == 0) {
+            return;
+        }
+        List block = new java.util.ArrayList(items.length);
+        boolean sorted = true;
+        for (int i = 0; i < items.length; i++) {
+            Args.nullNotPermitted(items[i], "items[" + i + "]");
+            if (sorted && i > 0 && items[i].compareTo(items[i - 1]) < 0) {
+                sorted = false;
+            }
+            block.add(items[i]);
+        }
+        if (this.autoSort) {
+            if (!sorted) {
+                Collections.sort(block);  // stable, keeps duplicate order
+            }
+            if (!this.allowDuplicateXValues) {
+                for (int i = 1; i < block.size(); i++) {
+                    if (((ComparableObjectItem) block.get(i)).compareTo(
+                            block.get(i - 1)) == 0) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            this.data = mergeSortedItems(this.data, block);
+        }
+        else {
+            if (!this.allowDuplicateXValues) {
+                Set xValues = new HashSet();
+                for (int i = 0; i < this.data.size(); i++) {
+                    xValues.add(getDataItem(i).getComparable());
+                }
+                for (int i = 0; i < items.length; i++) {
+                    if (!xValues.add(items[i].getComparable())) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            this.data.addAll(block);
+        }
+        int excess = this.data.size() - this.maximumItemCount;
+        if (excess > 0) {
+            this.data.subList(0, excess).clear();
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Merges two lists of data items that are each sorted in ascending order,
+     * in a single pass.  Where items compare as equal, the existing items
+     * come first.  The existing list is reused when the new items all fall
+     * after the last existing item.
+     *
+     * @param existing  the existing items ({@code null} not permitted).
+     * @param items  the new items ({@code null} not permitted).
+     *
+     * @return The merged list.
+     *
+     * @throws SeriesException if an x-value occurs in both lists and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    private List mergeSortedItems(List existing, List items) {
+        int n = existing.size();
+        if (n == 0 || ((ComparableObjectItem) items.get(0)).compareTo(
+                existing.get(n - 1)) > 0) {
+            existing.addAll(items);
+            return existing;
+        }
+        int m = items.size();
+        List result = new java.util.ArrayList(n + m);
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            ComparableObjectItem a = (ComparableObjectItem) existing.get(i);
+            ComparableObjectItem b = (ComparableObjectItem) items.get(j);
+            int c = a.compareTo(b);
+            if (c == 0 && !this.allowDuplicateXValues) {
+                throw new SeriesException("X-value already exists.");
+            }
+            if (c <= 0) {
+                result.add(a);
+                i++;
+            }
+            else {
+                result.add(b);
+                j++;
+            }
+        }
+        result.addAll(existing.subList(i, n));
+        result.addAll(items.subList(j, m));
+        return result;
+    }
+
     /**
      * Returns the index of the item with the specified x-value, or a negative
      * index if the series does not contain an item with that x-value.  Be
@@ -130,6 +130,7 @@
 package org.jfree.data.general;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import org.jfree.chart.util.ArrayUtils;
@@ -2375,4 +2376,46 @@ public final class DatasetUtils {
         }
     }
 
+    /**
+     * Pins the current snapshot of each dataset in {@code datasets} that is
+     * a {@link VersionedDataset}, for the calling thread, and returns the
+     * datasets that were pinned.  The caller must pass the returned list to
+     * {@link #releaseSnapshots(List)} when it has finished reading, normally
+     * in a {@code finally} block.
+     *
+     * @param datasets  the datasets ({@code null} not permitted, but the
+     *     collection may contain {@code null} items).
+     *
+     * @return The pinned datasets (possibly empty, but never {@code null}).
+     *
+     * @since 1.6.0
+     */
+    public static List<VersionedDataset> pinSnapshots(
+            Collection<? extends Dataset> datasets) {
+        Args.nullNotPermitted(datasets, "datasets");
+        List<VersionedDataset> result = new ArrayList<VersionedDataset>();
+        for (Dataset dataset : datasets) {
+            if (dataset instanceof VersionedDataset) {
+                VersionedDataset vd = (VersionedDataset) dataset;
+                vd.pinSnapshot();
+                result.add(vd);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Releases the snapshots pinned by {@link #pinSnapshots(Collection)}.
+     *
+     * @param pinned  the pinned datasets ({@code null} not permitted).
+     *
+     * @since 1.6.0
+     */
+    public static void releaseSnapshots(List<VersionedDataset> pinned) {
+        Args.nullNotPermitted(pinned, "pinned");
+        for (VersionedDataset dataset : pinned) {
+            dataset.releaseSnapshot();
+        }
+    }
+
 }
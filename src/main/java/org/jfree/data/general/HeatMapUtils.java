@@ -44,8 +44,12 @@ package org.jfree.data.general;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.Executor;
+import org.jfree.chart.renderer.CompiledPaintScale;
 import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ParallelUtils;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
@@ -57,6 +61,13 @@ import org.jfree.data.xy.XYSeriesCollection;
  */
 public abstract class HeatMapUtils {
 
+    /**
+     * The smallest number of cells that
+     * {@link #createHeatMapImage(HeatMapDataset, PaintScale, Executor)}
+     * fills in a separate task.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+
     /**
      * Returns a dataset containing one series that holds a copy of the (x, z)
      * data from one row (y-index) of the specified dataset.
@@ -101,6 +112,10 @@ public abstract class HeatMapUtils {
 
     /**
      * Creates an image that displays the values from the specified dataset.
+     * If the paint scale can be compiled to a table of colors (see
+     * {@link CompiledPaintScale}) the colors are written directly into the
+     * pixels of the image, otherwise each cell is filled using the paint
+     * returned by the scale.
      *
      * @param dataset  the dataset ({@code null} not permitted).
      * @param paintScale  the paint scale for the z-values ({@code null}
@@ -110,6 +125,31 @@ public abstract class HeatMapUtils {
      */
     public static BufferedImage createHeatMapImage(HeatMapDataset dataset,
             PaintScale paintScale) {
+        return createHeatMapImage(dataset, paintScale, null);
+    }
+
+    /**
+     * Creates an image that displays the values from the specified dataset,
+     * as {@link #createHeatMapImage(HeatMapDataset, PaintScale)} does.  If
+     * the paint scale can be compiled and the dataset is large, the image is
+     * split into bands of rows that are filled as separate tasks for the
+     * executor.  The {@link HeatMapDataset} interface doesn't require 
+     * datasets to be safe for concurrent reads, so an executor should only
+     * be supplied for datasets that are (for example, a 
+     * {@link DefaultHeatMapDataset} that is not being modified).
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param paintScale  the paint scale for the z-values ({@code null}
+     *         not permitted).
+     * @param executor  the executor ({@code null} permitted, in which case
+     *         the image is filled on the calling thread).
+     *
+     * @return A buffered image.
+     *
+     * @since 1.6.0
+     */
+    public static BufferedImage createHeatMapImage(HeatMapDataset dataset,
+            PaintScale paintScale, Executor executor) {
 
         Args.nullNotPermitted(dataset, "dataset");
         Args.nullNotPermitted(paintScale, "paintScale");
@@ -117,6 +157,14 @@ public abstract class HeatMapUtils {
         int yCount = dataset.getYSampleCount();
         BufferedImage image = new BufferedImage(xCount, yCount,
                 BufferedImage.TYPE_INT_ARGB);
+        CompiledPaintScale compiledScale = CompiledPaintScale.compile(
+                paintScale);
+        if (compiledScale != null) {
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                    .getData();
+            fillRows(dataset, compiledScale, pixels, executor);
+            return image;
+        }
         Graphics2D g2 = image.createGraphics();
         for (int xIndex = 0; xIndex < xCount; xIndex++) {
             for (int yIndex = 0; yIndex < yCount; yIndex++) {
@@ -126,7 +174,70 @@ public abstract class HeatMapUtils {
                 g2.fillRect(xIndex, yCount - yIndex - 1, 1, 1);
             }
         }
+        g2.dispose();
         return image;
     }
 
+    /**
+     * Writes the colors for all the cells of a dataset into the pixels of
+     * an image, splitting the image into bands of rows that are filled as
+     * separate tasks if there is an executor and the dataset is large.
+     *
+     * @param dataset  the dataset.
+     * @param scale  the compiled paint scale.
+     * @param pixels  the image pixels (one int per cell, top row first).
+     * @param executor  the executor ({@code null} permitted).
+     */
+    private static void fillRows(final HeatMapDataset dataset,
+            final CompiledPaintScale scale, final int[] pixels, 
+            Executor executor) {
+        final int yCount = dataset.getYSampleCount();
+        int taskCount = Math.min(yCount, ParallelUtils.getTaskCount(executor,
+                pixels.length, PARALLEL_THRESHOLD));
+        if (taskCount < 2) {
+            fillRows(dataset, scale, pixels, 0, yCount);
+            return;
+        }
+        final int bandSize = (yCount + taskCount - 1) / taskCount;
+        Runnable[] tasks = new Runnable[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            final int index = t;
+            tasks[t] = new Runnable() {
+                @Override
+                public void run() {
+                    int start = Math.min(index * bandSize, yCount);
+                    int end = Math.min(start + bandSize, yCount);
+                    fillRows(dataset, scale, pixels, start, end);
+                }
+            };
+        }
+        ParallelUtils.runAll(executor, tasks);
+    }
+
+    /**
+     * Writes the colors for a band of image rows into the pixels of an
+     * image.
+     *
+     * @param dataset  the dataset.
+     * @param scale  the compiled paint scale.
+     * @param pixels  the image pixels (one int per cell, top row first).
+     * @param startRow  the first image row.
+     * @param endRow  the image row after the last row in the band.
+     */
+    private static void fillRows(HeatMapDataset dataset,
+            CompiledPaintScale scale, int[] pixels, int startRow,
+            int endRow) {
+        int xCount = dataset.getXSampleCount();
+        int yCount = dataset.getYSampleCount();
+        for (int row = startRow; row < endRow; row++) {
+            // the first image row displays the highest y-index
+            int yIndex = yCount - row - 1;
+            int offset = row * xCount;
+            for (int xIndex = 0; xIndex < xCount; xIndex++) {
+                pixels[offset + xIndex] = scale.getARGB(
+                        dataset.getZValue(xIndex, yIndex));
+            }
+        }
+    }
+
 }
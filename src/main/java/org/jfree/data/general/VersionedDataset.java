@@ -0,0 +1,73 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+/**
+ * A dataset whose writers publish their changes as immutable, versioned
+ * snapshots.  A reader always sees a complete snapshot, never a partial
+ * update, and a reader that needs several calls to read the data (for
+ * example a plot that is being drawn) can pin the current snapshot so that
+ * every call it makes returns data from the same version, even if a writer
+ * publishes a new version in the meantime.
+ * <P>
+ * Pins are held per thread and can be nested; each call to
+ * {@link #pinSnapshot()} must be matched by a call to
+ * {@link #releaseSnapshot()} on the same thread.
+ *
+ * @see DatasetUtils#pinSnapshots(java.util.Collection)
+ *
+ * @since 1.6.0
+ */
+public interface VersionedDataset extends Dataset {
+
+    /**
+     * Returns the version of the snapshot that the calling thread reads,
+     * which is the pinned snapshot if there is one and otherwise the latest
+     * published snapshot.
+     *
+     * @return The version.
+     */
+    public long getVersion();
+
+    /**
+     * Pins the snapshot that the calling thread currently reads, so that
+     * later calls on this thread read the same version until the pin is
+     * released.  If the thread already holds a pin, the existing snapshot
+     * stays pinned.
+     */
+    public void pinSnapshot();
+
+    /**
+     * Releases a pin taken by {@link #pinSnapshot()}.  When the outermost
+     * pin is released the calling thread reads the latest published snapshot
+     * again.
+     */
+    public void releaseSnapshot();
+
+}
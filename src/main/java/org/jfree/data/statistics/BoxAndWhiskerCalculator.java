@@ -48,6 +48,7 @@
 package org.jfree.data.statistics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -96,30 +97,234 @@ public abstract class BoxAndWhiskerCalculator {
 
         Args.nullNotPermitted(values, "values");
 
-        List vlist;
-        if (stripNullAndNaNItems) {
-            vlist = new ArrayList(values.size());
-            Iterator iterator = values.listIterator();
-            while (iterator.hasNext()) {
-                Object obj = iterator.next();
-                if (obj instanceof Number) {
-                    Number n = (Number) obj;
-                    double v = n.doubleValue();
-                    if (!Double.isNaN(v)) {
-                        vlist.add(n);
-                    }
+        // copy the values to a primitive array, so that the median and
+        // quartiles can be found by selection rather than by sorting
+        List vlist = new ArrayList(values.size());
+        double[] data = new double[values.size()];
+        double total = 0.0;
+        int validCount = 0;
+        Iterator iterator = values.iterator();
+        while (iterator.hasNext()) {
+            Object obj = iterator.next();
+            if (stripNullAndNaNItems && !(obj instanceof Number)) {
+                continue;
+            }
+            Number n = (Number) obj;
+            double v = n.doubleValue();
+            if (Double.isNaN(v)) {
+                if (stripNullAndNaNItems) {
+                    continue;
+                }
+            }
+            else {
+                total += v;
+                validCount++;
+            }
+            data[vlist.size()] = v;
+            vlist.add(n);
+        }
+        int count = vlist.size();
+        if (count < data.length) {
+            data = Arrays.copyOf(data, count);
+        }
+        // NaN values are sorted to the end, as they would be by
+        // Collections.sort()
+        Statistics.moveNaNToEnd(data);
+
+        double mean = total / validCount;
+        double[] quantiles = selectMedianAndQuartiles(data, count,
+                validCount);
+        return createItem(mean, quantiles[0], quantiles[1], quantiles[2],
+                vlist.iterator());
+    }
+
+    /**
+     * Calculates the statistics required for a {@link BoxAndWhiskerItem}
+     * from an array of values.  Any values equivalent to
+     * {@code Double.NaN} are ignored.  The results are the same as for a
+     * list containing the same values, but the median and quartiles are
+     * found by selection (in linear expected time) rather than by sorting.
+     *
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @return A box-and-whisker item.
+     *
+     * @since 1.6.0
+     */
+    public static BoxAndWhiskerItem calculateBoxAndWhiskerItem(
+            double[] values) {
+        Args.nullNotPermitted(values, "values");
+        double[] data = values.clone();
+        int count = Statistics.moveNaNToEnd(data);
+        double total = 0.0;
+        List vlist = new ArrayList(count);
+        for (int i = 0; i < count; i++) {
+            total += data[i];
+            vlist.add(new Double(data[i]));
+        }
+        double[] quantiles = selectMedianAndQuartiles(data, count, count);
+        return createItem(total / count, quantiles[0], quantiles[1],
+                quantiles[2], vlist.iterator());
+    }
+
+    /**
+     * Calculates approximate statistics for a {@link BoxAndWhiskerItem} from
+     * a quantile sketch.  This allows a box-and-whisker dataset to be
+     * updated cheaply as observations arrive: add the observations to the
+     * sketch and recalculate the item from the sketch.  The mean is exact;
+     * the median and quartiles are estimates, and the whiskers and outliers
+     * are based on the values retained by the sketch together with the
+     * exact minimum and maximum.  While the sketch is exact (see
+     * {@link QuantileSketch#isExact()}) the results are the same as for a
+     * list containing the values.
+     *
+     * @param sketch  the sketch ({@code null} not permitted).
+     *
+     * @return A box-and-whisker item.
+     *
+     * @since 1.6.0
+     */
+    public static BoxAndWhiskerItem estimateBoxAndWhiskerStatistics(
+            QuantileSketch sketch) {
+        Args.nullNotPermitted(sketch, "sketch");
+        long count = sketch.getCount();
+        long[] ranks = getMedianAndQuartileRanks(count);
+        double[] v = sketch.getValuesAtRanks(ranks);
+        double median = average(v, 2, 3);
+        double q1 = average(v, 0, 1);
+        double q3 = average(v, 4, 5);
+
+        List vlist = new ArrayList();
+        double[] retained = sketch.getRetainedValues();
+        boolean minRetained = false;
+        boolean maxRetained = false;
+        for (int i = 0; i < retained.length; i++) {
+            minRetained = minRetained || retained[i] == sketch.getMinimum();
+            maxRetained = maxRetained || retained[i] == sketch.getMaximum();
+            vlist.add(new Double(retained[i]));
+        }
+        if (count > 0 && !minRetained) {
+            vlist.add(new Double(sketch.getMinimum()));
+        }
+        if (count > 0 && !maxRetained) {
+            vlist.add(new Double(sketch.getMaximum()));
+        }
+        return createItem(sketch.getMean(), median, q1, q3,
+                vlist.iterator());
+    }
+
+    /**
+     * Returns the median, first quartile and third quartile for an array of
+     * values, partially reordering the array.  The definitions match
+     * {@link Statistics#calculateMedian(List)}, {@link #calculateQ1(List)}
+     * and {@link #calculateQ3(List)}.
+     *
+     * @param data  the values, with any {@code Double.NaN} values at the end.
+     * @param count  the number of values.
+     * @param validCount  the number of values that are not
+     *     {@code Double.NaN}.
+     *
+     * @return An array containing the median, Q1 and Q3.
+     */
+    private static double[] selectMedianAndQuartiles(double[] data,
+            int count, int validCount) {
+        long[] ranks = getMedianAndQuartileRanks(count);
+        // the indices are in ascending order, so each selection only has to
+        // examine the values after the previous one
+        double[] v = new double[ranks.length];
+        int from = 0;
+        for (int i = 0; i < ranks.length; i++) {
+            int k = (int) ranks[i];
+            if (k >= 0) {
+                v[i] = Statistics.select(data, validCount, from, k);
+                if (k < validCount) {
+                    from = k;
                 }
             }
+            else {
+                v[i] = Double.NaN;
+            }
+        }
+        return new double[] {average(v, 2, 3), average(v, 0, 1),
+                average(v, 4, 5)};
+    }
+
+    /**
+     * Returns the indices, within the sorted values, of the values that
+     * determine Q1, the median and Q3 (two indices for each, which are the
+     * same when a single value is used).  The indices are in ascending
+     * order.
+     *
+     * @param count  the number of values.
+     *
+     * @return The indices (-1 if there are no values).
+     */
+    private static long[] getMedianAndQuartileRanks(long count) {
+        if (count == 0) {
+            return new long[] {-1, -1, -1, -1, -1, -1};
+        }
+        long[] result = new long[6];
+        setMedianRanks(result, 0, 0, count % 2 == 1 ? count / 2
+                : count / 2 - 1);
+        setMedianRanks(result, 2, 0, count - 1);
+        setMedianRanks(result, 4, count / 2, count - 1);
+        return result;
+    }
+
+    /**
+     * Sets the indices of the values that determine the median of a range
+     * of sorted values.
+     *
+     * @param ranks  the array to update.
+     * @param pos  the position in the array.
+     * @param start  the start index of the range.
+     * @param end  the end index of the range (inclusive).
+     */
+    private static void setMedianRanks(long[] ranks, int pos, long start,
+            long end) {
+        long n = end - start + 1;
+        if (n % 2 == 1) {
+            ranks[pos] = start + n / 2;
+            ranks[pos + 1] = ranks[pos];
         }
         else {
-            vlist = values;
+            ranks[pos] = start + n / 2 - 1;
+            ranks[pos + 1] = start + n / 2;
+        }
+    }
+
+    /**
+     * Returns the average of two selected values, or the value itself if
+     * both were taken from the same index.
+     *
+     * @param v  the selected values.
+     * @param i  the index of the first value.
+     * @param j  the index of the second value.
+     *
+     * @return The average.
+     */
+    private static double average(double[] v, int i, int j) {
+        if (Double.doubleToLongBits(v[i]) == Double.doubleToLongBits(v[j])) {
+            return v[i];
         }
-        Collections.sort(vlist);
+        return (v[i] + v[j]) / 2.0;
+    }
 
-        double mean = Statistics.calculateMean(vlist, false);
-        double median = Statistics.calculateMedian(vlist, false);
-        double q1 = calculateQ1(vlist);
-        double q3 = calculateQ3(vlist);
+    /**
+     * Creates a box-and-whisker item, finding the outliers and the range of
+     * the regular values.
+     *
+     * @param mean  the mean.
+     * @param median  the median.
+     * @param q1  the first quartile.
+     * @param q3  the third quartile.
+     * @param iterator  an iterator over the values ({@code Number}
+     *     objects).
+     *
+     * @return The item.
+     */
+    private static BoxAndWhiskerItem createItem(double mean, double median,
+            double q1, double q3, Iterator iterator) {
 
         double interQuartileRange = q3 - q1;
 
@@ -135,7 +340,6 @@ public abstract class BoxAndWhiskerCalculator {
         double maxOutlier = Double.NEGATIVE_INFINITY;
         List outliers = new ArrayList();
 
-        Iterator iterator = vlist.iterator();
         while (iterator.hasNext()) {
             Number number = (Number) iterator.next();
             double value = number.doubleValue();
@@ -155,9 +359,11 @@ public abstract class BoxAndWhiskerCalculator {
                 minRegularValue = Math.min(minRegularValue, value);
                 maxRegularValue = Math.max(maxRegularValue, value);
             }
-            minOutlier = Math.min(minOutlier, minRegularValue);
-            maxOutlier = Math.max(maxOutlier, maxRegularValue);
         }
+        minOutlier = Math.min(minOutlier, minRegularValue);
+        maxOutlier = Math.max(maxOutlier, maxRegularValue);
+        // the outliers are reported in ascending order
+        Collections.sort(outliers);
 
         return new BoxAndWhiskerItem(new Double(mean), new Double(median),
                 new Double(q1), new Double(q3), new Double(minRegularValue),
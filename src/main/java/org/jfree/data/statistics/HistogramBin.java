@@ -95,6 +95,15 @@ public class HistogramBin implements Cloneable, Serializable {
         this.count++;
     }
 
+    /**
+     * Increments the item count by the specified amount.
+     *
+     * @param amount  the amount.
+     */
+    void incrementCount(int amount) {
+        this.count += amount;
+    }
+
     /**
      * Returns the start boundary.
      *
@@ -67,8 +67,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ParallelUtils;
 import org.jfree.chart.util.PublicCloneable;
 
 import org.jfree.data.general.DatasetChangeEvent;
@@ -87,12 +89,22 @@ public class HistogramDataset extends AbstractIntervalXYDataset
     /** For serialization. */
     private static final long serialVersionUID = -6341668077370231153L;
 
+    /**
+     * The smallest number of values that
+     * {@link #addSeries(Comparable, double[], int, double, double)} bins in
+     * a separate task (if an executor has been set).
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+
     /** A list of maps. */
     private List list;
 
     /** The histogram type. */
     private HistogramType type;
 
+    /** The executor for binning large series ({@code null} permitted). */
+    private transient Executor executor;
+
     /**
      * Creates a new (empty) dataset with a default type of
      * {@link HistogramType}.FREQUENCY.
@@ -123,6 +135,38 @@ public class HistogramDataset extends AbstractIntervalXYDataset
         fireDatasetChanged();
     }
 
+    /**
+     * Returns the executor used to bin the values of large series.
+     *
+     * @return The executor (possibly {@code null}).
+     *
+     * @see #setExecutor(Executor)
+     *
+     * @since 1.6.0
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the executor used to bin the values of large series.  When a 
+     * series with many values is added, the values are split into sections
+     * that are binned as separate tasks and the counts are added together 
+     * afterwards.  If the executor is {@code null} (the default) all the 
+     * values are binned on the calling thread.  The executor is not part of
+     * the dataset's state: it is ignored by {@code equals()}, shared by 
+     * clones and not serialized.
+     *
+     * @param executor  the executor ({@code null} permitted).
+     *
+     * @see #getExecutor()
+     *
+     * @since 1.6.0
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     /**
      * Adds a series to the dataset, using the specified number of bins,
      * and sends a {@link DatasetChangeEvent} to all registered listeners.
@@ -180,7 +224,122 @@ public class HistogramDataset extends AbstractIntervalXYDataset
             binList.add(bin);
         }
         // fill the bins
-        for (int i = 0; i < values.length; i++) {
+        int[] counts = countValues(values, bins, minimum, maximum);
+        for (int i = 0; i < bins; i++) {
+            HistogramBin bin = (HistogramBin) binList.get(i);
+            bin.incrementCount(counts[i]);
+        }
+        // generic map for each series
+        Map map = new HashMap();
+        map.put("key", key);
+        map.put("bins", binList);
+        map.put("values.length", new Integer(values.length));
+        map.put("bin width", new Double(binWidth));
+        this.list.add(map);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds observations to an existing series, using the bins that were
+     * created when the series was added, and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  Any value
+     * less than the lower bound of the first bin is assigned to the first
+     * bin, and any value greater than the upper bound of the last bin is
+     * assigned to the last bin (exactly as when the series was added).
+     * This means that data can be added as it arrives, without binning all
+     * the earlier values again.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     * @param values  the new observations ({@code null} not permitted).
+     *
+     * @throws IndexOutOfBoundsException if {@code series} is outside the
+     *     specified range.
+     *
+     * @since 1.6.0
+     */
+    public void addObservations(int series, double[] values) {
+        Args.nullNotPermitted(values, "values");
+        Map map = (Map) this.list.get(series);
+        List binList = (List) map.get("bins");
+        int bins = binList.size();
+        double minimum = ((HistogramBin) binList.get(0)).getStartBoundary();
+        double maximum = ((HistogramBin) binList.get(bins - 1))
+                .getEndBoundary();
+        int[] counts = countValues(values, bins, minimum, maximum);
+        for (int i = 0; i < bins; i++) {
+            HistogramBin bin = (HistogramBin) binList.get(i);
+            bin.incrementCount(counts[i]);
+        }
+        map.put("values.length", new Integer(getTotal(series)
+                + values.length));
+        fireDatasetChanged();
+    }
+
+    /**
+     * Counts the values falling in each bin.  For large arrays the work is
+     * split into tasks for the executor (if there is one), each counting 
+     * one section of the array, and the counts are added together 
+     * afterwards.
+     *
+     * @param values  the values.
+     * @param bins  the number of bins.
+     * @param minimum  the lower bound of the bin range.
+     * @param maximum  the upper bound of the bin range.
+     *
+     * @return The counts.
+     */
+    private int[] countValues(final double[] values, final int bins,
+            final double minimum, final double maximum) {
+        int taskCount = ParallelUtils.getTaskCount(this.executor,
+                values.length, PARALLEL_THRESHOLD);
+        if (taskCount < 2) {
+            return countValues(values, 0, values.length, bins, minimum,
+                    maximum);
+        }
+        final int[][] partialCounts = new int[taskCount][];
+        final int chunkSize = (values.length + taskCount - 1) / taskCount;
+        Runnable[] tasks = new Runnable[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            final int index = t;
+            tasks[t] = new Runnable() {
+                @Override
+                public void run() {
+                    int start = index * chunkSize;
+                    int end = Math.min(start + chunkSize, values.length);
+                    partialCounts[index] = countValues(values, start, end,
+                            bins, minimum, maximum);
+                }
+            };
+        }
+        ParallelUtils.runAll(this.executor, tasks);
+        int[] result = partialCounts[0];
+        for (int t = 1; t < taskCount; t++) {
+            for (int i = 0; i < bins; i++) {
+                result[i] += partialCounts[t][i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values in a section of an array falling in each bin.  Any
+     * value less than the minimum is counted in the first bin, and any value
+     * greater than or equal to the maximum is counted in the last bin.
+     *
+     * @param values  the values.
+     * @param start  the index of the first value to count.
+     * @param end  the index after the last value to count.
+     * @param bins  the number of bins.
+     * @param minimum  the lower bound of the bin range.
+     * @param maximum  the upper bound of the bin range.
+     *
+     * @return The counts.
+     */
+    private static int[] countValues(double[] values, int start, int end,
+            int bins, double minimum, double maximum) {
+        int[] counts = new int[bins];
+        for (int i = start; i < end; i++) {
             int binIndex = bins - 1;
             if (values[i] < maximum) {
                 double fraction = (values[i] - minimum) / (maximum - minimum);
@@ -195,17 +354,9 @@ public class HistogramDataset extends AbstractIntervalXYDataset
                     binIndex = bins - 1;
                 }
             }
-            HistogramBin bin = (HistogramBin) binList.get(binIndex);
-            bin.incrementCount();
+            counts[binIndex]++;
         }
-        // generic map for each series
-        Map map = new HashMap();
-        map.put("key", key);
-        map.put("bins", binList);
-        map.put("values.length", new Integer(values.length));
-        map.put("bin width", new Double(binWidth));
-        this.list.add(map);
-        fireDatasetChanged();
+        return counts;
     }
 
     /**
@@ -506,7 +657,15 @@ public class HistogramDataset extends AbstractIntervalXYDataset
         int seriesCount = getSeriesCount();
         clone.list = new java.util.ArrayList(seriesCount);
         for (int i = 0; i < seriesCount; i++) {
-            clone.list.add(new HashMap((Map) this.list.get(i)));
+            Map map = new HashMap((Map) this.list.get(i));
+            // the bins are updated by addObservations(), so copy them
+            List bins = (List) map.get("bins");
+            List binsClone = new ArrayList(bins.size());
+            for (int b = 0; b < bins.size(); b++) {
+                binsClone.add(((HistogramBin) bins.get(b)).clone());
+            }
+            map.put("bins", binsClone);
+            clone.list.add(map);
         }
         return clone;
     }
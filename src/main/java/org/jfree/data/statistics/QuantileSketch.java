@@ -0,0 +1,374 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A compact summary of a stream of values that can answer approximate
+ * quantile queries (the median, quartiles and so on) without storing every
+ * value.  Values are collected in a buffer; when the buffer is full it is
+ * sorted and every second value is promoted to a buffer at the next level,
+ * where each value stands for twice as many observations.  The memory used
+ * grows only with the logarithm of the number of values added, and the
+ * rank error of a query is roughly {@code log2(n / capacity) / capacity}.
+ * Until the first buffer fills, the sketch retains every value and the
+ * results are exact.
+ * <p>
+ * The count, mean, minimum and maximum are always exact.  A sketch can be
+ * passed to
+ * {@link BoxAndWhiskerCalculator#estimateBoxAndWhiskerStatistics(QuantileSketch)}
+ * to update a box-and-whisker dataset as data arrives, without recomputing
+ * the statistics from all the observations each time.
+ *
+ * @since 1.6.0
+ */
+public class QuantileSketch implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4474338823312596052L;
+
+    /** The default buffer capacity. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** The capacity of each buffer (always an even number). */
+    private int capacity;
+
+    /** The buffers, one per level. */
+    private double[][] levels;
+
+    /** The number of values in each buffer. */
+    private int[] levelSizes;
+
+    /**
+     * For each level, whether the next compaction promotes the values at
+     * odd (rather than even) positions.  Alternating avoids a bias towards
+     * the smaller values.
+     */
+    private boolean[] oddOffsets;
+
+    /** Exact statistics for the values added. */
+    private RunningStatistics statistics;
+
+    /**
+     * Creates a new sketch with the default capacity.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new sketch.  A larger capacity gives more accurate results
+     * but uses more memory.
+     *
+     * @param capacity  the buffer capacity (at least 2, rounded up to an even
+     *     number).
+     */
+    public QuantileSketch(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Requires 'capacity' >= 2.");
+        }
+        this.capacity = capacity + (capacity % 2);
+        clear();
+    }
+
+    /**
+     * Returns the buffer capacity.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Removes all values from the sketch.
+     */
+    public void clear() {
+        this.levels = new double[][] {new double[this.capacity]};
+        this.levelSizes = new int[1];
+        this.oddOffsets = new boolean[1];
+        this.statistics = new RunningStatistics();
+    }
+
+    /**
+     * Adds a value to the sketch.  {@code Double.NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        this.statistics.add(value);
+        insert(0, value);
+    }
+
+    /**
+     * Adds an array of values to the sketch.  {@code Double.NaN} values are
+     * ignored.
+     *
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void add(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Returns the number of values added to the sketch.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.statistics.getCount();
+    }
+
+    /**
+     * Returns the mean of the values added to the sketch.
+     *
+     * @return The mean ({@code Double.NaN} if the sketch is empty).
+     */
+    public double getMean() {
+        return this.statistics.getMean();
+    }
+
+    /**
+     * Returns the smallest value added to the sketch.
+     *
+     * @return The minimum ({@code Double.NaN} if the sketch is empty).
+     */
+    public double getMinimum() {
+        return this.statistics.getMinimum();
+    }
+
+    /**
+     * Returns the largest value added to the sketch.
+     *
+     * @return The maximum ({@code Double.NaN} if the sketch is empty).
+     */
+    public double getMaximum() {
+        return this.statistics.getMaximum();
+    }
+
+    /**
+     * Returns {@code true} if the sketch still holds every value that has
+     * been added, in which case quantile queries are exact.
+     *
+     * @return A boolean.
+     */
+    public boolean isExact() {
+        return this.levels.length == 1;
+    }
+
+    /**
+     * Returns an estimate of the value at the specified fraction of the way
+     * through the sorted values (0.5 for the median, for example).
+     *
+     * @param fraction  the fraction (in the range 0.0 to 1.0).
+     *
+     * @return The value ({@code Double.NaN} if the sketch is empty).
+     */
+    public double getQuantile(double fraction) {
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'fraction' in the range 0.0 to 1.0.");
+        }
+        long count = getCount();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.round(fraction * (count - 1));
+        return getValuesAtRanks(new long[] {rank})[0];
+    }
+
+    /**
+     * Returns estimates of the values that would be at the specified indices
+     * if all the values added were sorted into ascending order.
+     *
+     * @param ranks  the indices, in ascending order.
+     *
+     * @return The values.
+     */
+    double[] getValuesAtRanks(long[] ranks) {
+        double[] result = new double[ranks.length];
+        Arrays.fill(result, Double.NaN);
+        double[] values = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < this.levels.length; h++) {
+            int size = this.levelSizes[h];
+            // sort a copy, so that reading does not modify the sketch
+            double[] level = Arrays.copyOf(this.levels[h], size);
+            Arrays.sort(level);
+            double[] mergedValues = new double[values.length + size];
+            long[] mergedWeights = new long[mergedValues.length];
+            long weight = 1L << h;
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < mergedValues.length; m++) {
+                if (j >= size || (i < values.length
+                        && values[i] <= level[j])) {
+                    mergedValues[m] = values[i];
+                    mergedWeights[m] = weights[i++];
+                }
+                else {
+                    mergedValues[m] = level[j++];
+                    mergedWeights[m] = weight;
+                }
+            }
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+        long cumulative = 0L;
+        int r = 0;
+        for (int i = 0; i < values.length && r < ranks.length; i++) {
+            cumulative += weights[i];
+            while (r < ranks.length && ranks[r] < cumulative) {
+                result[r++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values currently retained by the sketch (every value
+     * added, if {@link #isExact()} returns {@code true}).
+     *
+     * @return The values, in no particular order.
+     */
+    double[] getRetainedValues() {
+        int total = 0;
+        for (int h = 0; h < this.levels.length; h++) {
+            total += this.levelSizes[h];
+        }
+        double[] result = new double[total];
+        int pos = 0;
+        for (int h = 0; h < this.levels.length; h++) {
+            System.arraycopy(this.levels[h], 0, result, pos,
+                    this.levelSizes[h]);
+            pos += this.levelSizes[h];
+        }
+        return result;
+    }
+
+    /**
+     * Inserts a value into the buffer at the specified level, compacting
+     * the buffer if it becomes full.
+     *
+     * @param level  the level.
+     * @param value  the value.
+     */
+    private void insert(int level, double value) {
+        if (level == this.levels.length) {
+            this.levels = Arrays.copyOf(this.levels, level + 1);
+            this.levels[level] = new double[this.capacity];
+            this.levelSizes = Arrays.copyOf(this.levelSizes, level + 1);
+            this.oddOffsets = Arrays.copyOf(this.oddOffsets, level + 1);
+        }
+        double[] buffer = this.levels[level];
+        buffer[this.levelSizes[level]++] = value;
+        if (this.levelSizes[level] == this.capacity) {
+            Arrays.sort(buffer);
+            this.levelSizes[level] = 0;
+            int start = this.oddOffsets[level] ? 1 : 0;
+            this.oddOffsets[level] = !this.oddOffsets[level];
+            for (int i = start; i < this.capacity; i += 2) {
+                insert(level + 1, buffer[i]);
+            }
+        }
+    }
+
+    /**
+     * Tests this sketch for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof QuantileSketch)) {
+            return false;
+        }
+        QuantileSketch that = (QuantileSketch) obj;
+        if (this.capacity != that.capacity
+                || this.levels.length != that.levels.length
+                || !this.statistics.equals(that.statistics)
+                || !Arrays.equals(this.levelSizes, that.levelSizes)
+                || !Arrays.equals(this.oddOffsets, that.oddOffsets)) {
+            return false;
+        }
+        for (int h = 0; h < this.levels.length; h++) {
+            double[] a = Arrays.copyOf(this.levels[h], this.levelSizes[h]);
+            double[] b = Arrays.copyOf(that.levels[h], that.levelSizes[h]);
+            Arrays.sort(a);
+            Arrays.sort(b);
+            if (!Arrays.equals(a, b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this sketch.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.capacity + this.statistics.hashCode();
+    }
+
+    /**
+     * Returns a clone of this sketch.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        QuantileSketch clone = (QuantileSketch) super.clone();
+        clone.levels = new double[this.levels.length][];
+        for (int h = 0; h < this.levels.length; h++) {
+            clone.levels[h] = this.levels[h].clone();
+        }
+        clone.levelSizes = this.levelSizes.clone();
+        clone.oddOffsets = this.oddOffsets.clone();
+        clone.statistics = (RunningStatistics) this.statistics.clone();
+        return clone;
+    }
+
+}
@@ -0,0 +1,250 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+
+/**
+ * Accumulates the count, mean, variance, minimum and maximum of a sequence of
+ * values in a single pass, without storing the values.  The mean and
+ * variance are updated using Welford's method, which avoids the loss of
+ * precision that comes from subtracting large sums of squares.  Two
+ * accumulators can be combined with {@link #add(RunningStatistics)}, so
+ * separate parts of a large data set can be processed independently.
+ *
+ * @since 1.6.0
+ */
+public class RunningStatistics implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2286470524475327473L;
+
+    /** The number of values added. */
+    private long count;
+
+    /** The mean of the values added. */
+    private double mean;
+
+    /** The sum of the squared differences from the mean. */
+    private double m2;
+
+    /** The smallest value added. */
+    private double minimum;
+
+    /** The largest value added. */
+    private double maximum;
+
+    /**
+     * Creates a new instance with no values.
+     */
+    public RunningStatistics() {
+        clear();
+    }
+
+    /**
+     * Adds a value.  {@code Double.NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        this.count++;
+        double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (value - this.mean);
+        if (value < this.minimum) {
+            this.minimum = value;
+        }
+        if (value > this.maximum) {
+            this.maximum = value;
+        }
+    }
+
+    /**
+     * Adds an array of values.  {@code Double.NaN} values are ignored.
+     *
+     * @param values  the values ({@code null} not permitted).
+     */
+    public void add(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds all the values summarised by another instance, as if they had
+     * been added to this instance directly.
+     *
+     * @param other  the other instance ({@code null} not permitted).
+     */
+    public void add(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (this.count == 0) {
+            this.count = other.count;
+            this.mean = other.mean;
+            this.m2 = other.m2;
+            this.minimum = other.minimum;
+            this.maximum = other.maximum;
+            return;
+        }
+        long n = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.count / n;
+        this.m2 += other.m2
+                + delta * delta * ((double) this.count * other.count / n);
+        this.count = n;
+        this.minimum = Math.min(this.minimum, other.minimum);
+        this.maximum = Math.max(this.maximum, other.maximum);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        this.count = 0L;
+        this.mean = 0.0;
+        this.m2 = 0.0;
+        this.minimum = Double.POSITIVE_INFINITY;
+        this.maximum = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return The mean ({@code Double.NaN} if no values have been added).
+     */
+    public double getMean() {
+        return this.count > 0 ? this.mean : Double.NaN;
+    }
+
+    /**
+     * Returns the sample variance of the values (using {@code n - 1} as the
+     * divisor, as in {@link Statistics#getStdDev(Number[])}).
+     *
+     * @return The variance ({@code Double.NaN} if fewer than two values have
+     *     been added).
+     */
+    public double getVariance() {
+        return this.count > 1 ? this.m2 / (this.count - 1) : Double.NaN;
+    }
+
+    /**
+     * Returns the sample standard deviation of the values.
+     *
+     * @return The standard deviation ({@code Double.NaN} if fewer than two
+     *     values have been added).
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Returns the smallest value added.
+     *
+     * @return The minimum ({@code Double.NaN} if no values have been added).
+     */
+    public double getMinimum() {
+        return this.count > 0 ? this.minimum : Double.NaN;
+    }
+
+    /**
+     * Returns the largest value added.
+     *
+     * @return The maximum ({@code Double.NaN} if no values have been added).
+     */
+    public double getMaximum() {
+        return this.count > 0 ? this.maximum : Double.NaN;
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RunningStatistics)) {
+            return false;
+        }
+        RunningStatistics that = (RunningStatistics) obj;
+        return this.count == that.count
+                && Double.doubleToLongBits(this.mean)
+                        == Double.doubleToLongBits(that.mean)
+                && Double.doubleToLongBits(this.m2)
+                        == Double.doubleToLongBits(that.m2)
+                && Double.doubleToLongBits(this.minimum)
+                        == Double.doubleToLongBits(that.minimum)
+                && Double.doubleToLongBits(this.maximum)
+                        == Double.doubleToLongBits(that.maximum);
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(this.mean);
+        int result = (int) (this.count ^ (this.count >>> 32));
+        result = 31 * result + (int) (bits ^ (bits >>> 32));
+        return result;
+    }
+
+    /**
+     * Returns a clone of this instance.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+
+}
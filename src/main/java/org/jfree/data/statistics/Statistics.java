@@ -49,9 +49,8 @@
 
 package org.jfree.data.statistics;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import org.jfree.chart.util.Args;
@@ -199,13 +198,8 @@ public abstract class Statistics {
         double result = Double.NaN;
         if (values != null) {
             if (copyAndSort) {
-                int itemCount = values.size();
-                List copy = new ArrayList(itemCount);
-                for (int i = 0; i < itemCount; i++) {
-                    copy.add(i, values.get(i));
-                }
-                Collections.sort(copy);
-                values = copy;
+                return calculateMedian(toDoubleArray(values, 0,
+                        values.size() - 1));
             }
             int count = values.size();
             if (count > 0) {
@@ -262,12 +256,7 @@ public abstract class Statistics {
 
         double result = Double.NaN;
         if (copyAndSort) {
-            List working = new ArrayList(end - start + 1);
-            for (int i = start; i <= end; i++) {
-                working.add(values.get(i));
-            }
-            Collections.sort(working);
-            result = calculateMedian(working, false);
+            result = calculateMedian(toDoubleArray(values, start, end));
         }
         else {
             int count = end - start + 1;
@@ -295,6 +284,154 @@ public abstract class Statistics {
 
     }
 
+    /**
+     * Calculates the median for an array of values.  The array is copied
+     * and the median is found by selection (in linear expected time) rather
+     * than by sorting the copy.  {@code Double.NaN} values are ordered after
+     * all other values, as in {@link Double#compareTo(Double)}.
+     *
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @return The median ({@code Double.NaN} if the array is empty).
+     *
+     * @since 1.6.0
+     */
+    public static double calculateMedian(double[] values) {
+        Args.nullNotPermitted(values, "values");
+        double[] copy = values.clone();
+        int count = copy.length;
+        int validCount = moveNaNToEnd(copy);
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count % 2 == 1) {
+            return select(copy, validCount, 0, count / 2);
+        }
+        double v1 = select(copy, validCount, 0, count / 2 - 1);
+        double v2 = select(copy, validCount, count / 2 - 1, count / 2);
+        return (v1 + v2) / 2.0;
+    }
+
+    /**
+     * Copies the values in a sublist to a new array.
+     *
+     * @param values  the values ({@code Number} objects, {@code null} not
+     *     permitted).
+     * @param start  the start index.
+     * @param end  the end index (inclusive).
+     *
+     * @return The array.
+     */
+    private static double[] toDoubleArray(List values, int start, int end) {
+        double[] result = new double[Math.max(end - start + 1, 0)];
+        for (int i = start; i <= end; i++) {
+            result[i - start] = ((Number) values.get(i)).doubleValue();
+        }
+        return result;
+    }
+
+    /**
+     * Moves any {@code Double.NaN} values to the end of an array, so that
+     * the remaining values can be selected with the ordinary comparison
+     * operators.
+     *
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @return The number of values that are not {@code Double.NaN}.
+     */
+    static int moveNaNToEnd(double[] values) {
+        int validCount = 0;
+        for (int i = 0; i < values.length; i++) {
+            double v = values[i];
+            if (!Double.isNaN(v)) {
+                values[i] = values[validCount];
+                values[validCount] = v;
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    /**
+     * Returns the value that would be at index {@code k} if the array were
+     * sorted into ascending order, partially reordering the array so that
+     * the value is at index {@code k}, no value before it is greater and no
+     * value after it is smaller.  Only the values from index {@code from}
+     * onwards are examined, so when several values are required they can be
+     * selected in ascending order of {@code k}, passing the previous
+     * {@code k} as {@code from} each time.
+     *
+     * @param values  the values, with any {@code Double.NaN} values at the
+     *     end (see {@link #moveNaNToEnd(double[])}).
+     * @param validCount  the number of values that are not
+     *     {@code Double.NaN}.
+     * @param from  the first index to examine (either zero or a previously
+     *     selected index).
+     * @param k  the index.
+     *
+     * @return The value.
+     */
+    static double select(double[] values, int validCount, int from, int k) {
+        if (k >= validCount) {
+            return Double.NaN;
+        }
+        int lo = from;
+        int hi = validCount - 1;
+        // fall back to sorting if the pivots keep turning out badly
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(hi - lo + 1));
+        while (hi > lo) {
+            if (--budget < 0) {
+                Arrays.sort(values, lo, hi + 1);
+                break;
+            }
+            int mid = (lo + hi) >>> 1;
+            double pivot = medianOf3(values[lo], values[mid], values[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            }
+            else if (k >= i) {
+                lo = i;
+            }
+            else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Returns the median of three values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     * @param c  the third value.
+     *
+     * @return The median.
+     */
+    private static double medianOf3(double a, double b, double c) {
+        if (a < b) {
+            return b < c ? b : (a < c ? c : a);
+        }
+        return a < c ? a : (b < c ? c : b);
+    }
+
     /**
      * Returns the standard deviation of a set of numbers.
      *
@@ -50,13 +50,21 @@
 
 package org.jfree.data.time;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.jfree.chart.util.Args;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 /**
- * A utility class for calculating moving averages of time series data.
+ * A utility class for calculating moving averages of time series data.  The
+ * averages are calculated with a running sum over a sliding window, so the
+ * time taken is proportional to the number of items in the source series and
+ * does not depend on the length of the averaging period.  To keep a moving
+ * average up to date as the source series changes, use
+ * {@link TimeSeriesMovingAverage}.
  */
 public class MovingAverage {
 
@@ -117,62 +125,218 @@ public class MovingAverage {
         }
 
         TimeSeries result = new TimeSeries(name);
-
-        if (source.getItemCount() > 0) {
-
+        int count = source.getItemCount();
+        if (count > 0) {
             // if the initial averaging period is to be excluded, then
-            // calculate the index of the
-            // first data item to have an average calculated...
+            // calculate the serial index of the first data item to have an
+            // average calculated...
             long firstSerial = source.getTimePeriod(0).getSerialIndex() + skip;
+            result.replaceItems(0, 0, calculateMovingAverage(source,
+                    periodCount, firstSerial, 0, count), false);
+        }
+        return result;
 
-            for (int i = source.getItemCount() - 1; i >= 0; i--) {
-
-                // get the current data item...
-                RegularTimePeriod period = source.getTimePeriod(i);
-                long serial = period.getSerialIndex();
-
-                if (serial >= firstSerial) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    long serialLimit = period.getSerialIndex() - periodCount;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while ((offset < periodCount) && (!finished)) {
-                        if ((i - offset) >= 0) {
-                            TimeSeriesDataItem item = source.getRawDataItem(
-                                    i - offset);
-                            RegularTimePeriod p = item.getPeriod();
-                            Number v = item.getValue();
-                            long currentIndex = p.getSerialIndex();
-                            if (currentIndex > serialLimit) {
-                                if (v != null) {
-                                    sum = sum + v.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
-                        }
-                        offset = offset + 1;
-                    }
-                    if (n > 0) {
-                        result.add(period, sum / n);
-                    }
-                    else {
-                        result.add(period, null);
-                    }
-                }
+    }
+
+    /**
+     * Calculates the moving averages for a range of items in a time series.
+     * The average for an item covers the item and the earlier items that
+     * are within {@code periodCount} periods of it (up to a maximum of
+     * {@code periodCount} items), ignoring {@code null} values.
+     *
+     * @param source  the source series.
+     * @param periodCount  the number of periods used in the average
+     *     calculation.
+     * @param firstSerial  the serial index of the first time period that
+     *     should have an average calculated.
+     * @param start  the index of the first item.
+     * @param end  the index after the last item.
+     *
+     * @return A list of {@link TimeSeriesDataItem} objects (one for each item
+     *     in the range with a serial index of at least
+     *     {@code firstSerial}).
+     */
+    static List calculateMovingAverage(TimeSeries source, int periodCount,
+            long firstSerial, int start, int end) {
+        List result = new ArrayList(Math.max(end - start, 0));
+        RunningSum sum = new RunningSum();
+        int windowStart = Math.max(0, start - periodCount + 1);
+        for (int i = windowStart; i < start; i++) {
+            sum.add(source.getRawDataItem(i).getValue());
+        }
+        for (int i = start; i < end; i++) {
+            TimeSeriesDataItem item = source.getRawDataItem(i);
+            RegularTimePeriod period = item.getPeriod();
+            long serial = period.getSerialIndex();
+            sum.add(item.getValue());
+            long serialLimit = serial - periodCount;
+            while (windowStart <= i - periodCount || source.getRawDataItem(
+                    windowStart).getPeriod().getSerialIndex() <= serialLimit) {
+                sum.remove(source.getRawDataItem(windowStart).getValue());
+                windowStart++;
+            }
+            if (serial >= firstSerial) {
+                result.add(new TimeSeriesDataItem(period, sum.getAverage()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new {@link TimeSeries} containing exponentially weighted
+     * moving average values for the given series.  The first average is the
+     * first non-{@code null} value, and each later average is
+     * {@code alpha * value + (1 - alpha) * previousAverage}.  Items with a
+     * {@code null} value repeat the previous average.  To keep the average
+     * up to date as the source series changes, use
+     * {@link TimeSeriesMovingAverage#createExponentialMovingAverage(
+     * TimeSeries, String, double)} instead.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the new series.
+     * @param alpha  the smoothing factor (greater than 0.0 and less than or
+     *     equal to 1.0).
+     *
+     * @return The moving average series.
+     *
+     * @since 1.6.0
+     */
+    public static TimeSeries createExponentialMovingAverage(TimeSeries source,
+            String name, double alpha) {
 
+        Args.nullNotPermitted(source, "source");
+        if (!(alpha > 0.0 && alpha <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'alpha' in the range (0.0, 1.0].");
+        }
+        TimeSeries result = new TimeSeries(name);
+        result.replaceItems(0, 0, calculateExponentialMovingAverage(source,
+                alpha, null, 0, source.getItemCount()), false);
+        return result;
+
+    }
+
+    /**
+     * Calculates the exponentially weighted moving average for a range of
+     * items in the source series.
+     *
+     * @param source  the source series.
+     * @param alpha  the smoothing factor.
+     * @param previous  the average for the item before {@code start}
+     *     ({@code null} if there is no average yet).
+     * @param start  the index of the first item to calculate.
+     * @param end  the index after the last item to calculate.
+     *
+     * @return A list of {@link TimeSeriesDataItem} objects.
+     */
+    static List calculateExponentialMovingAverage(TimeSeries source,
+            double alpha, Double previous, int start, int end) {
+        List items = new ArrayList(Math.max(end - start, 0));
+        Double average = previous;
+        for (int i = start; i < end; i++) {
+            TimeSeriesDataItem item = source.getRawDataItem(i);
+            Number v = item.getValue();
+            if (v != null) {
+                double a = average == null ? v.doubleValue()
+                        : alpha * v.doubleValue()
+                        + (1.0 - alpha) * average.doubleValue();
+                average = new Double(a);
             }
+            items.add(new TimeSeriesDataItem(item.getPeriod(), average));
         }
+        return items;
+    }
 
+    /**
+     * Creates a new {@link TimeSeries} containing the moving median of the
+     * given series, calculated by number of points (irrespective of the
+     * 'age' of those points).  The median for an item covers the item and
+     * the {@code pointCount - 1} items before it, ignoring {@code null}
+     * values, and the first {@code pointCount - 1} items are skipped.  The
+     * values in the window are kept in sorted order, so each step costs a
+     * binary search plus an array copy rather than a sort.  To keep the
+     * median up to date as the source series changes, use
+     * {@link TimeSeriesMovingAverage#createPointMovingMedian(TimeSeries,
+     * String, int)} instead.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the new series.
+     * @param pointCount  the number of points used in the median
+     *     calculation (at least 1).
+     *
+     * @return The moving median series.
+     *
+     * @since 1.6.0
+     */
+    public static TimeSeries createPointMovingMedian(TimeSeries source,
+            String name, int pointCount) {
+
+        Args.nullNotPermitted(source, "source");
+        if (pointCount < 1) {
+            throw new IllegalArgumentException("pointCount must be greater "
+                    + "than or equal to 1.");
+        }
+        TimeSeries result = new TimeSeries(name);
+        result.replaceItems(0, 0, calculatePointMovingMedian(source,
+                pointCount, 0, source.getItemCount()), false);
         return result;
 
     }
 
+    /**
+     * Calculates the moving median for a range of items in the source
+     * series.  Items before the {@code pointCount - 1}th are skipped.
+     *
+     * @param source  the source series.
+     * @param pointCount  the number of points used in the median
+     *     calculation.
+     * @param start  the index of the first item to calculate.
+     * @param end  the index after the last item to calculate.
+     *
+     * @return A list of {@link TimeSeriesDataItem} objects.
+     */
+    static List calculatePointMovingMedian(TimeSeries source, int pointCount,
+            int start, int end) {
+        int first = Math.max(start - pointCount + 1, 0);
+        List items = new ArrayList(Math.max(end - Math.max(start,
+                pointCount - 1), 0));
+        double[] window = new double[pointCount + 1];
+        int size = 0;
+        for (int i = first; i < end; i++) {
+            TimeSeriesDataItem item = source.getRawDataItem(i);
+            Number v = item.getValue();
+            if (v != null) {
+                double d = v.doubleValue();
+                int pos = Arrays.binarySearch(window, 0, size, d);
+                if (pos < 0) {
+                    pos = -pos - 1;
+                }
+                System.arraycopy(window, pos, window, pos + 1, size - pos);
+                window[pos] = d;
+                size++;
+            }
+            if (i - pointCount >= first) {
+                Number old = source.getRawDataItem(i - pointCount).getValue();
+                if (old != null) {
+                    int pos = Arrays.binarySearch(window, 0, size,
+                            old.doubleValue());
+                    System.arraycopy(window, pos + 1, window, pos,
+                            size - pos - 1);
+                    size--;
+                }
+            }
+            if (i >= start && i >= pointCount - 1) {
+                Double median = null;
+                if (size > 0) {
+                    median = new Double(size % 2 == 1 ? window[size / 2]
+                            : (window[size / 2 - 1] + window[size / 2]) / 2.0);
+                }
+                items.add(new TimeSeriesDataItem(item.getPeriod(), median));
+            }
+        }
+        return items;
+    }
+
     /**
      * Creates a new {@link TimeSeries} containing moving average values for
      * the given series, calculated by number of points (irrespective of the
@@ -291,53 +455,29 @@ public class MovingAverage {
         }
 
         XYSeries result = new XYSeries(name);
-
-        if (source.getItemCount(series) > 0) {
+        int count = source.getItemCount(series);
+        if (count > 0) {
 
             // if the initial averaging period is to be excluded, then
             // calculate the lowest x-value to have an average calculated...
             double first = source.getXValue(series, 0) + skip;
 
-            for (int i = source.getItemCount(series) - 1; i >= 0; i--) {
-
-                // get the current data item...
+            // the x-values are in ascending order, so the window of earlier
+            // values can be moved forward one item at a time...
+            RunningSum sum = new RunningSum();
+            int windowStart = 0;
+            for (int i = 0; i < count; i++) {
                 double x = source.getXValue(series, i);
-
+                sum.add(source.getY(series, i));
+                double limit = x - period;
+                while (windowStart < i
+                        && source.getXValue(series, windowStart) <= limit) {
+                    sum.remove(source.getY(series, windowStart));
+                    windowStart++;
+                }
                 if (x >= first) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    double limit = x - period;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while (!finished) {
-                        if ((i - offset) >= 0) {
-                            double xx = source.getXValue(series, i - offset);
-                            Number yy = source.getY(series, i - offset);
-                            if (xx > limit) {
-                                if (yy != null) {
-                                    sum = sum + yy.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
-                        }
-                        else {
-                            finished = true;
-                        }
-                        offset = offset + 1;
-                    }
-                    if (n > 0) {
-                        result.add(x, sum / n);
-                    }
-                    else {
-                        result.add(x, null);
-                    }
+                    result.add(new Double(x), sum.getAverage(), false);
                 }
-
             }
         }
 
@@ -345,4 +485,115 @@ public class MovingAverage {
 
     }
 
+    /**
+     * A running sum of the values in a moving window, which can be updated
+     * as values enter and leave the window.  Infinite and {@code NaN} values
+     * are counted separately, so that they affect the average only while
+     * they are in the window (as if the sum were recalculated each time).
+     * The finite values are summed with Neumaier's compensated summation,
+     * so that the rounding error from adding and removing values does not
+     * build up over a long series.
+     */
+    static final class RunningSum {
+
+        /** The sum of the finite values in the window. */
+        private double sum;
+
+        /** The accumulated rounding error in {@code sum}. */
+        private double compensation;
+
+        /** The number of non-{@code null} values in the window. */
+        private int count;
+
+        /** The number of {@code NaN} values in the window. */
+        private int nanCount;
+
+        /** The number of positive infinite values in the window. */
+        private int positiveInfinityCount;
+
+        /** The number of negative infinite values in the window. */
+        private int negativeInfinityCount;
+
+        /**
+         * Adds a value to the window.
+         *
+         * @param value  the value ({@code null} permitted, and ignored).
+         */
+        void add(Number value) {
+            if (value != null) {
+                update(value.doubleValue(), 1);
+            }
+        }
+
+        /**
+         * Removes a value from the window.
+         *
+         * @param value  the value ({@code null} permitted, and ignored).
+         */
+        void remove(Number value) {
+            if (value != null) {
+                update(value.doubleValue(), -1);
+            }
+        }
+
+        /**
+         * Adds or removes a value.
+         *
+         * @param v  the value.
+         * @param sign  1 to add the value, -1 to remove it.
+         */
+        private void update(double v, int sign) {
+            this.count += sign;
+            if (Double.isNaN(v)) {
+                this.nanCount += sign;
+            }
+            else if (v == Double.POSITIVE_INFINITY) {
+                this.positiveInfinityCount += sign;
+            }
+            else if (v == Double.NEGATIVE_INFINITY) {
+                this.negativeInfinityCount += sign;
+            }
+            else {
+                double x = sign * v;
+                double t = this.sum + x;
+                if (Math.abs(this.sum) >= Math.abs(x)) {
+                    this.compensation += (this.sum - t) + x;
+                }
+                else {
+                    this.compensation += (x - t) + this.sum;
+                }
+                this.sum = t;
+            }
+            if (this.count == 0) {
+                // discard any remaining rounding error
+                this.sum = 0.0;
+                this.compensation = 0.0;
+            }
+        }
+
+        /**
+         * Returns the average of the values in the window.
+         *
+         * @return The average ({@code null} if the window contains no
+         *     values).
+         */
+        Double getAverage() {
+            if (this.count == 0) {
+                return null;
+            }
+            if (this.nanCount > 0 || (this.positiveInfinityCount > 0
+                    && this.negativeInfinityCount > 0)) {
+                return new Double(Double.NaN);
+            }
+            if (this.positiveInfinityCount > 0) {
+                return new Double(Double.POSITIVE_INFINITY);
+            }
+            if (this.negativeInfinityCount > 0) {
+                return new Double(Double.NEGATIVE_INFINITY);
+            }
+            return new Double((this.sum + this.compensation) / this.count);
+        }
+
+    }
+
 }
@@ -773,6 +773,147 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         add(item, notify);
     }
 
+    /**
+     * Adds a block of new data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param periods  the time periods ({@code null} not permitted).
+     * @param values  the values ({@code null} not permitted).
+     *
+     * @since 1.6.0
+     */
+    public void add(RegularTimePeriod[] periods, double[] values) {
+        add(periods, values, true);
+    }
+
+    /**
+     * Adds a block of new data items to the series and, if requested, sends
+     * a single {@link SeriesChangeEvent} to all registered listeners.  This
+     * is much faster than calling {@link #add(RegularTimePeriod, double)}
+     * once per item:  the periods are checked in one pass and, when they are
+     * already in ascending order (the usual case when loading data), merged
+     * with the existing items in a single pass without any searching.  The
+     * y-bounds are updated once for the whole block.
+     * <p>
+     * All periods must be instances of the time period class for the series
+     * and no period may occur more than once (either within the block or
+     * in the existing data).  If these conditions are not met an exception
+     * is thrown and the series is left unchanged.
+     *
+     * @param periods  the time periods ({@code null} not permitted).
+     * @param values  the values ({@code null} not permitted, and must have
+     *     the same length as {@code periods}).
+     * @param notify  notify listeners?
+     *
+     * @throws SeriesException if the block contains a duplicate period.
+     *
+     * @since 1.6.0
+     */
+    public void add(RegularTimePeriod[] periods, double[] values,
+            boolean notify) {
+        Args.nullNotPermitted(periods, "periods");
+        Args.nullNotPermitted(values, "values");
+        if (periods.length != values.length) {
+            throw new IllegalArgumentException(
+                    "The 'periods' and 'values' arrays must have equal length.");
+        }
+        if (periods.length == 0) {
+            return;
+        }
+        Class periodClass = this.timePeriodClass;
+        List items = new java.util.ArrayList(periods.length);
+        boolean sorted = true;
+        for (int i = 0; i < periods.length; i++) {
+            RegularTimePeriod period = periods[i];
+            Args.nullNotPermitted(period, "periods[" + i + "]");
+            if (periodClass == null) {
+                periodClass = period.getClass();
+            }
+            else if (!periodClass.equals(period.getClass())) {
+                throw new SeriesException("You are trying to add data where "
+                        + "the time period class is "
+                        + period.getClass().getName() + ", but the "
+                        + "TimeSeries is expecting an instance of "
+                        + periodClass.getName() + ".");
+            }
+            if (sorted && i > 0 && period.compareTo(periods[i - 1]) <= 0) {
+                sorted = false;
+            }
+            items.add(new TimeSeriesDataItem(period, values[i]));
+        }
+        if (!sorted) {
+            Collections.sort(items);
+            for (int i = 1; i < items.size(); i++) {
+                TimeSeriesDataItem item = (TimeSeriesDataItem) items.get(i);
+                if (item.compareTo(items.get(i - 1)) == 0) {
+                    throw new SeriesException("The time period "
+                            + item.getPeriod() + " occurs more than once.");
+                }
+            }
+        }
+        this.data = mergeSortedItems(this.data, items);
+        this.timePeriodClass = periodClass;
+        int excess = this.data.size() - this.maximumItemCount;
+        if (excess > 0) {
+            this.data.subList(0, excess).clear();
+        }
+        int count = this.data.size();
+        removeAgedItems(false);  // recalculates the bounds if items removed
+        if (this.data.size() == count) {
+            if (excess > 0) {
+                updateMinMaxYByIteration();
+            }
+            else {
+                for (int i = 0; i < items.size(); i++) {
+                    updateBoundsForAddedItem(
+                            (TimeSeriesDataItem) items.get(i));
+                }
+            }
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Adds a block of new data items to the series, creating the time
+     * periods from millisecond values, and, if requested, sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.  See
+     * {@link #add(RegularTimePeriod[], double[], boolean)} for details.
+     *
+     * @param periodClass  the time period class ({@code null} not permitted).
+     * @param millis  the times, in milliseconds since the epoch
+     *     ({@code null} not permitted).
+     * @param values  the values ({@code null} not permitted, and must have
+     *     the same length as {@code millis}).
+     * @param zone  the time zone used to create the periods ({@code null}
+     *     not permitted).
+     * @param locale  the locale used to create the periods ({@code null}
+     *     not permitted).
+     * @param notify  notify listeners?
+     *
+     * @throws SeriesException if two values fall in the same time period.
+     *
+     * @since 1.6.0
+     */
+    public void add(Class periodClass, long[] millis, double[] values,
+            TimeZone zone, Locale locale, boolean notify) {
+        Args.nullNotPermitted(periodClass, "periodClass");
+        Args.nullNotPermitted(millis, "millis");
+        Args.nullNotPermitted(zone, "zone");
+        Args.nullNotPermitted(locale, "locale");
+        RegularTimePeriod[] periods = new RegularTimePeriod[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            periods[i] = RegularTimePeriod.createInstance(periodClass,
+                    new Date(millis[i]), zone, locale);
+            if (periods[i] == null) {
+                throw new IllegalArgumentException("Unable to create an "
+                        + "instance of " + periodClass.getName() + ".");
+            }
+        }
+        add(periods, values, notify);
+    }
+
     /**
      * Updates (changes) the value for a time period.  Throws a
      * {@link SeriesException} if the period does not exist.
@@ -1102,6 +1243,51 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Replaces a range of data items with new items, in a single operation.
+     * This is used by classes in this package that maintain a series
+     * derived from another series, and only need to change part of it.  The
+     * new items are added directly, without cloning, and the caller must
+     * ensure that they have the same time period class as the series and
+     * that the series remains in ascending order of time period.  The
+     * maximum item count and age are not applied.
+     *
+     * @param start  the index of the first item to replace.
+     * @param end  the index after the last item to replace.
+     * @param items  the new items ({@code null} not permitted).
+     * @param notify  notify listeners?
+     */
+    void replaceItems(int start, int end, List items, boolean notify) {
+        boolean iterate = false;
+        for (int i = start; i < end && !iterate; i++) {
+            Number yN = ((TimeSeriesDataItem) this.data.get(i)).getValue();
+            if (yN != null) {
+                double y = yN.doubleValue();
+                iterate = y <= this.minY || y >= this.maxY;
+            }
+        }
+        this.data.subList(start, end).clear();
+        this.data.addAll(start, items);
+        if (this.data.isEmpty()) {
+            this.timePeriodClass = null;
+        }
+        else if (this.timePeriodClass == null) {
+            this.timePeriodClass = ((TimeSeriesDataItem) this.data.get(0))
+                    .getPeriod().getClass();
+        }
+        if (iterate) {
+            updateMinMaxYByIteration();
+        }
+        else {
+            for (int i = 0; i < items.size(); i++) {
+                updateBoundsForAddedItem((TimeSeriesDataItem) items.get(i));
+            }
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
     /**
      * Returns a clone of the time series.
      * <P>
@@ -1339,6 +1525,54 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Merges two lists of data items that are each sorted in ascending order
+     * of time period, in a single pass.  The existing list is reused when
+     * the new items all fall after the last existing item.
+     *
+     * @param existing  the existing items ({@code null} not permitted).
+     * @param items  the new items ({@code null} not permitted).
+     *
+     * @return The merged list.
+     *
+     * @throws SeriesException if a period occurs in both lists.
+     */
+    private List mergeSortedItems(List existing, List items) {
+        int n = existing.size();
+        if (n == 0 || ((Comparable) items.get(0)).compareTo(
+                existing.get(n - 1)) > 0) {
+            existing.addAll(items);
+            return existing;
+        }
+        int m = items.size();
+        List result = new java.util.ArrayList(n + m);
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            TimeSeriesDataItem a = (TimeSeriesDataItem) existing.get(i);
+            TimeSeriesDataItem b = (TimeSeriesDataItem) items.get(j);
+            int c = a.compareTo(b);
+            if (c < 0) {
+                result.add(a);
+                i++;
+            }
+            else if (c > 0) {
+                result.add(b);
+                j++;
+            }
+            else {
+                throw new SeriesException("You are attempting to add an "
+                        + "observation for the time period " + b.getPeriod()
+                        + " but the series already contains an observation "
+                        + "for that time period. Duplicates are not "
+                        + "permitted.  Try using the addOrUpdate() method.");
+            }
+        }
+        result.addAll(existing.subList(i, n));
+        result.addAll(items.subList(j, m));
+        return result;
+    }
+
     /**
      * A function to find the minimum of two values, but ignoring any
      * Double.NaN values.
@@ -0,0 +1,439 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.List;
+import org.jfree.chart.util.Args;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+
+/**
+ * Maintains a moving average of a {@link TimeSeries}, updating it as the
+ * source series changes.  The derived series returned by
+ * {@link #getSeries()} holds the same values as
+ * {@link MovingAverage#createMovingAverage(TimeSeries, String, int, int)}
+ * would calculate from the current source data, and can be added to a
+ * {@link TimeSeriesCollection} like any other series.
+ * <p>
+ * The class records the number of items in the source, its first period
+ * and its last data item.  When the source series changes, appending items
+ * or updating the latest item only recalculates the averages for those
+ * items, and items removed from the start of the source (for example, by
+ * the maximum item count or age) only cause the first few averages to be
+ * recalculated.  Any other change causes all the averages to be
+ * recalculated.  Changes to items before the last one that are made with
+ * notification switched off (for example, by
+ * {@link TimeSeries#addAndOrUpdate(TimeSeries)}) must be announced with
+ * {@link TimeSeries#fireSeriesChanged()} before items are appended or the
+ * last item is updated, so that they are not missed.
+ * <p>
+ * The same updates are available for an exponentially weighted moving
+ * average and a moving median, see
+ * {@link #createExponentialMovingAverage(TimeSeries, String, double)} and
+ * {@link #createPointMovingMedian(TimeSeries, String, int)}.
+ *
+ * @since 1.6.0
+ */
+public class TimeSeriesMovingAverage implements SeriesChangeListener {
+
+    /** The source series. */
+    private TimeSeries source;
+
+    /** The moving average series. */
+    private TimeSeries series;
+
+    /** The calculation for the derived values. */
+    private Calculator calculator;
+
+    /** The number of source items the averages were calculated from. */
+    private int sourceCount;
+
+    /** The first period in the source ({@code null} if it was empty). */
+    private RegularTimePeriod firstPeriod;
+
+    /** The last item in the source ({@code null} if it was empty). */
+    private TimeSeriesDataItem lastItem;
+
+    /** The value of the last item in the source, compared by reference. */
+    private Number lastValue;
+
+    /**
+     * Creates a new moving average that listens for changes to the source
+     * series.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the moving average series.
+     * @param periodCount  the number of periods used in the average
+     *     calculation.
+     * @param skip  the number of initial periods to skip.
+     */
+    public TimeSeriesMovingAverage(TimeSeries source, String name,
+            int periodCount, int skip) {
+        this(source, name, new PeriodAverage(periodCount, skip));
+    }
+
+    /**
+     * Creates a new derived series that listens for changes to the source
+     * series.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the derived series.
+     * @param calculator  the calculation for the derived values.
+     */
+    private TimeSeriesMovingAverage(TimeSeries source, String name,
+            Calculator calculator) {
+        Args.nullNotPermitted(source, "source");
+        this.source = source;
+        this.series = new TimeSeries(name);
+        this.calculator = calculator;
+        update();
+        source.addChangeListener(this);
+    }
+
+    /**
+     * Creates an exponentially weighted moving average that listens for
+     * changes to the source series.  The derived series holds the same
+     * values as
+     * {@link MovingAverage#createExponentialMovingAverage(TimeSeries,
+     * String, double)} would calculate, except that items removed from the
+     * start of the source do not change the later averages: each average
+     * covers all the items that have been in the source, so that a series
+     * with a maximum item count costs one calculation per new item.  Any
+     * other change that causes a full recalculation (see the class
+     * description) starts again from the current source data.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the moving average series.
+     * @param alpha  the smoothing factor (greater than 0.0 and less than or
+     *     equal to 1.0).
+     *
+     * @return The moving average.
+     */
+    public static TimeSeriesMovingAverage createExponentialMovingAverage(
+            TimeSeries source, String name, double alpha) {
+        return new TimeSeriesMovingAverage(source, name,
+                new ExponentialAverage(alpha));
+    }
+
+    /**
+     * Creates a moving median, by number of points, that listens for
+     * changes to the source series.  The derived series holds the same
+     * values as {@link MovingAverage#createPointMovingMedian(TimeSeries,
+     * String, int)} would calculate from the current source data.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param name  the name of the moving median series.
+     * @param pointCount  the number of points used in the median
+     *     calculation (at least 1).
+     *
+     * @return The moving median.
+     */
+    public static TimeSeriesMovingAverage createPointMovingMedian(
+            TimeSeries source, String name, int pointCount) {
+        return new TimeSeriesMovingAverage(source, name,
+                new PointMedian(pointCount));
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never {@code null}).
+     */
+    public TimeSeries getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the moving average series.
+     *
+     * @return The moving average series (never {@code null}).
+     */
+    public TimeSeries getSeries() {
+        return this.series;
+    }
+
+    /**
+     * Stops listening for changes to the source series.  After this method
+     * is called the moving average series is no longer updated.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Receives notification of a change to the source series, and updates
+     * the moving average series.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void seriesChanged(SeriesChangeEvent event) {
+        update();
+    }
+
+    /**
+     * Updates the moving average series to match the source series.
+     */
+    private void update() {
+        int count = this.source.getItemCount();
+
+        // find the number of items removed from the start of the source,
+        // and the first item whose average must be recalculated
+        int removed = 0;
+        int changed = 0;
+        int last = -1;
+        if (count > 0 && this.lastItem != null) {
+            last = this.source.getIndex(this.lastItem.getPeriod());
+        }
+        if (last >= 0 && this.source.getRawDataItem(last) == this.lastItem) {
+            removed = this.sourceCount - 1 - last;
+            changed = this.lastItem.getValue() == this.lastValue
+                    ? last + 1 : last;
+            boolean sameFirst = this.source.getTimePeriod(0).equals(
+                    this.firstPeriod);
+            if (removed < 0 || sameFirst != (removed == 0)
+                    || (removed == 0 && changed == count)) {
+                // items were added or changed before the last item, or the
+                // change cannot be identified
+                removed = 0;
+                changed = 0;
+            }
+        }
+
+        int frontEnd = 0;
+        if (count > 0 && removed > 0) {
+            frontEnd = this.calculator.getFrontEnd(this.source);
+            if (frontEnd >= changed) {
+                changed = 0;
+            }
+        }
+
+        // recalculate the averages from the first changed item onwards...
+        int resultStart = 0;
+        if (changed > 0) {
+            int index = this.series.getIndex(this.source.getTimePeriod(
+                    changed - 1));
+            resultStart = index >= 0 ? index + 1 : -index - 1;
+        }
+        this.series.replaceItems(resultStart, this.series.getItemCount(),
+                this.calculator.calculate(this.source, this.series, changed,
+                count), false);
+
+        // ...and at the start, if items have been removed there
+        if (removed > 0 && changed > 0) {
+            int index = this.series.getIndex(this.source.getTimePeriod(
+                    frontEnd));
+            int resultEnd = index >= 0 ? index : -index - 1;
+            this.series.replaceItems(0, resultEnd,
+                    this.calculator.calculate(this.source, this.series, 0,
+                    frontEnd), false);
+        }
+
+        // record the source data used
+        this.sourceCount = count;
+        if (count > 0) {
+            this.firstPeriod = this.source.getTimePeriod(0);
+            this.lastItem = this.source.getRawDataItem(count - 1);
+            this.lastValue = this.lastItem.getValue();
+        }
+        else {
+            this.firstPeriod = null;
+            this.lastItem = null;
+            this.lastValue = null;
+        }
+        this.series.fireSeriesChanged();
+    }
+
+    /**
+     * A calculation for the values in the derived series.
+     */
+    private interface Calculator {
+
+        /**
+         * Calculates the derived values for a range of source items.
+         *
+         * @param source  the source series.
+         * @param series  the derived series, holding the values for the
+         *     items before {@code start}.
+         * @param start  the index of the first source item.
+         * @param end  the index after the last source item.
+         *
+         * @return A list of {@link TimeSeriesDataItem} objects.
+         */
+        List calculate(TimeSeries source, TimeSeries series, int start,
+                int end);
+
+        /**
+         * Returns the number of items at the start of the (non-empty) source
+         * whose values must be recalculated after earlier items have been
+         * removed.
+         *
+         * @param source  the source series.
+         *
+         * @return The number of items.
+         */
+        int getFrontEnd(TimeSeries source);
+
+    }
+
+    /**
+     * A moving average by period.
+     */
+    private static class PeriodAverage implements Calculator {
+
+        /** The number of periods used in the average calculation. */
+        private int periodCount;
+
+        /** The number of initial periods to skip. */
+        private int skip;
+
+        /**
+         * Creates a new calculation.
+         *
+         * @param periodCount  the number of periods used in the average
+         *     calculation.
+         * @param skip  the number of initial periods to skip.
+         */
+        PeriodAverage(int periodCount, int skip) {
+            if (periodCount < 1) {
+                throw new IllegalArgumentException("periodCount must be "
+                        + "greater than or equal to 1.");
+            }
+            this.periodCount = periodCount;
+            this.skip = skip;
+        }
+
+        @Override
+        public List calculate(TimeSeries source, TimeSeries series,
+                int start, int end) {
+            long firstSerial = 0L;
+            if (source.getItemCount() > 0) {
+                firstSerial = source.getTimePeriod(0).getSerialIndex()
+                        + this.skip;
+            }
+            return MovingAverage.calculateMovingAverage(source,
+                    this.periodCount, firstSerial, start, end);
+        }
+
+        @Override
+        public int getFrontEnd(TimeSeries source) {
+            // the averages for the first items may have included the
+            // removed items, and the skipped items may have changed
+            int count = source.getItemCount();
+            long firstSerial = source.getTimePeriod(0).getSerialIndex()
+                    + this.skip;
+            int frontEnd = this.periodCount - 1;
+            while (frontEnd < count && source.getTimePeriod(
+                    frontEnd).getSerialIndex() < firstSerial) {
+                frontEnd++;
+            }
+            return frontEnd;
+        }
+
+    }
+
+    /**
+     * An exponentially weighted moving average.
+     */
+    private static class ExponentialAverage implements Calculator {
+
+        /** The smoothing factor. */
+        private double alpha;
+
+        /**
+         * Creates a new calculation.
+         *
+         * @param alpha  the smoothing factor.
+         */
+        ExponentialAverage(double alpha) {
+            if (!(alpha > 0.0 && alpha <= 1.0)) {
+                throw new IllegalArgumentException(
+                        "Requires 'alpha' in the range (0.0, 1.0].");
+            }
+            this.alpha = alpha;
+        }
+
+        @Override
+        public List calculate(TimeSeries source, TimeSeries series,
+                int start, int end) {
+            Double previous = null;
+            if (start > 0) {
+                Number n = series.getValue(source.getTimePeriod(start - 1));
+                previous = n == null ? null : new Double(n.doubleValue());
+            }
+            return MovingAverage.calculateExponentialMovingAverage(source,
+                    this.alpha, previous, start, end);
+        }
+
+        @Override
+        public int getFrontEnd(TimeSeries source) {
+            // the remaining averages keep the removed items' contribution
+            return 0;
+        }
+
+    }
+
+    /**
+     * A moving median by number of points.
+     */
+    private static class PointMedian implements Calculator {
+
+        /** The number of points used in the median calculation. */
+        private int pointCount;
+
+        /**
+         * Creates a new calculation.
+         *
+         * @param pointCount  the number of points used in the median
+         *     calculation.
+         */
+        PointMedian(int pointCount) {
+            if (pointCount < 1) {
+                throw new IllegalArgumentException("pointCount must be "
+                        + "greater than or equal to 1.");
+            }
+            this.pointCount = pointCount;
+        }
+
+        @Override
+        public List calculate(TimeSeries source, TimeSeries series,
+                int start, int end) {
+            return MovingAverage.calculatePointMovingMedian(source,
+                    this.pointCount, start, end);
+        }
+
+        @Override
+        public int getFrontEnd(TimeSeries source) {
+            // the first items have no median
+            return Math.min(this.pointCount - 1, source.getItemCount());
+        }
+
+    }
+
+}
@@ -0,0 +1,755 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time.ohlc;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimePeriodAnchor;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.OHLCDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An {@link OHLCDataset} that builds its candles from raw ticks (time, price
+ * and volume).  Each candle covers one or more consecutive time periods of a
+ * {@link RegularTimePeriod} class (for example, one {@code Hour} or five
+ * {@code Minute}s).  A tick either updates the current (last) candle in
+ * place, or closes it and opens a new one, and a
+ * {@link DatasetChangeEvent} is sent to the registered listeners only when a
+ * new candle is opened.
+ * <P>
+ * The candles for a longer duration can be derived from this dataset with
+ * {@link #derive(Class, int)}, which merges the existing candles instead of
+ * re-reading the ticks.
+ * <P>
+ * When several periods make up one candle, the candles are aligned on the
+ * serial index of the periods (see {@link RegularTimePeriod#getSerialIndex()}),
+ * so that five minute candles start at :00, :05, :10 and so on.  Ticks must
+ * be added in time order.
+ *
+ * @since 1.6.0
+ */
+public class AggregatingOHLCDataset extends AbstractXYDataset
+        implements OHLCDataset, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 576692961221449889L;
+
+    /** The series key. */
+    private Comparable seriesKey;
+
+    /** The time period class for the candles. */
+    private Class periodClass;
+
+    /** The number of time periods in each candle. */
+    private int periodsPerCandle;
+
+    /** The time zone used to find the time periods. */
+    private TimeZone timeZone;
+
+    /** The locale used to find the time periods. */
+    private Locale locale;
+
+    /** The position within each candle that is used for the x-value. */
+    private TimePeriodAnchor xPosition;
+
+    /** The number of candles. */
+    private int count;
+
+    /** The first millisecond of each candle. */
+    private long[] start;
+
+    /** The last millisecond of each candle. */
+    private long[] end;
+
+    /** The open-values. */
+    private double[] open;
+
+    /** The high-values. */
+    private double[] high;
+
+    /** The low-values. */
+    private double[] low;
+
+    /** The close-values. */
+    private double[] close;
+
+    /** The volumes. */
+    private double[] volume;
+
+    /**
+     * Creates a new dataset with one time period per candle, using the
+     * default time zone and locale.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param periodClass  the time period class, for example
+     *     {@code Minute.class} ({@code null} not permitted).
+     */
+    public AggregatingOHLCDataset(Comparable seriesKey, Class periodClass) {
+        this(seriesKey, periodClass, 1, TimeZone.getDefault(),
+                Locale.getDefault());
+    }
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param periodClass  the time period class, for example
+     *     {@code Minute.class} ({@code null} not permitted).
+     * @param periodsPerCandle  the number of time periods in each candle
+     *     (at least 1).
+     * @param zone  the time zone ({@code null} not permitted).
+     * @param locale  the locale ({@code null} not permitted).
+     */
+    public AggregatingOHLCDataset(Comparable seriesKey, Class periodClass,
+            int periodsPerCandle, TimeZone zone, Locale locale) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        Args.nullNotPermitted(periodClass, "periodClass");
+        Args.nullNotPermitted(zone, "zone");
+        Args.nullNotPermitted(locale, "locale");
+        if (periodsPerCandle < 1) {
+            throw new IllegalArgumentException(
+                    "Requires 'periodsPerCandle' >= 1.");
+        }
+        if (RegularTimePeriod.createInstance(periodClass, new Date(0L), zone,
+                locale) == null) {
+            throw new IllegalArgumentException("Unsupported period class: "
+                    + periodClass.getName());
+        }
+        this.seriesKey = seriesKey;
+        this.periodClass = periodClass;
+        this.periodsPerCandle = periodsPerCandle;
+        this.timeZone = zone;
+        this.locale = locale;
+        this.xPosition = TimePeriodAnchor.MIDDLE;
+        this.start = new long[16];
+        this.end = new long[16];
+        this.open = new double[16];
+        this.high = new double[16];
+        this.low = new double[16];
+        this.close = new double[16];
+        this.volume = new double[16];
+    }
+
+    /**
+     * Returns the time period class for the candles.
+     *
+     * @return The time period class (never {@code null}).
+     */
+    public Class getPeriodClass() {
+        return this.periodClass;
+    }
+
+    /**
+     * Returns the number of time periods in each candle.
+     *
+     * @return The number of time periods.
+     */
+    public int getPeriodsPerCandle() {
+        return this.periodsPerCandle;
+    }
+
+    /**
+     * Returns the position within each candle that is used for the x-value.
+     *
+     * @return The anchor position (never {@code null}).
+     */
+    public TimePeriodAnchor getXPosition() {
+        return this.xPosition;
+    }
+
+    /**
+     * Sets the position within each candle that is used for the x-value and
+     * sends a {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param anchor  the anchor position ({@code null} not permitted).
+     */
+    public void setXPosition(TimePeriodAnchor anchor) {
+        Args.nullNotPermitted(anchor, "anchor");
+        this.xPosition = anchor;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds a tick.  If the tick falls in the current candle, the candle is
+     * updated without sending an event, otherwise the current candle (if
+     * any) is closed, a new candle is opened with the tick and a
+     * {@link DatasetChangeEvent} is sent to all registered listeners.
+     *
+     * @param millis  the time of the tick, in milliseconds since the epoch.
+     * @param price  the price.
+     * @param volume  the volume.
+     *
+     * @throws IllegalArgumentException if the tick is earlier than the start
+     *     of the current candle.
+     */
+    public void addTick(long millis, double price, double volume) {
+        if (add(millis, millis, price, price, price, price, volume)) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Adds a block of ticks and sends a single {@link DatasetChangeEvent}
+     * to all registered listeners if any candle was opened.
+     *
+     * @param millis  the times of the ticks ({@code null} not permitted).
+     * @param price  the prices ({@code null} not permitted).
+     * @param volume  the volumes ({@code null} not permitted).
+     *
+     * @throws IllegalArgumentException if the ticks are not in time order.
+     */
+    public void addTicks(long[] millis, double[] price, double[] volume) {
+        Args.nullNotPermitted(millis, "millis");
+        Args.nullNotPermitted(price, "price");
+        Args.nullNotPermitted(volume, "volume");
+        if (price.length != millis.length || volume.length != millis.length) {
+            throw new IllegalArgumentException(
+                    "The arrays must all have the same length.");
+        }
+        boolean opened = false;
+        for (int i = 0; i < millis.length; i++) {
+            opened |= add(millis[i], millis[i], price[i], price[i], price[i],
+                    price[i], volume[i]);
+        }
+        if (opened) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Returns a new dataset with longer candles, built by merging the
+     * candles of this dataset (the ticks are not needed).  The new dataset
+     * has the same series key, time zone, locale and x-position as this
+     * one, and further ticks can be added to it.
+     *
+     * @param periodClass  the time period class ({@code null} not
+     *     permitted).
+     * @param periodsPerCandle  the number of time periods in each candle
+     *     (at least 1).
+     *
+     * @return The new dataset.
+     *
+     * @throws IllegalArgumentException if a candle of this dataset does not
+     *     fit into a single candle of the new dataset.
+     */
+    public AggregatingOHLCDataset derive(Class periodClass,
+            int periodsPerCandle) {
+        AggregatingOHLCDataset result = new AggregatingOHLCDataset(
+                this.seriesKey, periodClass, periodsPerCandle, this.timeZone,
+                this.locale);
+        result.xPosition = this.xPosition;
+        for (int i = 0; i < this.count; i++) {
+            result.add(this.start[i], this.end[i], this.open[i], this.high[i],
+                    this.low[i], this.close[i], this.volume[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Merges the values for a time span (a tick, or a candle of a finer
+     * dataset) into the candles.
+     *
+     * @param first  the first millisecond of the span.
+     * @param last  the last millisecond of the span.
+     * @param o  the open-value.
+     * @param h  the high-value.
+     * @param l  the low-value.
+     * @param c  the close-value.
+     * @param v  the volume.
+     *
+     * @return A boolean indicating whether a new candle was opened.
+     */
+    private boolean add(long first, long last, double o, double h, double l,
+            double c, double v) {
+        int n = this.count - 1;
+        if (n >= 0 && first >= this.start[n] && first <= this.end[n]) {
+            if (last > this.end[n]) {
+                throw new IllegalArgumentException(
+                        "The time span does not fit into a single candle.");
+            }
+            this.high[n] = Math.max(this.high[n], h);
+            this.low[n] = Math.min(this.low[n], l);
+            this.close[n] = c;
+            this.volume[n] += v;
+            return false;
+        }
+        if (n >= 0 && first < this.start[n]) {
+            throw new IllegalArgumentException(
+                    "Ticks must be added in time order.");
+        }
+        long[] bounds = findCandleBounds(first);
+        if (last > bounds[1]) {
+            throw new IllegalArgumentException(
+                    "The time span does not fit into a single candle.");
+        }
+        if (this.count == this.start.length) {
+            int capacity = 2 * this.count;
+            this.start = Arrays.copyOf(this.start, capacity);
+            this.end = Arrays.copyOf(this.end, capacity);
+            this.open = Arrays.copyOf(this.open, capacity);
+            this.high = Arrays.copyOf(this.high, capacity);
+            this.low = Arrays.copyOf(this.low, capacity);
+            this.close = Arrays.copyOf(this.close, capacity);
+            this.volume = Arrays.copyOf(this.volume, capacity);
+        }
+        n = this.count;
+        this.start[n] = bounds[0];
+        this.end[n] = bounds[1];
+        this.open[n] = o;
+        this.high[n] = h;
+        this.low[n] = l;
+        this.close[n] = c;
+        this.volume[n] = v;
+        this.count++;
+        return true;
+    }
+
+    /**
+     * Returns the first and last millisecond of the candle that contains
+     * the specified time.
+     *
+     * @param millis  the time.
+     *
+     * @return The bounds (an array of length 2).
+     */
+    private long[] findCandleBounds(long millis) {
+        RegularTimePeriod p = RegularTimePeriod.createInstance(
+                this.periodClass, new Date(millis), this.timeZone,
+                this.locale);
+        RegularTimePeriod first = p;
+        RegularTimePeriod last = p;
+        if (this.periodsPerCandle > 1) {
+            long serial = p.getSerialIndex();
+            long offset = serial % this.periodsPerCandle;
+            if (offset < 0) {
+                offset += this.periodsPerCandle;
+            }
+            for (long i = 0; i < offset; i++) {
+                first = first.previous();
+            }
+            for (long i = offset + 1; i < this.periodsPerCandle; i++) {
+                last = last.next();
+            }
+        }
+        // previous() and next() peg the periods to the default time zone
+        Calendar calendar = Calendar.getInstance(this.timeZone, this.locale);
+        first.peg(calendar);
+        last.peg(calendar);
+        return new long[] {first.getFirstMillisecond(),
+                last.getLastMillisecond()};
+    }
+
+    /**
+     * Returns the number of series in the dataset (always 1).
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return 1;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (only 0 is valid).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        if (series != 0) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return this.seriesKey;
+    }
+
+    /**
+     * Returns the order of the domain values, which is always ascending.
+     *
+     * @return {@link DomainOrder#ASCENDING}.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of candles, including the current one.
+     *
+     * @param series  the series index (ignored).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.count;
+    }
+
+    /**
+     * Returns the first millisecond of a candle.
+     *
+     * @param item  the item index.
+     *
+     * @return The first millisecond.
+     */
+    public long getStartMillis(int item) {
+        checkItem(item);
+        return this.start[item];
+    }
+
+    /**
+     * Returns the last millisecond of a candle.
+     *
+     * @param item  the item index.
+     *
+     * @return The last millisecond.
+     */
+    public long getEndMillis(int item) {
+        checkItem(item);
+        return this.end[item];
+    }
+
+    /**
+     * Checks that an item index is valid.
+     *
+     * @param item  the item index.
+     */
+    private void checkItem(int item) {
+        if (item < 0 || item >= this.count) {
+            throw new IndexOutOfBoundsException("Item index " + item
+                    + " out of bounds (" + this.count + " items).");
+        }
+    }
+
+    /**
+     * Returns the x-value for a candle, which is the first, middle or last
+     * millisecond of the candle, depending on the x-position.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        checkItem(item);
+        if (this.xPosition == TimePeriodAnchor.START) {
+            return this.start[item];
+        }
+        else if (this.xPosition == TimePeriodAnchor.END) {
+            return this.end[item];
+        }
+        return this.start[item] + (this.end[item] - this.start[item]) / 2;
+    }
+
+    /**
+     * Returns the x-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for a candle, which is the close-value.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return getCloseValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for a candle, which is the close-value.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return new Double(getYValue(series, item));
+    }
+
+    /**
+     * Returns the open-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The open-value.
+     */
+    @Override
+    public double getOpenValue(int series, int item) {
+        checkItem(item);
+        return this.open[item];
+    }
+
+    /**
+     * Returns the open-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The open-value.
+     */
+    @Override
+    public Number getOpen(int series, int item) {
+        return new Double(getOpenValue(series, item));
+    }
+
+    /**
+     * Returns the high-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The high-value.
+     */
+    @Override
+    public double getHighValue(int series, int item) {
+        checkItem(item);
+        return this.high[item];
+    }
+
+    /**
+     * Returns the high-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The high-value.
+     */
+    @Override
+    public Number getHigh(int series, int item) {
+        return new Double(getHighValue(series, item));
+    }
+
+    /**
+     * Returns the low-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The low-value.
+     */
+    @Override
+    public double getLowValue(int series, int item) {
+        checkItem(item);
+        return this.low[item];
+    }
+
+    /**
+     * Returns the low-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The low-value.
+     */
+    @Override
+    public Number getLow(int series, int item) {
+        return new Double(getLowValue(series, item));
+    }
+
+    /**
+     * Returns the close-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The close-value.
+     */
+    @Override
+    public double getCloseValue(int series, int item) {
+        checkItem(item);
+        return this.close[item];
+    }
+
+    /**
+     * Returns the close-value for a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The close-value.
+     */
+    @Override
+    public Number getClose(int series, int item) {
+        return new Double(getCloseValue(series, item));
+    }
+
+    /**
+     * Returns the total volume of the ticks in a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The volume.
+     */
+    @Override
+    public double getVolumeValue(int series, int item) {
+        checkItem(item);
+        return this.volume[item];
+    }
+
+    /**
+     * Returns the total volume of the ticks in a candle.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index.
+     *
+     * @return The volume.
+     */
+    @Override
+    public Number getVolume(int series, int item) {
+        return new Double(getVolumeValue(series, item));
+    }
+
+    /**
+     * Removes all the candles and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     */
+    public void clear() {
+        if (this.count > 0) {
+            this.count = 0;
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof AggregatingOHLCDataset)) {
+            return false;
+        }
+        AggregatingOHLCDataset that = (AggregatingOHLCDataset) obj;
+        if (!this.seriesKey.equals(that.seriesKey)) {
+            return false;
+        }
+        if (!this.periodClass.equals(that.periodClass)) {
+            return false;
+        }
+        if (this.periodsPerCandle != that.periodsPerCandle) {
+            return false;
+        }
+        if (!this.timeZone.equals(that.timeZone)) {
+            return false;
+        }
+        if (!this.locale.equals(that.locale)) {
+            return false;
+        }
+        if (!this.xPosition.equals(that.xPosition)) {
+            return false;
+        }
+        if (this.count != that.count) {
+            return false;
+        }
+        int n = this.count;
+        return Arrays.equals(Arrays.copyOf(this.start, n),
+                    Arrays.copyOf(that.start, n))
+                && Arrays.equals(Arrays.copyOf(this.end, n),
+                    Arrays.copyOf(that.end, n))
+                && Arrays.equals(Arrays.copyOf(this.open, n),
+                    Arrays.copyOf(that.open, n))
+                && Arrays.equals(Arrays.copyOf(this.high, n),
+                    Arrays.copyOf(that.high, n))
+                && Arrays.equals(Arrays.copyOf(this.low, n),
+                    Arrays.copyOf(that.low, n))
+                && Arrays.equals(Arrays.copyOf(this.close, n),
+                    Arrays.copyOf(that.close, n))
+                && Arrays.equals(Arrays.copyOf(this.volume, n),
+                    Arrays.copyOf(that.volume, n));
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.seriesKey.hashCode();
+        result = 29 * result + this.periodClass.hashCode();
+        result = 29 * result + this.periodsPerCandle;
+        result = 29 * result + this.count;
+        return result;
+    }
+
+    /**
+     * Returns an independent copy of this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        AggregatingOHLCDataset clone = (AggregatingOHLCDataset) super.clone();
+        clone.timeZone = (TimeZone) this.timeZone.clone();
+        clone.start = this.start.clone();
+        clone.end = this.end.clone();
+        clone.open = this.open.clone();
+        clone.high = this.high.clone();
+        clone.low = this.low.clone();
+        clone.close = this.close.clone();
+        clone.volume = this.volume.clone();
+        return clone;
+    }
+
+}
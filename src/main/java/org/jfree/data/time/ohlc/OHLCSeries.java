@@ -126,6 +126,54 @@ public class OHLCSeries extends ComparableObjectSeries {
                 item.getLowValue(), item.getCloseValue());
     }
 
+    /**
+     * Adds a block of data items to the series and sends a single
+     * {@link org.jfree.data.general.SeriesChangeEvent} to all registered
+     * listeners.  This is much faster than adding the items one at a time,
+     * especially when the periods are supplied in ascending order.
+     *
+     * @param periods  the periods ({@code null} not permitted).
+     * @param open  the open-values ({@code null} not permitted).
+     * @param high  the high-values ({@code null} not permitted).
+     * @param low  the low-values ({@code null} not permitted).
+     * @param close  the close-values ({@code null} not permitted).
+     *
+     * @since 1.6.0
+     */
+    public void add(RegularTimePeriod[] periods, double[] open, double[] high,
+            double[] low, double[] close) {
+        Args.nullNotPermitted(periods, "periods");
+        Args.nullNotPermitted(open, "open");
+        Args.nullNotPermitted(high, "high");
+        Args.nullNotPermitted(low, "low");
+        Args.nullNotPermitted(close, "close");
+        int n = periods.length;
+        if (open.length != n || high.length != n || low.length != n
+                || close.length != n) {
+            throw new IllegalArgumentException(
+                    "The arrays must all have the same length.");
+        }
+        Class periodClass = null;
+        if (getItemCount() > 0) {
+            OHLCItem item0 = (OHLCItem) this.getDataItem(0);
+            periodClass = item0.getPeriod().getClass();
+        }
+        OHLCItem[] items = new OHLCItem[n];
+        for (int i = 0; i < n; i++) {
+            Args.nullNotPermitted(periods[i], "periods[" + i + "]");
+            if (periodClass == null) {
+                periodClass = periods[i].getClass();
+            }
+            else if (!periodClass.equals(periods[i].getClass())) {
+                throw new IllegalArgumentException(
+                        "Can't mix RegularTimePeriod class types.");
+            }
+            items[i] = new OHLCItem(periods[i], open[i], high[i], low[i],
+                    close[i]);
+        }
+        super.add(items, true);
+    }
+
     /**
      * Removes the item with the specified index.
      *
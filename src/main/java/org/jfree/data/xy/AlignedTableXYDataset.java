@@ -0,0 +1,795 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetChangeEvent;
+
+/**
+ * A {@link TableXYDataset} that stores one shared, ascending array of
+ * x-values and one array of y-values per series, using {@code Double.NaN}
+ * where a series has no value for an x-value.  Unlike
+ * {@link DefaultTableXYDataset} and {@link CategoryTableXYDataset}, which
+ * align their series one item at a time, this dataset is loaded in bulk:
+ * the union of the x-values is computed with a single k-way merge of the
+ * (sorted) series and each load sends one {@link DatasetChangeEvent}.
+ * <P>
+ * A {@code null} y-value in the source data is stored as
+ * {@code Double.NaN} and reported by {@link #getY(int, int)} as
+ * {@code null}.  The dataset only contains the x-values for which at
+ * least one series has a y-value other than {@code NaN}, however it was
+ * built: x-values without such a y-value are dropped when the dataset is
+ * loaded and when a series is added, replaced or removed.
+ *
+ * @since 1.6.0
+ */
+public class AlignedTableXYDataset extends AbstractIntervalXYDataset
+        implements TableXYDataset, IntervalXYDataset, DomainInfo,
+                   PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 1026847926404610461L;
+
+    /** The shared x-values, in ascending order without duplicates. */
+    private double[] xValues;
+
+    /** The series keys. */
+    private List<Comparable> seriesKeys;
+
+    /**
+     * The y-values for each series, each array having the same length as
+     * {@code xValues}.
+     */
+    private List<double[]> yValues;
+
+    /** The delegate used to control the interval width. */
+    private IntervalXYDelegate intervalDelegate;
+
+    /**
+     * Creates a new empty dataset.
+     */
+    public AlignedTableXYDataset() {
+        this.xValues = new double[0];
+        this.seriesKeys = new ArrayList<Comparable>();
+        this.yValues = new ArrayList<double[]>();
+        this.intervalDelegate = new IntervalXYDelegate(this, false);
+        addChangeListener(this.intervalDelegate);
+    }
+
+    /**
+     * Creates a new dataset containing the series from {@code source},
+     * aligned on the union of their x-values.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     *
+     * @see #load(XYDataset)
+     */
+    public AlignedTableXYDataset(XYDataset source) {
+        this();
+        load(source);
+    }
+
+    /**
+     * Replaces the content of this dataset with the series from
+     * {@code source}, aligned on the union of their x-values, and sends a
+     * single {@link DatasetChangeEvent} to all registered listeners.  The
+     * source series do not need to be sorted, items with an x-value of
+     * {@code NaN} are ignored and, where a series contains the same x-value
+     * more than once, the last y-value is kept.  An x-value for which every
+     * series has a {@code null} (or {@code NaN}) y-value is dropped.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public void load(XYDataset source) {
+        Args.nullNotPermitted(source, "source");
+        int seriesCount = source.getSeriesCount();
+        List<Comparable> keys = new ArrayList<Comparable>(seriesCount);
+        double[][][] columns = new double[seriesCount][][];
+        for (int s = 0; s < seriesCount; s++) {
+            int itemCount = source.getItemCount(s);
+            double[] x = new double[itemCount];
+            double[] y = new double[itemCount];
+            for (int i = 0; i < itemCount; i++) {
+                x[i] = source.getXValue(s, i);
+                y[i] = source.getYValue(s, i);
+            }
+            keys.add(source.getSeriesKey(s));
+            columns[s] = sortByX(x, y);
+        }
+        double[][] sortedX = new double[seriesCount][];
+        for (int s = 0; s < seriesCount; s++) {
+            sortedX[s] = columns[s][0];
+        }
+        double[] union = mergeXValues(sortedX);
+        List<double[]> ys = new ArrayList<double[]>(seriesCount);
+        for (int s = 0; s < seriesCount; s++) {
+            ys.add(align(columns[s][0], columns[s][1], union));
+        }
+        this.xValues = union;
+        this.seriesKeys = keys;
+        this.yValues = ys;
+        pruneXValues();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds a series to the dataset (or replaces the series with the same
+     * key), merging its x-values into the shared x-values, and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  As for
+     * {@link #load(XYDataset)}, an x-value for which every series has a
+     * {@code NaN} y-value is dropped.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     * @param data  the data (must be an array with length 2, containing two
+     *     arrays of equal length, the first containing the x-values and the
+     *     second containing the y-values).
+     */
+    public void addSeries(Comparable seriesKey, double[][] data) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        Args.nullNotPermitted(data, "data");
+        if (data.length != 2) {
+            throw new IllegalArgumentException(
+                    "The 'data' array must have length == 2.");
+        }
+        if (data[0].length != data[1].length) {
+            throw new IllegalArgumentException(
+                "The 'data' array must contain two arrays with equal length.");
+        }
+        double[][] sorted = sortByX(data[0], data[1]);
+        double[] union = mergeXValues(
+                new double[][] {this.xValues, sorted[0]});
+        if (union.length != this.xValues.length) {
+            for (int s = 0; s < this.yValues.size(); s++) {
+                this.yValues.set(s, align(this.xValues, this.yValues.get(s),
+                        union));
+            }
+            this.xValues = union;
+        }
+        double[] y = align(sorted[0], sorted[1], union);
+        int seriesIndex = indexOf(seriesKey);
+        if (seriesIndex == -1) {
+            this.seriesKeys.add(seriesKey);
+            this.yValues.add(y);
+        }
+        else {
+            this.yValues.set(seriesIndex, y);
+        }
+        pruneXValues();
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a series from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.  If there is
+     * no series with the specified key, this method does nothing.
+     *
+     * @param seriesKey  the series key.
+     */
+    public void removeSeries(Comparable seriesKey) {
+        int seriesIndex = indexOf(seriesKey);
+        if (seriesIndex >= 0) {
+            this.seriesKeys.remove(seriesIndex);
+            this.yValues.remove(seriesIndex);
+            pruneXValues();
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Removes the x-values for which no series has a y-value other than
+     * {@code NaN}.
+     */
+    private void pruneXValues() {
+        int n = this.xValues.length;
+        boolean[] used = new boolean[n];
+        int usedCount = 0;
+        for (double[] y : this.yValues) {
+            for (int i = 0; i < n; i++) {
+                if (!used[i] && !Double.isNaN(y[i])) {
+                    used[i] = true;
+                    usedCount++;
+                }
+            }
+        }
+        if (usedCount == n) {
+            return;
+        }
+        this.xValues = compact(this.xValues, used, usedCount);
+        for (int s = 0; s < this.yValues.size(); s++) {
+            this.yValues.set(s, compact(this.yValues.get(s), used,
+                    usedCount));
+        }
+    }
+
+    /**
+     * Returns a new array containing the values that are flagged as used.
+     *
+     * @param values  the values.
+     * @param used  the flags.
+     * @param usedCount  the number of flags that are set.
+     *
+     * @return The used values.
+     */
+    private static double[] compact(double[] values, boolean[] used,
+            int usedCount) {
+        double[] result = new double[usedCount];
+        int j = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (used[i]) {
+                result[j++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the series from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void removeAllSeries() {
+        this.seriesKeys.clear();
+        this.yValues.clear();
+        this.xValues = new double[0];
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        if ((series < 0) || (series >= getSeriesCount())) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return this.seriesKeys.get(series);
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or -1 if there
+     * is no such series in the dataset.
+     *
+     * @param seriesKey  the series key ({@code null} permitted).
+     *
+     * @return The index, or -1.
+     */
+    @Override
+    public int indexOf(Comparable seriesKey) {
+        return this.seriesKeys.indexOf(seriesKey);
+    }
+
+    /**
+     * Returns the order of the domain (x-) values in the dataset, which is
+     * always ascending for this dataset.
+     *
+     * @return {@code DomainOrder.ASCENDING}.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of x-values in the dataset.
+     *
+     * @return The number of x-values in the dataset.
+     */
+    @Override
+    public int getItemCount() {
+        return this.xValues.length;
+    }
+
+    /**
+     * Returns the number of items in the specified series, which is the
+     * same for all series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        if ((series < 0) || (series >= getSeriesCount())) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return this.xValues.length;
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.xValues[item];
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return new Double(this.xValues[item]);
+    }
+
+    /**
+     * Returns the y-value for an item within a series, or {@code Double.NaN}
+     * if the series has no value for the item's x-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.yValues.get(series)[item];
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the starting x-value for the specified series and item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return this.intervalDelegate.getStartX(series, item);
+    }
+
+    /**
+     * Returns the ending x-value for the specified series and item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return this.intervalDelegate.getEndX(series, item);
+    }
+
+    /**
+     * Returns the starting y-value for the specified series and item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the ending y-value for the specified series and item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The minimum value.
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        return this.intervalDelegate.getDomainLowerBound(includeInterval);
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The maximum value.
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        return this.intervalDelegate.getDomainUpperBound(includeInterval);
+    }
+
+    /**
+     * Returns the range of the values in this dataset's domain.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The range (or {@code null} if the dataset contains no
+     *     values).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        if (includeInterval) {
+            return this.intervalDelegate.getDomainBounds(includeInterval);
+        }
+        if (this.xValues.length == 0 || this.seriesKeys.isEmpty()) {
+            return null;
+        }
+        return new Range(this.xValues[0],
+                this.xValues[this.xValues.length - 1]);
+    }
+
+    /**
+     * Returns the interval position factor.
+     *
+     * @return The interval position factor.
+     */
+    public double getIntervalPositionFactor() {
+        return this.intervalDelegate.getIntervalPositionFactor();
+    }
+
+    /**
+     * Sets the interval position factor and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param d  the new interval position factor (in the range
+     *     {@code 0.0} to {@code 1.0} inclusive).
+     */
+    public void setIntervalPositionFactor(double d) {
+        this.intervalDelegate.setIntervalPositionFactor(d);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the interval width.
+     *
+     * @return The interval width.
+     */
+    public double getIntervalWidth() {
+        return this.intervalDelegate.getIntervalWidth();
+    }
+
+    /**
+     * Sets the interval width and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param d  the new interval width (must be &gt; 0).
+     */
+    public void setIntervalWidth(double d) {
+        this.intervalDelegate.setFixedIntervalWidth(d);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns whether the interval width is automatically calculated or not.
+     *
+     * @return A flag that determines whether or not the interval width is
+     *         automatically calculated.
+     */
+    public boolean isAutoWidth() {
+        return this.intervalDelegate.isAutoWidth();
+    }
+
+    /**
+     * Sets the flag that indicates whether the interval width is
+     * automatically calculated or not, and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param b  a boolean.
+     */
+    public void setAutoWidth(boolean b) {
+        this.intervalDelegate.setAutoWidth(b);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof AlignedTableXYDataset)) {
+            return false;
+        }
+        AlignedTableXYDataset that = (AlignedTableXYDataset) obj;
+        if (!this.seriesKeys.equals(that.seriesKeys)) {
+            return false;
+        }
+        if (!Arrays.equals(this.xValues, that.xValues)) {
+            return false;
+        }
+        for (int s = 0; s < this.yValues.size(); s++) {
+            if (!Arrays.equals(this.yValues.get(s), that.yValues.get(s))) {
+                return false;
+            }
+        }
+        if (!this.intervalDelegate.equals(that.intervalDelegate)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.seriesKeys.hashCode();
+        result = 29 * result + Arrays.hashCode(this.xValues);
+        return result;
+    }
+
+    /**
+     * Returns an independent copy of this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is some reason that
+     *     cloning cannot be performed.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        AlignedTableXYDataset clone = (AlignedTableXYDataset) super.clone();
+        clone.xValues = this.xValues.clone();
+        clone.seriesKeys = new ArrayList<Comparable>(this.seriesKeys);
+        clone.yValues = new ArrayList<double[]>(this.yValues.size());
+        for (double[] y : this.yValues) {
+            clone.yValues.add(y.clone());
+        }
+        clone.intervalDelegate = new IntervalXYDelegate(clone);
+        clone.intervalDelegate.setFixedIntervalWidth(getIntervalWidth());
+        clone.intervalDelegate.setAutoWidth(isAutoWidth());
+        clone.intervalDelegate.setIntervalPositionFactor(
+                getIntervalPositionFactor());
+        clone.addChangeListener(clone.intervalDelegate);
+        return clone;
+    }
+
+    /**
+     * Returns the items of a series sorted by ascending x-value, with
+     * {@code NaN} x-values dropped and, for repeated x-values, only the last
+     * y-value kept.  The arrays are returned unchanged when they are already
+     * strictly ascending.
+     *
+     * @param x  the x-values.
+     * @param y  the y-values.
+     *
+     * @return An array containing the sorted x-values and y-values.
+     */
+    static double[][] sortByX(final double[] x, double[] y) {
+        int n = x.length;
+        boolean ascending = true;
+        for (int i = 0; i < n && ascending; i++) {
+            if (Double.isNaN(x[i]) || (i > 0 && x[i] <= x[i - 1])) {
+                ascending = false;
+            }
+        }
+        if (ascending) {
+            return new double[][] {x, y};
+        }
+        Integer[] order = new Integer[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(x[i])) {
+                order[count++] = i;
+            }
+        }
+        // a stable sort, so that the last of several equal x-values wins
+        Arrays.sort(order, 0, count, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i1, Integer i2) {
+                return Double.compare(x[i1], x[i2]);
+            }
+        });
+        double[] xx = new double[count];
+        double[] yy = new double[count];
+        int m = 0;
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            if (m > 0 && xx[m - 1] == x[index]) {
+                m--;
+            }
+            xx[m] = x[index];
+            yy[m] = y[index];
+            m++;
+        }
+        return new double[][] {Arrays.copyOf(xx, m), Arrays.copyOf(yy, m)};
+    }
+
+    /**
+     * Returns the union of several arrays of strictly ascending x-values,
+     * computed with a k-way merge (using a binary heap of array indices
+     * ordered by the next unmerged value of each array).
+     *
+     * @param columns  the x-value arrays.
+     *
+     * @return The ascending union, without duplicates.
+     */
+    static double[] mergeXValues(double[][] columns) {
+        int k = columns.length;
+        int total = 0;
+        int[] heap = new int[k];
+        int size = 0;
+        int[] pos = new int[k];
+        for (int c = 0; c < k; c++) {
+            total += columns[c].length;
+            if (columns[c].length > 0) {
+                heap[size++] = c;
+            }
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(heap, size, i, columns, pos);
+        }
+        double[] result = new double[total];
+        int count = 0;
+        while (size > 0) {
+            int c = heap[0];
+            double x = columns[c][pos[c]];
+            if (count == 0 || x > result[count - 1]) {
+                result[count++] = x;
+            }
+            pos[c]++;
+            if (pos[c] == columns[c].length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, size, 0, columns, pos);
+        }
+        return count == total ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Restores the heap property below the specified heap slot.
+     *
+     * @param heap  the heap of array indices.
+     * @param size  the number of entries in the heap.
+     * @param i  the slot.
+     * @param columns  the x-value arrays.
+     * @param pos  the position of the next unmerged value in each array.
+     */
+    private static void siftDown(int[] heap, int size, int i,
+            double[][] columns, int[] pos) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && head(heap[left], columns, pos)
+                    < head(heap[smallest], columns, pos)) {
+                smallest = left;
+            }
+            if (right < size && head(heap[right], columns, pos)
+                    < head(heap[smallest], columns, pos)) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            int t = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = t;
+            i = smallest;
+        }
+    }
+
+    /**
+     * Returns the next unmerged value of an x-value array.
+     *
+     * @param c  the array index.
+     * @param columns  the x-value arrays.
+     * @param pos  the position of the next unmerged value in each array.
+     *
+     * @return The value.
+     */
+    private static double head(int c, double[][] columns, int[] pos) {
+        return columns[c][pos[c]];
+    }
+
+    /**
+     * Spreads the y-values of a series over the x-values in {@code union},
+     * which must contain all of the series' x-values.
+     *
+     * @param x  the strictly ascending x-values for the series.
+     * @param y  the y-values for the series.
+     * @param union  the strictly ascending union of the x-values.
+     *
+     * @return The y-values, with {@code Double.NaN} for missing values.
+     */
+    static double[] align(double[] x, double[] y, double[] union) {
+        double[] result = new double[union.length];
+        int j = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (j < x.length && x[j] == union[i]) {
+                result[i] = y[j++];
+            }
+            else {
+                result[i] = Double.NaN;
+            }
+        }
+        return result;
+    }
+
+}
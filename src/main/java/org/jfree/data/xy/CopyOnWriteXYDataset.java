@@ -0,0 +1,790 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.VersionedDataset;
+
+/**
+ * An {@link XYDataset} that isolates the threads that update it from the
+ * threads that read it.  Writers append and remove items in a private
+ * working copy, which readers cannot see, and then call {@link #publish()}
+ * to make the changes visible atomically as a new, immutable version of the
+ * dataset.  Readers never block and never see a partial update, and a plot
+ * that is being drawn pins the snapshot it started with (see
+ * {@link VersionedDataset}), so that a version published during the drawing
+ * is only picked up by the next drawing.
+ * <P>
+ * The items of each series are stored in fixed-size chunks, and a new
+ * version shares all the full chunks of the previous one.  Publishing a
+ * change therefore copies at most one chunk per modified series, plus the
+ * chunk references, rather than the whole series.  This suits data that is
+ * appended at the end of a series and removed from the start (for example,
+ * a sliding window over a live feed), which is the only kind of change the
+ * writer methods support.
+ * <P>
+ * The writer methods are synchronized, so several threads can update the
+ * dataset, and {@link #publish()} sends a {@link DatasetChangeEvent} on the
+ * thread that calls it.  Item indices that are kept after a read (for
+ * example, by a chart entity) refer to the snapshot that was read.
+ *
+ * @since 1.6.0
+ */
+public class CopyOnWriteXYDataset extends AbstractXYDataset
+        implements XYDataset, VersionedDataset, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 704511220319095142L;
+
+    /** The base 2 logarithm of the chunk size. */
+    static final int CHUNK_SHIFT = 10;
+
+    /** The number of items in each chunk. */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /** The mask for the position of an item within its chunk. */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** The latest published snapshot. */
+    private volatile Snapshot published;
+
+    /**
+     * The series keys of the working copy, or {@code null} if the working
+     * copy has not changed since the last publication.
+     */
+    private transient List<Comparable> workingKeys;
+
+    /** The series data of the working copy (parallel to workingKeys). */
+    private transient List<Column> workingColumns;
+
+    /** The snapshot pinned by each reading thread. */
+    private transient ThreadLocal<Pin> pins;
+
+    /**
+     * Creates a new dataset with no series.
+     */
+    public CopyOnWriteXYDataset() {
+        this.published = new Snapshot(0L, new Comparable[0], new Column[0]);
+        this.pins = new ThreadLocal<Pin>();
+    }
+
+    /**
+     * Returns the snapshot that the calling thread reads.
+     *
+     * @return The snapshot (never {@code null}).
+     */
+    private Snapshot snapshot() {
+        Pin pin = this.pins.get();
+        return (pin != null) ? pin.snapshot : this.published;
+    }
+
+    /**
+     * Returns the version of the snapshot that the calling thread reads.
+     * The version is zero for a new dataset and increases by one each time
+     * changes are published.
+     *
+     * @return The version.
+     */
+    @Override
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    /**
+     * Pins the snapshot that the calling thread reads until a matching call
+     * to {@link #releaseSnapshot()}.
+     */
+    @Override
+    public void pinSnapshot() {
+        Pin pin = this.pins.get();
+        if (pin == null) {
+            pin = new Pin(this.published);
+            this.pins.set(pin);
+        }
+        pin.depth++;
+    }
+
+    /**
+     * Releases a pin taken by {@link #pinSnapshot()}.  This method does
+     * nothing if the calling thread holds no pin.
+     */
+    @Override
+    public void releaseSnapshot() {
+        Pin pin = this.pins.get();
+        if (pin != null) {
+            pin.depth--;
+            if (pin.depth <= 0) {
+                this.pins.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return snapshot().keys.length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        Snapshot s = snapshot();
+        if ((series < 0) || (series >= s.keys.length)) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return s.keys[series];
+    }
+
+    /**
+     * Returns the index of the series with the specified key, or -1 if
+     * there is no such series in the dataset.
+     *
+     * @param seriesKey  the series key ({@code null} permitted).
+     *
+     * @return The index, or -1.
+     */
+    @Override
+    public int indexOf(Comparable seriesKey) {
+        return indexOf(snapshot().keys, seriesKey);
+    }
+
+    /**
+     * Returns the order of the domain values.  This is
+     * {@link DomainOrder#ASCENDING} when the x-values of every series have
+     * been appended in ascending order.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return snapshot().ascending ? DomainOrder.ASCENDING : DomainOrder.NONE;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The item count.
+     *
+     * @throws IllegalArgumentException if {@code series} is not in the
+     *     specified range.
+     */
+    @Override
+    public int getItemCount(int series) {
+        Snapshot s = snapshot();
+        if ((series < 0) || (series >= s.columns.length)) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return s.columns[series].size();
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return snapshot().columns[series].getX(item);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return snapshot().columns[series].getY(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return new Double(getYValue(series, item));
+    }
+
+    /**
+     * Adds a series with no items to the working copy and returns its
+     * index.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     *
+     * @return The series index.
+     *
+     * @throws IllegalArgumentException if the working copy already contains
+     *     a series with the same key.
+     */
+    public synchronized int addSeries(Comparable seriesKey) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        ensureWorkingCopy();
+        if (this.workingKeys.contains(seriesKey)) {
+            throw new IllegalArgumentException("Duplicate series key: "
+                    + seriesKey);
+        }
+        this.workingKeys.add(seriesKey);
+        this.workingColumns.add(new Column());
+        return this.workingKeys.size() - 1;
+    }
+
+    /**
+     * Removes a series from the working copy.  If there is no series with
+     * the specified key, this method does nothing.
+     *
+     * @param seriesKey  the series key ({@code null} not permitted).
+     */
+    public synchronized void removeSeries(Comparable seriesKey) {
+        Args.nullNotPermitted(seriesKey, "seriesKey");
+        ensureWorkingCopy();
+        int index = this.workingKeys.indexOf(seriesKey);
+        if (index >= 0) {
+            this.workingKeys.remove(index);
+            this.workingColumns.remove(index);
+        }
+    }
+
+    /**
+     * Appends an item to a series in the working copy.
+     *
+     * @param series  the index of the series in the working copy.
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    public synchronized void add(int series, double x, double y) {
+        writableColumn(series).add(x, y);
+    }
+
+    /**
+     * Appends several items to a series in the working copy.
+     *
+     * @param series  the index of the series in the working copy.
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, same length as
+     *     {@code x}).
+     */
+    public synchronized void add(int series, double[] x, double[] y) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "The 'x' and 'y' arrays must have the same length.");
+        }
+        Column column = writableColumn(series);
+        for (int i = 0; i < x.length; i++) {
+            column.add(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Removes items from the start of a series in the working copy.
+     *
+     * @param series  the index of the series in the working copy.
+     * @param count  the number of items to remove (if this is more than the
+     *     number of items in the series, all the items are removed).
+     */
+    public synchronized void removeFirst(int series, int count) {
+        Args.requireNonNegative(count, "count");
+        writableColumn(series).removeFirst(count);
+    }
+
+    /**
+     * Removes all the items from a series in the working copy.
+     *
+     * @param series  the index of the series in the working copy.
+     */
+    public synchronized void clear(int series) {
+        ensureWorkingCopy();
+        this.workingColumns.set(series, new Column());
+    }
+
+    /**
+     * Returns the number of items in a series in the working copy.
+     *
+     * @param series  the index of the series in the working copy.
+     *
+     * @return The item count.
+     */
+    public synchronized int getWorkingItemCount(int series) {
+        if (this.workingColumns == null) {
+            return this.published.columns[series].size();
+        }
+        return this.workingColumns.get(series).size();
+    }
+
+    /**
+     * Publishes the working copy as a new version of the dataset and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.  If the
+     * working copy has not changed since the last publication, this method
+     * does nothing.
+     *
+     * @return The published version.
+     */
+    public long publish() {
+        long version;
+        synchronized (this) {
+            if (this.workingKeys == null) {
+                return this.published.version;
+            }
+            Column[] columns = this.workingColumns.toArray(
+                    new Column[this.workingColumns.size()]);
+            for (Column column : columns) {
+                column.shared = true;
+            }
+            version = this.published.version + 1;
+            this.published = new Snapshot(version, this.workingKeys.toArray(
+                    new Comparable[this.workingKeys.size()]), columns);
+            this.workingKeys = null;
+            this.workingColumns = null;
+        }
+        fireDatasetChanged();
+        return version;
+    }
+
+    /**
+     * Creates the working copy from the latest published snapshot, if it
+     * has not been created since the last publication.  The columns are
+     * shared with the snapshot until they are modified.
+     */
+    private void ensureWorkingCopy() {
+        if (this.workingKeys == null) {
+            Snapshot s = this.published;
+            this.workingKeys = new ArrayList<Comparable>(
+                    Arrays.asList(s.keys));
+            this.workingColumns = new ArrayList<Column>(
+                    Arrays.asList(s.columns));
+        }
+    }
+
+    /**
+     * Returns a column of the working copy that can be modified, copying it
+     * first if it is shared with a published snapshot.
+     *
+     * @param series  the series index.
+     *
+     * @return The column.
+     */
+    private Column writableColumn(int series) {
+        ensureWorkingCopy();
+        Column column = this.workingColumns.get(series);
+        if (column.shared) {
+            column = column.copyForWrite();
+            this.workingColumns.set(series, column);
+        }
+        return column;
+    }
+
+    /**
+     * Returns the index of a key in an array of keys, or -1.
+     *
+     * @param keys  the keys.
+     * @param key  the key to find ({@code null} permitted).
+     *
+     * @return The index, or -1.
+     */
+    private static int indexOf(Comparable[] keys, Comparable key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.  The
+     * published snapshots are compared, the working copies and versions are
+     * ignored.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CopyOnWriteXYDataset)) {
+            return false;
+        }
+        CopyOnWriteXYDataset that = (CopyOnWriteXYDataset) obj;
+        Snapshot s1 = this.published;
+        Snapshot s2 = that.published;
+        if (!Arrays.equals(s1.keys, s2.keys)) {
+            return false;
+        }
+        for (int i = 0; i < s1.columns.length; i++) {
+            if (!s1.columns[i].contentEquals(s2.columns[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        Snapshot s = this.published;
+        int result = Arrays.hashCode(s.keys);
+        for (Column column : s.columns) {
+            result = 29 * result + column.size();
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of this dataset.  The clone starts from the latest
+     * published snapshot, which it shares with this dataset (snapshots are
+     * immutable), and has no pending changes.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the dataset cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        CopyOnWriteXYDataset clone = (CopyOnWriteXYDataset) super.clone();
+        clone.workingKeys = null;
+        clone.workingColumns = null;
+        clone.pins = new ThreadLocal<Pin>();
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.pins = new ThreadLocal<Pin>();
+    }
+
+    /**
+     * An immutable version of the dataset.
+     */
+    private static final class Snapshot implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = -368581742734739577L;
+
+        /** The version. */
+        final long version;
+
+        /** The series keys. */
+        final Comparable[] keys;
+
+        /** The series data. */
+        final Column[] columns;
+
+        /** Whether the x-values of every series are ascending. */
+        final boolean ascending;
+
+        Snapshot(long version, Comparable[] keys, Column[] columns) {
+            this.version = version;
+            this.keys = keys;
+            this.columns = columns;
+            boolean b = true;
+            for (Column column : columns) {
+                b = b && column.ascending;
+            }
+            this.ascending = b;
+        }
+
+    }
+
+    /**
+     * The snapshot pinned by one thread.
+     */
+    private static final class Pin {
+
+        /** The pinned snapshot. */
+        final Snapshot snapshot;
+
+        /** The number of nested pins. */
+        int depth;
+
+        Pin(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+    }
+
+    /**
+     * The items of one series, stored in chunks of {@link #CHUNK_SIZE}
+     * items.  Items are only ever written at the end of the last chunk, so
+     * a full chunk never changes and can be shared between versions.
+     */
+    static final class Column implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 5413217121292242933L;
+
+        /** The x-value chunks (leading chunks are null once removed). */
+        private double[][] x;
+
+        /** The y-value chunks (parallel to x). */
+        private double[][] y;
+
+        /** The position of the first item. */
+        private int start;
+
+        /** The position after the last item. */
+        private int end;
+
+        /** Whether the x-values were appended in ascending order. */
+        private boolean ascending;
+
+        /**
+         * Whether this column belongs to a published snapshot, in which
+         * case it must be copied before it is modified.
+         */
+        boolean shared;
+
+        /**
+         * Creates an empty column.
+         */
+        Column() {
+            this.x = new double[1][];
+            this.y = new double[1][];
+            this.ascending = true;
+        }
+
+        /**
+         * Returns the number of items.
+         *
+         * @return The number of items.
+         */
+        int size() {
+            return this.end - this.start;
+        }
+
+        /**
+         * Returns an x-value.
+         *
+         * @param item  the item index.
+         *
+         * @return The x-value.
+         */
+        double getX(int item) {
+            int p = position(item);
+            return this.x[p >> CHUNK_SHIFT][p & CHUNK_MASK];
+        }
+
+        /**
+         * Returns a y-value.
+         *
+         * @param item  the item index.
+         *
+         * @return The y-value.
+         */
+        double getY(int item) {
+            int p = position(item);
+            return this.y[p >> CHUNK_SHIFT][p & CHUNK_MASK];
+        }
+
+        /**
+         * Returns the storage position of an item.
+         *
+         * @param item  the item index.
+         *
+         * @return The position.
+         */
+        private int position(int item) {
+            if (item < 0 || item >= this.end - this.start) {
+                throw new IndexOutOfBoundsException("Item index " + item
+                        + " out of bounds (" + size() + " items).");
+            }
+            return this.start + item;
+        }
+
+        /**
+         * Returns a modifiable copy of this column.  The chunk arrays are
+         * copied, but only the last, partly filled chunk (the only one that
+         * can be written) is copied with them.
+         *
+         * @return A copy.
+         */
+        Column copyForWrite() {
+            Column copy = new Column();
+            copy.x = this.x.clone();
+            copy.y = this.y.clone();
+            copy.start = this.start;
+            copy.end = this.end;
+            copy.ascending = this.ascending;
+            int c = this.end >> CHUNK_SHIFT;
+            if ((this.end & CHUNK_MASK) != 0) {
+                copy.x[c] = this.x[c].clone();
+                copy.y[c] = this.y[c].clone();
+            }
+            return copy;
+        }
+
+        /**
+         * Appends an item.
+         *
+         * @param xx  the x-value.
+         * @param yy  the y-value.
+         */
+        void add(double xx, double yy) {
+            if (this.end > this.start && !(xx >= getX(size() - 1))) {
+                this.ascending = false;
+            }
+            int c = this.end >> CHUNK_SHIFT;
+            if (c == this.x.length) {
+                this.x = Arrays.copyOf(this.x, 2 * c);
+                this.y = Arrays.copyOf(this.y, 2 * c);
+            }
+            if (this.x[c] == null) {
+                this.x[c] = new double[CHUNK_SIZE];
+                this.y[c] = new double[CHUNK_SIZE];
+            }
+            int i = this.end & CHUNK_MASK;
+            this.x[c][i] = xx;
+            this.y[c][i] = yy;
+            this.end++;
+        }
+
+        /**
+         * Removes items from the start of the column, releasing the chunks
+         * that become empty.
+         *
+         * @param count  the number of items to remove.
+         */
+        void removeFirst(int count) {
+            int n = Math.min(count, size());
+            int first = this.start >> CHUNK_SHIFT;
+            this.start += n;
+            if (this.start == this.end) {
+                this.x = new double[1][];
+                this.y = new double[1][];
+                this.start = 0;
+                this.end = 0;
+                this.ascending = true;
+                return;
+            }
+            int dead = this.start >> CHUNK_SHIFT;
+            for (int c = first; c < dead; c++) {
+                this.x[c] = null;
+                this.y[c] = null;
+            }
+            // move the live chunks to the front once the released ones take
+            // up half of the chunk arrays
+            if (dead > 0 && 2 * dead >= this.x.length) {
+                int live = this.x.length - dead;
+                System.arraycopy(this.x, dead, this.x, 0, live);
+                System.arraycopy(this.y, dead, this.y, 0, live);
+                Arrays.fill(this.x, live, this.x.length, null);
+                Arrays.fill(this.y, live, this.y.length, null);
+                this.start -= dead << CHUNK_SHIFT;
+                this.end -= dead << CHUNK_SHIFT;
+            }
+        }
+
+        /**
+         * Tests whether this column contains the same items as another.
+         *
+         * @param that  the other column.
+         *
+         * @return A boolean.
+         */
+        boolean contentEquals(Column that) {
+            if (size() != that.size()) {
+                return false;
+            }
+            for (int i = 0; i < size(); i++) {
+                if (Double.doubleToLongBits(getX(i))
+                        != Double.doubleToLongBits(that.getX(i))
+                        || Double.doubleToLongBits(getY(i))
+                        != Double.doubleToLongBits(that.getY(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
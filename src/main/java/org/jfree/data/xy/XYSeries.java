@@ -82,8 +82,10 @@ package org.jfree.data.xy;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.Args;
 
@@ -552,6 +554,106 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Adds a block of data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted).
+     *
+     * @since 1.6.0
+     */
+    public void add(double[] x, double[] y) {
+        add(x, y, true);
+    }
+
+    /**
+     * Adds a block of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  This
+     * is much faster than calling {@link #add(double, double)} once per
+     * item:  for a sorted series the x-values are checked in one pass and,
+     * when they are already in ascending order, merged with the existing
+     * items in a single pass without any searching.  The bounds are updated
+     * once for the whole block.
+     * <p>
+     * If the series does not allow duplicate x-values and the block
+     * contains a duplicate (of another value in the block or of a value
+     * already in the series), an exception is thrown and the series is left
+     * unchanged.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, and must have the
+     *     same length as {@code x}).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the x-values include a duplicate and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     *
+     * @since 1.6.0
+     */
+    public void add(double[] x, double[] y, boolean notify) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "The 'x' and 'y' arrays must have equal length.");
+        }
+        if (x.length == 0) {
+            return;
+        }
+        List items = new java.util.ArrayList(x.length);
+        boolean sorted = true;
+        for (int i = 0; i < x.length; i++) {
+            if (sorted && i > 0 && x[i] < x[i - 1]) {
+                sorted = false;
+            }
+            items.add(new XYDataItem(x[i], y[i]));
+        }
+        if (this.autoSort) {
+            if (!sorted) {
+                Collections.sort(items);  // stable, keeps duplicate order
+            }
+            if (!this.allowDuplicateXValues) {
+                for (int i = 1; i < items.size(); i++) {
+                    if (((XYDataItem) items.get(i)).compareTo(
+                            items.get(i - 1)) == 0) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            this.data = mergeSortedItems(this.data, items);
+        }
+        else {
+            if (!this.allowDuplicateXValues) {
+                Set xValues = new HashSet();
+                for (int i = 0; i < this.data.size(); i++) {
+                    xValues.add(getRawDataItem(i).getX());
+                }
+                for (int i = 0; i < items.size(); i++) {
+                    if (!xValues.add(((XYDataItem) items.get(i)).getX())) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            this.data.addAll(items);
+        }
+        int excess = this.data.size() - this.maximumItemCount;
+        if (excess > 0) {
+            this.data.subList(0, excess).clear();
+            findBoundsByIteration();
+        }
+        else {
+            for (int i = 0; i < items.size(); i++) {
+                updateBoundsForAddedItem((XYDataItem) items.get(i));
+            }
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
     /**
      * Deletes a range of items from the series and sends a
      * {@link SeriesChangeEvent} to all registered listeners.
@@ -656,6 +758,52 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return getRawDataItem(index).getY();
     }
 
+    /**
+     * Merges two lists of data items that are each sorted in ascending order
+     * of x-value, in a single pass.  Where x-values are equal, the existing
+     * items come first.  The existing list is reused when the new items all
+     * fall after the last existing item.
+     *
+     * @param existing  the existing items ({@code null} not permitted).
+     * @param items  the new items ({@code null} not permitted).
+     *
+     * @return The merged list.
+     *
+     * @throws SeriesException if an x-value occurs in both lists and the
+     *     {@code allowDuplicateXValues} flag is not set for this series.
+     */
+    private List mergeSortedItems(List existing, List items) {
+        int n = existing.size();
+        if (n == 0 || ((XYDataItem) items.get(0)).compareTo(
+                existing.get(n - 1)) > 0) {
+            existing.addAll(items);
+            return existing;
+        }
+        int m = items.size();
+        List result = new java.util.ArrayList(n + m);
+        int i = 0;
+        int j = 0;
+        while (i < n && j < m) {
+            XYDataItem a = (XYDataItem) existing.get(i);
+            XYDataItem b = (XYDataItem) items.get(j);
+            int c = a.compareTo(b);
+            if (c == 0 && !this.allowDuplicateXValues) {
+                throw new SeriesException("X-value already exists.");
+            }
+            if (c <= 0) {
+                result.add(a);
+                i++;
+            }
+            else {
+                result.add(b);
+                j++;
+            }
+        }
+        result.addAll(existing.subList(i, n));
+        result.addAll(items.subList(j, m));
+        return result;
+    }
+
     /**
      * A function to find the minimum of two values, but ignoring any
      * Double.NaN values.
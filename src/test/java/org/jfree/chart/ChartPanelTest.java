@@ -44,7 +44,9 @@ package org.jfree.chart;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.EventListener;
 import java.util.List;
 
@@ -343,4 +345,36 @@ public class ChartPanelTest implements ChartChangeListener, ChartMouseListener {
         panel.setMouseWheelEnabled(false);
         assertFalse(panel.isMouseWheelEnabled());
     }
+
+    /**
+     * With zoom previews enabled, a zoom repaints the panel without drawing
+     * the chart, and the chart is drawn once the preview ends.
+     */
+    @Test
+    public void testZoomPreview() {
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        dataset.addSeries("S1", new double[][] {{1.0, 2.0, 3.0},
+                {4.0, 5.0, 6.0}});
+        JFreeChart chart = ChartFactory.createXYLineChart("TestChart", "X",
+                "Y", dataset, PlotOrientation.VERTICAL, false, false, false);
+        ChartPanel panel = new ChartPanel(chart);
+        assertFalse(panel.isZoomPreviewEnabled());
+        panel.setZoomPreviewEnabled(true);
+        panel.setZoomPreviewDelay(60000);
+        panel.setSize(400, 300);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        panel.paint(g2);
+        assertFalse(panel.getRefreshBuffer());
+
+        panel.zoomInDomain(200, 150);
+        panel.paint(g2);
+        assertTrue(panel.getRefreshBuffer());
+
+        panel.setZoomPreviewEnabled(false);
+        panel.paint(g2);
+        assertFalse(panel.getRefreshBuffer());
+        g2.dispose();
+    }
 }
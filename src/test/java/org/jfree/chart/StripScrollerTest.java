@@ -0,0 +1,181 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link StripScroller} class.
+ */
+public class StripScrollerTest {
+
+    /**
+     * Creates a strip chart showing the last 100 units of a series.
+     */
+    private static JFreeChart createChart(XYSeries series) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setAutoRangeIncludesZero(false);
+        xAxis.setFixedAutoRange(100.0);
+        xAxis.setTickUnit(new NumberTickUnit(10.0));
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(-10.0, 10.0);
+        XYPlot plot = new XYPlot(new XYSeriesCollection(series), xAxis,
+                yAxis, new XYLineAndShapeRenderer(true, false));
+        plot.setRangeGridlineStroke(new BasicStroke(0.5f));
+        JFreeChart chart = new JFreeChart(plot);
+        chart.setAntiAlias(false);
+        chart.setTextAntiAlias(false);
+        return chart;
+    }
+
+    private static double y(double x) {
+        return 8.0 * Math.sin(x / 7.0);
+    }
+
+    /**
+     * Draws a chart in full, in the same way as the chart panel does.
+     */
+    private static BufferedImage draw(JFreeChart chart,
+            ChartRenderingInfo info) {
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, info);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Only strip charts can be scrolled.
+     */
+    @Test
+    public void testCreate() {
+        XYSeries series = new XYSeries("S");
+        series.add(1.0, 1.0);
+        series.add(200.0, 2.0);
+        JFreeChart chart = createChart(series);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        draw(chart, info);
+        assertNotNull(StripScroller.create(chart, info));
+
+        // the domain axis must show a fixed auto range
+        XYPlot plot = (XYPlot) chart.getPlot();
+        ((NumberAxis) plot.getDomainAxis()).setFixedAutoRange(0.0);
+        draw(chart, info);
+        assertNull(StripScroller.create(chart, info));
+        ((NumberAxis) plot.getDomainAxis()).setFixedAutoRange(100.0);
+
+        // dashed horizontal gridlines lose their phase when shifted
+        plot.setRangeGridlineStroke(new BasicStroke(0.5f,
+                BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0.0f,
+                new float[] {2.0f, 2.0f}, 0.0f));
+        draw(chart, info);
+        assertNull(StripScroller.create(chart, info));
+    }
+
+    /**
+     * A chart whose range axis has changed must be redrawn in full.
+     */
+    @Test
+    public void testRangeChanged() {
+        XYSeries series = new XYSeries("S");
+        for (int x = 0; x <= 200; x++) {
+            series.add(x, y(x));
+        }
+        JFreeChart chart = createChart(series);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = draw(chart, info);
+        StripScroller scroller = StripScroller.create(chart, info);
+        series.add(201.0, 1.0);
+        assertTrue(scroller.scroll(image, chart, info));
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.getRangeAxis().setRange(-20.0, 20.0);
+        series.add(202.0, 1.0);
+        assertFalse(scroller.scroll(image, chart, info));
+    }
+
+    /**
+     * Scrolling by a whole number of pixels gives the same data area as a
+     * full redraw, apart from the column next to the left edge.
+     */
+    @Test
+    public void testScroll() {
+        XYSeries series = new XYSeries("S");
+        for (int x = 0; x <= 200; x++) {
+            series.add(x, y(x));
+        }
+        JFreeChart chart = createChart(series);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = draw(chart, info);
+        StripScroller scroller = StripScroller.create(chart, info);
+        assertNotNull(scroller);
+        Rectangle2D dataArea = info.getPlotInfo().getDataArea();
+
+        // add items so that the axis moves by 3 pixels each time
+        double step = 100.0 * 3.0 / dataArea.getWidth();
+        double x = 200.0;
+        for (int i = 0; i < 5; i++) {
+            x += step;
+            series.add(x, y(x));
+            assertTrue(scroller.scroll(image, chart, info));
+        }
+        assertEquals(dataArea, info.getPlotInfo().getDataArea());
+        BufferedImage expected = draw(chart, new ChartRenderingInfo());
+        int left = (int) Math.ceil(dataArea.getMinX()) + 2;
+        int diff = 0;
+        for (int px = left; px < 400; px++) {
+            for (int py = 0; py < 300; py++) {
+                if (expected.getRGB(px, py) != image.getRGB(px, py)) {
+                    diff++;
+                }
+            }
+        }
+        // only the ends of a couple of tick marks are rasterised slightly
+        // differently in the clipped strip
+        assertTrue(diff < 20);
+    }
+
+}
@@ -0,0 +1,118 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ZoomPreview} class.
+ */
+public class ZoomPreviewTest {
+
+    /**
+     * Draws a chart for a plot and returns the rendering info.
+     */
+    private ChartRenderingInfo draw(XYPlot plot) {
+        JFreeChart chart = new JFreeChart(plot);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, info);
+        g2.dispose();
+        return info;
+    }
+
+    /**
+     * After the axis ranges change, the transform maps the old position of
+     * a value to its new position.
+     */
+    @Test
+    public void testTransform() {
+        for (PlotOrientation orientation : new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL}) {
+            NumberAxis xAxis = new NumberAxis("X");
+            xAxis.setRange(0.0, 100.0);
+            NumberAxis yAxis = new NumberAxis("Y");
+            yAxis.setRange(-10.0, 10.0);
+            XYPlot plot = new XYPlot(new DefaultXYDataset(), xAxis, yAxis,
+                    null);
+            plot.setOrientation(orientation);
+            ChartRenderingInfo info = draw(plot);
+            Rectangle2D area = info.getPlotInfo().getDataArea();
+            ZoomPreview preview = ZoomPreview.create(plot,
+                    info.getPlotInfo());
+            assertEquals(new AffineTransform(), preview.getTransform());
+
+            RectangleEdge xEdge = plot.getDomainAxisEdge();
+            RectangleEdge yEdge = plot.getRangeAxisEdge();
+            double[][] points = {{20.0, 5.0}, {70.0, -2.5}};
+            Point2D[] before = new Point2D[points.length];
+            for (int i = 0; i < points.length; i++) {
+                before[i] = toJava2D(points[i], xAxis, yAxis, area, xEdge,
+                        yEdge, orientation);
+            }
+            xAxis.setRange(10.0, 60.0);
+            yAxis.setRange(-5.0, 15.0);
+            AffineTransform t = preview.getTransform();
+            for (int i = 0; i < points.length; i++) {
+                Point2D after = toJava2D(points[i], xAxis, yAxis, area, xEdge,
+                        yEdge, orientation);
+                Point2D mapped = t.transform(before[i], null);
+                assertEquals(after.getX(), mapped.getX(), 1e-9);
+                assertEquals(after.getY(), mapped.getY(), 1e-9);
+            }
+        }
+    }
+
+    private static Point2D toJava2D(double[] xy, NumberAxis xAxis,
+            NumberAxis yAxis, Rectangle2D area, RectangleEdge xEdge,
+            RectangleEdge yEdge, PlotOrientation orientation) {
+        double tx = xAxis.valueToJava2D(xy[0], area, xEdge);
+        double ty = yAxis.valueToJava2D(xy[1], area, yEdge);
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            return new Point2D.Double(ty, tx);
+        }
+        return new Point2D.Double(tx, ty);
+    }
+
+}
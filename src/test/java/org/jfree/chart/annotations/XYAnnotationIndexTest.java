@@ -0,0 +1,314 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.ui.Layer;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.Range;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link XYAnnotationIndex} class.
+ */
+public class XYAnnotationIndexTest {
+
+    /** The data area used in the tests. */
+    private static final Rectangle2D DATA_AREA = new Rectangle2D.Double(
+            10.0, 20.0, 200.0, 100.0);
+
+    /**
+     * A line annotation that counts the number of times it is drawn.
+     */
+    static class CountingAnnotation extends XYLineAnnotation {
+
+        int drawCount;
+
+        CountingAnnotation(double x1, double y1, double x2, double y2) {
+            super(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void draw(Graphics2D g2, XYPlot plot, Rectangle2D dataArea,
+                ValueAxis domainAxis, ValueAxis rangeAxis,
+                int rendererIndex, PlotRenderingInfo info) {
+            this.drawCount++;
+        }
+
+    }
+
+    /**
+     * A text annotation that counts the number of times it is drawn.
+     */
+    static class CountingTextAnnotation extends XYTextAnnotation {
+
+        int drawCount;
+
+        CountingTextAnnotation(String text, double x, double y) {
+            super(text, x, y);
+        }
+
+        @Override
+        public void draw(Graphics2D g2, XYPlot plot, Rectangle2D dataArea,
+                ValueAxis domainAxis, ValueAxis rangeAxis,
+                int rendererIndex, PlotRenderingInfo info) {
+            this.drawCount++;
+        }
+
+    }
+
+    /**
+     * Creates a plot with the specified axis ranges.
+     *
+     * @param lower  the lower bound for both axes.
+     * @param upper  the upper bound for both axes.
+     *
+     * @return The plot.
+     */
+    private XYPlot createPlot(double lower, double upper) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(lower, upper);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(lower, upper);
+        return new XYPlot(new XYSeriesCollection(), xAxis, yAxis,
+                new XYLineAndShapeRenderer());
+    }
+
+    /**
+     * Returns the annotations that intersect the data area, found by
+     * checking every annotation.
+     *
+     * @param annotations  the annotations.
+     * @param plot  the plot.
+     *
+     * @return The annotations.
+     */
+    private List<XYAnnotation> findVisible(List<XYAnnotation> annotations,
+            XYPlot plot) {
+        List<XYAnnotation> result = new ArrayList<XYAnnotation>();
+        boolean vertical = plot.getOrientation() == PlotOrientation.VERTICAL;
+        for (XYAnnotation a : annotations) {
+            XYLineAnnotation line = (XYLineAnnotation) a;
+            Range xr = line.getXRange();
+            Range yr = line.getYRange();
+            ValueAxis xAxis = plot.getDomainAxis();
+            ValueAxis yAxis = plot.getRangeAxis();
+            RectangleEdge xEdge = vertical ? RectangleEdge.BOTTOM
+                    : RectangleEdge.LEFT;
+            RectangleEdge yEdge = vertical ? RectangleEdge.LEFT
+                    : RectangleEdge.BOTTOM;
+            double x1 = xAxis.valueToJava2D(xr.getLowerBound(), DATA_AREA,
+                    xEdge);
+            double x2 = xAxis.valueToJava2D(xr.getUpperBound(), DATA_AREA,
+                    xEdge);
+            double y1 = yAxis.valueToJava2D(yr.getLowerBound(), DATA_AREA,
+                    yEdge);
+            double y2 = yAxis.valueToJava2D(yr.getUpperBound(), DATA_AREA,
+                    yEdge);
+            Rectangle2D r = vertical
+                    ? new Rectangle2D.Double(Math.min(x1, x2),
+                            Math.min(y1, y2), Math.abs(x2 - x1),
+                            Math.abs(y2 - y1))
+                    : new Rectangle2D.Double(Math.min(y1, y2),
+                            Math.min(x1, x2), Math.abs(y2 - y1),
+                            Math.abs(x2 - x1));
+            double m = line.getDrawingMargin();
+            r.setRect(r.getX() - m, r.getY() - m, r.getWidth() + 2 * m,
+                    r.getHeight() + 2 * m);
+            if (r.intersects(DATA_AREA)) {
+                result.add(a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The index returns the same annotations as a full scan, in the order of
+     * the list, for both plot orientations.
+     */
+    @Test
+    public void testGetAnnotationsToDraw() {
+        List<XYAnnotation> annotations = new ArrayList<XYAnnotation>();
+        java.util.Random random = new java.util.Random(12345L);
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextDouble() * 1000.0;
+            double y = random.nextDouble() * 1000.0;
+            annotations.add(new XYLineAnnotation(x, y,
+                    x + random.nextDouble() * 20.0,
+                    y - random.nextDouble() * 20.0));
+        }
+        XYAnnotationIndex index = new XYAnnotationIndex();
+        XYPlot plot = createPlot(400.0, 450.0);
+        List<XYAnnotation> expected = findVisible(annotations, plot);
+        assertTrue(expected.size() > 0);
+        assertTrue(expected.size() < 100);
+        assertEquals(expected, index.getAnnotationsToDraw(annotations, plot,
+                DATA_AREA, plot.getDomainAxis(), plot.getRangeAxis()));
+
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        plot.getRangeAxis().setInverted(true);
+        expected = findVisible(annotations, plot);
+        assertEquals(expected, index.getAnnotationsToDraw(annotations, plot,
+                DATA_AREA, plot.getDomainAxis(), plot.getRangeAxis()));
+    }
+
+    /**
+     * Annotations that cannot be indexed are always drawn, and the list
+     * order is kept.
+     */
+    @Test
+    public void testUnindexed() {
+        XYPlot plot = createPlot(0.0, 10.0);
+        List<XYAnnotation> annotations = new ArrayList<XYAnnotation>();
+        XYAnnotation a1 = new XYLineAnnotation(50.0, 50.0, 60.0, 60.0);
+        XYAnnotation a2 = new XYDrawableAnnotation(50.0, 50.0, 10.0, 10.0,
+                new XYDrawableAnnotationTest.TestDrawable());
+        XYAnnotation a3 = new XYLineAnnotation(1.0, 1.0, 2.0, 2.0);
+        annotations.add(a1);
+        annotations.add(a2);
+        annotations.add(a3);
+        XYAnnotationIndex index = new XYAnnotationIndex();
+        List<XYAnnotation> toDraw = index.getAnnotationsToDraw(annotations,
+                plot, DATA_AREA, plot.getDomainAxis(), plot.getRangeAxis());
+        assertEquals(2, toDraw.size());
+        assertTrue(toDraw.get(0) == a2);
+        assertTrue(toDraw.get(1) == a3);
+    }
+
+    /**
+     * Text is drawn well beyond its anchor point, so a text annotation just
+     * outside the data area is still drawn.
+     */
+    @Test
+    public void testTextMargin() {
+        XYPlot plot = createPlot(0.0, 10.0);
+        List<XYAnnotation> annotations = new ArrayList<XYAnnotation>();
+        annotations.add(new XYTextAnnotation("A long text annotation", -1.0,
+                5.0));
+        annotations.add(new XYTextAnnotation("Far away", -1000.0, 5.0));
+        XYAnnotationIndex index = new XYAnnotationIndex();
+        List<XYAnnotation> toDraw = index.getAnnotationsToDraw(annotations,
+                plot, DATA_AREA, plot.getDomainAxis(), plot.getRangeAxis());
+        assertEquals(1, toDraw.size());
+        assertTrue(toDraw.get(0) == annotations.get(0));
+    }
+
+    /**
+     * The large drawing margin of a text annotation does not cause other
+     * annotations just outside the data area to be drawn.
+     */
+    @Test
+    public void testMarginPerAnnotation() {
+        XYPlot plot = createPlot(0.0, 10.0);
+        List<XYAnnotation> annotations = new ArrayList<XYAnnotation>();
+        XYAnnotation text = new XYTextAnnotation("A long text annotation",
+                5.0, 5.0);
+        annotations.add(text);
+        for (int i = 0; i < 100; i++) {
+            // 20 to 30 pixels to the left of the data area
+            annotations.add(new XYLineAnnotation(-1.5, i / 10.0, -1.0,
+                    i / 10.0));
+        }
+        XYAnnotation inside = new XYLineAnnotation(1.0, 1.0, 2.0, 2.0);
+        annotations.add(inside);
+        XYAnnotationIndex index = new XYAnnotationIndex();
+        List<XYAnnotation> toDraw = index.getAnnotationsToDraw(annotations,
+                plot, DATA_AREA, plot.getDomainAxis(), plot.getRangeAxis());
+        assertEquals(2, toDraw.size());
+        assertTrue(toDraw.get(0) == text);
+        assertTrue(toDraw.get(1) == inside);
+    }
+
+    /**
+     * The plot and renderer only draw the annotations that can be visible,
+     * and the index follows changes to the annotations.
+     */
+    @Test
+    public void testPlotAndRenderer() {
+        XYPlot plot = createPlot(0.0, 10.0);
+        CountingAnnotation inside = new CountingAnnotation(1.0, 1.0, 2.0,
+                2.0);
+        CountingAnnotation outside = new CountingAnnotation(20.0, 20.0, 21.0,
+                21.0);
+        CountingTextAnnotation text = new CountingTextAnnotation("Text",
+                500.0, 500.0);
+        plot.addAnnotation(inside);
+        plot.addAnnotation(outside);
+        plot.addAnnotation(text);
+        CountingAnnotation background = new CountingAnnotation(3.0, 3.0, 4.0,
+                4.0);
+        CountingAnnotation hidden = new CountingAnnotation(-30.0, -30.0,
+                -31.0, -31.0);
+        plot.getRenderer().addAnnotation(background, Layer.BACKGROUND);
+        plot.getRenderer().addAnnotation(hidden, Layer.FOREGROUND);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        assertEquals(1, inside.drawCount);
+        assertEquals(0, outside.drawCount);
+        assertEquals(1, background.drawCount);
+        assertEquals(0, hidden.drawCount);
+        assertEquals(0, text.drawCount);
+
+        plot.getDomainAxis().setRange(0.0, 30.0);
+        plot.getRangeAxis().setRange(0.0, 30.0);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        assertEquals(2, inside.drawCount);
+        assertEquals(1, outside.drawCount);
+
+        // moving an annotation sends a change event that updates the index
+        text.setX(5.0);
+        text.setY(5.0);
+        plot.removeAnnotation(outside);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        assertEquals(3, inside.drawCount);
+        assertEquals(1, outside.drawCount);
+        assertEquals(1, text.drawCount);
+        g2.dispose();
+    }
+
+}
@@ -52,6 +52,7 @@ import java.awt.Stroke;
 
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.Range;
 import org.junit.Test;
 
 /**
@@ -163,4 +164,19 @@ public class XYPolygonAnnotationTest {
         assertEquals(a1, a2);
     }
 
+    /**
+     * Some checks for the bounds used to skip annotations outside the data
+     * area.
+     */
+    @Test
+    public void testGetRanges() {
+        XYPolygonAnnotation a1 = new XYPolygonAnnotation(new double[] {1.0,
+                6.0, 3.0, 4.0, -5.0, 2.0}, new BasicStroke(2.0f), Color.RED,
+                Color.BLUE);
+        assertEquals(new Range(-5.0, 3.0), a1.getXRange());
+        assertEquals(new Range(2.0, 6.0), a1.getYRange());
+        assertFalse(a1.getIncludeInDataBounds());
+        assertTrue(a1.getDrawingMargin() >= 1.0);
+    }
+
 }
@@ -52,8 +52,14 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.ui.TextAnchor;
 import org.jfree.chart.util.PublicCloneable;
 
@@ -193,4 +199,44 @@ public class XYTextAnnotationTest {
         assertEquals(a1, a2);
     }
 
+    /**
+     * The drawing margin covers the drawn text for all anchors and rotation
+     * angles, and is measured from the text rather than its length alone.
+     */
+    @Test
+    public void testGetDrawingMargin() {
+        XYTextAnnotation a = new XYTextAnnotation("A twenty char label.", 0.0,
+                0.0);
+        double margin = a.getDrawingMargin();
+        // the text is about 100 pixels wide in the default 10 point font
+        assertTrue(margin < 200.0);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setFont(a.getFont());
+        Object[] fractional = {RenderingHints.VALUE_FRACTIONALMETRICS_OFF,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON};
+        double[] angles = {0.0, 0.7, Math.PI / 2, 2.5};
+        TextAnchor[] anchors = {TextAnchor.TOP_LEFT, TextAnchor.CENTER,
+                TextAnchor.BASELINE_RIGHT, TextAnchor.BOTTOM_RIGHT};
+        for (Object f : fractional) {
+            g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, f);
+            for (double angle : angles) {
+                a.setRotationAngle(angle);
+                double m = a.getDrawingMargin();
+                for (TextAnchor textAnchor : anchors) {
+                    for (TextAnchor rotationAnchor : anchors) {
+                        Shape s = TextUtils.calculateRotatedStringBounds(
+                                a.getText(), g2, 0.0f, 0.0f, textAnchor,
+                                angle, rotationAnchor);
+                        Rectangle2D b = s.getBounds2D();
+                        assertTrue(b.getMinX() >= -m && b.getMaxX() <= m);
+                        assertTrue(b.getMinY() >= -m && b.getMaxY() <= m);
+                    }
+                }
+            }
+        }
+        g2.dispose();
+    }
+
 }
@@ -49,10 +49,15 @@ package org.jfree.chart.axis;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.text.DecimalFormat;
+import java.util.List;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -62,6 +67,7 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.Range;
 import org.jfree.data.RangeType;
 import org.jfree.data.category.DefaultCategoryDataset;
 import org.jfree.data.xy.XYSeries;
@@ -397,4 +403,84 @@ public class NumberAxisTest {
         //assertEquals(0.0, axis.getLowerBound(), EPSILON);
     }
 
+    /**
+     * Ticks are reused when the axis layout is unchanged, but recalculated
+     * when the range changes or an axis change event is sent.
+     */
+    @Test
+    public void testRefreshTicksCache() {
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 200.0, 100.0);
+        NumberAxis axis = new NumberAxis("X");
+        axis.setRange(0.0, 10.0);
+        // the first refresh selects the tick unit that later keys use
+        axis.refreshTicks(g2, new AxisState(), area, RectangleEdge.BOTTOM);
+        List ticks1 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        List ticks2 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertSame(ticks1, ticks2);
+
+        axis.setNumberFormatOverride(new DecimalFormat("0.00"));
+        List ticks3 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertFalse(ticks1.equals(ticks3));
+
+        axis.setRange(new Range(0.0, 100.0), false, false);
+        List ticks4 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertFalse(ticks3.equals(ticks4));
+        g2.dispose();
+    }
+
+    /**
+     * Changing the formatter override in place (which does not send an
+     * event) is detected by the tick cache.
+     */
+    @Test
+    public void testRefreshTicksCacheFormatterChange() {
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 200.0, 100.0);
+        NumberAxis axis = new NumberAxis("X");
+        axis.setRange(0.0, 10.0);
+        DecimalFormat formatter = new DecimalFormat("0.0");
+        axis.setNumberFormatOverride(formatter);
+        axis.refreshTicks(g2, new AxisState(), area, RectangleEdge.BOTTOM);
+        List ticks1 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertSame(ticks1, axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM));
+
+        formatter.applyPattern("0.000");
+        List ticks2 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertNotSame(ticks1, ticks2);
+        assertEquals("0.000", ((NumberTick) ticks2.get(0)).getText());
+        g2.dispose();
+    }
+
+    /**
+     * Subclasses of {@code NumberAxis} do not cache ticks unless they opt in.
+     */
+    @Test
+    public void testRefreshTicksNoCacheForSubclass() {
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 200.0, 100.0);
+        NumberAxis axis = new NumberAxis("X") {};
+        axis.setRange(0.0, 10.0);
+        List ticks1 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        List ticks2 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertNotSame(ticks1, ticks2);
+        assertEquals(ticks1, ticks2);
+        g2.dispose();
+    }
+
 }
@@ -44,7 +44,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.ui.Size2D;
+import org.jfree.data.Range;
 import org.junit.Test;
 
 /**
@@ -86,6 +92,117 @@ public class BlockContainerTest {
         assertTrue(c1.equals(c2));
     }
 
+    /**
+     * A block that counts the number of times it is arranged.
+     */
+    static class CountingBlock extends EmptyBlock {
+
+        int arrangeCount;
+
+        CountingBlock(double width, double height) {
+            super(width, height);
+        }
+
+        @Override
+        public Size2D arrange(Graphics2D g2, RectangleConstraint constraint) {
+            this.arrangeCount++;
+            return super.arrange(g2, constraint);
+        }
+
+    }
+
+    /**
+     * The layout is reused when nothing has changed, and calculated again
+     * when the constraint, the container or a block in the container changes.
+     */
+    @Test
+    public void testArrangeReusesLayout() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        CountingBlock b1 = new CountingBlock(10.0, 20.0);
+        CountingBlock b2 = new CountingBlock(30.0, 5.0);
+        BlockContainer inner = new BlockContainer(new ColumnArrangement());
+        inner.add(b2);
+        BlockContainer c = new BlockContainer(new FlowArrangement());
+        c.add(b1);
+        c.add(inner);
+        RectangleConstraint rc = new RectangleConstraint(
+                new Range(0.0, 100.0), new Range(0.0, 100.0));
+        Size2D s1 = c.arrange(g2, rc);
+        int count = b1.arrangeCount;
+        assertTrue(count > 0);
+        Size2D s2 = c.arrange(g2, new RectangleConstraint(
+                new Range(0.0, 100.0), new Range(0.0, 100.0)));
+        assertEquals(count, b1.arrangeCount);
+        assertEquals(s1, s2);
+        assertTrue(s1 != s2);
+
+        // a different constraint
+        c.arrange(g2, RectangleConstraint.NONE);
+        assertTrue(b1.arrangeCount > count);
+
+        // a change to a nested block
+        count = b2.arrangeCount;
+        c.arrange(g2, RectangleConstraint.NONE);
+        assertEquals(count, b2.arrangeCount);
+        b2.setPadding(1.0, 1.0, 1.0, 1.0);
+        Size2D s3 = c.arrange(g2, RectangleConstraint.NONE);
+        assertTrue(b2.arrangeCount > count);
+        assertEquals(44.0, s3.width, 0.000001);
+
+        // a change to the container
+        count = b1.arrangeCount;
+        inner.add(new EmptyBlock(1.0, 1.0));
+        c.arrange(g2, RectangleConstraint.NONE);
+        assertTrue(b1.arrangeCount > count);
+        g2.dispose();
+    }
+
+    /**
+     * A block that counts the number of times it is arranged, and does not
+     * track its layout version.
+     */
+    static class UntrackedBlock extends AbstractBlock implements Block {
+
+        int arrangeCount;
+
+        @Override
+        public Size2D arrange(Graphics2D g2, RectangleConstraint constraint) {
+            this.arrangeCount++;
+            return new Size2D(5.0, 5.0);
+        }
+
+        @Override
+        public void draw(Graphics2D g2, Rectangle2D area) {
+            // nothing to draw
+        }
+
+        @Override
+        public Object draw(Graphics2D g2, Rectangle2D area, Object params) {
+            return null;
+        }
+
+    }
+
+    /**
+     * A block that does not track its layout version is arranged again every
+     * time its container is arranged.
+     */
+    @Test
+    public void testArrangeUntrackedBlock() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        UntrackedBlock b = new UntrackedBlock();
+        BlockContainer c = new BlockContainer(new FlowArrangement());
+        c.add(b);
+        c.arrange(g2, RectangleConstraint.NONE);
+        c.arrange(g2, RectangleConstraint.NONE);
+        assertEquals(2, b.arrangeCount);
+        g2.dispose();
+    }
+
     /**
      * Serialize an instance, restore it, and check for equality.
      */
@@ -42,6 +42,7 @@ package org.jfree.chart.block;
 
 import org.jfree.chart.ui.Size2D;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import org.jfree.data.Range;
 import org.junit.Test;
@@ -53,6 +54,24 @@ public class RectangleConstraintTest {
 
     private static final double EPSILON = 0.0000000001;
 
+    /**
+     * Some checks for the equals() and hashCode() methods.
+     */
+    @Test
+    public void testEquals() {
+        RectangleConstraint c1 = new RectangleConstraint(1.0,
+                new Range(2.0, 3.0));
+        RectangleConstraint c2 = new RectangleConstraint(1.0,
+                new Range(2.0, 3.0));
+        assertEquals(c1, c2);
+        assertEquals(c1.hashCode(), c2.hashCode());
+        assertFalse(c1.equals(new RectangleConstraint(1.5,
+                new Range(2.0, 3.0))));
+        assertFalse(c1.equals(new RectangleConstraint(1.0,
+                new Range(2.0, 3.5))));
+        assertFalse(c1.equals(c1.toUnconstrainedHeight()));
+    }
+
     /**
      * Run some checks on the constrained size calculation.
      */
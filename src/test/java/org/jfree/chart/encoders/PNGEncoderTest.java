@@ -0,0 +1,309 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.encoders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link PNGEncoder} class.
+ */
+public class PNGEncoderTest {
+
+    /**
+     * Creates a test image.
+     *
+     * @param width  the width.
+     * @param height  the height.
+     * @param type  the image type.
+     * @param antialias  draw with antialiasing (many colors)?
+     *
+     * @return The image.
+     */
+    private static BufferedImage createImage(int width, int height, int type,
+            boolean antialias) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g2 = image.createGraphics();
+        if (antialias) {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setPaint(new GradientPaint(0f, 0f, Color.RED, width, height,
+                    Color.BLUE));
+            g2.fillRect(0, 0, width / 2, height);
+        }
+        else {
+            g2.setPaint(Color.WHITE);
+            g2.fillRect(0, 0, width / 2, height);
+        }
+        g2.setPaint(new Color(0, 128, 0, 100));
+        g2.setStroke(new BasicStroke(3f));
+        g2.draw(new Ellipse2D.Double(2, 2, width - 4, height - 4));
+        g2.setPaint(Color.YELLOW);
+        g2.drawLine(0, height - 1, width - 1, 0);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Encodes an image, decodes it with ImageIO and checks the pixels.
+     *
+     * @param encoder  the encoder.
+     * @param image  the image.
+     *
+     * @return The encoded bytes.
+     *
+     * @throws IOException if there is a problem.
+     */
+    private static byte[] checkRoundTrip(PNGEncoder encoder,
+            BufferedImage image) throws IOException {
+        byte[] bytes = encoder.encode(image);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+        assertEquals(image.getWidth(), decoded.getWidth());
+        assertEquals(image.getHeight(), decoded.getHeight());
+        boolean alpha = encoder.isEncodingAlpha()
+                && image.getColorModel().hasAlpha();
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = image.getRGB(x, y);
+                int actual = decoded.getRGB(x, y);
+                if (!alpha) {
+                    expected |= 0xFF000000;
+                }
+                if (expected != actual) {
+                    assertEquals("Pixel " + x + "," + y,
+                            Integer.toHexString(expected),
+                            Integer.toHexString(actual));
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks that images decode to the original pixels with each filter
+     * strategy, with and without a palette and alpha.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        int[] types = {BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_ARGB_PRE};
+        PNGEncoder encoder = new PNGEncoder();
+        for (PNGFilterStrategy strategy : PNGFilterStrategy.values()) {
+            encoder.setFilterStrategy(strategy);
+            for (int type : types) {
+                for (int i = 0; i < 4; i++) {
+                    encoder.setPaletteEnabled(i % 2 == 0);
+                    encoder.setEncodingAlpha(i < 2);
+                    checkRoundTrip(encoder, createImage(37, 23, type, false));
+                    checkRoundTrip(encoder, createImage(37, 23, type, true));
+                }
+            }
+        }
+    }
+
+    /**
+     * Images with few colors are written with small palettes.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testPalette() throws IOException {
+        PNGEncoder encoder = new PNGEncoder();
+        Color[] colors = {Color.BLACK, Color.WHITE, Color.RED, Color.GREEN,
+                Color.BLUE, new Color(0, 0, 0, 0)};
+        for (int n = 1; n <= colors.length; n++) {
+            BufferedImage image = new BufferedImage(19, 7,
+                    BufferedImage.TYPE_INT_ARGB);
+            for (int y = 0; y < 7; y++) {
+                for (int x = 0; x < 19; x++) {
+                    image.setRGB(x, y, colors[(x * 7 + y) % n].getRGB());
+                }
+            }
+            byte[] bytes = checkRoundTrip(encoder, image);
+            assertEquals(3, bytes[25]); // IHDR color type
+            int bitDepth = n <= 2 ? 1 : n <= 4 ? 2 : 4;
+            assertEquals(bitDepth, bytes[24]);
+        }
+    }
+
+    /**
+     * An opaque image is written without an alpha channel, and alpha is
+     * only written when enabled.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testAlpha() throws IOException {
+        PNGEncoder encoder = new PNGEncoder();
+        encoder.setPaletteEnabled(false);
+        BufferedImage image = createImage(20, 20,
+                BufferedImage.TYPE_INT_ARGB, true);
+        assertEquals(6, encoder.encode(image)[25]);
+        encoder.setEncodingAlpha(false);
+        assertEquals(2, encoder.encode(image)[25]);
+        encoder.setEncodingAlpha(true);
+        Graphics2D g2 = image.createGraphics();
+        g2.setPaint(Color.RED);
+        g2.fillRect(0, 0, 20, 20);
+        g2.dispose();
+        assertEquals(2, checkRoundTrip(encoder, image)[25]);
+    }
+
+    /**
+     * Checks that an image decodes correctly after compressing it in
+     * bands.
+     *
+     * @param encoder  the encoder.
+     * @param image  the image.
+     * @param bands  the number of bands.
+     *
+     * @return The encoded image.
+     *
+     * @throws IOException if there is a problem.
+     */
+    private static byte[] checkBands(PNGEncoder encoder, BufferedImage image,
+            int bands) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(image, out, bands);
+        byte[] bytes = out.toByteArray();
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) != decoded.getRGB(x, y)) {
+                    assertEquals("Pixel " + x + "," + y, image.getRGB(x, y),
+                            decoded.getRGB(x, y));
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * A large image can be compressed in bands, and decodes correctly.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testBands() throws IOException {
+        BufferedImage image = createImage(1200, 900,
+                BufferedImage.TYPE_INT_ARGB, true);
+        PNGEncoder encoder = new PNGEncoder();
+        encoder.setPaletteEnabled(false);
+        byte[] serial = checkBands(encoder, image, 1);
+        byte[] banded = checkBands(encoder, image, 4);
+        assertFalse(Arrays.equals(serial, banded));
+        // the bands are the same when they are compressed concurrently
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            encoder.setExecutor(executor);
+            assertTrue(Arrays.equals(banded, checkBands(encoder, image, 4)));
+        }
+        finally {
+            encoder.setExecutor(null);
+            executor.shutdown();
+        }
+        // priming each band with the previous data keeps the size close
+        assertTrue(banded.length < serial.length * 1.05);
+        checkRoundTrip(encoder, image);
+        encoder.setQuality(0f);
+        checkBands(encoder, image, 3);
+        encoder.setQuality(9f);
+        encoder.setPaletteEnabled(true);
+        checkBands(encoder, createImage(50, 40, BufferedImage.TYPE_INT_ARGB,
+                false), 40);
+    }
+
+    /**
+     * Some checks for writing to a channel and registration in the factory.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testChannelAndFactory() throws IOException {
+        BufferedImage image = createImage(30, 30,
+                BufferedImage.TYPE_INT_ARGB, true);
+        PNGEncoder encoder = new PNGEncoder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(image, Channels.newChannel(out));
+        assertTrue(Arrays.equals(encoder.encode(image),
+                out.toByteArray()));
+
+        ImageEncoder e = ImageEncoderFactory.newInstance(ImageFormat.PNG, 9f);
+        assertTrue(e instanceof PNGEncoder);
+        assertEquals(9f, e.getQuality(), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetQuality() {
+        new PNGEncoder().setQuality(10f);
+    }
+
+    /**
+     * Checks the Adler-32 combination against a direct calculation.
+     */
+    @Test
+    public void testCombineAdler32() {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + (i >> 7));
+        }
+        Adler32 all = new Adler32();
+        all.update(data, 0, data.length);
+        Adler32 a = new Adler32();
+        a.update(data, 0, 70001);
+        Adler32 b = new Adler32();
+        b.update(data, 70001, data.length - 70001);
+        assertEquals(all.getValue(), PNGEncoder.combineAdler32(a.getValue(),
+                b.getValue(), data.length - 70001));
+    }
+
+}
@@ -0,0 +1,206 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Inflater;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.general.DefaultPieDataset;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link PDFGraphics2D} class.
+ */
+public class PDFGraphics2DTest {
+
+    /**
+     * Converts bytes to a string (one character per byte).
+     *
+     * @param b  the bytes.
+     *
+     * @return The string.
+     */
+    private static String string(byte[] b) {
+        StringBuilder sb = new StringBuilder(b.length);
+        for (byte x : b) {
+            sb.append((char) (x & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks the cross reference table of a document.
+     *
+     * @param pdf  the document.
+     */
+    private static void checkXref(String pdf) {
+        int startxref = pdf.lastIndexOf("startxref\n");
+        int xref = Integer.parseInt(pdf.substring(startxref + 10,
+                pdf.indexOf('\n', startxref + 10)));
+        assertTrue(pdf.startsWith("xref\n0 ", xref));
+        Matcher m = Pattern.compile("(\\d{10}) 00000 n \n").matcher(pdf);
+        int number = 1;
+        int start = xref;
+        while (m.find(start)) {
+            int offset = Integer.parseInt(m.group(1));
+            assertTrue(pdf.startsWith(number + " 0 obj\n", offset));
+            number++;
+            start = m.end();
+        }
+        assertTrue(number > 6);
+        assertTrue(pdf.endsWith("%%EOF\n"));
+    }
+
+    /**
+     * Returns the uncompressed page content of a document.
+     *
+     * @param pdf  the document.
+     *
+     * @return The content.
+     *
+     * @throws Exception if there is a problem.
+     */
+    private static String content(String pdf) throws Exception {
+        int start = pdf.indexOf("stream\n", pdf.indexOf("4 0 obj")) + 7;
+        int end = pdf.indexOf("\nendstream", start);
+        byte[] data = new byte[end - start];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) pdf.charAt(start + i);
+        }
+        Inflater inflater = new Inflater();
+        inflater.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!inflater.finished()) {
+            int n = inflater.inflate(buffer);
+            if (n == 0 && inflater.needsInput()) {
+                break;
+            }
+            out.write(buffer, 0, n);
+        }
+        return string(out.toByteArray());
+    }
+
+    /**
+     * Checks the structure and content of a simple document.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testSimpleDocument() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFGraphics2D g2 = new PDFGraphics2D(out, 200, 100);
+        g2.setPaint(Color.RED);
+        g2.fill(new Rectangle2D.Double(10.0, 20.0, 30.5, 40.0));
+        g2.setPaint(new Color(0, 0, 255, 128));
+        g2.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_ROUND,
+                BasicStroke.JOIN_BEVEL, 10.0f, new float[] {4f, 2f}, 0f));
+        g2.drawLine(0, 0, 50, 50);
+        g2.setPaint(new GradientPaint(0f, 0f, Color.RED, 100f, 0f,
+                Color.BLUE));
+        g2.translate(5, 5);
+        g2.fillRect(0, 0, 20, 20);
+        g2.drawImage(new BufferedImage(3, 2, BufferedImage.TYPE_INT_ARGB),
+                0, 0, null);
+        g2.finish();
+        String pdf = string(out.toByteArray());
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.contains("/MediaBox [0 0 200 100]"));
+        assertTrue(pdf.contains("/ShadingType 2"));
+        assertTrue(pdf.contains("/SMask"));
+        checkXref(pdf);
+        String content = content(pdf);
+        assertTrue(content.startsWith("1 0 0 -1 0 100 cm\nq\n"));
+        assertTrue(content.contains("1 0 0 rg\n10 20 m\n40.5 20 l\n"
+                + "40.5 60 l\n10 60 l\n10 20 l\nh\nf\n"));
+        assertTrue(content.contains("0 0 1 RG\n2 w 1 J 2 j 10 M [4 2] 0 d\n"
+                + "0 0 m\n50 50 l\nS\n"));
+        assertTrue(content.contains(" gs\n"));
+        assertTrue(content.contains("Q q\n1 0 0 1 5 5 cm\n"));
+        assertTrue(content.contains(" sh\nQ\n"));
+        assertTrue(content.contains("3 0 0 -2 0 2 cm\n/Im"));
+        assertTrue(content.endsWith("Q\n"));
+    }
+
+    /**
+     * Draws a pie chart and checks the cross reference table.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testDrawChart() throws Exception {
+        DefaultPieDataset dataset = new DefaultPieDataset();
+        dataset.setValue("A", 1.0);
+        dataset.setValue("B", 2.0);
+        dataset.setValue("C", 3.0);
+        JFreeChart chart = ChartFactory.createPieChart("Pie", dataset);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFGraphics2D g2 = new PDFGraphics2D(out, 400, 300);
+        chart.draw(g2, new Rectangle(400, 300));
+        g2.finish();
+        String pdf = string(out.toByteArray());
+        checkXref(pdf);
+        String content = content(pdf);
+        assertTrue(content.contains(" c\n"));
+        assertEquals(count(content, "q\n"), count(content, "Q\n")
+                + count(content, "Q q\n"));
+    }
+
+    /**
+     * Counts the occurrences of a string.
+     *
+     * @param s  the string to search.
+     * @param target  the string to count.
+     *
+     * @return The count.
+     */
+    private static int count(String s, String target) {
+        int result = 0;
+        int i = s.indexOf(target);
+        while (i >= 0) {
+            result++;
+            i = s.indexOf(target, i + 1);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,213 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.graphics2d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Tests for the {@link SVGGraphics2D} class.
+ */
+public class SVGGraphics2DTest {
+
+    /**
+     * Parses an SVG document.
+     *
+     * @param svg  the document.
+     *
+     * @return The DOM document.
+     *
+     * @throws Exception if the document is not well formed.
+     */
+    private static Document parse(String svg) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(
+                new ByteArrayInputStream(svg.getBytes("UTF-8")));
+    }
+
+    /**
+     * Counts the occurrences of a string.
+     *
+     * @param s  the string to search.
+     * @param target  the string to count.
+     *
+     * @return The count.
+     */
+    private static int count(String s, String target) {
+        int result = 0;
+        int i = s.indexOf(target);
+        while (i >= 0) {
+            result++;
+            i = s.indexOf(target, i + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Draws a scatter plot and checks that the output is well formed and
+     * that the repeated markers are shared.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testDrawChart() throws Exception {
+        XYSeries series = new XYSeries("S1");
+        for (int i = 0; i < 200; i++) {
+            series.add(i, Math.sin(i / 10.0));
+        }
+        JFreeChart chart = ChartFactory.createScatterPlot("Title & <more>",
+                "X", "Y", new XYSeriesCollection(series));
+        chart.getXYPlot().getRenderer().setSeriesShape(0,
+                new Ellipse2D.Double(-4.0, -4.0, 8.0, 8.0));
+        StringWriter writer = new StringWriter();
+        SVGGraphics2D g2 = new SVGGraphics2D(writer, 600, 400);
+        chart.draw(g2, new Rectangle(600, 400));
+        g2.finish();
+        String svg = writer.toString();
+        Document doc = parse(svg);
+        assertEquals("svg", doc.getDocumentElement().getLocalName());
+        assertTrue(svg.contains("Title &amp; &lt;more&gt;"));
+        assertTrue(svg.contains("clip-path=\"url(#c"));
+        // each marker after the first two is a reference to a definition
+        assertTrue(count(svg, "<use ") >= 190);
+        assertTrue(count(svg, "<defs><path id=") < 5);
+        // every element is written with the default 2 decimal places
+        assertFalse(svg.matches("(?s).*\\.\\d\\d\\d.*"));
+    }
+
+    /**
+     * Checks the path data for some simple shapes.
+     *
+     * @throws IOException if there is a problem.
+     */
+    @Test
+    public void testPathData() throws IOException {
+        StringWriter writer = new StringWriter();
+        SVGGraphics2D g2 = new SVGGraphics2D(writer, 100, 100);
+        g2.setPaint(Color.RED);
+        g2.fill(new Rectangle2D.Double(1.5, 2.0, 10.25, 5.0));
+        g2.setDecimalPlaces(1);
+        g2.fill(new Rectangle2D.Double(0.25, 0.0, 0.5, 1.0));
+        g2.setPaint(new Color(0, 0, 255, 128));
+        g2.setStroke(new BasicStroke(2.0f));
+        g2.drawLine(10, 10, 10, 20);
+        g2.finish();
+        String svg = writer.toString();
+        assertTrue(svg.contains("<g fill=\"#f00\">"));
+        assertTrue(svg.contains("<path d=\"M1.5 2h10.25v5h-10.25z\"/>"));
+        assertTrue(svg.contains("<path d=\"M0.3 0h.5v1h-.5z\"/>"));
+        // a style used for one element is written inline
+        assertTrue(svg.contains("<path fill=\"none\" stroke=\"#00f\" "
+                + "stroke-opacity=\"0.502\" stroke-width=\"2\" "
+                + "stroke-linecap=\"square\" stroke-miterlimit=\"10\" "
+                + "d=\"M10 10v10\"/>"));
+    }
+
+    /**
+     * Checks that transforms, gradients, text, images and nested graphics
+     * produce a well formed document.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testOtherContent() throws Exception {
+        StringWriter writer = new StringWriter();
+        SVGGraphics2D g2 = new SVGGraphics2D(writer, 200, 200);
+        g2.setPaint(new GradientPaint(0f, 0f, Color.RED, 100f, 0f,
+                Color.BLUE));
+        g2.fill(new Ellipse2D.Double(10, 10, 50, 50));
+        g2.fill(new Ellipse2D.Double(70, 10, 50, 50));
+        Graphics2D g2b = (Graphics2D) g2.create();
+        g2b.rotate(Math.PI / 4);
+        g2b.clipRect(0, 0, 50, 50);
+        g2b.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 12));
+        g2b.drawString("A \u0001\"quote\"", 5f, 20f);
+        g2b.dispose();
+        BufferedImage image = new BufferedImage(4, 3,
+                BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(1, 1, 0x80FF0000);
+        g2.drawImage(image, 100, 100, null);
+        g2.finish();
+        String svg = writer.toString();
+        parse(svg);
+        assertEquals(1, count(svg, "<linearGradient"));
+        assertTrue(svg.contains("transform=\"matrix(0.707107 0.707107 "
+                + "-0.707107 0.707107 0 0)\""));
+        assertTrue(svg.contains("font-family=\"sans-serif\" font-size=\"12\""
+                + " font-weight=\"bold\">A &quot;quote&quot;</text>"));
+        assertTrue(svg.contains("xlink:href=\"data:image/png;base64,iVBOR"));
+    }
+
+    /**
+     * Check that the number formatting removes trailing zeros and leading
+     * zeros (when requested).
+     */
+    @Test
+    public void testAppendNumber() {
+        StringBuilder sb = new StringBuilder();
+        VectorGraphics2D.appendNumber(sb, 1.5, 2, true);
+        sb.append(' ');
+        VectorGraphics2D.appendNumber(sb, -0.25, 2, true);
+        sb.append(' ');
+        VectorGraphics2D.appendNumber(sb, -0.25, 2, false);
+        sb.append(' ');
+        VectorGraphics2D.appendNumber(sb, 3.0001, 2, true);
+        sb.append(' ');
+        VectorGraphics2D.appendNumber(sb, 0.05, 2, true);
+        sb.append(' ');
+        VectorGraphics2D.appendNumber(sb, 1.0E20, 2, true);
+        assertEquals("1.5 -.25 -0.25 3 .05 100000000000000000000",
+                sb.toString());
+    }
+
+}
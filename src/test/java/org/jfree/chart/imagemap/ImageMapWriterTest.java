@@ -0,0 +1,220 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.imagemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.util.StringUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ImageMapWriter} class.
+ */
+public class ImageMapWriterTest {
+
+    private static ChartRenderingInfo createInfo() {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        EntityCollection entities = info.getEntityCollection();
+        entities.add(new ChartEntity(new Rectangle2D.Double(1, 2, 3, 4),
+                "A", "a.html"));
+        entities.add(new ChartEntity(new Rectangle2D.Double(5, 6, 0, 0),
+                null, "b.html"));
+        entities.add(new ChartEntity(new Rectangle2D.Double(7, 8, 9, 10),
+                "", ""));
+        entities.add(new ChartEntity(new Ellipse2D.Double(10, 20, 30, 40),
+                "C <&>", null));
+        entities.add(new ChartEntity(new Rectangle2D.Double(0, 0, 1, 1)));
+        return info;
+    }
+
+    private static String write(ImageMapWriter w, ChartRenderingInfo info)
+            throws Exception {
+        StringWriter out = new StringWriter();
+        w.write(out, "map<1>", info);
+        return out.toString();
+    }
+
+    /**
+     * With the default settings the output matches ImageMapUtils.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testDefaultOutput() throws Exception {
+        ChartRenderingInfo info = createInfo();
+        String expected = ImageMapUtils.getImageMap("map<1>", info)
+                + StringUtils.getLineSeparator();
+        assertEquals(expected, write(new ImageMapWriter(), info));
+
+        ImageMapWriter w = new ImageMapWriter(
+                new OverLIBToolTipTagFragmentGenerator(),
+                new StandardURLTagFragmentGenerator());
+        expected = ImageMapUtils.getImageMap("map<1>", info,
+                new OverLIBToolTipTagFragmentGenerator(),
+                new StandardURLTagFragmentGenerator())
+                + StringUtils.getLineSeparator();
+        assertEquals(expected, write(w, info));
+    }
+
+    /**
+     * Writing to an output stream uses UTF-8.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testWriteToStream() throws Exception {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        info.getEntityCollection().add(new ChartEntity(
+                new Rectangle2D.Double(1, 2, 3, 4), "été", null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ImageMapWriter().write(out, "m", info);
+        assertEquals(ImageMapUtils.getImageMap("m", info)
+                + StringUtils.getLineSeparator(), toString(out));
+    }
+
+    private static String toString(ByteArrayOutputStream out)
+            throws UnsupportedEncodingException {
+        return out.toString("UTF-8");
+    }
+
+    /**
+     * Adjacent rectangles with the same tooltip and URL are merged.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testMergeRectangles() throws Exception {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        EntityCollection entities = info.getEntityCollection();
+        // entities are written in reverse order
+        entities.add(new ChartEntity(new Rectangle2D.Double(0, 20, 50, 5),
+                "T", "u"));
+        for (int i = 0; i < 5; i++) {
+            entities.add(new ChartEntity(
+                    new Rectangle2D.Double(10 * i, 0, 10, 20), "T", "u"));
+        }
+        entities.add(new ChartEntity(new Rectangle2D.Double(50, 0, 10, 20),
+                "X", "u"));
+        ImageMapWriter w = new ImageMapWriter();
+        assertFalse(w.getMergeRectangles());
+        assertEquals(7, countAreas(write(w, info)));
+        w.setMergeRectangles(true);
+        String map = write(w, info);
+        assertEquals(2, countAreas(map));
+        assertTrue(map.contains("coords=\"50,0,60,20\""));
+        assertTrue(map.contains("coords=\"0,0,50,25\""));
+    }
+
+    /**
+     * Polygon outlines are simplified when a tolerance is set.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testTolerance() throws Exception {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        info.getEntityCollection().add(new ChartEntity(
+                new Ellipse2D.Double(0, 0, 400, 400), "T", null));
+        ImageMapWriter w = new ImageMapWriter();
+        assertEquals(0.0, w.getTolerance(), 0.0);
+        int before = countCoords(write(w, info));
+        w.setTolerance(2.0);
+        int after = countCoords(write(w, info));
+        assertTrue(after >= 6);
+        assertTrue(after < before);
+
+        // a rectangle drawn as a polygon keeps only its corners
+        info = new ChartRenderingInfo();
+        Rectangle2D r = new Rectangle2D.Double(0, 0, 10, 10);
+        info.getEntityCollection().add(new ChartEntity(
+                new java.awt.geom.Path2D.Double(r), "T", null));
+        String map = write(w, info);
+        assertTrue(map.contains("coords=\"0,0,10,0,10,10,0,10\""));
+    }
+
+    /**
+     * The area tags and coordinates are taken from the entities, so that
+     * an entity subclass can change them.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testEntityOverrides() throws Exception {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        EntityCollection entities = info.getEntityCollection();
+        entities.add(new ChartEntity(new Rectangle2D.Double(0, 0, 10, 10),
+                "T", "u") {
+            @Override
+            public String getShapeCoords() {
+                return "1,2,3,4";
+            }
+        });
+        entities.add(new ChartEntity(new Rectangle2D.Double(20, 0, 10, 10),
+                "T", "u") {
+            @Override
+            public String getImageMapAreaTag(
+                    ToolTipTagFragmentGenerator toolTipTagFragmentGenerator,
+                    URLTagFragmentGenerator urlTagFragmentGenerator) {
+                return "<area id=\"custom\"/>";
+            }
+        });
+        ImageMapWriter w = new ImageMapWriter();
+        w.setMergeRectangles(true);
+        String map = write(w, info);
+        assertTrue(map.contains("<area id=\"custom\"/>"));
+        assertTrue(map.contains("coords=\"1,2,3,4\""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTolerance() {
+        new ImageMapWriter().setTolerance(-1.0);
+    }
+
+    private static int countAreas(String map) {
+        return map.split("<area ").length - 1;
+    }
+
+    private static int countCoords(String map) {
+        int start = map.indexOf("coords=\"") + 8;
+        int end = map.indexOf('"', start);
+        return map.substring(start, end).split(",").length / 2;
+    }
+
+}
@@ -42,17 +42,24 @@
 package org.jfree.chart.plot;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.labels.StandardCategoryToolTipGenerator;
@@ -154,6 +161,78 @@ public class CombinedDomainCategoryPlotTest implements ChartChangeListener {
         assertTrue(this.events.isEmpty());
     }
 
+    /**
+     * Drawing the subplots concurrently should give the same output as
+     * drawing them one after the other.
+     */
+    @Test
+    public void testDrawSubplotsConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 10; i++) {
+                ChartRenderingInfo info1 = new ChartRenderingInfo();
+                BufferedImage image1 = drawChart(createPlot(), null, info1);
+                ChartRenderingInfo info2 = new ChartRenderingInfo();
+                BufferedImage image2 = drawChart(createPlot(), executor, 
+                        info2);
+                assertSameOutput(image1, info1, image2, info2);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Draws a chart, without a legend, for the specified plot.  Without a
+     * legend nothing looks up the series styles before the subplots are
+     * drawn.
+     */
+    private static BufferedImage drawChart(Plot plot, Executor executor,
+            ChartRenderingInfo info) {
+        JFreeChart chart = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT,
+                plot, false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_SUBPLOT_EXECUTOR, executor);
+        chart.draw(g2, new Rectangle2D.Double(0.0, 0.0, 400.0, 300.0), null,
+                info);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Checks that two images and the rendering info collected while drawing
+     * them are identical.
+     */
+    private static void assertSameOutput(BufferedImage expected,
+            ChartRenderingInfo expectedInfo, BufferedImage actual,
+            ChartRenderingInfo actualInfo) {
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+        EntityCollection e1 = expectedInfo.getEntityCollection();
+        EntityCollection e2 = actualInfo.getEntityCollection();
+        assertEquals(e1.getEntityCount(), e2.getEntityCount());
+        for (int i = 0; i < e1.getEntityCount(); i++) {
+            assertEquals(e1.getEntity(i).getClass(), 
+                    e2.getEntity(i).getClass());
+            assertEquals(e1.getEntity(i).getShapeCoords(), 
+                    e2.getEntity(i).getShapeCoords());
+        }
+        PlotRenderingInfo p1 = expectedInfo.getPlotInfo();
+        PlotRenderingInfo p2 = actualInfo.getPlotInfo();
+        assertEquals(p1.getSubplotCount(), p2.getSubplotCount());
+        for (int i = 0; i < p1.getSubplotCount(); i++) {
+            assertEquals(p1.getSubplotInfo(i).getDataArea(), 
+                    p2.getSubplotInfo(i).getDataArea());
+            assertSame(actualInfo, p2.getSubplotInfo(i).getOwner());
+        }
+    }
+
     /**
      * Creates a dataset.
      *
@@ -42,23 +42,33 @@
 package org.jfree.chart.plot;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
+import org.jfree.chart.axis.AxisSpace;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.event.ChartChangeEvent;
+import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
@@ -164,6 +174,165 @@ public class CombinedDomainXYPlotTest implements ChartChangeListener {
         assertTrue(this.events.isEmpty());
     }
 
+    /**
+     * Drawing the subplots concurrently should give the same output as
+     * drawing them one after the other.  Each chart is new, so the renderers
+     * fill in their series paints, strokes and shapes from the shared
+     * drawing supplier as the subplots are drawn.
+     */
+    @Test
+    public void testDrawSubplotsConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 10; i++) {
+                ChartRenderingInfo info1 = new ChartRenderingInfo();
+                BufferedImage image1 = drawChart(createPlot3(), null, info1);
+                ChartRenderingInfo info2 = new ChartRenderingInfo();
+                BufferedImage image2 = drawChart(createPlot3(), executor, 
+                        info2);
+                assertSameOutput(image1, info1, image2, info2);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * The off-screen image for a subplot drawn concurrently starts at the
+     * subplot's area (less a margin) rather than at the top of the chart.
+     */
+    @Test
+    public void testSubplotLayerSize() {
+        final double[] origin = new double[1];
+        final Rectangle2D[] area = new Rectangle2D[1];
+        CombinedDomainXYPlot plot = createPlot();
+        XYPlot subplot3 = new XYPlot(createDataset2(), null,
+                new NumberAxis("Range 3"), new StandardXYItemRenderer()) {
+            @Override
+            public void draw(Graphics2D g2, Rectangle2D plotArea,
+                    Point2D anchor, PlotState parentState,
+                    PlotRenderingInfo info) {
+                origin[0] = -g2.getTransform().getTranslateY();
+                area[0] = plotArea;
+                super.draw(g2, plotArea, anchor, parentState, info);
+            }
+        };
+        plot.add(subplot3, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ChartRenderingInfo info1 = new ChartRenderingInfo();
+            BufferedImage image1 = drawChart(plot, null, info1);
+            assertEquals(0.0, origin[0], 0.0);
+            ChartRenderingInfo info2 = new ChartRenderingInfo();
+            BufferedImage image2 = drawChart(plot, executor, info2);
+            assertSameOutput(image1, info1, image2, info2);
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertTrue(origin[0] > 0.0);
+        assertTrue(origin[0] >= area[0].getY() - 16.0 - 2.0);
+    }
+
+    /**
+     * Creates a combined plot with three subplots.
+     */
+    private CombinedDomainXYPlot createPlot3() {
+        CombinedDomainXYPlot plot = createPlot();
+        XYPlot subplot3 = new XYPlot(createDataset2(), null, 
+                new NumberAxis("Range 3"), new StandardXYItemRenderer());
+        plot.add(subplot3, 2);
+        return plot;
+    }
+
+    /**
+     * The layout is reused when the plot is redrawn at the same size, and
+     * worked out again when the plot changes.
+     */
+    @Test
+    public void testLayoutReused() {
+        CombinedDomainXYPlot plot = createPlot();
+        CountingAxis axis = new CountingAxis();
+        XYPlot subplot2 = (XYPlot) plot.getSubplots().get(1);
+        subplot2.setRangeAxis(axis);
+        drawChart(plot, null, null);
+        int count = axis.count;
+        assertTrue(count > 0);
+        drawChart(plot, null, null);
+        assertEquals(count, axis.count);
+        
+        // a change to the subplot's axis discards the layout
+        axis.setLabel("Range 2");
+        drawChart(plot, null, null);
+        assertTrue(axis.count > count);
+    }
+
+    /**
+     * A number axis that counts the calls to reserveSpace().
+     */
+    private static class CountingAxis extends NumberAxis {
+        
+        int count;
+
+        @Override
+        public AxisSpace reserveSpace(Graphics2D g2, Plot plot, 
+                Rectangle2D plotArea, RectangleEdge edge, AxisSpace space) {
+            this.count++;
+            return super.reserveSpace(g2, plot, plotArea, edge, space);
+        }
+    }
+
+    /**
+     * Draws a chart, without a legend, for the specified plot.  Without a
+     * legend nothing looks up the series styles before the subplots are
+     * drawn.
+     */
+    private static BufferedImage drawChart(Plot plot, Executor executor,
+            ChartRenderingInfo info) {
+        JFreeChart chart = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT,
+                plot, false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_SUBPLOT_EXECUTOR, executor);
+        chart.draw(g2, new Rectangle2D.Double(0.0, 0.0, 400.0, 300.0), null,
+                info);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Checks that two images and the rendering info collected while drawing
+     * them are identical.
+     */
+    private static void assertSameOutput(BufferedImage expected,
+            ChartRenderingInfo expectedInfo, BufferedImage actual,
+            ChartRenderingInfo actualInfo) {
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+        EntityCollection e1 = expectedInfo.getEntityCollection();
+        EntityCollection e2 = actualInfo.getEntityCollection();
+        assertEquals(e1.getEntityCount(), e2.getEntityCount());
+        for (int i = 0; i < e1.getEntityCount(); i++) {
+            assertEquals(e1.getEntity(i).getClass(), 
+                    e2.getEntity(i).getClass());
+            assertEquals(e1.getEntity(i).getShapeCoords(), 
+                    e2.getEntity(i).getShapeCoords());
+        }
+        PlotRenderingInfo p1 = expectedInfo.getPlotInfo();
+        PlotRenderingInfo p2 = actualInfo.getPlotInfo();
+        assertEquals(p1.getSubplotCount(), p2.getSubplotCount());
+        for (int i = 0; i < p1.getSubplotCount(); i++) {
+            assertEquals(p1.getSubplotInfo(i).getDataArea(), 
+                    p2.getSubplotInfo(i).getDataArea());
+            assertSame(actualInfo, p2.getSubplotInfo(i).getOwner());
+        }
+    }
+
     /**
      * Creates a sample dataset.
      *
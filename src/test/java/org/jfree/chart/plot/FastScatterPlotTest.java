@@ -50,12 +50,26 @@ import static org.junit.Assert.fail;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Paint;
 import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.ui.RectangleEdge;
 import org.junit.Test;
 
 /**
@@ -127,6 +141,11 @@ public class FastScatterPlotTest {
         plot2.setRangePannable(true);
         assertTrue(plot1.equals(plot2));
 
+        plot1.setDensityPaintScale(new GrayPaintScale(0.0, 10.0));
+        assertFalse(plot1.equals(plot2));
+        plot2.setDensityPaintScale(new GrayPaintScale(0.0, 10.0));
+        assertTrue(plot1.equals(plot2));
+
     }
 
     /**
@@ -219,6 +238,177 @@ public class FastScatterPlotTest {
         }
     }
 
+    /**
+     * Renders a plot into an image, clipped to the data area as in the
+     * draw() method.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     *
+     * @return The image.
+     */
+    private BufferedImage render(FastScatterPlot plot, Rectangle2D dataArea) {
+        return render(plot, dataArea, null);
+    }
+
+    private BufferedImage render(FastScatterPlot plot, Rectangle2D dataArea,
+            Executor executor) {
+        BufferedImage image = new BufferedImage(120, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_RENDER_EXECUTOR, executor);
+        g2.clip(dataArea);
+        plot.render(g2, dataArea, null, null);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Drawing to an image writes the points into a pixel grid; the result
+     * should match filling a rectangle for each point.
+     */
+    @Test
+    public void testRenderToImage() {
+        float[][] data = createData();
+        data[0][0] = Float.NaN;
+        data[0][1] = 5000.0f;
+        ValueAxis domainAxis = new NumberAxis("X");
+        domainAxis.setRange(50.0, 1200.0);
+        ValueAxis rangeAxis = new NumberAxis("Y");
+        rangeAxis.setRange(0.0, 1200.0);
+        rangeAxis.setInverted(true);
+        FastScatterPlot plot = new FastScatterPlot(data, domainAxis,
+                rangeAxis);
+        plot.setPaint(Color.BLUE);
+        Rectangle2D dataArea = new Rectangle2D.Double(10.3, 5.6, 100.5,
+                80.2);
+        BufferedImage actual = render(plot, dataArea);
+
+        BufferedImage expected = new BufferedImage(120, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = expected.createGraphics();
+        g2.clip(dataArea);
+        g2.setPaint(Color.BLUE);
+        for (int i = 0; i < data[0].length; i++) {
+            int x = (int) domainAxis.valueToJava2D(data[0][i], dataArea,
+                    RectangleEdge.BOTTOM);
+            int y = (int) rangeAxis.valueToJava2D(data[1][i], dataArea,
+                    RectangleEdge.LEFT);
+            g2.fillRect(x, y, 1, 1);
+        }
+        g2.dispose();
+        for (int x = 0; x < 120; x++) {
+            for (int y = 0; y < 100; y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * With a density paint scale, each pixel is coloured by the number of
+     * points falling on it.
+     */
+    @Test
+    public void testRenderDensity() {
+        float[][] data = new float[][] {{1.0f, 1.0f, 1.0f, 5.0f},
+                {1.0f, 1.0f, 1.0f, 5.0f}};
+        FastScatterPlot plot = new FastScatterPlot(data, new NumberAxis("X"),
+                new NumberAxis("Y"));
+        plot.getDomainAxis().setRange(0.0, 10.0);
+        plot.getRangeAxis().setRange(0.0, 10.0);
+        plot.setDensityPaintScale(new GrayPaintScale(0.0, 3.0));
+        BufferedImage image = render(plot, new Rectangle2D.Double(0.0, 0.0,
+                100.0, 100.0));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(10, 90));
+        assertEquals(new Color(85, 85, 85).getRGB(), image.getRGB(50, 50));
+        assertEquals(0, image.getRGB(20, 20));
+    }
+
+    /**
+     * The density paint scale is only asked for the counts that occur, even
+     * when one pixel has far more points than the grid has pixels.
+     */
+    @Test
+    public void testRenderDensityHotPixel() {
+        int hot = 50000;
+        float[][] data = new float[2][hot + 3];
+        for (int i = 0; i < hot; i++) {
+            data[0][i] = 1.0f;
+            data[1][i] = 1.0f;
+        }
+        data[0][hot] = 5.0f;
+        data[1][hot] = 5.0f;
+        data[0][hot + 1] = 7.0f;
+        data[1][hot + 1] = 7.0f;
+        data[0][hot + 2] = 7.0f;
+        data[1][hot + 2] = 7.0f;
+        final List<Double> values = new ArrayList<Double>();
+        final GrayPaintScale scale = new GrayPaintScale(0.0, hot);
+        PaintScale recording = new PaintScale() {
+            @Override
+            public double getLowerBound() {
+                return scale.getLowerBound();
+            }
+            @Override
+            public double getUpperBound() {
+                return scale.getUpperBound();
+            }
+            @Override
+            public Paint getPaint(double value) {
+                values.add(value);
+                return scale.getPaint(value);
+            }
+        };
+        FastScatterPlot plot = new FastScatterPlot(data, new NumberAxis("X"),
+                new NumberAxis("Y"));
+        plot.getDomainAxis().setRange(0.0, 10.0);
+        plot.getRangeAxis().setRange(0.0, 10.0);
+        plot.setDensityPaintScale(recording);
+        BufferedImage image = render(plot, new Rectangle2D.Double(0.0, 0.0,
+                100.0, 100.0));
+        assertEquals(3, values.size());
+        assertTrue(values.contains((double) hot));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(10, 90));
+        assertEquals(((Color) scale.getPaint(2.0)).getRGB(), 
+                image.getRGB(70, 30));
+        assertEquals(((Color) scale.getPaint(1.0)).getRGB(), 
+                image.getRGB(50, 50));
+    }
+
+    /**
+     * Counting the points in several tasks gives the same image as counting
+     * them on the drawing thread.
+     */
+    @Test
+    public void testRenderWithExecutor() {
+        Random random = new Random(5L);
+        float[][] data = new float[2][FastScatterPlot.PARALLEL_THRESHOLD * 2
+                + 5];
+        for (int i = 0; i < data[0].length; i++) {
+            data[0][i] = (float) random.nextGaussian();
+            data[1][i] = (float) random.nextGaussian();
+        }
+        FastScatterPlot plot = new FastScatterPlot(data, new NumberAxis("X"),
+                new NumberAxis("Y"));
+        plot.getDomainAxis().setRange(-3.0, 3.0);
+        plot.getRangeAxis().setRange(-3.0, 3.0);
+        plot.setDensityPaintScale(new GrayPaintScale(0.0, 500.0));
+        Rectangle2D dataArea = new Rectangle2D.Double(0.0, 0.0, 100.0, 80.0);
+        BufferedImage expected = render(plot, dataArea);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            BufferedImage actual = render(plot, dataArea, executor);
+            for (int x = 0; x < 120; x++) {
+                for (int y = 0; y < 100; y++) {
+                    assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * Populates the data array with random values.
      *
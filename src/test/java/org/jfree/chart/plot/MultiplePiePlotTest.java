@@ -52,7 +52,9 @@ import static org.junit.Assert.assertNull;
 
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -203,4 +205,33 @@ public class MultiplePiePlotTest implements PlotChangeListener {
         assertEquals(0, item2.getDatasetIndex());
     }
 
+    /**
+     * The pies share one {@link PiePlot}, and the label layout for each pie
+     * should be found again when the chart is redrawn.
+     */
+    @Test
+    public void testLabelLayoutReused() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        dataset.addValue(35.0, "S1", "C1");
+        dataset.addValue(45.0, "S1", "C2");
+        dataset.addValue(55.0, "S2", "C1");
+        dataset.addValue(15.0, "S2", "C2");
+        dataset.addValue(25.0, "S3", "C1");
+        dataset.addValue(20.0, "S3", "C2");
+        MultiplePiePlot plot = new MultiplePiePlot(dataset);
+        JFreeChart chart = new JFreeChart(plot);
+        PiePlot piePlot = (PiePlot) plot.getPieChart().getPlot();
+        PiePlotTest.CountingLabelDistributor distributor
+                = new PiePlotTest.CountingLabelDistributor();
+        piePlot.setLabelDistributor(distributor);
+        BufferedImage image = new BufferedImage(600, 400,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 600, 400));
+        assertEquals(4, distributor.layoutCount);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 600, 400));
+        assertEquals(4, distributor.layoutCount);
+        g2.dispose();
+    }
+
 }
@@ -677,6 +677,60 @@ public class PiePlotTest {
     
     private static final double EPSILON = 0.000000001;
 
+    /**
+     * A label distributor that counts the number of layouts.
+     */
+    static class CountingLabelDistributor extends PieLabelDistributor {
+
+        int layoutCount;
+
+        CountingLabelDistributor() {
+            super(0);
+        }
+
+        @Override
+        public void distributeLabels(double minY, double height) {
+            this.layoutCount++;
+            super.distributeLabels(minY, height);
+        }
+    }
+
+    /**
+     * Redrawing an unchanged chart should reuse the label layout, while a
+     * change to the data or the label style should lay the labels out again.
+     */
+    @Test
+    public void testLabelLayoutReused() {
+        DefaultPieDataset dataset = new DefaultPieDataset();
+        dataset.setValue("A", 10.0);
+        dataset.setValue("B", 20.0);
+        dataset.setValue("C", 30.0);
+        dataset.setValue("D", 40.0);
+        JFreeChart chart = ChartFactory.createPieChart("Title", dataset);
+        PiePlot plot = (PiePlot) chart.getPlot();
+        CountingLabelDistributor distributor = new CountingLabelDistributor();
+        plot.setLabelDistributor(distributor);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        assertEquals(2, distributor.layoutCount);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        assertEquals(2, distributor.layoutCount);
+
+        dataset.setValue("B", 25.0);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        assertEquals(4, distributor.layoutCount);
+
+        plot.setLabelFont(new Font("Dialog", Font.BOLD, 14));
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        assertEquals(6, distributor.layoutCount);
+
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 500, 300));
+        assertEquals(8, distributor.layoutCount);
+        g2.dispose();
+    }
+
     @Test
     public void testBug1126_e() throws CloneNotSupportedException {
         DefaultPieDataset dataset1 = new DefaultPieDataset();
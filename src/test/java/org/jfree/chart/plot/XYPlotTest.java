@@ -51,6 +51,7 @@
 
 package org.jfree.chart.plot;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -63,6 +64,7 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.Stroke;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -71,6 +73,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
@@ -90,6 +93,7 @@ import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.ui.Layer;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.util.DefaultShadowGenerator;
+import org.jfree.chart.util.StatisticalRenderMonitor;
 import org.jfree.data.Range;
 import org.jfree.data.time.Day;
 import org.jfree.data.time.TimeSeries;
@@ -1427,5 +1431,182 @@ public class XYPlotTest {
         s2.add(Double.NaN, 0.5); 
         assertEquals(new Range(1.0, 6.0), plot.getDataRange(xAxis));
         assertEquals(new Range(2.0, 10.0), plot.getDataRange(yAxis)); // only y-values for items in the x-range        
-    }    
+    }
+
+    /**
+     * Draws a chart with the given anchor and returns the crosshair values.
+     */
+    private double[] drawWithAnchor(XYPlot plot, Point2D anchor) {
+        return drawWithAnchor(plot, anchor, null);
+    }
+
+    /**
+     * Draws a chart with the given anchor, culling the items to a clip if
+     * one is given, and returns the crosshair values.
+     */
+    private double[] drawWithAnchor(XYPlot plot, Point2D anchor,
+            Rectangle clip) {
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        if (clip != null) {
+            g2.setClip(clip);
+            g2.setRenderingHint(ChartHints.KEY_CULL_TO_CLIP, new Double(4.0));
+        }
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), anchor, null);
+        g2.dispose();
+        return new double[] {plot.getDomainCrosshairValue(),
+                plot.getRangeCrosshairValue()};
+    }
+
+    /**
+     * The crosshair point found by the search of a sorted dataset must be
+     * the one found by considering each item while drawing.
+     */
+    @Test
+    public void testCrosshairLockedOnData() {
+        java.util.Random random = new java.util.Random(42L);
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        for (int s = 0; s < 3; s++) {
+            XYSeries series = new XYSeries("S" + s);
+            for (int i = 0; i < 200; i++) {
+                double y = random.nextInt(5) == 0 ? Double.NaN
+                        : random.nextGaussian() * 10.0;
+                series.add(random.nextInt(400), y);
+            }
+            dataset.addSeries(series);
+        }
+        boolean[][] locks = {{true, true}, {true, false}, {false, true}};
+        PlotOrientation[] orientations = {PlotOrientation.VERTICAL,
+                PlotOrientation.HORIZONTAL};
+        for (PlotOrientation orientation : orientations) {
+            for (boolean[] lock : locks) {
+                XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer();
+                r1.setSeriesVisible(1, Boolean.FALSE);
+                XYLineAndShapeRenderer r2 = new XYLineAndShapeRenderer() {
+                    @Override
+                    protected void updateCrosshairValues(
+                            CrosshairState crosshairState, double x,
+                            double y, int datasetIndex, double transX,
+                            double transY, PlotOrientation orientation) {
+                        super.updateCrosshairValues(crosshairState, x, y,
+                                datasetIndex, transX, transY, orientation);
+                    }
+                };
+                r2.setSeriesVisible(1, Boolean.FALSE);
+                assertTrue(r1.isCrosshairPointItemValue());
+                assertFalse(r2.isCrosshairPointItemValue());
+                XYPlot p1 = new XYPlot(dataset, new NumberAxis("X"),
+                        new NumberAxis("Y"), r1);
+                XYPlot p2 = new XYPlot(dataset, new NumberAxis("X"),
+                        new NumberAxis("Y"), r2);
+                for (XYPlot p : new XYPlot[] {p1, p2}) {
+                    p.setOrientation(orientation);
+                    p.getDomainAxis().setRange(50.0, 300.0);
+                    p.setDomainCrosshairVisible(true);
+                    p.setRangeCrosshairVisible(true);
+                    p.setDomainCrosshairLockedOnData(lock[0]);
+                    p.setRangeCrosshairLockedOnData(lock[1]);
+                }
+                for (int i = 0; i < 20; i++) {
+                    Point2D anchor = new Point2D.Double(
+                            random.nextInt(400), random.nextInt(300));
+                    assertArrayEquals(drawWithAnchor(p2, anchor),
+                            drawWithAnchor(p1, anchor), 0.0);
+                }
+
+                // a strip redraw only considers the items that are drawn
+                Rectangle clip = orientation == PlotOrientation.VERTICAL
+                        ? new Rectangle(150, 0, 30, 300)
+                        : new Rectangle(0, 100, 400, 30);
+                for (int i = 0; i < 20; i++) {
+                    Point2D anchor = new Point2D.Double(
+                            random.nextInt(400), random.nextInt(300));
+                    assertArrayEquals(drawWithAnchor(p2, anchor, clip),
+                            drawWithAnchor(p1, anchor, clip), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * While both crosshairs are hidden the crosshair values are not updated
+     * from the data.
+     */
+    @Test
+    public void testCrosshairHidden() {
+        XYSeries series = new XYSeries("S");
+        for (int i = 0; i < 100; i++) {
+            series.add(i, i);
+        }
+        XYPlot plot = new XYPlot(new XYSeriesCollection(series),
+                new NumberAxis("X"), new NumberAxis("Y"),
+                new XYLineAndShapeRenderer());
+        plot.setDomainCrosshairValue(-1.0);
+        plot.setRangeCrosshairValue(-2.0);
+        Point2D anchor = new Point2D.Double(200, 150);
+        assertArrayEquals(new double[] {-1.0, -2.0},
+                drawWithAnchor(plot, anchor), 0.0);
+        plot.setRangeCrosshairVisible(true);
+        double[] values = drawWithAnchor(plot, anchor);
+        assertEquals(values[0], values[1], 0.0);
+        assertTrue(values[0] > 0.0);
+    }
+
+    /**
+     * Draws a chart with a clip, optionally culling the items to the clip,
+     * and returns the number of items passed to the renderer.
+     */
+    private static long drawClipped(JFreeChart chart, BufferedImage image,
+            Rectangle clip, boolean cull) {
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        Graphics2D g2 = image.createGraphics();
+        g2.setClip(clip);
+        if (cull) {
+            g2.setRenderingHint(ChartHints.KEY_CULL_TO_CLIP, new Double(8.0));
+        }
+        chart.draw(g2, new Rectangle2D.Double(0, 0, image.getWidth(),
+                image.getHeight()));
+        g2.dispose();
+        return monitor.getItemsDrawn();
+    }
+
+    /**
+     * With the KEY_CULL_TO_CLIP hint only the items near the clip are passed
+     * to the renderer, and the pixels inside the clip are unchanged.
+     */
+    @Test
+    public void testCullToClip() {
+        for (PlotOrientation orientation : new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL}) {
+            XYSeries series = new XYSeries("S");
+            for (int i = 0; i < 1000; i++) {
+                series.add(i, Math.sin(i / 10.0));
+            }
+            XYPlot plot = new XYPlot(new XYSeriesCollection(series),
+                    new NumberAxis("X"), new NumberAxis("Y"),
+                    new XYLineAndShapeRenderer(true, true));
+            plot.setOrientation(orientation);
+            JFreeChart chart = new JFreeChart(plot);
+            Rectangle clip = orientation == PlotOrientation.VERTICAL
+                    ? new Rectangle(200, 0, 20, 300)
+                    : new Rectangle(0, 120, 400, 20);
+            BufferedImage image1 = new BufferedImage(400, 300,
+                    BufferedImage.TYPE_INT_ARGB);
+            long all = drawClipped(chart, image1, clip, false);
+            BufferedImage image2 = new BufferedImage(400, 300,
+                    BufferedImage.TYPE_INT_ARGB);
+            long culled = drawClipped(chart, image2, clip, true);
+            assertEquals(1000, all);
+            assertTrue(culled < all / 4);
+            for (int x = 0; x < 400; x++) {
+                for (int y = 0; y < 300; y++) {
+                    assertEquals(image1.getRGB(x, y), image2.getRGB(x, y));
+                }
+            }
+        }
+    }
+
 }
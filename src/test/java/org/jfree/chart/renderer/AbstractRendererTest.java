@@ -61,6 +61,7 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Paint;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.Stroke;
@@ -785,4 +786,59 @@ public class AbstractRendererTest {
         assertNotNull(r.getSeriesOutlinePaint(0));
     }
 
+    /**
+     * The resolved series styles are cached, but every change to them must
+     * be seen, with or without notification.
+     */
+    @Test
+    public void testItemStyleCache() {
+        BarRenderer r = new BarRenderer();
+        r.setAutoPopulateSeriesPaint(false);
+        assertEquals(AbstractRenderer.DEFAULT_PAINT, r.getItemPaint(0, 0));
+        r.setSeriesPaint(0, Color.RED, false);
+        assertEquals(Color.RED, r.getItemPaint(0, 1));
+        r.setDefaultPaint(Color.BLUE, false);
+        assertEquals(Color.BLUE, r.getItemPaint(3, 0));
+        r.clearSeriesPaints(false);
+        assertEquals(Color.BLUE, r.getItemPaint(0, 0));
+
+        r.setDefaultStroke(new BasicStroke(2.0f), false);
+        r.setAutoPopulateSeriesStroke(false);
+        assertEquals(new BasicStroke(2.0f), r.getItemStroke(1, 0));
+        r.setSeriesStroke(1, new BasicStroke(3.0f), false);
+        assertEquals(new BasicStroke(3.0f), r.getItemStroke(1, 0));
+
+        r.setSeriesOutlinePaint(20, Color.GREEN, false);
+        assertEquals(Color.GREEN, r.getItemOutlinePaint(20, 0));
+        r.setSeriesOutlinePaint(20, Color.YELLOW, false);
+        assertEquals(Color.YELLOW, r.getItemOutlinePaint(20, 0));
+
+        // auto-populated styles are fixed once the drawing supplier exists
+        r.setAutoPopulateSeriesShape(true);
+        Shape s1 = r.getItemShape(0, 0);
+        assertEquals(AbstractRenderer.DEFAULT_SHAPE, s1);
+        CategoryPlot plot = new CategoryPlot();
+        plot.setRenderer(r);
+        Shape s2 = r.getItemShape(0, 0);
+        assertNotNull(r.getSeriesShape(0));
+        assertEquals(r.getSeriesShape(0), s2);
+        assertTrue(s2 == r.getItemShape(0, 5));
+    }
+
+    /**
+     * A subclass that overrides the series style lookup is not cached.
+     */
+    @Test
+    public void testItemStyleCacheWithOverride() {
+        final Color[] paint = {Color.RED};
+        BarRenderer r = new BarRenderer() {
+            @Override
+            public Paint lookupSeriesPaint(int series) {
+                return paint[0];
+            }
+        };
+        assertEquals(Color.RED, r.getItemPaint(0, 0));
+        paint[0] = Color.BLUE;
+        assertEquals(Color.BLUE, r.getItemPaint(0, 0));
+    }
 }
@@ -0,0 +1,114 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Paint;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CompiledPaintScale} class.
+ */
+public class CompiledPaintScaleTest {
+
+    /** Some values to look up, including the awkward ones. */
+    private static final double[] VALUES = {Double.NaN,
+            Double.NEGATIVE_INFINITY, -10.0, -0.0, 0.0, 0.5, 1.0, 1.5, 2.0,
+            2.25, 2.999, 3.0, 3.5, 4.0, 4.5, 5.0, 9.0,
+            Double.POSITIVE_INFINITY};
+
+    /**
+     * Checks that the compiled scale returns the same colors as the source
+     * scale.
+     *
+     * @param scale  the source scale.
+     */
+    private void checkSameColors(PaintScale scale) {
+        CompiledPaintScale compiled = CompiledPaintScale.compile(scale);
+        for (int i = 0; i < VALUES.length; i++) {
+            Color c = (Color) scale.getPaint(VALUES[i]);
+            assertEquals("value " + VALUES[i], c.getRGB(),
+                    compiled.getARGB(VALUES[i]));
+        }
+        for (int i = 0; i <= 1000; i++) {
+            double v = -1.0 + i * 0.007;
+            Color c = (Color) scale.getPaint(v);
+            assertEquals("value " + v, c.getRGB(), compiled.getARGB(v));
+        }
+    }
+
+    /**
+     * A compiled gray scale matches the source scale.
+     */
+    @Test
+    public void testGray() {
+        checkSameColors(new GrayPaintScale());
+        checkSameColors(new GrayPaintScale(-2.0, 4.5, 128));
+    }
+
+    /**
+     * A compiled lookup scale matches the source scale.
+     */
+    @Test
+    public void testLookup() {
+        LookupPaintScale scale = new LookupPaintScale(0.0, 4.5, Color.PINK);
+        checkSameColors(scale);
+        scale.add(1.0, Color.RED);
+        checkSameColors(scale);
+        scale.add(2.0, Color.GREEN);
+        scale.add(3.0, new Color(1, 2, 3, 4));
+        scale.add(0.0, Color.BLUE);
+        checkSameColors(scale);
+    }
+
+    /**
+     * Scales that might return any paint are not compiled.
+     */
+    @Test
+    public void testNotCompiled() {
+        LookupPaintScale lookup = new LookupPaintScale();
+        lookup.add(0.5, new GradientPaint(0f, 0f, Color.RED, 1f, 1f,
+                Color.BLUE));
+        assertNull(CompiledPaintScale.compile(lookup));
+
+        GrayPaintScale gray = new GrayPaintScale() {
+            @Override
+            public Paint getPaint(double value) {
+                return Color.RED;
+            }
+        };
+        assertNull(CompiledPaintScale.compile(gray));
+    }
+
+}
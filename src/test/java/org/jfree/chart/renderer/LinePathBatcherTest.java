@@ -0,0 +1,321 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.jfree.chart.ChartHints;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link LinePathBatcher} class.
+ */
+public class LinePathBatcherTest {
+
+    /** The strokes to test. */
+    private static final Stroke[] STROKES = {new BasicStroke(1.0f),
+            new BasicStroke(0.5f), new BasicStroke(3.0f,
+            BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER),
+            new BasicStroke(4.0f, BasicStroke.CAP_ROUND,
+            BasicStroke.JOIN_ROUND), new BasicStroke(2.0f,
+            BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 1.0f,
+            new float[] {6.0f, 3.0f}, 0.0f)};
+
+    /**
+     * Creates a graphics device for an image with a white background.
+     *
+     * @param image  the image.
+     * @param antialias  antialiasing on?
+     *
+     * @return The graphics device.
+     */
+    private static Graphics2D createGraphics(BufferedImage image,
+            boolean antialias) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias
+                ? RenderingHints.VALUE_ANTIALIAS_ON
+                : RenderingHints.VALUE_ANTIALIAS_OFF);
+        return g2;
+    }
+
+    /**
+     * Returns the pixels of an image.
+     *
+     * @param image  the image.
+     *
+     * @return The pixels.
+     */
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+                0, image.getWidth());
+    }
+
+    /**
+     * Without the {@code KEY_BATCH_LINES} hint, segments are drawn one at a
+     * time (with exactly the same pixels as drawing them directly).
+     */
+    @Test
+    public void testSegmentsNotMerged() {
+        Random random = new Random(12345L);
+        for (Stroke stroke : STROKES) {
+            double[] coords = new double[400];
+            for (int i = 0; i < coords.length; i++) {
+                coords[i] = random.nextDouble() * 100.0;
+            }
+            BufferedImage expected = new BufferedImage(100, 100,
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = createGraphics(expected, true);
+            g2.setPaint(Color.BLUE);
+            g2.setStroke(stroke);
+            for (int i = 0; i < coords.length; i += 4) {
+                g2.draw(new Line2D.Double(coords[i], coords[i + 1],
+                        coords[i + 2], coords[i + 3]));
+            }
+            g2.dispose();
+
+            BufferedImage actual = new BufferedImage(100, 100,
+                    BufferedImage.TYPE_INT_RGB);
+            g2 = createGraphics(actual, true);
+            LinePathBatcher batcher = new LinePathBatcher();
+            batcher.begin(g2);
+            batcher.setStyle(Color.BLUE, stroke);
+            for (int i = 0; i < coords.length; i += 4) {
+                batcher.addSegment(coords[i], coords[i + 1], coords[i + 2],
+                        coords[i + 3]);
+            }
+            batcher.flush();
+            g2.dispose();
+            assertEquals(100, batcher.getDrawCount());
+            assertArrayEquals(pixels(expected), pixels(actual));
+        }
+    }
+
+    /**
+     * With the {@code KEY_BATCH_LINES} hint, segments are merged.
+     */
+    @Test
+    public void testSegmentsMerged() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = createGraphics(image, false);
+        g2.setRenderingHint(ChartHints.KEY_BATCH_LINES, Boolean.TRUE);
+        LinePathBatcher batcher = new LinePathBatcher();
+        batcher.begin(g2);
+        batcher.setStyle(Color.BLUE, new BasicStroke(1.0f));
+        batcher.addSegment(0.0, 0.0, 5.0, 5.0);
+        batcher.addSegment(5.0, 5.0, 9.0, 0.0);
+        assertEquals(0, batcher.getDrawCount());
+        batcher.flush();
+        assertEquals(1, batcher.getDrawCount());
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(2, 2));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(7, 2));
+        g2.dispose();
+    }
+
+    /**
+     * A change of style draws the current batch, and the paint and stroke
+     * of the graphics device are left unchanged.
+     */
+    @Test
+    public void testStyleChange() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = createGraphics(image, false);
+        g2.setRenderingHint(ChartHints.KEY_BATCH_LINES, Boolean.TRUE);
+        g2.setPaint(Color.GREEN);
+        Stroke stroke = g2.getStroke();
+        LinePathBatcher batcher = new LinePathBatcher();
+        batcher.begin(g2);
+        batcher.setStyle(Color.BLUE, new BasicStroke(2.0f));
+        batcher.addSegment(0.0, 0.0, 5.0, 0.0);
+        batcher.addSegment(0.0, 2.0, 5.0, 2.0);
+        assertEquals(0, batcher.getDrawCount());
+        batcher.setStyle(Color.BLUE, new BasicStroke(2.0f));
+        assertEquals(0, batcher.getDrawCount());
+        batcher.setStyle(Color.RED, new BasicStroke(2.0f));
+        assertEquals(1, batcher.getDrawCount());
+        batcher.addSegment(0.0, 4.0, 5.0, 4.0);
+        batcher.flush();
+        assertEquals(2, batcher.getDrawCount());
+        assertEquals(Color.GREEN, g2.getPaint());
+        assertEquals(stroke, g2.getStroke());
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(2, 2));
+        assertEquals(Color.RED.getRGB(), image.getRGB(2, 4));
+        g2.dispose();
+    }
+
+    /**
+     * A polyline gives the same pixels as a path through all its points
+     * (some of which are omitted because they lie on a straight line).
+     */
+    @Test
+    public void testPolyline() {
+        double[] xy = {10.0, 10.0, 20.0, 20.0, 30.0, 30.0, 30.0, 30.0, 40.0,
+                30.0, 50.0, 30.0, 60.0, 80.0, 55.0, 75.0, 90.0, 10.0};
+        Stroke stroke = new BasicStroke(3.0f, BasicStroke.CAP_BUTT,
+                BasicStroke.JOIN_MITER, 10.0f, new float[] {5.0f, 2.0f},
+                0.0f);
+        for (int aa = 0; aa < 2; aa++) {
+            BufferedImage expected = new BufferedImage(100, 100,
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = createGraphics(expected, aa == 1);
+            GeneralPath path = new GeneralPath();
+            path.moveTo(xy[0], xy[1]);
+            for (int i = 2; i < xy.length; i += 2) {
+                path.lineTo(xy[i], xy[i + 1]);
+            }
+            g2.setPaint(Color.BLUE);
+            g2.setStroke(stroke);
+            g2.draw(path);
+            g2.dispose();
+
+            BufferedImage actual = new BufferedImage(100, 100,
+                    BufferedImage.TYPE_INT_RGB);
+            g2 = createGraphics(actual, aa == 1);
+            LinePathBatcher batcher = new LinePathBatcher();
+            batcher.begin(g2);
+            batcher.setStyle(Color.BLUE, stroke);
+            batcher.moveTo(xy[0], xy[1]);
+            for (int i = 2; i < xy.length; i += 2) {
+                batcher.lineTo(xy[i], xy[i + 1]);
+            }
+            batcher.flush();
+            g2.dispose();
+            assertEquals(1, batcher.getDrawCount());
+            assertArrayEquals(pixels(expected), pixels(actual));
+        }
+    }
+
+    /**
+     * Without the {@code KEY_BATCH_LINES} hint, a polyline with more points
+     * than the batch limit is still drawn as one path, so that a dashed and
+     * translucent stroke looks the same as for a single path.
+     */
+    @Test
+    public void testPolylineNotSplit() {
+        Stroke stroke = new BasicStroke(3.0f, BasicStroke.CAP_BUTT,
+                BasicStroke.JOIN_MITER, 10.0f, new float[] {5.0f, 2.0f},
+                0.0f);
+        Color paint = new Color(0, 0, 255, 128);
+        BufferedImage expected = new BufferedImage(100, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = createGraphics(expected, true);
+        GeneralPath path = new GeneralPath();
+        path.moveTo(0.0, 0.0);
+        for (int i = 1; i <= 10; i++) {
+            path.lineTo(i * 9.0, i % 2 == 0 ? 0.0 : 9.0);
+        }
+        g2.setPaint(paint);
+        g2.setStroke(stroke);
+        g2.draw(path);
+        g2.dispose();
+
+        BufferedImage actual = new BufferedImage(100, 10,
+                BufferedImage.TYPE_INT_RGB);
+        g2 = createGraphics(actual, true);
+        LinePathBatcher batcher = new LinePathBatcher();
+        batcher.setMaximumPointCount(4);
+        batcher.begin(g2);
+        batcher.setStyle(paint, stroke);
+        batcher.moveTo(0.0, 0.0);
+        for (int i = 1; i <= 10; i++) {
+            batcher.lineTo(i * 9.0, i % 2 == 0 ? 0.0 : 9.0);
+        }
+        batcher.flush();
+        g2.dispose();
+        assertEquals(1, batcher.getDrawCount());
+        assertArrayEquals(pixels(expected), pixels(actual));
+    }
+
+    /**
+     * With the {@code KEY_BATCH_LINES} hint, a long polyline is drawn in
+     * several batches, each continuing from the last point of the one
+     * before.
+     */
+    @Test
+    public void testMaximumPointCount() {
+        BufferedImage image = new BufferedImage(100, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = createGraphics(image, false);
+        g2.setRenderingHint(ChartHints.KEY_BATCH_LINES, Boolean.TRUE);
+        LinePathBatcher batcher = new LinePathBatcher();
+        batcher.setMaximumPointCount(4);
+        batcher.begin(g2);
+        batcher.setStyle(Color.BLUE, new BasicStroke(3.0f));
+        batcher.moveTo(0.0, 0.0);
+        for (int i = 1; i <= 10; i++) {
+            batcher.lineTo(i * 9.0, i % 2 == 0 ? 0.0 : 9.0);
+        }
+        batcher.flush();
+        // 4 points, then 3 new points per batch
+        assertEquals(4, batcher.getDrawCount());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Color.BLUE.getRGB(), image.getRGB(i * 9 + 4, 4));
+        }
+        g2.dispose();
+    }
+
+    /**
+     * Points within the tolerance of the previous point are omitted.
+     */
+    @Test
+    public void testTolerance() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = createGraphics(image, false);
+        g2.setRenderingHint(ChartHints.KEY_BATCH_LINES, Boolean.TRUE);
+        LinePathBatcher batcher = new LinePathBatcher();
+        batcher.setMaximumPointCount(2);
+        batcher.setTolerance(0.5);
+        batcher.begin(g2);
+        batcher.setStyle(Color.BLUE, new BasicStroke(1.0f));
+        batcher.moveTo(1.0, 1.0);
+        batcher.lineTo(1.2, 1.3);
+        batcher.lineTo(1.4, 1.1);
+        batcher.lineTo(8.0, 8.0);
+        batcher.flush();
+        // without the tolerance the limit of 2 points would split the line
+        assertEquals(1, batcher.getDrawCount());
+        g2.dispose();
+    }
+
+}
@@ -0,0 +1,165 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link StackBuffer} class.
+ */
+public class StackBufferTest {
+
+    /**
+     * A buffer over an array of values.
+     */
+    static class ArrayStackBuffer extends StackBuffer {
+
+        /** The values, indexed by [series][item]. */
+        private final double[][] values;
+
+        /** The number of calls to getValue(). */
+        int valueCount;
+
+        ArrayStackBuffer(double[][] values, double base, boolean split) {
+            super(values.length, values[0].length, base, split, null);
+            this.values = values;
+        }
+
+        @Override
+        protected double getValue(int series, int item) {
+            this.valueCount++;
+            return this.values[series][item];
+        }
+    }
+
+    /**
+     * Creates some random values, including negative values and NaN.
+     *
+     * @param seriesCount  the number of series.
+     * @param itemCount  the number of items.
+     *
+     * @return The values.
+     */
+    private static double[][] createValues(int seriesCount, int itemCount) {
+        Random random = new Random(seriesCount * 31L + itemCount);
+        double[][] values = new double[seriesCount][itemCount];
+        for (int s = 0; s < seriesCount; s++) {
+            for (int i = 0; i < itemCount; i++) {
+                int r = random.nextInt(10);
+                values[s][i] = r == 0 ? Double.NaN
+                        : random.nextDouble() * 100.0 - 30.0;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Checks the buffer against a loop over the lower series (as the stacked
+     * renderers used to do), the results must be identical.
+     *
+     * @param buffer  the buffer.
+     * @param values  the values.
+     * @param base  the base.
+     * @param split  stack positive and negative values separately?
+     */
+    private static void check(StackBuffer buffer, double[][] values,
+            double base, boolean split) {
+        for (int series = 0; series <= values.length; series++) {
+            for (int item = 0; item < values[0].length; item++) {
+                double neg = base;
+                double pos = base;
+                for (int s = 0; s < series; s++) {
+                    double v = values[s][item];
+                    if (!Double.isNaN(v)) {
+                        if (v >= 0.0 || !split) {
+                            pos += v;
+                        }
+                        else {
+                            neg += v;
+                        }
+                    }
+                }
+                double[] stack = buffer.getStackValues(series, item);
+                assertEquals(neg, stack[0], 0.0);
+                assertEquals(pos, stack[1], 0.0);
+            }
+        }
+    }
+
+    /**
+     * All rows stored.
+     */
+    @Test
+    public void testStackValues() {
+        double[][] values = createValues(12, 50);
+        ArrayStackBuffer buffer = new ArrayStackBuffer(values, 0.0, true);
+        check(buffer, values, 0.0, true);
+        buffer = new ArrayStackBuffer(values, 2.5, true);
+        check(buffer, values, 2.5, true);
+        buffer = new ArrayStackBuffer(values, 0.0, false);
+        check(buffer, values, 0.0, false);
+    }
+
+    /**
+     * Only every n-th row stored, to limit the memory used.
+     */
+    @Test
+    public void testCellLimit() {
+        double[][] values = createValues(25, 40);
+        ArrayStackBuffer buffer = new ArrayStackBuffer(values, 0.0, true);
+        buffer.cellLimit = 200;
+        check(buffer, values, 0.0, true);
+
+        // one row only (no more than the limit)
+        buffer = new ArrayStackBuffer(values, 1.0, false);
+        buffer.cellLimit = 10;
+        check(buffer, values, 1.0, false);
+    }
+
+    /**
+     * The values are read once to fill the buffer, not once per item.
+     */
+    @Test
+    public void testSinglePass() {
+        double[][] values = createValues(100, 100);
+        ArrayStackBuffer buffer = new ArrayStackBuffer(values, 0.0, true);
+        for (int series = 0; series < 100; series++) {
+            for (int item = 0; item < 100; item++) {
+                buffer.getStackValues(series, item);
+            }
+        }
+        assertTrue(buffer.valueCount <= 100 * 100);
+    }
+
+}
@@ -51,9 +51,18 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.Date;
 
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.util.PublicCloneable;
 
 import org.jfree.data.Range;
@@ -105,6 +114,12 @@ public class HighLowRendererTest {
         assertFalse(r1.equals(r2));
         r2.setTickLength(99.9);
         assertTrue(r1.equals(r2));
+
+        // mergeSubPixelItems
+        r1.setMergeSubPixelItems(false);
+        assertFalse(r1.equals(r2));
+        r2.setMergeSubPixelItems(false);
+        assertTrue(r1.equals(r2));
     }
 
     /**
@@ -184,4 +199,60 @@ public class HighLowRendererTest {
         assertNull(range);
     }
 
+    /**
+     * When there are more items than pixels, the items in each pixel column
+     * are drawn as one item.
+     */
+    @Test
+    public void testMergeSubPixelItems() {
+        OHLCDataset dataset = createDataset(5000);
+        HighLowRenderer r = new HighLowRenderer();
+        int merged = countEntities(r, dataset);
+        assertTrue(merged > 0 && merged <= 300);
+
+        r.setMergeSubPixelItems(false);
+        assertEquals(5000, countEntities(r, dataset));
+
+        r.setMergeSubPixelItems(true);
+        assertEquals(50, countEntities(r, createDataset(50)));
+    }
+
+    /**
+     * Draws a chart for {@code dataset} with the specified renderer and
+     * returns the number of item entities.
+     */
+    private static int countEntities(XYItemRenderer renderer,
+            OHLCDataset dataset) {
+        XYPlot plot = new XYPlot(dataset, new DateAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.removeLegend();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200), info);
+        g2.dispose();
+        int count = 0;
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            if (entity instanceof XYItemEntity) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a dataset with {@code n} items, one minute apart.
+     */
+    private static OHLCDataset createDataset(int n) {
+        OHLCDataItem[] items = new OHLCDataItem[n];
+        for (int i = 0; i < n; i++) {
+            double base = 100.0 + Math.sin(i / 50.0) * 10.0;
+            items[i] = new OHLCDataItem(new Date(i * 60000L), base,
+                    base + 1.0, base - 1.0, base + 0.5, 1000.0);
+        }
+        return new DefaultOHLCDataset("S1", items);
+    }
+
 }
@@ -0,0 +1,82 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class OHLCRendererStateTest {
+
+    /**
+     * Items in the same pixel column are merged: first open, highest high,
+     * lowest low, last close and total volume.
+     */
+    @Test
+    public void testMerge() {
+        OHLCRendererState s = new OHLCRendererState(null);
+        assertFalse(s.isBinPending());
+        assertFalse(s.mergeIntoBin(0, 10.2, 1.0, 2.0, 0.5, 1.5, 10.0));
+        s.startBin(0, 7, 100.0, 10.2, 1.0, 2.0, 0.5, 1.5, 10.0);
+        assertTrue(s.mergeIntoBin(0, 10.9, 1.5, 3.0, 0.8, 1.2, 5.0));
+        assertTrue(s.mergeIntoBin(0, 10.0, 1.2, Double.NaN, 0.1, 1.9, 1.0));
+        assertTrue(s.isBinPending());
+        assertEquals(0, s.getBinSeries());
+        assertEquals(7, s.getBinItem());
+        assertEquals(3, s.getBinCount());
+        assertEquals(100.0, s.getBinX(), 0.0);
+        assertEquals(1.0, s.getBinOpen(), 0.0);
+        assertEquals(3.0, s.getBinHigh(), 0.0);
+        assertEquals(0.1, s.getBinLow(), 0.0);
+        assertEquals(1.9, s.getBinClose(), 0.0);
+        assertEquals(16.0, s.getBinVolume(), 0.0);
+
+        // another column or another series is not merged
+        assertFalse(s.mergeIntoBin(0, 11.0, 1.0, 1.0, 1.0, 1.0, 1.0));
+        assertFalse(s.mergeIntoBin(1, 10.5, 1.0, 1.0, 1.0, 1.0, 1.0));
+        s.clearBin();
+        assertFalse(s.isBinPending());
+    }
+
+    /**
+     * The cached widths are kept by series.
+     */
+    @Test
+    public void testCachedWidth() {
+        OHLCRendererState s = new OHLCRendererState(null);
+        assertTrue(Double.isNaN(s.getCachedWidth(0)));
+        s.cacheWidth(3, 4.5);
+        assertEquals(4.5, s.getCachedWidth(3), 0.0);
+        assertTrue(Double.isNaN(s.getCachedWidth(2)));
+        assertTrue(Double.isNaN(s.getCachedWidth(9)));
+    }
+
+}
@@ -49,11 +49,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
 
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.GrayPaintScale;
 import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.Range;
 import org.jfree.data.xy.DefaultXYZDataset;
@@ -215,5 +229,168 @@ public class XYBlockRendererTest {
         r = renderer.findDomainBounds(dataset);
         assertNull(r);
     }    
-           
+
+    /**
+     * Draws a chart with the specified renderer and checks the color at the
+     * center of each block.
+     *
+     * @param renderer  the renderer.
+     * @param dataset  the dataset.
+     * @param orientation  the plot orientation.
+     */
+    private void checkBlockColors(XYBlockRenderer renderer,
+            DefaultXYZDataset dataset, PlotOrientation orientation) {
+        NumberAxis xAxis = new NumberAxis("X");
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setInverted(true);
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setOrientation(orientation);
+        JFreeChart chart = new JFreeChart(plot);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = chart.createBufferedImage(300, 200, info);
+        PlotRenderingInfo plotInfo = info.getPlotInfo();
+        Rectangle2D dataArea = plotInfo.getDataArea();
+        int itemEntityCount = 0;
+        Iterator iterator = info.getEntityCollection().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof XYItemEntity) {
+                itemEntityCount++;
+            }
+        }
+        assertEquals(dataset.getItemCount(0), itemEntityCount);
+        for (int item = 0; item < dataset.getItemCount(0); item++) {
+            double x = xAxis.valueToJava2D(dataset.getXValue(0, item),
+                    dataArea, plot.getDomainAxisEdge());
+            double y = yAxis.valueToJava2D(dataset.getYValue(0, item),
+                    dataArea, plot.getRangeAxisEdge());
+            if (orientation == PlotOrientation.HORIZONTAL) {
+                double t = x;
+                x = y;
+                y = t;
+            }
+            Color c = (Color) renderer.getPaintScale().getPaint(
+                    dataset.getZValue(0, item));
+            assertEquals(c.getRGB(), image.getRGB((int) x, (int) y));
+        }
+    }
+
+    /**
+     * A regular grid of blocks is drawn as an image, with the same colors
+     * as the individual blocks.
+     */
+    @Test
+    public void testDrawGrid() {
+        double[] x = new double[12];
+        double[] y = new double[12];
+        double[] z = new double[12];
+        for (int i = 0; i < 12; i++) {
+            x[i] = 10.0 + 2.0 * (i % 4);
+            y[i] = -3.0 + 0.5 * (i / 4);
+            z[i] = i / 11.0;
+        }
+        z[5] = Double.NaN;
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("S1", new double[][] {x, y, z});
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setBlockWidth(2.0);
+        renderer.setBlockHeight(0.5);
+        renderer.setPaintScale(new GrayPaintScale());
+        checkBlockColors(renderer, dataset, PlotOrientation.VERTICAL);
+        checkBlockColors(renderer, dataset, PlotOrientation.HORIZONTAL);
+
+        // the same checks when the items do not form a grid
+        x[3] = 17.0;
+        checkBlockColors(renderer, dataset, PlotOrientation.VERTICAL);
+        checkBlockColors(renderer, dataset, PlotOrientation.HORIZONTAL);
+    }
+
+    /**
+     * Creates a chart showing a regular grid of blocks.
+     */
+    private static JFreeChart createGridChart(PaintScale scale,
+            boolean antiAlias) {
+        double[] x = new double[12];
+        double[] y = new double[12];
+        double[] z = new double[12];
+        for (int i = 0; i < 12; i++) {
+            x[i] = 10.0 + 2.0 * (i % 4);
+            y[i] = -3.0 + 0.5 * (i / 4);
+            z[i] = i / 11.0;
+        }
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("S1", new double[][] {x, y, z});
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setBlockWidth(2.0);
+        renderer.setBlockHeight(0.5);
+        renderer.setPaintScale(scale);
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.setAntiAlias(antiAlias);
+        return chart;
+    }
+
+    /**
+     * Draws a chart with the specified paint scale.
+     */
+    private static BufferedImage drawGrid(PaintScale scale,
+            boolean antiAlias) {
+        return createGridChart(scale, antiAlias).createBufferedImage(300,
+                200);
+    }
+
+    /**
+     * A grid drawn as an image looks the same as a grid drawn block by
+     * block, including the block outlines.
+     */
+    @Test
+    public void testDrawGridOutlines() {
+        final PaintScale scale = new GrayPaintScale();
+        // a scale that can't be compiled, so the blocks are drawn one by one
+        PaintScale uncompiled = new PaintScale() {
+            @Override
+            public double getLowerBound() {
+                return scale.getLowerBound();
+            }
+            @Override
+            public double getUpperBound() {
+                return scale.getUpperBound();
+            }
+            @Override
+            public Paint getPaint(double value) {
+                return scale.getPaint(value);
+            }
+        };
+        BufferedImage expected = drawGrid(uncompiled, false);
+        BufferedImage actual = drawGrid(scale, false);
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Drawing a grid as an image leaves the interpolation hint as it was,
+     * including when no hint was set.
+     */
+    @Test
+    public void testInterpolationHintRestored() {
+        JFreeChart chart = createGridChart(new GrayPaintScale(), false);
+        BufferedImage image = new BufferedImage(300, 200,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        Object hint = g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        assertEquals(hint, g2.getRenderingHint(
+                RenderingHints.KEY_INTERPOLATION));
+
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 300, 200));
+        assertEquals(RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+                g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        g2.dispose();
+    }
+
 }
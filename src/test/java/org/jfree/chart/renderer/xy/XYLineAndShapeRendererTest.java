@@ -44,12 +44,17 @@
 
 package org.jfree.chart.renderer.xy;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -298,4 +303,61 @@ public class XYLineAndShapeRendererTest {
         assertEquals(2, li.getSeriesIndex());
     }
 
+    /**
+     * A renderer that draws its lines one at a time (the
+     * override of drawFirstPassShape() disables line batching).
+     */
+    static class UnbatchedRenderer extends XYLineAndShapeRenderer {
+        UnbatchedRenderer() {
+            super(true, false);
+        }
+        @Override
+        protected void drawFirstPassShape(Graphics2D g2, int pass,
+                int series, int item, Shape shape) {
+            super.drawFirstPassShape(g2, pass, series, item, shape);
+        }
+    }
+
+    /**
+     * Draws a chart to an image.
+     *
+     * @param renderer  the renderer.
+     *
+     * @return The pixels of the image.
+     */
+    private static int[] drawChart(XYLineAndShapeRenderer renderer) {
+        XYSeries s1 = new XYSeries("S1");
+        for (int i = 0; i < 500; i++) {
+            // straight runs, a gap and some noise
+            double y = i < 100 ? i : (i == 250 ? Double.NaN
+                    : Math.sin(i / 7.0) * 50.0);
+            s1.add(i, y);
+        }
+        XYPlot plot = new XYPlot(new XYSeriesCollection(s1),
+                new NumberAxis("x"), new NumberAxis("y"), renderer);
+        renderer.setSeriesStroke(0, new BasicStroke(2.5f));
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        g2.dispose();
+        return image.getRGB(0, 0, 400, 300, null, 0, 400);
+    }
+
+    /**
+     * Lines passed through the state's line batcher give the same output as
+     * lines drawn one at a time.
+     */
+    @Test
+    public void testLineBatching() {
+        XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer(true, false);
+        XYLineAndShapeRenderer r2 = new UnbatchedRenderer();
+        assertArrayEquals(drawChart(r2), drawChart(r1));
+
+        r1.setDrawSeriesLineAsPath(true);
+        r2.setDrawSeriesLineAsPath(true);
+        assertArrayEquals(drawChart(r2), drawChart(r1));
+    }
+
 }
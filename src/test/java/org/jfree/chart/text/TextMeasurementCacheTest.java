@@ -0,0 +1,270 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.jfree.chart.ui.TextAnchor;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link TextMeasurementCache} class.
+ */
+public class TextMeasurementCacheTest {
+
+    /**
+     * Cached measurements should match fresh measurements, and the hit and
+     * miss counts should be updated.
+     */
+    @Test
+    public void testGetMetrics() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        FontMetrics fm = g2.getFontMetrics(new Font("Dialog", Font.PLAIN, 12));
+        TextMeasurementCache cache = new TextMeasurementCache(2);
+        TextMeasurementCache.Metrics m1 = cache.getMetrics("ABC", fm,
+                g2.getFontRenderContext());
+        assertEquals(fm.stringWidth("ABC"), m1.stringWidth);
+        assertEquals(fm.getAscent(), m1.ascent);
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+
+        TextMeasurementCache.Metrics m2 = cache.getMetrics("ABC", fm,
+                g2.getFontRenderContext());
+        assertSame(m1, m2);
+        assertEquals(1L, cache.getHitCount());
+
+        // the cache does not grow beyond the maximum entry count, and the
+        // entry that has not been used again is discarded first
+        cache.getMetrics("DEF", fm, g2.getFontRenderContext());
+        TextMeasurementCache.Metrics m3 = cache.getMetrics("GHI", fm,
+                g2.getFontRenderContext());
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(3L, cache.getMissCount());
+        assertSame(m1, cache.getMetrics("ABC", fm,
+                g2.getFontRenderContext()));
+        assertSame(m3, cache.getMetrics("GHI", fm,
+                g2.getFontRenderContext()));
+        assertEquals(3L, cache.getHitCount());
+        assertEquals(3L, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0L, cache.getMissCount());
+        g2.dispose();
+    }
+
+    /**
+     * A string used on every redraw stays in the cache while other strings
+     * come and go.
+     */
+    @Test
+    public void testFrequentlyUsedEntryRetained() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        FontMetrics fm = g2.getFontMetrics(new Font("Dialog", Font.PLAIN, 12));
+        TextMeasurementCache cache = new TextMeasurementCache(8);
+        TextMeasurementCache.Metrics m = cache.getMetrics("Title", fm,
+                g2.getFontRenderContext());
+        for (int i = 0; i < 100; i++) {
+            cache.getMetrics("Label " + i, fm, g2.getFontRenderContext());
+            assertSame(m, cache.getMetrics("Title", fm,
+                    g2.getFontRenderContext()));
+        }
+        assertEquals(8, cache.getEntryCount());
+        assertEquals(101L, cache.getMissCount());
+        g2.dispose();
+    }
+
+    /**
+     * Strings drawn from cached glyph vectors look the same as strings drawn
+     * by the graphics target.
+     */
+    @Test
+    public void testDrawAlignedString() {
+        TextMeasurementCache saved = TextUtils.getMeasurementCache();
+        try {
+            for (int i = 0; i < 2; i++) {
+                TextUtils.setMeasurementCache(null);
+                BufferedImage expected = drawText(i == 1);
+                TextUtils.setMeasurementCache(new TextMeasurementCache());
+                drawText(i == 1);
+                BufferedImage actual = drawText(i == 1);
+                assertTrue(TextUtils.getMeasurementCache().getHitCount() > 0);
+                for (int x = 0; x < expected.getWidth(); x++) {
+                    for (int y = 0; y < expected.getHeight(); y++) {
+                        assertEquals(expected.getRGB(x, y),
+                                actual.getRGB(x, y));
+                    }
+                }
+            }
+        }
+        finally {
+            TextUtils.setMeasurementCache(saved);
+        }
+    }
+
+    /**
+     * Draws some text with {@link TextUtils}.
+     */
+    private static BufferedImage drawText(boolean antiAlias) {
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antiAlias
+                ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+                : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        g2.setFont(new Font("Dialog", Font.PLAIN, 12));
+        g2.setPaint(Color.BLACK);
+        TextUtils.drawAlignedString("Series 1: 123.45", g2, 10.0f, 20.0f,
+                TextAnchor.BASELINE_LEFT);
+        TextUtils.drawRotatedString("ffi Axis", g2, 100.0f, 50.0f,
+                TextAnchor.CENTER, Math.PI / 4, 100.0f, 50.0f);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Text that needs bidirectional layout is not drawn as a glyph vector.
+     */
+    @Test
+    public void testGetGlyphVector() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        FontMetrics fm = g2.getFontMetrics(new Font("Dialog", Font.PLAIN, 12));
+        TextMeasurementCache cache = new TextMeasurementCache();
+        GlyphVector gv = cache.getGlyphVector("ABC", fm,
+                g2.getFontRenderContext());
+        assertEquals(3, gv.getNumGlyphs());
+        assertSame(gv, cache.getGlyphVector("ABC", fm,
+                g2.getFontRenderContext()));
+        assertNull(cache.getGlyphVector("abc \u05d0\u05d1\u05d2", fm,
+                g2.getFontRenderContext()));
+        g2.dispose();
+    }
+
+    /**
+     * Threads sharing a cache should see consistent measurements, and the
+     * cache should stay within its maximum entry count.
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        final TextMeasurementCache cache = new TextMeasurementCache(16);
+        final Font font = new Font("Dialog", Font.PLAIN, 12);
+        final List<Throwable> failures = Collections.synchronizedList(
+                new ArrayList<Throwable>());
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    BufferedImage image = new BufferedImage(10, 10,
+                            BufferedImage.TYPE_INT_ARGB);
+                    Graphics2D g2 = image.createGraphics();
+                    try {
+                        FontMetrics fm = g2.getFontMetrics(font);
+                        for (int i = 0; i < 500; i++) {
+                            String text = String.valueOf(i % 40);
+                            TextMeasurementCache.Metrics m = cache.getMetrics(
+                                    text, fm, g2.getFontRenderContext());
+                            assertEquals(fm.stringWidth(text), m.stringWidth);
+                            cache.getTextLayout(text, fm,
+                                    g2.getFontRenderContext());
+                        }
+                    }
+                    catch (Throwable e) {
+                        failures.add(e);
+                    }
+                    finally {
+                        g2.dispose();
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty());
+        assertEquals(4000L, cache.getHitCount() + cache.getMissCount());
+
+        // the bound can be exceeded briefly while threads insert at the same
+        // time, but the next insert restores it
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        cache.getMetrics("XYZ", g2.getFontMetrics(font),
+                g2.getFontRenderContext());
+        assertTrue(cache.getEntryCount() <= 16);
+        g2.dispose();
+    }
+
+    /**
+     * The text bounds should not depend on whether or not a cache is used.
+     */
+    @Test
+    public void testTextBounds() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        FontMetrics fm = g2.getFontMetrics();
+        TextMeasurementCache saved = TextUtils.getMeasurementCache();
+        try {
+            TextUtils.setMeasurementCache(null);
+            Rectangle2D b1 = TextUtils.getTextBounds("123.45", g2, fm);
+            TextUtils.setMeasurementCache(new TextMeasurementCache());
+            Rectangle2D b2 = TextUtils.getTextBounds("123.45", g2, fm);
+            Rectangle2D b3 = TextUtils.getTextBounds("123.45", g2, fm);
+            assertEquals(b1, b2);
+            assertEquals(b1, b3);
+            assertEquals(1L, TextUtils.getMeasurementCache().getHitCount());
+        }
+        finally {
+            TextUtils.setMeasurementCache(saved);
+        }
+        g2.dispose();
+    }
+
+}
@@ -48,14 +48,22 @@ import static org.junit.Assert.assertTrue;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.TestUtils;
 
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.block.Block;
+import org.jfree.chart.block.RectangleConstraint;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.ui.RectangleAnchor;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.util.SortOrder;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.Test;
 
 /**
@@ -156,4 +164,41 @@ public class LegendTitleTest {
         assertTrue(t1.equals(t2));
         assertTrue(t2.getSources()[0].equals(plot));
     }
+
+    /**
+     * The item blocks are created again only when the legend items or the
+     * legend settings change.
+     */
+    @Test
+    public void testItemBlocksReused() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(new XYSeries("S1"));
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        LegendTitle legend = new LegendTitle(plot);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        legend.arrange(g2, RectangleConstraint.NONE);
+        Block b1 = (Block) legend.getItemContainer().getBlocks().get(0);
+        legend.arrange(g2, RectangleConstraint.NONE);
+        assertTrue(b1 == legend.getItemContainer().getBlocks().get(0));
+
+        // a change to the legend items
+        renderer.setSeriesPaint(0, Color.GREEN);
+        legend.arrange(g2, RectangleConstraint.NONE);
+        Block b2 = (Block) legend.getItemContainer().getBlocks().get(0);
+        assertTrue(b1 != b2);
+        dataset.addSeries(new XYSeries("S2"));
+        legend.arrange(g2, RectangleConstraint.NONE);
+        assertEquals(2, legend.getItemContainer().getBlocks().size());
+
+        // a change to the legend settings
+        b2 = (Block) legend.getItemContainer().getBlocks().get(0);
+        legend.setItemFont(new Font("Dialog", Font.PLAIN, 20));
+        legend.arrange(g2, RectangleConstraint.NONE);
+        assertTrue(b2 != legend.getItemContainer().getBlocks().get(0));
+        g2.dispose();
+    }
 }
@@ -0,0 +1,173 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ParallelUtils} class.
+ */
+public class ParallelUtilsTest {
+
+    /**
+     * Creates tasks that record the thread they run on.
+     */
+    private static Runnable[] createTasks(final Thread[] threads) {
+        Runnable[] tasks = new Runnable[threads.length];
+        for (int i = 0; i < tasks.length; i++) {
+            final int index = i;
+            tasks[i] = new Runnable() {
+                @Override
+                public void run() {
+                    threads[index] = Thread.currentThread();
+                }
+            };
+        }
+        return tasks;
+    }
+
+    /**
+     * Some checks for the getTaskCount() method.
+     */
+    @Test
+    public void testGetTaskCount() {
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        assertEquals(1, ParallelUtils.getTaskCount(null, 1000000L, 10L));
+        assertEquals(1, ParallelUtils.getTaskCount(executor, 5L, 10L));
+        int processors = Runtime.getRuntime().availableProcessors();
+        assertEquals(processors, ParallelUtils.getTaskCount(executor,
+                1000000L, 10L));
+    }
+
+    /**
+     * Without an executor, or when the executor rejects them, the tasks run
+     * on the calling thread.
+     */
+    @Test
+    public void testRunAllOnCallingThread() {
+        Thread[] threads = new Thread[3];
+        ParallelUtils.runAll(null, createTasks(threads));
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+        Executor rejecting = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        threads = new Thread[3];
+        ParallelUtils.runAll(rejecting, createTasks(threads));
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    /**
+     * Tasks that the executor doesn't get round to are run on the calling
+     * thread, rather than waited for.
+     */
+    @Test
+    public void testRunAllBusyExecutor() {
+        final List<Runnable> queue = new ArrayList<Runnable>();
+        Executor busy = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queue.add(command);
+            }
+        };
+        Thread[] threads = new Thread[3];
+        ParallelUtils.runAll(busy, createTasks(threads));
+        assertEquals(2, queue.size());
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    /**
+     * With an executor, the first task runs on the calling thread, and an
+     * exception thrown by a task is rethrown after all the tasks have 
+     * finished.
+     */
+    @Test
+    public void testRunAll() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Thread[] threads = new Thread[3];
+            ParallelUtils.runAll(executor, createTasks(threads));
+            assertSame(Thread.currentThread(), threads[0]);
+            assertNotNull(threads[1]);
+            assertNotNull(threads[2]);
+
+            final AtomicInteger finished = new AtomicInteger();
+            Runnable[] tasks = new Runnable[3];
+            for (int i = 0; i < tasks.length; i++) {
+                final int index = i;
+                tasks[i] = new Runnable() {
+                    @Override
+                    public void run() {
+                        if (index == 1) {
+                            throw new IllegalStateException("Task 1");
+                        }
+                        finished.incrementAndGet();
+                    }
+                };
+            }
+            try {
+                ParallelUtils.runAll(executor, tasks);
+                fail("Expected an IllegalStateException.");
+            }
+            catch (IllegalStateException e) {
+                assertEquals("Task 1", e.getMessage());
+            }
+            assertEquals(2, finished.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartHints;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link StatisticalRenderMonitor} class.
+ */
+public class StatisticalRenderMonitorTest {
+
+    private JFreeChart createChart() {
+        XYSeries series = new XYSeries("S1");
+        for (int i = 0; i < 100; i++) {
+            series.add(i, i * i);
+        }
+        return ChartFactory.createXYLineChart("Title", "X", "Y",
+                new XYSeriesCollection(series));
+    }
+
+    /**
+     * Each stage of drawing a chart should be recorded once.
+     */
+    @Test
+    public void testDrawChart() {
+        JFreeChart chart = createChart();
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, info);
+        assertNull(g2.getRenderingHint(ChartHints.KEY_RENDER_MONITOR));
+        g2.dispose();
+
+        assertEquals(1, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(1, monitor.getStatistics(RenderStage.TITLE).getCount());
+        assertEquals(1, monitor.getStatistics(RenderStage.LEGEND).getCount());
+        assertEquals(1, monitor.getStatistics(RenderStage.PLOT).getCount());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.AXIS_SPACE).getCount());
+        assertEquals(1, monitor.getStatistics(RenderStage.AXES).getCount());
+        assertEquals(2, monitor.getStatistics(RenderStage.AXIS).getCount());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.DATASET).getCount());
+        // the renderer makes two passes over the series
+        assertEquals(2, monitor.getStatistics(
+                RenderStage.SERIES).getCount());
+        assertEquals(3, monitor.getStatistics(
+                RenderStage.ANNOTATIONS).getCount());
+        assertEquals(100, monitor.getItemsDrawn());
+        assertEquals(0, monitor.getItemsCulled());
+        assertEquals(info.getEntityCollection().getEntityCount(),
+                monitor.getEntityCount());
+        RenderStageStatistics chartStats = monitor.getStatistics(
+                RenderStage.CHART);
+        RenderStageStatistics plotStats = monitor.getStatistics(
+                RenderStage.PLOT);
+        assertTrue(chartStats.getTotalNanos() >= plotStats.getTotalNanos());
+
+        monitor.reset();
+        assertEquals(0, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(0, monitor.getItemsDrawn());
+    }
+
+    /**
+     * Items outside the domain axis range are reported as culled.
+     */
+    @Test
+    public void testItemsCulled() {
+        JFreeChart chart = createChart();
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.getDomainAxis().setRange(10.0, 19.0);
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        chart.createBufferedImage(400, 300);
+        // one item either side of the range is passed to the renderer
+        assertEquals(12, monitor.getItemsDrawn());
+        assertEquals(88, monitor.getItemsCulled());
+    }
+
+    /**
+     * A category plot reports every item as drawn, unless the
+     * {@link ChartHints#KEY_CULL_TO_CLIP} hint is set, in which case the
+     * categories outside the clip are culled without changing the pixels
+     * inside it.
+     */
+    @Test
+    public void testCategoryItemsCulled() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int i = 0; i < 20; i++) {
+            dataset.addValue(i % 7, "R1", "C" + i);
+            dataset.addValue(i % 5, "R2", "C" + i);
+        }
+        JFreeChart chart = ChartFactory.createLineChart("Title", "X", "Y",
+                dataset);
+        chart.setAntiAlias(false);
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage expected = chart.createBufferedImage(400, 300, info);
+        assertEquals(40, monitor.getItemsDrawn());
+        assertEquals(0, monitor.getItemsCulled());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.DATASET).getCount());
+        assertEquals(0, monitor.getStatistics(
+                RenderStage.SERIES).getCount());
+
+        // redraw a strip in the middle of the data area
+        Rectangle2D dataArea = info.getPlotInfo().getDataArea();
+        Rectangle2D strip = new Rectangle2D.Double(
+                (int) dataArea.getCenterX(), 0, 20, 300);
+        monitor.reset();
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_CULL_TO_CLIP, new Double(2.0));
+        g2.clip(strip);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        g2.dispose();
+        assertTrue(monitor.getItemsDrawn() < 40);
+        assertEquals(40, monitor.getItemsDrawn() + monitor.getItemsCulled());
+        for (int x = (int) strip.getMinX(); x < strip.getMaxX(); x++) {
+            for (int y = (int) dataArea.getMinY(); y < dataArea.getMaxY();
+                    y++) {
+                assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * A monitor set as a hint on the graphics device is used when the chart
+     * has no monitor of its own.
+     */
+    @Test
+    public void testMonitorFromHint() {
+        JFreeChart chart = createChart();
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_RENDER_MONITOR, monitor);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        g2.dispose();
+        assertEquals(1, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.DATASET).getCount());
+    }
+
+    /**
+     * Encoding a chart image is recorded as a separate stage.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testEncoding() throws IOException {
+        JFreeChart chart = createChart();
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        ChartUtils.writeChartAsPNG(new ByteArrayOutputStream(), chart, 200,
+                100);
+        assertEquals(1, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.ENCODING).getCount());
+    }
+
+    /**
+     * When drawing fails, the stages already started are still finished and
+     * the monitor hint on the graphics device is restored.
+     */
+    @Test
+    public void testDrawFailure() {
+        JFreeChart chart = createChart();
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.setRenderer(new XYLineAndShapeRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, XYItemRendererState state,
+                    Rectangle2D dataArea, PlotRenderingInfo info,
+                    XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+                    XYDataset dataset, int series, int item,
+                    CrosshairState crosshairState, int pass) {
+                throw new IllegalStateException();
+            }
+        });
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        chart.setRenderMonitor(monitor);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+            fail("Expected IllegalStateException.");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+        assertNull(g2.getRenderingHint(ChartHints.KEY_RENDER_MONITOR));
+        g2.dispose();
+        assertEquals(1, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(1, monitor.getStatistics(RenderStage.PLOT).getCount());
+        assertEquals(1, monitor.getStatistics(
+                RenderStage.DATASET).getCount());
+    }
+
+    /**
+     * A stage left unfinished (for example, by an exception) must not stop
+     * the enclosing stage from being recorded.
+     */
+    @Test
+    public void testUnfinishedStage() {
+        StatisticalRenderMonitor monitor = new StatisticalRenderMonitor();
+        Object source = new Object();
+        monitor.stageStarted(RenderStage.CHART, source);
+        monitor.stageStarted(RenderStage.PLOT, source);
+        monitor.stageFinished(RenderStage.CHART, source);
+        monitor.stageFinished(RenderStage.PLOT, source);
+        assertEquals(1, monitor.getStatistics(RenderStage.CHART).getCount());
+        assertEquals(0, monitor.getStatistics(RenderStage.PLOT).getCount());
+    }
+
+    @Test
+    public void testBucketFor() {
+        assertEquals(0, StatisticalRenderMonitor.bucketFor(0L));
+        assertEquals(0, StatisticalRenderMonitor.bucketFor(1L));
+        assertEquals(1, StatisticalRenderMonitor.bucketFor(2L));
+        assertEquals(1, StatisticalRenderMonitor.bucketFor(3L));
+        assertEquals(10, StatisticalRenderMonitor.bucketFor(1024L));
+        assertEquals(62, StatisticalRenderMonitor.bucketFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentile() {
+        long[] histogram = new long[64];
+        histogram[3] = 9;    // 8 to 15 nanoseconds
+        histogram[10] = 1;   // 1024 to 2047 nanoseconds
+        RenderStageStatistics stats = new RenderStageStatistics(
+                RenderStage.PLOT, 10, 1200, 8, 1500, -1, histogram);
+        assertEquals(15, stats.getPercentileNanos(50.0));
+        assertEquals(15, stats.getPercentileNanos(90.0));
+        assertEquals(1500, stats.getPercentileNanos(100.0));
+        assertEquals(120.0, stats.getMeanNanos(), 0.0);
+    }
+
+}
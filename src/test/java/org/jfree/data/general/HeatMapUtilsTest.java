@@ -0,0 +1,144 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.PaintScale;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link HeatMapUtils} class.
+ */
+public class HeatMapUtilsTest {
+
+    /**
+     * Checks that each pixel of a heat map image has the color given by the
+     * paint scale for the corresponding cell.
+     *
+     * @param dataset  the dataset.
+     * @param scale  the paint scale.
+     */
+    private void checkImage(HeatMapDataset dataset, PaintScale scale) {
+        checkImage(HeatMapUtils.createHeatMapImage(dataset, scale), dataset, 
+                scale);
+    }
+
+    private void checkImage(BufferedImage image, HeatMapDataset dataset, 
+            PaintScale scale) {
+        int xCount = dataset.getXSampleCount();
+        int yCount = dataset.getYSampleCount();
+        assertEquals(xCount, image.getWidth());
+        assertEquals(yCount, image.getHeight());
+        for (int x = 0; x < xCount; x++) {
+            for (int y = 0; y < yCount; y++) {
+                Color c = (Color) scale.getPaint(dataset.getZValue(x, y));
+                assertEquals(c.getRGB(), image.getRGB(x, yCount - y - 1));
+            }
+        }
+    }
+
+    /**
+     * Creates a dataset with a known pattern of values.
+     *
+     * @param xCount  the number of x samples.
+     * @param yCount  the number of y samples.
+     *
+     * @return The dataset.
+     */
+    private DefaultHeatMapDataset createDataset(int xCount, int yCount) {
+        DefaultHeatMapDataset dataset = new DefaultHeatMapDataset(xCount,
+                yCount, 0.0, 1.0, 0.0, 1.0);
+        for (int x = 0; x < xCount; x++) {
+            for (int y = 0; y < yCount; y++) {
+                dataset.setZValue(x, y, ((x * 7 + y * 3) % 11) / 10.0);
+            }
+        }
+        return dataset;
+    }
+
+    /**
+     * Some checks for the createHeatMapImage() method.
+     */
+    @Test
+    public void testCreateHeatMapImage() {
+        DefaultHeatMapDataset dataset = createDataset(5, 3);
+        dataset.setZValue(1, 1, Double.NaN);
+        checkImage(dataset, new GrayPaintScale());
+        LookupPaintScale lookup = new LookupPaintScale(0.0, 0.9, Color.RED);
+        lookup.add(0.2, Color.BLUE);
+        lookup.add(0.5, Color.GREEN);
+        checkImage(dataset, lookup);
+    }
+
+    /**
+     * A large image is filled in bands by the executor.
+     */
+    @Test
+    public void testCreateHeatMapImageLarge() {
+        int yCount = HeatMapUtils.PARALLEL_THRESHOLD * 4 / 500 + 3;
+        DefaultHeatMapDataset dataset = createDataset(500, yCount);
+        PaintScale scale = new GrayPaintScale();
+        checkImage(dataset, scale);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            checkImage(HeatMapUtils.createHeatMapImage(dataset, scale, 
+                    executor), dataset, scale);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A paint scale that cannot be compiled is still supported.
+     */
+    @Test
+    public void testCreateHeatMapImageGradient() {
+        DefaultHeatMapDataset dataset = createDataset(4, 4);
+        LookupPaintScale lookup = new LookupPaintScale(0.0, 1.0, Color.RED);
+        lookup.add(0.5, new GradientPaint(0f, 0f, Color.BLUE, 0f, 10f,
+                Color.BLUE));
+        BufferedImage image = HeatMapUtils.createHeatMapImage(dataset,
+                lookup);
+        // z(0, 0) = 0.0, z(2, 0) = 0.3, z(3, 3) = 0.8
+        assertEquals(Color.RED.getRGB(), image.getRGB(0, 3));
+        assertEquals(Color.RED.getRGB(), image.getRGB(2, 3));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(3, 0));
+    }
+
+}
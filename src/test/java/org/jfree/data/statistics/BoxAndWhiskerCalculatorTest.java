@@ -44,7 +44,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import org.junit.Test;
 
 /**
@@ -162,4 +164,82 @@ public class BoxAndWhiskerCalculatorTest {
         assertEquals(1.0, theItem.getMinRegularValue().doubleValue(), EPSILON);
         assertEquals(4.0, theItem.getMaxRegularValue().doubleValue(), EPSILON);
     }
+
+    /**
+     * Checks that the results for a list match the median and quartiles of
+     * the sorted list, and that the results for an array of the same values
+     * are the same.
+     */
+    @Test
+    public void testCalculateBoxAndWhiskerStatistics_Array() {
+        Random random = new Random(17L);
+        for (int size = 1; size < 40; size++) {
+            double[] values = new double[size];
+            List list = new ArrayList(size);
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(20);
+                // a few outliers
+                if (i % 11 == 10) {
+                    values[i] = values[i] * 10.0;
+                }
+                list.add(new Double(values[i]));
+            }
+            BoxAndWhiskerItem item
+                    = BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+                    list);
+            List sorted = new ArrayList(list);
+            Collections.sort(sorted);
+            assertEquals(Statistics.calculateMedian(sorted, false),
+                    item.getMedian().doubleValue(), EPSILON);
+            assertEquals(BoxAndWhiskerCalculator.calculateQ1(sorted),
+                    item.getQ1().doubleValue(), EPSILON);
+            assertEquals(BoxAndWhiskerCalculator.calculateQ3(sorted),
+                    item.getQ3().doubleValue(), EPSILON);
+            assertEquals(item,
+                    BoxAndWhiskerCalculator.calculateBoxAndWhiskerItem(values));
+        }
+    }
+
+    /**
+     * Checks the results for a quantile sketch, which are exact until the
+     * sketch discards values and approximate after that.
+     */
+    @Test
+    public void testCalculateBoxAndWhiskerStatistics_Sketch() {
+        QuantileSketch sketch = new QuantileSketch(64);
+        List list = new ArrayList();
+        Random random = new Random(3L);
+        for (int i = 0; i < 50; i++) {
+            double v = random.nextGaussian();
+            sketch.add(v);
+            list.add(new Double(v));
+        }
+        BoxAndWhiskerItem expected
+                = BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+                list);
+        BoxAndWhiskerItem item
+                = BoxAndWhiskerCalculator.estimateBoxAndWhiskerStatistics(
+                sketch);
+        assertEquals(expected.getMedian().doubleValue(),
+                item.getMedian().doubleValue(), EPSILON);
+        assertEquals(expected.getQ1().doubleValue(),
+                item.getQ1().doubleValue(), EPSILON);
+        assertEquals(expected.getQ3().doubleValue(),
+                item.getQ3().doubleValue(), EPSILON);
+        assertEquals(expected.getMean().doubleValue(),
+                item.getMean().doubleValue(), EPSILON);
+        assertEquals(expected.getOutliers(), item.getOutliers());
+
+        for (int i = 0; i < 20000; i++) {
+            sketch.add(random.nextGaussian());
+        }
+        item = BoxAndWhiskerCalculator.estimateBoxAndWhiskerStatistics(
+                sketch);
+        // standard normal quartiles are at +/- 0.674
+        assertEquals(0.0, item.getMedian().doubleValue(), 0.1);
+        assertEquals(-0.674, item.getQ1().doubleValue(), 0.1);
+        assertEquals(0.674, item.getQ3().doubleValue(), 0.1);
+        assertEquals(20050L, sketch.getCount());
+    }
+
 }
@@ -49,6 +49,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.jfree.chart.TestUtils;
 
 import org.jfree.data.general.DatasetChangeEvent;
@@ -238,6 +241,76 @@ public class HistogramDatasetTest implements DatasetChangeListener {
         assertNotNull(this.lastEvent);
     }
 
+    /**
+     * Checks that a series large enough to be binned in several tasks has
+     * the same counts as when the values are binned one at a time.
+     */
+    @Test
+    public void testAddSeriesLarge() {
+        double[] values = new double[HistogramDataset.PARALLEL_THRESHOLD * 4
+                + 7];
+        Random random = new Random(11L);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        int bins = 25;
+        HistogramDataset hd = new HistogramDataset();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            hd.setExecutor(executor);
+            hd.addSeries("S1", values, bins, -2.0, 2.0);
+        }
+        finally {
+            executor.shutdown();
+        }
+        int[] expected = new int[bins];
+        for (int i = 0; i < values.length; i++) {
+            int index = bins - 1;
+            if (values[i] < 2.0) {
+                index = Math.min((int) (Math.max((values[i] + 2.0) / 4.0,
+                        0.0) * bins), bins - 1);
+            }
+            expected[index]++;
+        }
+        for (int i = 0; i < bins; i++) {
+            assertEquals(expected[i], hd.getYValue(0, i), EPSILON);
+        }
+    }
+
+    /**
+     * Observations added to an existing series are counted in the same bins
+     * as if they had been supplied when the series was added.
+     */
+    @Test
+    public void testAddObservations() throws CloneNotSupportedException {
+        double[] v1 = {1.0, 2.0, 3.0, 4.0};
+        double[] v2 = {-1.0, 6.0, 12.0, 5.0, 6.3, 4.5};
+        HistogramDataset d1 = new HistogramDataset();
+        d1.addSeries("Series 1", v1, 5, 0.0, 10.0);
+        HistogramDataset d2 = (HistogramDataset) d1.clone();
+        d1.addChangeListener(this);
+        this.lastEvent = null;
+        d1.addObservations(0, v2);
+        assertNotNull(this.lastEvent);
+
+        double[] all = new double[v1.length + v2.length];
+        System.arraycopy(v1, 0, all, 0, v1.length);
+        System.arraycopy(v2, 0, all, v1.length, v2.length);
+        HistogramDataset expected = new HistogramDataset();
+        expected.addSeries("Series 1", all, 5, 0.0, 10.0);
+        assertEquals(expected, d1);
+        d1.setType(HistogramType.RELATIVE_FREQUENCY);
+        expected.setType(HistogramType.RELATIVE_FREQUENCY);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected.getYValue(0, i), d1.getYValue(0, i),
+                    EPSILON);
+        }
+
+        // the clone has its own bins
+        assertEquals(1.0, d2.getYValue(0, 0), EPSILON);
+        assertFalse(d1.equals(d2));
+    }
+
     /**
      * A reference to the last event received by the datasetChanged() method.
      */
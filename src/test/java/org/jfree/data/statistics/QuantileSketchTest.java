@@ -0,0 +1,129 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link QuantileSketch} class.
+ */
+public class QuantileSketchTest {
+
+    private static final double EPSILON = 0.0000001;
+
+    /**
+     * While the sketch retains all its values, quantiles are exact.
+     */
+    @Test
+    public void testExact() {
+        QuantileSketch sketch = new QuantileSketch(16);
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        sketch.add(new double[] {5.0, 1.0, 4.0, 2.0, 3.0, Double.NaN});
+        assertTrue(sketch.isExact());
+        assertEquals(5L, sketch.getCount());
+        assertEquals(1.0, sketch.getQuantile(0.0), EPSILON);
+        assertEquals(3.0, sketch.getQuantile(0.5), EPSILON);
+        assertEquals(5.0, sketch.getQuantile(1.0), EPSILON);
+        assertEquals(3.0, sketch.getMean(), EPSILON);
+    }
+
+    /**
+     * Once values are discarded the quantiles are estimates, but should be
+     * close to the exact values.
+     */
+    @Test
+    public void testApproximate() {
+        QuantileSketch sketch = new QuantileSketch();
+        int count = 100000;
+        double[] values = new double[count];
+        Random random = new Random(1L);
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextDouble();
+            sketch.add(values[i]);
+        }
+        assertFalse(sketch.isExact());
+        assertEquals(count, sketch.getCount());
+        assertTrue(sketch.getRetainedValues().length < count / 50);
+        Arrays.sort(values);
+        double[] fractions = {0.01, 0.25, 0.5, 0.75, 0.99};
+        for (int i = 0; i < fractions.length; i++) {
+            double exact = values[(int) Math.round(fractions[i]
+                    * (count - 1))];
+            assertEquals(exact, sketch.getQuantile(fractions[i]), 0.02);
+        }
+        assertEquals(values[0], sketch.getMinimum(), 0.0);
+        assertEquals(values[count - 1], sketch.getMaximum(), 0.0);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        QuantileSketch s1 = new QuantileSketch(4);
+        s1.add(new double[] {1.0, 2.0, 3.0, 4.0, 5.0});
+        QuantileSketch s2 = (QuantileSketch) s1.clone();
+        assertTrue(s1 != s2);
+        assertEquals(s1, s2);
+        s2.add(6.0);
+        assertFalse(s1.equals(s2));
+    }
+
+    /**
+     * A query leaves the values retained by the sketch unchanged.
+     */
+    @Test
+    public void testQueryDoesNotModify() {
+        QuantileSketch sketch = new QuantileSketch(8);
+        sketch.add(new double[] {5.0, 1.0, 4.0, 2.0, 3.0});
+        double[] before = sketch.getRetainedValues();
+        assertEquals(3.0, sketch.getQuantile(0.5), 0.0);
+        assertArrayEquals(before, sketch.getRetainedValues(), 0.0);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        QuantileSketch s1 = new QuantileSketch(4);
+        s1.add(new double[] {1.0, 2.0, 3.0, 4.0, 5.0});
+        QuantileSketch s2 = (QuantileSketch) TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+    }
+
+}
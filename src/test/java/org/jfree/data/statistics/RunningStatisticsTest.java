@@ -0,0 +1,127 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link RunningStatistics} class.
+ */
+public class RunningStatisticsTest {
+
+    private static final double EPSILON = 0.0000001;
+
+    /**
+     * The results should match the two-pass calculations in
+     * {@link Statistics}.
+     */
+    @Test
+    public void testMeanAndVariance() {
+        RunningStatistics s = new RunningStatistics();
+        assertEquals(0L, s.getCount());
+        assertTrue(Double.isNaN(s.getMean()));
+        assertTrue(Double.isNaN(s.getVariance()));
+        assertTrue(Double.isNaN(s.getMinimum()));
+
+        Random random = new Random(5L);
+        Number[] numbers = new Number[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            double v = 1000000.0 + random.nextDouble();
+            numbers[i] = new Double(v);
+            s.add(v);
+        }
+        s.add(Double.NaN);
+        assertEquals(1000L, s.getCount());
+        assertEquals(Statistics.calculateMean(numbers), s.getMean(), EPSILON);
+        assertEquals(Statistics.getStdDev(numbers), s.getStandardDeviation(),
+                EPSILON);
+    }
+
+    /**
+     * Combining two instances should give the same result as adding all the
+     * values to one instance.
+     */
+    @Test
+    public void testAddRunningStatistics() {
+        double[] values = {3.0, 1.0, 4.0, 1.0, 5.0, 9.0, 2.0, 6.0};
+        RunningStatistics all = new RunningStatistics();
+        all.add(values);
+        RunningStatistics a = new RunningStatistics();
+        RunningStatistics b = new RunningStatistics();
+        for (int i = 0; i < values.length; i++) {
+            if (i < 3) {
+                a.add(values[i]);
+            }
+            else {
+                b.add(values[i]);
+            }
+        }
+        a.add(b);
+        assertEquals(all.getCount(), a.getCount());
+        assertEquals(all.getMean(), a.getMean(), EPSILON);
+        assertEquals(all.getVariance(), a.getVariance(), EPSILON);
+        assertEquals(1.0, a.getMinimum(), EPSILON);
+        assertEquals(9.0, a.getMaximum(), EPSILON);
+
+        RunningStatistics empty = new RunningStatistics();
+        empty.add(a);
+        assertEquals(a, empty);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        RunningStatistics s1 = new RunningStatistics();
+        s1.add(1.0);
+        RunningStatistics s2 = (RunningStatistics) s1.clone();
+        assertTrue(s1 != s2);
+        assertEquals(s1, s2);
+        s2.add(2.0);
+        assertTrue(!s1.equals(s2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        RunningStatistics s1 = new RunningStatistics();
+        s1.add(new double[] {1.0, 2.0, 4.0});
+        RunningStatistics s2 = (RunningStatistics) TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+    }
+
+}
@@ -45,9 +45,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import org.junit.Test;
 
 /**
@@ -431,6 +433,37 @@ public class StatisticsTest {
         assertEquals(0.7306356862792885, r, 0.000000000001);
     }
 
+    /**
+     * Checks that calculateMedian(double[]) agrees with the median of a
+     * sorted list, for various array sizes.
+     */
+    @Test
+    public void testCalculateMedian_DoubleArray() {
+        assertTrue(Double.isNaN(Statistics.calculateMedian(new double[0])));
+        Random random = new Random(42L);
+        for (int size = 1; size < 60; size++) {
+            double[] values = new double[size];
+            List list = new ArrayList(size);
+            for (int i = 0; i < size; i++) {
+                // use a small range so that there are duplicates
+                values[i] = random.nextInt(10);
+                list.add(new Double(values[i]));
+            }
+            double[] copy = (double[]) values.clone();
+            Collections.sort(list);
+            assertEquals(Statistics.calculateMedian(list, false),
+                    Statistics.calculateMedian(values), EPSILON);
+            // the array passed in is not modified
+            assertTrue(Arrays.equals(copy, values));
+        }
+
+        // NaN values are sorted after the other values
+        double[] values = new double[] {Double.NaN, 3.0, 1.0, 2.0};
+        assertEquals(2.5, Statistics.calculateMedian(values), EPSILON);
+        values = new double[] {Double.NaN, Double.NaN, 1.0};
+        assertTrue(Double.isNaN(Statistics.calculateMedian(values)));
+    }
+
     /**
      * Some checks for the getStdDev() method.
      */
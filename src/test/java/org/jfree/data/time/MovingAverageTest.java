@@ -43,7 +43,11 @@ package org.jfree.data.time;
 
 import org.jfree.chart.date.MonthConstants;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.util.Random;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.Test;
 
 /**
@@ -81,6 +85,114 @@ public class MovingAverageTest {
         assertEquals(12.5, value, EPSILON);
     }
 
+    /**
+     * The averages should only include the values in the window, including
+     * when the window contains null or NaN values.
+     */
+    @Test
+    public void testNullAndNaN() {
+        TimeSeries source = new TimeSeries("S");
+        source.add(new Day(1, MonthConstants.JANUARY, 2017), 1.0);
+        source.add(new Day(2, MonthConstants.JANUARY, 2017), null);
+        source.add(new Day(3, MonthConstants.JANUARY, 2017), Double.NaN);
+        source.add(new Day(4, MonthConstants.JANUARY, 2017), 4.0);
+        source.add(new Day(5, MonthConstants.JANUARY, 2017), null);
+        source.add(new Day(6, MonthConstants.JANUARY, 2017), null);
+        TimeSeries ma = MovingAverage.createMovingAverage(source, "MA", 2, 0);
+        assertEquals(6, ma.getItemCount());
+        assertEquals(1.0, ma.getValue(0).doubleValue(), EPSILON);
+        assertEquals(1.0, ma.getValue(1).doubleValue(), EPSILON);
+        assertEquals(Double.NaN, ma.getValue(2).doubleValue(), EPSILON);
+        assertEquals(Double.NaN, ma.getValue(3).doubleValue(), EPSILON);
+        assertEquals(4.0, ma.getValue(4).doubleValue(), EPSILON);
+        assertNull(ma.getValue(5));
+    }
+
+    /**
+     * A test for the values calculated from an XY series.
+     */
+    @Test
+    public void testXYDataset() {
+        XYSeries s = new XYSeries("S");
+        s.add(1.0, 1.0);
+        s.add(2.0, 2.0);
+        s.add(2.5, 6.0);
+        s.add(5.0, 3.0);
+        XYSeries ma = MovingAverage.createMovingAverage(
+                new XYSeriesCollection(s), 0, "MA", 2.0, 1.0);
+        assertEquals(3, ma.getItemCount());
+        assertEquals(2.0, ma.getX(0).doubleValue(), EPSILON);
+        assertEquals(1.5, ma.getY(0).doubleValue(), EPSILON);
+        assertEquals(3.0, ma.getY(1).doubleValue(), EPSILON);
+        assertEquals(3.0, ma.getY(2).doubleValue(), EPSILON);
+    }
+
+    /**
+     * The running sum for a moving window should not drift when large and
+     * small values pass through the window.
+     */
+    @Test
+    public void testRunningSumRoundingError() {
+        MovingAverage.RunningSum sum = new MovingAverage.RunningSum();
+        double[] window = new double[3];
+        Random random = new Random(7L);
+        for (int i = 0; i < 100000; i++) {
+            double v = i % 3 == 0 ? 1.0e12 * random.nextDouble()
+                    : random.nextDouble();
+            if (i >= window.length) {
+                sum.remove(new Double(window[i % window.length]));
+            }
+            window[i % window.length] = v;
+            sum.add(new Double(v));
+        }
+        for (int i = 0; i < window.length; i++) {
+            sum.remove(new Double(window[i]));
+            window[i] = 0.1 * (i + 1);
+            sum.add(new Double(window[i]));
+        }
+        assertEquals(0.2, sum.getAverage().doubleValue(), EPSILON);
+    }
+
+    /**
+     * A test for the exponential moving average.
+     */
+    @Test
+    public void testExponentialMovingAverage() {
+        TimeSeries source = createDailyTimeSeries1();
+        source.update(1, null);
+        TimeSeries ema = MovingAverage.createExponentialMovingAverage(source,
+                "EMA", 0.5);
+        assertEquals(source.getItemCount(), ema.getItemCount());
+        assertEquals(11.2, ema.getValue(0).doubleValue(), EPSILON);
+        assertEquals(11.2, ema.getValue(1).doubleValue(), EPSILON);
+        assertEquals(12.65, ema.getValue(2).doubleValue(), EPSILON);
+        assertEquals(12.675, ema.getValue(3).doubleValue(), EPSILON);
+    }
+
+    /**
+     * A test for the moving median.
+     */
+    @Test
+    public void testPointMovingMedian() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeries mm = MovingAverage.createPointMovingMedian(source, "MM",
+                3);
+        assertEquals(7, mm.getItemCount());
+        assertEquals(new Day(17, MonthConstants.AUGUST, 2003),
+                mm.getTimePeriod(0));
+        assertEquals(13.8, mm.getValue(0).doubleValue(), EPSILON);
+        assertEquals(13.8, mm.getValue(1).doubleValue(), EPSILON);
+        assertEquals(14.1, mm.getValue(2).doubleValue(), EPSILON);
+        assertEquals(15.6, mm.getValue(3).doubleValue(), EPSILON);
+        assertEquals(16.5, mm.getValue(4).doubleValue(), EPSILON);
+        assertEquals(15.6, mm.getValue(5).doubleValue(), EPSILON);
+        assertEquals(14.3, mm.getValue(6).doubleValue(), EPSILON);
+
+        source.update(2, null);
+        mm = MovingAverage.createPointMovingMedian(source, "MM", 3);
+        assertEquals(12.5, mm.getValue(0).doubleValue(), EPSILON);
+    }
+
     /**
      * Creates a sample series.
      *
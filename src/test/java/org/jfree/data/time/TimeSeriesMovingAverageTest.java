@@ -0,0 +1,249 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TimeSeriesMovingAverage} class.
+ */
+public class TimeSeriesMovingAverageTest {
+
+    /**
+     * Checks that the derived series matches a moving average calculated
+     * from scratch.
+     *
+     * @param ma  the moving average.
+     * @param periodCount  the number of periods in the average.
+     * @param skip  the number of initial periods to skip.
+     */
+    private void check(TimeSeriesMovingAverage ma, int periodCount,
+            int skip) {
+        check(MovingAverage.createMovingAverage(ma.getSource(), "MA",
+                periodCount, skip), ma.getSeries());
+    }
+
+    /**
+     * Checks that a derived series matches the expected values.
+     *
+     * @param expected  the expected series.
+     * @param actual  the derived series.
+     */
+    private void check(TimeSeries expected, TimeSeries actual) {
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        for (int i = 0; i < expected.getItemCount(); i++) {
+            assertEquals(expected.getTimePeriod(i), actual.getTimePeriod(i));
+            Number e = expected.getValue(i);
+            Number a = actual.getValue(i);
+            if (e == null) {
+                assertEquals(null, a);
+            }
+            else {
+                assertEquals(e.doubleValue(), a.doubleValue(), 0.0000001);
+            }
+        }
+        assertEquals(expected.getMinY(), actual.getMinY(), 0.0000001);
+        assertEquals(expected.getMaxY(), actual.getMaxY(), 0.0000001);
+    }
+
+    /**
+     * Appending, updating and removing items in the source series.
+     */
+    @Test
+    public void testUpdates() {
+        TimeSeries source = new TimeSeries("S");
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source, "MA",
+                3, 2);
+        check(ma, 3, 2);
+        Day day = new Day(1, 1, 2017);
+        for (int i = 0; i < 10; i++) {
+            source.add(day, i * 1.5);
+            day = (Day) day.next().next();
+            check(ma, 3, 2);
+        }
+        source.update(9, new Double(100.0));
+        check(ma, 3, 2);
+        source.update(4, null);
+        check(ma, 3, 2);
+        source.add(new Day(4, 1, 2017), 7.0);
+        check(ma, 3, 2);
+        source.delete(0, 2);
+        check(ma, 3, 2);
+        source.delete(source.getItemCount() - 1, source.getItemCount() - 1);
+        check(ma, 3, 2);
+        source.clear();
+        check(ma, 3, 2);
+        source.add(day, 1.0);
+        check(ma, 3, 2);
+    }
+
+    /**
+     * Appending an item leaves the earlier averages in place, while changes
+     * made with notification switched off are picked up by a full
+     * recalculation.
+     */
+    @Test
+    public void testIncrementalUpdates() {
+        TimeSeries source = new TimeSeries("S");
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source, "MA",
+                3, 0);
+        Day day = new Day(1, 1, 2017);
+        for (int i = 0; i < 10; i++) {
+            source.add(day, i);
+            day = (Day) day.next();
+        }
+        TimeSeriesDataItem first = ma.getSeries().getRawDataItem(0);
+        source.add(day, 10.0);
+        check(ma, 3, 0);
+        assertSame(first, ma.getSeries().getRawDataItem(0));
+
+        source.setNotify(false);
+        source.update(2, new Double(50.0));
+        source.update(3, new Double(20.0));
+        source.setNotify(true);
+        check(ma, 3, 0);
+
+        source.setNotify(false);
+        source.add(new Day(1, 12, 2016), 5.0);
+        source.delete(1, 1);
+        source.setNotify(true);
+        check(ma, 3, 0);
+    }
+
+    /**
+     * A series with a maximum item count, so that each new item removes the
+     * oldest one.
+     */
+    @Test
+    public void testRollingSeries() {
+        TimeSeries source = new TimeSeries("S");
+        source.setMaximumItemCount(20);
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source, "MA",
+                5, 3);
+        Random random = new Random(9L);
+        RegularTimePeriod period = new Minute();
+        for (int i = 0; i < 100; i++) {
+            source.add(period, random.nextDouble());
+            // leave occasional gaps
+            period = random.nextInt(5) == 0 ? period.next().next()
+                    : period.next();
+            check(ma, 5, 3);
+        }
+        ma.dispose();
+        TimeSeries series = ma.getSeries();
+        RegularTimePeriod last = series.getTimePeriod(
+                series.getItemCount() - 1);
+        source.add(period, 1.0);
+        assertEquals(last, series.getTimePeriod(series.getItemCount() - 1));
+    }
+
+    /**
+     * An exponentially weighted moving average of a series with a maximum
+     * item count keeps the contribution of the removed items, and matches
+     * the average of a series that keeps every item.
+     */
+    @Test
+    public void testExponentialMovingAverage()
+            throws CloneNotSupportedException {
+        TimeSeries source = new TimeSeries("S");
+        source.setMaximumItemCount(10);
+        TimeSeries all = new TimeSeries("All");
+        TimeSeriesMovingAverage ma
+                = TimeSeriesMovingAverage.createExponentialMovingAverage(
+                source, "EMA", 0.3);
+        Random random = new Random(3L);
+        RegularTimePeriod period = new Minute();
+        for (int i = 0; i < 50; i++) {
+            Double value = random.nextInt(6) == 0 ? null
+                    : new Double(random.nextDouble());
+            source.add(period, value);
+            all.add(period, value);
+            TimeSeries expected = MovingAverage.createExponentialMovingAverage(
+                    all, "EMA", 0.3);
+            int first = expected.getIndex(source.getTimePeriod(0));
+            check(expected.createCopy(first, expected.getItemCount() - 1),
+                    ma.getSeries());
+            period = period.next();
+        }
+
+        // updating the last item recalculates only its average
+        TimeSeriesDataItem first = ma.getSeries().getRawDataItem(0);
+        source.update(source.getItemCount() - 1, new Double(5.0));
+        all.update(all.getItemCount() - 1, new Double(5.0));
+        TimeSeries expected = MovingAverage.createExponentialMovingAverage(
+                all, "EMA", 0.3);
+        check(expected.createCopy(expected.getItemCount() - 10,
+                expected.getItemCount() - 1), ma.getSeries());
+        assertSame(first, ma.getSeries().getRawDataItem(0));
+
+        // other changes recalculate from the current data
+        source.update(3, new Double(2.0));
+        check(MovingAverage.createExponentialMovingAverage(source, "EMA",
+                0.3), ma.getSeries());
+    }
+
+    /**
+     * A moving median follows appends, updates and removals in the source.
+     */
+    @Test
+    public void testPointMovingMedian() {
+        TimeSeries source = new TimeSeries("S");
+        source.setMaximumItemCount(12);
+        TimeSeriesMovingAverage mm
+                = TimeSeriesMovingAverage.createPointMovingMedian(source,
+                "MM", 4);
+        Random random = new Random(5L);
+        RegularTimePeriod period = new Minute();
+        for (int i = 0; i < 40; i++) {
+            Double value = random.nextInt(6) == 0 ? null
+                    : new Double(random.nextInt(10));
+            source.add(period, value);
+            check(MovingAverage.createPointMovingMedian(source, "MM", 4),
+                    mm.getSeries());
+            period = period.next();
+        }
+        source.update(source.getItemCount() - 1, new Double(20.0));
+        check(MovingAverage.createPointMovingMedian(source, "MM", 4),
+                mm.getSeries());
+        source.update(5, new Double(-1.0));
+        check(MovingAverage.createPointMovingMedian(source, "MM", 4),
+                mm.getSeries());
+        source.delete(0, 9);
+        check(MovingAverage.createPointMovingMedian(source, "MM", 4),
+                mm.getSeries());
+        source.clear();
+        check(MovingAverage.createPointMovingMedian(source, "MM", 4),
+                mm.getSeries());
+    }
+
+}
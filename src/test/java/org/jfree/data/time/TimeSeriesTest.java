@@ -1244,4 +1244,51 @@ public class TimeSeriesTest implements SeriesChangeListener {
                 ts.findValueRange(range, TimePeriodAnchor.END, tzone));
 
     }
+
+    /**
+     * Some checks for the bulk add() method.
+     */
+    @Test
+    public void testAdd_Arrays() {
+        TimeSeries s1 = new TimeSeries("S1");
+        s1.addChangeListener(this);
+        this.gotSeriesChangeEvent = false;
+        s1.add(new RegularTimePeriod[] {new Year(2001), new Year(2003),
+                new Year(2005)}, new double[] {1.0, 3.0, 5.0});
+        assertTrue(this.gotSeriesChangeEvent);
+        assertEquals(3, s1.getItemCount());
+        assertEquals(1.0, s1.getMinY(), EPSILON);
+        assertEquals(5.0, s1.getMaxY(), EPSILON);
+
+        // interleaved and unsorted values are merged into place
+        s1.add(new RegularTimePeriod[] {new Year(2004), new Year(2000),
+                new Year(2002)}, new double[] {4.0, 0.0, 2.0});
+        assertEquals(6, s1.getItemCount());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(new Year(2000 + i), s1.getTimePeriod(i));
+            assertEquals(i, s1.getValue(i).doubleValue(), EPSILON);
+        }
+        assertEquals(0.0, s1.getMinY(), EPSILON);
+
+        // a duplicate period leaves the series unchanged
+        try {
+            s1.add(new RegularTimePeriod[] {new Year(2003), new Year(2010)},
+                    new double[] {9.0, 10.0});
+            fail("Expected a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // expected
+        }
+        assertEquals(6, s1.getItemCount());
+        assertEquals(5.0, s1.getMaxY(), EPSILON);
+
+        // the maximum item count is respected
+        s1.setMaximumItemCount(7);
+        s1.add(new RegularTimePeriod[] {new Year(2006), new Year(2007)},
+                new double[] {6.0, 7.0});
+        assertEquals(7, s1.getItemCount());
+        assertEquals(new Year(2001), s1.getTimePeriod(0));
+        assertEquals(1.0, s1.getMinY(), EPSILON);
+    }
+
 }
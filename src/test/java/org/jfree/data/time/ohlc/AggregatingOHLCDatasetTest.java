@@ -0,0 +1,241 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time.ohlc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+import java.util.TimeZone;
+import org.jfree.chart.TestUtils;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.time.Hour;
+import org.jfree.data.time.Minute;
+import org.jfree.data.time.TimePeriodAnchor;
+import org.junit.Test;
+
+public class AggregatingOHLCDatasetTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final long MINUTE = 60000L;
+
+    /** Counts the events received from a dataset. */
+    static class EventCounter implements DatasetChangeListener {
+        int count;
+        @Override
+        public void datasetChanged(DatasetChangeEvent event) {
+            this.count++;
+        }
+    }
+
+    private static AggregatingOHLCDataset create(Class periodClass,
+            int periodsPerCandle) {
+        return new AggregatingOHLCDataset("S1", periodClass,
+                periodsPerCandle, UTC, Locale.UK);
+    }
+
+    /**
+     * Adds ticks every 20 seconds for 3 hours, with a price that goes up
+     * and down so that each minute has a different open, high, low and
+     * close.
+     */
+    private static void addTicks(AggregatingOHLCDataset d) {
+        for (int i = 0; i < 3 * 60 * 3; i++) {
+            double price = 100.0 + (i % 7) - (i % 3) * 2.0;
+            d.addTick(i * 20000L, price, 1.0);
+        }
+    }
+
+    /**
+     * Ticks update the current candle and send an event only when a new
+     * candle is opened.
+     */
+    @Test
+    public void testAddTick() {
+        AggregatingOHLCDataset d = create(Minute.class, 1);
+        EventCounter counter = new EventCounter();
+        d.addChangeListener(counter);
+        d.addTick(0L, 10.0, 1.0);
+        assertEquals(1, counter.count);
+        d.addTick(10000L, 12.0, 2.0);
+        d.addTick(20000L, 9.0, 3.0);
+        d.addTick(50000L, 11.0, 4.0);
+        assertEquals(1, d.getItemCount(0));
+        assertEquals(1, counter.count);
+        assertEquals(10.0, d.getOpenValue(0, 0), 0.0);
+        assertEquals(12.0, d.getHighValue(0, 0), 0.0);
+        assertEquals(9.0, d.getLowValue(0, 0), 0.0);
+        assertEquals(11.0, d.getCloseValue(0, 0), 0.0);
+        assertEquals(10.0, d.getVolumeValue(0, 0), 0.0);
+        assertEquals(0L, d.getStartMillis(0));
+        assertEquals(MINUTE - 1, d.getEndMillis(0));
+        assertEquals((MINUTE - 1) / 2, d.getXValue(0, 0), 0.0);
+
+        d.addTick(3 * MINUTE + 5, 13.0, 1.0);
+        assertEquals(2, counter.count);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(3 * MINUTE, d.getStartMillis(1));
+        d.setXPosition(TimePeriodAnchor.START);
+        assertEquals(3 * MINUTE, d.getXValue(0, 1), 0.0);
+
+        try {
+            d.addTick(MINUTE, 1.0, 1.0);
+            fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Five minute candles are aligned on multiples of five minutes.
+     */
+    @Test
+    public void testPeriodsPerCandle() {
+        AggregatingOHLCDataset d = create(Minute.class, 5);
+        d.addTick(7 * MINUTE, 1.0, 1.0);
+        d.addTick(9 * MINUTE + 59999L, 2.0, 1.0);
+        d.addTick(10 * MINUTE, 3.0, 1.0);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(5 * MINUTE, d.getStartMillis(0));
+        assertEquals(10 * MINUTE - 1, d.getEndMillis(0));
+        assertEquals(2.0, d.getCloseValue(0, 0), 0.0);
+        assertEquals(10 * MINUTE, d.getStartMillis(1));
+    }
+
+    /**
+     * Deriving longer candles gives the same result as aggregating the
+     * ticks directly.
+     */
+    @Test
+    public void testDerive() {
+        AggregatingOHLCDataset minutes = create(Minute.class, 1);
+        addTicks(minutes);
+        assertEquals(180, minutes.getItemCount(0));
+
+        AggregatingOHLCDataset fives = create(Minute.class, 5);
+        addTicks(fives);
+        assertEquals(fives, minutes.derive(Minute.class, 5));
+
+        AggregatingOHLCDataset hours = create(Hour.class, 1);
+        addTicks(hours);
+        assertEquals(3, hours.getItemCount(0));
+        assertEquals(hours, minutes.derive(Hour.class, 1));
+        assertEquals(hours, fives.derive(Hour.class, 1));
+        assertEquals(hours, minutes.derive(Minute.class, 60).derive(
+                Hour.class, 1));
+
+        // seven minute candles can't be built from five minute candles
+        try {
+            fives.derive(Minute.class, 7);
+            fail("Expected IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Adding a block of ticks sends a single event.
+     */
+    @Test
+    public void testAddTicks() {
+        AggregatingOHLCDataset d = create(Minute.class, 1);
+        EventCounter counter = new EventCounter();
+        d.addChangeListener(counter);
+        long[] millis = new long[100];
+        double[] price = new double[100];
+        double[] volume = new double[100];
+        for (int i = 0; i < 100; i++) {
+            millis[i] = i * 30000L;
+            price[i] = i;
+            volume[i] = 1.0;
+        }
+        d.addTicks(millis, price, volume);
+        assertEquals(1, counter.count);
+        assertEquals(50, d.getItemCount(0));
+        assertEquals(98.0, d.getOpenValue(0, 49), 0.0);
+        assertEquals(99.0, d.getCloseValue(0, 49), 0.0);
+        assertEquals(2.0, d.getVolumeValue(0, 49), 0.0);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required
+     * fields.
+     */
+    @Test
+    public void testEquals() {
+        AggregatingOHLCDataset d1 = create(Minute.class, 1);
+        AggregatingOHLCDataset d2 = create(Minute.class, 1);
+        assertEquals(d1, d2);
+        d1.addTick(0L, 1.0, 1.0);
+        assertFalse(d1.equals(d2));
+        d2.addTick(0L, 1.0, 1.0);
+        assertEquals(d1, d2);
+        d1.setXPosition(TimePeriodAnchor.END);
+        assertFalse(d1.equals(d2));
+        d2.setXPosition(TimePeriodAnchor.END);
+        assertEquals(d1, d2);
+        assertFalse(d1.equals(create(Minute.class, 2)));
+        assertFalse(d1.equals(create(Hour.class, 1)));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        AggregatingOHLCDataset d1 = create(Minute.class, 1);
+        d1.addTick(0L, 1.0, 1.0);
+        AggregatingOHLCDataset d2 = (AggregatingOHLCDataset) d1.clone();
+        assertNotSame(d1, d2);
+        assertEquals(d1, d2);
+        d2.addTick(1000L, 2.0, 1.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        AggregatingOHLCDataset d1 = create(Minute.class, 1);
+        d1.addTick(0L, 1.0, 1.0);
+        AggregatingOHLCDataset d2 = (AggregatingOHLCDataset)
+                TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        assertTrue(d2.getItemCount(0) == 1);
+    }
+
+}
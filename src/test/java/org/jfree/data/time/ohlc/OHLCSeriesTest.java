@@ -48,12 +48,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 import org.jfree.chart.TestUtils;
 
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesChangeListener;
 import org.jfree.data.general.SeriesException;
+import org.jfree.data.time.RegularTimePeriod;
 import org.jfree.data.time.Year;
 import org.junit.Test;
 
@@ -259,4 +261,32 @@ public class OHLCSeriesTest implements SeriesChangeListener {
         assertTrue(s1.isEmpty());
     }
 
+    /**
+     * Some checks for the bulk add() method.
+     */
+    @Test
+    public void testAdd_Arrays() {
+        OHLCSeries s1 = new OHLCSeries("s1");
+        s1.addChangeListener(this);
+        s1.add(new Year(2007), 2.0, 4.0, 1.0, 3.0);
+        this.lastEvent = null;
+        s1.add(new RegularTimePeriod[] {new Year(2008), new Year(2006)},
+                new double[] {1.0, 2.0}, new double[] {3.0, 4.0},
+                new double[] {0.5, 1.5}, new double[] {2.0, 3.0});
+        assertNotNull(this.lastEvent);
+        assertEquals(3, s1.getItemCount());
+        assertEquals(new Year(2006), s1.getPeriod(0));
+        assertEquals(new Year(2008), s1.getPeriod(2));
+        try {
+            s1.add(new RegularTimePeriod[] {new Year(2007)},
+                    new double[] {1.0}, new double[] {1.0},
+                    new double[] {1.0}, new double[] {1.0});
+            fail("Expected a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // expected
+        }
+        assertEquals(3, s1.getItemCount());
+    }
+
 }
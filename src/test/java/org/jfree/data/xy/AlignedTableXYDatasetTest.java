@@ -0,0 +1,261 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.xy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link AlignedTableXYDataset} class.
+ */
+public class AlignedTableXYDatasetTest {
+
+    /** Counts the events received from a dataset. */
+    static class EventCounter implements DatasetChangeListener {
+        int count;
+        @Override
+        public void datasetChanged(DatasetChangeEvent event) {
+            this.count++;
+        }
+    }
+
+    /**
+     * Loading a {@link DefaultTableXYDataset} gives the same table.
+     */
+    @Test
+    public void testLoadFromDefaultTableXYDataset() {
+        XYSeries s1 = new XYSeries("S1", true, false);
+        s1.add(1.0, 10.0);
+        s1.add(3.0, 30.0);
+        XYSeries s2 = new XYSeries("S2", true, false);
+        s2.add(2.0, 20.0);
+        s2.add(3.0, 31.0);
+        DefaultTableXYDataset source = new DefaultTableXYDataset();
+        source.addSeries(s1);
+        source.addSeries(s2);
+
+        AlignedTableXYDataset d = new AlignedTableXYDataset(source);
+        assertEquals(2, d.getSeriesCount());
+        assertEquals(source.getItemCount(), d.getItemCount());
+        for (int s = 0; s < 2; s++) {
+            assertEquals(source.getSeriesKey(s), d.getSeriesKey(s));
+            for (int i = 0; i < source.getItemCount(); i++) {
+                assertEquals(source.getX(s, i), d.getX(s, i));
+                assertEquals(source.getY(s, i), d.getY(s, i));
+            }
+        }
+    }
+
+    /**
+     * Unsorted series, repeated and missing x-values are aligned on the
+     * sorted union (less the x-values with no y-value), with a single event
+     * for the load.
+     */
+    @Test
+    public void testLoad() {
+        XYSeriesCollection source = new XYSeriesCollection();
+        XYSeries s1 = new XYSeries("S1", false, true);
+        s1.add(5.0, 1.0);
+        s1.add(1.0, 2.0);
+        s1.add(5.0, 3.0);
+        s1.add(Double.NaN, 4.0);
+        source.addSeries(s1);
+        XYSeries s2 = new XYSeries("S2");
+        s2.add(2.0, 6.0);
+        s2.add(4.0, null);
+        s2.add(5.0, 7.0);
+        source.addSeries(s2);
+        XYSeries s3 = new XYSeries("S3");
+        source.addSeries(s3);
+
+        AlignedTableXYDataset d = new AlignedTableXYDataset();
+        EventCounter counter = new EventCounter();
+        d.addChangeListener(counter);
+        d.load(source);
+        assertEquals(1, counter.count);
+        assertEquals(3, d.getSeriesCount());
+        assertEquals(3, d.getItemCount());
+        assertEquals(3, d.getItemCount(2));
+        double[] x = new double[d.getItemCount()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = d.getXValue(1, i);
+        }
+        assertArrayEquals(new double[] {1.0, 2.0, 5.0}, x, 0.0);
+        assertEquals(2.0, d.getYValue(0, 0), 0.0);
+        assertNull(d.getY(0, 1));
+        assertEquals(3.0, d.getYValue(0, 2), 0.0);
+        assertNull(d.getY(1, 0));
+        assertEquals(6.0, d.getYValue(1, 1), 0.0);
+        assertEquals(7.0, d.getYValue(1, 2), 0.0);
+        assertTrue(Double.isNaN(d.getYValue(2, 2)));
+        assertEquals(1.0, d.getDomainLowerBound(false), 0.0);
+        assertEquals(5.0, d.getDomainUpperBound(false), 0.0);
+    }
+
+    /**
+     * Adding a series merges its x-values into the existing ones.
+     */
+    @Test
+    public void testAddSeries() {
+        AlignedTableXYDataset d = new AlignedTableXYDataset();
+        d.addSeries("S1", new double[][] {{1.0, 3.0}, {10.0, 30.0}});
+        d.addSeries("S2", new double[][] {{4.0, 2.0, 3.0},
+                {40.0, 20.0, 31.0}});
+        assertEquals(4, d.getItemCount());
+        assertEquals(10.0, d.getYValue(0, 0), 0.0);
+        assertNull(d.getY(0, 1));
+        assertEquals(30.0, d.getYValue(0, 2), 0.0);
+        assertNull(d.getY(0, 3));
+        assertNull(d.getY(1, 0));
+        assertEquals(20.0, d.getYValue(1, 1), 0.0);
+        assertEquals(31.0, d.getYValue(1, 2), 0.0);
+        assertEquals(40.0, d.getYValue(1, 3), 0.0);
+
+        // replacing a series keeps its index, and drops the x-values that
+        // are no longer used
+        d.addSeries("S1", new double[][] {{2.0}, {5.0}});
+        assertEquals(2, d.getSeriesCount());
+        assertEquals("S1", d.getSeriesKey(0));
+        assertEquals(3, d.getItemCount());
+        assertEquals(2.0, d.getXValue(0, 0), 0.0);
+        assertEquals(5.0, d.getYValue(0, 0), 0.0);
+        assertNull(d.getY(0, 1));
+
+        d.addSeries("S3", new double[][] {{6.0}, {60.0}});
+        assertEquals(4, d.getItemCount());
+        d.removeSeries("S3");
+        assertEquals(3, d.getItemCount());
+        assertEquals(4.0, d.getXValue(1, 2), 0.0);
+        assertEquals(40.0, d.getYValue(1, 2), 0.0);
+        d.removeSeries("S1");
+        assertEquals(3, d.getItemCount());
+        d.removeSeries("S2");
+        assertEquals(0, d.getItemCount());
+    }
+
+    /**
+     * The same data gives the same x-values whether it is loaded, added
+     * series by series, or left behind by a series that is removed.
+     */
+    @Test
+    public void testNaNOnlyXValues() {
+        double[][] data1 = new double[][] {{1.0, 2.0, 3.0},
+                {10.0, Double.NaN, 30.0}};
+        double[][] data2 = new double[][] {{2.0, 3.0, 4.0},
+                {Double.NaN, 31.0, Double.NaN}};
+        DefaultXYDataset source = new DefaultXYDataset();
+        source.addSeries("S1", data1);
+        source.addSeries("S2", data2);
+        AlignedTableXYDataset d1 = new AlignedTableXYDataset(source);
+        assertEquals(2, d1.getItemCount());
+        assertEquals(1.0, d1.getXValue(0, 0), 0.0);
+        assertEquals(3.0, d1.getXValue(0, 1), 0.0);
+
+        AlignedTableXYDataset d2 = new AlignedTableXYDataset();
+        d2.addSeries("S1", data1);
+        d2.addSeries("S2", data2);
+        assertEquals(d1, d2);
+
+        AlignedTableXYDataset d3 = new AlignedTableXYDataset();
+        d3.addSeries("S1", data1);
+        d3.addSeries("S2", data2);
+        d3.addSeries("S3", new double[][] {{2.0, 4.0}, {20.0, 40.0}});
+        assertEquals(4, d3.getItemCount());
+        d3.removeSeries("S3");
+        assertEquals(d1, d3);
+    }
+
+    /**
+     * Some checks for the k-way merge.
+     */
+    @Test
+    public void testMergeXValues() {
+        double[] result = AlignedTableXYDataset.mergeXValues(new double[][] {
+                {1.0, 4.0, 9.0}, {}, {2.0, 4.0}, {0.5, 9.0, 10.0}});
+        assertArrayEquals(new double[] {0.5, 1.0, 2.0, 4.0, 9.0, 10.0},
+                result, 0.0);
+        assertEquals(0, AlignedTableXYDataset.mergeXValues(
+                new double[0][]).length);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        AlignedTableXYDataset d1 = new AlignedTableXYDataset();
+        AlignedTableXYDataset d2 = new AlignedTableXYDataset();
+        assertTrue(d1.equals(d2));
+        d1.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, 4.0}});
+        assertFalse(d1.equals(d2));
+        d2.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, 4.0}});
+        assertTrue(d1.equals(d2));
+        d1.setIntervalWidth(5.0);
+        assertFalse(d1.equals(d2));
+        d2.setIntervalWidth(5.0);
+        assertTrue(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        AlignedTableXYDataset d1 = new AlignedTableXYDataset();
+        d1.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, 4.0}});
+        AlignedTableXYDataset d2 = (AlignedTableXYDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertTrue(d1.equals(d2));
+
+        // check independence
+        d1.addSeries("S2", new double[][] {{5.0}, {6.0}});
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        AlignedTableXYDataset d1 = new AlignedTableXYDataset();
+        d1.addSeries("S1", new double[][] {{1.0, 2.0}, {3.0, Double.NaN}});
+        AlignedTableXYDataset d2 = (AlignedTableXYDataset)
+                TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+    }
+
+}
@@ -0,0 +1,275 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.xy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.junit.Test;
+
+public class CopyOnWriteXYDatasetTest {
+
+    /** Counts the events received from a dataset. */
+    static class EventCounter implements DatasetChangeListener {
+        int count;
+        @Override
+        public void datasetChanged(DatasetChangeEvent event) {
+            this.count++;
+        }
+    }
+
+    /**
+     * Changes are invisible to readers until they are published.
+     */
+    @Test
+    public void testPublish() {
+        CopyOnWriteXYDataset d = new CopyOnWriteXYDataset();
+        EventCounter counter = new EventCounter();
+        d.addChangeListener(counter);
+        int s = d.addSeries("S1");
+        d.add(s, 1.0, 10.0);
+        d.add(s, 2.0, 20.0);
+        assertEquals(0, d.getSeriesCount());
+        assertEquals(2, d.getWorkingItemCount(s));
+        assertEquals(0L, d.getVersion());
+
+        assertEquals(1L, d.publish());
+        assertEquals(1, counter.count);
+        assertEquals(1, d.getSeriesCount());
+        assertEquals("S1", d.getSeriesKey(0));
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(20.0, d.getYValue(0, 1), 0.0);
+        assertEquals(DomainOrder.ASCENDING, d.getDomainOrder());
+
+        // nothing to publish
+        assertEquals(1L, d.publish());
+        assertEquals(1, counter.count);
+
+        d.add(s, 0.5, 5.0);
+        d.publish();
+        assertEquals(DomainOrder.NONE, d.getDomainOrder());
+    }
+
+    /**
+     * A pinned snapshot is unaffected by later writes, even those that
+     * reuse its chunks, and other threads still read the latest version.
+     */
+    @Test
+    public void testPinSnapshot() throws InterruptedException {
+        final CopyOnWriteXYDataset d = new CopyOnWriteXYDataset();
+        int s = d.addSeries("S1");
+        int n = CopyOnWriteXYDataset.CHUNK_SIZE * 3 + 10;
+        for (int i = 0; i < n; i++) {
+            d.add(s, i, -i);
+        }
+        d.publish();
+
+        d.pinSnapshot();
+        d.pinSnapshot();
+        d.removeFirst(s, CopyOnWriteXYDataset.CHUNK_SIZE * 2 + 5);
+        for (int i = n; i < n + CopyOnWriteXYDataset.CHUNK_SIZE; i++) {
+            d.add(s, i, -i);
+        }
+        d.publish();
+        assertEquals(1L, d.getVersion());
+        assertEquals(n, d.getItemCount(0));
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, d.getXValue(0, i), 0.0);
+            assertEquals(-i, d.getYValue(0, i), 0.0);
+        }
+
+        final AtomicLong otherVersion = new AtomicLong();
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                otherVersion.set(d.getVersion());
+            }
+        });
+        t.start();
+        t.join();
+        assertEquals(2L, otherVersion.get());
+
+        d.releaseSnapshot();
+        assertEquals(1L, d.getVersion());
+        d.releaseSnapshot();
+        assertEquals(2L, d.getVersion());
+        int first = CopyOnWriteXYDataset.CHUNK_SIZE * 2 + 5;
+        assertEquals(n + CopyOnWriteXYDataset.CHUNK_SIZE - first,
+                d.getItemCount(0));
+        for (int i = 0; i < d.getItemCount(0); i++) {
+            assertEquals(first + i, d.getXValue(0, i), 0.0);
+            assertEquals(-(first + i), d.getYValue(0, i), 0.0);
+        }
+    }
+
+    /**
+     * A sliding window over many chunks keeps the right items.
+     */
+    @Test
+    public void testSlidingWindow() {
+        CopyOnWriteXYDataset d = new CopyOnWriteXYDataset();
+        int s = d.addSeries("S1");
+        int window = 1500;
+        int next = 0;
+        for (int step = 0; step < 50; step++) {
+            for (int i = 0; i < 250; i++) {
+                d.add(s, next, 2 * next);
+                next++;
+            }
+            int excess = d.getWorkingItemCount(s) - window;
+            if (excess > 0) {
+                d.removeFirst(s, excess);
+            }
+            d.publish();
+            int count = d.getItemCount(0);
+            assertEquals(Math.min(next, window), count);
+            for (int i = 0; i < count; i++) {
+                double x = next - count + i;
+                assertEquals(x, d.getXValue(0, i), 0.0);
+                assertEquals(2 * x, d.getYValue(0, i), 0.0);
+            }
+        }
+        d.clear(s);
+        d.publish();
+        assertEquals(0, d.getItemCount(0));
+    }
+
+    /**
+     * Drawing a plot reads one snapshot, even if a version is published
+     * while the items are drawn.
+     */
+    @Test
+    public void testDrawReadsOneSnapshot() {
+        final CopyOnWriteXYDataset d = new CopyOnWriteXYDataset();
+        final int s = d.addSeries("S1");
+        for (int i = 0; i < 10; i++) {
+            d.add(s, i, i);
+        }
+        d.publish();
+        final long[] versions = new long[2];
+        XYLineAndShapeRenderer r = new XYLineAndShapeRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2, XYItemRendererState state,
+                    Rectangle2D dataArea, PlotRenderingInfo info,
+                    XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+                    XYDataset dataset, int series, int item,
+                    CrosshairState crosshairState, int pass) {
+                if (item == 0 && pass == 0) {
+                    versions[0] = d.getVersion();
+                    d.removeFirst(s, 5);
+                    d.publish();
+                }
+                versions[1] = d.getVersion();
+                super.drawItem(g2, state, dataArea, info, plot, domainAxis,
+                        rangeAxis, dataset, series, item, crosshairState,
+                        pass);
+            }
+        };
+        XYPlot plot = new XYPlot(d, new NumberAxis("X"), new NumberAxis("Y"),
+                r);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 200, 100));
+        g2.dispose();
+        assertEquals(1L, versions[0]);
+        assertEquals(1L, versions[1]);
+        assertEquals(2L, d.getVersion());
+        assertEquals(5, d.getItemCount(0));
+    }
+
+    /**
+     * A series index outside the published series is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetItemCountOutOfBounds() {
+        CopyOnWriteXYDataset d = new CopyOnWriteXYDataset();
+        d.addSeries("S1");
+        d.publish();
+        d.getItemCount(1);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        CopyOnWriteXYDataset d1 = new CopyOnWriteXYDataset();
+        int s = d1.addSeries("S1");
+        d1.add(s, 1.0, 2.0);
+        d1.publish();
+        CopyOnWriteXYDataset d2 = (CopyOnWriteXYDataset) d1.clone();
+        assertNotSame(d1, d2);
+        assertEquals(d1, d2);
+
+        // the clone is written independently
+        d2.add(s, 3.0, 4.0);
+        d2.publish();
+        assertEquals(1, d1.getItemCount(0));
+        assertEquals(2, d2.getItemCount(0));
+        assertTrue(!d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        CopyOnWriteXYDataset d1 = new CopyOnWriteXYDataset();
+        int s = d1.addSeries("S1");
+        d1.add(s, new double[] {1.0, 2.0}, new double[] {3.0, 4.0});
+        d1.publish();
+        CopyOnWriteXYDataset d2 = (CopyOnWriteXYDataset)
+                TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        d2.add(s, 5.0, 6.0);
+        d2.publish();
+        assertEquals(2, d1.getItemCount(0));
+        assertEquals(3, d2.getItemCount(0));
+    }
+
+}
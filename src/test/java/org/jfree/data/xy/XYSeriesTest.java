@@ -806,4 +806,42 @@ public class XYSeriesTest {
         c.removeSeries(1);
         s1.setKey("S2");
     }
+
+    /**
+     * Some checks for the bulk add() method.
+     */
+    @Test
+    public void testAdd_Arrays() {
+        XYSeries s1 = new XYSeries("S1");
+        s1.add(new double[] {1.0, 3.0, 5.0}, new double[] {10.0, 30.0, 50.0});
+        s1.add(new double[] {4.0, 0.0, 3.0}, new double[] {40.0, 0.0, 31.0});
+        assertEquals(6, s1.getItemCount());
+        assertEquals(0.0, s1.getX(0).doubleValue(), EPSILON);
+        assertEquals(30.0, s1.getY(2).doubleValue(), EPSILON);
+        assertEquals(31.0, s1.getY(3).doubleValue(), EPSILON);
+        assertEquals(0.0, s1.getMinX(), EPSILON);
+        assertEquals(5.0, s1.getMaxX(), EPSILON);
+        assertEquals(50.0, s1.getMaxY(), EPSILON);
+
+        XYSeries s2 = new XYSeries("S2", true, false);
+        s2.add(new double[] {1.0, 2.0}, new double[] {1.0, 2.0});
+        try {
+            s2.add(new double[] {3.0, 2.0}, new double[] {3.0, 2.0});
+            fail("Expected a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // expected
+        }
+        assertEquals(2, s2.getItemCount());
+
+        XYSeries s3 = new XYSeries("S3", false, true);
+        s3.setMaximumItemCount(3);
+        s3.add(new double[] {3.0, 1.0, 2.0, 0.0}, new double[] {3.0, 1.0,
+                2.0, 0.0});
+        assertEquals(3, s3.getItemCount());
+        assertEquals(1.0, s3.getX(0).doubleValue(), EPSILON);
+        assertEquals(0.0, s3.getMinX(), EPSILON);
+        assertEquals(2.0, s3.getMaxX(), EPSILON);
+    }
+
 }